@@ -74,6 +74,8 @@ public interface InterfaceBwdClient extends InterfaceBwdEventListener {
      * a list of dirty rectangles.
      * Second, the list would most often only contain a single dirty rectangle.
      * Third, it's much easier to deal with on the client side.
+     * Clients that can take advantage of a list can implement
+     * InterfaceBwdDirtyRectsClient.
      * 
      * @param g The root graphics for drawing on the client,
      *        with box and initial clip identical to client area,
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.api;
+
+import java.util.List;
+
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+
+/**
+ * Optional interface for BWD clients able to take advantage
+ * of multiple dirty rectangles, for example to repaint only
+ * two small areas at opposite corners of the client,
+ * instead of their whole bounding box.
+ * 
+ * For clients implementing it, the binding calls
+ * paintClient(InterfaceBwdGraphics,List) instead of
+ * paintClient(InterfaceBwdGraphics,GRect).
+ */
+public interface InterfaceBwdDirtyRectsClient extends InterfaceBwdClient {
+    
+    /**
+     * Same as paintClient(InterfaceBwdGraphics,GRect), except that
+     * dirty pixels are specified as a list of rectangles,
+     * which bounding box is the dirty rectangle that would have been
+     * specified to paintClient(InterfaceBwdGraphics,GRect).
+     * 
+     * @param g The root graphics for drawing on the client,
+     *        with box and initial clip identical to client area,
+     *        and already initialized.
+     * @param dirtyRectList Disjoint and non-empty rectangles
+     *        that are dirty and must be repaint even if things
+     *        to display in them didn't change on client side.
+     *        Do not cover pixels outside client area.
+     *        Must not be null, but can be empty (the general case).
+     *        Must not be modified.
+     * @return Same as for paintClient(InterfaceBwdGraphics,GRect).
+     */
+    public List<GRect> paintClient(
+            InterfaceBwdGraphics g,
+            List<GRect> dirtyRectList);
+}
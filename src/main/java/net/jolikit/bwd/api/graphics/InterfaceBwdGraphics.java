@@ -607,6 +607,39 @@ public interface InterfaceBwdGraphics {
      */
     public void clearRect(GRect rect);
 
+    /*
+     * Area copy.
+     */
+    
+    /**
+     * Copies the pixels of the specified rectangle, with erasing (as for
+     * clearing) instead of blending, into the same rectangle translated
+     * by (dx,dy).
+     * Typically useful for scrolling, for only the newly exposed area
+     * then needs to be painted.
+     * 
+     * Only the pixels which source and destination are both in the clip
+     * are copied, and other pixels must not be modified.
+     * Source and destination can overlap, in which case source pixels
+     * must be copied as they were before the copy.
+     * 
+     * As for clearing, for client graphics, the copy might make
+     * copied pixels opaque.
+     * 
+     * With some backing libraries, for which pixels can't be read
+     * (cf. getArgb32At(...)), this method might be impossible
+     * to implement, in which case it must do a best effort,
+     * but must not throw.
+     * 
+     * @param rect Rectangle to copy, in user coordinates.
+     * @param dx X translation of the copy, in user coordinates.
+     * @param dy Y translation of the copy, in user coordinates.
+     * @throws NullPointerException if the specified rectangle is null.
+     * @throws IllegalStateException if init() has not been called
+     *         or if finish() has been called.
+     */
+    public void copyArea(GRect rect, int dx, int dy);
+
     /*
      * Points.
      * 
@@ -630,6 +663,42 @@ public interface InterfaceBwdGraphics {
      */
     public void drawPoint(int x, int y);
     
+    /*
+     * Pixels.
+     */
+    
+    /**
+     * Draws the specified pixels, each with its own color.
+     * Equivalent to calling drawPoint(x,y) for each pixel of the rectangle,
+     * with the corresponding color set as current color, but can be much
+     * faster, and current color is not modified.
+     * 
+     * Pixels can be outside of the clip, in which case
+     * they must not be modified.
+     * Must draw nothing if any span is <= 0.
+     * 
+     * @param argb32Arr Non alpha-premultiplied 32 bits ARGB colors
+     *        to draw. Color of pixel (x,y) is at index
+     *        offset + (y - rect.y()) * scanlineStride + (x - rect.x()).
+     * @param offset Index of the color of rectangle top-left pixel.
+     * @param scanlineStride Distance between indexes of the colors
+     *        of vertically consecutive pixels. Must be >= rect.xSpan().
+     * @param rect Rectangle to draw, in user coordinates.
+     * @throws NullPointerException if the specified array or rectangle
+     *         is null.
+     * @throws IllegalArgumentException if the rectangle is not empty
+     *         and scanlineStride is < rect.xSpan().
+     * @throws IndexOutOfBoundsException if the rectangle is not empty
+     *         and some of its colors indexes are out of the array.
+     * @throws IllegalStateException if init() has not been called
+     *         or if finish() has been called.
+     */
+    public void drawPixels(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect);
+    
     /*
      * Lines.
      */
@@ -1266,4 +1335,31 @@ public interface InterfaceBwdGraphics {
      *         or if finish() has been called.
      */
     public int getArgb32At(int x, int y);
+    
+    /**
+     * Bulk flavor of getArgb32At(...).
+     * Can be much faster than calling getArgb32At(...) for each pixel.
+     * 
+     * @param rect Rectangle to read, in user coordinates.
+     * @param argb32Arr (out) Array where to put the non alpha-premultiplied
+     *        32 bits ARGB colors. Color of pixel (x,y) is put at index
+     *        offset + (y - rect.y()) * scanlineStride + (x - rect.x()).
+     * @param offset Index for the color of rectangle top-left pixel.
+     * @param scanlineStride Distance between indexes of the colors
+     *        of vertically consecutive pixels. Must be >= rect.xSpan().
+     * @throws NullPointerException if the specified array or rectangle
+     *         is null.
+     * @throws IllegalArgumentException if the rectangle is not empty
+     *         and is not contained in the initial clip of this graphics,
+     *         or scanlineStride is < rect.xSpan().
+     * @throws IndexOutOfBoundsException if the rectangle is not empty
+     *         and some of its colors indexes are out of the array.
+     * @throws IllegalStateException if init() has not been called
+     *         or if finish() has been called.
+     */
+    public void getArgb32s(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride);
 }
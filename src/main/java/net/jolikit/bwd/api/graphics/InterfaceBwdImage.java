@@ -72,6 +72,36 @@ public interface InterfaceBwdImage {
      */
     public int getArgb32At(int x, int y);
     
+    /**
+     * Bulk flavor of getArgb32At(...).
+     * Can be much faster than calling getArgb32At(...) for each pixel.
+     * 
+     * If this image has been disposed, the behavior is undefined.
+     * 
+     * To write pixels of a writable image, drawPixels(...)
+     * can be used on its graphics.
+     * 
+     * @param rect Rectangle to read, in image coordinates.
+     * @param argb32Arr (out) Array where to put the non alpha-premultiplied
+     *        32 bits ARGB colors. Color of pixel (x,y) is put at index
+     *        offset + (y - rect.y()) * scanlineStride + (x - rect.x()).
+     * @param offset Index for the color of rectangle top-left pixel.
+     * @param scanlineStride Distance between indexes of the colors
+     *        of vertically consecutive pixels. Must be >= rect.xSpan().
+     * @throws NullPointerException if the specified array or rectangle
+     *         is null.
+     * @throws IllegalArgumentException if the rectangle is not empty
+     *         and is not contained in the image,
+     *         or scanlineStride is < rect.xSpan().
+     * @throws IndexOutOfBoundsException if the rectangle is not empty
+     *         and some of its colors indexes are out of the array.
+     */
+    public void getArgb32s(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride);
+    
     /*
      * Disposal.
      */
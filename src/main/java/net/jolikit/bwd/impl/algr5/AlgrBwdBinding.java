@@ -470,7 +470,9 @@ libc++abi.dylib: terminating with uncaught exception of type NSException
          * 
          */
 
-        this.fontHome = new AlgrBwdFontHome(bindingConfig);
+        this.fontHome = new AlgrBwdFontHome(
+                bindingConfig,
+                this.getInternalParallelizer());
 
         this.backingCursorRepository = new AlgrCursorRepository(
                 bindingConfig.getMustUseSystemCursorsWhenAvailable());
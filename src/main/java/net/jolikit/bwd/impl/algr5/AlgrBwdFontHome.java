@@ -42,6 +42,7 @@ import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 import com.sun.jna.Pointer;
 
@@ -105,13 +106,26 @@ public class AlgrBwdFontHome extends AbstractBwdFontHome<ALLEGRO_FONT,AlgrBwdFon
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
 
-    public AlgrBwdFontHome(BaseBwdBindingConfig bindingConfig) {
+    /**
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
+     */
+    public AlgrBwdFontHome(
+            BaseBwdBindingConfig bindingConfig,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                0L, // glyphMaskCacheMaxByteSize
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
     
     //--------------------------------------------------------------------------
@@ -149,7 +163,7 @@ public class AlgrBwdFontHome extends AbstractBwdFontHome<ALLEGRO_FONT,AlgrBwdFon
         InterfaceCanFontDisplayComputer cfdc = null;
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 final int fontIndex = 0;
                 if (mustUseFontBoxForFontKind) {
@@ -206,6 +220,12 @@ public class AlgrBwdFontHome extends AbstractBwdFontHome<ALLEGRO_FONT,AlgrBwdFon
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
     
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
+    
     @Override
     protected AbstractBwdFont<ALLEGRO_FONT> createBackingFontAndFont(
             BwdFontId fontId,
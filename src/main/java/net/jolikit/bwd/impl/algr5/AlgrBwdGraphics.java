@@ -38,6 +38,7 @@ import net.jolikit.bwd.impl.utils.fonts.BindingTextUtils;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
+import net.jolikit.bwd.impl.utils.graphics.IntArrSrcOverBlender;
 import net.jolikit.bwd.impl.utils.graphics.PremulArgbHelper;
 import net.jolikit.lang.Dbg;
 
@@ -127,7 +128,7 @@ public class AlgrBwdGraphics extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public AlgrBwdGraphics newChildGraphics(
+    protected AlgrBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -251,6 +252,34 @@ public class AlgrBwdGraphics extends AbstractIntArrayBwdGraphics {
         return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
     }
 
+    @Override
+    protected void blendArrayColor32OverSpan(
+            int srcPremulArgb32,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
+    @Override
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcPremulArgb32Arr,
+            int srcOffset,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendSpanOverSpan(
+                srcPremulArgb32Arr,
+                srcOffset,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
     /*
      * Text.
      */
@@ -333,6 +333,8 @@ public class AlgrBwdHost extends AbstractBwdHost {
                 binding.getEventsConverterCommonState(),
                 host,
                 pixelCoordsConverter);
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         /*
          * Creating window.
@@ -15,6 +15,7 @@
  */
 package net.jolikit.bwd.impl.awt;
 
+import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.images.AbstractBwdImage;
 import net.jolikit.bwd.impl.utils.images.InterfaceBwdImageDisposalListener;
@@ -60,6 +61,25 @@ public abstract class AbstractAwtBwdImage extends AbstractBwdImage {
         final int premulArgb32 = premulArgb32Arr[index];
         return BindingColorUtils.toNonPremulAxyz32(premulArgb32);
     }
+    
+    @Override
+    protected void getArgb32sImpl(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        final int[] premulArgb32Arr = this.getPremulArgb32Arr();
+        final int width = this.getWidth();
+        for (int j = 0; j < rect.ySpan(); j++) {
+            int index = (rect.y() + j) * width + rect.x();
+            final int rowOffset = offset + j * scanlineStride;
+            for (int i = 0; i < rect.xSpan(); i++) {
+                final int premulArgb32 = premulArgb32Arr[index++];
+                argb32Arr[rowOffset + i] =
+                        BindingColorUtils.toNonPremulAxyz32(premulArgb32);
+            }
+        }
+    }
 
     //--------------------------------------------------------------------------
     // PACKAGE-PRIVATE METHODS
@@ -74,7 +74,8 @@ public class AwtBwdBinding extends AbstractAwtBwdBinding {
         
         this.fontHome = new AwtBwdFontHome(
                 bindingConfig,
-                bindingConfig.getLocale());
+                bindingConfig.getLocale(),
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
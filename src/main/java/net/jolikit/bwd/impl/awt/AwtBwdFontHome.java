@@ -41,6 +41,7 @@ import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.RethrowException;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class AwtBwdFontHome extends AbstractBwdFontHome<Font,AwtBwdFontHome.MyBfg> {
 
@@ -87,17 +88,27 @@ public class AwtBwdFontHome extends AbstractBwdFontHome<Font,AwtBwdFontHome.MyBf
     
     /**
      * @param locale Locale to use for font family names.
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
      */
     public AwtBwdFontHome(
             BaseBwdBindingConfig bindingConfig,
-            Locale locale) {
+            Locale locale,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         this.locale = LangUtils.requireNonNull(locale);
         
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                this.bindingConfig.getGlyphMaskCacheMaxByteSize(),
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
 
     //--------------------------------------------------------------------------
@@ -168,7 +179,7 @@ public class AwtBwdFontHome extends AbstractBwdFontHome<Font,AwtBwdFontHome.MyBf
         InterfaceCanFontDisplayComputer cfdc = null;
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 final int fontIndex = 0;
                 if (mustUseFontBoxForFontKind) {
@@ -219,6 +230,12 @@ public class AwtBwdFontHome extends AbstractBwdFontHome<Font,AwtBwdFontHome.MyBf
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
 
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
+
     /**
      * @param fontId Must not be null.
      * @param disposeCallListener Can be null. If not null, ref count must be 0.
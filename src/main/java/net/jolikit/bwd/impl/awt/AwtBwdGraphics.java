@@ -29,13 +29,14 @@ import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.GRotation;
 import net.jolikit.bwd.api.graphics.GTransform;
-import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
 import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
 import net.jolikit.bwd.impl.awt.BufferedImageHelper.BihPixelFormat;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
+import net.jolikit.bwd.impl.utils.graphics.IntArrSrcOverBlender;
 import net.jolikit.bwd.impl.utils.graphics.PremulArgbHelper;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
@@ -58,6 +59,9 @@ public class AwtBwdGraphics extends AbstractIntArrayBwdGraphics {
     /**
      * Much faster that using super class API with
      * drawing on a temporary buffered image.
+     * 
+     * Not used if font home has a glyph masks cache,
+     * in which case we use super class API with cached glyph masks.
      */
     private static final boolean MUST_DRAW_TEXT_ON_BACKING_IMAGE_DIRECTLY = true;
 
@@ -144,7 +148,7 @@ public class AwtBwdGraphics extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public InterfaceBwdGraphics newChildGraphics(
+    protected AwtBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -187,8 +191,9 @@ public class AwtBwdGraphics extends AbstractIntArrayBwdGraphics {
     public void drawText(
             int x, int y,
             String text) {
-        if (MUST_DRAW_TEXT_ON_BACKING_IMAGE_DIRECTLY) {
-            this.checkUsable();
+        if (MUST_DRAW_TEXT_ON_BACKING_IMAGE_DIRECTLY
+                && (this.getGlyphMaskCacheElseNull() == null)) {
+            this.checkUsableForContentChange();
             LangUtils.requireNonNull(text);
 
             final AwtBwdFont font = this.getFont();
@@ -284,7 +289,7 @@ public class AwtBwdGraphics extends AbstractIntArrayBwdGraphics {
         if (this.isImageGraphics()) {
             super.flipColors(x, y, xSpan, ySpan);
         } else {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             if ((xSpan <= 0) || (ySpan <= 0)) {
                 return;
             }
@@ -426,9 +431,47 @@ public class AwtBwdGraphics extends AbstractIntArrayBwdGraphics {
         return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
     }
 
+    @Override
+    protected void blendArrayColor32OverSpan(
+            int srcPremulArgb32,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
+    @Override
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcPremulArgb32Arr,
+            int srcOffset,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendSpanOverSpan(
+                srcPremulArgb32Arr,
+                srcOffset,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
     /*
      * Text.
      */
+    
+    @Override
+    protected boolean canComputeGlyphMasks() {
+        return true;
+    }
+    
+    @Override
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        return AwtUtils.newGlyphMask((AwtBwdFont) font, codePoint);
+    }
 
     @Override
     protected Object getClippedTextDataAccessor(
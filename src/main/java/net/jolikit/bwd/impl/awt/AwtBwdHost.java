@@ -686,6 +686,8 @@ public class AwtBwdHost extends AbstractBwdHost {
                 binding.getEventsConverterCommonState(),
                 this);
         this.eventConverter = eventConverter;
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         // Need this else we don't receive TAB key events.
         window.setFocusTraversalKeysEnabled(false);
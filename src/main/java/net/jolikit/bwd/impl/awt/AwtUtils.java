@@ -16,6 +16,7 @@
 package net.jolikit.bwd.impl.awt;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Frame;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -25,11 +26,14 @@ import java.awt.Window;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.api.graphics.Argb32;
 import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.GRotation;
 import net.jolikit.bwd.api.graphics.GTransform;
 import net.jolikit.bwd.impl.awt.BufferedImageHelper.BihPixelFormat;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
 
 public class AwtUtils {
 
@@ -139,6 +143,67 @@ public class AwtUtils {
         return new Color(rgba, hasalpha);
     }
     
+    /*
+     * 
+     */
+    
+    /**
+     * Renders the glyph with AWT on a temporary image, large enough
+     * to contain eventual leaks out of theoretical glyph box
+     * (cf. AbstractIntArrayBwdGraphics.computeMaxTextRectInText(...)),
+     * and uses its alpha as coverage.
+     * 
+     * @param font Font to use.
+     * @param codePoint Code point which glyph must be rendered.
+     * @return The corresponding glyph mask.
+     */
+    public static GlyphMask newGlyphMask(AwtBwdFont font, int codePoint) {
+        final Font backingFont = font.getBackingFont();
+        final InterfaceBwdFontMetrics metrics = font.metrics();
+        
+        final int advance = metrics.computeCharWidth(codePoint);
+        final int magnitude = Math.max(font.size(), metrics.height());
+        
+        final int xInPen = -magnitude;
+        final int yInText = -magnitude;
+        final int width = advance + 3 * magnitude;
+        final int height = metrics.height() + 2 * magnitude;
+        
+        final int[] premulArgb32Arr = new int[width * height];
+        final int scanlineStride = width;
+        final BufferedImage image = BufferedImageHelper.newBufferedImageWithIntArray(
+                premulArgb32Arr,
+                scanlineStride,
+                width,
+                height,
+                COMMON_BUFFERED_IMAGE_TYPE_ARGB_PRE);
+        
+        final Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setFont(backingFont);
+            // Opaque, for alpha to be coverage.
+            g2d.setColor(Color.BLACK);
+            final String text = new String(Character.toChars(codePoint));
+            g2d.drawString(text, -xInPen, metrics.ascent() - yInText);
+        } finally {
+            g2d.dispose();
+        }
+        
+        final byte[] alpha8Arr = new byte[premulArgb32Arr.length];
+        for (int i = 0; i < alpha8Arr.length; i++) {
+            alpha8Arr[i] = (byte) Argb32.getAlpha8(premulArgb32Arr[i]);
+        }
+        
+        return GlyphMask.newTrimmed(
+                advance,
+                xInPen,
+                yInText,
+                width,
+                height,
+                alpha8Arr,
+                scanlineStride);
+    }
+    
     /*
      * 
      */
@@ -42,6 +42,7 @@ import java.util.Arrays;
 
 import net.jolikit.bwd.api.graphics.Argb32;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
+import net.jolikit.bwd.impl.utils.graphics.PixelFormatConverter;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 
@@ -141,6 +142,7 @@ public class BufferedImageHelper {
         private final int rIndex;
         private final int gIndex;
         private final int bIndex;
+        private final PixelFormatConverter pixelFormatConverter;
         private BihPixelFormat(
             boolean hasAlpha,
             boolean areColorsInLsbElseMsb,
@@ -154,6 +156,11 @@ public class BufferedImageHelper {
             this.rIndex = rIndex;
             this.gIndex = gIndex;
             this.bIndex = bIndex;
+            this.pixelFormatConverter = PixelFormatConverter.valueOf(
+                computeCptMask(aIndex),
+                computeCptMask(rIndex),
+                computeCptMask(gIndex),
+                computeCptMask(bIndex));
         }
         /**
          * @return True if has alpha.
@@ -192,6 +199,13 @@ public class BufferedImageHelper {
         public int bIndex() {
             return this.bIndex;
         }
+        /**
+         * @return The converter for this format, which bulk methods
+         *         are specialized for it.
+         */
+        public PixelFormatConverter toPixelFormatConverter() {
+            return this.pixelFormatConverter;
+        }
         /**
          * @return The format with same color components as this one
          *         and with alpha (this one if it already has alpha).
@@ -2766,11 +2780,6 @@ public class BufferedImageHelper {
                 + "," + width + "," + height
                 + ")");
         }
-        /*
-         * If need rework,
-         * doing it after each line copy,
-         * to reduce cache misses.
-         */
         final boolean needFormatRework =
             (srcPixelFormat != dstPixelFormat);
         final boolean needPremulRework =
@@ -2793,59 +2802,27 @@ public class BufferedImageHelper {
                 width,
                 height);
         } else {
-            int srcLineOffset = srcY * srcScanlineStride + srcX;
-            int dstLineOffset = dstY * dstScanlineStride + dstX;
-            for (int j = 0; j < height; j++) {
-                System.arraycopy(
-                    srcArr,
-                    srcLineOffset,
-                    dstArr,
-                    dstLineOffset,
-                    width);
-                
-                // Memory-friendly reverse-loop,
-                // assuming arraycopy() is forward-looping.
-                if (needFormatRework) {
-                    for (int i = width; --i >= 0;) {
-                        final int index = dstLineOffset + i;
-                        int pixel = dstArr[index];
-                        int argb32 = srcPixelFormat.toArgb32FromPixel(pixel);
-                        if (needPremulRework) {
-                            if (dstPremul) {
-                                argb32 = BindingColorUtils.toPremulAxyz32(argb32);
-                            } else {
-                                argb32 = BindingColorUtils.toNonPremulAxyz32(argb32);
-                            }
-                        }
-                        pixel = dstPixelFormat.toPixelFromArgb32(argb32);
-                        dstArr[index] = pixel;
-                    }
-                } else if (needPremulRework) {
-                    final boolean isAlphaInMSByte =
-                        dstPixelFormat.areColorsInLsbElseMsb();
-                    for (int i = width; --i >= 0;) {
-                        final int index = dstLineOffset + i;
-                        int pixel = dstArr[index];
-                        if (dstPremul) {
-                            if (isAlphaInMSByte) {
-                                pixel = BindingColorUtils.toPremulAxyz32(pixel);
-                            } else {
-                                pixel = BindingColorUtils.toPremulXyza32(pixel);
-                            }
-                        } else {
-                            if (isAlphaInMSByte) {
-                                pixel = BindingColorUtils.toNonPremulAxyz32(pixel);
-                            } else {
-                                pixel = BindingColorUtils.toNonPremulXyza32(pixel);
-                            }
-                        }
-                        dstArr[index] = pixel;
-                    }
-                }
-                
-                srcLineOffset += srcScanlineStride;
-                dstLineOffset += dstScanlineStride;
-            }
+            /*
+             * Bulk conversion with loops specialized
+             * for our formats, row by row,
+             * doing premul rework in destination row
+             * while it's in cache.
+             */
+            PixelFormatConverter.convert(
+                srcPixelFormat.toPixelFormatConverter(),
+                srcPremul,
+                srcArr,
+                srcY * srcScanlineStride + srcX,
+                srcScanlineStride,
+                //
+                dstPixelFormat.toPixelFormatConverter(),
+                dstPremul,
+                dstArr,
+                dstY * dstScanlineStride + dstX,
+                dstScanlineStride,
+                //
+                width,
+                height);
         }
     }
     
@@ -118,7 +118,9 @@ java.lang.NullPointerException
                 bindingConfig.getUiThreadSchedulerHardClockTimeType(),
                 exceptionHandler);
         
-        this.fontHome = new JfxBwdFontHome(bindingConfig);
+        this.fontHome = new JfxBwdFontHome(
+                bindingConfig,
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
@@ -41,6 +41,7 @@ import net.jolikit.bwd.impl.utils.fonts.FontBoxHelper;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class JfxBwdFontHome extends AbstractBwdFontHome<Font,JfxBwdFontHome.MyBfg> {
     
@@ -95,16 +96,27 @@ public class JfxBwdFontHome extends AbstractBwdFontHome<Font,JfxBwdFontHome.MyBf
     //--------------------------------------------------------------------------
     
     /**
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
      * @throws ExceptionInInitializerError if called before JavaFX
      *         initialization (due to screen DPI retrieval).
      */
-    public JfxBwdFontHome(JfxBwdBindingConfig bindingConfig) {
+    public JfxBwdFontHome(
+            JfxBwdBindingConfig bindingConfig,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                this.bindingConfig.getGlyphMaskCacheMaxByteSize(),
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
 
     //--------------------------------------------------------------------------
@@ -179,7 +191,7 @@ java.lang.NullPointerException
         InterfaceCanFontDisplayComputer cfdc = null;
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 final int fontIndex = 0;
                 if (mustUseFontBoxForFontKind) {
@@ -233,6 +245,12 @@ java.lang.NullPointerException
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
     
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
+    
     @Override
     protected AbstractBwdFont<Font> createBackingFontAndFont(
             BwdFontId fontId,
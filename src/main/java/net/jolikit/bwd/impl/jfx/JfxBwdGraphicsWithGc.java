@@ -21,6 +21,8 @@ import java.util.LinkedList;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.BlendMode;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
 import javafx.scene.text.Font;
@@ -329,7 +331,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
      */
 
     @Override
-    public JfxBwdGraphicsWithGc newChildGraphics(
+    protected JfxBwdGraphicsWithGc newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -369,7 +371,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
     
     @Override
     public void clearRect(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         final GraphicsContext gc = this.getConfiguredGc();
         
@@ -475,7 +477,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             
             if ((xSpan > 0) && (ySpan > 0)) {
                 final double _x = x + this.xShiftInUser;
@@ -496,7 +498,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             
             if ((xSpan > 0) && (ySpan > 0)) {
                 // Need -H rework, because we want to end up at pixels limits.
@@ -524,7 +526,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkArcAngles(startDeg, spanDeg);
             
             if ((xSpan > 0) && (ySpan > 0)) {
@@ -553,7 +555,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkArcAngles(startDeg, spanDeg);
             
             if ((xSpan > 0) && (ySpan > 0)) {
@@ -588,7 +590,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -619,7 +621,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -650,7 +652,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         final GraphicsContext gc = this.getConfiguredGc();
         
         if (MUST_USE_BACKING_GRAPHICS_METHODS) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -680,7 +682,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
     public void drawText(
             int x, int y,
             String text) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         LangUtils.requireNonNull(text);
 
         final AbstractBwdFont<?> font = this.getFont();
@@ -706,7 +708,7 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
 
     @Override
     public void flipColors(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         if ((xSpan <= 0) || (ySpan <= 0)) {
             return;
@@ -896,6 +898,82 @@ public class JfxBwdGraphicsWithGc extends AbstractBwdGraphics {
         return this.primitives;
     }
     
+    /*
+     * Area copy.
+     */
+    
+    /**
+     * Copies source pixels from an up to date snapshot,
+     * and then draws them in base coordinates over the cleared
+     * destination, which amounts to a source composite
+     * (which GC blend modes don't provide).
+     * Uses default implementation if the snapshot
+     * doesn't cover the source.
+     */
+    @Override
+    protected void copyAreaInClipImpl(GRect srcRect, int dx, int dy) {
+        final GTransform transform = this.getTransform();
+        final GRect dstRect = srcRect.withPosDeltas(dx, dy);
+        final GRect srcRectInBase = transform.rectIn1(srcRect);
+        final GRect dstRectInBase = transform.rectIn1(dstRect);
+        
+        final JfxDirtySnapshotHelper dirtySnapshotHelper = this.shared.dirtySnapshotHelper;
+        dirtySnapshotHelper.beforeWholeReading();
+        if ((this.shared.gcScale != 1)
+            || (!dirtySnapshotHelper.getSnapshotBox().contains(srcRectInBase))) {
+            super.copyAreaInClipImpl(srcRect, dx, dy);
+            return;
+        }
+        
+        final int xSpanInBase = srcRectInBase.xSpan();
+        final int ySpanInBase = srcRectInBase.ySpan();
+        final int snapshotScanlineStride =
+            dirtySnapshotHelper.getSnapshotScanlineStride();
+        
+        /*
+         * New image for each copy, because GraphicsContext.drawImage()
+         * is asynchronous, which doesn't allow to reuse images.
+         */
+        final WritableImage srcImage = new WritableImage(xSpanInBase, ySpanInBase);
+        srcImage.getPixelWriter().setPixels(
+            0,
+            0,
+            xSpanInBase,
+            ySpanInBase,
+            PixelFormat.getIntArgbPreInstance(),
+            dirtySnapshotHelper.getSnapshotPremulArgb32Arr(),
+            srcRectInBase.y() * snapshotScanlineStride + srcRectInBase.x(),
+            snapshotScanlineStride);
+        
+        final GraphicsContext gc = this.getConfiguredGc();
+        
+        final GPoint rootBoxTopLeft = this.getRootBoxTopLeft();
+        
+        // Restore also restores transform (clip being preserved).
+        gc.save();
+        try {
+            gc.setTransform(
+                1.0, 0.0,
+                0.0, 1.0,
+                -rootBoxTopLeft.x(),
+                -rootBoxTopLeft.y());
+            gc.clearRect(
+                dstRectInBase.x(),
+                dstRectInBase.y(),
+                xSpanInBase,
+                ySpanInBase);
+            gc.drawImage(
+                srcImage,
+                dstRectInBase.x(),
+                dstRectInBase.y());
+        } finally {
+            gc.restore();
+        }
+        
+        dirtySnapshotHelper.onRectDrawing(
+            transform, dstRect.x(), dstRect.y(), dstRect.xSpan(), dstRect.ySpan());
+    }
+    
     /*
      * Images.
      */
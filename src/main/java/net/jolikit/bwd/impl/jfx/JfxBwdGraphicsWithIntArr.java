@@ -32,9 +32,11 @@ import net.jolikit.bwd.api.graphics.GTransform;
 import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
 import net.jolikit.bwd.impl.utils.basics.BindingBasicsUtils;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
+import net.jolikit.bwd.impl.utils.graphics.IntArrSrcOverBlender;
 import net.jolikit.bwd.impl.utils.graphics.PremulArgbHelper;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.ObjectWrapper;
@@ -177,7 +179,7 @@ public class JfxBwdGraphicsWithIntArr extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public JfxBwdGraphicsWithIntArr newChildGraphics(
+    protected JfxBwdGraphicsWithIntArr newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -450,10 +452,87 @@ public class JfxBwdGraphicsWithIntArr extends AbstractIntArrayBwdGraphics {
         return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
     }
 
+    @Override
+    protected void blendArrayColor32OverSpan(
+            int srcPremulArgb32,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
+    @Override
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcPremulArgb32Arr,
+            int srcOffset,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendSpanOverSpan(
+                srcPremulArgb32Arr,
+                srcOffset,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
     /*
      * Text.
      */
     
+    @Override
+    protected boolean canComputeGlyphMasks() {
+        return true;
+    }
+    
+    /**
+     * Uses getClippedTextDataAccessor(...) on the single code point,
+     * which draws white on black, and uses the resulting gray level
+     * as coverage.
+     */
+    @Override
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        // Font is current font, which getClippedTextDataAccessor(...) uses.
+        final InterfaceBwdFontMetrics fontMetrics = font.metrics();
+        final int advance = fontMetrics.computeCharWidth(codePoint);
+        final GRect maskRectInText = this.computeMaxTextRectInText(
+                advance,
+                fontMetrics.height());
+        
+        final String text = new String(Character.toChars(codePoint));
+        final MyCtda accessor = (MyCtda) this.getClippedTextDataAccessor(
+                text,
+                maskRectInText);
+        
+        final int width = maskRectInText.xSpan();
+        final int height = maskRectInText.ySpan();
+        final byte[] alpha8Arr = new byte[width * height];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                // White on black.
+                final int textArgb32 = accessor.argb32Arr[j * accessor.scanlineStride + i];
+                final int graySum =
+                        Argb32.getRed8(textArgb32)
+                        + Argb32.getGreen8(textArgb32)
+                        + Argb32.getBlue8(textArgb32);
+                alpha8Arr[j * width + i] = (byte) ((graySum + 1) / 3);
+            }
+        }
+        
+        return GlyphMask.newTrimmed(
+                advance,
+                maskRectInText.x(),
+                maskRectInText.y(),
+                width,
+                height,
+                alpha8Arr,
+                width);
+    }
+    
     @Override
     protected Object getClippedTextDataAccessor(
             String text,
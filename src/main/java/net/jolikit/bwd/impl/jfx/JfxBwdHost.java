@@ -631,6 +631,8 @@ public class JfxBwdHost extends AbstractBwdHost {
         this.eventConverter = new JfxEventConverter(
                 binding.getEventsConverterCommonState(),
                 host);
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
 
         this.cursorManager = new JfxBwdCursorManager(canvas);
         
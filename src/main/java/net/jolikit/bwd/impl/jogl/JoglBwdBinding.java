@@ -120,7 +120,8 @@ public class JoglBwdBinding extends AbstractJoglBwdBinding {
         
         this.fontHome = new AwtBwdFontHome(
                 bindingConfig,
-                bindingConfig.getLocale());
+                bindingConfig.getLocale(),
+                this.getInternalParallelizer());
 
         this.terminateConstruction();
     }
@@ -518,6 +518,8 @@ public class JoglBwdHost extends AbstractBwdHost {
                 binding.getEventsConverterCommonState(),
                 host,
                 binding.getPixelCoordsConverter());
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         this.windowListener = new JoglWindowListenerUiThreader(
                 new MyWindowListener(),
@@ -175,7 +175,8 @@ public class LwjglBwdBinding extends AbstractLwjglBwdBinding {
         
         this.fontHome = new AwtBwdFontHome(
                 bindingConfig,
-                bindingConfig.getLocale());
+                bindingConfig.getLocale(),
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
@@ -26,12 +26,12 @@ import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.GRotation;
 import net.jolikit.bwd.api.graphics.GTransform;
-import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
 import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
 import net.jolikit.bwd.impl.awt.AwtBwdFont;
 import net.jolikit.bwd.impl.awt.AwtUtils;
 import net.jolikit.bwd.impl.awt.BufferedImageHelper;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
 import net.jolikit.lang.Dbg;
@@ -106,7 +106,7 @@ public class LwjglBwdGraphics extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public InterfaceBwdGraphics newChildGraphics(
+    protected LwjglBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -149,7 +149,13 @@ public class LwjglBwdGraphics extends AbstractIntArrayBwdGraphics {
     public void drawText(
             int x, int y,
             String text) {
-        this.checkUsable();
+        if (this.getGlyphMaskCacheElseNull() != null) {
+            // Composing text from cached glyph masks.
+            super.drawText(x, y, text);
+            return;
+        }
+        
+        this.checkUsableForContentChange();
         LangUtils.requireNonNull(text);
 
         final AwtBwdFont font = this.getFont();
@@ -289,6 +295,16 @@ public class LwjglBwdGraphics extends AbstractIntArrayBwdGraphics {
     /*
      * Text.
      */
+    
+    @Override
+    protected boolean canComputeGlyphMasks() {
+        return true;
+    }
+    
+    @Override
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        return AwtUtils.newGlyphMask((AwtBwdFont) font, codePoint);
+    }
 
     @Override
     protected Object getClippedTextDataAccessor(
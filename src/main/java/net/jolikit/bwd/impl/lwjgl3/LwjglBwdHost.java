@@ -531,6 +531,8 @@ public class LwjglBwdHost extends AbstractBwdHost {
         this.eventConverter = new LwjglEventConverter(
                 binding.getEventsConverterCommonState(),
                 this);
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         /*
          * 
@@ -122,7 +122,8 @@ public class QtjBwdBinding extends AbstractQtjBwdBinding {
 
         this.fontHome = new QtjBwdFontHome(
                 bindingConfig,
-                bindingConfig.getWritingSystem());
+                bindingConfig.getWritingSystem(),
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
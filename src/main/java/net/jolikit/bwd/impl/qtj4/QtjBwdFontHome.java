@@ -45,6 +45,7 @@ import net.jolikit.bwd.impl.utils.fonts.FontBoxHelper;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class QtjBwdFontHome extends AbstractBwdFontHome<QtjCompleteBackingFont,QtjBwdFontHome.MyBfg> {
     
@@ -160,16 +161,28 @@ public class QtjBwdFontHome extends AbstractBwdFontHome<QtjCompleteBackingFont,Q
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
     
+    /**
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
+     */
     public QtjBwdFontHome(
             BaseBwdBindingConfig bindingConfig,
-            WritingSystem writingSystem) {
+            WritingSystem writingSystem,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         this.writingSystem = LangUtils.requireNonNull(writingSystem);
         
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                0L, // glyphMaskCacheMaxByteSize
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
     
     /*
@@ -247,7 +260,7 @@ public class QtjBwdFontHome extends AbstractBwdFontHome<QtjCompleteBackingFont,Q
         final List<InterfaceCanFontDisplayComputer> cfdcList = new ArrayList<InterfaceCanFontDisplayComputer>();
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 /*
                  * TODO qtj If helper doesn't compute the same amount of fonts,
@@ -354,6 +367,12 @@ public class QtjBwdFontHome extends AbstractBwdFontHome<QtjCompleteBackingFont,Q
     protected InterfaceDefaultFontInfoComputer getDefaultFontInfoComputer() {
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
+    
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
 
     @Override
     protected AbstractBwdFont<QtjCompleteBackingFont> createBackingFontAndFont(
@@ -333,7 +333,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
      */
 
     @Override
-    public QtjBwdGraphics newChildGraphics(
+    protected QtjBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -373,7 +373,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
     
     @Override
     public void clearRect(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         if (this.shared.isImageGraphics) {
             this.fillRectWithCompositionMode(
@@ -419,7 +419,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
         
         final int ret;
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             
             GprimUtils.checkFactorAndPixelNum(factor, pixelNum);
             
@@ -486,7 +486,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
     @Override
     public void drawOval(int x, int y, int xSpan, int ySpan) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             
             if ((xSpan > 0) && (ySpan > 0)) {
                 final QPainter painter = this.getConfiguredPainter();
@@ -504,7 +504,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
     @Override
     public void fillOval(int x, int y, int xSpan, int ySpan) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             
             if ((xSpan > 0) && (ySpan > 0)) {
                 
@@ -537,7 +537,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
             int x, int y, int xSpan, int ySpan,
             double startDeg, double spanDeg) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkArcAngles(startDeg, spanDeg);
             
             if ((xSpan > 0) && (ySpan > 0)) {
@@ -566,7 +566,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
             int x, int y, int xSpan, int ySpan,
             double startDeg, double spanDeg) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkArcAngles(startDeg, spanDeg);
             
             if ((xSpan > 0) && (ySpan > 0)) {
@@ -607,7 +607,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
             int[] yArr,
             int pointCount) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -636,7 +636,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
             int[] yArr,
             int pointCount) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -665,7 +665,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
             int[] yArr,
             int pointCount) {
         if (FORCED_BACKING_GRAPHICS_USAGE) {
-            this.checkUsable();
+            this.checkUsableForContentChange();
             GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
             
             if (pointCount > 0) {
@@ -703,7 +703,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
     public void drawText(
             int x, int y,
             String text) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         LangUtils.requireNonNull(text);
 
         if (DEBUG) {
@@ -731,7 +731,7 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
 
     @Override
     public void flipColors(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         if ((xSpan <= 0) || (ySpan <= 0)) {
             return;
@@ -909,6 +909,58 @@ public class QtjBwdGraphics extends AbstractBwdGraphics {
         return this.primitives;
     }
     
+    /*
+     * Area copy.
+     */
+    
+    /**
+     * Copies source pixels out of the backing image first,
+     * for overlapping to be properly handled, and then draws them
+     * with CompositionMode_Source, in backing image coordinates
+     * (source and destination both being in clip).
+     */
+    @Override
+    protected void copyAreaInClipImpl(GRect srcRect, int dx, int dy) {
+        final GTransform transform = this.getTransform();
+        final GRect dstRect = srcRect.withPosDeltas(dx, dy);
+        
+        // Painter transform for base coordinates.
+        final GPoint rootBoxTopLeft = this.getRootBoxTopLeft();
+        final GRect srcRectInImg = transform.rectIn1(srcRect).withPosDeltas(
+            -rootBoxTopLeft.x(),
+            -rootBoxTopLeft.y());
+        final GRect dstRectInImg = transform.rectIn1(dstRect).withPosDeltas(
+            -rootBoxTopLeft.x(),
+            -rootBoxTopLeft.y());
+        
+        final QPainter painter = this.getConfiguredPainter();
+        
+        final QImage backingImage = this.shared.backingImageHelper.getImage();
+        final QImage srcImage = backingImage.copy(
+            srcRectInImg.x(),
+            srcRectInImg.y(),
+            srcRectInImg.xSpan(),
+            srcRectInImg.ySpan());
+        
+        // Restore also restores clip, transform and composition mode.
+        painter.save();
+        try {
+            painter.resetTransform();
+            painter.setCompositionMode(CompositionMode.CompositionMode_Source);
+            painter.drawImage(
+                dstRectInImg.x(),
+                dstRectInImg.y(),
+                srcImage);
+        } finally {
+            painter.restore();
+        }
+        
+        srcImage.dispose();
+        
+        this.shared.backingImageHelper.onRectDrawing(
+            transform, dstRect.x(), dstRect.y(), dstRect.xSpan(), dstRect.ySpan());
+    }
+    
     /*
      * Images.
      */
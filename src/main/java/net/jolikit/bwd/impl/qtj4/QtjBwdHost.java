@@ -506,6 +506,8 @@ public class QtjBwdHost extends AbstractBwdHost {
                 host,
                 bindingConfig.getMustSynthesizeAltGraph(),
                 bindingConfig.getAltGraphNativeScanCode());
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         final List<WindowType> windowTypeList = new ArrayList<WindowType>();
         
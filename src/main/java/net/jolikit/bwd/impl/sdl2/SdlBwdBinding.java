@@ -233,7 +233,9 @@ public class SdlBwdBinding extends AbstractSdlBwdBinding {
 
         this.backingCursorRepository.init();
         
-        this.fontHome = new SdlBwdFontHome(bindingConfig);
+        this.fontHome = new SdlBwdFontHome(
+                bindingConfig,
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
@@ -44,6 +44,7 @@ import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class SdlBwdFontHome extends AbstractBwdFontHome<Pointer,SdlBwdFontHome.MyBfg> {
     
@@ -135,7 +136,13 @@ public class SdlBwdFontHome extends AbstractBwdFontHome<Pointer,SdlBwdFontHome.M
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
 
-    public SdlBwdFontHome(BaseBwdBindingConfig bindingConfig) {
+    /**
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
+     */
+    public SdlBwdFontHome(
+            BaseBwdBindingConfig bindingConfig,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         
         if (false) {
@@ -168,7 +175,14 @@ public class SdlBwdFontHome extends AbstractBwdFontHome<Pointer,SdlBwdFontHome.M
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                this.bindingConfig.getGlyphMaskCacheMaxByteSize(),
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
 
     //--------------------------------------------------------------------------
@@ -232,7 +246,7 @@ public class SdlBwdFontHome extends AbstractBwdFontHome<Pointer,SdlBwdFontHome.M
         final List<InterfaceCanFontDisplayComputer> cfdcList = new ArrayList<InterfaceCanFontDisplayComputer>();
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 /*
                  * TODO sdl If helper doesn't compute the same amount of fonts,
@@ -334,6 +348,12 @@ public class SdlBwdFontHome extends AbstractBwdFontHome<Pointer,SdlBwdFontHome.M
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
     
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
+    
     @Override
     protected AbstractBwdFont<Pointer> createBackingFontAndFont(
             BwdFontId fontId,
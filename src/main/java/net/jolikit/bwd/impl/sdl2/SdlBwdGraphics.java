@@ -36,9 +36,11 @@ import net.jolikit.bwd.impl.sdl2.jlib.SdlJnaUtils;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
 import net.jolikit.bwd.impl.utils.basics.BindingError;
 import net.jolikit.bwd.impl.utils.fonts.BindingTextUtils;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
+import net.jolikit.bwd.impl.utils.graphics.IntArrSrcOverBlender;
 import net.jolikit.bwd.impl.utils.graphics.PremulArgbHelper;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
@@ -174,7 +176,7 @@ public class SdlBwdGraphics extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public SdlBwdGraphics newChildGraphics(
+    protected SdlBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -292,9 +294,47 @@ public class SdlBwdGraphics extends AbstractIntArrayBwdGraphics {
         return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
     }
 
+    @Override
+    protected void blendArrayColor32OverSpan(
+            int srcPremulArgb32,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
+    @Override
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcPremulArgb32Arr,
+            int srcOffset,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendSpanOverSpan(
+                srcPremulArgb32Arr,
+                srcOffset,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
     /*
      * Text.
      */
+    
+    @Override
+    protected boolean canComputeGlyphMasks() {
+        return true;
+    }
+    
+    @Override
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        return newGlyphMask((SdlBwdFont) font, codePoint);
+    }
 
     @Override
     protected Object getClippedTextDataAccessor(
@@ -428,6 +468,76 @@ public class SdlBwdGraphics extends AbstractIntArrayBwdGraphics {
      * 
      */
 
+    /**
+     * Uses TTF_RenderGlyph_Blended(...), consistently with
+     * newTextDataAccessor_RenderGlyph_Blended(...).
+     */
+    private static GlyphMask newGlyphMask(
+            SdlBwdFont font,
+            int codePoint) {
+        
+        if ((codePoint > BwdUnicode.MAX_FFFF)
+                || (font.metrics().computeCharWidth(codePoint) == 0)) {
+            /*
+             * Can't display it, or TTF_RenderGlyph_Blended(...)
+             * would fail: ignoring.
+             */
+            return GlyphMask.newEmpty(0);
+        }
+        
+        final Pointer backingFont = font.getBackingFont();
+        
+        final char ch = (char) codePoint;
+        // Only using alpha, so color doesn't matter.
+        final Pointer surfPtr = LIB_TTF.TTF_RenderGlyph_Blended(backingFont, ch, SDL_TEXT_RENDERING_COLOR);
+        if (surfPtr == null) {
+            throw new BindingError(
+                    "could not render code point: " + LIB.SDL_GetError()
+                    + ", code point = " + BwdUnicode.toDisplayString(codePoint));
+        }
+        final SDL_Surface surface = SdlJnaUtils.newAndRead(SDL_Surface.ByValue.class, surfPtr);
+        
+        final int[] glyphArgb32Arr;
+        final int glyphWidth;
+        final int glyphHeight;
+        try {
+            glyphWidth = surface.w;
+            glyphHeight = surface.h;
+            final boolean premul = false;
+            glyphArgb32Arr = SdlUtils.surfToArgb32Arr(surface, premul);
+        } finally {
+            LIB.SDL_FreeSurface(surface);
+        }
+        
+        final byte[] alpha8Arr = new byte[glyphWidth * glyphHeight];
+        for (int i = 0; i < alpha8Arr.length; i++) {
+            final int antiAliasedAlpha8 = Argb32.getAlpha8(glyphArgb32Arr[i]);
+            final int alpha8;
+            if (MUST_ENFORCE_COLOR) {
+                /*
+                 * For consistency with enforceColor(...),
+                 * at least for opaque colors.
+                 */
+                final double antiAliasedAlphaFp = Argb32.toFpFromInt8(antiAliasedAlpha8);
+                alpha8 = Argb32.toInt8FromFp(Math.sqrt(antiAliasedAlphaFp));
+            } else {
+                alpha8 = antiAliasedAlpha8;
+            }
+            alpha8Arr[i] = (byte) alpha8;
+        }
+        
+        // First glyph (0,0) is in (0,0) in text,
+        // and each glyph starts where previous one ends.
+        return GlyphMask.newTrimmed(
+                glyphWidth,
+                0,
+                0,
+                glyphWidth,
+                glyphHeight,
+                alpha8Arr,
+                glyphWidth);
+    }
+
     /**
      * Uses TTF_RenderGlyph_Blended(...).
      */
@@ -160,6 +160,8 @@ public class SdlBwdHost extends AbstractBwdHost {
         this.eventConverter = new SdlEventConverter(
                 binding.getEventsConverterCommonState(),
                 this);
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         final boolean isDialog = (owner != null);
         
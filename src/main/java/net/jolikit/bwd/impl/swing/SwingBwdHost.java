@@ -801,6 +801,8 @@ public class SwingBwdHost extends AbstractBwdHost {
                 binding.getEventsConverterCommonState(),
                 this);
         this.eventConverter = eventConverter;
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         // Need this else we don't receive TAB key events.
         contentPane.setFocusTraversalKeysEnabled(false);
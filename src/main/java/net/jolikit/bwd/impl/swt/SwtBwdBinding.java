@@ -113,7 +113,8 @@ public class SwtBwdBinding extends AbstractSwtBwdBinding {
         this.fontHome = new SwtBwdFontHome(
                 bindingConfig,
                 this.display,
-                bindingConfig.getLocale());
+                bindingConfig.getLocale(),
+                this.getInternalParallelizer());
         
         this.terminateConstruction();
     }
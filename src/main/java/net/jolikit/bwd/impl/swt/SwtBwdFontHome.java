@@ -42,6 +42,7 @@ import net.jolikit.bwd.impl.utils.fonts.InterfaceCanFontDisplayComputer;
 import net.jolikit.bwd.impl.utils.fonts.InterfaceFontDisposeCallListener;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class SwtBwdFontHome extends AbstractBwdFontHome<Font,SwtBwdFontHome.MyBfg> {
     
@@ -127,11 +128,14 @@ public class SwtBwdFontHome extends AbstractBwdFontHome<Font,SwtBwdFontHome.MyBf
      * @param locale Locale given to FontData.setLocale(String) method.
      *        Can be null or an empty string, which causes a default charset
      *        to be used.
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
      */
     public SwtBwdFontHome(
             BaseBwdBindingConfig bindingConfig,
             Display display,
-            String locale) {
+            String locale,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
         this.bindingConfig = LangUtils.requireNonNull(bindingConfig);
         this.display = LangUtils.requireNonNull(display);
         this.locale = locale;
@@ -159,7 +163,14 @@ public class SwtBwdFontHome extends AbstractBwdFontHome<Font,SwtBwdFontHome.MyBf
         this.initialize_final(
                 this.bindingConfig.getMinRawFontSize(),
                 this.bindingConfig.getMaxRawFontSize(),
-                this.bindingConfig.getFontSizeFactor());
+                this.bindingConfig.getFontSizeFactor(),
+                0L, // glyphMaskCacheMaxByteSize
+                fontFilesParsingParallelizer);
+        this.initTextWidths_final(
+                this.bindingConfig.getTextWidthCacheMaxSize(),
+                this.bindingConfig.getMustApproximateTextWidths());
+        this.initFontMetadataIndex_final(
+                this.bindingConfig.getFontMetadataIndexFilePath());
     }
 
     /*
@@ -272,7 +283,7 @@ public class SwtBwdFontHome extends AbstractBwdFontHome<Font,SwtBwdFontHome.MyBf
         final List<InterfaceCanFontDisplayComputer> cfdcList = new ArrayList<InterfaceCanFontDisplayComputer>();
         if (mustUseFontBoxForFontKind
                 || mustUseFontBoxForCanDisplay) {
-            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
             try {
                 /*
                  * TODO swt If FontBox doesn't compute the same amount of fonts,
@@ -398,6 +409,12 @@ public class SwtBwdFontHome extends AbstractBwdFontHome<Font,SwtBwdFontHome.MyBf
         return this.bindingConfig.getDefaultFontInfoComputer();
     }
 
+    @Override
+    protected boolean mustUseFontBoxForFontFiles() {
+        return this.bindingConfig.getMustUseFontBoxForFontKind()
+                || this.bindingConfig.getMustUseFontBoxForCanDisplay();
+    }
+
     @Override
     protected AbstractBwdFont<Font> createBackingFontAndFont(
             BwdFontId fontId,
@@ -34,6 +34,7 @@ import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
 import net.jolikit.bwd.impl.utils.graphics.AbstractIntArrayBwdGraphics;
 import net.jolikit.bwd.impl.utils.graphics.BindingColorUtils;
 import net.jolikit.bwd.impl.utils.graphics.InterfaceColorTypeHelper;
+import net.jolikit.bwd.impl.utils.graphics.IntArrSrcOverBlender;
 import net.jolikit.bwd.impl.utils.graphics.PremulArgbHelper;
 import net.jolikit.lang.Dbg;
 
@@ -180,7 +181,7 @@ public class SwtBwdGraphics extends AbstractIntArrayBwdGraphics {
      */
 
     @Override
-    public SwtBwdGraphics newChildGraphics(
+    protected SwtBwdGraphics newChildGraphicsImpl(
             GRect childBox,
             GRect childMaxInitialClip) {
         this.checkFinishNotCalled();
@@ -305,6 +306,34 @@ public class SwtBwdGraphics extends AbstractIntArrayBwdGraphics {
         return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
     }
 
+    @Override
+    protected void blendArrayColor32OverSpan(
+            int srcPremulArgb32,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
+    @Override
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcPremulArgb32Arr,
+            int srcOffset,
+            int[] dstPremulArgb32Arr,
+            int dstOffset,
+            int length) {
+        IntArrSrcOverBlender.blendSpanOverSpan(
+                srcPremulArgb32Arr,
+                srcOffset,
+                dstPremulArgb32Arr,
+                dstOffset,
+                length);
+    }
+
     /*
      * Text.
      */
@@ -243,6 +243,8 @@ public class SwtBwdHost extends AbstractBwdHost {
         this.eventConverter = new SwtEventConverter(
                 binding.getEventsConverterCommonState(),
                 this);
+        this.eventConverter.setMustRecycleMoveAndWheelEvents(
+                binding.getBindingConfig().getMustRecycleMoveAndWheelEvents());
         
         final boolean isDialog = (owner != null);
         
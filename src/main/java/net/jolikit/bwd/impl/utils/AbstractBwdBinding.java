@@ -37,6 +37,8 @@ import net.jolikit.bwd.api.graphics.InterfaceBwdWritableImage;
 import net.jolikit.bwd.impl.utils.basics.BindingError;
 import net.jolikit.bwd.impl.utils.basics.ScaleHelper;
 import net.jolikit.bwd.impl.utils.fonts.AbstractBwdFontHome;
+import net.jolikit.bwd.impl.utils.graphics.MipmapCache;
+import net.jolikit.bwd.impl.utils.graphics.ScaledImageCache;
 import net.jolikit.bwd.impl.utils.images.InterfaceBwdImageDisposalListener;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
@@ -235,6 +237,16 @@ public abstract class AbstractBwdBinding implements InterfaceBwdBindingImpl {
      */
     private final Map<InterfaceBwdImage,Integer> indexByImage = new HashMap<InterfaceBwdImage,Integer>();
     
+    /**
+     * Null if disabled.
+     */
+    private final MipmapCache mipmapCache;
+    
+    /**
+     * Null if disabled.
+     */
+    private final ScaledImageCache scaledImageCache;
+    
     /*
      * 
      */
@@ -312,6 +324,26 @@ public abstract class AbstractBwdBinding implements InterfaceBwdBindingImpl {
         }
         
         this.eventLogicPeriodS = bindingConfig.getWindowEventLogicPeriodS();
+        
+        {
+            final long mipmapCacheMaxByteSize = bindingConfig.getMipmapCacheMaxByteSize();
+            NbrsUtils.requireSupOrEq(0L, mipmapCacheMaxByteSize, "mipmapCacheMaxByteSize");
+            if (mipmapCacheMaxByteSize != 0L) {
+                this.mipmapCache = new MipmapCache(mipmapCacheMaxByteSize);
+            } else {
+                this.mipmapCache = null;
+            }
+        }
+        
+        {
+            final long scaledImageCacheMaxByteSize = bindingConfig.getScaledImageCacheMaxByteSize();
+            NbrsUtils.requireSupOrEq(0L, scaledImageCacheMaxByteSize, "scaledImageCacheMaxByteSize");
+            if (scaledImageCacheMaxByteSize != 0L) {
+                this.scaledImageCache = new ScaledImageCache(scaledImageCacheMaxByteSize);
+            } else {
+                this.scaledImageCache = null;
+            }
+        }
     }
     
     /*
@@ -403,6 +435,22 @@ public abstract class AbstractBwdBinding implements InterfaceBwdBindingImpl {
     /*
      * Images.
      */
+    
+    /**
+     * @return The cache of images mipmaps, shared by all graphics
+     *         of this binding, or null if mipmaps caching is disabled.
+     */
+    public MipmapCache getMipmapCacheElseNull() {
+        return this.mipmapCache;
+    }
+    
+    /**
+     * @return The cache of scaled images, shared by all graphics
+     *         of this binding, or null if scaled images caching is disabled.
+     */
+    public ScaledImageCache getScaledImageCacheElseNull() {
+        return this.scaledImageCache;
+    }
 
     @Override
     public InterfaceBwdImage newImage(String filePath) {
@@ -651,6 +699,14 @@ public abstract class AbstractBwdBinding implements InterfaceBwdBindingImpl {
                 this.indexByImage.put(lastImage, indexRef);
             }
         }
+        final MipmapCache mipmapCache = this.mipmapCache;
+        if (mipmapCache != null) {
+            mipmapCache.removeAllForImage(image);
+        }
+        final ScaledImageCache scaledImageCache = this.scaledImageCache;
+        if (scaledImageCache != null) {
+            scaledImageCache.removeAllForImage(image);
+        }
     }
     
     private void disposeAllImages() {
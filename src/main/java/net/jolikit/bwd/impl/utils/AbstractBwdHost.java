@@ -34,6 +34,7 @@ import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
 import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
+import net.jolikit.bwd.impl.utils.basics.DirtyRegion;
 import net.jolikit.bwd.impl.utils.basics.InterfaceBwdHostImpl;
 import net.jolikit.bwd.impl.utils.basics.InterfaceDoubleSupplier;
 import net.jolikit.bwd.impl.utils.basics.ScaleHelper;
@@ -714,18 +715,19 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
      * 
      */
     
-    private final Object dirtyRectBbMutex = new Object();
+    private final Object dirtyRegionMutex = new Object();
 
     /**
-     * Our bindings just always use dirty rectangles bounding box,
-     * instead of doing one client.paintClient(...) call
-     * per dirty rectangle.
+     * Keeps up to a configured number of disjoint dirty rectangles,
+     * for clients implementing InterfaceBwdDirtyRectsClient
+     * not to have to repaint the bounding box of distant dirty
+     * rectangles. Other clients just get the bounding box.
      * 
-     * Reset to GRect.DEFAULT_EMPTY on use.
+     * Cleared on use.
      * 
-     * Guarded by dirtyRectBbMutex.
+     * Guarded by dirtyRegionMutex.
      */
-    private GRect dirtyRectBb = GRect.DEFAULT_EMPTY;
+    private final DirtyRegion dirtyRegion;
 
     /*
      * 
@@ -908,6 +910,8 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
 
         this.bindingConfig = bindingConfig;
 
+        this.dirtyRegion = new DirtyRegion(bindingConfig.getMaxNbrOfDirtyRects());
+
         this.binding = binding;
 
         this.hostLifecycleListener = hostLifecycleListener;
@@ -1084,8 +1088,8 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
         // Implicit null check.
         dirtyRect = dirtyRect.intersected(GRect.DEFAULT_HUGE);
         
-        synchronized (this.dirtyRectBbMutex) {
-            this.dirtyRectBb = this.dirtyRectBb.unionBoundingBox(dirtyRect);
+        synchronized (this.dirtyRegionMutex) {
+            this.dirtyRegion.add(dirtyRect);
         }
     }
 
@@ -2425,9 +2429,9 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
      */
     protected GRect getAndResetDirtyRectBb() {
         GRect dirtyRectBb;
-        synchronized (this.dirtyRectBbMutex) {
-            dirtyRectBb = this.dirtyRectBb;
-            this.dirtyRectBb = GRect.DEFAULT_EMPTY;
+        synchronized (this.dirtyRegionMutex) {
+            dirtyRectBb = this.dirtyRegion.getBoundingBox();
+            this.dirtyRegion.clear();
         }
         if (getBindingConfig().getMustMakeAllDirtyAtEachPainting()) {
             dirtyRectBb = GRect.DEFAULT_HUGE;
@@ -2435,6 +2439,24 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
         return dirtyRectBb;
     }
     
+    /**
+     * @return The disjoint dirty rectangles to use for next painting,
+     *         whether they have been specified by the binding or by the
+     *         backing library, as a new mutable list, empty if no dirty
+     *         rectangles have been specified.
+     */
+    protected List<GRect> getAndResetDirtyRectList() {
+        List<GRect> dirtyRectList;
+        synchronized (this.dirtyRegionMutex) {
+            dirtyRectList = this.dirtyRegion.newRectList();
+            this.dirtyRegion.clear();
+        }
+        if (getBindingConfig().getMustMakeAllDirtyAtEachPainting()) {
+            dirtyRectList = BindingCoordsUtils.asList(GRect.DEFAULT_HUGE);
+        }
+        return dirtyRectList;
+    }
+    
     /**
      * Called in UI thread.
      * 
@@ -2448,9 +2470,10 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
      * but can be called directly from some places of hosts
      * implementations if it allows to avoid some glitches.
      * 
-     * The dirty rectangle to use for client.paintClient(...) call
-     * must be retrieved with getAndResetDirtyRectBb() only once
-     * the painting has been decided, to make sure not to waste it.
+     * The dirty rectangle(s) to use for client.paintClient(...) call
+     * must be retrieved with getAndResetDirtyRectBb()
+     * or getAndResetDirtyRectList() only once
+     * the painting has been decided, to make sure not to waste them.
      */
     protected abstract void paintClientNowOrLater();
 
@@ -2600,7 +2623,7 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
             bufferPosInCliInOs = GPoint.ZERO;
         }
         
-        final GRect dirtyRect = this.getAndResetDirtyRectBb();
+        final List<GRect> dirtyRectList = this.getAndResetDirtyRectList();
         
         /*
          * Painting into offscreen buffer.
@@ -2624,7 +2647,7 @@ public abstract class AbstractBwdHost implements InterfaceBwdHostImpl, Interface
         final List<GRect> paintedRectList =
             this.getPaintClientHelper().initPaintFinish(
                 gForClient,
-                dirtyRect);
+                dirtyRectList);
         
         if (gotScalingBorder) {
             gForBorder.init();
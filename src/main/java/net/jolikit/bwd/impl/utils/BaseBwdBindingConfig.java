@@ -25,6 +25,7 @@ import net.jolikit.bwd.impl.utils.basics.ScaleHelper;
 import net.jolikit.bwd.impl.utils.basics.ScreenBoundsType;
 import net.jolikit.bwd.impl.utils.sched.HardClockTimeType;
 import net.jolikit.lang.DefaultExceptionHandler;
+import net.jolikit.lang.NbrsUtils;
 
 /**
  * Base class containing configuration parameters common to all bindings
@@ -212,6 +213,14 @@ public class BaseBwdBindingConfig {
      * from a painting to the next.
      */
     private boolean mustMakeAllDirtyAtEachPainting = false;
+    
+    /**
+     * Max number of disjoint dirty rectangles hosts keep track of,
+     * beyond which the closest ones get merged into their bounding box.
+     * 
+     * 1 means always using dirty rectangles bounding box.
+     */
+    private int maxNbrOfDirtyRects = 8;
 
     /*
      * 
@@ -298,6 +307,52 @@ public class BaseBwdBindingConfig {
      */
     private double fontSizeFactor = 1.0;
     
+    /**
+     * Byte budget for the cache of glyph masks (coverage of individual
+     * rendered glyphs), used by int array graphics of bindings that support
+     * it to compose text from cached masks, instead of rasterizing whole
+     * strings with the backing library for each drawText(...) call.
+     * 
+     * Text composed glyph by glyph ignores eventual kerning and shaping
+     * done by backing library for whole strings, which is why this is
+     * disabled by default.
+     * 
+     * Must be >= 0. If 0, glyph masks caching is disabled.
+     */
+    private long glyphMaskCacheMaxByteSize = 0L;
+    
+    /**
+     * Max number of texts which width is cached by each font metrics,
+     * with LRU eviction, to avoid going through the backing library
+     * for widths of frequently measured texts (labels, etc.).
+     * 
+     * Cache accesses are synchronized, which could cause contention
+     * when measuring texts from multiple threads, which is why this
+     * is disabled by default.
+     * 
+     * Must be >= 0. If 0, text widths caching is disabled.
+     */
+    private int textWidthCacheMaxSize = 0;
+    
+    /**
+     * If true, text widths are approximated as the sum of (cached)
+     * chars widths, plus kerning from font file when available,
+     * instead of being computed by the backing library, which is
+     * much faster but ignores eventual shaping done by backing library,
+     * which is why this is false by default.
+     */
+    private boolean mustApproximateTextWidths = false;
+    
+    /**
+     * Path of a file where to persist metadata (font kinds and
+     * code point sets) of font files parsed with FontBox,
+     * for unchanged font files not to be parsed again at next startup.
+     * Only used by bindings that use FontBox to load fonts.
+     * 
+     * Can be null, in which case no such file is used.
+     */
+    private String fontMetadataIndexFilePath = null;
+    
     /*
      * 
      */
@@ -344,6 +399,34 @@ public class BaseBwdBindingConfig {
      */
     private boolean mustUseBackingImageScalingIfApplicable = false;
     
+    /**
+     * Byte budget for the cache of images mipmaps (successive halvings
+     * of images, as computed by iterative scalings when downscaling),
+     * used by int array graphics to start iterative downscalings
+     * from the nearest cached level, instead of recomputing all
+     * halvings for each drawImage(...) call, which helps when drawing
+     * the same images at the same small sizes repeatedly (thumbnails).
+     * 
+     * Mipmaps are only used when drawing whole images,
+     * and are invalidated on writable images modifications.
+     * 
+     * Must be >= 0. If 0, mipmaps caching is disabled.
+     */
+    private long mipmapCacheMaxByteSize = 0L;
+    
+    /**
+     * Byte budget for the cache of scaled images pixels, used by int array
+     * graphics to draw an image scaled the same way as in a previous drawing
+     * by just blending cached pixels, instead of scaling it again,
+     * which helps when drawing the same images at the same sizes
+     * at each frame.
+     * 
+     * Scaled images are invalidated on writable images modifications.
+     * 
+     * Must be >= 0. If 0, scaled images caching is disabled.
+     */
+    private long scaledImageCacheMaxByteSize = 0L;
+    
     /*
      * 
      */
@@ -359,6 +442,17 @@ public class BaseBwdBindingConfig {
      */
     private double keyRepetitionPeriodS = 0.03;
     
+    /**
+     * If true, MOUSE_MOVED, MOUSE_DRAGGED and WHEEL_ROLLED events
+     * given to clients are recycled, i.e. only valid during the call
+     * to the listener method, to avoid allocations for these
+     * high-rate events.
+     * 
+     * False by default, since clients might keep references to events,
+     * which is fine for regular events, that are immutable.
+     */
+    private boolean mustRecycleMoveAndWheelEvents = false;
+    
     /*
      * Window state : behavior.
      * 
@@ -732,6 +826,17 @@ public class BaseBwdBindingConfig {
         this.setMustMakeAllDirtyAtEachPainting_final(mustMakeAllDirtyAtEachPainting);
     }
 
+    public int getMaxNbrOfDirtyRects() {
+        return this.maxNbrOfDirtyRects;
+    }
+
+    /**
+     * Only used for hosts created after the call.
+     */
+    public void setMaxNbrOfDirtyRects(int maxNbrOfDirtyRects) {
+        this.setMaxNbrOfDirtyRects_final(maxNbrOfDirtyRects);
+    }
+
     /*
      * 
      */
@@ -792,6 +897,38 @@ public class BaseBwdBindingConfig {
         this.setFontSizeFactor_final(fontSizeFactor);
     }
 
+    public long getGlyphMaskCacheMaxByteSize() {
+        return this.glyphMaskCacheMaxByteSize;
+    }
+
+    public void setGlyphMaskCacheMaxByteSize(long glyphMaskCacheMaxByteSize) {
+        this.setGlyphMaskCacheMaxByteSize_final(glyphMaskCacheMaxByteSize);
+    }
+
+    public int getTextWidthCacheMaxSize() {
+        return this.textWidthCacheMaxSize;
+    }
+
+    public void setTextWidthCacheMaxSize(int textWidthCacheMaxSize) {
+        this.setTextWidthCacheMaxSize_final(textWidthCacheMaxSize);
+    }
+
+    public boolean getMustApproximateTextWidths() {
+        return this.mustApproximateTextWidths;
+    }
+
+    public void setMustApproximateTextWidths(boolean mustApproximateTextWidths) {
+        this.setMustApproximateTextWidths_final(mustApproximateTextWidths);
+    }
+
+    public String getFontMetadataIndexFilePath() {
+        return this.fontMetadataIndexFilePath;
+    }
+
+    public void setFontMetadataIndexFilePath(String fontMetadataIndexFilePath) {
+        this.setFontMetadataIndexFilePath_final(fontMetadataIndexFilePath);
+    }
+
     /*
      * 
      */
@@ -831,6 +968,22 @@ public class BaseBwdBindingConfig {
         this.setMustUseBackingImageScalingIfApplicable_final(mustUseBackingImageScalingIfApplicable);
     }
     
+    public long getMipmapCacheMaxByteSize() {
+        return this.mipmapCacheMaxByteSize;
+    }
+    
+    public void setMipmapCacheMaxByteSize(long mipmapCacheMaxByteSize) {
+        this.setMipmapCacheMaxByteSize_final(mipmapCacheMaxByteSize);
+    }
+    
+    public long getScaledImageCacheMaxByteSize() {
+        return this.scaledImageCacheMaxByteSize;
+    }
+    
+    public void setScaledImageCacheMaxByteSize(long scaledImageCacheMaxByteSize) {
+        this.setScaledImageCacheMaxByteSize_final(scaledImageCacheMaxByteSize);
+    }
+    
     /*
      * 
      */
@@ -851,6 +1004,17 @@ public class BaseBwdBindingConfig {
         this.setKeyRepetitionPeriodS_final(keyRepetitionPeriodS);
     }
 
+    public boolean getMustRecycleMoveAndWheelEvents() {
+        return this.mustRecycleMoveAndWheelEvents;
+    }
+
+    /**
+     * Only used for hosts created after the call.
+     */
+    public void setMustRecycleMoveAndWheelEvents(boolean mustRecycleMoveAndWheelEvents) {
+        this.setMustRecycleMoveAndWheelEvents_final(mustRecycleMoveAndWheelEvents);
+    }
+
     /*
      * 
      */
@@ -1118,6 +1282,16 @@ public class BaseBwdBindingConfig {
         this.mustMakeAllDirtyAtEachPainting = mustMakeAllDirtyAtEachPainting;
     }
 
+    /**
+     * Default value is 8.
+     * 
+     * @param maxNbrOfDirtyRects Must be >= 1.
+     * @throws IllegalArgumentException if maxNbrOfDirtyRects is < 1.
+     */
+    protected final void setMaxNbrOfDirtyRects_final(int maxNbrOfDirtyRects) {
+        this.maxNbrOfDirtyRects = NbrsUtils.requireSupOrEq(1, maxNbrOfDirtyRects, "maxNbrOfDirtyRects");
+    }
+
     /*
      * 
      */
@@ -1171,6 +1345,34 @@ public class BaseBwdBindingConfig {
         this.fontSizeFactor = fontSizeFactor;
     }
     
+    /**
+     * Default value is 0 (disabled).
+     */
+    protected final void setGlyphMaskCacheMaxByteSize_final(long glyphMaskCacheMaxByteSize) {
+        this.glyphMaskCacheMaxByteSize = glyphMaskCacheMaxByteSize;
+    }
+    
+    /**
+     * Default value is 256.
+     */
+    protected final void setTextWidthCacheMaxSize_final(int textWidthCacheMaxSize) {
+        this.textWidthCacheMaxSize = textWidthCacheMaxSize;
+    }
+    
+    /**
+     * Default value is false.
+     */
+    protected final void setMustApproximateTextWidths_final(boolean mustApproximateTextWidths) {
+        this.mustApproximateTextWidths = mustApproximateTextWidths;
+    }
+    
+    /**
+     * Default value is null (disabled).
+     */
+    protected final void setFontMetadataIndexFilePath_final(String fontMetadataIndexFilePath) {
+        this.fontMetadataIndexFilePath = fontMetadataIndexFilePath;
+    }
+    
     /*
      * 
      */
@@ -1189,6 +1391,20 @@ public class BaseBwdBindingConfig {
     protected void setMustUseBackingImageScalingIfApplicable_final(boolean mustUseBackingImageScalingIfApplicable) {
         this.mustUseBackingImageScalingIfApplicable = mustUseBackingImageScalingIfApplicable;
     }
+    
+    /**
+     * Default value is 0 (disabled).
+     */
+    protected final void setMipmapCacheMaxByteSize_final(long mipmapCacheMaxByteSize) {
+        this.mipmapCacheMaxByteSize = mipmapCacheMaxByteSize;
+    }
+    
+    /**
+     * Default value is 0 (disabled).
+     */
+    protected final void setScaledImageCacheMaxByteSize_final(long scaledImageCacheMaxByteSize) {
+        this.scaledImageCacheMaxByteSize = scaledImageCacheMaxByteSize;
+    }
 
     /*
      * 
@@ -1208,6 +1424,13 @@ public class BaseBwdBindingConfig {
         this.keyRepetitionPeriodS = keyRepetitionPeriodS;
     }
     
+    /**
+     * Default value is false.
+     */
+    protected final void setMustRecycleMoveAndWheelEvents_final(boolean mustRecycleMoveAndWheelEvents) {
+        this.mustRecycleMoveAndWheelEvents = mustRecycleMoveAndWheelEvents;
+    }
+    
     /*
      * 
      */
@@ -18,6 +18,7 @@ package net.jolikit.bwd.impl.utils;
 import java.util.List;
 
 import net.jolikit.bwd.api.InterfaceBwdClient;
+import net.jolikit.bwd.api.InterfaceBwdDirtyRectsClient;
 import net.jolikit.bwd.api.events.BwdKeyEventPr;
 import net.jolikit.bwd.api.events.BwdKeyEventT;
 import net.jolikit.bwd.api.events.BwdMouseEvent;
@@ -25,6 +26,7 @@ import net.jolikit.bwd.api.events.BwdWheelEvent;
 import net.jolikit.bwd.api.events.BwdWindowEvent;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.Unchecked;
 
@@ -33,8 +35,12 @@ import net.jolikit.lang.Unchecked;
  * and keep track of its state.
  * Also take care not to forward any event to the client
  * if it's closed, but doesn't ensure more consistency than that.
+ * 
+ * Implements InterfaceBwdDirtyRectsClient, for multiple dirty rectangles
+ * to be specified to the client if it implements it, else their
+ * bounding box.
  */
-public class ClientWrapperForHost implements InterfaceBwdClient {
+public class ClientWrapperForHost implements InterfaceBwdDirtyRectsClient {
 
     //--------------------------------------------------------------------------
     // FIELDS
@@ -479,6 +485,27 @@ public class ClientWrapperForHost implements InterfaceBwdClient {
         return ret;
     }
 
+    @Override
+    public List<GRect> paintClient(InterfaceBwdGraphics g, List<GRect> dirtyRectList) {
+        if (!(this.client instanceof InterfaceBwdDirtyRectsClient)) {
+            return this.paintClient(
+                    g,
+                    BindingCoordsUtils.computeBoundingBox(dirtyRectList));
+        }
+        final InterfaceBwdDirtyRectsClient client =
+                (InterfaceBwdDirtyRectsClient) this.client;
+        // Not final because compiler not smart enough.
+        List<GRect> ret;
+        try {
+            ret = client.paintClient(g, dirtyRectList);
+        } catch (Throwable t) {
+            this.onThrowable(t);
+            // Pretending everything was painted.
+            ret = null;
+        }
+        return ret;
+    }
+
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
@@ -15,10 +15,12 @@
  */
 package net.jolikit.bwd.impl.utils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import net.jolikit.bwd.api.InterfaceBwdClient;
+import net.jolikit.bwd.api.InterfaceBwdDirtyRectsClient;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
 import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
@@ -67,15 +69,43 @@ public class PaintClientHelper {
     public List<GRect> initPaintFinish(
             InterfaceBwdGraphics g,
             GRect dirtyRect) {
+        return this.initPaintFinish(
+                g,
+                BindingCoordsUtils.asList(dirtyRect));
+    }
+
+    /**
+     * Same as initPaintFinish(InterfaceBwdGraphics,GRect), but for multiple
+     * dirty rectangles, which are specified as such to the client
+     * if it implements InterfaceBwdDirtyRectsClient, else as their
+     * bounding box.
+     * 
+     * @param dirtyRectList Disjoint dirty rectangles. Not modified.
+     */
+    public List<GRect> initPaintFinish(
+            InterfaceBwdGraphics g,
+            List<GRect> dirtyRectList) {
         if (this.clientPaintBeingCalled.compareAndSet(false, true)) {
             try {
                 // Input clipping (mandatory, easier to deal with for clients).
-                dirtyRect = g.getBox().intersected(dirtyRect);
+                final ArrayList<GRect> clippedDirtyRectList =
+                    BindingCoordsUtils.clippedRectList(
+                        g.getBox(),
+                        dirtyRectList);
                 
                 List<GRect> paintedRectList = null;
                 g.init();
                 try {
-                    paintedRectList = this.client.paintClient(g, dirtyRect);
+                    if (this.client instanceof InterfaceBwdDirtyRectsClient) {
+                        paintedRectList =
+                            ((InterfaceBwdDirtyRectsClient) this.client).paintClient(
+                                g,
+                                clippedDirtyRectList);
+                    } else {
+                        paintedRectList = this.client.paintClient(
+                            g,
+                            BindingCoordsUtils.computeBoundingBox(clippedDirtyRectList));
+                    }
                 } finally {
                     g.finish();
                 }
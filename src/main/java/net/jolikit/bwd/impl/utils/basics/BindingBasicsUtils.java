@@ -17,6 +17,8 @@ package net.jolikit.bwd.impl.utils.basics;
 
 import java.nio.ByteOrder;
 
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 
 /**
@@ -137,6 +139,43 @@ public class BindingBasicsUtils {
         return ret;
     }
     
+    /**
+     * Checks the arguments of bulk pixels drawing or reading methods,
+     * except the position of the rectangle.
+     * 
+     * @param argb32Arr Colors array.
+     * @param offset Index of the color of rectangle top-left pixel.
+     * @param scanlineStride Distance between indexes of the colors
+     *        of vertically consecutive pixels.
+     * @param rect Rectangle of pixels.
+     * @throws NullPointerException if the specified array or rectangle
+     *         is null.
+     * @throws IllegalArgumentException if the rectangle is not empty
+     *         and scanlineStride is < rect.xSpan().
+     * @throws IndexOutOfBoundsException if the rectangle is not empty
+     *         and some of its colors indexes are out of the array.
+     */
+    public static void checkPixelsArgs(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect) {
+        LangUtils.requireNonNull(argb32Arr);
+        // Implicit null check.
+        if (rect.isEmpty()) {
+            return;
+        }
+        final int xSpan = rect.xSpan();
+        if (scanlineStride < xSpan) {
+            throw new IllegalArgumentException(
+                    "scanlineStride [" + scanlineStride
+                    + "] must be >= rect.xSpan() [" + xSpan + "]");
+        }
+        final long length =
+                (rect.ySpan() - 1) * (long) scanlineStride + xSpan;
+        LangUtils.checkBounds((long) argb32Arr.length, (long) offset, length);
+    }
+    
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
@@ -127,6 +127,20 @@ public class BindingCoordsUtils {
         return result;
     }
     
+    /**
+     * @param rectList A list of rectangles.
+     * @return The bounding box of the specified rectangles,
+     *         or GRect.DEFAULT_EMPTY if the list is empty.
+     */
+    public static GRect computeBoundingBox(List<GRect> rectList) {
+        GRect bb = GRect.DEFAULT_EMPTY;
+        final int size = rectList.size();
+        for (int i = 0; i < size; i++) {
+            bb = bb.unionBoundingBox(rectList.get(i));
+        }
+        return bb;
+    }
+    
     public static ArrayList<GRect> clippedRectList(
             GRect rect,
             List<GRect> rectList) {
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.basics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Thread-safe map with LRU eviction when the total size of its values
+ * exceeds a budget, and with hit/miss/eviction statistics.
+ * 
+ * Sizes are in whatever unit the owner uses, such as bytes,
+ * or 1 per entry for a budget in number of entries.
+ * 
+ * Meant to hold the mechanics of the caches of the binding
+ * (glyph masks, text widths, mipmaps, scaled images),
+ * which only deal with their keys and values.
+ * Owners using mutable keys for lookups (for them not to create garbage)
+ * can guard them with getMutex(), which is reentrant
+ * with the locking done by this class.
+ */
+public class BudgetedLruCache<K,V> {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * For removal of entries by key.
+     */
+    public interface InterfaceKeyFilter<K> {
+        /**
+         * Called while holding the mutex of the cache.
+         * 
+         * @return True if the entry for the specified key must be removed.
+         */
+        public boolean accept(K key);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Immutable.
+     */
+    private static class MyEntry<V> {
+        final V value;
+        final long size;
+        public MyEntry(
+                V value,
+                long size) {
+            this.value = value;
+            this.size = size;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final long maxTotalSize;
+    
+    private final Object mutex = new Object();
+    
+    /**
+     * Guarded by mutex.
+     * 
+     * In access order, eldest (least recently used) first.
+     */
+    private final LinkedHashMap<K,MyEntry<V>> entryByKey =
+            new LinkedHashMap<K,MyEntry<V>>(16, 0.75f, true);
+    
+    /*
+     * Guarded by mutex.
+     */
+    
+    private long totalSize;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long evictionCount;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxTotalSize Max total size of values. Must be > 0.
+     */
+    public BudgetedLruCache(long maxTotalSize) {
+        this.maxTotalSize = NbrsUtils.requireSup(0L, maxTotalSize, "maxTotalSize");
+    }
+    
+    @Override
+    public String toString() {
+        synchronized (this.mutex) {
+            return "[size = " + this.entryByKey.size()
+                    + ", totalSize = " + this.totalSize
+                    + ", maxTotalSize = " + this.maxTotalSize
+                    + ", hitCount = " + this.hitCount
+                    + ", missCount = " + this.missCount
+                    + ", evictionCount = " + this.evictionCount
+                    + "]";
+        }
+    }
+    
+    public long getMaxTotalSize() {
+        return this.maxTotalSize;
+    }
+    
+    /**
+     * @return The mutex guarding this cache.
+     */
+    public Object getMutex() {
+        return this.mutex;
+    }
+    
+    /**
+     * Counts a hit if a value is found, else a miss.
+     * 
+     * @param key Key to look up. Can be a mutable key,
+     *        as long as it's not modified during this call.
+     * @return The value for the specified key, or null if none.
+     */
+    public V get(K key) {
+        synchronized (this.mutex) {
+            final V value = this.peek(key);
+            if (value != null) {
+                this.hitCount++;
+            } else {
+                this.missCount++;
+            }
+            return value;
+        }
+    }
+    
+    /**
+     * Does not count a hit or a miss, for use when whether the value
+     * is usable depends on the value. Use countHit() or countMiss()
+     * afterwards, while holding the mutex, for statistics.
+     * 
+     * Like get(...), makes the entry the most recently used.
+     * 
+     * @param key Key to look up. Can be a mutable key,
+     *        as long as it's not modified during this call.
+     * @return The value for the specified key, or null if none.
+     */
+    public V peek(K key) {
+        synchronized (this.mutex) {
+            final MyEntry<V> entry = this.entryByKey.get(key);
+            return ((entry != null) ? entry.value : null);
+        }
+    }
+    
+    public void countHit() {
+        synchronized (this.mutex) {
+            this.hitCount++;
+        }
+    }
+    
+    public void countMiss() {
+        synchronized (this.mutex) {
+            this.missCount++;
+        }
+    }
+    
+    /**
+     * Does nothing if the specified size is larger than max total size.
+     * Else, replaces any previous value for the specified key,
+     * and evicts least recently used entries as needed.
+     * 
+     * @param key Key, which must not be modified afterwards.
+     * @param value Value. Must not be null.
+     * @param size Size of the specified value. Must be >= 0.
+     * @return True if the value has been put, false if it is too large.
+     */
+    public boolean put(K key, V value, long size) {
+        LangUtils.requireNonNull(key);
+        LangUtils.requireNonNull(value);
+        NbrsUtils.requireSupOrEq(0L, size, "size");
+        if (size > this.maxTotalSize) {
+            return false;
+        }
+        synchronized (this.mutex) {
+            final MyEntry<V> previous = this.entryByKey.put(
+                    key,
+                    new MyEntry<V>(value, size));
+            if (previous != null) {
+                this.totalSize -= previous.size;
+            }
+            this.totalSize += size;
+            
+            final Iterator<MyEntry<V>> it = this.entryByKey.values().iterator();
+            while (this.totalSize > this.maxTotalSize) {
+                // Can't remove the entry we just put,
+                // since it fits alone.
+                final MyEntry<V> eldest = it.next();
+                it.remove();
+                this.totalSize -= eldest.size;
+                this.evictionCount++;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @param key Key to remove. Can be a mutable key,
+     *        as long as it's not modified during this call.
+     * @return The removed value, or null if none.
+     */
+    public V remove(K key) {
+        synchronized (this.mutex) {
+            final MyEntry<V> entry = this.entryByKey.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            this.totalSize -= entry.size;
+            return entry.value;
+        }
+    }
+    
+    /**
+     * Linear in the number of entries, so meant for rare removals,
+     * such as when a font or an image is disposed.
+     * 
+     * @param filter Filter accepting keys which entries must be removed.
+     * @return The number of removed entries.
+     */
+    public int removeAll(InterfaceKeyFilter<? super K> filter) {
+        LangUtils.requireNonNull(filter);
+        int removedCount = 0;
+        synchronized (this.mutex) {
+            final Iterator<Map.Entry<K,MyEntry<V>>> it =
+                    this.entryByKey.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<K,MyEntry<V>> entry = it.next();
+                if (filter.accept(entry.getKey())) {
+                    it.remove();
+                    this.totalSize -= entry.getValue().size;
+                    removedCount++;
+                }
+            }
+        }
+        return removedCount;
+    }
+    
+    /**
+     * Removes all entries. Doesn't reset statistics.
+     */
+    public void clear() {
+        synchronized (this.mutex) {
+            this.entryByKey.clear();
+            this.totalSize = 0;
+        }
+    }
+    
+    /*
+     * Statistics.
+     */
+    
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (this.mutex) {
+            return this.entryByKey.size();
+        }
+    }
+    
+    /**
+     * @return Total size of values.
+     */
+    public long getTotalSize() {
+        synchronized (this.mutex) {
+            return this.totalSize;
+        }
+    }
+    
+    public long getHitCount() {
+        synchronized (this.mutex) {
+            return this.hitCount;
+        }
+    }
+    
+    public long getMissCount() {
+        synchronized (this.mutex) {
+            return this.missCount;
+        }
+    }
+    
+    /**
+     * @return The number of entries evicted due to max total size.
+     */
+    public long getEvictionCount() {
+        synchronized (this.mutex) {
+            return this.evictionCount;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.basics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Set of disjoint dirty rectangles, bounded in number.
+ * 
+ * Rectangles overlapping the added ones are merged with them,
+ * into their bounding box, and when the max number of rectangles
+ * is exceeded, the two rectangles which bounding box covers the least
+ * additional pixels are merged, until it's no longer exceeded.
+ * As a result, dirty pixels are always covered, and a max number
+ * of rectangles of 1 gives the usual single bounding box.
+ * 
+ * Not thread-safe.
+ */
+public class DirtyRegion {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final int maxRectCount;
+    
+    /**
+     * Disjoint and non-empty rectangles.
+     */
+    private final ArrayList<GRect> rectList = new ArrayList<GRect>();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxRectCount Max number of rectangles. Must be >= 1.
+     * @throws IllegalArgumentException if maxRectCount is < 1.
+     */
+    public DirtyRegion(int maxRectCount) {
+        this.maxRectCount = NbrsUtils.requireSupOrEq(1, maxRectCount, "maxRectCount");
+    }
+    
+    @Override
+    public String toString() {
+        return this.rectList.toString();
+    }
+    
+    public int getMaxRectCount() {
+        return this.maxRectCount;
+    }
+    
+    /**
+     * @return True if there is no dirty rectangle, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.rectList.isEmpty();
+    }
+    
+    /**
+     * @return The number of dirty rectangles.
+     */
+    public int size() {
+        return this.rectList.size();
+    }
+    
+    /**
+     * Removes all dirty rectangles.
+     */
+    public void clear() {
+        this.rectList.clear();
+    }
+    
+    /**
+     * @param rect Rectangle to make dirty. Can be empty,
+     *        in which case this method has no effect.
+     *        Must not overflow when united with other rectangles.
+     */
+    public void add(GRect rect) {
+        if (rect.isEmpty()) {
+            return;
+        }
+        this.addAndMergeOverlapping(rect);
+        
+        while (this.rectList.size() > this.maxRectCount) {
+            this.mergeCheapestPair();
+        }
+    }
+    
+    /**
+     * @return The bounding box of dirty rectangles,
+     *         or GRect.DEFAULT_EMPTY if there is none.
+     */
+    public GRect getBoundingBox() {
+        GRect bb = GRect.DEFAULT_EMPTY;
+        for (GRect rect : this.rectList) {
+            bb = bb.unionBoundingBox(rect);
+        }
+        return bb;
+    }
+    
+    /**
+     * @return A new mutable list containing the dirty rectangles,
+     *         which are disjoint and non-empty.
+     */
+    public List<GRect> newRectList() {
+        return new ArrayList<GRect>(this.rectList);
+    }
+    
+    /**
+     * @return The number of dirty pixels, i.e. the sum
+     *         of dirty rectangles areas, since they are disjoint.
+     */
+    public long getAreaLong() {
+        long area = 0;
+        for (GRect rect : this.rectList) {
+            area += rect.areaLong();
+        }
+        return area;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Merges the specified rectangle with overlapping ones,
+     * until it no longer overlaps any, and then adds it.
+     * 
+     * @param rect Must not be empty.
+     */
+    private void addAndMergeOverlapping(GRect rect) {
+        final ArrayList<GRect> list = this.rectList;
+        int i = 0;
+        while (i < list.size()) {
+            final GRect other = list.get(i);
+            if (other.contains(rect)) {
+                // Already covered (other rectangles being disjoint
+                // from this one, merged ones were covered as well).
+                return;
+            }
+            if (other.overlaps(rect)) {
+                rect = rect.unionBoundingBox(other);
+                removeFast(list, i);
+                // Bounding box grew: checking again from start.
+                i = 0;
+            } else {
+                i++;
+            }
+        }
+        list.add(rect);
+    }
+    
+    /**
+     * Merges the two rectangles which bounding box area
+     * is the closest to the sum of their areas.
+     */
+    private void mergeCheapestPair() {
+        final ArrayList<GRect> list = this.rectList;
+        final int size = list.size();
+        
+        int bestI = -1;
+        int bestJ = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (int i = 0; i < size - 1; i++) {
+            final GRect ri = list.get(i);
+            final long areaI = ri.areaLong();
+            for (int j = i + 1; j < size; j++) {
+                final GRect rj = list.get(j);
+                final long cost =
+                    ri.unionBoundingBox(rj).areaLong()
+                    - areaI
+                    - rj.areaLong();
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestI = i;
+                    bestJ = j;
+                }
+            }
+        }
+        
+        final GRect merged = list.get(bestI).unionBoundingBox(list.get(bestJ));
+        // Removing the highest index first,
+        // for removeFast() not to move the other one.
+        removeFast(list, bestJ);
+        removeFast(list, bestI);
+        // Bounding box might overlap other rectangles.
+        this.addAndMergeOverlapping(merged);
+    }
+    
+    /**
+     * Removes the specified element by replacing it with the last one,
+     * since order doesn't matter.
+     */
+    private static void removeFast(ArrayList<GRect> list, int index) {
+        final int lastIndex = list.size() - 1;
+        final GRect last = list.remove(lastIndex);
+        if (index != lastIndex) {
+            list.set(index, last);
+        }
+    }
+}
@@ -32,6 +32,15 @@ import net.jolikit.lang.LangUtils;
  * information.
  * 
  * Must use one instance per host, for it stores host-specific state.
+ * 
+ * Optionally, MOUSE_MOVED (and derived MOUSE_DRAGGED) and WHEEL_ROLLED
+ * events can be recycled, i.e. a same instance being updated and returned
+ * for each backing event, with bitmask-based button and modifier sets,
+ * for these high-rate events not to cause allocations once positions
+ * and client bounds are known.
+ * In that case, the returned events are only valid until next conversion,
+ * so listeners must not keep references to them (nor to their sets),
+ * and must copy what they need instead.
  */
 public abstract class AbstractEventConverter {
 
@@ -45,6 +54,24 @@ public abstract class AbstractEventConverter {
     
     private final ScaleHelper scaleHelper;
     
+    private boolean mustRecycleMoveAndWheelEvents = false;
+    
+    /*
+     * For recycled events.
+     * Lazily created, since initial client bounds must not be empty.
+     */
+    
+    private RecycledBwdMouseEvent recycledMouseMovedEvent = null;
+    
+    private RecycledBwdWheelEvent recycledWheelEvent = null;
+    
+    /**
+     * To avoid scaling client bounds for each recycled event.
+     */
+    private GRect lastClientBoundsInOs = null;
+    private int lastScale = 0;
+    private GRect lastScaledClientBoundsInBd = null;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -58,6 +85,21 @@ public abstract class AbstractEventConverter {
         this.scaleHelper = LangUtils.requireNonNull(scaleHelper);
     }
     
+    /**
+     * False by default.
+     * 
+     * @param mustRecycleMoveAndWheelEvents True if MOUSE_MOVED and
+     *        WHEEL_ROLLED events must be recycled (cf. class javadoc),
+     *        false otherwise.
+     */
+    public void setMustRecycleMoveAndWheelEvents(boolean mustRecycleMoveAndWheelEvents) {
+        this.mustRecycleMoveAndWheelEvents = mustRecycleMoveAndWheelEvents;
+    }
+    
+    public boolean getMustRecycleMoveAndWheelEvents() {
+        return this.mustRecycleMoveAndWheelEvents;
+    }
+    
     /*
      * Key events.
      */
@@ -154,7 +196,13 @@ public abstract class AbstractEventConverter {
                 BwdEventType.MOUSE_EXITED_CLIENT);
     }
     
+    /**
+     * @return A recycled event if recycling is activated.
+     */
     public BwdMouseEvent newMouseMovedEventElseNull(Object backingEvent) {
+        if (this.mustRecycleMoveAndWheelEvents) {
+            return this.getRecycledMouseMovedEventElseNull(backingEvent);
+        }
         return this.newMouseEventElseNull(
                 backingEvent,
                 BwdEventType.MOUSE_MOVED);
@@ -164,7 +212,13 @@ public abstract class AbstractEventConverter {
      * Wheel events.
      */
     
+    /**
+     * @return A recycled event if recycling is activated.
+     */
     public BwdWheelEvent newWheelEventElseNull(Object backingEvent) {
+        if (this.mustRecycleMoveAndWheelEvents) {
+            return this.getRecycledWheelEventElseNull(backingEvent);
+        }
         
         this.updateFromBackingEvent(backingEvent);
         
@@ -313,4 +367,88 @@ public abstract class AbstractEventConverter {
         }
         return ret;
     }
+    
+    /*
+     * Recycled events.
+     */
+    
+    private BwdMouseEvent getRecycledMouseMovedEventElseNull(Object backingEvent) {
+        
+        this.updateFromBackingEvent(backingEvent);
+        
+        final GRect scaledClientBoundsInBd = this.getScaledClientBoundsInBd();
+        if (scaledClientBoundsInBd.isEmpty()) {
+            return null;
+        }
+        
+        RecycledBwdMouseEvent ret = this.recycledMouseMovedEvent;
+        if (ret == null) {
+            ret = new RecycledBwdMouseEvent(
+                this.host,
+                scaledClientBoundsInBd);
+            this.recycledMouseMovedEvent = ret;
+        }
+        final CmnInputConvState commonState = this.commonState;
+        ret.update(
+            this.scaleHelper.posOsToBd(commonState.getMouseXInScreenInOs()),
+            this.scaleHelper.posOsToBd(commonState.getMouseYInScreenInOs()),
+            scaledClientBoundsInBd,
+            this.getButton(backingEvent),
+            commonState.getButtonDownMask(),
+            commonState.getModifierKeyDownMask());
+        return ret;
+    }
+    
+    private BwdWheelEvent getRecycledWheelEventElseNull(Object backingEvent) {
+        
+        this.updateFromBackingEvent(backingEvent);
+        
+        final GRect scaledClientBoundsInBd = this.getScaledClientBoundsInBd();
+        if (scaledClientBoundsInBd.isEmpty()) {
+            return null;
+        }
+        
+        final int xRoll = this.getWheelXRoll(backingEvent);
+        final int yRoll = this.getWheelYRoll(backingEvent);
+        if ((xRoll == 0)
+                && (yRoll == 0)) {
+            // Same as for non-recycled events.
+            return null;
+        }
+        
+        RecycledBwdWheelEvent ret = this.recycledWheelEvent;
+        if (ret == null) {
+            ret = new RecycledBwdWheelEvent(
+                this.host,
+                scaledClientBoundsInBd);
+            this.recycledWheelEvent = ret;
+        }
+        final CmnInputConvState commonState = this.commonState;
+        ret.update(
+            this.scaleHelper.posOsToBd(commonState.getMouseXInScreenInOs()),
+            this.scaleHelper.posOsToBd(commonState.getMouseYInScreenInOs()),
+            scaledClientBoundsInBd,
+            xRoll,
+            yRoll,
+            commonState.getModifierKeyDownMask());
+        return ret;
+    }
+    
+    /**
+     * @return Scaled client bounds, only computed
+     *         if client bounds in OS or scale changed.
+     */
+    private GRect getScaledClientBoundsInBd() {
+        final GRect clientBoundsInOs = this.getHost().getClientBoundsInOs();
+        final int scale = this.scaleHelper.getScale();
+        if ((scale != this.lastScale)
+                || (!clientBoundsInOs.equals(this.lastClientBoundsInOs))) {
+            this.lastScaledClientBoundsInBd =
+                this.scaleHelper.rectOsToBdContained(
+                    clientBoundsInOs);
+            this.lastClientBoundsInOs = clientBoundsInOs;
+            this.lastScale = scale;
+        }
+        return this.lastScaledClientBoundsInBd;
+    }
 }
@@ -31,12 +31,28 @@ public class CmnInputConvState {
     // FIELDS
     //--------------------------------------------------------------------------
     
+    private int mouseXInScreenInOs = 0;
+    private int mouseYInScreenInOs = 0;
+    
+    /**
+     * Lazily computed if set with int coordinates,
+     * null when not computed.
+     */
     private GPoint mousePosInScreenInOs = GPoint.ZERO;
 
     private final SortedSet<Integer> buttonDownSet = new TreeSet<Integer>();
     
     private final SortedSet<Integer> modifierKeyDownSet = new TreeSet<Integer>();
     
+    /*
+     * Bitmasks equivalent to the sets, for allocation-free
+     * creation of recycled events.
+     */
+    
+    private long buttonDownMask = 0L;
+    
+    private long modifierKeyDownMask = 0L;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -45,13 +61,39 @@ public class CmnInputConvState {
     }
     
     public GPoint getMousePosInScreenInOs() {
-        return this.mousePosInScreenInOs;
+        GPoint ret = this.mousePosInScreenInOs;
+        if (ret == null) {
+            ret = GPoint.valueOf(
+                this.mouseXInScreenInOs,
+                this.mouseYInScreenInOs);
+            this.mousePosInScreenInOs = ret;
+        }
+        return ret;
     }
     
     public void setMousePosInScreenInOs(GPoint mousePosInScreenInOs) {
+        this.mouseXInScreenInOs = mousePosInScreenInOs.x();
+        this.mouseYInScreenInOs = mousePosInScreenInOs.y();
         this.mousePosInScreenInOs = mousePosInScreenInOs;
     }
     
+    /**
+     * Allocation-free alternative to setMousePosInScreenInOs(GPoint).
+     */
+    public void setMousePosInScreenInOs(int mouseXInScreenInOs, int mouseYInScreenInOs) {
+        this.mouseXInScreenInOs = mouseXInScreenInOs;
+        this.mouseYInScreenInOs = mouseYInScreenInOs;
+        this.mousePosInScreenInOs = null;
+    }
+    
+    public int getMouseXInScreenInOs() {
+        return this.mouseXInScreenInOs;
+    }
+    
+    public int getMouseYInScreenInOs() {
+        return this.mouseYInScreenInOs;
+    }
+    
     /*
      * 
      */
@@ -59,6 +101,14 @@ public class CmnInputConvState {
     public SortedSet<Integer> getButtonDownSet() {
         return this.buttonDownSet;
     }
+    
+    /**
+     * @return Bitmask of buttons that are down, with bit of index
+     *         button set if button is down.
+     */
+    public long getButtonDownMask() {
+        return this.buttonDownMask;
+    }
 
     /*
      * 
@@ -69,11 +119,7 @@ public class CmnInputConvState {
     }
     
     public void setPrimaryButtonDown(boolean primaryButtonDown) {
-        if (primaryButtonDown) {
-            this.buttonDownSet.add(BwdMouseButtons.PRIMARY);
-        } else {
-            this.buttonDownSet.remove(BwdMouseButtons.PRIMARY);
-        }
+        this.setButtonDown(BwdMouseButtons.PRIMARY, primaryButtonDown);
     }
 
     public boolean getMiddleButtonDown() {
@@ -81,11 +127,7 @@ public class CmnInputConvState {
     }
 
     public void setMiddleButtonDown(boolean middleButtonDown) {
-        if (middleButtonDown) {
-            this.buttonDownSet.add(BwdMouseButtons.MIDDLE);
-        } else {
-            this.buttonDownSet.remove(BwdMouseButtons.MIDDLE);
-        }
+        this.setButtonDown(BwdMouseButtons.MIDDLE, middleButtonDown);
     }
 
     public boolean getSecondaryButtonDown() {
@@ -93,11 +135,7 @@ public class CmnInputConvState {
     }
     
     public void setSecondaryButtonDown(boolean secondaryButtonDown) {
-        if (secondaryButtonDown) {
-            this.buttonDownSet.add(BwdMouseButtons.SECONDARY);
-        } else {
-            this.buttonDownSet.remove(BwdMouseButtons.SECONDARY);
-        }
+        this.setButtonDown(BwdMouseButtons.SECONDARY, secondaryButtonDown);
     }
     
     /*
@@ -107,6 +145,14 @@ public class CmnInputConvState {
     public SortedSet<Integer> getModifierKeyDownSet() {
         return this.modifierKeyDownSet;
     }
+    
+    /**
+     * @return Bitmask of modifier keys that are down, with bit of index
+     *         key set if key is down.
+     */
+    public long getModifierKeyDownMask() {
+        return this.modifierKeyDownMask;
+    }
 
     /*
      * 
@@ -117,11 +163,7 @@ public class CmnInputConvState {
     }
     
     public void setShiftDown(boolean shiftDown) {
-        if (shiftDown) {
-            this.modifierKeyDownSet.add(BwdKeys.SHIFT);
-        } else {
-            this.modifierKeyDownSet.remove(BwdKeys.SHIFT);
-        }
+        this.setModifierKeyDown(BwdKeys.SHIFT, shiftDown);
     }
     
     public boolean getControlDown() {
@@ -129,11 +171,7 @@ public class CmnInputConvState {
     }
 
     public void setControlDown(boolean controlDown) {
-        if (controlDown) {
-            this.modifierKeyDownSet.add(BwdKeys.CONTROL);
-        } else {
-            this.modifierKeyDownSet.remove(BwdKeys.CONTROL);
-        }
+        this.setModifierKeyDown(BwdKeys.CONTROL, controlDown);
     }
 
     public boolean getAltDown() {
@@ -141,11 +179,7 @@ public class CmnInputConvState {
     }
 
     public void setAltDown(boolean altDown) {
-        if (altDown) {
-            this.modifierKeyDownSet.add(BwdKeys.ALT);
-        } else {
-            this.modifierKeyDownSet.remove(BwdKeys.ALT);
-        }
+        this.setModifierKeyDown(BwdKeys.ALT, altDown);
     }
 
     public boolean getAltGraphDown() {
@@ -153,11 +187,7 @@ public class CmnInputConvState {
     }
 
     public void setAltGraphDown(boolean altGraphDown) {
-        if (altGraphDown) {
-            this.modifierKeyDownSet.add(BwdKeys.ALT_GRAPH);
-        } else {
-            this.modifierKeyDownSet.remove(BwdKeys.ALT_GRAPH);
-        }
+        this.setModifierKeyDown(BwdKeys.ALT_GRAPH, altGraphDown);
     }
 
     public boolean getMetaDown() {
@@ -165,10 +195,34 @@ public class CmnInputConvState {
     }
     
     public void setMetaDown(boolean metaDown) {
-        if (metaDown) {
-            this.modifierKeyDownSet.add(BwdKeys.META);
+        this.setModifierKeyDown(BwdKeys.META, metaDown);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void setButtonDown(int button, boolean down) {
+        if (down) {
+            this.buttonDownSet.add(button);
+        } else {
+            this.buttonDownSet.remove(button);
+        }
+        this.buttonDownMask = IntBitmaskSortedSet.withValue(
+            this.buttonDownMask,
+            button,
+            down);
+    }
+    
+    private void setModifierKeyDown(int key, boolean down) {
+        if (down) {
+            this.modifierKeyDownSet.add(key);
         } else {
-            this.modifierKeyDownSet.remove(BwdKeys.META);
+            this.modifierKeyDownSet.remove(key);
         }
+        this.modifierKeyDownMask = IntBitmaskSortedSet.withValue(
+            this.modifierKeyDownMask,
+            key,
+            down);
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.events;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Sorted set of integers in [0,63], backed by a bitmask,
+ * and unmodifiable through the Set API.
+ * 
+ * Allows for allocation-free updates and contains(...) checks,
+ * small Integer instances being cached by the JVM.
+ * 
+ * headSet(...), tailSet(...) and subSet(...) return snapshots,
+ * not views.
+ */
+class IntBitmaskSortedSet extends AbstractSet<Integer> implements SortedSet<Integer> {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyIterator implements Iterator<Integer> {
+        private long remainingMask;
+        public MyIterator(long mask) {
+            this.remainingMask = mask;
+        }
+        @Override
+        public boolean hasNext() {
+            return this.remainingMask != 0L;
+        }
+        @Override
+        public Integer next() {
+            if (this.remainingMask == 0L) {
+                throw new NoSuchElementException();
+            }
+            final int value = Long.numberOfTrailingZeros(this.remainingMask);
+            // Clearing lowest set bit.
+            this.remainingMask &= (this.remainingMask - 1);
+            return value;
+        }
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private long mask = 0L;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public IntBitmaskSortedSet() {
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public int size() {
+        return Long.bitCount(this.mask);
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return this.mask == 0L;
+    }
+    
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Integer)) {
+            return false;
+        }
+        final int value = ((Integer) o).intValue();
+        return isInRange(value)
+            && ((this.mask & (1L << value)) != 0L);
+    }
+    
+    @Override
+    public Iterator<Integer> iterator() {
+        return new MyIterator(this.mask);
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * @return null, for natural ordering.
+     */
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+    
+    @Override
+    public Integer first() {
+        if (this.mask == 0L) {
+            throw new NoSuchElementException();
+        }
+        return Long.numberOfTrailingZeros(this.mask);
+    }
+    
+    @Override
+    public Integer last() {
+        if (this.mask == 0L) {
+            throw new NoSuchElementException();
+        }
+        return 63 - Long.numberOfLeadingZeros(this.mask);
+    }
+    
+    @Override
+    public SortedSet<Integer> headSet(Integer toElement) {
+        return Collections.unmodifiableSortedSet(
+            this.newTreeSet().headSet(toElement));
+    }
+    
+    @Override
+    public SortedSet<Integer> tailSet(Integer fromElement) {
+        return Collections.unmodifiableSortedSet(
+            this.newTreeSet().tailSet(fromElement));
+    }
+    
+    @Override
+    public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+        return Collections.unmodifiableSortedSet(
+            this.newTreeSet().subSet(fromElement, toElement));
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    long getMask() {
+        return this.mask;
+    }
+    
+    void setMask(long mask) {
+        this.mask = mask;
+    }
+    
+    /**
+     * @return True if the specified value can be contained
+     *         in a bitmask set, false otherwise.
+     */
+    static boolean isInRange(int value) {
+        return (value >= 0) && (value <= 63);
+    }
+    
+    /**
+     * @param mask A bitmask.
+     * @param value Value to add or remove. Must be in [0,63].
+     * @param mustAdd True if must add the value, false if must remove it.
+     * @return The resulting bitmask.
+     * @throws IllegalArgumentException if the value is out of [0,63].
+     */
+    static long withValue(long mask, int value, boolean mustAdd) {
+        if (!isInRange(value)) {
+            throw new IllegalArgumentException("" + value);
+        }
+        final long bit = (1L << value);
+        return (mustAdd ? (mask | bit) : (mask & ~bit));
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private TreeSet<Integer> newTreeSet() {
+        return new TreeSet<Integer>(this);
+    }
+}
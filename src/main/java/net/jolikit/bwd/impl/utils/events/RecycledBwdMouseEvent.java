@@ -0,0 +1,294 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.events;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import net.jolikit.bwd.api.events.BwdEventType;
+import net.jolikit.bwd.api.events.BwdKeys;
+import net.jolikit.bwd.api.events.BwdMouseButtons;
+import net.jolikit.bwd.api.events.BwdMouseEvent;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+
+/**
+ * MOUSE_MOVED or MOUSE_DRAGGED event which state is updated
+ * for each new event, instead of creating a new instance.
+ * 
+ * Overrides all state getters of BwdMouseEvent and its super classes,
+ * which state is only used for construction.
+ * 
+ * asMouseDraggedEvent() returns a recycled event as well,
+ * and asMouseEnteredClientEvent() and asMouseExitedClientEvent()
+ * return non-recycled events.
+ */
+class RecycledBwdMouseEvent extends BwdMouseEvent {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final RecycledEventState state;
+    
+    private int button = BwdMouseButtons.NO_STATEMENT;
+    
+    private final IntBitmaskSortedSet buttonDownSet = new IntBitmaskSortedSet();
+    
+    /**
+     * Null if this event is not a MOUSE_MOVED event.
+     */
+    private final RecycledBwdMouseEvent draggedEvent;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Creates a MOUSE_MOVED event, and its MOUSE_DRAGGED counterpart.
+     * 
+     * @param clientBounds Initial client bounds. Must not be empty.
+     */
+    public RecycledBwdMouseEvent(
+        Object source,
+        GRect clientBounds) {
+        this(
+            source,
+            BwdEventType.MOUSE_MOVED,
+            clientBounds,
+            new RecycledBwdMouseEvent(
+                source,
+                BwdEventType.MOUSE_DRAGGED,
+                clientBounds,
+                null));
+    }
+    
+    /**
+     * @param clientBounds Must not be empty.
+     */
+    public void update(
+        int xInScreen,
+        int yInScreen,
+        GRect clientBounds,
+        int button,
+        long buttonDownMask,
+        long modifierKeyDownMask) {
+        this.state.update(
+            xInScreen,
+            yInScreen,
+            clientBounds,
+            modifierKeyDownMask);
+        this.button = button;
+        this.buttonDownSet.setMask(buttonDownMask);
+    }
+    
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        
+        sb.append("[").append(this.getEventType());
+        
+        this.state.appendPositions(sb);
+        
+        sb.append(", button = ").append(BwdMouseButtons.toString(this.button));
+        
+        for (int down : this.buttonDownSet) {
+            sb.append(", ");
+            sb.append(BwdMouseButtons.toString(down));
+            sb.append(" down");
+        }
+        
+        this.state.appendModifiers(sb);
+        
+        sb.append("]");
+        
+        return sb.toString();
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * @return The recycled MOUSE_DRAGGED counterpart of this event,
+     *         updated with the state of this event.
+     */
+    @Override
+    public BwdMouseEvent asMouseDraggedEvent() {
+        if (this.draggedEvent == null) {
+            throw new IllegalStateException();
+        }
+        this.draggedEvent.state.updateFrom(this.state);
+        this.draggedEvent.button = this.button;
+        this.draggedEvent.buttonDownSet.setMask(this.buttonDownSet.getMask());
+        return this.draggedEvent;
+    }
+    
+    @Override
+    public BwdMouseEvent asMouseEnteredClientEvent() {
+        return this.newNonRecycledEvent(BwdEventType.MOUSE_ENTERED_CLIENT);
+    }
+    
+    @Override
+    public BwdMouseEvent asMouseExitedClientEvent() {
+        return this.newNonRecycledEvent(BwdEventType.MOUSE_EXITED_CLIENT);
+    }
+    
+    /*
+     * Positions.
+     */
+    
+    @Override
+    public GPoint posInScreen() {
+        return this.state.posInScreen();
+    }
+    
+    @Override
+    public int xInScreen() {
+        return this.state.xInScreen();
+    }
+    
+    @Override
+    public int yInScreen() {
+        return this.state.yInScreen();
+    }
+    
+    @Override
+    public GPoint posInClient() {
+        return this.state.posInClient();
+    }
+    
+    @Override
+    public int xInClient() {
+        return this.state.xInClient();
+    }
+    
+    @Override
+    public int yInClient() {
+        return this.state.yInClient();
+    }
+    
+    @Override
+    public GRect clientBounds() {
+        return this.state.clientBounds();
+    }
+    
+    @Override
+    public boolean isPosInClient() {
+        return this.state.isPosInClient();
+    }
+    
+    /*
+     * Buttons.
+     */
+    
+    @Override
+    public int getButton() {
+        return this.button;
+    }
+    
+    @Override
+    public SortedSet<Integer> getButtonDownSet() {
+        return this.buttonDownSet;
+    }
+    
+    @Override
+    public boolean isPrimaryDown() {
+        return this.isButtonDown(BwdMouseButtons.PRIMARY);
+    }
+    
+    @Override
+    public boolean isMiddleDown() {
+        return this.isButtonDown(BwdMouseButtons.MIDDLE);
+    }
+    
+    @Override
+    public boolean isSecondaryDown() {
+        return this.isButtonDown(BwdMouseButtons.SECONDARY);
+    }
+    
+    @Override
+    public boolean isButtonDown(int button) {
+        return IntBitmaskSortedSet.isInRange(button)
+            && ((this.buttonDownSet.getMask() & (1L << button)) != 0L);
+    }
+    
+    /*
+     * Modifiers.
+     */
+    
+    @Override
+    public SortedSet<Integer> getModifierKeyDownSet() {
+        return this.state.getModifierKeyDownSet();
+    }
+    
+    @Override
+    public boolean isShiftDown() {
+        return this.state.isModifierKeyDown(BwdKeys.SHIFT);
+    }
+    
+    @Override
+    public boolean isControlDown() {
+        return this.state.isModifierKeyDown(BwdKeys.CONTROL);
+    }
+    
+    @Override
+    public boolean isAltOrAltGraphDown() {
+        return this.state.isAltOrAltGraphDown();
+    }
+    
+    @Override
+    public boolean isMetaDown() {
+        return this.state.isModifierKeyDown(BwdKeys.META);
+    }
+    
+    @Override
+    public boolean isModifierKeyDown(int key) {
+        return this.state.isModifierKeyDown(key);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private RecycledBwdMouseEvent(
+        Object source,
+        BwdEventType eventType,
+        GRect clientBounds,
+        RecycledBwdMouseEvent draggedEvent) {
+        super(
+            source,
+            eventType,
+            GPoint.ZERO,
+            clientBounds,
+            BwdMouseButtons.NO_STATEMENT,
+            new TreeSet<Integer>(),
+            new TreeSet<Integer>());
+        this.state = new RecycledEventState(clientBounds);
+        this.draggedEvent = draggedEvent;
+    }
+    
+    private BwdMouseEvent newNonRecycledEvent(BwdEventType eventType) {
+        return new BwdMouseEvent(
+            this.getSource(),
+            eventType,
+            this.posInScreen(),
+            this.clientBounds(),
+            this.button,
+            this.buttonDownSet,
+            this.getModifierKeyDownSet());
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.events;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import net.jolikit.bwd.api.events.BwdKeys;
+import net.jolikit.bwd.api.events.BwdWheelEvent;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+
+/**
+ * WHEEL_ROLLED event which state is updated for each new event,
+ * instead of creating a new instance.
+ * 
+ * Overrides all state getters of BwdWheelEvent and its super classes,
+ * which state is only used for construction.
+ */
+class RecycledBwdWheelEvent extends BwdWheelEvent {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final RecycledEventState state;
+    
+    private int xRoll;
+    private int yRoll;
+    
+    /**
+     * Null when not computed.
+     */
+    private GPoint roll;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param clientBounds Initial client bounds. Must not be empty.
+     */
+    public RecycledBwdWheelEvent(
+        Object source,
+        GRect clientBounds) {
+        super(
+            source,
+            GPoint.ZERO,
+            clientBounds,
+            GPoint.ZERO,
+            new TreeSet<Integer>());
+        this.state = new RecycledEventState(clientBounds);
+    }
+    
+    /**
+     * @param clientBounds Must not be empty.
+     * @param xRoll Must not be zero if yRoll is zero.
+     * @param yRoll Must not be zero if xRoll is zero.
+     */
+    public void update(
+        int xInScreen,
+        int yInScreen,
+        GRect clientBounds,
+        int xRoll,
+        int yRoll,
+        long modifierKeyDownMask) {
+        this.state.update(
+            xInScreen,
+            yInScreen,
+            clientBounds,
+            modifierKeyDownMask);
+        this.xRoll = xRoll;
+        this.yRoll = yRoll;
+        this.roll = null;
+    }
+    
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        
+        sb.append("[").append(this.getEventType());
+        
+        this.state.appendPositions(sb);
+        
+        sb.append(", roll = ").append(this.roll());
+        
+        this.state.appendModifiers(sb);
+        
+        sb.append("]");
+        
+        return sb.toString();
+    }
+    
+    /*
+     * Roll.
+     */
+    
+    @Override
+    public GPoint roll() {
+        GPoint ret = this.roll;
+        if (ret == null) {
+            ret = GPoint.valueOf(this.xRoll, this.yRoll);
+            this.roll = ret;
+        }
+        return ret;
+    }
+    
+    @Override
+    public int xRoll() {
+        return this.xRoll;
+    }
+    
+    @Override
+    public int yRoll() {
+        return this.yRoll;
+    }
+    
+    /*
+     * Positions.
+     */
+    
+    @Override
+    public GPoint posInScreen() {
+        return this.state.posInScreen();
+    }
+    
+    @Override
+    public int xInScreen() {
+        return this.state.xInScreen();
+    }
+    
+    @Override
+    public int yInScreen() {
+        return this.state.yInScreen();
+    }
+    
+    @Override
+    public GPoint posInClient() {
+        return this.state.posInClient();
+    }
+    
+    @Override
+    public int xInClient() {
+        return this.state.xInClient();
+    }
+    
+    @Override
+    public int yInClient() {
+        return this.state.yInClient();
+    }
+    
+    @Override
+    public GRect clientBounds() {
+        return this.state.clientBounds();
+    }
+    
+    @Override
+    public boolean isPosInClient() {
+        return this.state.isPosInClient();
+    }
+    
+    /*
+     * Modifiers.
+     */
+    
+    @Override
+    public SortedSet<Integer> getModifierKeyDownSet() {
+        return this.state.getModifierKeyDownSet();
+    }
+    
+    @Override
+    public boolean isShiftDown() {
+        return this.state.isModifierKeyDown(BwdKeys.SHIFT);
+    }
+    
+    @Override
+    public boolean isControlDown() {
+        return this.state.isModifierKeyDown(BwdKeys.CONTROL);
+    }
+    
+    @Override
+    public boolean isAltOrAltGraphDown() {
+        return this.state.isAltOrAltGraphDown();
+    }
+    
+    @Override
+    public boolean isMetaDown() {
+        return this.state.isModifierKeyDown(BwdKeys.META);
+    }
+    
+    @Override
+    public boolean isModifierKeyDown(int key) {
+        return this.state.isModifierKeyDown(key);
+    }
+}
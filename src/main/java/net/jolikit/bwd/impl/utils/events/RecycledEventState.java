@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.events;
+
+import java.util.SortedSet;
+
+import net.jolikit.bwd.api.events.BwdKeys;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+
+/**
+ * Mutable state of recycled position-aware events,
+ * on which they delegate their position and modifiers methods.
+ * 
+ * Positions as GPoint are only created on demand,
+ * once per update.
+ */
+final class RecycledEventState {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private int xInScreen;
+    private int yInScreen;
+    
+    private GRect clientBounds;
+    
+    /**
+     * Null when not computed.
+     */
+    private GPoint posInScreen;
+    
+    /**
+     * Null when not computed.
+     */
+    private GPoint posInClient;
+    
+    private final IntBitmaskSortedSet modifierKeyDownSet = new IntBitmaskSortedSet();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param clientBounds Initial client bounds. Must not be empty.
+     */
+    public RecycledEventState(GRect clientBounds) {
+        this.clientBounds = clientBounds;
+    }
+    
+    /**
+     * @param clientBounds Must not be empty.
+     */
+    public void update(
+        int xInScreen,
+        int yInScreen,
+        GRect clientBounds,
+        long modifierKeyDownMask) {
+        this.xInScreen = xInScreen;
+        this.yInScreen = yInScreen;
+        this.clientBounds = clientBounds;
+        this.posInScreen = null;
+        this.posInClient = null;
+        this.modifierKeyDownSet.setMask(modifierKeyDownMask);
+    }
+    
+    public void updateFrom(RecycledEventState other) {
+        this.update(
+            other.xInScreen,
+            other.yInScreen,
+            other.clientBounds,
+            other.modifierKeyDownSet.getMask());
+    }
+    
+    /*
+     * Positions.
+     */
+    
+    public GPoint posInScreen() {
+        GPoint ret = this.posInScreen;
+        if (ret == null) {
+            ret = GPoint.valueOf(this.xInScreen, this.yInScreen);
+            this.posInScreen = ret;
+        }
+        return ret;
+    }
+    
+    public int xInScreen() {
+        return this.xInScreen;
+    }
+    
+    public int yInScreen() {
+        return this.yInScreen;
+    }
+    
+    public GPoint posInClient() {
+        GPoint ret = this.posInClient;
+        if (ret == null) {
+            ret = GPoint.valueOf(this.xInClient(), this.yInClient());
+            this.posInClient = ret;
+        }
+        return ret;
+    }
+    
+    public int xInClient() {
+        return this.xInScreen - this.clientBounds.x();
+    }
+    
+    public int yInClient() {
+        return this.yInScreen - this.clientBounds.y();
+    }
+    
+    public GRect clientBounds() {
+        return this.clientBounds;
+    }
+    
+    public boolean isPosInClient() {
+        return this.clientBounds.contains(this.xInScreen, this.yInScreen);
+    }
+    
+    /*
+     * Modifiers.
+     */
+    
+    public SortedSet<Integer> getModifierKeyDownSet() {
+        return this.modifierKeyDownSet;
+    }
+    
+    public boolean isModifierKeyDown(int key) {
+        return IntBitmaskSortedSet.isInRange(key)
+            && ((this.modifierKeyDownSet.getMask() & (1L << key)) != 0L);
+    }
+    
+    public boolean isAltOrAltGraphDown() {
+        return this.isModifierKeyDown(BwdKeys.ALT)
+            || this.isModifierKeyDown(BwdKeys.ALT_GRAPH);
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * Same format as for non-recycled events.
+     */
+    public void appendPositions(StringBuilder sb) {
+        sb.append(", posInClient = ").append(this.posInClient());
+        sb.append(", posInScreen = ").append(this.posInScreen());
+        sb.append(", clientBounds = ").append(this.clientBounds);
+    }
+    
+    /**
+     * Same format as for non-recycled events.
+     */
+    public void appendModifiers(StringBuilder sb) {
+        for (int down : this.modifierKeyDownSet) {
+            sb.append(", ");
+            sb.append(BwdKeys.toString(down));
+            sb.append(" down");
+        }
+    }
+}
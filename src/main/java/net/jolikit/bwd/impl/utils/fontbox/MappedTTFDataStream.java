@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.jolikit.bwd.impl.utils.fontbox;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * TODO fontbox Added this class, as a faster alternative to RAFDataStream
+ * (which does many small seeks and reads through a buffered RAF), that also
+ * doesn't copy the file in heap like MemoryTTFDataStream does.
+ * 
+ * An implementation of the TTFDataStream that goes against a read-only
+ * memory mapping of the file, so that only touched pages are read,
+ * and seeks are just position changes.
+ * The file is closed right after mapping, the mapping being released
+ * when this stream (and its buffer) gets garbage collected.
+ */
+class MappedTTFDataStream extends TTFDataStream
+{
+    private ByteBuffer buffer = null;
+    private final File ttfFile;
+    
+    /**
+     * Constructor.
+     * 
+     * @param file The file to map. Its size must be at most Integer.MAX_VALUE.
+     * 
+     * @throws IOException If there is a problem mapping the file.
+     */
+    MappedTTFDataStream(File file) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("file too large to be mapped: " + size + " bytes");
+            }
+            // Big endian by default, as TTF data.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        finally
+        {
+            raf.close();
+        }
+        ttfFile = file;
+    }
+    
+    /**
+     * Creates a stream for reading the specified file,
+     * using memory mapping if possible.
+     * 
+     * @param file The file to read.
+     * @return A stream for reading the specified file.
+     * @throws IOException If there is a problem opening the file.
+     */
+    static TTFDataStream newFileDataStream(File file) throws IOException
+    {
+        if (file.length() <= Integer.MAX_VALUE)
+        {
+            return new MappedTTFDataStream(file);
+        }
+        else
+        {
+            return new RAFDataStream(file, "r");
+        }
+    }
+    
+    @Override
+    public int read() throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (!bb.hasRemaining())
+        {
+            return -1;
+        }
+        return bb.get() & 0xFF;
+    }
+    
+    @Override
+    public long readLong() throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (bb.remaining() < 8)
+        {
+            throw new EOFException();
+        }
+        return bb.getLong();
+    }
+    
+    @Override
+    public long readUnsignedInt() throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (bb.remaining() < 4)
+        {
+            throw new EOFException();
+        }
+        return bb.getInt() & 0xFFFFFFFFL;
+    }
+    
+    @Override
+    public int readUnsignedShort() throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (bb.remaining() < 2)
+        {
+            throw new EOFException();
+        }
+        return bb.getShort() & 0xFFFF;
+    }
+    
+    @Override
+    public short readSignedShort() throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (bb.remaining() < 2)
+        {
+            throw new EOFException();
+        }
+        return bb.getShort();
+    }
+    
+    @Override
+    public int[] readUnsignedShortArray(int length) throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (bb.remaining() < 2L * length)
+        {
+            throw new EOFException();
+        }
+        int[] array = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            array[i] = bb.getShort() & 0xFFFF;
+        }
+        return array;
+    }
+    
+    @Override
+    public void close() throws IOException
+    {
+        // Mapping is released on GC.
+        buffer = null;
+    }
+    
+    @Override
+    public void seek(long pos) throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if ((pos < 0) || (pos > bb.limit()))
+        {
+            throw new EOFException("seek position out of range: " + pos);
+        }
+        bb.position((int) pos);
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        ByteBuffer bb = getBuffer();
+        if (!bb.hasRemaining())
+        {
+            return -1;
+        }
+        int amountRead = Math.min(len, bb.remaining());
+        bb.get(b, off, amountRead);
+        return amountRead;
+    }
+    
+    @Override
+    public long getCurrentPosition() throws IOException
+    {
+        return getBuffer().position();
+    }
+    
+    @Override
+    public InputStream getOriginalData() throws IOException
+    {
+        return new FileInputStream(ttfFile);
+    }
+    
+    @Override
+    public long getOriginalDataSize()
+    {
+        return ttfFile.length();
+    }
+    
+    private ByteBuffer getBuffer() throws IOException
+    {
+        ByteBuffer bb = buffer;
+        if (bb == null)
+        {
+            throw new IOException("stream closed");
+        }
+        return bb;
+    }
+}
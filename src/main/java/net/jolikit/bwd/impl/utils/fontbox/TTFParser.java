@@ -81,7 +81,8 @@ public class TTFParser
      */
     public TrueTypeFont parse(File ttfFile) throws IOException
     {
-        RAFDataStream raf = new RAFDataStream(ttfFile, "r");
+        // TODO fontbox Using memory mapping instead of RAFDataStream.
+        TTFDataStream raf = MappedTTFDataStream.newFileDataStream(ttfFile);
         try
         {
             return parse(raf);
@@ -42,7 +42,8 @@ public class TrueTypeCollection implements Closeable
      */
     public TrueTypeCollection(File file) throws IOException
     {
-        this(new RAFDataStream(file, "r"));
+        // TODO fontbox Using memory mapping instead of RAFDataStream.
+        this(MappedTTFDataStream.newFileDataStream(file));
     }
 
     /**
@@ -15,9 +15,12 @@
  */
 package net.jolikit.bwd.impl.utils.fonts;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,6 +34,7 @@ import net.jolikit.bwd.api.fonts.BwdFontId;
 import net.jolikit.bwd.api.fonts.BwdFontKind;
 import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
 import net.jolikit.bwd.api.fonts.InterfaceBwdFontHome;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
 import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
 import net.jolikit.bwd.impl.utils.basics.BindingError;
 import net.jolikit.bwd.impl.utils.basics.InterfaceDefaultFontInfoComputer;
@@ -39,6 +43,9 @@ import net.jolikit.bwd.impl.utils.fonts.FontOfHeightHelper.InterfaceFontCreator;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
+import net.jolikit.time.TimeUtils;
 
 /**
  * Optional class to make it easier to implement InterfaceBwdFontHome.
@@ -186,6 +193,68 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
     // PRIVATE CLASSES
     //--------------------------------------------------------------------------
     
+    /**
+     * Prefetches FontBox helpers for a range of font files,
+     * each helper only touching its own file.
+     */
+    private static class MyFontFilesPrefetcher implements InterfaceSplittable {
+        final String[] fontFilePathArr;
+        /**
+         * Null for files that could not be parsed.
+         */
+        final FontBoxHelper[] helperArr;
+        int from;
+        int count;
+        public MyFontFilesPrefetcher(
+                String[] fontFilePathArr,
+                FontBoxHelper[] helperArr,
+                int from,
+                int count) {
+            this.fontFilePathArr = fontFilePathArr;
+            this.helperArr = helperArr;
+            this.from = from;
+            this.count = count;
+        }
+        @Override
+        public String toString() {
+            return "[" + this.from + "," + this.count + "]";
+        }
+        @Override
+        public void run() {
+            final int to = this.from + this.count;
+            for (int i = this.from; i < to; i++) {
+                final FontBoxHelper helper = new FontBoxHelper(this.fontFilePathArr[i]);
+                try {
+                    helper.prefetch();
+                    this.helperArr[i] = helper;
+                } catch (RuntimeException e) {
+                    /*
+                     * Letting sequential load deal with this file,
+                     * as if there was no prefetch.
+                     */
+                    if (DEBUG) {
+                        Dbg.log("could not prefetch " + this.fontFilePathArr[i], e);
+                    }
+                }
+            }
+        }
+        @Override
+        public boolean worthToSplit() {
+            return (this.count >= 2);
+        }
+        @Override
+        public InterfaceSplittable split() {
+            final int halfish = (this.count >> 1);
+            final MyFontFilesPrefetcher ret = new MyFontFilesPrefetcher(
+                    this.fontFilePathArr,
+                    this.helperArr,
+                    this.from + halfish,
+                    this.count - halfish);
+            this.count = halfish;
+            return ret;
+        }
+    }
+    
     private class MyFontCreator_forDisposableFont implements InterfaceFontCreator {
         @Override
         public InterfaceBwdFont newFontWithSize(
@@ -202,9 +271,11 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
                 int fontSize) {
             final BwdFontId fontId = new BwdFontId(fontKind, fontSize);
             final MyDisposableFontDisposeCallListener disposeCallListener = null;
-            return createBackingFontAndFont(
+            final AbstractBwdFont<BF> font = createBackingFontAndFont(
                     fontId,
                     disposeCallListener);
+            configureTextWidths(font);
+            return font;
         }
     }
 
@@ -298,6 +369,63 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
      */
     private int maxFontSize;
     
+    /**
+     * To be set during construction.
+     * 
+     * Null if glyph masks caching is disabled.
+     */
+    private GlyphMaskCache glyphMaskCache;
+    
+    /**
+     * To be set during construction.
+     * 
+     * 0 if text widths caching is disabled.
+     */
+    private int textWidthCacheMaxSize;
+    
+    /**
+     * To be set during construction.
+     */
+    private boolean mustApproximateTextWidths;
+    
+    /**
+     * Guarded by homeMutex.
+     * 
+     * For font kinds loaded from a font file,
+     * to compute kerning for text widths approximation.
+     */
+    private final Map<BwdFontKind,String> fontFilePathByLoadedFontKind =
+            new HashMap<BwdFontKind,String>();
+    
+    /**
+     * Guarded by homeMutex.
+     * 
+     * Lazily computed.
+     * Null values for font kinds which kerning could not be computed.
+     */
+    private final Map<BwdFontKind,FontBoxKerning> kerningByFontKind =
+            new HashMap<BwdFontKind,FontBoxKerning>();
+    
+    /**
+     * To be set during construction.
+     * 
+     * Null if font files must be parsed sequentially.
+     */
+    private InterfaceParallelizer fontFilesParsingParallelizer;
+    
+    /**
+     * Null if font files metadata must not be persisted.
+     */
+    private FontMetadataIndex fontMetadataIndex = null;
+    
+    /**
+     * Guarded by homeMutex.
+     * 
+     * Only used during fonts load.
+     */
+    private final Map<String,FontBoxHelper> prefetchedHelperByFontFilePath =
+            new HashMap<String,FontBoxHelper>();
+    
     /*
      * 
      */
@@ -327,6 +455,17 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
     public int getMaxFontSize() {
         return this.maxFontSize;
     }
+    
+    /**
+     * Glyph masks are shared by all graphics using fonts of this home,
+     * and removed from the cache on fonts disposal.
+     * 
+     * @return The glyph masks cache, or null if glyph masks caching
+     *         is disabled.
+     */
+    public GlyphMaskCache getGlyphMaskCache() {
+        return this.glyphMaskCache;
+    }
 
     /*
      * 
@@ -347,6 +486,13 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
             }
         }
         
+        final List<String> bonusSystemFontFilePathList =
+                this.getBonusSystemFontFilePathList();
+
+        this.prefetchFontFilesIfConfigured(
+                bonusSystemFontFilePathList,
+                userFontFilePathList);
+        
         /*
          * System fonts.
          */
@@ -363,9 +509,6 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
             Dbg.logColl(lfdByLoadedSystemFontKind.keySet());
         }
 
-        final List<String> bonusSystemFontFilePathList =
-                this.getBonusSystemFontFilePathList();
-
         if (DEBUG) {
             Dbg.log("bonusSystemFontFilePathList:");
             Dbg.logColl(bonusSystemFontFilePathList);
@@ -423,6 +566,9 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         
         final SortedSet<BwdFontKind> loadedFontKindSet;
         synchronized (this.homeMutex) {
+            // No longer needed.
+            this.prefetchedHelperByFontFilePath.clear();
+            
             this.lfdByLoadedFontKind.putAll(lfdByLoadedSystemFontKind);
             this.lfdByLoadedFontKind.putAll(lfdByLoadedUserFontKind);
 
@@ -468,6 +614,7 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
             defaultFont = this.createBackingFontAndFont(
                     defaultFontId,
                     disposeCallListener);
+            this.configureTextWidths(defaultFont);
         } else {
             final int minFontSize = this.getMinFontSize();
             final int maxFontSize = this.getMaxFontSize();
@@ -590,6 +737,7 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         if (alreadyCreatedFont == null) {
             final MyDisposableFontDisposeCallListener disposeCallListener = new MyDisposableFontDisposeCallListener();
             newFont = this.createBackingFontAndFont(fontId, disposeCallListener);
+            this.configureTextWidths(newFont);
 
             synchronized (this.homeMutex) {
                 /*
@@ -628,6 +776,7 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
                     alreadyCreatedFont.getCanFontDisplayComputer(),
                     disposeCallListener,
                     alreadyCreatedFont.getBackingFont());
+            this.configureTextWidths(newFont);
         }
         
         return newFont;
@@ -734,6 +883,11 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         }
 
         this.disposeDisposableFonts();
+        
+        final GlyphMaskCache glyphMaskCache = this.glyphMaskCache;
+        if (glyphMaskCache != null) {
+            glyphMaskCache.clear();
+        }
     }
 
     @Override
@@ -780,6 +934,8 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
      * Requiring "raw" min/max bounds allows to change
      * factor independently, without having to update them.
      * 
+     * Glyph masks caching is disabled.
+     * 
      * @param minRawFontSize Min user-specified font size,
      *        when not multiplied by font size factor.
      *        Must be >= 1.
@@ -792,6 +948,73 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
             int minRawFontSize,
             int maxRawFontSize,
             double fontSizeFactor) {
+        final long glyphMaskCacheMaxByteSize = 0L;
+        this.initialize_final(
+                minRawFontSize,
+                maxRawFontSize,
+                fontSizeFactor,
+                glyphMaskCacheMaxByteSize);
+    }
+    
+    /**
+     * Must be called in constructor.
+     * 
+     * Font files are parsed sequentially.
+     * 
+     * @param minRawFontSize Min user-specified font size,
+     *        when not multiplied by font size factor.
+     *        Must be >= 1.
+     * @param maxRawFontSize Max user-specified font size,
+     *        when not multiplied by font size factor.
+     *        Must be >= minFontSize.
+     * @param fontSizeFactor Must be > 0.
+     * @param glyphMaskCacheMaxByteSize Byte budget for glyph masks cache.
+     *        Must be >= 0. If 0, glyph masks caching is disabled.
+     */
+    protected final void initialize_final(
+            int minRawFontSize,
+            int maxRawFontSize,
+            double fontSizeFactor,
+            long glyphMaskCacheMaxByteSize) {
+        final InterfaceParallelizer fontFilesParsingParallelizer = null;
+        this.initialize_final(
+                minRawFontSize,
+                maxRawFontSize,
+                fontSizeFactor,
+                glyphMaskCacheMaxByteSize,
+                fontFilesParsingParallelizer);
+    }
+    
+    /**
+     * Must be called in constructor.
+     * 
+     * Font files to load (bonus system fonts and user fonts) are parsed
+     * with FontBox concurrently, if the home uses FontBox
+     * (see mustUseFontBoxForFontFiles()) and the specified parallelizer
+     * has a parallelism of at least 2.
+     * Fonts are still loaded with the backing library in the thread
+     * calling loadSystemAndUserFonts(...), in the specified order,
+     * so loaded fonts don't depend on parallelism.
+     * 
+     * @param minRawFontSize Min user-specified font size,
+     *        when not multiplied by font size factor.
+     *        Must be >= 1.
+     * @param maxRawFontSize Max user-specified font size,
+     *        when not multiplied by font size factor.
+     *        Must be >= minFontSize.
+     * @param fontSizeFactor Must be > 0.
+     * @param glyphMaskCacheMaxByteSize Byte budget for glyph masks cache.
+     *        Must be >= 0. If 0, glyph masks caching is disabled.
+     * @param fontFilesParsingParallelizer Parallelizer to parse font files with.
+     *        Can be null, in which case font files are parsed sequentially.
+     */
+    protected final void initialize_final(
+            int minRawFontSize,
+            int maxRawFontSize,
+            double fontSizeFactor,
+            long glyphMaskCacheMaxByteSize,
+            InterfaceParallelizer fontFilesParsingParallelizer) {
+        NbrsUtils.requireSupOrEq(0L, glyphMaskCacheMaxByteSize, "glyphMaskCacheMaxByteSize");
         NbrsUtils.requireSupOrEq(1, minRawFontSize, "minRawFontSize");
         NbrsUtils.requireSupOrEq(minRawFontSize, maxRawFontSize, "maxRawFontSize");
         NbrsUtils.requireSup(0.0, fontSizeFactor, "fontSizeFactor");
@@ -800,6 +1023,51 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         this.minFontSize = BindingCoordsUtils.ceilToInt(minRawFontSize / fontSizeFactor);
         this.maxFontSize = Math.max(this.minFontSize, BindingCoordsUtils.floorToInt(maxRawFontSize / fontSizeFactor));
         this.fontSizeFactor = fontSizeFactor;
+        if (glyphMaskCacheMaxByteSize != 0L) {
+            this.glyphMaskCache = new GlyphMaskCache(glyphMaskCacheMaxByteSize);
+        }
+        this.fontFilesParsingParallelizer = fontFilesParsingParallelizer;
+    }
+    
+    /**
+     * If called, must be called in constructor.
+     * If not called, text widths are neither cached nor approximated.
+     * 
+     * Only applies to fonts which metrics extend AbstractBwdFontMetrics.
+     * 
+     * @param textWidthCacheMaxSize Max number of text widths
+     *        cached by each font metrics. Must be >= 0.
+     *        If 0, text widths caching is disabled.
+     * @param mustApproximateTextWidths True if text widths must be
+     *        approximated as the sum of chars widths, plus kerning
+     *        read from font file when available.
+     */
+    protected final void initTextWidths_final(
+            int textWidthCacheMaxSize,
+            boolean mustApproximateTextWidths) {
+        NbrsUtils.requireSupOrEq(0, textWidthCacheMaxSize, "textWidthCacheMaxSize");
+        this.textWidthCacheMaxSize = textWidthCacheMaxSize;
+        this.mustApproximateTextWidths = mustApproximateTextWidths;
+    }
+    
+    /**
+     * Must be called before loadSystemAndUserFonts(...) to have effect,
+     * typically in constructor.
+     * 
+     * If the home uses FontBox (see mustUseFontBoxForFontFiles()),
+     * metadata of font files to load is then read from the specified
+     * index file for unchanged font files, instead of parsing them,
+     * and the index file is updated after parsing new or modified ones.
+     * 
+     * @param fontMetadataIndexFilePath Path of the index file.
+     *        Can be null, in which case no index file is used.
+     */
+    protected final void initFontMetadataIndex_final(String fontMetadataIndexFilePath) {
+        if (fontMetadataIndexFilePath != null) {
+            this.fontMetadataIndex = new FontMetadataIndex(fontMetadataIndexFilePath);
+        } else {
+            this.fontMetadataIndex = null;
+        }
     }
     
     protected double getFontSizeFactor() {
@@ -814,6 +1082,37 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         return this.computeBackingFontSizeInPixelsFp(fontSize) * POINTS_PER_OS_PIXEL;
     }
 
+    /**
+     * To be used by loadFontsAtPath(...) implementations,
+     * so that they benefit from eventual concurrent parsing
+     * of font files (see initialize_final(...)).
+     * 
+     * @param fontFilePath Path of a font file.
+     * @return A helper for the specified font file, which results
+     *         might already be computed. Must be closed after use.
+     */
+    protected FontBoxHelper newFontBoxHelper(String fontFilePath) {
+        FontBoxHelper helper;
+        synchronized (this.homeMutex) {
+            helper = this.prefetchedHelperByFontFilePath.get(fontFilePath);
+        }
+        if (helper == null) {
+            helper = new FontBoxHelper(fontFilePath);
+        }
+        return helper;
+    }
+
+    /**
+     * This default implementation returns false.
+     * 
+     * @return True if loadFontsAtPath(...) uses FontBox
+     *         (through newFontBoxHelper(...)), i.e. if it's worth
+     *         to parse font files concurrently before loading them.
+     */
+    protected boolean mustUseFontBoxForFontFiles() {
+        return false;
+    }
+
     protected MyLoadedFontData getLfdForLoadedFontKind(BwdFontKind fontKind) {
         synchronized (this.homeMutex) {
             return this.lfdByLoadedFontKind.get(fontKind);
@@ -919,6 +1218,118 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
      * 
      */
 
+    /**
+     * Reads metadata of the specified font files from index if configured to,
+     * and parses the other ones concurrently if configured to,
+     * for loadFontsAtPath(...) to use parsing results.
+     * 
+     * @param bonusSystemFontFilePathList Can be null.
+     * @param userFontFilePathList Can be null.
+     */
+    private void prefetchFontFilesIfConfigured(
+            List<String> bonusSystemFontFilePathList,
+            List<String> userFontFilePathList) {
+        
+        final InterfaceParallelizer parallelizer = this.fontFilesParsingParallelizer;
+        final boolean mustParseConcurrently =
+                (parallelizer != null)
+                && (parallelizer.getParallelism() >= 2);
+        final FontMetadataIndex index = this.fontMetadataIndex;
+        if (((!mustParseConcurrently) && (index == null))
+                || (!this.mustUseFontBoxForFontFiles())) {
+            return;
+        }
+        
+        // Without duplicates, in order.
+        final Set<String> fontFilePathSet = new LinkedHashSet<String>();
+        if (bonusSystemFontFilePathList != null) {
+            fontFilePathSet.addAll(bonusSystemFontFilePathList);
+        }
+        if (userFontFilePathList != null) {
+            fontFilePathSet.addAll(userFontFilePathList);
+        }
+        // Null paths are dealt with at load time.
+        fontFilePathSet.remove(null);
+        
+        final long a = (DEBUG ? System.nanoTime() : 0L);
+        
+        final Map<String,FontBoxHelper> helperByFontFilePath =
+                new HashMap<String,FontBoxHelper>();
+        if (index != null) {
+            index.load();
+            for (String fontFilePath : fontFilePathSet) {
+                final FontBoxHelper helper = index.newFontBoxHelperElseNull(fontFilePath);
+                if (helper != null) {
+                    helperByFontFilePath.put(fontFilePath, helper);
+                }
+            }
+            fontFilePathSet.removeAll(helperByFontFilePath.keySet());
+        }
+        final int indexedFileCount = helperByFontFilePath.size();
+        
+        final int fileCount = fontFilePathSet.size();
+        final String[] fontFilePathArr =
+                fontFilePathSet.toArray(new String[fileCount]);
+        final FontBoxHelper[] helperArr = new FontBoxHelper[fileCount];
+        /*
+         * Retrieving files size and modification time before parsing,
+         * for the index not to consider up to date a file
+         * that would be modified while we parse it.
+         */
+        final long[] fileSizeArr = new long[fileCount];
+        final long[] lastModifiedArr = new long[fileCount];
+        if (index != null) {
+            for (int i = 0; i < fileCount; i++) {
+                final File file = new File(fontFilePathArr[i]);
+                fileSizeArr[i] = file.length();
+                lastModifiedArr[i] = file.lastModified();
+            }
+        }
+        
+        if ((mustParseConcurrently && (fileCount >= 2))
+                || ((index != null) && (fileCount >= 1))) {
+            final MyFontFilesPrefetcher prefetcher =
+                    new MyFontFilesPrefetcher(
+                            fontFilePathArr,
+                            helperArr,
+                            0,
+                            fileCount);
+            if (mustParseConcurrently) {
+                parallelizer.execute(prefetcher);
+            } else {
+                prefetcher.run();
+            }
+        }
+        
+        for (int i = 0; i < fileCount; i++) {
+            final FontBoxHelper helper = helperArr[i];
+            if (helper != null) {
+                helperByFontFilePath.put(fontFilePathArr[i], helper);
+                if (index != null) {
+                    index.put(
+                            fontFilePathArr[i],
+                            fileSizeArr[i],
+                            lastModifiedArr[i],
+                            helper);
+                }
+            }
+        }
+        if (index != null) {
+            index.saveIfModified();
+        }
+        
+        if (DEBUG) {
+            final long b = System.nanoTime();
+            Dbg.log("prefetching " + (indexedFileCount + fileCount)
+                    + " font files (" + indexedFileCount + " from index) took "
+                    + TimeUtils.nsToS(b-a) + " s");
+        }
+        
+        synchronized (this.homeMutex) {
+            this.prefetchedHelperByFontFilePath.putAll(helperByFontFilePath);
+        }
+    }
+
     /**
      * @param userFontFilePathList (in) Can be null.
      * @param lfdByLoadedSystemFontKind (in,out)
@@ -995,6 +1406,9 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
                     }
 
                     lfdByLoadedFontKind.put(fontKind, lfd);
+                    synchronized (this.homeMutex) {
+                        this.fontFilePathByLoadedFontKind.put(fontKind, fontFilePath);
+                    }
                 }
             }
         }
@@ -1002,6 +1416,80 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
         return didLoad;
     }
 
+    /**
+     * Configures text widths computation of the specified font metrics,
+     * before the font is returned.
+     */
+    private void configureTextWidths(AbstractBwdFont<BF> font) {
+        if ((this.textWidthCacheMaxSize == 0)
+                && (!this.mustApproximateTextWidths)) {
+            return;
+        }
+        final InterfaceBwdFontMetrics metrics = font.metrics();
+        if (!(metrics instanceof AbstractBwdFontMetrics)) {
+            return;
+        }
+        final FontBoxKerning kerning;
+        if (this.mustApproximateTextWidths) {
+            kerning = this.getKerningElseNull(font.kind());
+        } else {
+            kerning = null;
+        }
+        ((AbstractBwdFontMetrics) metrics).configureTextWidths(
+                this.textWidthCacheMaxSize,
+                this.mustApproximateTextWidths,
+                kerning,
+                this.computeBackingFontSizeInPixelsFp(font.size()));
+    }
+    
+    /**
+     * @return Kerning for the specified font kind, or null if it
+     *         was not loaded from a file or has no kerning pairs,
+     *         or if FontBox could not read it.
+     */
+    private FontBoxKerning getKerningElseNull(BwdFontKind fontKind) {
+        final String fontFilePath;
+        synchronized (this.homeMutex) {
+            if (this.kerningByFontKind.containsKey(fontKind)) {
+                return this.kerningByFontKind.get(fontKind);
+            }
+            fontFilePath = this.fontFilePathByLoadedFontKind.get(fontKind);
+        }
+        
+        /*
+         * Reading file outside of mutex.
+         * In case of concurrent calls, first put wins.
+         */
+        
+        FontBoxKerning kerning = null;
+        if (fontFilePath != null) {
+            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            try {
+                kerning = helper.computeKerningElseNull(fontKind);
+            } catch (RuntimeException e) {
+                /*
+                 * Font was loaded by the backing library,
+                 * but FontBox could not read it:
+                 * approximating without kerning.
+                 */
+                if (DEBUG) {
+                    Dbg.log("could not compute kerning for " + fontKind, e);
+                }
+            } finally {
+                helper.close();
+            }
+        }
+        
+        synchronized (this.homeMutex) {
+            if (this.kerningByFontKind.containsKey(fontKind)) {
+                kerning = this.kerningByFontKind.get(fontKind);
+            } else {
+                this.kerningByFontKind.put(fontKind, kerning);
+            }
+        }
+        return kerning;
+    }
+    
     /**
      * Does nothing if it has already been removed from the map
      * (due to a concurrent disposal).
@@ -1025,6 +1513,11 @@ public abstract class AbstractBwdFontHome<BF,BFG> implements InterfaceBwdFontHom
             throw new AssertionError(removedFontId + " !equals " + fontId);
         }
 
+        final GlyphMaskCache glyphMaskCache = this.glyphMaskCache;
+        if (glyphMaskCache != null) {
+            glyphMaskCache.removeAllForFontId(fontId);
+        }
+
         final BF backingFont = font.getBackingFont();
         this.disposeBackingFont(backingFont);
     }
@@ -20,6 +20,7 @@ import net.jolikit.bwd.api.utils.BwdUnicode;
 import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
 
 /**
  * Optional class to make it easier to implement InterfaceBwdFontMetrics.
@@ -49,6 +50,25 @@ public abstract class AbstractBwdFontMetrics implements InterfaceBwdFontMetrics
     private int ascent;
     private int descent;
     
+    /*
+     * Text widths computation configuration,
+     * set by font home before the font is returned.
+     */
+    
+    /**
+     * Null if text widths caching is disabled.
+     */
+    private TextWidthCache textWidthCache = null;
+    
+    private boolean mustApproximateTextWidths = false;
+    
+    /**
+     * Can be null, in which case approximation ignores kerning.
+     */
+    private FontBoxKerning kerning = null;
+    
+    private double fontSizeInPixels = 0.0;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -102,7 +122,60 @@ public abstract class AbstractBwdFontMetrics implements InterfaceBwdFontMetrics
                 return this.computeCharWidth_cacheIfInRange(cp1, text);
             }
         }
-        return this.computeTextWidth_twoOrMoreCp(text);
+        
+        final TextWidthCache textWidthCache = this.textWidthCache;
+        if (textWidthCache != null) {
+            int width = textWidthCache.get(text);
+            if (width < 0) {
+                width = this.computeTextWidth_twoOrMoreCp_approxOrNot(text);
+                textWidthCache.put(text, width);
+            }
+            return width;
+        }
+        
+        return this.computeTextWidth_twoOrMoreCp_approxOrNot(text);
+    }
+    
+    /**
+     * Useful for statistics.
+     * 
+     * @return The cache of text widths, or null if
+     *         text widths caching is disabled.
+     */
+    public TextWidthCache getTextWidthCacheElseNull() {
+        return this.textWidthCache;
+    }
+
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Must be called before the font is published.
+     * 
+     * @param textWidthCacheMaxSize Max number of cached text widths.
+     *        Must be >= 0. If 0, text widths caching is disabled.
+     * @param mustApproximateTextWidths True if text widths must be
+     *        computed as the sum of chars widths, plus kerning if any,
+     *        rather than with computeTextWidth_twoOrMoreCp(...).
+     * @param kerningElseNull Kerning to use for approximation. Can be null.
+     * @param fontSizeInPixels Size of the em, in pixels,
+     *        to scale kerning adjustments.
+     */
+    void configureTextWidths(
+            int textWidthCacheMaxSize,
+            boolean mustApproximateTextWidths,
+            FontBoxKerning kerningElseNull,
+            double fontSizeInPixels) {
+        NbrsUtils.requireSupOrEq(0, textWidthCacheMaxSize, "textWidthCacheMaxSize");
+        if (textWidthCacheMaxSize != 0) {
+            this.textWidthCache = new TextWidthCache(textWidthCacheMaxSize);
+        } else {
+            this.textWidthCache = null;
+        }
+        this.mustApproximateTextWidths = mustApproximateTextWidths;
+        this.kerning = kerningElseNull;
+        this.fontSizeInPixels = fontSizeInPixels;
     }
 
     //--------------------------------------------------------------------------
@@ -276,4 +349,42 @@ public abstract class AbstractBwdFontMetrics implements InterfaceBwdFontMetrics
             this.widthByCodePoint[cp] = this.computeCharWidth_noCache(cp, null);
         }
     }
+
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private int computeTextWidth_twoOrMoreCp_approxOrNot(String text) {
+        if (this.mustApproximateTextWidths) {
+            return this.computeTextWidth_approx(text);
+        } else {
+            return this.computeTextWidth_twoOrMoreCp(text);
+        }
+    }
+    
+    /**
+     * Ignores eventual shaping (ligatures, etc.),
+     * but takes kerning pairs into account if any.
+     */
+    private int computeTextWidth_approx(String text) {
+        final FontBoxKerning kerning = this.kerning;
+        int widthSum = 0;
+        double kerningInEmSum = 0.0;
+        int prevCp = -1;
+        int ci = 0;
+        while (ci < text.length()) {
+            final int cp = text.codePointAt(ci);
+            widthSum += this.computeCharWidth_cacheIfInRange(cp, null);
+            if ((kerning != null)
+                    && (prevCp >= 0)) {
+                kerningInEmSum += kerning.computeKerningInEm(prevCp, cp);
+            }
+            prevCp = cp;
+            ci += Character.charCount(cp);
+        }
+        final int kerningSum = BindingCoordsUtils.roundToInt(
+                kerningInEmSum * this.fontSizeInPixels);
+        return Math.max(0, widthSum + kerningSum);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package net.jolikit.bwd.impl.utils.fonts;
 
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.utils.BwdUnicode;
 import net.jolikit.bwd.impl.utils.basics.BindingStringUtils;
 
@@ -79,6 +81,47 @@ public class BindingTextUtils {
         }
         return sb.toString();
     }
+    
+    /**
+     * Glyphs can leak outside theoretical bounding boxes computed out of
+     * font metrics, on any of their four sides, and possibly a lot when
+     * combining diacritical marks (but we don't add additional overhead
+     * to deal with this pathological case).
+     * In particular, code points like 0x11A8 can have glyphs with
+     * a quite large width, while font metrics pretend they have
+     * a regular width.
+     * For these reasons, we don't trust font metrics much, and consider an enlarged
+     * rectangle to make sure eventually leaking pixels are properly drawn.
+     * 
+     * @param font Font used to draw the text.
+     * @param theoTextWidth Result of metrics computeTextWidth(...).
+     * @param theoTextHeight Font height.
+     * @return Max bounding box for text, in text coordinates,
+     *         i.e. relative to the (x,y) position given to drawText(...) method.
+     */
+    public static GRect computeMaxTextRectInText(
+            InterfaceBwdFont font,
+            int theoTextWidth,
+            int theoTextHeight) {
+        
+        // Font heights can be quite far from font size,
+        // so we use the max of both.
+        final int magnitude = Math.max(
+                font.size(),
+                font.metrics().height());
+        
+        final int leftLeakTolerance = magnitude;
+        final int topLeakTolerance = magnitude;
+        final int rightLeakTolerance = 2 * magnitude;
+        final int bottomLeakTolerance = magnitude;
+        
+        final GRect maxTextRect = GRect.valueOf(
+                -leftLeakTolerance,
+                -topLeakTolerance,
+                theoTextWidth + (leftLeakTolerance + rightLeakTolerance),
+                theoTextHeight + (topLeakTolerance + bottomLeakTolerance));
+        return maxTextRect;
+    }
 
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
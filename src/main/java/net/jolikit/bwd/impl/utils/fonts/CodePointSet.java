@@ -18,14 +18,43 @@ package net.jolikit.bwd.impl.utils.fonts;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 
+import net.jolikit.bwd.api.utils.BwdUnicode;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 
 /**
  * Immutable.
+ * 
+ * When there are many ranges, contains(...) uses bitsets
+ * (a flat one for BMP, and pages for supplementary planes)
+ * instead of a binary search over ranges bounds.
  */
 public final class CodePointSet {
     
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Below this number of ranges, binary search is cheap enough,
+     * and we don't bother with bitsets.
+     */
+    private static final int MIN_RANGE_COUNT_FOR_BITSETS = 8;
+    
+    /**
+     * Pages of supplementary planes contain 2^12 code points.
+     */
+    private static final int SUPP_PAGE_BIT_SIZE = 12;
+    
+    private static final int SUPP_PAGE_WORD_COUNT = (1 << (SUPP_PAGE_BIT_SIZE - 6));
+    
+    private static final int MIN_SUPP_CP = BwdUnicode.MAX_FFFF + 1;
+    
+    /**
+     * Shared by all sets, for pages with all code points.
+     */
+    private static final long[] FULL_SUPP_PAGE = newFullSuppPage();
+    
     //--------------------------------------------------------------------------
     // FIELDS
     //--------------------------------------------------------------------------
@@ -39,6 +68,20 @@ public final class CodePointSet {
     
     private final int cpCount;
     
+    /**
+     * Null if not using bitsets.
+     * Else, bits of BMP code points up to max BMP code point
+     * of this set (eventually empty).
+     */
+    private final long[] bmpWordArr;
+    
+    /**
+     * Null if not using bitsets, or if there is no supplementary code point.
+     * Else, pages of supplementary code points up to max code point
+     * of this set, null pages being empty.
+     */
+    private final long[][] suppPageArr;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -75,6 +118,17 @@ public final class CodePointSet {
         this.minMaxCpArr = minMaxCpArr.clone();
         this.rangeCount = rangeCount;
         this.cpCount = cpCount;
+        
+        if ((rangeCount >= MIN_RANGE_COUNT_FOR_BITSETS)
+                && (this.minMaxCpArr[0] >= 0)
+                && (this.minMaxCpArr[2 * rangeCount - 1] <= BwdUnicode.MAX_10FFFF)) {
+            final int maxCp = this.minMaxCpArr[2 * rangeCount - 1];
+            this.bmpWordArr = newBmpWordArr(this.minMaxCpArr, maxCp);
+            this.suppPageArr = newSuppPageArrElseNull(this.minMaxCpArr, maxCp);
+        } else {
+            this.bmpWordArr = null;
+            this.suppPageArr = null;
+        }
     }
     
     @Override
@@ -166,10 +220,73 @@ public final class CodePointSet {
         if ((arr.length == 0)
                 || (codePoint < arr[0])
                 || (codePoint > arr[arr.length - 1])) {
-            // No need to bother with binary search.
+            // No need to bother with binary search or bitsets.
             return false;
         }
-
+        
+        if (this.bmpWordArr != null) {
+            return this.contains_bitsets(codePoint);
+        } else {
+            return contains_binarySearch(arr, codePoint);
+        }
+    }
+    
+    /**
+     * @param text A text. Must not be null.
+     * @return True if this set contains all code points of the specified text
+     *         (true for an empty text).
+     */
+    public boolean containsAll(CharSequence text) {
+        return (this.firstMissingIndex(text) < 0);
+    }
+    
+    /**
+     * Useful to figure out in a single pass which part of a text
+     * can be displayed with a font.
+     * 
+     * Unpaired surrogates are considered as code points.
+     * 
+     * @param text A text. Must not be null.
+     * @return The index, in chars, of the first code point of the specified
+     *         text that this set does not contain, or -1 if there is none.
+     */
+    public int firstMissingIndex(CharSequence text) {
+        final int length = text.length();
+        int ci = 0;
+        while (ci < length) {
+            final int cp = Character.codePointAt(text, ci);
+            if (!this.contains(cp)) {
+                return ci;
+            }
+            ci += Character.charCount(cp);
+        }
+        return -1;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param codePoint Must be in [min,max].
+     */
+    private boolean contains_bitsets(int codePoint) {
+        if (codePoint <= BwdUnicode.MAX_FFFF) {
+            final int wordIndex = (codePoint >>> 6);
+            // Shift only uses 6 LSBits.
+            return (this.bmpWordArr[wordIndex] & (1L << codePoint)) != 0L;
+        } else {
+            final int suppIndex = codePoint - MIN_SUPP_CP;
+            final long[] page = this.suppPageArr[suppIndex >>> SUPP_PAGE_BIT_SIZE];
+            if (page == null) {
+                return false;
+            }
+            final int wordIndex = ((suppIndex >>> 6) & (SUPP_PAGE_WORD_COUNT - 1));
+            return (page[wordIndex] & (1L << suppIndex)) != 0L;
+        }
+    }
+    
+    private static boolean contains_binarySearch(int[] arr, int codePoint) {
         final int binarySearchResult = Arrays.binarySearch(arr, codePoint);
         if (binarySearchResult >= 0) {
             // Code point is a range bound.
@@ -186,4 +303,94 @@ public final class CodePointSet {
             }
         }
     }
+    
+    /*
+     * 
+     */
+    
+    private static long[] newFullSuppPage() {
+        final long[] page = new long[SUPP_PAGE_WORD_COUNT];
+        Arrays.fill(page, -1L);
+        return page;
+    }
+    
+    /**
+     * @param minMaxCpArr Valid ranges, with code points in [0,MAX_10FFFF].
+     */
+    private static long[] newBmpWordArr(int[] minMaxCpArr, int maxCp) {
+        final int maxBmpCp = Math.min(maxCp, BwdUnicode.MAX_FFFF);
+        final long[] wordArr = new long[(maxBmpCp >>> 6) + 1];
+        final int rangeCount = minMaxCpArr.length / 2;
+        for (int i = 0; i < rangeCount; i++) {
+            final int minCp = minMaxCpArr[2*i];
+            if (minCp > maxBmpCp) {
+                break;
+            }
+            setBits(wordArr, minCp, Math.min(minMaxCpArr[2*i+1], maxBmpCp));
+        }
+        return wordArr;
+    }
+    
+    /**
+     * @param minMaxCpArr Valid ranges, with code points in [0,MAX_10FFFF].
+     */
+    private static long[][] newSuppPageArrElseNull(int[] minMaxCpArr, int maxCp) {
+        if (maxCp < MIN_SUPP_CP) {
+            return null;
+        }
+        final int maxSuppIndex = maxCp - MIN_SUPP_CP;
+        final long[][] pageArr = new long[(maxSuppIndex >>> SUPP_PAGE_BIT_SIZE) + 1][];
+        final int pageSize = (1 << SUPP_PAGE_BIT_SIZE);
+        final int rangeCount = minMaxCpArr.length / 2;
+        for (int i = 0; i < rangeCount; i++) {
+            final int maxRangeCp = minMaxCpArr[2*i+1];
+            if (maxRangeCp < MIN_SUPP_CP) {
+                continue;
+            }
+            final int minSuppIndex = Math.max(minMaxCpArr[2*i], MIN_SUPP_CP) - MIN_SUPP_CP;
+            final int maxRangeSuppIndex = maxRangeCp - MIN_SUPP_CP;
+            // Iterating on pages covered by the range.
+            int from = minSuppIndex;
+            while (from <= maxRangeSuppIndex) {
+                final int pageIndex = (from >>> SUPP_PAGE_BIT_SIZE);
+                final int pageMin = (pageIndex << SUPP_PAGE_BIT_SIZE);
+                final int pageMax = pageMin + pageSize - 1;
+                final int to = Math.min(maxRangeSuppIndex, pageMax);
+                if ((from == pageMin)
+                        && (to == pageMax)) {
+                    // Page can't have been touched by previous ranges.
+                    pageArr[pageIndex] = FULL_SUPP_PAGE;
+                } else {
+                    long[] page = pageArr[pageIndex];
+                    if (page == null) {
+                        page = new long[SUPP_PAGE_WORD_COUNT];
+                        pageArr[pageIndex] = page;
+                    }
+                    setBits(page, from - pageMin, to - pageMin);
+                }
+                from = to + 1;
+            }
+        }
+        return pageArr;
+    }
+    
+    /**
+     * Sets bits of indexes in [from,to].
+     */
+    private static void setBits(long[] wordArr, int from, int to) {
+        final int fromWordIndex = (from >>> 6);
+        final int toWordIndex = (to >>> 6);
+        // Shifts only use 6 LSBits.
+        final long fromMask = (-1L << from);
+        final long toMask = (-1L >>> (63 - (to & 63)));
+        if (fromWordIndex == toWordIndex) {
+            wordArr[fromWordIndex] |= (fromMask & toMask);
+        } else {
+            wordArr[fromWordIndex] |= fromMask;
+            for (int wi = fromWordIndex + 1; wi < toWordIndex; wi++) {
+                wordArr[wi] = -1L;
+            }
+            wordArr[toWordIndex] |= toMask;
+        }
+    }
 }
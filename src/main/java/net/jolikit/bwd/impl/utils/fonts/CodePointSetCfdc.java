@@ -38,6 +38,16 @@ public class CodePointSetCfdc implements InterfaceCanFontDisplayComputer {
         this.codePointSet = codePointSet;
     }
     
+    /**
+     * Useful to check a whole text in one pass,
+     * with CodePointSet.firstMissingIndex(...).
+     * 
+     * @return The code point set this computer is based on.
+     */
+    public CodePointSet getCodePointSet() {
+        return this.codePointSet;
+    }
+    
     @Override
     public boolean canFontDisplay(
             InterfaceBwdFont font,
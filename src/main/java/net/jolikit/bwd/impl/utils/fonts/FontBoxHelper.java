@@ -168,6 +168,18 @@ public class FontBoxHelper implements Closeable {
      */
     private MyCpSet tmpCpSet = null;
     
+    /*
+     * Results of prefetch(), if called.
+     * Null if not called, or if it failed.
+     */
+    
+    private BwdFontKind[] prefetchedFontKindArr = null;
+    
+    /**
+     * Code point sets computed with no max displayable code point.
+     */
+    private CodePointSet[] prefetchedCpsArr = null;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -181,6 +193,9 @@ public class FontBoxHelper implements Closeable {
      *         for example due to unsupported format.
      */
     public int getFontCount() {
+        if (this.prefetchedFontKindArr != null) {
+            return this.prefetchedFontKindArr.length;
+        }
         this.initIfNeeded();
         if (this.ttfArr != null) {
             return this.ttfArr.length;
@@ -196,6 +211,9 @@ public class FontBoxHelper implements Closeable {
      *         for example due to unsupported format.
      */
     public BwdFontKind computeFontKindElseNull(int fontIndex) {
+        if (this.isPrefetched(fontIndex)) {
+            return this.prefetchedFontKindArr[fontIndex];
+        }
         this.initIfNeeded();
         try {
             if (this.ttfArr != null) {
@@ -230,6 +248,11 @@ public class FontBoxHelper implements Closeable {
             int fontIndex,
             int maxDisplayableCodePoint) {
         NbrsUtils.requireSupOrEq(0, maxDisplayableCodePoint, "maxDisplayableCodePoint");
+        if (this.isPrefetched(fontIndex)) {
+            return toCodePointSetClippedElseNull(
+                    this.prefetchedCpsArr[fontIndex],
+                    maxDisplayableCodePoint);
+        }
         this.initIfNeeded();
         try {
             final CodePointSet cps;
@@ -255,6 +278,33 @@ public class FontBoxHelper implements Closeable {
         }
     }
 
+    /**
+     * Computes font count, and font kind and code point set of each font,
+     * for later calls to return them without parsing the file again,
+     * and then closes the file.
+     * 
+     * Useful to parse font files concurrently, each with its own helper,
+     * before loading them with the backing library.
+     * 
+     * @throws RuntimeException if the file could not be parsed,
+     *         in which case nothing is prefetched.
+     */
+    public void prefetch() {
+        try {
+            final int fontCount = this.getFontCount();
+            final BwdFontKind[] fontKindArr = new BwdFontKind[fontCount];
+            final CodePointSet[] cpsArr = new CodePointSet[fontCount];
+            for (int i = 0; i < fontCount; i++) {
+                fontKindArr[i] = this.computeFontKindElseNull(i);
+                cpsArr[i] = this.computeCodePointSetElseNull(i);
+            }
+            this.prefetchedCpsArr = cpsArr;
+            this.prefetchedFontKindArr = fontKindArr;
+        } finally {
+            this.close();
+        }
+    }
+
     @Override
     public void close() {
         try {
@@ -271,6 +321,79 @@ public class FontBoxHelper implements Closeable {
     // PACKAGE-PRIVATE METHODS
     //--------------------------------------------------------------------------
 
+    /**
+     * @param fontKindArr (in) Font kind of each font (null elements allowed).
+     * @param cpsArr (in) Code point set of each font, computed with
+     *        no max displayable code point (null elements allowed).
+     * @return A helper behaving as if prefetch() had been called
+     *         and had computed the specified results.
+     */
+    static FontBoxHelper newPrefetchedInstance(
+            String fontFilePath,
+            BwdFontKind[] fontKindArr,
+            CodePointSet[] cpsArr) {
+        if (fontKindArr.length != cpsArr.length) {
+            throw new IllegalArgumentException(
+                    fontKindArr.length + " != " + cpsArr.length);
+        }
+        final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+        helper.prefetchedCpsArr = cpsArr;
+        helper.prefetchedFontKindArr = fontKindArr;
+        return helper;
+    }
+
+    /**
+     * @return Font kinds computed by prefetch() (not to be modified),
+     *         or null if it has not been called or failed.
+     */
+    BwdFontKind[] getPrefetchedFontKindArrElseNull() {
+        return this.prefetchedFontKindArr;
+    }
+
+    /**
+     * @return Code point sets computed by prefetch() (not to be modified),
+     *         or null if it has not been called or failed.
+     */
+    CodePointSet[] getPrefetchedCpsArrElseNull() {
+        return this.prefetchedCpsArr;
+    }
+
+    /**
+     * @param fontKind Kind of the font which kerning to compute.
+     *        If the file contains a single font, it is used
+     *        even if its kind doesn't match (backing libraries
+     *        can compute font kinds differently).
+     * @return Kerning of the font of the specified kind,
+     *         or null if could not be computed,
+     *         for example due to unsupported format,
+     *         or due to the font having no kerning pairs.
+     */
+    FontBoxKerning computeKerningElseNull(BwdFontKind fontKind) {
+        this.initIfNeeded();
+        if (this.ttfArr == null) {
+            return null;
+        }
+        try {
+            TrueTypeFont fontTtf = null;
+            if (this.ttfArr.length == 1) {
+                fontTtf = this.ttfArr[0];
+            } else {
+                for (TrueTypeFont ttf : this.ttfArr) {
+                    if (fontKind.equals(computeFontKind_ttf(ttf))) {
+                        fontTtf = ttf;
+                        break;
+                    }
+                }
+            }
+            if (fontTtf == null) {
+                return null;
+            }
+            return FontBoxKerning.newInstanceElseNull(fontTtf);
+        } catch (IOException e) {
+            throw new RethrowException(e);
+        }
+    }
+
     static int[] toIntArr(Set<Integer> set) {
         final int[] intArr = new int[set.size()];
         int i = 0;
@@ -280,6 +403,35 @@ public class FontBoxHelper implements Closeable {
         return intArr;
     }
 
+    /**
+     * @param cps Can be null.
+     * @return The specified set without code points above
+     *         the specified max, or null if it is null or empty.
+     */
+    static CodePointSet toCodePointSetClippedElseNull(
+            CodePointSet cps,
+            int maxDisplayableCodePoint) {
+        if ((cps == null)
+                || (cps.getCodePointCount() == 0)
+                || (cps.getMin() > maxDisplayableCodePoint)) {
+            return null;
+        }
+        if (cps.getMax() <= maxDisplayableCodePoint) {
+            return cps;
+        }
+        int rangeCount = 0;
+        while ((rangeCount < cps.getRangeCount())
+                && (cps.getRangeMin(rangeCount) <= maxDisplayableCodePoint)) {
+            rangeCount++;
+        }
+        final int[] minMaxCpArr = new int[2 * rangeCount];
+        for (int i = 0; i < rangeCount; i++) {
+            minMaxCpArr[2 * i] = cps.getRangeMin(i);
+            minMaxCpArr[2 * i + 1] = Math.min(maxDisplayableCodePoint, cps.getRangeMax(i));
+        }
+        return new CodePointSet(minMaxCpArr);
+    }
+
     static int computeRangeCount(int[] sortedCpArr) {
         int rangeCount = 0;
         if (sortedCpArr.length != 0) {
@@ -336,6 +488,12 @@ public class FontBoxHelper implements Closeable {
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
 
+    private boolean isPrefetched(int fontIndex) {
+        return (this.prefetchedFontKindArr != null)
+                && (fontIndex >= 0)
+                && (fontIndex < this.prefetchedFontKindArr.length);
+    }
+
     private void initIfNeeded() {
         if (this.closeable != null) {
             return;
@@ -372,7 +530,13 @@ public class FontBoxHelper implements Closeable {
         } else if (BindingStringUtils.endsWithIgnoreCase(this.fontFilePath, ".ttf")
                 || BindingStringUtils.endsWithIgnoreCase(this.fontFilePath, ".otf")) {
             
-            final TTFParser parser = new TTFParser();
+            /*
+             * Parsing tables on demand (as done for collections),
+             * for only the tables we use to be read.
+             */
+            final boolean isEmbedded = false;
+            final boolean parseOnDemand = true;
+            final TTFParser parser = new TTFParser(isEmbedded, parseOnDemand);
             final TrueTypeFont ttf = parser.parse(file);
             
             if (DEBUG) {
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.io.IOException;
+
+import net.jolikit.bwd.impl.utils.fontbox.CmapSubtable;
+import net.jolikit.bwd.impl.utils.fontbox.KerningSubtable;
+import net.jolikit.bwd.impl.utils.fontbox.KerningTable;
+import net.jolikit.bwd.impl.utils.fontbox.TrueTypeFont;
+
+/**
+ * Horizontal kerning pairs of a TrueType font, read with FontBox,
+ * to approximate text widths as sums of chars widths
+ * plus kerning adjustments.
+ * 
+ * Immutable, and not holding on the font file
+ * (required tables are read at creation).
+ */
+class FontBoxKerning {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final CmapSubtable cmapSubtable;
+    
+    private final KerningSubtable kerningSubtable;
+    
+    private final double emPerFontUnit;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Kerning adjustment for the specified pair of code points,
+     *         in em (i.e. to multiply by font size in pixels),
+     *         possibly negative.
+     */
+    public double computeKerningInEm(int leftCodePoint, int rightCodePoint) {
+        final int leftGid = this.cmapSubtable.getGlyphId(leftCodePoint);
+        if (leftGid == 0) {
+            return 0.0;
+        }
+        final int rightGid = this.cmapSubtable.getGlyphId(rightCodePoint);
+        if (rightGid == 0) {
+            return 0.0;
+        }
+        return this.kerningSubtable.getKerning(leftGid, rightGid) * this.emPerFontUnit;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Kerning for the specified font, or null if it has
+     *         no unicode cmap or no horizontal kerning pairs.
+     */
+    static FontBoxKerning newInstanceElseNull(TrueTypeFont ttf) throws IOException {
+        final KerningTable kerningTable = ttf.getKerning();
+        if (kerningTable == null) {
+            return null;
+        }
+        final KerningSubtable kerningSubtable = kerningTable.getHorizontalKerningSubtable();
+        if (kerningSubtable == null) {
+            return null;
+        }
+        final CmapSubtable cmapSubtable = ttf.getUnicodeCmap(false);
+        if (cmapSubtable == null) {
+            return null;
+        }
+        final int unitsPerEm = ttf.getUnitsPerEm();
+        if (unitsPerEm <= 0) {
+            return null;
+        }
+        return new FontBoxKerning(
+                cmapSubtable,
+                kerningSubtable,
+                1.0 / unitsPerEm);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private FontBoxKerning(
+            CmapSubtable cmapSubtable,
+            KerningSubtable kerningSubtable,
+            double emPerFontUnit) {
+        this.cmapSubtable = cmapSubtable;
+        this.kerningSubtable = kerningSubtable;
+        this.emPerFontUnit = emPerFontUnit;
+    }
+}
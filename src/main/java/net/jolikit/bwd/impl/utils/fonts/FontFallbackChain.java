@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import net.jolikit.bwd.api.fonts.BwdFontKind;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontHome;
+import net.jolikit.bwd.api.utils.BwdUnicode;
+import net.jolikit.lang.LangUtils;
+
+/**
+ * Ordered list of font kinds, to figure out which one to use
+ * to display each code point of a text (typically mixed Latin/CJK/emoji),
+ * the first one that can display it being chosen.
+ * 
+ * Resolution of a code point into a font index is cached,
+ * so that fonts are only probed once per code point.
+ * 
+ * Creates a font of min font size for each loaded font kind,
+ * for canDisplay(...) computations, which is supposed not to depend
+ * on font size. These fonts are disposed on dispose().
+ * 
+ * Thread-safe if created with mustBeThreadSafe true, which should only be
+ * done if the binding supports concurrent font management, since fonts
+ * are used in the threads calling this class methods.
+ * Else, must only be used in the thread that created it,
+ * typically UI thread.
+ */
+public class FontFallbackChain {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Font indexes are stored in cache as bytes.
+     */
+    public static final int MAX_FONT_COUNT = Byte.MAX_VALUE;
+    
+    /**
+     * Cache pages contain 2^12 code points.
+     */
+    private static final int PAGE_BIT_SIZE = 12;
+    
+    private static final int PAGE_SIZE = (1 << PAGE_BIT_SIZE);
+    
+    private static final int PAGE_COUNT = (BwdUnicode.MAX_10FFFF >>> PAGE_BIT_SIZE) + 1;
+    
+    /**
+     * Cached value for code points not yet resolved
+     * (default value of bytes in pages).
+     */
+    private static final byte UNRESOLVED = 0;
+    
+    /**
+     * Cached value for code points that no font can display.
+     */
+    private static final byte NO_FONT = -1;
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final List<BwdFontKind> fontKindList;
+    
+    /**
+     * Null elements for font kinds that are not loaded.
+     */
+    private final InterfaceBwdFont[] fontArr;
+    
+    /**
+     * Null if not thread-safe.
+     */
+    private final Object mutex;
+    
+    /**
+     * Guarded by mutex if any.
+     * 
+     * Pages of cached values, null for pages with no resolved code point.
+     * Cached values are font index + 1, or one of the special values.
+     */
+    private final byte[][] pageArr = new byte[PAGE_COUNT][];
+    
+    /**
+     * Guarded by mutex if any.
+     */
+    private boolean disposed = false;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param fontHome Font home to create fonts with.
+     * @param fontKindList Font kinds, by decreasing priority.
+     *        Font kinds that are not loaded by the specified home
+     *        are allowed, but never chosen.
+     * @param mustBeThreadSafe True if this instance must be thread-safe,
+     *        typically binding.isConcurrentFontManagementSupported().
+     * @throws IllegalArgumentException if there are more than MAX_FONT_COUNT
+     *         font kinds.
+     */
+    public FontFallbackChain(
+            InterfaceBwdFontHome fontHome,
+            List<BwdFontKind> fontKindList,
+            boolean mustBeThreadSafe) {
+        final int fontCount = fontKindList.size();
+        if (fontCount > MAX_FONT_COUNT) {
+            throw new IllegalArgumentException(
+                    "font count [" + fontCount + "] must be <= " + MAX_FONT_COUNT);
+        }
+        
+        this.fontKindList = new ArrayList<BwdFontKind>(fontKindList);
+        
+        final Set<BwdFontKind> loadedFontKindSet = fontHome.getLoadedFontKindSet();
+        final int fontSize = fontHome.getMinFontSize();
+        final InterfaceBwdFont[] fontArr = new InterfaceBwdFont[fontCount];
+        for (int i = 0; i < fontCount; i++) {
+            final BwdFontKind fontKind = LangUtils.requireNonNull(this.fontKindList.get(i));
+            if (loadedFontKindSet.contains(fontKind)) {
+                fontArr[i] = fontHome.newFontWithSize(fontKind, fontSize);
+            }
+        }
+        this.fontArr = fontArr;
+        
+        this.mutex = (mustBeThreadSafe ? new Object() : null);
+    }
+    
+    @Override
+    public String toString() {
+        return this.fontKindList.toString();
+    }
+    
+    /**
+     * @return The number of font kinds.
+     */
+    public int getFontCount() {
+        return this.fontArr.length;
+    }
+    
+    /**
+     * @param fontIndex Must be in [0,getFontCount()[.
+     * @return The font kind at the specified index.
+     */
+    public BwdFontKind getFontKind(int fontIndex) {
+        return this.fontKindList.get(fontIndex);
+    }
+    
+    /**
+     * Disposes fonts created by this instance.
+     * Methods using fonts throw IllegalStateException after this call.
+     */
+    public void dispose() {
+        if (this.mutex != null) {
+            synchronized (this.mutex) {
+                this.dispose_unlocked();
+            }
+        } else {
+            this.dispose_unlocked();
+        }
+    }
+    
+    /**
+     * @param codePoint A code point. Can be any int value.
+     * @return The index of the first font that can display the specified
+     *         code point, or -1 if there is none (or if it is not a valid
+     *         code point).
+     * @throws IllegalStateException if this instance is disposed.
+     */
+    public int computeFontIndex(int codePoint) {
+        if (this.mutex != null) {
+            synchronized (this.mutex) {
+                return this.computeFontIndex_unlocked(codePoint);
+            }
+        } else {
+            return this.computeFontIndex_unlocked(codePoint);
+        }
+    }
+    
+    /**
+     * Splits the specified text into runs of code points
+     * to display with a same font, in a single pass.
+     * 
+     * Unpaired surrogates are considered as code points.
+     * 
+     * @param text (in) Text to split.
+     * @param runEndArr (out) End index (exclusive), in chars, of each run.
+     *        Length must be >= text length.
+     * @param runFontIndexArr (out) Font index of each run,
+     *        -1 for runs that no font can display.
+     *        Length must be >= text length.
+     * @return The number of runs, 0 if text is empty.
+     * @throws IllegalArgumentException if an array is too small.
+     * @throws IllegalStateException if this instance is disposed.
+     */
+    public int computeRuns(
+            CharSequence text,
+            int[] runEndArr,
+            int[] runFontIndexArr) {
+        final int length = text.length();
+        if ((runEndArr.length < length)
+                || (runFontIndexArr.length < length)) {
+            throw new IllegalArgumentException(
+                    "arrays lengths [" + runEndArr.length + ", " + runFontIndexArr.length
+                    + "] must be >= text length [" + length + "]");
+        }
+        if (this.mutex != null) {
+            synchronized (this.mutex) {
+                return this.computeRuns_unlocked(text, runEndArr, runFontIndexArr);
+            }
+        } else {
+            return this.computeRuns_unlocked(text, runEndArr, runFontIndexArr);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void dispose_unlocked() {
+        if (this.disposed) {
+            return;
+        }
+        this.disposed = true;
+        for (InterfaceBwdFont font : this.fontArr) {
+            if (font != null) {
+                font.dispose();
+            }
+        }
+    }
+    
+    private void checkNotDisposed() {
+        if (this.disposed) {
+            throw new IllegalStateException("disposed");
+        }
+    }
+    
+    private int computeFontIndex_unlocked(int codePoint) {
+        this.checkNotDisposed();
+        return this.getOrComputeFontIndex(codePoint);
+    }
+    
+    private int computeRuns_unlocked(
+            CharSequence text,
+            int[] runEndArr,
+            int[] runFontIndexArr) {
+        this.checkNotDisposed();
+        final int length = text.length();
+        int runCount = 0;
+        int prevFontIndex = Integer.MIN_VALUE;
+        int ci = 0;
+        while (ci < length) {
+            final int cp = Character.codePointAt(text, ci);
+            final int fontIndex = this.getOrComputeFontIndex(cp);
+            if (fontIndex != prevFontIndex) {
+                runFontIndexArr[runCount++] = fontIndex;
+                prevFontIndex = fontIndex;
+            }
+            ci += Character.charCount(cp);
+            runEndArr[runCount - 1] = ci;
+        }
+        return runCount;
+    }
+    
+    private int getOrComputeFontIndex(int codePoint) {
+        if ((codePoint < 0)
+                || (codePoint > BwdUnicode.MAX_10FFFF)) {
+            return -1;
+        }
+        final int pageIndex = (codePoint >>> PAGE_BIT_SIZE);
+        byte[] page = this.pageArr[pageIndex];
+        if (page == null) {
+            page = new byte[PAGE_SIZE];
+            this.pageArr[pageIndex] = page;
+        }
+        final int indexInPage = (codePoint & (PAGE_SIZE - 1));
+        byte value = page[indexInPage];
+        if (value == UNRESOLVED) {
+            final int fontIndex = this.computeFontIndex_noCache(codePoint);
+            value = ((fontIndex < 0) ? NO_FONT : (byte) (fontIndex + 1));
+            page[indexInPage] = value;
+        }
+        return ((value == NO_FONT) ? -1 : value - 1);
+    }
+    
+    private int computeFontIndex_noCache(int codePoint) {
+        for (int i = 0; i < this.fontArr.length; i++) {
+            final InterfaceBwdFont font = this.fontArr[i];
+            if ((font != null)
+                    && font.canDisplay(codePoint)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import net.jolikit.bwd.api.fonts.BwdFontKind;
+import net.jolikit.lang.Dbg;
+import net.jolikit.lang.LangUtils;
+
+/**
+ * Persistent index of font files metadata computed with FontBox
+ * (font kinds and code point sets), keyed by font file path,
+ * and invalidated per font file when its size or last modification
+ * time changes, to avoid parsing unchanged font files at each startup.
+ * 
+ * Index file is a compact binary file, memory-mapped for reading.
+ * Writing is done into a temporary file, then renamed,
+ * so that a concurrent or interrupted write doesn't corrupt it.
+ * Invalid or incompatible index files are ignored (and overwritten
+ * at next save).
+ * 
+ * Thread-safe.
+ */
+public class FontMetadataIndex {
+    
+    /*
+     * Format (big endian):
+     * - int: magic number.
+     * - int: version.
+     * - int: entry count.
+     * - For each entry:
+     *   - string: font file path.
+     *   - long: font file size.
+     *   - long: font file last modification time.
+     *   - int: font count.
+     *   - For each font:
+     *     - byte: 1 if has font kind, 0 otherwise.
+     *     - If has font kind: string family, int style.
+     *     - int: code point set range count, -1 if no code point set.
+     *     - For each range: int min, int max.
+     * Strings are stored as an int byte count followed by UTF-8 bytes.
+     */
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final boolean DEBUG = false;
+    
+    private static final int MAGIC = 0x4A4B464D;
+    
+    /**
+     * To increment when format changes.
+     */
+    private static final int VERSION = 1;
+    
+    private static final String CHARSET_NAME = "UTF-8";
+    
+    /**
+     * Byte size of a font with no font kind and an empty code point set,
+     * to check counts against remaining bytes before allocating arrays.
+     */
+    private static final int MIN_FONT_BYTE_SIZE = 1 + 4;
+    
+    private static final int RANGE_BYTE_SIZE = 2 * 4;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyEntry {
+        final long fileSize;
+        final long lastModified;
+        final BwdFontKind[] fontKindArr;
+        final CodePointSet[] cpsArr;
+        public MyEntry(
+                long fileSize,
+                long lastModified,
+                BwdFontKind[] fontKindArr,
+                CodePointSet[] cpsArr) {
+            this.fileSize = fileSize;
+            this.lastModified = lastModified;
+            this.fontKindArr = fontKindArr;
+            this.cpsArr = cpsArr;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final String indexFilePath;
+    
+    private final Object mutex = new Object();
+    
+    /**
+     * Guarded by mutex.
+     * 
+     * Sorted, for written file not to depend on insertion order.
+     */
+    private final SortedMap<String,MyEntry> entryByFontFilePath =
+            new TreeMap<String,MyEntry>();
+    
+    /**
+     * Guarded by mutex.
+     * 
+     * True if entries changed since last load or save.
+     */
+    private boolean modified = false;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param indexFilePath Path of the index file. Must not be null.
+     *        The file doesn't need to exist.
+     */
+    public FontMetadataIndex(String indexFilePath) {
+        this.indexFilePath = LangUtils.requireNonNull(indexFilePath);
+    }
+    
+    @Override
+    public String toString() {
+        synchronized (this.mutex) {
+            return "[" + this.indexFilePath
+                    + ", size = " + this.entryByFontFilePath.size()
+                    + ", modified = " + this.modified
+                    + "]";
+        }
+    }
+    
+    public String getIndexFilePath() {
+        return this.indexFilePath;
+    }
+    
+    /**
+     * Replaces entries with the ones read from index file.
+     * If index file doesn't exist or is invalid, clears entries.
+     * 
+     * @return True if could read index file, false otherwise.
+     */
+    public boolean load() {
+        final SortedMap<String,MyEntry> entryByPath = new TreeMap<String,MyEntry>();
+        boolean didLoad = false;
+        final File file = new File(this.indexFilePath);
+        if (file.isFile()) {
+            try {
+                readIndexFile(file, entryByPath);
+                didLoad = true;
+            } catch (Exception e) {
+                /*
+                 * IOException, or BufferUnderflowException or
+                 * IllegalArgumentException in case of invalid content.
+                 * Counts are checked against remaining bytes
+                 * before allocating arrays, so no OutOfMemoryError
+                 * in case of huge counts.
+                 */
+                if (DEBUG) {
+                    Dbg.log("could not read " + this.indexFilePath, e);
+                }
+                entryByPath.clear();
+            }
+        }
+        synchronized (this.mutex) {
+            this.entryByFontFilePath.clear();
+            this.entryByFontFilePath.putAll(entryByPath);
+            this.modified = false;
+        }
+        return didLoad;
+    }
+    
+    /**
+     * Writes entries into index file, if they changed
+     * since last load or save.
+     * Best effort: failures to write are not thrown.
+     * 
+     * @return True if did write index file, false otherwise.
+     */
+    public boolean saveIfModified() {
+        final SortedMap<String,MyEntry> entryByPath;
+        synchronized (this.mutex) {
+            if (!this.modified) {
+                return false;
+            }
+            entryByPath = new TreeMap<String,MyEntry>(this.entryByFontFilePath);
+            this.modified = false;
+        }
+        final File file = new File(this.indexFilePath);
+        final File tmpFile = new File(this.indexFilePath + ".tmp");
+        try {
+            writeIndexFile(tmpFile, entryByPath);
+            if (!tmpFile.renameTo(file)) {
+                // Some platforms don't rename over existing files.
+                file.delete();
+                if (!tmpFile.renameTo(file)) {
+                    throw new IOException("could not rename " + tmpFile + " into " + file);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            if (DEBUG) {
+                Dbg.log("could not write " + this.indexFilePath, e);
+            }
+            tmpFile.delete();
+            synchronized (this.mutex) {
+                this.modified = true;
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * @return The number of indexed font files.
+     */
+    public int size() {
+        synchronized (this.mutex) {
+            return this.entryByFontFilePath.size();
+        }
+    }
+    
+    /**
+     * Removes all entries (index file is only modified on save).
+     */
+    public void clear() {
+        synchronized (this.mutex) {
+            if (this.entryByFontFilePath.size() != 0) {
+                this.entryByFontFilePath.clear();
+                this.modified = true;
+            }
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return A prefetched helper for the specified font file, if it is
+     *         indexed and did not change since, else null.
+     */
+    FontBoxHelper newFontBoxHelperElseNull(String fontFilePath) {
+        final MyEntry entry;
+        synchronized (this.mutex) {
+            entry = this.entryByFontFilePath.get(fontFilePath);
+        }
+        if (entry == null) {
+            return null;
+        }
+        final File file = new File(fontFilePath);
+        if ((!file.isFile())
+                || (file.length() != entry.fileSize)
+                || (file.lastModified() != entry.lastModified)) {
+            return null;
+        }
+        return FontBoxHelper.newPrefetchedInstance(
+                fontFilePath,
+                entry.fontKindArr,
+                entry.cpsArr);
+    }
+    
+    /**
+     * Does nothing if the specified helper is not prefetched.
+     * 
+     * @param fileSize Size of the font file, when it was parsed.
+     * @param lastModified Last modification time of the font file,
+     *        when it was parsed.
+     * @param helper A prefetched helper for the specified font file.
+     */
+    void put(
+            String fontFilePath,
+            long fileSize,
+            long lastModified,
+            FontBoxHelper helper) {
+        LangUtils.requireNonNull(fontFilePath);
+        final BwdFontKind[] fontKindArr = helper.getPrefetchedFontKindArrElseNull();
+        final CodePointSet[] cpsArr = helper.getPrefetchedCpsArrElseNull();
+        if ((fontKindArr == null)
+                || (cpsArr == null)) {
+            return;
+        }
+        final MyEntry entry = new MyEntry(
+                fileSize,
+                lastModified,
+                fontKindArr,
+                cpsArr);
+        synchronized (this.mutex) {
+            this.entryByFontFilePath.put(fontFilePath, entry);
+            this.modified = true;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param entryByPath (out)
+     */
+    private static void readIndexFile(
+            File file,
+            Map<String,MyEntry> entryByPath) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            final MappedByteBuffer bb = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    0L,
+                    channel.size());
+            if (bb.getInt() != MAGIC) {
+                throw new IOException("bad magic number");
+            }
+            if (bb.getInt() != VERSION) {
+                throw new IOException("unsupported version");
+            }
+            final int entryCount = bb.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                final String fontFilePath = readString(bb);
+                final long fileSize = bb.getLong();
+                final long lastModified = bb.getLong();
+                final int fontCount = bb.getInt();
+                if ((fontCount < 0)
+                        || (fontCount > bb.remaining() / MIN_FONT_BYTE_SIZE)) {
+                    throw new IOException("bad font count: " + fontCount);
+                }
+                final BwdFontKind[] fontKindArr = new BwdFontKind[fontCount];
+                final CodePointSet[] cpsArr = new CodePointSet[fontCount];
+                for (int k = 0; k < fontCount; k++) {
+                    if (bb.get() != 0) {
+                        final String family = readString(bb);
+                        final int style = bb.getInt();
+                        fontKindArr[k] = new BwdFontKind(family, style);
+                    }
+                    final int rangeCount = bb.getInt();
+                    if (rangeCount > bb.remaining() / RANGE_BYTE_SIZE) {
+                        throw new IOException("bad range count: " + rangeCount);
+                    }
+                    if (rangeCount >= 0) {
+                        final int[] minMaxCpArr = new int[2 * rangeCount];
+                        for (int j = 0; j < minMaxCpArr.length; j++) {
+                            minMaxCpArr[j] = bb.getInt();
+                        }
+                        cpsArr[k] = new CodePointSet(minMaxCpArr);
+                    }
+                }
+                entryByPath.put(
+                        fontFilePath,
+                        new MyEntry(fileSize, lastModified, fontKindArr, cpsArr));
+            }
+        } finally {
+            raf.close();
+        }
+    }
+    
+    private static void writeIndexFile(
+            File file,
+            SortedMap<String,MyEntry> entryByPath) throws IOException {
+        final DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(
+                        new FileOutputStream(file)));
+        try {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(entryByPath.size());
+            for (Map.Entry<String,MyEntry> mapEntry : entryByPath.entrySet()) {
+                final MyEntry entry = mapEntry.getValue();
+                writeString(dos, mapEntry.getKey());
+                dos.writeLong(entry.fileSize);
+                dos.writeLong(entry.lastModified);
+                final int fontCount = entry.fontKindArr.length;
+                dos.writeInt(fontCount);
+                for (int k = 0; k < fontCount; k++) {
+                    final BwdFontKind fontKind = entry.fontKindArr[k];
+                    if (fontKind != null) {
+                        dos.writeByte(1);
+                        writeString(dos, fontKind.family());
+                        dos.writeInt(fontKind.style());
+                    } else {
+                        dos.writeByte(0);
+                    }
+                    final CodePointSet cps = entry.cpsArr[k];
+                    if (cps != null) {
+                        final int rangeCount = cps.getRangeCount();
+                        dos.writeInt(rangeCount);
+                        for (int j = 0; j < rangeCount; j++) {
+                            dos.writeInt(cps.getRangeMin(j));
+                            dos.writeInt(cps.getRangeMax(j));
+                        }
+                    } else {
+                        dos.writeInt(-1);
+                    }
+                }
+            }
+        } finally {
+            dos.close();
+        }
+    }
+    
+    private static String readString(ByteBuffer bb) throws IOException {
+        final int byteCount = bb.getInt();
+        if ((byteCount < 0)
+                || (byteCount > bb.remaining())) {
+            throw new IOException("bad string byte count: " + byteCount);
+        }
+        final byte[] byteArr = new byte[byteCount];
+        bb.get(byteArr);
+        return new String(byteArr, CHARSET_NAME);
+    }
+    
+    private static void writeString(DataOutputStream dos, String str) throws IOException {
+        final byte[] byteArr = str.getBytes(CHARSET_NAME);
+        dos.writeInt(byteArr.length);
+        dos.write(byteArr);
+    }
+}
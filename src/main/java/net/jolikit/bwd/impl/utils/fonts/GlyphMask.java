@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Immutable.
+ *
+ * Coverage (alpha) mask of a rendered glyph, independent of the color
+ * used for drawing, so that it can be cached and composed into text
+ * for any color.
+ *
+ * Mask position is relative to the pen position at which the glyph
+ * is drawn, with Y relative to the top of the text, i.e. to the y
+ * given to drawText(...) method.
+ */
+public final class GlyphMask {
+
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+
+    /**
+     * Rough per-instance memory overhead, in bytes,
+     * in addition to mask bytes.
+     */
+    static final int INSTANCE_BYTE_OVERHEAD = 64;
+
+    private final int advance;
+
+    private final int xInPen;
+
+    private final int yInText;
+
+    private final int width;
+
+    private final int height;
+
+    /**
+     * Row-major, scanline stride being width.
+     */
+    private final byte[] alpha8Arr;
+
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+
+    /**
+     * @param advance Amount by which the pen must be moved
+     *        after drawing this glyph. Must be >= 0.
+     * @return A mask with no coverage.
+     */
+    public static GlyphMask newEmpty(int advance) {
+        return new GlyphMask(
+                advance,
+                0,
+                0,
+                0,
+                0,
+                LangUtils.EMPTY_BYTE_ARR);
+    }
+
+    /**
+     * Only stores the smallest rectangle containing non-zero coverage
+     * of the specified area, to keep cached masks small.
+     *
+     * @param advance Amount by which the pen must be moved
+     *        after drawing this glyph. Must be >= 0.
+     * @param xInPen X of the specified area top-left corner,
+     *        relative to pen position.
+     * @param yInText Y of the specified area top-left corner,
+     *        relative to text top.
+     * @param width Width of the specified area. Must be >= 0.
+     * @param height Height of the specified area. Must be >= 0.
+     * @param alpha8Arr (in) Coverage of the specified area, row-major,
+     *        in [0,255] as unsigned bytes.
+     * @param scanlineStride Scanline stride of the specified array.
+     *        Must be >= width.
+     * @return The corresponding trimmed mask.
+     */
+    public static GlyphMask newTrimmed(
+            int advance,
+            int xInPen,
+            int yInText,
+            int width,
+            int height,
+            byte[] alpha8Arr,
+            int scanlineStride) {
+        NbrsUtils.requireSupOrEq(0, width, "width");
+        NbrsUtils.requireSupOrEq(0, height, "height");
+        NbrsUtils.requireSupOrEq(width, scanlineStride, "scanlineStride");
+
+        int minI = Integer.MAX_VALUE;
+        int maxI = Integer.MIN_VALUE;
+        int minJ = Integer.MAX_VALUE;
+        int maxJ = Integer.MIN_VALUE;
+        for (int j = 0; j < height; j++) {
+            final int lineOffset = j * scanlineStride;
+            for (int i = 0; i < width; i++) {
+                if (alpha8Arr[lineOffset + i] != 0) {
+                    minI = Math.min(minI, i);
+                    maxI = Math.max(maxI, i);
+                    minJ = Math.min(minJ, j);
+                    maxJ = Math.max(maxJ, j);
+                }
+            }
+        }
+        if (minI > maxI) {
+            return newEmpty(advance);
+        }
+
+        final int trimmedWidth = maxI - minI + 1;
+        final int trimmedHeight = maxJ - minJ + 1;
+        final byte[] trimmedAlpha8Arr = new byte[trimmedWidth * trimmedHeight];
+        for (int j = 0; j < trimmedHeight; j++) {
+            System.arraycopy(
+                    alpha8Arr,
+                    (minJ + j) * scanlineStride + minI,
+                    trimmedAlpha8Arr,
+                    j * trimmedWidth,
+                    trimmedWidth);
+        }
+        return new GlyphMask(
+                advance,
+                xInPen + minI,
+                yInText + minJ,
+                trimmedWidth,
+                trimmedHeight,
+                trimmedAlpha8Arr);
+    }
+
+    @Override
+    public String toString() {
+        return "[advance = " + this.advance
+                + ", xInPen = " + this.xInPen
+                + ", yInText = " + this.yInText
+                + ", width = " + this.width
+                + ", height = " + this.height
+                + "]";
+    }
+
+    /**
+     * @return Amount by which the pen must be moved
+     *         after drawing this glyph.
+     */
+    public int getAdvance() {
+        return this.advance;
+    }
+
+    /**
+     * @return X of mask top-left corner, relative to pen position.
+     */
+    public int getXInPen() {
+        return this.xInPen;
+    }
+
+    /**
+     * @return Y of mask top-left corner, relative to text top.
+     */
+    public int getYInText() {
+        return this.yInText;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public boolean isEmpty() {
+        return (this.width == 0);
+    }
+
+    /**
+     * @param x X in mask, in [0,width[.
+     * @param y Y in mask, in [0,height[.
+     * @return Coverage at the specified position, in [0,255].
+     */
+    public int getAlpha8At(int x, int y) {
+        return this.alpha8Arr[y * this.width + x] & 0xFF;
+    }
+
+    /**
+     * @return Rough memory footprint of this mask, in bytes.
+     */
+    public int getByteSize() {
+        return INSTANCE_BYTE_OVERHEAD + this.alpha8Arr.length;
+    }
+
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+
+    private GlyphMask(
+            int advance,
+            int xInPen,
+            int yInText,
+            int width,
+            int height,
+            byte[] alpha8Arr) {
+        NbrsUtils.requireSupOrEq(0, advance, "advance");
+        this.advance = advance;
+        this.xInPen = xInPen;
+        this.yInText = yInText;
+        this.width = width;
+        this.height = height;
+        this.alpha8Arr = alpha8Arr;
+    }
+}
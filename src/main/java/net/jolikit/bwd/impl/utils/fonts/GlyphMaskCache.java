@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import net.jolikit.bwd.api.fonts.BwdFontId;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache.InterfaceKeyFilter;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Thread-safe cache of glyph masks, keyed by font id (kind and size)
+ * and code point, with LRU eviction when total masks size exceeds
+ * a byte budget.
+ * 
+ * Allows to draw text by composing cached coverage masks,
+ * instead of rasterizing whole strings with the backing library
+ * for each drawText(...) call.
+ * Meant to be shared by all graphics of a binding,
+ * and owned by its font home.
+ */
+public class GlyphMaskCache {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Mutable, for lookups not to create garbage,
+     * but never modified once used as a key in the map.
+     */
+    private static class MyKey {
+        private BwdFontId fontId;
+        private int codePoint;
+        public MyKey() {
+        }
+        public MyKey(BwdFontId fontId, int codePoint) {
+            this.fontId = fontId;
+            this.codePoint = codePoint;
+        }
+        public void configure(BwdFontId fontId, int codePoint) {
+            this.fontId = fontId;
+            this.codePoint = codePoint;
+        }
+        @Override
+        public int hashCode() {
+            return this.fontId.hashCode() * 31 + this.codePoint;
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MyKey)) {
+                return false;
+            }
+            final MyKey other = (MyKey) obj;
+            return (this.codePoint == other.codePoint)
+                    && this.fontId.equals(other.fontId);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Sizes in bytes, as computed by GlyphMask.getByteSize().
+     */
+    private final BudgetedLruCache<MyKey,GlyphMask> cache;
+    
+    /**
+     * Guarded by cache mutex.
+     */
+    private final MyKey tmpKey = new MyKey();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxByteSize Max total byte size of cached masks
+     *        (as computed by GlyphMask.getByteSize()). Must be > 0.
+     */
+    public GlyphMaskCache(long maxByteSize) {
+        this.cache = new BudgetedLruCache<MyKey,GlyphMask>(
+                NbrsUtils.requireSup(0L, maxByteSize, "maxByteSize"));
+    }
+    
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+    
+    public long getMaxByteSize() {
+        return this.cache.getMaxTotalSize();
+    }
+    
+    /**
+     * @return The mask for the specified font id and code point,
+     *         or null if it is not in cache.
+     */
+    public GlyphMask get(BwdFontId fontId, int codePoint) {
+        LangUtils.requireNonNull(fontId);
+        synchronized (this.cache.getMutex()) {
+            final MyKey key = this.tmpKey;
+            key.configure(fontId, codePoint);
+            final GlyphMask mask = this.cache.get(key);
+            key.configure(null, 0);
+            return mask;
+        }
+    }
+    
+    /**
+     * Does nothing if the specified mask is larger than max byte size.
+     * Else, evicts least recently used masks as needed.
+     * 
+     * @param mask Mask to cache for the specified font id and code point,
+     *        replacing any previous one.
+     */
+    public void put(BwdFontId fontId, int codePoint, GlyphMask mask) {
+        LangUtils.requireNonNull(fontId);
+        LangUtils.requireNonNull(mask);
+        this.cache.put(
+                new MyKey(fontId, codePoint),
+                mask,
+                mask.getByteSize());
+    }
+    
+    /**
+     * Useful when a font is disposed.
+     * 
+     * @param fontId Font id which masks must be removed.
+     */
+    public void removeAllForFontId(final BwdFontId fontId) {
+        LangUtils.requireNonNull(fontId);
+        this.cache.removeAll(new InterfaceKeyFilter<MyKey>() {
+            @Override
+            public boolean accept(MyKey key) {
+                return key.fontId.equals(fontId);
+            }
+        });
+    }
+    
+    /**
+     * Removes all masks. Doesn't reset statistics.
+     */
+    public void clear() {
+        this.cache.clear();
+    }
+    
+    /*
+     * Statistics.
+     */
+    
+    /**
+     * @return The number of cached masks.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+    
+    /**
+     * @return Total byte size of cached masks.
+     */
+    public long getByteSize() {
+        return this.cache.getTotalSize();
+    }
+    
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+    
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+    
+    /**
+     * @return The number of masks evicted due to byte budget.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+}
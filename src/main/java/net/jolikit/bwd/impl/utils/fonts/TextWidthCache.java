@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Thread-safe cache of text widths, keyed by text,
+ * with LRU eviction when the number of cached widths
+ * exceeds a max size.
+ * 
+ * Meant to be owned by a font metrics, for widths computed
+ * by backing libraries (which can be slow, typically
+ * for the layout of whole strings) not to be recomputed
+ * for frequently measured texts.
+ */
+public class TextWidthCache {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Size of 1 per width, for max size to be a number of widths.
+     */
+    private final BudgetedLruCache<String,Integer> cache;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxSize Max number of cached widths. Must be > 0.
+     */
+    public TextWidthCache(int maxSize) {
+        this.cache = new BudgetedLruCache<String,Integer>(
+                NbrsUtils.requireSup(0, maxSize, "maxSize"));
+    }
+    
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+    
+    public int getMaxSize() {
+        return (int) this.cache.getMaxTotalSize();
+    }
+    
+    /**
+     * @return The width for the specified text,
+     *         or -1 if it is not in cache.
+     */
+    public int get(String text) {
+        LangUtils.requireNonNull(text);
+        final Integer width = this.cache.get(text);
+        return ((width != null) ? width.intValue() : -1);
+    }
+    
+    /**
+     * Evicts least recently used width if needed.
+     * 
+     * @param width Width to cache for the specified text,
+     *        replacing any previous one. Must be >= 0.
+     */
+    public void put(String text, int width) {
+        LangUtils.requireNonNull(text);
+        NbrsUtils.requireSupOrEq(0, width, "width");
+        this.cache.put(text, width, 1L);
+    }
+    
+    /**
+     * Removes all widths. Doesn't reset statistics.
+     */
+    public void clear() {
+        this.cache.clear();
+    }
+    
+    /*
+     * Statistics.
+     */
+    
+    /**
+     * @return The number of cached widths.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+    
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+    
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+    
+    /**
+     * @return The number of widths evicted due to max size.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+}
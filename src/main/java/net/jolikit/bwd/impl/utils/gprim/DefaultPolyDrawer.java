@@ -20,6 +20,8 @@ import java.util.Arrays;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.SequentialParallelizer;
 
 public class DefaultPolyDrawer implements InterfacePolyDrawer {
 
@@ -47,6 +49,11 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
      * which allows for nice filling speed-up in case of rows
      * not hit by the outline (i.e. fully in or fully out of the polygon),
      * or in case of oblique polygons.
+     * 
+     * When the clipped bounding box is large and a parallelizer
+     * with parallelism >= 2 is provided, we use PolyScanlineFiller
+     * instead, which uses a scanline algorithm, and fills
+     * bands of rows in parallel.
      */
 
     //--------------------------------------------------------------------------
@@ -284,6 +291,8 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
      * 
      */
 
+    private final InterfaceParallelizer parallelizer;
+
     private final InterfaceColorDrawer colorDrawer;
 
     private final InterfaceClippedPointDrawer clippedPointDrawer;
@@ -296,7 +305,37 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
 
+    /**
+     * Creates an instance that fills polygons sequentially.
+     */
+    public DefaultPolyDrawer(
+            InterfaceColorDrawer colorDrawer,
+            //
+            InterfaceClippedPointDrawer clippedPointDrawer,
+            InterfaceClippedLineDrawer clippedLineDrawer,
+            //
+            InterfaceLineDrawer lineDrawer,
+            InterfaceRectDrawer rectDrawer) {
+        this(
+                SequentialParallelizer.getDefault(),
+                //
+                colorDrawer,
+                //
+                clippedPointDrawer,
+                clippedLineDrawer,
+                //
+                lineDrawer,
+                rectDrawer);
+    }
+
+    /**
+     * @param parallelizer Parallelizer for filling large polygons.
+     *        If its parallelism is >= 2, the specified clipped drawers
+     *        must support concurrent drawing of pixels in distinct rows.
+     */
     public DefaultPolyDrawer(
+            InterfaceParallelizer parallelizer,
+            //
             InterfaceColorDrawer colorDrawer,
             //
             InterfaceClippedPointDrawer clippedPointDrawer,
@@ -305,6 +344,8 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
             InterfaceLineDrawer lineDrawer,
             InterfaceRectDrawer rectDrawer) {
 
+        this.parallelizer = LangUtils.requireNonNull(parallelizer);
+
         this.colorDrawer = LangUtils.requireNonNull(colorDrawer);
 
         this.clippedPointDrawer = LangUtils.requireNonNull(clippedPointDrawer);
@@ -364,6 +405,8 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
             int pointCount,
             boolean areHorVerFlipped) {
         fillPolygon(
+                this.parallelizer,
+                //
                 clip,
                 xArr,
                 yArr,
@@ -404,6 +447,8 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
         final boolean isFillElseDraw = false;
         final boolean isPolyline = true;
         drawOrFillPoly(
+                null,
+                //
                 clip,
                 xArr,
                 yArr,
@@ -442,6 +487,8 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
         final boolean isFillElseDraw = false;
         final boolean isPolyline = false;
         drawOrFillPoly(
+                null,
+                //
                 clip,
                 xArr,
                 yArr,
@@ -459,6 +506,9 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
                 rectDrawer);
     }
 
+    /**
+     * Fills sequentially.
+     */
     public static void fillPolygon(
             GRect clip,
             int[] xArr,
@@ -473,10 +523,53 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
             //
             InterfaceLineDrawer lineDrawer,
             InterfaceRectDrawer rectDrawer) {
+        fillPolygon(
+                SequentialParallelizer.getDefault(),
+                //
+                clip,
+                xArr,
+                yArr,
+                pointCount,
+                areHorVerFlipped,
+                //
+                colorDrawer,
+                //
+                clippedPointDrawer,
+                clippedLineDrawer,
+                //
+                lineDrawer,
+                rectDrawer);
+    }
 
+    /**
+     * @param parallelizer Parallelizer for filling large polygons.
+     *        If its parallelism is >= 2, the specified clipped drawers
+     *        must support concurrent drawing of pixels in distinct rows.
+     */
+    public static void fillPolygon(
+            InterfaceParallelizer parallelizer,
+            //
+            GRect clip,
+            int[] xArr,
+            int[] yArr,
+            int pointCount,
+            boolean areHorVerFlipped,
+            //
+            InterfaceColorDrawer colorDrawer,
+            //
+            InterfaceClippedPointDrawer clippedPointDrawer,
+            InterfaceClippedLineDrawer clippedLineDrawer,
+            //
+            InterfaceLineDrawer lineDrawer,
+            InterfaceRectDrawer rectDrawer) {
+
+        LangUtils.requireNonNull(parallelizer);
+        
         final boolean isFillElseDraw = true;
         final boolean isPolyline = false;
         drawOrFillPoly(
+                parallelizer,
+                //
                 clip,
                 xArr,
                 yArr,
@@ -499,10 +592,13 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
     //--------------------------------------------------------------------------
 
     /**
+     * @param parallelizer Only used when filling.
      * @param areHorVerFlipped Only used when filling.
      * @param isPolyline Only used if isFillElseDraw is false.
      */
     private static void drawOrFillPoly(
+            InterfaceParallelizer parallelizer,
+            //
             GRect clip,
             int[] xArr,
             int[] yArr,
@@ -634,6 +730,21 @@ public class DefaultPolyDrawer implements InterfacePolyDrawer {
             }
         }
 
+        if (isFillElseDraw
+                && PolyScanlineFiller.isWorthToParallelize(parallelizer, cbbox)) {
+            PolyScanlineFiller.fillPolygon(
+                    parallelizer,
+                    clip,
+                    cbbox,
+                    xArr,
+                    yArr,
+                    pointCount,
+                    //
+                    clippedPointDrawer,
+                    clippedLineDrawer);
+            return;
+        }
+
         /*
          * Here we need to use pixels flags.
          */
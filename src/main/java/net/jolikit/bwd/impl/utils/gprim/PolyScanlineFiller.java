@@ -0,0 +1,660 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.gprim;
+
+import java.util.Arrays;
+
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
+
+/**
+ * Polygon filling using an edge table and an active edge list,
+ * which allows to fill independent bands of rows,
+ * and therefore to parallelize large fillings.
+ * 
+ * Draws the same pixels as DefaultPolyDrawer sequential algorithm:
+ * edges pixels, drawn once each with DefaultLineDrawer,
+ * and non-edge pixels for which GprimUtils.isInPolygon(...) is true.
+ * 
+ * Drawers must support concurrent drawing of pixels in distinct rows,
+ * when the parallelizer parallelism is >= 2.
+ */
+public class PolyScanlineFiller {
+    
+    /*
+     * For each row, and for each edge active on that row
+     * (i.e. with y in [yMin,yMax[, as in GprimUtils.isInPolygon(...)),
+     * we compute the threshold X such as a pixel of the row
+     * is counted as a hit for that edge by GprimUtils.isInPolygon(...)
+     * if and only if its x is < threshold.
+     * Sorting these thresholds then gives the spans of pixels
+     * which number of hits is odd, i.e. which are in the polygon,
+     * and which we fill, except for edges pixels, which are drawn first
+     * and flagged as such to avoid drawing them twice.
+     */
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Area of clipped bounding box from which it's worth
+     * to split in two for parallelization.
+     */
+    private static final int AREA_THRESHOLD_FOR_SPLIT = 256 * 256;
+    
+    /**
+     * For a byte[], that's 16Mo.
+     */
+    private static final int MAX_FLAG_ARR_REUSE_CAPACITY = 4096 * 4096;
+    
+    /**
+     * Should be large enough for most screens.
+     */
+    private static final int MAX_INT_ARR_REUSE_CAPACITY = 4096 * 4;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyTemps {
+        final MyClippedPointDrawerWithFlag clippedPointDrawerWithFlag =
+            new MyClippedPointDrawerWithFlag();
+        final DefaultClippedLineDrawer clippedLineDrawer =
+            new DefaultClippedLineDrawer();
+        byte[] tmpFlagByIndex = LangUtils.EMPTY_BYTE_ARR;
+        /*
+         * min/max lit X on each row.
+         */
+        int[] tmpXMinArr = LangUtils.EMPTY_INT_ARR;
+        int[] tmpXMaxArr = LangUtils.EMPTY_INT_ARR;
+        /*
+         * Active edges, and their thresholds for current row.
+         */
+        int[] tmpActiveEdgeArr = LangUtils.EMPTY_INT_ARR;
+        int[] tmpThresholdArr = LangUtils.EMPTY_INT_ARR;
+    }
+    
+    /**
+     * Draws each pixel of the band only once, ignoring pixels out of it,
+     * and keeps track of drawn pixels.
+     */
+    private static class MyClippedPointDrawerWithFlag implements InterfaceClippedPointDrawer {
+        private InterfaceClippedPointDrawer clippedPointDrawer;
+        private GRect band = GRect.DEFAULT_EMPTY;
+        byte[] flagByIndex = null;
+        int[] xMinArr = null;
+        int[] xMaxArr = null;
+        public MyClippedPointDrawerWithFlag() {
+        }
+        public void reset(
+            MyTemps temps,
+            InterfaceClippedPointDrawer clippedPointDrawer,
+            GRect band) {
+            this.clippedPointDrawer = clippedPointDrawer;
+            this.band = band;
+            // Flags are cleared after use, so we only have
+            // to clear new arrays that are reused.
+            this.flagByIndex = getFlagByIndex(temps, band.area());
+            final int ySpan = band.ySpan();
+            this.xMinArr = getIntArr(temps, ySpan, 0);
+            this.xMaxArr = getIntArr(temps, ySpan, 1);
+            for (int j = 0; j < ySpan; j++) {
+                this.xMinArr[j] = Integer.MAX_VALUE;
+                this.xMaxArr[j] = Integer.MIN_VALUE;
+            }
+        }
+        @Override
+        public void drawPointInClip(int x, int y) {
+            final int j = y - this.band.y();
+            if ((j < 0) || (j >= this.band.ySpan())) {
+                // Pixel of another band.
+                return;
+            }
+            final int index = j * this.band.xSpan() + (x - this.band.x());
+            if (this.flagByIndex[index] != 0) {
+                // Already drawn: not drawing again.
+                return;
+            }
+            this.flagByIndex[index] = 1;
+            this.clippedPointDrawer.drawPointInClip(x, y);
+            this.xMinArr[j] = Math.min(this.xMinArr[j], x);
+            this.xMaxArr[j] = Math.max(this.xMaxArr[j], x);
+        }
+    }
+    
+    /**
+     * Data common to splittables, to save memory.
+     */
+    private static class MyCmnData {
+        final int[] xArr;
+        final int[] yArr;
+        final int pointCount;
+        final GRect clip;
+        final GRect cbbox;
+        /**
+         * Edge i goes from point (i-1) (or (pointCount-1) for i = 0)
+         * to point i.
+         * Edges sorted by increasing min y.
+         */
+        final int[] edgeByYMinArr;
+        final InterfaceClippedPointDrawer clippedPointDrawer;
+        final InterfaceClippedLineDrawer clippedLineDrawer;
+        public MyCmnData(
+            int[] xArr,
+            int[] yArr,
+            int pointCount,
+            GRect clip,
+            GRect cbbox,
+            InterfaceClippedPointDrawer clippedPointDrawer,
+            InterfaceClippedLineDrawer clippedLineDrawer) {
+            this.xArr = xArr;
+            this.yArr = yArr;
+            this.pointCount = pointCount;
+            this.clip = clip;
+            this.cbbox = cbbox;
+            this.edgeByYMinArr = newEdgeByYMinArr(xArr, yArr, pointCount);
+            this.clippedPointDrawer = clippedPointDrawer;
+            this.clippedLineDrawer = clippedLineDrawer;
+        }
+    }
+    
+    private static class MySplittable implements InterfaceSplittable {
+        final MyCmnData cmn;
+        private int yStart;
+        private int yEnd;
+        public MySplittable(
+            MyCmnData cmn,
+            int yStart,
+            int yEnd) {
+            if (yStart > yEnd) {
+                throw new IllegalArgumentException(yStart + " > " + yEnd);
+            }
+            this.cmn = cmn;
+            this.yStart = yStart;
+            this.yEnd = yEnd;
+        }
+        @Override
+        public String toString() {
+            return "[" + this.yStart + "," + this.yEnd + "]";
+        }
+        @Override
+        public void run() {
+            fillBand(this.cmn, this.yStart, this.yEnd);
+        }
+        @Override
+        public boolean worthToSplit() {
+            return isWorthToSplit(
+                this.cmn.cbbox.xSpan(),
+                this.yEnd - this.yStart + 1);
+        }
+        @Override
+        public InterfaceSplittable split() {
+            final int yMid =
+                this.yStart
+                + ((this.yEnd - this.yStart) >> 1);
+            final MySplittable ret = new MySplittable(
+                this.cmn,
+                yMid + 1,
+                this.yEnd);
+            this.yEnd = yMid;
+            return ret;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Using thread local temps, to avoid possibly big arrays creation
+     * for each call, and for each band to be filled in parallel
+     * with its own temps.
+     */
+    private static final ThreadLocal<MyTemps> TL_TEMPS =
+        new ThreadLocal<MyTemps>() {
+        @Override
+        protected MyTemps initialValue() {
+            return new MyTemps();
+        }
+    };
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param parallelizer Parallelizer to use. Must not be null.
+     * @param cbbox Clipped bounding box of the polygon. Must not be empty.
+     * @return True if filling a polygon with the specified clipped
+     *         bounding box is worth to be parallelized with the specified
+     *         parallelizer, false otherwise.
+     */
+    public static boolean isWorthToParallelize(
+        InterfaceParallelizer parallelizer,
+        GRect cbbox) {
+        return (parallelizer.getParallelism() >= 2)
+            && isWorthToSplit(cbbox.xSpan(), cbbox.ySpan());
+    }
+    
+    /**
+     * Fills the polygon, splitting clipped bounding box
+     * into bands of rows filled in parallel if worth it.
+     * 
+     * @param parallelizer Parallelizer to use. Must not be null.
+     * @param clip Clip. Must not be empty.
+     * @param cbbox Clipped bounding box of the polygon. Must not be empty.
+     * @param pointCount Must be >= 3.
+     * @param clippedPointDrawer Drawer for edges pixels.
+     * @param clippedLineDrawer Drawer for interior pixels.
+     */
+    public static void fillPolygon(
+        InterfaceParallelizer parallelizer,
+        GRect clip,
+        GRect cbbox,
+        int[] xArr,
+        int[] yArr,
+        int pointCount,
+        //
+        InterfaceClippedPointDrawer clippedPointDrawer,
+        InterfaceClippedLineDrawer clippedLineDrawer) {
+        
+        final MyCmnData cmn = new MyCmnData(
+            xArr,
+            yArr,
+            pointCount,
+            clip,
+            cbbox,
+            clippedPointDrawer,
+            clippedLineDrawer);
+        final MySplittable splittable = new MySplittable(
+            cmn,
+            cbbox.y(),
+            cbbox.yMax());
+        if (parallelizer.getParallelism() >= 2) {
+            parallelizer.execute(splittable);
+        } else {
+            splittable.run();
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private PolyScanlineFiller() {
+    }
+    
+    private static boolean isWorthToSplit(int xSpan, int ySpan) {
+        return (ySpan >= 2)
+            && (xSpan * (long) ySpan >= AREA_THRESHOLD_FOR_SPLIT);
+    }
+    
+    private static int[] newEdgeByYMinArr(
+        int[] xArr,
+        int[] yArr,
+        int pointCount) {
+        // Sorting by min y first, and then by edge index
+        // (not needed, but makes it deterministic).
+        final long[] keyArr = new long[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            final int ii = ((i == 0) ? pointCount - 1 : i - 1);
+            final int yMin = Math.min(yArr[ii], yArr[i]);
+            keyArr[i] = (((long) yMin) << 32) | i;
+        }
+        Arrays.sort(keyArr);
+        final int[] ret = new int[pointCount];
+        for (int k = 0; k < pointCount; k++) {
+            ret[k] = (int) keyArr[k];
+        }
+        return ret;
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * @param yStart Band first row.
+     * @param yEnd Band last row.
+     */
+    private static void fillBand(
+        MyCmnData cmn,
+        int yStart,
+        int yEnd) {
+        
+        final GRect band = GRect.valueOf(
+            cmn.cbbox.x(),
+            yStart,
+            cmn.cbbox.xSpan(),
+            yEnd - yStart + 1);
+        
+        final MyTemps temps = TL_TEMPS.get();
+        final MyClippedPointDrawerWithFlag clippedPointDrawerWithFlag =
+            temps.clippedPointDrawerWithFlag;
+        final DefaultClippedLineDrawer clippedLineDrawerWithFlag =
+            temps.clippedLineDrawer;
+        clippedPointDrawerWithFlag.reset(
+            temps,
+            cmn.clippedPointDrawer,
+            band);
+        clippedLineDrawerWithFlag.configure(
+            clippedPointDrawerWithFlag);
+        
+        boolean completedNormally = false;
+        try {
+            fillBand_flagsReset(
+                cmn,
+                band,
+                temps);
+            completedNormally = true;
+        } finally {
+            if (!completedNormally) {
+                // Flags might not have been cleared.
+                Arrays.fill(
+                    clippedPointDrawerWithFlag.flagByIndex,
+                    0,
+                    band.area(),
+                    (byte) 0);
+            }
+        }
+    }
+    
+    private static void fillBand_flagsReset(
+        MyCmnData cmn,
+        GRect band,
+        MyTemps temps) {
+        
+        final int[] xArr = cmn.xArr;
+        final int[] yArr = cmn.yArr;
+        final int pointCount = cmn.pointCount;
+        final int[] edgeByYMinArr = cmn.edgeByYMinArr;
+        final int yStart = band.y();
+        final int yEnd = band.yMax();
+        
+        final MyClippedPointDrawerWithFlag clippedPointDrawerWithFlag =
+            temps.clippedPointDrawerWithFlag;
+        final DefaultClippedLineDrawer clippedLineDrawerWithFlag =
+            temps.clippedLineDrawer;
+        
+        /*
+         * Drawing edges overlapping the band,
+         * and while doing it setting flags for edges pixels.
+         * Using the whole clip, and not the band, for lines clipping,
+         * since pixels of clipped lines can depend on the clip.
+         */
+        
+        for (int k = 0; k < pointCount; k++) {
+            final int i = edgeByYMinArr[k];
+            final int ii = ((i == 0) ? pointCount - 1 : i - 1);
+            if (Math.min(yArr[ii], yArr[i]) > yEnd) {
+                // This edge and next ones are below the band.
+                break;
+            }
+            if (Math.max(yArr[ii], yArr[i]) < yStart) {
+                continue;
+            }
+            DefaultLineDrawer.drawLine(
+                cmn.clip,
+                xArr[ii], yArr[ii], xArr[i], yArr[i],
+                clippedLineDrawerWithFlag);
+        }
+        
+        /*
+         * Filling rows, using an active edge list.
+         */
+        
+        final byte[] flagByIndex = clippedPointDrawerWithFlag.flagByIndex;
+        final int[] xMinArr = clippedPointDrawerWithFlag.xMinArr;
+        final int[] xMaxArr = clippedPointDrawerWithFlag.xMaxArr;
+        
+        int[] activeEdgeArr = temps.tmpActiveEdgeArr;
+        int activeEdgeCount = 0;
+        int nextK = 0;
+        
+        for (int y = yStart; y <= yEnd; y++) {
+            // Adding edges starting on or above current row.
+            while (nextK < pointCount) {
+                final int i = edgeByYMinArr[nextK];
+                final int ii = ((i == 0) ? pointCount - 1 : i - 1);
+                if (Math.min(yArr[ii], yArr[i]) > y) {
+                    break;
+                }
+                nextK++;
+                if (yArr[ii] == yArr[i]) {
+                    // Horizontal edge: never a hit.
+                    continue;
+                }
+                if (activeEdgeCount == activeEdgeArr.length) {
+                    activeEdgeArr = Arrays.copyOf(
+                        activeEdgeArr,
+                        Math.max(16, activeEdgeCount << 1));
+                    temps.tmpActiveEdgeArr = activeEdgeArr;
+                }
+                activeEdgeArr[activeEdgeCount++] = i;
+            }
+            
+            // Removing edges ending above or on current row,
+            // and computing thresholds for remaining ones.
+            int[] thresholdArr = temps.tmpThresholdArr;
+            if (thresholdArr.length < activeEdgeCount) {
+                thresholdArr = new int[activeEdgeArr.length];
+                temps.tmpThresholdArr = thresholdArr;
+            }
+            int thresholdCount = 0;
+            for (int a = 0; a < activeEdgeCount; a++) {
+                final int i = activeEdgeArr[a];
+                final int ii = ((i == 0) ? pointCount - 1 : i - 1);
+                if (Math.max(yArr[ii], yArr[i]) <= y) {
+                    continue;
+                }
+                activeEdgeArr[thresholdCount] = i;
+                thresholdArr[thresholdCount++] = computeHitThreshold(
+                    xArr[ii], yArr[ii], xArr[i], yArr[i],
+                    y);
+            }
+            activeEdgeCount = thresholdCount;
+            Arrays.sort(thresholdArr, 0, thresholdCount);
+            
+            /*
+             * Pixels left of k-th threshold (in [0,count[)
+             * are hit (count - k) times.
+             */
+            
+            final int j = y - yStart;
+            for (int k = 0; k < thresholdCount; k++) {
+                if (((thresholdCount - k) & 1) == 0) {
+                    continue;
+                }
+                // Hit an odd number of times: in.
+                final int spanXMin = ((k == 0) ? band.x() : Math.max(band.x(), thresholdArr[k-1]));
+                final int spanXMax = Math.min(band.xMax(), thresholdArr[k] - 1);
+                if (spanXMin <= spanXMax) {
+                    fillSpanExceptEdges(
+                        cmn.clippedLineDrawer,
+                        band,
+                        flagByIndex,
+                        xMinArr[j],
+                        xMaxArr[j],
+                        spanXMin,
+                        spanXMax,
+                        y);
+                }
+            }
+            
+            // Clearing flags for next use.
+            if (xMinArr[j] <= xMaxArr[j]) {
+                final int rowOffset = j * band.xSpan() - band.x();
+                Arrays.fill(
+                    flagByIndex,
+                    rowOffset + xMinArr[j],
+                    rowOffset + xMaxArr[j] + 1,
+                    (byte) 0);
+            }
+        }
+    }
+    
+    /**
+     * @return The smallest x such as (x,y) is not a hit for the specified
+     *         edge according to GprimUtils.isInPolygon(...).
+     */
+    private static int computeHitThreshold(
+        int lastx, int lasty, int curx, int cury,
+        int y) {
+        final int minX = Math.min(lastx, curx);
+        final int maxX = Math.max(lastx, curx);
+        if (minX == maxX) {
+            return minX;
+        }
+        /*
+         * Estimating with the crossing X, and then fixing it
+         * using the exact hit test, which is monotonic in x.
+         */
+        final double x0;
+        final double y0;
+        if (cury < lasty) {
+            x0 = curx;
+            y0 = cury;
+        } else {
+            x0 = lastx;
+            y0 = lasty;
+        }
+        final double crossX = x0 + (y - y0) * (lastx - curx) / (double) (lasty - cury);
+        int ret = (int) Math.max(minX, Math.min(maxX, Math.ceil(crossX)));
+        while ((ret > minX)
+            && (!isHit(lastx, lasty, curx, cury, ret - 1, y))) {
+            ret--;
+        }
+        while ((ret < maxX)
+            && isHit(lastx, lasty, curx, cury, ret, y)) {
+            ret++;
+        }
+        return ret;
+    }
+    
+    /**
+     * Same test as in GprimUtils.isInPolygon(...), for an edge
+     * that is not horizontal and is active on the specified row,
+     * and a point which x is in [min(lastx,curx),max(lastx,curx)[.
+     */
+    private static boolean isHit(
+        int lastx, int lasty, int curx, int cury,
+        int x, int y) {
+        final double test1;
+        final double test2;
+        if (cury < lasty) {
+            test1 = x - curx;
+            test2 = y - cury;
+        } else {
+            test1 = x - lastx;
+            test2 = y - lasty;
+        }
+        final int dx = (lastx - curx);
+        final int dy = (lasty - cury);
+        if (dy < 0) {
+            return (test1 * dy > test2 * dx);
+        } else {
+            return (test1 * dy < test2 * dx);
+        }
+    }
+    
+    private static void fillSpanExceptEdges(
+        InterfaceClippedLineDrawer clippedLineDrawer,
+        GRect band,
+        byte[] flagByIndex,
+        int xMinLit,
+        int xMaxLit,
+        int spanXMin,
+        int spanXMax,
+        int y) {
+        int runXMin = spanXMin;
+        final int xFrom = Math.max(spanXMin, xMinLit);
+        final int xTo = Math.min(spanXMax, xMaxLit);
+        if (xFrom <= xTo) {
+            final int rowOffset = (y - band.y()) * band.xSpan() - band.x();
+            for (int x = xFrom; x <= xTo; x++) {
+                if (flagByIndex[rowOffset + x] != 0) {
+                    if (runXMin < x) {
+                        drawHorizontalLineInClip(clippedLineDrawer, runXMin, x - 1, y);
+                    }
+                    runXMin = x + 1;
+                }
+            }
+        }
+        if (runXMin <= spanXMax) {
+            drawHorizontalLineInClip(clippedLineDrawer, runXMin, spanXMax, y);
+        }
+    }
+    
+    private static void drawHorizontalLineInClip(
+        InterfaceClippedLineDrawer clippedLineDrawer,
+        int x1, int x2, int y) {
+        clippedLineDrawer.drawHorizontalLineInClip(
+            x1, x2,
+            y,
+            1, GprimUtils.PLAIN_PATTERN, 0);
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * @return Reusable flagByIndex array, filled with zeros.
+     */
+    private static byte[] getFlagByIndex(
+        MyTemps temps,
+        int minCapacity) {
+        if (minCapacity > MAX_FLAG_ARR_REUSE_CAPACITY) {
+            return new byte[minCapacity];
+        }
+        byte[] ret = temps.tmpFlagByIndex;
+        if (ret.length < minCapacity) {
+            int newCap = Math.max(minCapacity, (ret.length << 1));
+            newCap = Math.min(newCap, MAX_FLAG_ARR_REUSE_CAPACITY);
+            ret = new byte[newCap];
+            temps.tmpFlagByIndex = ret;
+        }
+        return ret;
+    }
+    
+    /**
+     * @param which 0 for X min array, 1 for X max array.
+     * @return Reusable int array.
+     */
+    private static int[] getIntArr(
+        MyTemps temps,
+        int minCapacity,
+        int which) {
+        if (minCapacity > MAX_INT_ARR_REUSE_CAPACITY) {
+            return new int[minCapacity];
+        }
+        int[] ret = ((which == 0) ? temps.tmpXMinArr : temps.tmpXMaxArr);
+        if (ret.length < minCapacity) {
+            int newCap = Math.max(minCapacity, (ret.length << 1));
+            newCap = Math.min(newCap, MAX_INT_ARR_REUSE_CAPACITY);
+            ret = new int[newCap];
+            if (which == 0) {
+                temps.tmpXMinArr = ret;
+            } else {
+                temps.tmpXMaxArr = ret;
+            }
+        }
+        return ret;
+    }
+}
@@ -193,12 +193,26 @@ public class ThrowingBwdGraphics implements InterfaceBwdGraphics {
     public void clearRect(GRect rect) {
         throw new UnsupportedOperationException();
     }
+    
+    @Override
+    public void copyArea(GRect rect, int dx, int dy) {
+        throw new UnsupportedOperationException();
+    }
 
     @Override
     public void drawPoint(int x, int y) {
         throw new UnsupportedOperationException();
     }
     
+    @Override
+    public void drawPixels(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect) {
+        throw new UnsupportedOperationException();
+    }
+    
     @Override
     public void drawLine(int x1, int y1, int x2, int y2) {
         throw new UnsupportedOperationException();
@@ -369,4 +383,13 @@ public class ThrowingBwdGraphics implements InterfaceBwdGraphics {
     public int getArgb32At(int x, int y) {
         throw new UnsupportedOperationException();
     }
+    
+    @Override
+    public void getArgb32s(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        throw new UnsupportedOperationException();
+    }
 }
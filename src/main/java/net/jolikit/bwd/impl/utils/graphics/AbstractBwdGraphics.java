@@ -18,6 +18,7 @@ package net.jolikit.bwd.impl.utils.graphics;
 import java.util.ArrayList;
 
 import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.graphics.Argb32;
 import net.jolikit.bwd.api.graphics.Argb3264;
 import net.jolikit.bwd.api.graphics.Argb64;
 import net.jolikit.bwd.api.graphics.BwdColor;
@@ -30,6 +31,7 @@ import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
 import net.jolikit.bwd.api.graphics.InterfaceBwdWritableImage;
 import net.jolikit.bwd.impl.utils.BaseBwdBindingConfig;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.basics.BindingBasicsUtils;
 import net.jolikit.bwd.impl.utils.gprim.GprimUtils;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.LangUtils;
@@ -47,6 +49,17 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     
     private static final boolean DEBUG = false;
     
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Shared by a root graphics and all its descendants.
+     */
+    private static class MyContentVersion {
+        long value;
+    }
+    
     //--------------------------------------------------------------------------
     // FIELDS
     //--------------------------------------------------------------------------
@@ -74,6 +87,18 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
      * 
      */
     
+    /**
+     * Null if content version is not tracked.
+     * Replaced with parent's one for child graphics.
+     * 
+     * Not volatile: drawing into a graphics and reading what has been drawn
+     * (such as drawing a writable image) already requires a happens-before
+     * relationship, established by user.
+     * Concurrent increments from parallel painting might be lost,
+     * but each of them still changes the value.
+     */
+    private MyContentVersion contentVersion = null;
+    
     /**
      * Coordinates, in base frame of reference,
      * of root box's top-left pixel.
@@ -263,6 +288,44 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
         return this.newChildGraphics(childBox, childBox);
     }
 
+    /**
+     * This method is final to make sure child graphics share
+     * the content version of their parent, user must override
+     * newChildGraphicsImpl(...) instead.
+     */
+    @Override
+    public final InterfaceBwdGraphics newChildGraphics(
+            GRect childBox,
+            GRect childMaxInitialClip) {
+        final AbstractBwdGraphics child = this.newChildGraphicsImpl(
+                childBox,
+                childMaxInitialClip);
+        child.contentVersion = this.contentVersion;
+        return child;
+    }
+    
+    /**
+     * Content version, if tracked (cf. trackContentVersion()),
+     * is shared by a root graphics and all its descendants,
+     * and is incremented on each call to a method of any of them that might
+     * modify pixels (drawing, filling, clearing, flipping, copyArea(...)
+     * and drawPixels(...)), so it changes whenever the content might have
+     * been modified, but not on state changes or pixels reads.
+     * 
+     * Useful to invalidate computations cached from the content
+     * of writable images, such as mipmaps.
+     * 
+     * @return The current content version (>= 0),
+     *         or -1 if content version is not tracked.
+     */
+    public final long getContentVersion() {
+        final MyContentVersion contentVersion = this.contentVersion;
+        if (contentVersion == null) {
+            return -1L;
+        }
+        return contentVersion.value;
+    }
+
     /**
      * This method is final to make sure user will override initImpl() instead,
      * and that single-call ensuring still works.
@@ -674,22 +737,84 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
         this.clearRect(rect.x(), rect.y(), rect.xSpan(), rect.ySpan());
     }
     
+    @Override
+    public void copyArea(GRect rect, int dx, int dy) {
+        this.checkUsableForContentChange();
+        
+        final GRect clip = this.clipInUser;
+        
+        // Implicit null check.
+        final GRect srcRectInClip = rect.intersected(clip);
+        if (srcRectInClip.isEmpty()
+                || ((dx == 0) && (dy == 0))) {
+            return;
+        }
+        
+        /*
+         * Restricting to pixels which destination is in clip.
+         * Using longs not to overflow with huge translations.
+         */
+        
+        final long xMin = Math.max(srcRectInClip.x(), clip.x() - (long) dx);
+        final long yMin = Math.max(srcRectInClip.y(), clip.y() - (long) dy);
+        final long xMax = Math.min(srcRectInClip.xMaxLong(), clip.xMaxLong() - dx);
+        final long yMax = Math.min(srcRectInClip.yMaxLong(), clip.yMaxLong() - dy);
+        if ((xMin > xMax) || (yMin > yMax)) {
+            return;
+        }
+        
+        final GRect srcRect = GRect.valueOf(
+                (int) xMin,
+                (int) yMin,
+                (int) (xMax - xMin + 1),
+                (int) (yMax - yMin + 1));
+        
+        this.copyAreaInClipImpl(srcRect, dx, dy);
+    }
+    
     /*
      * 
      */
     
     @Override
     public void drawPoint(int x, int y) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().drawPoint(
                 this.clipInUser,
                 x, y);
     }
+    
+    @Override
+    public void drawPixels(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect) {
+        this.checkUsableForContentChange();
+        
+        BindingBasicsUtils.checkPixelsArgs(
+                argb32Arr,
+                offset,
+                scanlineStride,
+                rect);
+        
+        final GRect rectInClip = rect.intersected(this.clipInUser);
+        if (rectInClip.isEmpty()) {
+            return;
+        }
+        
+        this.drawPixelsInClipImpl(
+                argb32Arr,
+                offset,
+                scanlineStride,
+                rect,
+                rectInClip);
+    }
 
     @Override
     public void drawLine(int x1, int y1, int x2, int y2) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().drawLine(
                 this.clipInUser,
@@ -700,7 +825,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     public int drawLineStipple(
             int x1, int y1, int x2, int y2,
             int factor, short pattern, int pixelNum) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         GprimUtils.checkFactorAndPixelNum(factor, pixelNum);
         
@@ -722,7 +847,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     
     @Override
     public void drawRect(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().drawRect(
                 this.clipInUser,
@@ -736,7 +861,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
 
     @Override
     public void fillRect(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().fillRect(
                 this.clipInUser,
@@ -755,7 +880,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     
     @Override
     public void drawOval(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().drawOval(
                 this.clipInUser,
@@ -769,7 +894,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     
     @Override
     public void fillOval(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.getPrimitives().fillOval(
                 this.clipInUser,
@@ -790,7 +915,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     public void drawArc(
             int x, int y, int xSpan, int ySpan,
             double startDeg, double spanDeg) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         GprimUtils.checkArcAngles(startDeg, spanDeg);
 
         this.getPrimitives().drawArc(
@@ -810,7 +935,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     public void fillArc(
             int x, int y, int xSpan, int ySpan,
             double startDeg, double spanDeg) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         GprimUtils.checkArcAngles(startDeg, spanDeg);
 
         this.getPrimitives().fillArc(
@@ -836,7 +961,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
             int[] xArr,
             int[] yArr,
             int pointCount) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
 
         this.getPrimitives().drawPolyline(
@@ -851,7 +976,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
             int[] xArr,
             int[] yArr,
             int pointCount) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
 
         this.getPrimitives().drawPolygon(
@@ -866,7 +991,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
             int[] xArr,
             int[] yArr,
             int pointCount) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
 
         this.getPrimitives().fillPolygon(
@@ -892,7 +1017,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     public void drawImage(
             int x, int y,
             InterfaceBwdImage image) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.checkIsNotThisGraphicsImage(image);
         
@@ -920,7 +1045,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     public void drawImage(
             int x, int y, int xSpan, int ySpan,
             InterfaceBwdImage image) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.checkIsNotThisGraphicsImage(image);
         
@@ -963,7 +1088,7 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
             int x, int y, int xSpan, int ySpan,
             InterfaceBwdImage image,
             int sx, int sy, int sxSpan, int sySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         this.checkIsNotThisGraphicsImage(image);
         
@@ -1070,6 +1195,36 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
         }
         return 0;
     }
+    
+    @Override
+    public void getArgb32s(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        this.checkUsable();
+        
+        BindingBasicsUtils.checkPixelsArgs(
+                argb32Arr,
+                offset,
+                scanlineStride,
+                rect);
+        if (rect.isEmpty()) {
+            return;
+        }
+        
+        final GRect initialClip = this.initialClipInUser;
+        if (!initialClip.contains(rect)) {
+            throw new IllegalArgumentException(
+                    "rect " + rect + " out of initial clip " + initialClip);
+        }
+        
+        this.getArgb32sImpl(
+                rect,
+                argb32Arr,
+                offset,
+                scanlineStride);
+    }
 
     //--------------------------------------------------------------------------
     // PROTECTED METHODS
@@ -1133,6 +1288,21 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
      * 
      */
     
+    /**
+     * To be called in constructor of graphics of writable images,
+     * for their content version to be tracked.
+     * Not tracked by default, to avoid the overhead (and contention
+     * when painting in parallel) for graphics that are never read from.
+     * 
+     * Child graphics share the content version of their parent
+     * whether or not this method has been called for them.
+     */
+    protected final void trackContentVersion() {
+        if (this.contentVersion == null) {
+            this.contentVersion = new MyContentVersion();
+        }
+    }
+    
     /**
      * Checks that init() has been called, and finish() not yet.
      */
@@ -1141,6 +1311,18 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
             this.throwIaeIfNotUsable();
         }
     }
+    
+    /**
+     * To be called instead of checkUsable() by methods that might
+     * modify pixels: also increments content version if it is tracked.
+     */
+    protected final void checkUsableForContentChange() {
+        this.checkUsable();
+        final MyContentVersion contentVersion = this.contentVersion;
+        if (contentVersion != null) {
+            contentVersion.value++;
+        }
+    }
 
     /**
      * Checks that finish() has not been called.
@@ -1202,6 +1384,16 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
     protected void finishWithoutInitImpl() {
     }
     
+    /**
+     * @param childBox Box of the child graphics, in base coordinates.
+     * @param childMaxInitialClip Max initial clip of the child graphics,
+     *        in base coordinates.
+     * @return A new child graphics.
+     */
+    protected abstract AbstractBwdGraphics newChildGraphicsImpl(
+            GRect childBox,
+            GRect childMaxInitialClip);
+    
     /*
      * Backing state setting methods.
      * 
@@ -1418,6 +1610,129 @@ public abstract class AbstractBwdGraphics implements InterfaceBwdGraphics {
      */
     protected abstract AbstractBwdPrimitives getPrimitives();
 
+    /*
+     * Area copy.
+     */
+    
+    /**
+     * This default implementation reads the pixels with getArgb32sImpl(...),
+     * and then writes them with clearRect(...), with one call for each run
+     * of identical colors in a row, and then restores current color.
+     * 
+     * Can be overridden to copy the pixels in bulk.
+     * 
+     * @param srcRect Rectangle to copy, in user coordinates, not empty,
+     *        and such as both it and its translation by (dx,dy)
+     *        are in clip.
+     */
+    protected void copyAreaInClipImpl(GRect srcRect, int dx, int dy) {
+        final int xSpan = srcRect.xSpan();
+        // Reading all pixels first, for overlapping to be properly handled.
+        final int[] argb32Arr = new int[srcRect.area()];
+        this.getArgb32sImpl(
+                srcRect,
+                argb32Arr,
+                0,
+                xSpan);
+        
+        final BwdColor oldColor = this.getColor();
+        try {
+            final int dstX = srcRect.x() + dx;
+            for (int j = 0; j < srcRect.ySpan(); j++) {
+                final int dstY = srcRect.y() + dy + j;
+                final int rowOffset = j * xSpan;
+                int i = 0;
+                while (i < xSpan) {
+                    final int argb32 = argb32Arr[rowOffset + i];
+                    int end = i + 1;
+                    while ((end < xSpan)
+                            && (argb32Arr[rowOffset + end] == argb32)) {
+                        end++;
+                    }
+                    this.setArgb32(argb32);
+                    this.clearRect(dstX + i, dstY, end - i, 1);
+                    i = end;
+                }
+            }
+        } finally {
+            this.setColor(oldColor);
+        }
+    }
+
+    /*
+     * Pixels.
+     */
+    
+    /**
+     * This default implementation calls drawPoint(int,int) for each pixel
+     * which color is not fully transparent, after setting its color as
+     * current color, and then restores current color.
+     * 
+     * Can be overridden to draw the pixels in bulk.
+     * 
+     * @param argb32Arr Colors of the pixels of rect.
+     * @param rect Rectangle of the pixels, in user coordinates.
+     * @param rectInClip Intersection of rect and clip, not empty.
+     */
+    protected void drawPixelsInClipImpl(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect,
+            GRect rectInClip) {
+        final BwdColor oldColor = this.getColor();
+        final int oldArgb32 = this.argb32;
+        int currentArgb32 = oldArgb32;
+        try {
+            final int rowOffset0 =
+                    offset
+                    + (rectInClip.y() - rect.y()) * scanlineStride
+                    + (rectInClip.x() - rect.x());
+            for (int j = 0; j < rectInClip.ySpan(); j++) {
+                final int y = rectInClip.y() + j;
+                final int rowOffset = rowOffset0 + j * scanlineStride;
+                for (int i = 0; i < rectInClip.xSpan(); i++) {
+                    final int argb32 = argb32Arr[rowOffset + i];
+                    if (Argb32.getAlpha8(argb32) == 0) {
+                        continue;
+                    }
+                    if (argb32 != currentArgb32) {
+                        this.setArgb32(argb32);
+                        currentArgb32 = argb32;
+                    }
+                    this.drawPoint(rectInClip.x() + i, y);
+                }
+            }
+        } finally {
+            if (currentArgb32 != oldArgb32) {
+                this.setColor(oldColor);
+            }
+        }
+    }
+    
+    /**
+     * This default implementation calls getArgb32At(int,int)
+     * for each pixel.
+     * 
+     * Can be overridden to read the pixels in bulk.
+     * 
+     * @param rect Rectangle to read, in user coordinates,
+     *        not empty and contained in initial clip.
+     */
+    protected void getArgb32sImpl(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        for (int j = 0; j < rect.ySpan(); j++) {
+            final int y = rect.y() + j;
+            final int rowOffset = offset + j * scanlineStride;
+            for (int i = 0; i < rect.xSpan(); i++) {
+                argb32Arr[rowOffset + i] = this.getArgb32At(rect.x() + i, y);
+            }
+        }
+    }
+
     /*
      * Images.
      */
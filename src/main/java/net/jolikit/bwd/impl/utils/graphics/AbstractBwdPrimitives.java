@@ -36,6 +36,8 @@ import net.jolikit.bwd.impl.utils.gprim.MidPointArcDrawer;
 import net.jolikit.bwd.impl.utils.gprim.MidPointOvalDrawer;
 import net.jolikit.bwd.impl.utils.gprim.PolyArcDrawer;
 import net.jolikit.bwd.impl.utils.gprim.PolyOvalDrawer;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.SequentialParallelizer;
 
 /**
  * Optional abstract class, that makes it easier to implement graphics,
@@ -559,6 +561,8 @@ InterfacePolyDrawer {
         final InterfaceRectDrawer rectDrawer = this;
         
         DefaultPolyDrawer.fillPolygon(
+                this.getFillPolygonParallelizer(),
+                //
                 clip,
                 xArr,
                 yArr,
@@ -573,4 +577,21 @@ InterfacePolyDrawer {
                 lineDrawer,
                 rectDrawer);
     }
+
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * This default implementation returns a sequential parallelizer.
+     * 
+     * Can be overridden to fill large polygons in parallel,
+     * in which case clipped drawing methods of this instance
+     * must support concurrent calls for distinct rows.
+     * 
+     * @return Parallelizer to use for filling polygons.
+     */
+    protected InterfaceParallelizer getFillPolygonParallelizer() {
+        return SequentialParallelizer.getDefault();
+    }
 }
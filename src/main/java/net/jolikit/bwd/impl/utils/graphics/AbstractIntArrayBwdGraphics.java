@@ -17,19 +17,30 @@ package net.jolikit.bwd.impl.utils.graphics;
 
 import java.util.Arrays;
 
+import net.jolikit.bwd.api.fonts.BwdFontId;
 import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontHome;
 import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
 import net.jolikit.bwd.api.graphics.Argb32;
 import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.BwdScalingType;
 import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.GRotation;
 import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
 import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.api.graphics.InterfaceBwdWritableImage;
+import net.jolikit.bwd.impl.utils.AbstractBwdBinding;
 import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
 import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
+import net.jolikit.bwd.impl.utils.fonts.AbstractBwdFontHome;
+import net.jolikit.bwd.impl.utils.fonts.BindingTextUtils;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMaskCache;
 import net.jolikit.bwd.impl.utils.gprim.GprimUtils;
 import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
 
 /**
  * Abstract class to make it easier to implement BWD graphics
@@ -91,6 +102,14 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
                     mustUseOpaqueColor,
                     mustSetColor);
         }
+        /**
+         * Clipped drawing methods only write pixels of the drawn rows,
+         * so they can be called concurrently for distinct rows.
+         */
+        @Override
+        protected InterfaceParallelizer getFillPolygonParallelizer() {
+            return getBinding().getInternalParallelizer();
+        }
     }
     
     /*
@@ -201,6 +220,19 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
      */
     private int arrColorOpaque;
     
+    /**
+     * Array colors to use for drawing glyph masks, by coverage,
+     * lazily computed, to avoid per-pixel colors conversions.
+     */
+    private final int[] textArrColorByAlpha8 = new int[256];
+    
+    private final boolean[] isTextArrColorComputedByAlpha8 = new boolean[256];
+    
+    /**
+     * True if color changed since textArrColorByAlpha8 was last cleared.
+     */
+    private boolean isTextArrColorByAlpha8Dirty = true;
+    
     /*
      * 
      */
@@ -212,6 +244,21 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
      */
     
     private final MyImgSrcPixels tmpImgSrcPixels = new MyImgSrcPixels();
+    
+    /**
+     * For glyph masks rows blending.
+     */
+    private int[] tmpTextRowArr = LangUtils.EMPTY_INT_ARR;
+    
+    /**
+     * For glyph masks of a text, computed before drawing.
+     */
+    private GlyphMask[] tmpGlyphMaskArr = new GlyphMask[0];
+    
+    /**
+     * For bulk pixels drawing.
+     */
+    private int[] tmpPixelsRowArr = LangUtils.EMPTY_INT_ARR;
 
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
@@ -237,6 +284,10 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
                 initialClip);
         
         this.isImageGraphics = isImageGraphics;
+        if (isImageGraphics) {
+            // For eventual mipmaps of the image to be invalidated on write.
+            this.trackContentVersion();
+        }
         
         this.pixelArr = LangUtils.requireNonNull(pixelArr);
         this.pixelArrScanlineStride = pixelArrScanlineStride;
@@ -265,7 +316,7 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     
     @Override
     public void clearRect(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         final GRect clip = this.getClipInUser();
         
@@ -293,7 +344,7 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     public void drawText(
             int x, int y,
             String text) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         LangUtils.requireNonNull(text);
         
         final InterfaceBwdFont font = this.getFont();
@@ -303,7 +354,6 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         
         final InterfaceBwdFontMetrics metrics = font.metrics();
         
-        final int theoTextWidth = metrics.computeTextWidth(text);
         final int theoTextHeight = metrics.height();
         
         if (theoTextHeight <= 0) {
@@ -316,6 +366,18 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
             return;
         }
         
+        final GlyphMaskCache glyphMaskCache = this.getGlyphMaskCacheElseNull();
+        if ((glyphMaskCache != null)
+                && this.drawText_glyphMasks(
+                        x, y,
+                        text,
+                        font,
+                        glyphMaskCache)) {
+            return;
+        }
+        
+        final int theoTextWidth = metrics.computeTextWidth(text);
+        
         final GRect maxTextRectInText = this.computeMaxTextRectInText(
                 theoTextWidth,
                 theoTextHeight);
@@ -412,7 +474,7 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
 
     @Override
     public void flipColors(int x, int y, int xSpan, int ySpan) {
-        this.checkUsable();
+        this.checkUsableForContentChange();
         
         if ((xSpan <= 0) || (ySpan <= 0)) {
             return;
@@ -503,6 +565,7 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     protected void setBackingArgb(int argb32, BwdColor colorElseNull) {
         this.arrColor = this.getArrayColor32FromArgb32(argb32);
         this.arrColorOpaque = this.getArrayColor32FromArgb32(Argb32.toOpaque(argb32));
+        this.isTextArrColorByAlpha8Dirty = true;
     }
     
     /*
@@ -514,20 +577,142 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         return this.primitives;
     }
     
+    /*
+     * Area copy.
+     */
+    
+    /**
+     * Copies rows of the array of pixels with System.arraycopy(...),
+     * which handles overlapping within a row, and iterates on rows
+     * in the order that doesn't overwrite source rows before their copy.
+     */
+    @Override
+    protected void copyAreaInClipImpl(GRect srcRect, int dx, int dy) {
+        final GTransform transformArrToUser = this.transformArrToUser;
+        // Translations in user are translations in array,
+        // so rectangles in array have the same spans.
+        final GRect srcRectInArr = transformArrToUser.rectIn1(srcRect);
+        final GRect dstRectInArr = transformArrToUser.rectIn1(
+                srcRect.withPosDeltas(dx, dy));
+        
+        final int[] pixelArr = this.pixelArr;
+        final int xSpanInArr = srcRectInArr.xSpan();
+        final int ySpanInArr = srcRectInArr.ySpan();
+        final boolean mustGoUp = (dstRectInArr.y() > srcRectInArr.y());
+        for (int k = 0; k < ySpanInArr; k++) {
+            final int j = (mustGoUp ? ySpanInArr - 1 - k : k);
+            System.arraycopy(
+                    pixelArr,
+                    this.toPixelArrIndexFromArr(
+                            srcRectInArr.x(),
+                            srcRectInArr.y() + j),
+                    pixelArr,
+                    this.toPixelArrIndexFromArr(
+                            dstRectInArr.x(),
+                            dstRectInArr.y() + j),
+                    xSpanInArr);
+        }
+    }
+    
+    /*
+     * Pixels.
+     */
+    
+    /**
+     * Converts colors row by row, and copies rows of opaque pixels
+     * into the array of pixels when they are contiguous in it
+     * (blending being then equivalent to copying), else blends them.
+     */
+    @Override
+    protected void drawPixelsInClipImpl(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect,
+            GRect rectInClip) {
+        final int xSpan = rectInClip.xSpan();
+        int[] rowArr = this.tmpPixelsRowArr;
+        if (rowArr.length < xSpan) {
+            rowArr = new int[xSpan];
+            this.tmpPixelsRowArr = rowArr;
+        }
+        
+        final GTransform transformArrToUser = this.transformArrToUser;
+        final GRotation rotation = transformArrToUser.rotation();
+        final boolean isRowContiguousInArr =
+                (rotation.cos() == 1) && (rotation.sin() == 0);
+        
+        final int rowOffset0 =
+                offset
+                + (rectInClip.y() - rect.y()) * scanlineStride
+                + (rectInClip.x() - rect.x());
+        for (int j = 0; j < rectInClip.ySpan(); j++) {
+            final int y = rectInClip.y() + j;
+            final int rowOffset = rowOffset0 + j * scanlineStride;
+            boolean isRowOpaque = true;
+            for (int i = 0; i < xSpan; i++) {
+                final int argb32 = argb32Arr[rowOffset + i];
+                isRowOpaque &= Argb32.isOpaque(argb32);
+                rowArr[i] = this.getArrayColor32FromArgb32(argb32);
+            }
+            if (isRowOpaque && isRowContiguousInArr) {
+                final int xInArr = transformArrToUser.xIn1(rectInClip.x(), y);
+                final int yInArr = transformArrToUser.yIn1(rectInClip.x(), y);
+                System.arraycopy(
+                        rowArr,
+                        0,
+                        this.pixelArr,
+                        this.toPixelArrIndexFromArr(xInArr, yInArr),
+                        xSpan);
+            } else {
+                this.drawRowImpl(
+                        rowArr,
+                        0,
+                        rectInClip.x(),
+                        y,
+                        xSpan);
+            }
+        }
+    }
+    
+    /**
+     * Reads the array of pixels directly,
+     * with a constant index step along user rows.
+     */
+    @Override
+    protected void getArgb32sImpl(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        final GTransform transformArrToUser = this.transformArrToUser;
+        final GRotation rotation = transformArrToUser.rotation();
+        final int indexStep =
+                rotation.sin() * this.pixelArrScanlineStride
+                + rotation.cos();
+        final int[] pixelArr = this.pixelArr;
+        for (int j = 0; j < rect.ySpan(); j++) {
+            final int y = rect.y() + j;
+            final int xInArr = transformArrToUser.xIn1(rect.x(), y);
+            final int yInArr = transformArrToUser.yIn1(rect.x(), y);
+            int index = this.toPixelArrIndexFromArr(xInArr, yInArr);
+            final int rowOffset = offset + j * scanlineStride;
+            for (int i = 0; i < rect.xSpan(); i++) {
+                argb32Arr[rowOffset + i] =
+                        this.getArgb32FromArrayColor32(pixelArr[index]);
+                index += indexStep;
+            }
+        }
+    }
+    
     /*
      * Text.
      */
     
     /**
      * Glyphs can leak outside theoretical bounding boxes computed out of
-     * font metrics, on any of their four sides, and possibly a lot when
-     * combining diacritical marks (but we don't add additional overhead
-     * to deal with this pathological case).
-     * In particular, code points like 0x11A8 can have glyphs with
-     * a quite large width, while font metrics pretend they have
-     * a regular width.
-     * For these reasons, we don't trust font metrics much, and consider an enlarged
-     * rectangle to make sure eventually leaking pixels are properly drawn.
+     * font metrics, so we consider an enlarged rectangle
+     * (see BindingTextUtils.computeMaxTextRectInText(...)).
      * 
      * @param theoTextWidth Result of metrics computeTextWidth(...).
      * @param theoTextHeight Font height.
@@ -537,25 +722,61 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     protected GRect computeMaxTextRectInText(
             int theoTextWidth,
             int theoTextHeight) {
-        
-        final InterfaceBwdFont font = this.getFont();
-        // Font heights can be quite far from font size,
-        // so we use the max of both.
-        final int magnitude = Math.max(
-                font.size(),
-                font.metrics().height());
-        
-        final int leftLeakTolerance = magnitude;
-        final int topLeakTolerance = magnitude;
-        final int rightLeakTolerance = 2 * magnitude;
-        final int bottomLeakTolerance = magnitude;
-        
-        final GRect maxTextRect = GRect.valueOf(
-                -leftLeakTolerance,
-                -topLeakTolerance,
-                theoTextWidth + (leftLeakTolerance + rightLeakTolerance),
-                theoTextHeight + (topLeakTolerance + bottomLeakTolerance));
-        return maxTextRect;
+        return BindingTextUtils.computeMaxTextRectInText(
+                this.getFont(),
+                theoTextWidth,
+                theoTextHeight);
+    }
+    
+    /**
+     * @return The glyph masks cache of the font home, if this graphics
+     *         can compute glyph masks and font home has one, else null.
+     */
+    protected final GlyphMaskCache getGlyphMaskCacheElseNull() {
+        if (!this.canComputeGlyphMasks()) {
+            return null;
+        }
+        final InterfaceBwdFontHome fontHome = this.getBinding().getFontHome();
+        if (!(fontHome instanceof AbstractBwdFontHome<?,?>)) {
+            return null;
+        }
+        return ((AbstractBwdFontHome<?,?>) fontHome).getGlyphMaskCache();
+    }
+    
+    /**
+     * If this method returns true, and font home has a glyph masks cache,
+     * drawText(...) composes text from cached glyph masks
+     * computed with computeGlyphMask(...), instead of using
+     * getClippedTextDataAccessor(...) and related methods
+     * (which are still used for texts which glyph masks
+     * could not all be computed).
+     * 
+     * This default implementation returns false.
+     * 
+     * @return True if this graphics implements computeGlyphMask(...).
+     */
+    protected boolean canComputeGlyphMasks() {
+        return false;
+    }
+    
+    /**
+     * Only called if canComputeGlyphMasks() returns true.
+     * 
+     * Must not depend on current color, since the result is cached
+     * and used for any color.
+     * 
+     * This default implementation returns null.
+     * 
+     * @param font Font to use. Not disposed.
+     * @param codePoint Code point which glyph must be computed.
+     * @return Mask of the glyph for the specified code point,
+     *         with an advance consistent with font metrics,
+     *         or null if it can't be computed, in which case
+     *         the text is drawn with getClippedTextDataAccessor(...)
+     *         and related methods.
+     */
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        return null;
     }
 
     /*
@@ -582,25 +803,118 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         
         final GRect srcRectInImg = GRect.valueOf(sx, sy, sxSpan, sySpan);
         
-        final Object imageDataAccessor = this.getImageDataAccessor(image);
-        try {
-            final MyImgSrcPixels srcPixels = this.tmpImgSrcPixels;
-            srcPixels.configure(image, imageDataAccessor);
-            
-            ScaledRectDrawing.drawScaledRect(
-                this.getBinding().getInternalParallelizer(),
-                this.getImageScalingType(),
-                this.getArrayColorHelper(),
-                //
-                srcPixels,
-                srcRectInImg,
-                //
-                dstRectInUser,
-                clipInUser,
-                this.rowDrawer);
-        } finally {
-            this.disposeImageDataAccessor(imageDataAccessor);
+        final BwdScalingType scalingType = this.getImageScalingType();
+        
+        MipmapCache mipmapCache = this.getMipmapCacheElseNull();
+        ScaledImageCache scaledImageCache = this.getScaledImageCacheElseNull();
+        if ((scaledImageCache != null)
+                && ((scalingType == BwdScalingType.NEAREST)
+                        || ((sxSpan == xSpan) && (sySpan == ySpan))
+                        || (!scaledImageCache.isCacheable(xSpan, ySpan)))) {
+            // Not worth it, or too large.
+            scaledImageCache = null;
+        }
+        long contentVersion = 0L;
+        if (((mipmapCache != null)
+                || (scaledImageCache != null))
+                && (image instanceof InterfaceBwdWritableImage)) {
+            final InterfaceBwdGraphics imageG =
+                    ((InterfaceBwdWritableImage) image).getGraphics();
+            if (imageG instanceof AbstractBwdGraphics) {
+                contentVersion = ((AbstractBwdGraphics) imageG).getContentVersion();
+            } else {
+                contentVersion = -1L;
+            }
+            if (contentVersion < 0L) {
+                // Modifications not tracked.
+                mipmapCache = null;
+                scaledImageCache = null;
+            }
+        }
+        
+        if (scaledImageCache != null) {
+            int[] scaledArr = scaledImageCache.get(
+                    image,
+                    contentVersion,
+                    srcRectInImg,
+                    xSpan,
+                    ySpan,
+                    scalingType,
+                    this.getArrayColorHelper());
+            if (scaledArr == null) {
+                /*
+                 * Scaling the whole destination rect, whatever the clip,
+                 * for scaled pixels to be reusable with other clips.
+                 * Using (0,0) position, since scaled pixels
+                 * only depend on position relative to destination rect.
+                 */
+                final GRect scaledRect = GRect.valueOf(0, 0, xSpan, ySpan);
+                scaledArr = new int[scaledRect.area()];
+                final IntArrCopyRowDrawer scaledRowDrawer = new IntArrCopyRowDrawer();
+                scaledRowDrawer.configure(
+                        GTransform.IDENTITY,
+                        scaledArr,
+                        xSpan);
+                this.drawImageScaled(
+                        image,
+                        srcRectInImg,
+                        scalingType,
+                        //
+                        scaledRect,
+                        scaledRect,
+                        scaledRowDrawer,
+                        //
+                        mipmapCache,
+                        contentVersion);
+                scaledImageCache.put(
+                        image,
+                        contentVersion,
+                        srcRectInImg,
+                        xSpan,
+                        ySpan,
+                        scalingType,
+                        this.getArrayColorHelper(),
+                        scaledArr);
+            }
+            this.drawScaledPixels(
+                    scaledArr,
+                    dstRectInUser,
+                    clipInUser);
+        } else {
+            this.drawImageScaled(
+                    image,
+                    srcRectInImg,
+                    scalingType,
+                    //
+                    dstRectInUser,
+                    clipInUser,
+                    this.rowDrawer,
+                    //
+                    mipmapCache,
+                    contentVersion);
+        }
+    }
+    
+    /**
+     * @return The mipmaps cache of the binding, if it has one, else null.
+     */
+    protected final MipmapCache getMipmapCacheElseNull() {
+        final InterfaceBwdBindingImpl binding = this.getBinding();
+        if (!(binding instanceof AbstractBwdBinding)) {
+            return null;
         }
+        return ((AbstractBwdBinding) binding).getMipmapCacheElseNull();
+    }
+    
+    /**
+     * @return The scaled images cache of the binding, if it has one, else null.
+     */
+    protected final ScaledImageCache getScaledImageCacheElseNull() {
+        final InterfaceBwdBindingImpl binding = this.getBinding();
+        if (!(binding instanceof AbstractBwdBinding)) {
+            return null;
+        }
+        return ((AbstractBwdBinding) binding).getScaledImageCacheElseNull();
     }
     
     /*
@@ -639,6 +953,54 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     protected abstract int getArrayColorAlpha8(int color32);
     
     protected abstract int blendArrayColor32(int srcColor32, int dstColor32);
+    
+    /**
+     * Blends the specified color over each pixel of the specified span
+     * of the specified array.
+     * 
+     * This default implementation calls blendArrayColor32(int,int)
+     * for each pixel. Can be overridden to use a bulk blending,
+     * such as IntArrSrcOverBlender for premultiplied ARGB32 arrays.
+     * 
+     * @param srcColor32 A color in the format to use in the array of pixels.
+     */
+    protected void blendArrayColor32OverSpan(
+            int srcColor32,
+            int[] dstColor32Arr,
+            int dstOffset,
+            int length) {
+        for (int i = dstOffset, end = dstOffset + length; i < end; i++) {
+            dstColor32Arr[i] = this.blendArrayColor32(srcColor32, dstColor32Arr[i]);
+        }
+    }
+    
+    /**
+     * Blends each pixel of the specified source span over the corresponding
+     * pixel of the specified destination span.
+     * 
+     * This default implementation calls blendArrayColor32(int,int)
+     * for each pixel which color is not fully transparent.
+     * Can be overridden to use a bulk blending,
+     * such as IntArrSrcOverBlender for premultiplied ARGB32 arrays.
+     * 
+     * @param srcColor32Arr Colors in the format to use in the array of pixels.
+     */
+    protected void blendArrayColor32SpanOverSpan(
+            int[] srcColor32Arr,
+            int srcOffset,
+            int[] dstColor32Arr,
+            int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            final int srcColor32 = srcColor32Arr[srcOffset + i];
+            if (this.getArrayColorAlpha8(srcColor32) != 0) {
+                final int dstIndex = dstOffset + i;
+                dstColor32Arr[dstIndex] = this.blendArrayColor32(
+                        srcColor32,
+                        dstColor32Arr[dstIndex]);
+            }
+        }
+    }
 
     /*
      * Text.
@@ -735,6 +1097,71 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
+    private void drawImageScaled(
+            InterfaceBwdImage image,
+            GRect srcRectInImg,
+            BwdScalingType scalingType,
+            //
+            GRect dstRect,
+            GRect dstClip,
+            InterfaceRowDrawer dstRowDrawer,
+            //
+            MipmapCache mipmapCache,
+            long contentVersion) {
+        final Object imageDataAccessor = this.getImageDataAccessor(image);
+        try {
+            final MyImgSrcPixels srcPixels = this.tmpImgSrcPixels;
+            srcPixels.configure(image, imageDataAccessor);
+            
+            ScaledRectDrawing.drawScaledRect(
+                this.getBinding().getInternalParallelizer(),
+                scalingType,
+                this.getArrayColorHelper(),
+                //
+                srcPixels,
+                srcRectInImg,
+                //
+                dstRect,
+                dstClip,
+                dstRowDrawer,
+                //
+                mipmapCache,
+                image,
+                contentVersion);
+        } finally {
+            this.disposeImageDataAccessor(imageDataAccessor);
+        }
+    }
+    
+    /**
+     * Blends the clipped part of the specified scaled pixels,
+     * as scaled image drawing would.
+     * 
+     * @param scaledArr Pixels of dstRect, with dstRect.xSpan()
+     *        as scanline stride.
+     */
+    private void drawScaledPixels(
+            int[] scaledArr,
+            GRect dstRect,
+            GRect clip) {
+        final GRect rect = dstRect.intersected(clip);
+        if (rect.isEmpty()) {
+            return;
+        }
+        final int scanlineStride = dstRect.xSpan();
+        final int xOffset = rect.x() - dstRect.x();
+        for (int j = 0; j < rect.ySpan(); j++) {
+            final int y = rect.y() + j;
+            final int rowOffset = (y - dstRect.y()) * scanlineStride + xOffset;
+            this.drawRowImpl(
+                    scaledArr,
+                    rowOffset,
+                    rect.x(),
+                    y,
+                    rect.xSpan());
+        }
+    }
+    
     private void drawRowImpl(
         int[] rowArr,
         int rowOffset,
@@ -749,6 +1176,16 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         
         int xInArr = this.transformArrToUser.xIn1(dstX, dstY);
         int yInArr = this.transformArrToUser.yIn1(dstX, dstY);
+        if ((xStepInArr == 1) && (yStepInArr == 0)) {
+            // Row contiguous in array: bulk blending.
+            this.blendArrayColor32SpanOverSpan(
+                    rowArr,
+                    rowOffset,
+                    this.pixelArr,
+                    this.toPixelArrIndexFromArr(xInArr, yInArr),
+                    length);
+            return;
+        }
         for (int i = 0; i < length; i++) {
             final int color32 = rowArr[rowOffset + i];
             final int dstIndex = this.toPixelArrIndexFromArr(xInArr, yInArr);
@@ -758,6 +1195,183 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         }
     }
 
+    /**
+     * Text composed from glyph masks, drawn one after the other
+     * from the pen position, with no kerning.
+     * 
+     * @return True if done, false if a glyph mask could not be computed,
+     *         in which case nothing has been drawn.
+     */
+    private boolean drawText_glyphMasks(
+            int x, int y,
+            String text,
+            InterfaceBwdFont font,
+            GlyphMaskCache glyphMaskCache) {
+        
+        final GRect clipInUser = this.getClipInUser();
+        if (clipInUser.isEmpty()) {
+            return true;
+        }
+        
+        if (this.isTextArrColorByAlpha8Dirty) {
+            Arrays.fill(this.isTextArrColorComputedByAlpha8, false);
+            this.isTextArrColorByAlpha8Dirty = false;
+        }
+        
+        /*
+         * Glyphs can leak out of their advance area,
+         * so we use the same tolerance as computeMaxTextRectInText(...),
+         * to know when we are done.
+         */
+        final int leftLeakTolerance = Math.max(
+                font.size(),
+                font.metrics().height());
+        final int penXMaxInUser = clipInUser.xMax() + leftLeakTolerance;
+        
+        final BwdFontId fontId = font.id();
+        
+        /*
+         * Computing all needed masks before drawing,
+         * not to draw part of the text if one can't be computed.
+         */
+        
+        GlyphMask[] maskArr = this.tmpGlyphMaskArr;
+        int maskCount = 0;
+        int penXInUser = x;
+        int ci = 0;
+        while ((ci < text.length())
+                && (penXInUser <= penXMaxInUser)) {
+            final int cp = text.codePointAt(ci);
+            
+            GlyphMask mask = glyphMaskCache.get(fontId, cp);
+            if (mask == null) {
+                mask = this.computeGlyphMask(font, cp);
+                if (mask == null) {
+                    Arrays.fill(maskArr, 0, maskCount, null);
+                    return false;
+                }
+                glyphMaskCache.put(fontId, cp, mask);
+            }
+            
+            if (maskCount == maskArr.length) {
+                maskArr = Arrays.copyOf(maskArr, Math.max(16, 2 * maskCount));
+                this.tmpGlyphMaskArr = maskArr;
+            }
+            maskArr[maskCount++] = mask;
+            
+            penXInUser += mask.getAdvance();
+            ci += Character.charCount(cp);
+        }
+        
+        penXInUser = x;
+        for (int i = 0; i < maskCount; i++) {
+            final GlyphMask mask = maskArr[i];
+            // Not retaining masks, which could be evicted from cache.
+            maskArr[i] = null;
+            
+            if (!mask.isEmpty()) {
+                this.drawGlyphMask(
+                        penXInUser + mask.getXInPen(),
+                        y + mask.getYInText(),
+                        mask,
+                        clipInUser);
+            }
+            
+            penXInUser += mask.getAdvance();
+        }
+        return true;
+    }
+    
+    private void drawGlyphMask(
+            int maskXInUser,
+            int maskYInUser,
+            GlyphMask mask,
+            GRect clipInUser) {
+        
+        final GRect clippedMaskRectInUser = GRect.valueOf(
+                maskXInUser,
+                maskYInUser,
+                mask.getWidth(),
+                mask.getHeight()).intersected(clipInUser);
+        if (clippedMaskRectInUser.isEmpty()) {
+            return;
+        }
+        
+        final GTransform transformArrToUser = this.transformArrToUser;
+        final GRotation rotation = transformArrToUser.rotation();
+        // Optimization not to have to use transform for each pixel.
+        final int xStepInArr = rotation.cos();
+        final int yStepInArr = rotation.sin();
+        
+        final int dstXInUser = clippedMaskRectInUser.x();
+        final int srcXInMask = dstXInUser - maskXInUser;
+        final int width = clippedMaskRectInUser.xSpan();
+        final int height = clippedMaskRectInUser.ySpan();
+        if ((xStepInArr == 1) && (yStepInArr == 0)) {
+            // Rows contiguous in array: bulk blending of mask rows,
+            // with zero (fully transparent in all formats)
+            // where mask is empty.
+            int[] rowArr = this.tmpTextRowArr;
+            if (rowArr.length < width) {
+                rowArr = new int[width];
+                this.tmpTextRowArr = rowArr;
+            }
+            for (int j = 0; j < height; j++) {
+                final int dstYInUser = clippedMaskRectInUser.y() + j;
+                final int srcYInMask = dstYInUser - maskYInUser;
+                for (int i = 0; i < width; i++) {
+                    final int alpha8 = mask.getAlpha8At(srcXInMask + i, srcYInMask);
+                    rowArr[i] = ((alpha8 != 0) ? this.getTextArrColor32(alpha8) : 0);
+                }
+                final int xInArr = transformArrToUser.xIn1(dstXInUser, dstYInUser);
+                final int yInArr = transformArrToUser.yIn1(dstXInUser, dstYInUser);
+                this.blendArrayColor32SpanOverSpan(
+                        rowArr,
+                        0,
+                        this.pixelArr,
+                        this.toPixelArrIndexFromArr(xInArr, yInArr),
+                        width);
+            }
+            return;
+        }
+        for (int j = 0; j < height; j++) {
+            final int dstYInUser = clippedMaskRectInUser.y() + j;
+            final int srcYInMask = dstYInUser - maskYInUser;
+            
+            int xInArr = transformArrToUser.xIn1(dstXInUser, dstYInUser);
+            int yInArr = transformArrToUser.yIn1(dstXInUser, dstYInUser);
+            for (int i = 0; i < width; i++) {
+                final int alpha8 = mask.getAlpha8At(srcXInMask + i, srcYInMask);
+                if (alpha8 != 0) {
+                    final int color32 = this.getTextArrColor32(alpha8);
+                    if (this.getArrayColorAlpha8(color32) != 0) {
+                        final int dstIndex = this.toPixelArrIndexFromArr(xInArr, yInArr);
+                        this.blendColor32(dstIndex, color32);
+                    }
+                }
+                xInArr += xStepInArr;
+                yInArr += yStepInArr;
+            }
+        }
+    }
+    
+    /**
+     * @param alpha8 Glyph mask coverage, in [1,255].
+     * @return Array color to use for the specified coverage.
+     */
+    private int getTextArrColor32(int alpha8) {
+        if (this.isTextArrColorComputedByAlpha8[alpha8]) {
+            return this.textArrColorByAlpha8[alpha8];
+        }
+        final int argb32 = this.getArgb32();
+        final int newAlpha8 = (Argb32.getAlpha8(argb32) * alpha8 + 127) / 255;
+        final int color32 = this.getArrayColor32FromArgb32(
+                Argb32.withAlpha8(argb32, newAlpha8));
+        this.textArrColorByAlpha8[alpha8] = color32;
+        this.isTextArrColorComputedByAlpha8[alpha8] = true;
+        return color32;
+    }
+
     private void updateTransformArrToUser() {
         final GPoint rootBoxTopLeft = this.getRootBoxTopLeft();
         final GTransform transform = this.getTransform_final();
@@ -948,12 +1562,13 @@ public abstract class AbstractIntArrayBwdGraphics extends AbstractBwdGraphics {
         int ySpanInBase,
         int index,
         int color32) {
-        final int indexJump = scanlineStride - xSpanInBase;
         for (int j = 0; j < ySpanInBase; j++) {
-            for (int i = 0; i < xSpanInBase; i++) {
-                this.blendColor32(index++, color32);
-            }
-            index += indexJump;
+            this.blendArrayColor32OverSpan(
+                    color32,
+                    this.pixelArr,
+                    index,
+                    xSpanInBase);
+            index += scanlineStride;
         }
     }
 }
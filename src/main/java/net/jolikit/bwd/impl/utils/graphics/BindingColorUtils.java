@@ -58,6 +58,28 @@ public class BindingColorUtils {
      */
     static final boolean CAN_ASSUME_THAT_DST_ALPHA_8_IS_255 = false;
     
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /*
+     * Lookup tables for (non) premultiplication of components,
+     * to avoid floating-point computations for each pixel.
+     * They are indexed by ((alpha8 << 8) | cpt8), and computed
+     * with toPremul8_noCheck(int,double) and toNonPremul8_noCheck(int,double),
+     * so that results are identical to those of floating-point computations.
+     * 
+     * 64Ki bytes each, which is typically much less than images they apply to.
+     */
+    
+    private static final byte[] PREMUL_8_BY_ALPHA_8_CPT_8 = newPremul8Table();
+    
+    /**
+     * For premultiplied components greater than alpha (invalid),
+     * contains 255.
+     */
+    private static final byte[] NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8 = newNonPremul8Table();
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -346,11 +368,11 @@ public class BindingColorUtils {
         int y8 = Argb32.getGreen8(axyz32);
         int z8 = Argb32.getBlue8(axyz32);
         
-        final double alphaFp = toFpFromInt8_noCheck(alpha8);
+        final int alphaOffset = (alpha8 << 8);
         
-        x8 = toPremul8_noCheck(x8, alphaFp);
-        y8 = toPremul8_noCheck(y8, alphaFp);
-        z8 = toPremul8_noCheck(z8, alphaFp);
+        x8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | x8] & 0xFF;
+        y8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | y8] & 0xFF;
+        z8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | z8] & 0xFF;
         
         if (AZZERTIONS) {
             if ((x8 > alpha8)
@@ -382,11 +404,11 @@ public class BindingColorUtils {
         int y8 = Argb32.getRed8(xyza32);
         int z8 = Argb32.getGreen8(xyza32);
         
-        final double alphaFp = toFpFromInt8_noCheck(alpha8);
+        final int alphaOffset = (alpha8 << 8);
         
-        x8 = toPremul8_noCheck(x8, alphaFp);
-        y8 = toPremul8_noCheck(y8, alphaFp);
-        z8 = toPremul8_noCheck(z8, alphaFp);
+        x8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | x8] & 0xFF;
+        y8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | y8] & 0xFF;
+        z8 = PREMUL_8_BY_ALPHA_8_CPT_8[alphaOffset | z8] & 0xFF;
 
         if (AZZERTIONS) {
             if ((x8 > alpha8)
@@ -436,12 +458,11 @@ public class BindingColorUtils {
             return 0;
         }
         
-        final double alphaFp = toFpFromInt8_noCheck(alpha8);
-        final double oneOverAlphaFp = 1.0/alphaFp;
+        final int alphaOffset = (alpha8 << 8);
         
-        x8 = toNonPremul8_noCheck(x8, oneOverAlphaFp);
-        y8 = toNonPremul8_noCheck(y8, oneOverAlphaFp);
-        z8 = toNonPremul8_noCheck(z8, oneOverAlphaFp);
+        x8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | x8] & 0xFF;
+        y8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | y8] & 0xFF;
+        z8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | z8] & 0xFF;
         
         return toAbcd32_noCheck(alpha8, x8, y8, z8);
     }
@@ -478,16 +499,109 @@ public class BindingColorUtils {
             return 0;
         }
         
-        final double alphaFp = toFpFromInt8_noCheck(alpha8);
-        final double oneOverAlphaFp = 1.0/alphaFp;
+        final int alphaOffset = (alpha8 << 8);
         
-        x8 = toNonPremul8_noCheck(x8, oneOverAlphaFp);
-        y8 = toNonPremul8_noCheck(y8, oneOverAlphaFp);
-        z8 = toNonPremul8_noCheck(z8, oneOverAlphaFp);
+        x8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | x8] & 0xFF;
+        y8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | y8] & 0xFF;
+        z8 = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8[alphaOffset | z8] & 0xFF;
         
         return toAbcd32_noCheck(x8, y8, z8, alpha8);
     }
     
+    /*
+     * Bulk (non) premultiplication.
+     */
+    
+    /**
+     * Equivalent to calling toPremulAxyz32(int) on each color,
+     * but faster.
+     * Source and destination ranges can be identical,
+     * but must not overlap otherwise.
+     * 
+     * @param srcArr Source AXYZ32 colors, not alpha-premultiplied.
+     * @param srcOffset Index of the first color to convert.
+     * @param dstArr Destination AXYZ32 colors, alpha-premultiplied.
+     * @param dstOffset Index of the first color to set.
+     * @param length Number of colors to convert.
+     */
+    public static void toPremulAxyz32(
+            int[] srcArr,
+            int srcOffset,
+            int[] dstArr,
+            int dstOffset,
+            int length) {
+        final byte[] table = PREMUL_8_BY_ALPHA_8_CPT_8;
+        for (int i = 0; i < length; i++) {
+            final int axyz32 = srcArr[srcOffset + i];
+            final int alpha8 = (axyz32 >>> 24);
+            final int premulAxyz32;
+            if (alpha8 == 0xFF) {
+                premulAxyz32 = axyz32;
+            } else if (alpha8 == 0) {
+                premulAxyz32 = 0;
+            } else {
+                final int alphaOffset = (alpha8 << 8);
+                final int x8 = table[alphaOffset | ((axyz32 >> 16) & 0xFF)] & 0xFF;
+                final int y8 = table[alphaOffset | ((axyz32 >> 8) & 0xFF)] & 0xFF;
+                final int z8 = table[alphaOffset | (axyz32 & 0xFF)] & 0xFF;
+                premulAxyz32 = (alpha8 << 24) | (x8 << 16) | (y8 << 8) | z8;
+            }
+            dstArr[dstOffset + i] = premulAxyz32;
+        }
+    }
+    
+    /**
+     * Equivalent to calling toNonPremulAxyz32(int) on each color,
+     * but faster.
+     * Source and destination ranges can be identical,
+     * but must not overlap otherwise.
+     * 
+     * @param srcArr Source AXYZ32 colors, alpha-premultiplied.
+     * @param srcOffset Index of the first color to convert.
+     * @param dstArr Destination AXYZ32 colors, not alpha-premultiplied.
+     * @param dstOffset Index of the first color to set.
+     * @param length Number of colors to convert.
+     */
+    public static void toNonPremulAxyz32(
+            int[] srcArr,
+            int srcOffset,
+            int[] dstArr,
+            int dstOffset,
+            int length) {
+        final byte[] table = NON_PREMUL_8_BY_ALPHA_8_PREMUL_CPT_8;
+        for (int i = 0; i < length; i++) {
+            final int premulAxyz32 = srcArr[srcOffset + i];
+            final int alpha8 = (premulAxyz32 >>> 24);
+            final int axyz32;
+            if (alpha8 == 0xFF) {
+                axyz32 = premulAxyz32;
+            } else {
+                final int x8 = ((premulAxyz32 >> 16) & 0xFF);
+                final int y8 = ((premulAxyz32 >> 8) & 0xFF);
+                final int z8 = (premulAxyz32 & 0xFF);
+                if (AZZERTIONS) {
+                    if ((x8 > alpha8)
+                            || (y8 > alpha8)
+                            || (z8 > alpha8)) {
+                        throw new AssertionError(
+                                "premul axyz = "
+                                        + alpha8 + ", " + x8 + ", " + y8 + ", " + z8);
+                    }
+                }
+                if (alpha8 == 0) {
+                    axyz32 = 0;
+                } else {
+                    final int alphaOffset = (alpha8 << 8);
+                    axyz32 = (alpha8 << 24)
+                            | ((table[alphaOffset | x8] & 0xFF) << 16)
+                            | ((table[alphaOffset | y8] & 0xFF) << 8)
+                            | (table[alphaOffset | z8] & 0xFF);
+                }
+            }
+            dstArr[dstOffset + i] = axyz32;
+        }
+    }
+    
     /*
      * Alpha-premultiplied color inverting.
      */
@@ -674,6 +788,40 @@ public class BindingColorUtils {
         return (int) (valueFp255 + 0.5);
     }
     
+    /*
+     * 
+     */
+    
+    private static byte[] newPremul8Table() {
+        final byte[] table = new byte[256 * 256];
+        for (int alpha8 = 0; alpha8 <= 0xFF; alpha8++) {
+            final double alphaFp = toFpFromInt8_noCheck(alpha8);
+            for (int cpt8 = 0; cpt8 <= 0xFF; cpt8++) {
+                table[(alpha8 << 8) | cpt8] = (byte) toPremul8_noCheck(cpt8, alphaFp);
+            }
+        }
+        return table;
+    }
+    
+    private static byte[] newNonPremul8Table() {
+        final byte[] table = new byte[256 * 256];
+        // alpha8 = 0 is special-cased by users.
+        for (int alpha8 = 1; alpha8 <= 0xFF; alpha8++) {
+            final double alphaFp = toFpFromInt8_noCheck(alpha8);
+            final double oneOverAlphaFp = 1.0/alphaFp;
+            for (int premulCpt8 = 0; premulCpt8 <= 0xFF; premulCpt8++) {
+                final int cpt8;
+                if (premulCpt8 <= alpha8) {
+                    cpt8 = toNonPremul8_noCheck(premulCpt8, oneOverAlphaFp);
+                } else {
+                    cpt8 = 0xFF;
+                }
+                table[(alpha8 << 8) | premulCpt8] = (byte) cpt8;
+            }
+        }
+        return table;
+    }
+    
     /*
      * Isolating heavy computations in specific methods,
      * not to incur their memory overhead when only doing opaque painting.
@@ -0,0 +1,710 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.graphics.BwdScalingType;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
+
+/**
+ * Compact list of graphics operations, recorded with a RecordingBwdGraphics,
+ * which can then be replayed (possibly many times) on any graphics
+ * which base coordinates are those of the recording graphics.
+ * 
+ * Operations are stored in an int array, in which each drawing operation
+ * is preceded by its bounding box in base coordinates, and objects
+ * (fonts, images, texts, copies of polygons and pixels arrays)
+ * in an object array. State changes (clip, transform, color, font
+ * and image scaling type) are only recorded when they are used by
+ * a following drawing operation.
+ * 
+ * Replay can be done over tiles of the destination clip in parallel,
+ * using the painting parallelizer of the destination graphics, each tile
+ * only replaying drawing operations which bounding box overlaps it.
+ * This is possible because drawings only modify pixels in clip,
+ * and only read pixels they modify, except for copyArea(...), which use
+ * prevents tiled replay (the replay is then done sequentially on the
+ * whole clip).
+ * Since how primitives compute clipping is undefined, figures crossing
+ * tiles borders (lines, arcs, polygons) can have slightly different pixels
+ * than with untiled replay, as when painting dirty regions separately.
+ * 
+ * Fonts and images used in drawings must not be disposed until the last
+ * replay, and modifications of writable images contents after recording
+ * are visible in replays.
+ * 
+ * Not thread-safe, except that concurrent replays are allowed
+ * while no operation is being recorded.
+ */
+public class DisplayList {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Data common to splittables, to save memory.
+     */
+    private static class MyCmnData {
+        final DisplayList list;
+        final GRect[] tileArr;
+        final InterfaceBwdGraphics[] tileGArr;
+        public MyCmnData(
+                DisplayList list,
+                GRect[] tileArr,
+                InterfaceBwdGraphics[] tileGArr) {
+            this.list = list;
+            this.tileArr = tileArr;
+            this.tileGArr = tileGArr;
+        }
+    }
+    
+    private static class MyTilesSplittable implements InterfaceSplittable {
+        final MyCmnData cmn;
+        int tileOffset;
+        int tileCount;
+        public MyTilesSplittable(
+                MyCmnData cmn,
+                int tileOffset,
+                int tileCount) {
+            this.cmn = cmn;
+            this.tileOffset = tileOffset;
+            this.tileCount = tileCount;
+        }
+        @Override
+        public String toString() {
+            return "[" + this.tileOffset + "," + this.tileCount + "]";
+        }
+        @Override
+        public void run() {
+            final MyCmnData cmn = this.cmn;
+            final int end = this.tileOffset + this.tileCount;
+            for (int i = this.tileOffset; i < end; i++) {
+                cmn.list.replayOn(
+                        cmn.tileGArr[i],
+                        cmn.tileArr[i]);
+            }
+        }
+        @Override
+        public boolean worthToSplit() {
+            return this.tileCount > 1;
+        }
+        @Override
+        public InterfaceSplittable split() {
+            final int halfish = (this.tileCount >> 1);
+            final MyTilesSplittable ret = new MyTilesSplittable(
+                    this.cmn,
+                    this.tileOffset + halfish,
+                    this.tileCount - halfish);
+            this.tileCount = halfish;
+            return ret;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /*
+     * State operations.
+     */
+    
+    /**
+     * Args: clip in base (x, y, xSpan, ySpan).
+     */
+    static final int OP_CLIP = 0;
+    /**
+     * Args: rotation angle in degrees, frame 2 (x, y) in frame 1.
+     */
+    static final int OP_TRANSFORM = 1;
+    /**
+     * Args: ARGB64 (MSBits, LSBits).
+     */
+    static final int OP_COLOR = 2;
+    /**
+     * Args: font index.
+     */
+    static final int OP_FONT = 3;
+    /**
+     * Args: scaling type ordinal.
+     */
+    static final int OP_SCALING_TYPE = 4;
+    
+    /*
+     * Drawing operations, which args are preceded
+     * by the bounding box in base (x, y, xSpan, ySpan).
+     */
+    
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_CLEAR_RECT = 5;
+    /**
+     * Args: source rect (x, y, xSpan, ySpan), dx, dy.
+     */
+    static final int OP_COPY_AREA = 6;
+    /**
+     * Args: x, y.
+     */
+    static final int OP_POINT = 7;
+    /**
+     * Args: pixels index, rect (x, y, xSpan, ySpan).
+     * Pixels array is a copy with rect xSpan as scanline stride.
+     */
+    static final int OP_PIXELS = 8;
+    /**
+     * Args: x1, y1, x2, y2.
+     */
+    static final int OP_LINE = 9;
+    /**
+     * Args: x1, y1, x2, y2, factor, pattern, pixelNum.
+     */
+    static final int OP_LINE_STIPPLE = 10;
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_DRAW_RECT = 11;
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_FILL_RECT = 12;
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_DRAW_OVAL = 13;
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_FILL_OVAL = 14;
+    /**
+     * Args: x, y, xSpan, ySpan, startDeg bits (MSBits, LSBits),
+     * spanDeg bits (MSBits, LSBits).
+     */
+    static final int OP_DRAW_ARC = 15;
+    /**
+     * Args: same as OP_DRAW_ARC.
+     */
+    static final int OP_FILL_ARC = 16;
+    /**
+     * Args: X array index (Y array being at next index), point count.
+     */
+    static final int OP_DRAW_POLYLINE = 17;
+    /**
+     * Args: same as OP_DRAW_POLYLINE.
+     */
+    static final int OP_DRAW_POLYGON = 18;
+    /**
+     * Args: same as OP_DRAW_POLYLINE.
+     */
+    static final int OP_FILL_POLYGON = 19;
+    /**
+     * Args: x, y, text index.
+     */
+    static final int OP_TEXT = 20;
+    /**
+     * Args: x, y, xSpan, ySpan, image index, sx, sy, sxSpan, sySpan.
+     */
+    static final int OP_IMAGE = 21;
+    /**
+     * Args: x, y, xSpan, ySpan.
+     */
+    static final int OP_FLIP_COLORS = 22;
+    
+    private static final int MIN_DRAW_OP = OP_CLEAR_RECT;
+    
+    private static final int BBOX_SIZE = 4;
+    
+    /**
+     * Number of args of each operation, excluding bounding box.
+     */
+    private static final int[] ARG_COUNT_BY_OP = new int[] {
+        4, 3, 2, 1, 1,
+        4, 6, 2, 5, 4, 7, 4, 4, 4, 4, 8, 8, 2, 2, 2, 3, 9, 4,
+    };
+    
+    private static final BwdScalingType[] SCALING_TYPE_BY_ORDINAL =
+            BwdScalingType.values();
+    
+    /*
+     * 
+     */
+    
+    private int[] intArr = LangUtils.EMPTY_INT_ARR;
+    private int intSize = 0;
+    
+    private Object[] objArr = new Object[0];
+    private int objSize = 0;
+    
+    private int drawOpCount = 0;
+    
+    private boolean tileReplayable = true;
+    
+    /*
+     * Last recorded state.
+     * Null clip means that no state has been recorded yet.
+     */
+    
+    private GRect lastClipInBase = null;
+    private GTransform lastTransform = null;
+    private long lastArgb64 = 0L;
+    private InterfaceBwdFont lastFont = null;
+    private BwdScalingType lastScalingType = null;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Creates an empty display list.
+     */
+    public DisplayList() {
+    }
+    
+    @Override
+    public String toString() {
+        return "[drawOpCount = "
+                + this.drawOpCount
+                + ", intSize = "
+                + this.intSize
+                + ", objSize = "
+                + this.objSize
+                + ", tileReplayable = "
+                + this.tileReplayable
+                + "]";
+    }
+    
+    /**
+     * Removes all operations, keeping storage for reuse.
+     */
+    public void clear() {
+        Arrays.fill(this.objArr, 0, this.objSize, null);
+        this.intSize = 0;
+        this.objSize = 0;
+        this.drawOpCount = 0;
+        this.tileReplayable = true;
+        this.lastClipInBase = null;
+        this.lastTransform = null;
+        this.lastArgb64 = 0L;
+        this.lastFont = null;
+        this.lastScalingType = null;
+    }
+    
+    /**
+     * @return True if this list contains no drawing operation.
+     */
+    public boolean isEmpty() {
+        return this.drawOpCount == 0;
+    }
+    
+    /**
+     * @return The number of recorded drawing operations.
+     */
+    public int getDrawOpCount() {
+        return this.drawOpCount;
+    }
+    
+    /**
+     * @return True if this list can be replayed over tiles independently,
+     *         i.e. if it doesn't contain copyArea(...) operations.
+     */
+    public boolean isTileReplayable() {
+        return this.tileReplayable;
+    }
+    
+    /**
+     * Replays the operations of this list, in the current clip of the
+     * specified graphics, using a child graphics of it, so that the state
+     * of the specified graphics is not modified.
+     * 
+     * @param g A graphics which base coordinates are those of the
+     *        recording graphics, and which init() has been called
+     *        and finish() not yet.
+     * @throws NullPointerException if the specified graphics is null.
+     */
+    public void replay(InterfaceBwdGraphics g) {
+        final GRect clipInBase = g.getClipInBase();
+        if (clipInBase.isEmpty()
+                || (this.drawOpCount == 0)) {
+            return;
+        }
+        
+        final InterfaceBwdGraphics childG = g.newChildGraphics(
+                g.getBox(),
+                clipInBase);
+        this.replayOn(childG, null);
+    }
+    
+    /**
+     * Replays the operations of this list, in the current clip of the
+     * specified graphics, split into tiles of the specified spans,
+     * over painting parallelizer of the specified graphics.
+     * Each tile is replayed with its own child graphics, only replaying
+     * drawing operations which bounding box overlaps it.
+     * 
+     * Falls back to replay(g) if the painting parallelizer is sequential,
+     * if there is a single tile, or if this list is not tile-replayable.
+     * 
+     * @param g A graphics which base coordinates are those of the
+     *        recording graphics, and which init() has been called
+     *        and finish() not yet.
+     * @param tileXSpan X span of tiles. Must be > 0.
+     * @param tileYSpan Y span of tiles. Must be > 0.
+     * @throws NullPointerException if the specified graphics is null.
+     * @throws IllegalArgumentException if a tile span is <= 0.
+     */
+    public void replayInTiles(
+            InterfaceBwdGraphics g,
+            int tileXSpan,
+            int tileYSpan) {
+        final GRect clipInBase = g.getClipInBase();
+        if ((tileXSpan <= 0) || (tileYSpan <= 0)) {
+            throw new IllegalArgumentException(
+                    "tile spans (" + tileXSpan + "," + tileYSpan + ") must be > 0");
+        }
+        if (clipInBase.isEmpty()
+                || (this.drawOpCount == 0)) {
+            return;
+        }
+        
+        final InterfaceParallelizer parallelizer = g.getPaintingParallelizer();
+        final boolean mustSplit =
+                this.tileReplayable
+                && (parallelizer.getParallelism() > 1)
+                && ((clipInBase.xSpan() > tileXSpan)
+                        || (clipInBase.ySpan() > tileYSpan));
+        if (!mustSplit) {
+            this.replay(g);
+            return;
+        }
+        
+        final ArrayList<GRect> tileList = new ArrayList<GRect>();
+        for (long y = clipInBase.y(); y <= clipInBase.yMaxLong(); y += tileYSpan) {
+            final int ySpan = (int) Math.min(tileYSpan, clipInBase.yMaxLong() - y + 1);
+            for (long x = clipInBase.x(); x <= clipInBase.xMaxLong(); x += tileXSpan) {
+                final int xSpan = (int) Math.min(tileXSpan, clipInBase.xMaxLong() - x + 1);
+                tileList.add(GRect.valueOf((int) x, (int) y, xSpan, ySpan));
+            }
+        }
+        final int tileCount = tileList.size();
+        final GRect[] tileArr = tileList.toArray(new GRect[tileCount]);
+        
+        /*
+         * Child graphics must be created before switching
+         * to the threads that use them.
+         */
+        final InterfaceBwdGraphics[] tileGArr = new InterfaceBwdGraphics[tileCount];
+        for (int i = 0; i < tileCount; i++) {
+            final GRect tile = tileArr[i];
+            tileGArr[i] = g.newChildGraphics(tile, tile);
+        }
+        
+        final MyCmnData cmn = new MyCmnData(this, tileArr, tileGArr);
+        parallelizer.execute(new MyTilesSplittable(cmn, 0, tileCount));
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Records state changes since last recorded state, if any.
+     * To call before each drawing operation.
+     * 
+     * @param scalingTypeElseNull Null if not used by next drawing operation.
+     */
+    void addStateIfChanged(
+            GRect clipInBase,
+            GTransform transform,
+            long argb64,
+            InterfaceBwdFont font,
+            BwdScalingType scalingTypeElseNull) {
+        final boolean isFirst = (this.lastClipInBase == null);
+        if (isFirst
+                || (!clipInBase.equals(this.lastClipInBase))) {
+            this.addInt(OP_CLIP);
+            this.addRect(clipInBase);
+            this.lastClipInBase = clipInBase;
+        }
+        if (isFirst
+                || (!transform.equals(this.lastTransform))) {
+            this.addInt(OP_TRANSFORM);
+            this.addInt(transform.rotation().angDeg());
+            this.addInt(transform.frame2XIn1());
+            this.addInt(transform.frame2YIn1());
+            this.lastTransform = transform;
+        }
+        if (isFirst
+                || (argb64 != this.lastArgb64)) {
+            this.addInt(OP_COLOR);
+            this.addLong(argb64);
+            this.lastArgb64 = argb64;
+        }
+        if (isFirst
+                || (font != this.lastFont)) {
+            this.addInt(OP_FONT);
+            this.addInt(this.addObj(font));
+            this.lastFont = font;
+        }
+        if ((scalingTypeElseNull != null)
+                && (scalingTypeElseNull != this.lastScalingType)) {
+            this.addInt(OP_SCALING_TYPE);
+            this.addInt(scalingTypeElseNull.ordinal());
+            this.lastScalingType = scalingTypeElseNull;
+        }
+    }
+    
+    /**
+     * Must be followed by adding the args of the operation.
+     * 
+     * @param bboxInBase Must not be empty.
+     */
+    void addDrawOp(int op, GRect bboxInBase) {
+        if (op == OP_COPY_AREA) {
+            this.tileReplayable = false;
+        }
+        this.addInt(op);
+        this.addRect(bboxInBase);
+        this.drawOpCount++;
+    }
+    
+    void addInt(int value) {
+        if (this.intSize == this.intArr.length) {
+            this.intArr = Arrays.copyOf(
+                    this.intArr,
+                    LangUtils.increasedArrayLength(this.intArr.length, this.intSize + 1));
+        }
+        this.intArr[this.intSize++] = value;
+    }
+    
+    void addLong(long value) {
+        this.addInt((int) (value >> 32));
+        this.addInt((int) value);
+    }
+    
+    void addRect(GRect rect) {
+        this.addInt(rect.x());
+        this.addInt(rect.y());
+        this.addInt(rect.xSpan());
+        this.addInt(rect.ySpan());
+    }
+    
+    /**
+     * @return Index of the added object.
+     */
+    int addObj(Object obj) {
+        if (this.objSize == this.objArr.length) {
+            this.objArr = Arrays.copyOf(
+                    this.objArr,
+                    LangUtils.increasedArrayLength(this.objArr.length, this.objSize + 1));
+        }
+        final int index = this.objSize++;
+        this.objArr[index] = obj;
+        return index;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static long toLong(int msb, int lsb) {
+        return (((long) msb) << 32) | (lsb & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Calls init() and finish() on the specified graphics.
+     * 
+     * @param cullingRectElseNull If not null, drawing operations
+     *        which bounding box doesn't overlap it are skipped.
+     */
+    private void replayOn(InterfaceBwdGraphics g, GRect cullingRectElseNull) {
+        g.init();
+        try {
+            this.replayOps(g, cullingRectElseNull);
+        } finally {
+            g.finish();
+        }
+    }
+    
+    private void replayOps(InterfaceBwdGraphics g, GRect cullingRectElseNull) {
+        final int[] arr = this.intArr;
+        final int size = this.intSize;
+        final Object[] objArr = this.objArr;
+        
+        /*
+         * Pending state, only applied before a non-culled drawing.
+         */
+        
+        GRect clipInBase = null;
+        boolean mustSetClip = false;
+        GTransform transform = null;
+        boolean mustSetTransform = false;
+        long argb64 = 0L;
+        boolean mustSetColor = false;
+        InterfaceBwdFont font = null;
+        boolean mustSetFont = false;
+        BwdScalingType scalingType = null;
+        boolean mustSetScalingType = false;
+        
+        int i = 0;
+        while (i < size) {
+            final int op = arr[i++];
+            if (op < MIN_DRAW_OP) {
+                if (op == OP_CLIP) {
+                    clipInBase = GRect.valueOf(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                    mustSetClip = true;
+                } else if (op == OP_TRANSFORM) {
+                    transform = GTransform.valueOf(arr[i], arr[i + 1], arr[i + 2]);
+                    mustSetTransform = true;
+                } else if (op == OP_COLOR) {
+                    argb64 = toLong(arr[i], arr[i + 1]);
+                    mustSetColor = true;
+                } else if (op == OP_FONT) {
+                    font = (InterfaceBwdFont) objArr[arr[i]];
+                    mustSetFont = true;
+                } else {
+                    scalingType = SCALING_TYPE_BY_ORDINAL[arr[i]];
+                    mustSetScalingType = true;
+                }
+                i += ARG_COUNT_BY_OP[op];
+                continue;
+            }
+            
+            if ((cullingRectElseNull != null)
+                    && (!cullingRectElseNull.overlaps(
+                            arr[i], arr[i + 1], arr[i + 2], arr[i + 3]))) {
+                i += BBOX_SIZE + ARG_COUNT_BY_OP[op];
+                continue;
+            }
+            i += BBOX_SIZE;
+            
+            if (mustSetClip) {
+                g.removeAllAddedClips();
+                g.addClipInBase(clipInBase);
+                mustSetClip = false;
+            }
+            if (mustSetTransform) {
+                g.setTransform(transform);
+                mustSetTransform = false;
+            }
+            if (mustSetColor) {
+                g.setArgb64(argb64);
+                mustSetColor = false;
+            }
+            if (mustSetFont) {
+                g.setFont(font);
+                mustSetFont = false;
+            }
+            if (mustSetScalingType) {
+                g.setImageScalingType(scalingType);
+                mustSetScalingType = false;
+            }
+            
+            switch (op) {
+                case OP_CLEAR_RECT: {
+                    g.clearRect(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_COPY_AREA: {
+                    g.copyArea(
+                            GRect.valueOf(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]),
+                            arr[i + 4],
+                            arr[i + 5]);
+                } break;
+                case OP_POINT: {
+                    g.drawPoint(arr[i], arr[i + 1]);
+                } break;
+                case OP_PIXELS: {
+                    final int[] pixelArr = (int[]) objArr[arr[i]];
+                    final GRect rect = GRect.valueOf(arr[i + 1], arr[i + 2], arr[i + 3], arr[i + 4]);
+                    g.drawPixels(pixelArr, 0, rect.xSpan(), rect);
+                } break;
+                case OP_LINE: {
+                    g.drawLine(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_LINE_STIPPLE: {
+                    g.drawLineStipple(
+                            arr[i], arr[i + 1], arr[i + 2], arr[i + 3],
+                            arr[i + 4], (short) arr[i + 5], arr[i + 6]);
+                } break;
+                case OP_DRAW_RECT: {
+                    g.drawRect(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_FILL_RECT: {
+                    g.fillRect(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_DRAW_OVAL: {
+                    g.drawOval(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_FILL_OVAL: {
+                    g.fillOval(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                case OP_DRAW_ARC: {
+                    g.drawArc(
+                            arr[i], arr[i + 1], arr[i + 2], arr[i + 3],
+                            Double.longBitsToDouble(toLong(arr[i + 4], arr[i + 5])),
+                            Double.longBitsToDouble(toLong(arr[i + 6], arr[i + 7])));
+                } break;
+                case OP_FILL_ARC: {
+                    g.fillArc(
+                            arr[i], arr[i + 1], arr[i + 2], arr[i + 3],
+                            Double.longBitsToDouble(toLong(arr[i + 4], arr[i + 5])),
+                            Double.longBitsToDouble(toLong(arr[i + 6], arr[i + 7])));
+                } break;
+                case OP_DRAW_POLYLINE: {
+                    g.drawPolyline(
+                            (int[]) objArr[arr[i]],
+                            (int[]) objArr[arr[i] + 1],
+                            arr[i + 1]);
+                } break;
+                case OP_DRAW_POLYGON: {
+                    g.drawPolygon(
+                            (int[]) objArr[arr[i]],
+                            (int[]) objArr[arr[i] + 1],
+                            arr[i + 1]);
+                } break;
+                case OP_FILL_POLYGON: {
+                    g.fillPolygon(
+                            (int[]) objArr[arr[i]],
+                            (int[]) objArr[arr[i] + 1],
+                            arr[i + 1]);
+                } break;
+                case OP_TEXT: {
+                    g.drawText(arr[i], arr[i + 1], (String) objArr[arr[i + 2]]);
+                } break;
+                case OP_IMAGE: {
+                    g.drawImage(
+                            arr[i], arr[i + 1], arr[i + 2], arr[i + 3],
+                            (InterfaceBwdImage) objArr[arr[i + 4]],
+                            arr[i + 5], arr[i + 6], arr[i + 7], arr[i + 8]);
+                } break;
+                case OP_FLIP_COLORS: {
+                    g.flipColors(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
+                } break;
+                default:
+                    throw new AssertionError("" + op);
+            }
+            i += ARG_COUNT_BY_OP[op];
+        }
+    }
+}
@@ -95,6 +95,16 @@ public class IntArrSrcOverRowDrawer implements InterfaceRowDrawer {
         
         int xInArr = this.transformArrToUser.xIn1(dstX, dstY);
         int yInArr = this.transformArrToUser.yIn1(dstX, dstY);
+        if ((xStepInArr == 1) && (yStepInArr == 0)) {
+            // Row contiguous in array: bulk blending.
+            IntArrSrcOverBlender.blendSpanOverSpan(
+                rowArr,
+                rowOffset,
+                this.premulArgb32Arr,
+                yInArr * this.scanlineStride + xInArr,
+                length);
+            return;
+        }
         for (int i = 0; i < length; i++) {
             final int srcPremulArgb32 = rowArr[rowOffset + i];
             final int dstIndex = yInArr * this.scanlineStride + xInArr;
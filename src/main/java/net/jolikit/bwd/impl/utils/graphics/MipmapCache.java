@@ -0,0 +1,371 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache.InterfaceKeyFilter;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+
+/**
+ * Thread-safe cache of images mipmaps, i.e. of the successive halvings
+ * of images computed by iterative scalings when downscaling,
+ * keyed by image, iterative drawer and color type,
+ * with LRU eviction when total levels size exceeds a byte budget.
+ * 
+ * Levels are computed lazily, down to the deepest one needed by a drawing,
+ * and are identical to the intermediary images computed by SrdIterForDown,
+ * so that starting an iterative downscaling from a cached level
+ * gives the same result as starting it from the image.
+ * Meant to be shared by all graphics of a binding,
+ * and owned by the binding.
+ */
+public class MipmapCache {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Mutable, for lookups not to create garbage,
+     * but never modified once used as a key in the map.
+     */
+    private static class MyKey {
+        private InterfaceBwdImage image;
+        private SrdIterForDown drawer;
+        private InterfaceColorTypeHelper colorTypeHelper;
+        public MyKey() {
+        }
+        public MyKey(
+                InterfaceBwdImage image,
+                SrdIterForDown drawer,
+                InterfaceColorTypeHelper colorTypeHelper) {
+            this.configure(image, drawer, colorTypeHelper);
+        }
+        public void configure(
+                InterfaceBwdImage image,
+                SrdIterForDown drawer,
+                InterfaceColorTypeHelper colorTypeHelper) {
+            this.image = image;
+            this.drawer = drawer;
+            this.colorTypeHelper = colorTypeHelper;
+        }
+        @Override
+        public int hashCode() {
+            // Identity hash codes, images and drawers
+            // not being meant to be equal to other instances.
+            return (System.identityHashCode(this.image) * 31
+                    + System.identityHashCode(this.drawer)) * 31
+                    + this.colorTypeHelper.hashCode();
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MyKey)) {
+                return false;
+            }
+            final MyKey other = (MyKey) obj;
+            return (this.image == other.image)
+                    && (this.drawer == other.drawer)
+                    && this.colorTypeHelper.equals(other.colorTypeHelper);
+        }
+    }
+    
+    /**
+     * Immutable once in the map.
+     */
+    private static class MyMipmap {
+        final long contentVersion;
+        /**
+         * Pixels of level (i+1) at index i.
+         */
+        final IntArrSrcPixels[] levelArr;
+        final long byteSize;
+        public MyMipmap(
+                long contentVersion,
+                IntArrSrcPixels[] levelArr) {
+            long byteSize = 0;
+            for (IntArrSrcPixels levelPixels : levelArr) {
+                byteSize += levelPixels.getRect().area() * 4L;
+            }
+            this.contentVersion = contentVersion;
+            this.levelArr = levelArr;
+            this.byteSize = byteSize;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Sizes in bytes.
+     */
+    private final BudgetedLruCache<MyKey,MyMipmap> cache;
+    
+    /**
+     * Guarded by cache mutex.
+     */
+    private final MyKey tmpKey = new MyKey();
+    
+    /**
+     * Guarded by cache mutex.
+     * 
+     * Incremented on each removal, for levels computed out of lock
+     * not to be put back after a removal, such as when the image
+     * is disposed while they are computed.
+     */
+    private long removalGeneration;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxByteSize Max total byte size of cached levels
+     *        (4 bytes per pixel). Must be > 0.
+     */
+    public MipmapCache(long maxByteSize) {
+        this.cache = new BudgetedLruCache<MyKey,MyMipmap>(
+                NbrsUtils.requireSup(0L, maxByteSize, "maxByteSize"));
+    }
+    
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+    
+    public long getMaxByteSize() {
+        return this.cache.getMaxTotalSize();
+    }
+    
+    /**
+     * Computes missing levels if needed (including when content version
+     * changed), and caches them if they fit in byte budget, else evicting
+     * least recently used mipmaps as needed.
+     * 
+     * @param parallelizer Parallelizer to use for computing levels.
+     * @param colorTypeHelper Helper for source color type.
+     * @param drawer Iterative drawer, used to compute levels.
+     * @param image Image which mipmap must be used.
+     * @param contentVersion Version of image content (>= 0), for levels
+     *        to be recomputed if it changed (always 0 for non-writable images).
+     * @param srcPixels Pixels of the whole image. Only used if some levels
+     *        must be computed.
+     * @param level Level which pixels must be returned, >= 1.
+     *        Level 1 has image spans halved (ceiled), and so on.
+     * @return Pixels of the specified level, with a rect at (0,0).
+     *         Must not be modified.
+     */
+    public InterfaceSrcPixels getLevelPixels(
+            InterfaceParallelizer parallelizer,
+            InterfaceColorTypeHelper colorTypeHelper,
+            SrdIterForDown drawer,
+            InterfaceBwdImage image,
+            long contentVersion,
+            InterfaceSrcPixels srcPixels,
+            int level) {
+        LangUtils.requireNonNull(colorTypeHelper);
+        LangUtils.requireNonNull(drawer);
+        LangUtils.requireNonNull(image);
+        NbrsUtils.requireSupOrEq(0L, contentVersion, "contentVersion");
+        NbrsUtils.requireSup(0, level, "level");
+        
+        final BudgetedLruCache<MyKey,MyMipmap> cache = this.cache;
+        
+        MyMipmap mipmap;
+        final long removalGeneration;
+        synchronized (cache.getMutex()) {
+            final MyKey key = this.tmpKey;
+            key.configure(image, drawer, colorTypeHelper);
+            mipmap = cache.peek(key);
+            key.configure(null, null, null);
+            if ((mipmap != null)
+                    && (mipmap.contentVersion != contentVersion)) {
+                // Stale: not reusing any level.
+                mipmap = null;
+            }
+            if ((mipmap != null)
+                    && (mipmap.levelArr.length >= level)) {
+                cache.countHit();
+                return mipmap.levelArr[level - 1];
+            }
+            cache.countMiss();
+            removalGeneration = this.removalGeneration;
+        }
+        
+        /*
+         * Computing missing levels out of lock.
+         * If another thread does the same concurrently,
+         * last put wins, which is fine.
+         */
+        
+        final IntArrSrcPixels[] levelArr = new IntArrSrcPixels[level];
+        final int nbrOfReusedLevels;
+        if (mipmap != null) {
+            nbrOfReusedLevels = mipmap.levelArr.length;
+            System.arraycopy(mipmap.levelArr, 0, levelArr, 0, nbrOfReusedLevels);
+        } else {
+            nbrOfReusedLevels = 0;
+        }
+        InterfaceSrcPixels prevPixels =
+                ((nbrOfReusedLevels == 0) ? srcPixels : levelArr[nbrOfReusedLevels - 1]);
+        for (int i = nbrOfReusedLevels; i < level; i++) {
+            final IntArrSrcPixels levelPixels = computeNextLevel(
+                    parallelizer,
+                    colorTypeHelper,
+                    drawer,
+                    prevPixels);
+            levelArr[i] = levelPixels;
+            prevPixels = levelPixels;
+        }
+        
+        final MyMipmap newMipmap = new MyMipmap(contentVersion, levelArr);
+        synchronized (cache.getMutex()) {
+            // If some removal occurred meanwhile, it might have been
+            // for this image, so not putting its levels back.
+            if (this.removalGeneration == removalGeneration) {
+                cache.put(
+                        new MyKey(image, drawer, colorTypeHelper),
+                        newMipmap,
+                        newMipmap.byteSize);
+            }
+        }
+        
+        return levelArr[level - 1];
+    }
+    
+    /**
+     * Useful when an image is disposed.
+     * 
+     * Levels of the specified image being computed concurrently
+     * are not cached.
+     * 
+     * @param image Image which mipmaps must be removed.
+     */
+    public void removeAllForImage(final InterfaceBwdImage image) {
+        LangUtils.requireNonNull(image);
+        synchronized (this.cache.getMutex()) {
+            this.removalGeneration++;
+            this.cache.removeAll(new InterfaceKeyFilter<MyKey>() {
+                @Override
+                public boolean accept(MyKey key) {
+                    return key.image == image;
+                }
+            });
+        }
+    }
+    
+    /**
+     * Removes all mipmaps. Doesn't reset statistics.
+     */
+    public void clear() {
+        synchronized (this.cache.getMutex()) {
+            this.removalGeneration++;
+            this.cache.clear();
+        }
+    }
+    
+    /*
+     * Statistics.
+     */
+    
+    /**
+     * @return The number of cached mipmaps.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+    
+    /**
+     * @return Total byte size of cached levels.
+     */
+    public long getByteSize() {
+        return this.cache.getTotalSize();
+    }
+    
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+    
+    /**
+     * @return The number of lookups which required to compute levels.
+     */
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+    
+    /**
+     * @return The number of mipmaps evicted due to byte budget.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Drawing into a (0,0) rect with a copy row drawer and
+     * a scanline stride equal to width, as SrdIterForDown does
+     * for intermediary images.
+     */
+    private static IntArrSrcPixels computeNextLevel(
+            InterfaceParallelizer parallelizer,
+            InterfaceColorTypeHelper colorTypeHelper,
+            SrdIterForDown drawer,
+            InterfaceSrcPixels prevPixels) {
+        final GRect prevRect = prevPixels.getRect();
+        final GRect rect = GRect.valueOf(
+                0,
+                0,
+                SrdIterForDown.computeMipmapSpan(prevRect.xSpan()),
+                SrdIterForDown.computeMipmapSpan(prevRect.ySpan()));
+        final int scanlineStride = rect.xSpan();
+        final int[] color32Arr = new int[rect.area()];
+        
+        final IntArrCopyRowDrawer rowDrawer = new IntArrCopyRowDrawer();
+        rowDrawer.configure(
+                GTransform.IDENTITY,
+                color32Arr,
+                scanlineStride);
+        // Single step, since destination spans are halved spans.
+        drawer.drawScaledRect(
+                parallelizer,
+                colorTypeHelper,
+                //
+                prevPixels,
+                prevRect,
+                //
+                rect,
+                rect,
+                rowDrawer);
+        
+        final IntArrSrcPixels levelPixels = new IntArrSrcPixels();
+        levelPixels.configure(
+                rect,
+                color32Arr,
+                scanlineStride);
+        return levelPixels;
+    }
+}
@@ -16,7 +16,10 @@
 package net.jolikit.bwd.impl.utils.graphics;
 
 import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
 
 /**
  * Converter between a pixel format (typically used
@@ -27,9 +30,172 @@ import net.jolikit.lang.NbrsUtils;
  * Masks must not be more than 8 bits long.
  * If backing library masks are larger,
  * you should only consider their MSBits.
+ * 
+ * Bulk methods, converting areas of int arrays, use specialized loops
+ * for common formats (ARGB32, ABGR32, RGBA32, BGRA32, XRGB24 and XBGR24),
+ * and static convert(...) methods take care of alpha premultiplication
+ * changes, possibly splitting rows over a parallelizer.
  */
 public class PixelFormatConverter {
     
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int AREA_THRESHOLD_FOR_SPLIT = 32 * 1024;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Common formats, for which bulk conversions use specialized loops.
+     */
+    private enum MyFormat {
+        ARGB32,
+        ABGR32,
+        RGBA32,
+        BGRA32,
+        XRGB24,
+        XBGR24,
+        OTHER;
+        static MyFormat valueOf(
+            int aMask,
+            int rMask,
+            int gMask,
+            int bMask) {
+            final MyFormat ret;
+            if ((rMask == 0x00FF0000)
+                && (gMask == 0x0000FF00)
+                && (bMask == 0x000000FF)) {
+                if (aMask == 0xFF000000) {
+                    ret = ARGB32;
+                } else if (aMask == 0) {
+                    ret = XRGB24;
+                } else {
+                    ret = OTHER;
+                }
+            } else if ((rMask == 0x000000FF)
+                && (gMask == 0x0000FF00)
+                && (bMask == 0x00FF0000)) {
+                if (aMask == 0xFF000000) {
+                    ret = ABGR32;
+                } else if (aMask == 0) {
+                    ret = XBGR24;
+                } else {
+                    ret = OTHER;
+                }
+            } else if ((aMask == 0x000000FF)
+                && (gMask == 0x00FF0000)) {
+                if ((rMask == 0xFF000000)
+                    && (bMask == 0x0000FF00)) {
+                    ret = RGBA32;
+                } else if ((rMask == 0x0000FF00)
+                    && (bMask == 0xFF000000)) {
+                    ret = BGRA32;
+                } else {
+                    ret = OTHER;
+                }
+            } else {
+                ret = OTHER;
+            }
+            return ret;
+        }
+    }
+    
+    /**
+     * Data common to splittables, to save memory.
+     */
+    private static class MyCmnData {
+        final PixelFormatConverter srcConverter;
+        final boolean srcPremul;
+        final int[] srcArr;
+        final int srcOffset;
+        final int srcScanlineStride;
+        final PixelFormatConverter dstConverter;
+        final boolean dstPremul;
+        final int[] dstArr;
+        final int dstOffset;
+        final int dstScanlineStride;
+        final int width;
+        public MyCmnData(
+            PixelFormatConverter srcConverter,
+            boolean srcPremul,
+            int[] srcArr,
+            int srcOffset,
+            int srcScanlineStride,
+            PixelFormatConverter dstConverter,
+            boolean dstPremul,
+            int[] dstArr,
+            int dstOffset,
+            int dstScanlineStride,
+            int width) {
+            this.srcConverter = srcConverter;
+            this.srcPremul = srcPremul;
+            this.srcArr = srcArr;
+            this.srcOffset = srcOffset;
+            this.srcScanlineStride = srcScanlineStride;
+            this.dstConverter = dstConverter;
+            this.dstPremul = dstPremul;
+            this.dstArr = dstArr;
+            this.dstOffset = dstOffset;
+            this.dstScanlineStride = dstScanlineStride;
+            this.width = width;
+        }
+    }
+    
+    private static class MySplittable implements InterfaceSplittable {
+        final MyCmnData cmn;
+        int rowOffset;
+        int rowCount;
+        public MySplittable(
+            MyCmnData cmn,
+            int rowOffset,
+            int rowCount) {
+            this.cmn = cmn;
+            this.rowOffset = rowOffset;
+            this.rowCount = rowCount;
+        }
+        @Override
+        public String toString() {
+            return "[" + this.rowOffset + "," + this.rowCount + "]";
+        }
+        @Override
+        public void run() {
+            final MyCmnData cmn = this.cmn;
+            convert_noCheck(
+                cmn.srcConverter,
+                cmn.srcPremul,
+                cmn.srcArr,
+                cmn.srcOffset + this.rowOffset * cmn.srcScanlineStride,
+                cmn.srcScanlineStride,
+                cmn.dstConverter,
+                cmn.dstPremul,
+                cmn.dstArr,
+                cmn.dstOffset + this.rowOffset * cmn.dstScanlineStride,
+                cmn.dstScanlineStride,
+                cmn.width,
+                this.rowCount);
+        }
+        @Override
+        public boolean worthToSplit() {
+            return ScaledRectUtils.isWorthToSplit(
+                AREA_THRESHOLD_FOR_SPLIT,
+                this.cmn.width,
+                this.rowCount);
+        }
+        @Override
+        public InterfaceSplittable split() {
+            final int halfish = (this.rowCount >> 1);
+            final MySplittable ret = new MySplittable(
+                this.cmn,
+                this.rowOffset + halfish,
+                this.rowCount - halfish);
+            this.rowCount = halfish;
+            return ret;
+        }
+    }
+    
     //--------------------------------------------------------------------------
     // FIELDS
     //--------------------------------------------------------------------------
@@ -78,6 +244,8 @@ public class PixelFormatConverter {
     private final double gFfDivMax;
     private final double bFfDivMax;
     
+    private final MyFormat format;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -198,6 +366,226 @@ public class PixelFormatConverter {
         
         return aBits | rBits | gBits | bBits;
     }
+    
+    /*
+     * Bulk conversions.
+     */
+    
+    /**
+     * Equivalent to calling toArgb32(int) on each pixel of the area,
+     * but faster.
+     * Source and destination areas can be identical (same array,
+     * offset and scanline stride), but must not overlap otherwise.
+     * 
+     * @param pixelArr (in) Pixels in the format of this converter.
+     * @param pixelOffset Index of the top-left pixel of the area to convert.
+     * @param pixelScanlineStride Must be >= width.
+     * @param argb32Arr (out) ARGB32 colors.
+     * @param argb32Offset Index of the top-left color of the area to set.
+     * @param argb32ScanlineStride Must be >= width.
+     * @param width Width of the area to convert. Must be >= 0.
+     * @param height Height of the area to convert. Must be >= 0.
+     * @throws IllegalArgumentException if a scanline stride is
+     *         inferior to width, or width or height is negative.
+     * @throws ArrayIndexOutOfBoundsException if an area is not
+     *         inside its array.
+     */
+    public void toArgb32(
+        int[] pixelArr,
+        int pixelOffset,
+        int pixelScanlineStride,
+        int[] argb32Arr,
+        int argb32Offset,
+        int argb32ScanlineStride,
+        int width,
+        int height) {
+        checkArea(
+            pixelArr, pixelOffset, pixelScanlineStride,
+            argb32Arr, argb32Offset, argb32ScanlineStride,
+            width, height);
+        int srcIndex = pixelOffset;
+        int dstIndex = argb32Offset;
+        for (int j = 0; j < height; j++) {
+            this.toArgb32_row(pixelArr, srcIndex, argb32Arr, dstIndex, width);
+            srcIndex += pixelScanlineStride;
+            dstIndex += argb32ScanlineStride;
+        }
+    }
+    
+    /**
+     * Equivalent to calling toPixel(int) on each color of the area,
+     * but faster.
+     * Source and destination areas can be identical (same array,
+     * offset and scanline stride), but must not overlap otherwise.
+     * 
+     * @param argb32Arr (in) ARGB32 colors.
+     * @param argb32Offset Index of the top-left color of the area to convert.
+     * @param argb32ScanlineStride Must be >= width.
+     * @param pixelArr (out) Pixels in the format of this converter.
+     * @param pixelOffset Index of the top-left pixel of the area to set.
+     * @param pixelScanlineStride Must be >= width.
+     * @param width Width of the area to convert. Must be >= 0.
+     * @param height Height of the area to convert. Must be >= 0.
+     * @throws IllegalArgumentException if a scanline stride is
+     *         inferior to width, or width or height is negative.
+     * @throws ArrayIndexOutOfBoundsException if an area is not
+     *         inside its array.
+     */
+    public void toPixel(
+        int[] argb32Arr,
+        int argb32Offset,
+        int argb32ScanlineStride,
+        int[] pixelArr,
+        int pixelOffset,
+        int pixelScanlineStride,
+        int width,
+        int height) {
+        checkArea(
+            argb32Arr, argb32Offset, argb32ScanlineStride,
+            pixelArr, pixelOffset, pixelScanlineStride,
+            width, height);
+        int srcIndex = argb32Offset;
+        int dstIndex = pixelOffset;
+        for (int j = 0; j < height; j++) {
+            this.toPixel_row(argb32Arr, srcIndex, pixelArr, dstIndex, width);
+            srcIndex += argb32ScanlineStride;
+            dstIndex += pixelScanlineStride;
+        }
+    }
+    
+    /**
+     * Converts pixels from a format into another,
+     * taking care of alpha premultiplication changes.
+     * 
+     * Premultiplication is done on ARGB32 colors, which is fine
+     * since it's done component-wise.
+     * 
+     * Source and destination areas can be identical (same array,
+     * offset and scanline stride), but must not overlap otherwise.
+     * 
+     * @param srcConverter Converter for source format.
+     * @param srcPremul Whether source pixels are alpha-premultiplied.
+     * @param srcArr (in) Source pixels.
+     * @param srcOffset Index of the top-left pixel of the area to convert.
+     * @param srcScanlineStride Must be >= width.
+     * @param dstConverter Converter for destination format.
+     * @param dstPremul Whether destination pixels must be alpha-premultiplied.
+     * @param dstArr (out) Destination pixels.
+     * @param dstOffset Index of the top-left pixel of the area to set.
+     * @param dstScanlineStride Must be >= width.
+     * @param width Width of the area to convert. Must be >= 0.
+     * @param height Height of the area to convert. Must be >= 0.
+     * @throws NullPointerException if a converter or an array is null.
+     * @throws IllegalArgumentException if a scanline stride is
+     *         inferior to width, or width or height is negative.
+     * @throws ArrayIndexOutOfBoundsException if an area is not
+     *         inside its array.
+     */
+    public static void convert(
+        PixelFormatConverter srcConverter,
+        boolean srcPremul,
+        int[] srcArr,
+        int srcOffset,
+        int srcScanlineStride,
+        //
+        PixelFormatConverter dstConverter,
+        boolean dstPremul,
+        int[] dstArr,
+        int dstOffset,
+        int dstScanlineStride,
+        //
+        int width,
+        int height) {
+        LangUtils.requireNonNull(srcConverter);
+        LangUtils.requireNonNull(dstConverter);
+        checkArea(
+            srcArr, srcOffset, srcScanlineStride,
+            dstArr, dstOffset, dstScanlineStride,
+            width, height);
+        convert_noCheck(
+            srcConverter,
+            srcPremul,
+            srcArr,
+            srcOffset,
+            srcScanlineStride,
+            //
+            dstConverter,
+            dstPremul,
+            dstArr,
+            dstOffset,
+            dstScanlineStride,
+            //
+            width,
+            height);
+    }
+    
+    /**
+     * Same as convert(...) without parallelizer, but splitting rows
+     * over the specified parallelizer if worth it.
+     * 
+     * @param parallelizer Must not be null. If parallelism <= 1, not used.
+     */
+    public static void convert(
+        InterfaceParallelizer parallelizer,
+        //
+        PixelFormatConverter srcConverter,
+        boolean srcPremul,
+        int[] srcArr,
+        int srcOffset,
+        int srcScanlineStride,
+        //
+        PixelFormatConverter dstConverter,
+        boolean dstPremul,
+        int[] dstArr,
+        int dstOffset,
+        int dstScanlineStride,
+        //
+        int width,
+        int height) {
+        LangUtils.requireNonNull(srcConverter);
+        LangUtils.requireNonNull(dstConverter);
+        checkArea(
+            srcArr, srcOffset, srcScanlineStride,
+            dstArr, dstOffset, dstScanlineStride,
+            width, height);
+        if ((parallelizer.getParallelism() >= 2)
+            && ScaledRectUtils.isWorthToSplit(
+                AREA_THRESHOLD_FOR_SPLIT,
+                width,
+                height)) {
+            final MyCmnData cmn = new MyCmnData(
+                srcConverter,
+                srcPremul,
+                srcArr,
+                srcOffset,
+                srcScanlineStride,
+                //
+                dstConverter,
+                dstPremul,
+                dstArr,
+                dstOffset,
+                dstScanlineStride,
+                //
+                width);
+            parallelizer.execute(new MySplittable(cmn, 0, height));
+        } else {
+            convert_noCheck(
+                srcConverter,
+                srcPremul,
+                srcArr,
+                srcOffset,
+                srcScanlineStride,
+                //
+                dstConverter,
+                dstPremul,
+                dstArr,
+                dstOffset,
+                dstScanlineStride,
+                //
+                width,
+                height);
+        }
+    }
 
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
@@ -250,6 +638,8 @@ public class PixelFormatConverter {
         this.rFfDivMax = computeFfDivMax(this.rBitSize);
         this.gFfDivMax = computeFfDivMax(this.gBitSize);
         this.bFfDivMax = computeFfDivMax(this.bBitSize);
+        
+        this.format = MyFormat.valueOf(aMask, rMask, gMask, bMask);
     }
     
     /*
@@ -321,4 +711,194 @@ public class PixelFormatConverter {
         int cpt8, int shift, int bitSize) {
         return ((cpt8 >> (8 - bitSize)) << shift);
     }
+    
+    /*
+     * Bulk conversions.
+     */
+    
+    private static void checkArea(
+        int[] srcArr,
+        int srcOffset,
+        int srcScanlineStride,
+        int[] dstArr,
+        int dstOffset,
+        int dstScanlineStride,
+        int width,
+        int height) {
+        LangUtils.requireNonNull(srcArr);
+        LangUtils.requireNonNull(dstArr);
+        NbrsUtils.requireSupOrEq(0, width, "width");
+        NbrsUtils.requireSupOrEq(0, height, "height");
+        NbrsUtils.requireSupOrEq(width, srcScanlineStride, "srcScanlineStride");
+        NbrsUtils.requireSupOrEq(width, dstScanlineStride, "dstScanlineStride");
+        if ((width == 0) || (height == 0)) {
+            return;
+        }
+        checkAreaInArray(srcArr.length, srcOffset, srcScanlineStride, width, height);
+        checkAreaInArray(dstArr.length, dstOffset, dstScanlineStride, width, height);
+    }
+    
+    private static void checkAreaInArray(
+        int arrayLength,
+        int offset,
+        int scanlineStride,
+        int width,
+        int height) {
+        // Using long to avoid overflows.
+        final long lastIndexExcl =
+            offset + (height - 1) * (long) scanlineStride + width;
+        if ((offset < 0)
+            || (lastIndexExcl > arrayLength)) {
+            throw new ArrayIndexOutOfBoundsException(
+                "area [offset = " + offset
+                + ", scanlineStride = " + scanlineStride
+                + ", width = " + width
+                + ", height = " + height
+                + "] not in array of length " + arrayLength);
+        }
+    }
+    
+    private static void convert_noCheck(
+        PixelFormatConverter srcConverter,
+        boolean srcPremul,
+        int[] srcArr,
+        int srcOffset,
+        int srcScanlineStride,
+        //
+        PixelFormatConverter dstConverter,
+        boolean dstPremul,
+        int[] dstArr,
+        int dstOffset,
+        int dstScanlineStride,
+        //
+        int width,
+        int height) {
+        
+        final boolean sameFormat = srcConverter.equals(dstConverter);
+        final boolean needPremulRework = (srcPremul != dstPremul);
+        
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+        for (int j = 0; j < height; j++) {
+            if (sameFormat
+                && (!needPremulRework)) {
+                if ((srcArr != dstArr)
+                    || (srcIndex != dstIndex)) {
+                    System.arraycopy(srcArr, srcIndex, dstArr, dstIndex, width);
+                }
+            } else {
+                /*
+                 * Doing all the work in destination row,
+                 * which should stay in cache.
+                 */
+                srcConverter.toArgb32_row(srcArr, srcIndex, dstArr, dstIndex, width);
+                if (needPremulRework) {
+                    if (dstPremul) {
+                        BindingColorUtils.toPremulAxyz32(dstArr, dstIndex, dstArr, dstIndex, width);
+                    } else {
+                        BindingColorUtils.toNonPremulAxyz32(dstArr, dstIndex, dstArr, dstIndex, width);
+                    }
+                }
+                dstConverter.toPixel_row(dstArr, dstIndex, dstArr, dstIndex, width);
+            }
+            srcIndex += srcScanlineStride;
+            dstIndex += dstScanlineStride;
+        }
+    }
+    
+    private void toArgb32_row(
+        int[] pixelArr,
+        int pixelIndex,
+        int[] argb32Arr,
+        int argb32Index,
+        int length) {
+        final int delta = argb32Index - pixelIndex;
+        final int end = pixelIndex + length;
+        switch (this.format) {
+            case ARGB32: {
+                if ((pixelArr != argb32Arr)
+                    || (delta != 0)) {
+                    System.arraycopy(pixelArr, pixelIndex, argb32Arr, argb32Index, length);
+                }
+            } break;
+            case ABGR32: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = BindingColorUtils.toArgb32FromAbgr32(pixelArr[i]);
+                }
+            } break;
+            case RGBA32: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = BindingColorUtils.toArgb32FromRgba32(pixelArr[i]);
+                }
+            } break;
+            case BGRA32: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = BindingColorUtils.toArgb32FromBgra32(pixelArr[i]);
+                }
+            } break;
+            case XRGB24: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = 0xFF000000 | pixelArr[i];
+                }
+            } break;
+            case XBGR24: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = 0xFF000000 | BindingColorUtils.toArgb32FromAbgr32(pixelArr[i]);
+                }
+            } break;
+            default: {
+                for (int i = pixelIndex; i < end; i++) {
+                    argb32Arr[i + delta] = this.toArgb32(pixelArr[i]);
+                }
+            } break;
+        }
+    }
+    
+    private void toPixel_row(
+        int[] argb32Arr,
+        int argb32Index,
+        int[] pixelArr,
+        int pixelIndex,
+        int length) {
+        final int delta = pixelIndex - argb32Index;
+        final int end = argb32Index + length;
+        switch (this.format) {
+            case ARGB32: {
+                if ((argb32Arr != pixelArr)
+                    || (delta != 0)) {
+                    System.arraycopy(argb32Arr, argb32Index, pixelArr, pixelIndex, length);
+                }
+            } break;
+            case ABGR32: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = BindingColorUtils.toAbgr32FromArgb32(argb32Arr[i]);
+                }
+            } break;
+            case RGBA32: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = BindingColorUtils.toRgba32FromArgb32(argb32Arr[i]);
+                }
+            } break;
+            case BGRA32: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = BindingColorUtils.toBgra32FromArgb32(argb32Arr[i]);
+                }
+            } break;
+            case XRGB24: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = 0x00FFFFFF & argb32Arr[i];
+                }
+            } break;
+            case XBGR24: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = 0x00FFFFFF & BindingColorUtils.toAbgr32FromArgb32(argb32Arr[i]);
+                }
+            } break;
+            default: {
+                for (int i = argb32Index; i < end; i++) {
+                    pixelArr[i + delta] = this.toPixel(argb32Arr[i]);
+                }
+            } break;
+        }
+    }
 }
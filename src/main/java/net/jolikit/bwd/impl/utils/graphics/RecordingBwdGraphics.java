@@ -0,0 +1,630 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Arrays;
+
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.fonts.BindingTextUtils;
+import net.jolikit.bwd.impl.utils.gprim.GprimUtils;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.SequentialParallelizer;
+
+/**
+ * Graphics that doesn't draw anything, but records drawing operations,
+ * along with the state they use, into a DisplayList, for later replay
+ * on actual graphics (cf. DisplayList).
+ * 
+ * Child graphics record into the same display list.
+ * Drawings that would not draw anything due to clipping are not recorded.
+ * 
+ * Pixels can't be read: getArgb32At(...) and related methods
+ * return 0 (fully transparent color).
+ * Painting parallelizer is sequential, since the display list
+ * is not thread-safe.
+ */
+public class RecordingBwdGraphics extends AbstractBwdGraphics {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Only used to compute drawLineStipple(...) returned pixelNum.
+     */
+    private static class MyPrimitives extends AbstractBwdPrimitives {
+        @Override
+        public boolean isColorOpaque() {
+            return true;
+        }
+        @Override
+        public void drawPointInClip(int x, int y) {
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final MyPrimitives primitives = new MyPrimitives();
+    
+    private final DisplayList displayList;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param box Box, in the base coordinates of the graphics
+     *        on which the display list is to be replayed.
+     * @param initialClip Initial clip, in the same base coordinates.
+     * @param displayList Display list to record into.
+     */
+    public RecordingBwdGraphics(
+            InterfaceBwdBindingImpl binding,
+            GRect box,
+            GRect initialClip,
+            DisplayList displayList) {
+        this(
+                binding,
+                topLeftOf(box),
+                box,
+                initialClip,
+                displayList);
+    }
+    
+    /**
+     * @return The display list this graphics records into.
+     */
+    public DisplayList getDisplayList() {
+        return this.displayList;
+    }
+    
+    /**
+     * @return A sequential parallelizer.
+     */
+    @Override
+    public InterfaceParallelizer getPaintingParallelizer() {
+        return SequentialParallelizer.getDefault();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void clearRect(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        if (this.beginDrawOp(
+                DisplayList.OP_CLEAR_RECT,
+                this.rectBboxInBase(x, y, xSpan, ySpan),
+                false)) {
+            this.addRectArgs(x, y, xSpan, ySpan);
+        }
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawPoint(int x, int y) {
+        this.checkUsableForContentChange();
+        
+        if (this.beginDrawOp(
+                DisplayList.OP_POINT,
+                this.bboxInBase(x, y, x, y),
+                false)) {
+            final DisplayList list = this.displayList;
+            list.addInt(x);
+            list.addInt(y);
+        }
+    }
+    
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.checkUsableForContentChange();
+        
+        if (this.beginDrawOp(
+                DisplayList.OP_LINE,
+                this.lineBboxInBase(x1, y1, x2, y2),
+                false)) {
+            this.addRectArgs(x1, y1, x2, y2);
+        }
+    }
+    
+    @Override
+    public int drawLineStipple(
+            int x1, int y1, int x2, int y2,
+            int factor, short pattern, int pixelNum) {
+        // Does checks and computes returned pixelNum.
+        final int ret = super.drawLineStipple(
+                x1, y1, x2, y2,
+                factor, pattern, pixelNum);
+        
+        if (this.beginDrawOp(
+                DisplayList.OP_LINE_STIPPLE,
+                this.lineBboxInBase(x1, y1, x2, y2),
+                false)) {
+            this.addRectArgs(x1, y1, x2, y2);
+            final DisplayList list = this.displayList;
+            list.addInt(factor);
+            list.addInt(pattern);
+            list.addInt(pixelNum);
+        }
+        return ret;
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawRect(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        this.recordRectOp(DisplayList.OP_DRAW_RECT, x, y, xSpan, ySpan);
+    }
+    
+    @Override
+    public void fillRect(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        this.recordRectOp(DisplayList.OP_FILL_RECT, x, y, xSpan, ySpan);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawOval(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        this.recordRectOp(DisplayList.OP_DRAW_OVAL, x, y, xSpan, ySpan);
+    }
+    
+    @Override
+    public void fillOval(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        this.recordRectOp(DisplayList.OP_FILL_OVAL, x, y, xSpan, ySpan);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawArc(
+            int x, int y, int xSpan, int ySpan,
+            double startDeg, double spanDeg) {
+        this.checkUsableForContentChange();
+        GprimUtils.checkArcAngles(startDeg, spanDeg);
+        
+        this.recordArcOp(
+                DisplayList.OP_DRAW_ARC,
+                x, y, xSpan, ySpan,
+                startDeg, spanDeg);
+    }
+    
+    @Override
+    public void fillArc(
+            int x, int y, int xSpan, int ySpan,
+            double startDeg, double spanDeg) {
+        this.checkUsableForContentChange();
+        GprimUtils.checkArcAngles(startDeg, spanDeg);
+        
+        this.recordArcOp(
+                DisplayList.OP_FILL_ARC,
+                x, y, xSpan, ySpan,
+                startDeg, spanDeg);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawPolyline(
+            int[] xArr,
+            int[] yArr,
+            int pointCount) {
+        this.checkUsableForContentChange();
+        GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
+        
+        this.recordPolyOp(DisplayList.OP_DRAW_POLYLINE, xArr, yArr, pointCount);
+    }
+    
+    @Override
+    public void drawPolygon(
+            int[] xArr,
+            int[] yArr,
+            int pointCount) {
+        this.checkUsableForContentChange();
+        GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
+        
+        this.recordPolyOp(DisplayList.OP_DRAW_POLYGON, xArr, yArr, pointCount);
+    }
+    
+    @Override
+    public void fillPolygon(
+            int[] xArr,
+            int[] yArr,
+            int pointCount) {
+        this.checkUsableForContentChange();
+        GprimUtils.checkPolyArgs(xArr, yArr, pointCount);
+        
+        this.recordPolyOp(DisplayList.OP_FILL_POLYGON, xArr, yArr, pointCount);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void drawText(
+            int x, int y,
+            String text) {
+        this.checkUsableForContentChange();
+        LangUtils.requireNonNull(text);
+        
+        final InterfaceBwdFont font = this.getFont();
+        if (font.isDisposed()) {
+            throw new IllegalStateException("current font is disposed: " + font);
+        }
+        
+        final InterfaceBwdFontMetrics metrics = font.metrics();
+        final int theoTextHeight = metrics.height();
+        if (theoTextHeight <= 0) {
+            return;
+        }
+        final int theoTextWidth = metrics.computeTextWidth(text);
+        
+        /*
+         * Glyphs can leak out of theoretical text box
+         * (italic, accents, etc.), so we use the same
+         * enlarged box as graphics drawing text.
+         */
+        final GRect maxTextRectInText = BindingTextUtils.computeMaxTextRectInText(
+                font,
+                theoTextWidth,
+                theoTextHeight);
+        if (this.beginDrawOp(
+                DisplayList.OP_TEXT,
+                this.bboxInBase(
+                        x + (long) maxTextRectInText.x(),
+                        y + (long) maxTextRectInText.y(),
+                        x + (long) maxTextRectInText.xMax(),
+                        y + (long) maxTextRectInText.yMax()),
+                false)) {
+            final DisplayList list = this.displayList;
+            list.addInt(x);
+            list.addInt(y);
+            list.addInt(list.addObj(text));
+        }
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void flipColors(int x, int y, int xSpan, int ySpan) {
+        this.checkUsableForContentChange();
+        
+        this.recordRectOp(DisplayList.OP_FLIP_COLORS, x, y, xSpan, ySpan);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected void finishImpl() {
+        // Nothing to do.
+    }
+    
+    @Override
+    protected RecordingBwdGraphics newChildGraphicsImpl(
+            GRect childBox,
+            GRect childMaxInitialClip) {
+        this.checkFinishNotCalled();
+        
+        final GRect childInitialClip =
+                this.getInitialClipInBase().intersected(
+                        childMaxInitialClip.intersected(childBox));
+        
+        return new RecordingBwdGraphics(
+                this.getBinding(),
+                this.getRootBoxTopLeft(),
+                childBox,
+                childInitialClip,
+                this.displayList);
+    }
+    
+    /*
+     * State is recorded lazily, before each drawing,
+     * so backing state setters have nothing to do.
+     */
+    
+    @Override
+    protected void setBackingClip(GRect clipInBase) {
+    }
+    
+    @Override
+    protected void setBackingTransform(GTransform transform) {
+    }
+    
+    @Override
+    protected void setBackingArgb(int argb32, BwdColor colorElseNull) {
+    }
+    
+    @Override
+    protected void setBackingFont(InterfaceBwdFont font) {
+    }
+    
+    @Override
+    protected void setBackingState(
+        boolean mustSetClip,
+        GRect clipInBase,
+        //
+        boolean mustSetTransform,
+        GTransform transform,
+        //
+        boolean mustSetColor,
+        int argb32,
+        BwdColor colorElseNull,
+        //
+        boolean mustSetFont,
+        InterfaceBwdFont font) {
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    protected AbstractBwdPrimitives getPrimitives() {
+        return this.primitives;
+    }
+    
+    /**
+     * Records the copy, which makes the display list not tile-replayable.
+     */
+    @Override
+    protected void copyAreaInClipImpl(GRect srcRect, int dx, int dy) {
+        if (this.beginDrawOp(
+                DisplayList.OP_COPY_AREA,
+                this.getClipInBase(),
+                false)) {
+            this.addRectArgs(srcRect.x(), srcRect.y(), srcRect.xSpan(), srcRect.ySpan());
+            final DisplayList list = this.displayList;
+            list.addInt(dx);
+            list.addInt(dy);
+        }
+    }
+    
+    /**
+     * Records a copy of the pixels in clip.
+     */
+    @Override
+    protected void drawPixelsInClipImpl(
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride,
+            GRect rect,
+            GRect rectInClip) {
+        final int xSpan = rectInClip.xSpan();
+        final int ySpan = rectInClip.ySpan();
+        final int[] pixelArr = new int[xSpan * ySpan];
+        final int firstSrcIndex =
+                offset
+                + (rectInClip.y() - rect.y()) * scanlineStride
+                + (rectInClip.x() - rect.x());
+        for (int j = 0; j < ySpan; j++) {
+            System.arraycopy(
+                    argb32Arr,
+                    firstSrcIndex + j * scanlineStride,
+                    pixelArr,
+                    j * xSpan,
+                    xSpan);
+        }
+        
+        if (this.beginDrawOp(
+                DisplayList.OP_PIXELS,
+                this.getTransform().rectIn1(rectInClip),
+                false)) {
+            final DisplayList list = this.displayList;
+            list.addInt(list.addObj(pixelArr));
+            this.addRectArgs(rectInClip.x(), rectInClip.y(), xSpan, ySpan);
+        }
+    }
+    
+    @Override
+    protected void drawImageImpl(
+            int x, int y, int xSpan, int ySpan,
+            InterfaceBwdImage image,
+            int sx, int sy, int sxSpan, int sySpan) {
+        if (this.beginDrawOp(
+                DisplayList.OP_IMAGE,
+                this.rectBboxInBase(x, y, xSpan, ySpan),
+                true)) {
+            this.addRectArgs(x, y, xSpan, ySpan);
+            final DisplayList list = this.displayList;
+            list.addInt(list.addObj(image));
+            this.addRectArgs(sx, sy, sxSpan, sySpan);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private RecordingBwdGraphics(
+            InterfaceBwdBindingImpl binding,
+            GPoint rootBoxTopLeft,
+            GRect box,
+            GRect initialClip,
+            DisplayList displayList) {
+        super(
+                binding,
+                rootBoxTopLeft,
+                box,
+                initialClip);
+        this.displayList = LangUtils.requireNonNull(displayList);
+    }
+    
+    /**
+     * @param bboxInBaseElseNull Null if nothing to draw.
+     * @param isImageOp True if the operation uses image scaling type.
+     * @return True if the operation must be recorded, in which case
+     *         its args must then be added to the display list.
+     */
+    private boolean beginDrawOp(
+            int op,
+            GRect bboxInBaseElseNull,
+            boolean isImageOp) {
+        if (bboxInBaseElseNull == null) {
+            return false;
+        }
+        final DisplayList list = this.displayList;
+        list.addStateIfChanged(
+                this.getClipInBase(),
+                this.getTransform(),
+                this.getArgb64(),
+                this.getFont(),
+                (isImageOp ? this.getImageScalingType() : null));
+        list.addDrawOp(op, bboxInBaseElseNull);
+        return true;
+    }
+    
+    private void addRectArgs(int a, int b, int c, int d) {
+        final DisplayList list = this.displayList;
+        list.addInt(a);
+        list.addInt(b);
+        list.addInt(c);
+        list.addInt(d);
+    }
+    
+    private void recordRectOp(int op, int x, int y, int xSpan, int ySpan) {
+        if (this.beginDrawOp(
+                op,
+                this.rectBboxInBase(x, y, xSpan, ySpan),
+                false)) {
+            this.addRectArgs(x, y, xSpan, ySpan);
+        }
+    }
+    
+    private void recordArcOp(
+            int op,
+            int x, int y, int xSpan, int ySpan,
+            double startDeg, double spanDeg) {
+        if (this.beginDrawOp(
+                op,
+                this.rectBboxInBase(x, y, xSpan, ySpan),
+                false)) {
+            this.addRectArgs(x, y, xSpan, ySpan);
+            final DisplayList list = this.displayList;
+            list.addLong(Double.doubleToRawLongBits(startDeg));
+            list.addLong(Double.doubleToRawLongBits(spanDeg));
+        }
+    }
+    
+    private void recordPolyOp(
+            int op,
+            int[] xArr,
+            int[] yArr,
+            int pointCount) {
+        if (pointCount <= 0) {
+            return;
+        }
+        int xMin = Integer.MAX_VALUE;
+        int yMin = Integer.MAX_VALUE;
+        int xMax = Integer.MIN_VALUE;
+        int yMax = Integer.MIN_VALUE;
+        for (int i = 0; i < pointCount; i++) {
+            final int x = xArr[i];
+            final int y = yArr[i];
+            xMin = Math.min(xMin, x);
+            yMin = Math.min(yMin, y);
+            xMax = Math.max(xMax, x);
+            yMax = Math.max(yMax, y);
+        }
+        if (this.beginDrawOp(
+                op,
+                this.bboxInBase(xMin, yMin, xMax, yMax),
+                false)) {
+            final DisplayList list = this.displayList;
+            final int xArrIndex = list.addObj(Arrays.copyOf(xArr, pointCount));
+            list.addObj(Arrays.copyOf(yArr, pointCount));
+            list.addInt(xArrIndex);
+            list.addInt(pointCount);
+        }
+    }
+    
+    private GRect lineBboxInBase(int x1, int y1, int x2, int y2) {
+        return this.bboxInBase(
+                Math.min(x1, x2),
+                Math.min(y1, y2),
+                Math.max(x1, x2),
+                Math.max(y1, y2));
+    }
+    
+    /**
+     * @return Bounding box in base, or null if empty.
+     */
+    private GRect rectBboxInBase(int x, int y, int xSpan, int ySpan) {
+        if ((xSpan <= 0) || (ySpan <= 0)) {
+            return null;
+        }
+        return this.bboxInBase(
+                x,
+                y,
+                x + (long) xSpan - 1,
+                y + (long) ySpan - 1);
+    }
+    
+    /**
+     * @return The specified bounding box in user coordinates, clipped
+     *         and converted into base coordinates, or null if empty.
+     */
+    private GRect bboxInBase(long xMin, long yMin, long xMax, long yMax) {
+        final GRect clip = this.getClipInUser();
+        xMin = Math.max(xMin, clip.x());
+        yMin = Math.max(yMin, clip.y());
+        xMax = Math.min(xMax, clip.xMaxLong());
+        yMax = Math.min(yMax, clip.yMaxLong());
+        if ((xMin > xMax) || (yMin > yMax)) {
+            return null;
+        }
+        final GRect bboxInUser = GRect.valueOf(
+                (int) xMin,
+                (int) yMin,
+                (int) (xMax - xMin + 1),
+                (int) (yMax - yMin + 1));
+        return this.getTransform().rectIn1(bboxInUser);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import net.jolikit.bwd.api.graphics.BwdScalingType;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache.InterfaceKeyFilter;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Thread-safe cache of scaled images pixels, keyed by image, source rect,
+ * destination spans, scaling type and color type, with LRU eviction
+ * when total pixels size exceeds a byte budget.
+ * 
+ * Allows to draw an image scaled the same way as in a previous drawing
+ * by just blending cached pixels, instead of running the scaling again,
+ * which helps for UIs redrawing the same images at the same sizes
+ * at each frame.
+ * Meant to be shared by all graphics of a binding,
+ * and owned by the binding.
+ */
+public class ScaledImageCache {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Mutable, for lookups not to create garbage,
+     * but never modified once used as a key in the map.
+     */
+    private static class MyKey {
+        private InterfaceBwdImage image;
+        private GRect srcRect;
+        private int dstXSpan;
+        private int dstYSpan;
+        private BwdScalingType scalingType;
+        private InterfaceColorTypeHelper colorTypeHelper;
+        public MyKey() {
+        }
+        public MyKey(
+                InterfaceBwdImage image,
+                GRect srcRect,
+                int dstXSpan,
+                int dstYSpan,
+                BwdScalingType scalingType,
+                InterfaceColorTypeHelper colorTypeHelper) {
+            this.configure(
+                    image,
+                    srcRect,
+                    dstXSpan,
+                    dstYSpan,
+                    scalingType,
+                    colorTypeHelper);
+        }
+        public void configure(
+                InterfaceBwdImage image,
+                GRect srcRect,
+                int dstXSpan,
+                int dstYSpan,
+                BwdScalingType scalingType,
+                InterfaceColorTypeHelper colorTypeHelper) {
+            this.image = image;
+            this.srcRect = srcRect;
+            this.dstXSpan = dstXSpan;
+            this.dstYSpan = dstYSpan;
+            this.scalingType = scalingType;
+            this.colorTypeHelper = colorTypeHelper;
+        }
+        @Override
+        public int hashCode() {
+            // Identity hash code for image,
+            // not meant to be equal to other instances.
+            int h = System.identityHashCode(this.image);
+            h = h * 31 + this.srcRect.hashCode();
+            h = h * 31 + this.dstXSpan;
+            h = h * 31 + this.dstYSpan;
+            h = h * 31 + this.scalingType.ordinal();
+            return h * 31 + this.colorTypeHelper.hashCode();
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MyKey)) {
+                return false;
+            }
+            final MyKey other = (MyKey) obj;
+            return (this.image == other.image)
+                    && (this.dstXSpan == other.dstXSpan)
+                    && (this.dstYSpan == other.dstYSpan)
+                    && (this.scalingType == other.scalingType)
+                    && this.srcRect.equals(other.srcRect)
+                    && this.colorTypeHelper.equals(other.colorTypeHelper);
+        }
+    }
+    
+    /**
+     * Immutable.
+     */
+    private static class MyScaledImage {
+        final long contentVersion;
+        final int[] color32Arr;
+        public MyScaledImage(
+                long contentVersion,
+                int[] color32Arr) {
+            this.contentVersion = contentVersion;
+            this.color32Arr = color32Arr;
+        }
+        public long getByteSize() {
+            return this.color32Arr.length * 4L;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Sizes in bytes.
+     */
+    private final BudgetedLruCache<MyKey,MyScaledImage> cache;
+    
+    /**
+     * Guarded by cache mutex.
+     */
+    private final MyKey tmpKey = new MyKey();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param maxByteSize Max total byte size of cached pixels
+     *        (4 bytes per pixel). Must be > 0.
+     */
+    public ScaledImageCache(long maxByteSize) {
+        this.cache = new BudgetedLruCache<MyKey,MyScaledImage>(
+                NbrsUtils.requireSup(0L, maxByteSize, "maxByteSize"));
+    }
+    
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+    
+    public long getMaxByteSize() {
+        return this.cache.getMaxTotalSize();
+    }
+    
+    /**
+     * @param dstXSpan Destination x span.
+     * @param dstYSpan Destination y span.
+     * @return True if scaled pixels for the specified destination spans
+     *         are small enough to be cached.
+     */
+    public boolean isCacheable(int dstXSpan, int dstYSpan) {
+        return (dstXSpan * (long) dstYSpan) * 4L <= this.cache.getMaxTotalSize();
+    }
+    
+    /**
+     * If a cached scaled image has another content version,
+     * it is removed.
+     * 
+     * @param contentVersion Version of image content (>= 0),
+     *        (always 0 for non-writable images).
+     * @return Pixels of the scaled image, dstXSpan by dstYSpan,
+     *         with dstXSpan as scanline stride, or null if it is not
+     *         in cache. Must not be modified.
+     */
+    public int[] get(
+            InterfaceBwdImage image,
+            long contentVersion,
+            GRect srcRect,
+            int dstXSpan,
+            int dstYSpan,
+            BwdScalingType scalingType,
+            InterfaceColorTypeHelper colorTypeHelper) {
+        checkKeyArgs(image, srcRect, scalingType, colorTypeHelper);
+        final BudgetedLruCache<MyKey,MyScaledImage> cache = this.cache;
+        synchronized (cache.getMutex()) {
+            final MyKey key = this.tmpKey;
+            key.configure(
+                    image,
+                    srcRect,
+                    dstXSpan,
+                    dstYSpan,
+                    scalingType,
+                    colorTypeHelper);
+            MyScaledImage scaledImage = cache.peek(key);
+            if ((scaledImage != null)
+                    && (scaledImage.contentVersion != contentVersion)) {
+                // Stale: removing it.
+                cache.remove(key);
+                scaledImage = null;
+            }
+            key.configure(null, null, 0, 0, null, null);
+            if (scaledImage != null) {
+                cache.countHit();
+                return scaledImage.color32Arr;
+            } else {
+                cache.countMiss();
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Does nothing if the specified pixels are larger than max byte size.
+     * Else, evicts least recently used scaled images as needed.
+     * 
+     * @param color32Arr Pixels of the scaled image, dstXSpan by dstYSpan,
+     *        with dstXSpan as scanline stride. Not copied, so must not be
+     *        modified afterwards.
+     */
+    public void put(
+            InterfaceBwdImage image,
+            long contentVersion,
+            GRect srcRect,
+            int dstXSpan,
+            int dstYSpan,
+            BwdScalingType scalingType,
+            InterfaceColorTypeHelper colorTypeHelper,
+            int[] color32Arr) {
+        checkKeyArgs(image, srcRect, scalingType, colorTypeHelper);
+        NbrsUtils.requireSupOrEq(0L, contentVersion, "contentVersion");
+        if (color32Arr.length != dstXSpan * (long) dstYSpan) {
+            throw new IllegalArgumentException(
+                    "color32Arr.length [" + color32Arr.length
+                    + "] must be " + dstXSpan + " * " + dstYSpan);
+        }
+        final MyScaledImage scaledImage = new MyScaledImage(
+                contentVersion,
+                color32Arr);
+        this.cache.put(
+                new MyKey(
+                        image,
+                        srcRect,
+                        dstXSpan,
+                        dstYSpan,
+                        scalingType,
+                        colorTypeHelper),
+                scaledImage,
+                scaledImage.getByteSize());
+    }
+    
+    /**
+     * Useful when an image is disposed.
+     * 
+     * @param image Image which scaled images must be removed.
+     */
+    public void removeAllForImage(final InterfaceBwdImage image) {
+        LangUtils.requireNonNull(image);
+        this.cache.removeAll(new InterfaceKeyFilter<MyKey>() {
+            @Override
+            public boolean accept(MyKey key) {
+                return key.image == image;
+            }
+        });
+    }
+    
+    /**
+     * Removes all scaled images. Doesn't reset statistics.
+     */
+    public void clear() {
+        this.cache.clear();
+    }
+    
+    /*
+     * Statistics.
+     */
+    
+    /**
+     * @return The number of cached scaled images.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+    
+    /**
+     * @return Total byte size of cached pixels.
+     */
+    public long getByteSize() {
+        return this.cache.getTotalSize();
+    }
+    
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+    
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+    
+    /**
+     * @return The number of scaled images evicted due to byte budget.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static void checkKeyArgs(
+            InterfaceBwdImage image,
+            GRect srcRect,
+            BwdScalingType scalingType,
+            InterfaceColorTypeHelper colorTypeHelper) {
+        LangUtils.requireNonNull(image);
+        LangUtils.requireNonNull(srcRect);
+        LangUtils.requireNonNull(scalingType);
+        LangUtils.requireNonNull(colorTypeHelper);
+    }
+}
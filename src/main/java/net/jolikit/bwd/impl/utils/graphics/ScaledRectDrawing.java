@@ -17,6 +17,7 @@ package net.jolikit.bwd.impl.utils.graphics;
 
 import net.jolikit.bwd.api.graphics.BwdScalingType;
 import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
 import net.jolikit.threading.prl.InterfaceParallelizer;
 
 public class ScaledRectDrawing {
@@ -67,6 +68,51 @@ public class ScaledRectDrawing {
         GRect dstRect,
         GRect dstClip,
         InterfaceRowDrawer dstRowDrawer) {
+        drawScaledRect(
+            parallelizer,
+            scalingType,
+            colorTypeHelper,
+            //
+            srcPixels,
+            srcRect,
+            //
+            dstRect,
+            dstClip,
+            dstRowDrawer,
+            //
+            null,
+            null,
+            0L);
+    }
+    
+    /**
+     * Same as drawScaledRect(...) without mipmap arguments,
+     * except that for iterative scalings, when drawing the whole image
+     * and downscaling enough, starts from the nearest mipmap level
+     * (same result, since levels are the intermediary images
+     * that would be computed).
+     * 
+     * @param mipmapCache Cache of mipmaps. Can be null,
+     *        in which case mipmaps are not used.
+     * @param srcImage Image which pixels are srcPixels, and which mipmap
+     *        must be used. Can be null if mipmapCache is null.
+     * @param srcContentVersion Version of image content (>= 0).
+     */
+    public static void drawScaledRect(
+        InterfaceParallelizer parallelizer,
+        BwdScalingType scalingType,
+        InterfaceColorTypeHelper colorTypeHelper,
+        //
+        InterfaceSrcPixels srcPixels,
+        GRect srcRect,
+        //
+        GRect dstRect,
+        GRect dstClip,
+        InterfaceRowDrawer dstRowDrawer,
+        //
+        MipmapCache mipmapCache,
+        InterfaceBwdImage srcImage,
+        long srcContentVersion) {
         
         final int sw = srcRect.xSpan();
         final int sh = srcRect.ySpan();
@@ -113,6 +159,40 @@ public class ScaledRectDrawing {
                 throw new AssertionError();
         }
         
+        if ((mipmapCache != null)
+            && srcRect.equals(srcPixels.getRect())) {
+            final SrdIterForDown mipmapDrawer;
+            switch (scalingType) {
+                case ITERATIVE_BILINEAR:
+                case ITERATIVE_BILINEAR_BICUBIC:
+                    // When downscaling on both axes (as required
+                    // for mipmaps use), bilinear-bicubic just uses
+                    // iterative bilinear.
+                    mipmapDrawer = SRD_ITER_BILI;
+                    break;
+                case ITERATIVE_BICUBIC:
+                    mipmapDrawer = SRD_ITER_BICU;
+                    break;
+                default:
+                    mipmapDrawer = null;
+                    break;
+            }
+            if (mipmapDrawer != null) {
+                final int level = SrdIterForDown.computeMipmapLevel(sw, sh, dw, dh);
+                if (level != 0) {
+                    srcPixels = mipmapCache.getLevelPixels(
+                        parallelizer,
+                        colorTypeHelper,
+                        mipmapDrawer,
+                        srcImage,
+                        srcContentVersion,
+                        srcPixels,
+                        level);
+                    srcRect = srcPixels.getRect();
+                }
+            }
+        }
+        
         drawer.drawScaledRect(
             parallelizer,
             colorTypeHelper,
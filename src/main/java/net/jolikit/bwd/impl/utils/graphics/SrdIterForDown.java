@@ -54,6 +54,55 @@ public class SrdIterForDown implements InterfaceScaledRectDrawer {
         return "[iter-" + this.drawer + "]";
     }
     
+    /**
+     * Mipmap levels are the intermediary images computed when downscaling
+     * to spans small enough, level 1 having source spans halved (ceiled),
+     * and so on.
+     * 
+     * @param previousSpan Span of the previous level.
+     * @return Span of the next level.
+     */
+    public static int computeMipmapSpan(int previousSpan) {
+        // Same as when downscaling to 1.
+        return computeDownscaledSpan(previousSpan, 1);
+    }
+    
+    /**
+     * Drawing from the returned level (with a source rect covering it),
+     * instead of from the source, gives the same result,
+     * since the same intermediary images are computed from there.
+     * 
+     * @return The deepest mipmap level computed when downscaling
+     *         from source spans to destination spans, or 0 if none.
+     */
+    public static int computeMipmapLevel(
+        int sw, int sh,
+        int dw, int dh) {
+        int level = 0;
+        int tmpSw = sw;
+        int tmpSh = sh;
+        while (true) {
+            final int tmpDw = computeDownscaledSpan(tmpSw, dw);
+            final int tmpDh = computeDownscaledSpan(tmpSh, dh);
+            final boolean isLastDraw =
+                (tmpDw <= dw)
+                && (tmpDh <= dh);
+            if (isLastDraw) {
+                break;
+            }
+            if ((tmpDw != computeMipmapSpan(tmpSw))
+                || (tmpDh != computeMipmapSpan(tmpSh))) {
+                // Bounded by a destination span:
+                // not a mipmap level.
+                break;
+            }
+            level++;
+            tmpSw = tmpDw;
+            tmpSh = tmpDh;
+        }
+        return level;
+    }
+    
     @Override
     public void drawScaledRect(
         InterfaceParallelizer parallelizer,
@@ -106,8 +155,8 @@ public class SrdIterForDown implements InterfaceScaledRectDrawer {
         while (true) {
             int tmpSw = itSrcRect.xSpan();
             int tmpSh = itSrcRect.ySpan();
-            final int tmpDw = this.computeDownscaledSpan(tmpSw, dw);
-            final int tmpDh = this.computeDownscaledSpan(tmpSh, dh);
+            final int tmpDw = computeDownscaledSpan(tmpSw, dw);
+            final int tmpDh = computeDownscaledSpan(tmpSh, dh);
             /*
              * If true, we got too far down,
              * or just reached destination spans:
@@ -234,7 +283,7 @@ public class SrdIterForDown implements InterfaceScaledRectDrawer {
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
-    private int computeDownscaledSpan(int previousSpan, int dstSpan) {
+    private static int computeDownscaledSpan(int previousSpan, int dstSpan) {
         /*
          * Ceil to make sure span is never divided
          * by more than maxStepDownscaling,
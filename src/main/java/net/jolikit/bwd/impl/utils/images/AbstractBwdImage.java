@@ -20,6 +20,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import net.jolikit.bwd.api.graphics.Argb3264;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.basics.BindingBasicsUtils;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 
@@ -90,6 +91,32 @@ public abstract class AbstractBwdImage implements InterfaceBwdImage {
         }
         return this.getArgb32AtImpl(x, y);
     }
+    
+    @Override
+    public void getArgb32s(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        BindingBasicsUtils.checkPixelsArgs(
+                argb32Arr,
+                offset,
+                scanlineStride,
+                rect);
+        if (rect.isEmpty()) {
+            return;
+        }
+        final GRect imgRect = this.imgRect;
+        if (!imgRect.contains(rect)) {
+            throw new IllegalArgumentException(
+                    "rect " + rect + " must be in " + imgRect);
+        }
+        this.getArgb32sImpl(
+                rect,
+                argb32Arr,
+                offset,
+                scanlineStride);
+    }
 
     /*
      * 
@@ -165,6 +192,27 @@ public abstract class AbstractBwdImage implements InterfaceBwdImage {
      * Coordinates check already done when this method gets called.
      */
     protected abstract int getArgb32AtImpl(int x, int y);
+    
+    /**
+     * Arguments checks already done when this method gets called,
+     * and the rectangle is not empty.
+     * 
+     * This default implementation calls getArgb32AtImpl(...)
+     * for each pixel.
+     */
+    protected void getArgb32sImpl(
+            GRect rect,
+            int[] argb32Arr,
+            int offset,
+            int scanlineStride) {
+        for (int j = 0; j < rect.ySpan(); j++) {
+            final int y = rect.y() + j;
+            final int rowOffset = offset + j * scanlineStride;
+            for (int i = 0; i < rect.xSpan(); i++) {
+                argb32Arr[rowOffset + i] = this.getArgb32AtImpl(rect.x() + i, y);
+            }
+        }
+    }
 
     /**
      * Called only once.
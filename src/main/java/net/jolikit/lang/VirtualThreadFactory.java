@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factory creating virtual threads, which are obtained
+ * by reflection, for this code to still compile and run
+ * (without this factory being usable) with JDKs that don't have them.
+ * 
+ * Created threads are not started, as for ThreadFactory contract,
+ * and are always daemon.
+ */
+public class VirtualThreadFactory implements ThreadFactory {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /*
+     * Using public interface methods (Thread.Builder) rather than
+     * implementation class methods, which could not be accessible.
+     */
+    
+    private static final Method Thread_ofVirtual = getMethodIfExists(
+        Thread.class,
+        "ofVirtual");
+    
+    private static final Class<?> Thread_Builder = getClassIfExists(
+        "java.lang.Thread$Builder");
+    
+    private static final Method Thread_Builder_name_String_long =
+        ((Thread_Builder != null) ? getMethodIfExists(
+            Thread_Builder,
+            "name",
+            String.class,
+            long.class) : null);
+    
+    private static final Method Thread_Builder_factory =
+        ((Thread_Builder != null) ? getMethodIfExists(
+            Thread_Builder,
+            "factory") : null);
+    
+    private static final boolean AVAILABLE = computeAvailable();
+    
+    /*
+     * 
+     */
+    
+    private final ThreadFactory backingThreadFactory;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Creates threads with empty names.
+     * 
+     * @throws UnsupportedOperationException if virtual threads
+     *         are not available.
+     */
+    public VirtualThreadFactory() {
+        this(null);
+    }
+    
+    /**
+     * @param threadNamePrefix Prefix for threads names, which are
+     *        of the form "prefix-N", N starting at 1.
+     *        Can be null, in which case threads names are empty.
+     * @throws UnsupportedOperationException if virtual threads
+     *         are not available.
+     */
+    public VirtualThreadFactory(String threadNamePrefix) {
+        if (!AVAILABLE) {
+            throw new UnsupportedOperationException(
+                "virtual threads are not available");
+        }
+        Object builder = invoke(Thread_ofVirtual, null);
+        if (threadNamePrefix != null) {
+            builder = invoke(
+                Thread_Builder_name_String_long,
+                builder,
+                threadNamePrefix + "-",
+                1L);
+        }
+        this.backingThreadFactory =
+            (ThreadFactory) invoke(Thread_Builder_factory, builder);
+    }
+    
+    /**
+     * @return True if virtual threads are available in current JDK,
+     *         false otherwise.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+    
+    @Override
+    public Thread newThread(Runnable r) {
+        return this.backingThreadFactory.newThread(r);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static boolean computeAvailable() {
+        if ((Thread_ofVirtual == null)
+            || (Thread_Builder_name_String_long == null)
+            || (Thread_Builder_factory == null)) {
+            return false;
+        }
+        /*
+         * Virtual threads might exist but be a preview feature
+         * not enabled (JDK 19 and 20), in which case
+         * Thread.ofVirtual() throws.
+         */
+        try {
+            Thread_ofVirtual.invoke(null);
+            return true;
+        } catch (IllegalAccessException e) {
+            return false;
+        } catch (InvocationTargetException e) {
+            return false;
+        }
+    }
+    
+    private static Object invoke(Method method, Object instance, Object... args) {
+        try {
+            return method.invoke(instance, args);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private static Class<?> getClassIfExists(String className) {
+        Class<?> clazz = null;
+        try {
+            clazz = Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            // quiet
+        }
+        return clazz;
+    }
+    
+    private static Method getMethodIfExists(
+        Class<?> instanceClass,
+        String name,
+        Class<?>... parameterTypes) {
+        Method method = null;
+        try {
+            method = instanceClass.getMethod(name, parameterTypes);
+        } catch (SecurityException e) {
+            // quiet
+        } catch (NoSuchMethodException e) {
+            // quiet
+        }
+        return method;
+    }
+}
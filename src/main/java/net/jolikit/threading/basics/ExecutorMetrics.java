@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.basics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Runtime metrics of an executor or scheduler, recorded by it
+ * when enabled, and readable at any time, without lock,
+ * through snapshots.
+ * 
+ * Uses fixed memory:
+ * - Counters updated by publishers (submitted, rejected, cancelled, drained)
+ *   are striped by thread, with stripes on distinct cache lines,
+ *   for publishers not to contend much on them.
+ * - Counters and histograms updated by workers (executed count,
+ *   busy time, queue wait, run time, lateness) are per worker,
+ *   each worker being their single writer, so they are updated
+ *   with lazy sets instead of CASes.
+ * 
+ * Snapshots are not atomic: counters are read one after the other,
+ * so a snapshot done while recording might not be consistent.
+ */
+public class ExecutorMetrics {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * 8 longs, for 64 bytes cache lines.
+     */
+    private static final int STRIPE_STRIDE = 8;
+    
+    private static final int MAX_NBR_OF_STRIPES = 64;
+    
+    /*
+     * Publishers stripes layout.
+     */
+    
+    private static final int PS_SUBMITTED = 0;
+    private static final int PS_REJECTED = 1;
+    private static final int PS_CANCELLED = 2;
+    private static final int PS_DRAINED = 3;
+    
+    /*
+     * Workers arrays layout.
+     */
+    
+    private static final int WA_EXECUTED = 0;
+    private static final int WA_BUSY_NS = 1;
+    
+    private static final int WA_QUEUE_WAIT_SUM_NS = 2;
+    private static final int WA_QUEUE_WAIT_MAX_NS = 3;
+    private static final int WA_RUN_SUM_NS = 4;
+    private static final int WA_RUN_MAX_NS = 5;
+    private static final int WA_LATENESS_SUM_NS = 6;
+    private static final int WA_LATENESS_MAX_NS = 7;
+    
+    private static final int WA_QUEUE_WAIT_BUCKETS = 8;
+    private static final int WA_RUN_BUCKETS = WA_QUEUE_WAIT_BUCKETS + NsHistogram.NBR_OF_BUCKETS;
+    private static final int WA_LATENESS_BUCKETS = WA_RUN_BUCKETS + NsHistogram.NBR_OF_BUCKETS;
+    
+    private static final int WA_LENGTH = WA_LATENESS_BUCKETS + NsHistogram.NBR_OF_BUCKETS;
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final int stripeMask;
+    
+    private final AtomicLongArray publisherStripes;
+    
+    /**
+     * One array per worker, allocated separately,
+     * for workers not to write into a same array.
+     */
+    private final AtomicLongArray[] workerArrArr;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param nbrOfWorkers Number of workers. Must be >= 1.
+     */
+    public ExecutorMetrics(int nbrOfWorkers) {
+        NbrsUtils.requireSupOrEq(1, nbrOfWorkers, "nbrOfWorkers");
+        final int nbrOfStripes = Math.min(
+                MAX_NBR_OF_STRIPES,
+                NbrsUtils.ceilingPowerOfTwo(
+                        Runtime.getRuntime().availableProcessors()));
+        this.stripeMask = nbrOfStripes - 1;
+        this.publisherStripes = new AtomicLongArray(nbrOfStripes * STRIPE_STRIDE);
+        final AtomicLongArray[] workerArrArr = new AtomicLongArray[nbrOfWorkers];
+        for (int i = 0; i < nbrOfWorkers; i++) {
+            workerArrArr[i] = new AtomicLongArray(WA_LENGTH);
+        }
+        this.workerArrArr = workerArrArr;
+    }
+    
+    /**
+     * @return The number of workers.
+     */
+    public int getNbrOfWorkers() {
+        return this.workerArrArr.length;
+    }
+    
+    /**
+     * @return A snapshot of current metrics.
+     */
+    public ExecutorMetricsSnapshot newSnapshot() {
+        long nbrOfSubmitted = 0;
+        long nbrOfRejected = 0;
+        long nbrOfCancelled = 0;
+        long nbrOfDrained = 0;
+        final AtomicLongArray publisherStripes = this.publisherStripes;
+        for (int s = 0; s <= this.stripeMask; s++) {
+            final int offset = s * STRIPE_STRIDE;
+            nbrOfSubmitted += publisherStripes.get(offset + PS_SUBMITTED);
+            nbrOfRejected += publisherStripes.get(offset + PS_REJECTED);
+            nbrOfCancelled += publisherStripes.get(offset + PS_CANCELLED);
+            nbrOfDrained += publisherStripes.get(offset + PS_DRAINED);
+        }
+        
+        final int nbrOfWorkers = this.workerArrArr.length;
+        final long[] busyNsByWorker = new long[nbrOfWorkers];
+        long nbrOfExecuted = 0;
+        long queueWaitSumNs = 0;
+        long queueWaitMaxNs = 0;
+        long runSumNs = 0;
+        long runMaxNs = 0;
+        long latenessSumNs = 0;
+        long latenessMaxNs = 0;
+        final long[] queueWaitCountByBucket = new long[NsHistogram.NBR_OF_BUCKETS];
+        final long[] runCountByBucket = new long[NsHistogram.NBR_OF_BUCKETS];
+        final long[] latenessCountByBucket = new long[NsHistogram.NBR_OF_BUCKETS];
+        for (int w = 0; w < nbrOfWorkers; w++) {
+            final AtomicLongArray arr = this.workerArrArr[w];
+            nbrOfExecuted += arr.get(WA_EXECUTED);
+            busyNsByWorker[w] = arr.get(WA_BUSY_NS);
+            queueWaitSumNs += arr.get(WA_QUEUE_WAIT_SUM_NS);
+            queueWaitMaxNs = Math.max(queueWaitMaxNs, arr.get(WA_QUEUE_WAIT_MAX_NS));
+            runSumNs += arr.get(WA_RUN_SUM_NS);
+            runMaxNs = Math.max(runMaxNs, arr.get(WA_RUN_MAX_NS));
+            latenessSumNs += arr.get(WA_LATENESS_SUM_NS);
+            latenessMaxNs = Math.max(latenessMaxNs, arr.get(WA_LATENESS_MAX_NS));
+            for (int i = 0; i < NsHistogram.NBR_OF_BUCKETS; i++) {
+                queueWaitCountByBucket[i] += arr.get(WA_QUEUE_WAIT_BUCKETS + i);
+                runCountByBucket[i] += arr.get(WA_RUN_BUCKETS + i);
+                latenessCountByBucket[i] += arr.get(WA_LATENESS_BUCKETS + i);
+            }
+        }
+        
+        return new ExecutorMetricsSnapshot(
+                nbrOfSubmitted,
+                nbrOfExecuted,
+                nbrOfRejected,
+                nbrOfCancelled,
+                nbrOfDrained,
+                busyNsByWorker,
+                new NsHistogram(queueWaitCountByBucket, queueWaitSumNs, queueWaitMaxNs),
+                new NsHistogram(runCountByBucket, runSumNs, runMaxNs),
+                new NsHistogram(latenessCountByBucket, latenessSumNs, latenessMaxNs));
+    }
+    
+    /*
+     * Recording, by publishers or any thread.
+     */
+    
+    /**
+     * @param count Number of schedules that have been accepted
+     *        (put in queue).
+     */
+    public void onSubmitted(int count) {
+        this.publisherStripes.addAndGet(this.currentStripeOffset() + PS_SUBMITTED, count);
+    }
+    
+    /**
+     * @param count Number of schedules that have been rejected
+     *        (not put in queue, due to queue full or schedules
+     *        not being accepted).
+     */
+    public void onRejected(int count) {
+        this.publisherStripes.addAndGet(this.currentStripeOffset() + PS_REJECTED, count);
+    }
+    
+    /**
+     * @param count Number of schedules that have been removed
+     *        removed from queue and cancelled.
+     */
+    public void onCancelled(int count) {
+        this.publisherStripes.addAndGet(this.currentStripeOffset() + PS_CANCELLED, count);
+    }
+    
+    /**
+     * @param count Number of schedules that have been removed
+     *        from queue and handed over to the caller, without
+     *        being executed nor cancelled.
+     */
+    public void onDrained(int count) {
+        this.publisherStripes.addAndGet(this.currentStripeOffset() + PS_DRAINED, count);
+    }
+    
+    /*
+     * Recording, by workers.
+     * Must only be called by the thread currently running the specified
+     * worker (i.e. in a single-writer fashion for each worker).
+     */
+    
+    /**
+     * @param workerIndex Index of the worker that executed the schedule.
+     * @param queueWaitNs Duration between schedule submission and
+     *        execution start. If negative, not recorded (such as
+     *        for timed schedules, for which lateness is recorded).
+     * @param runNs Duration of schedule execution.
+     */
+    public void onExecuted(
+            int workerIndex,
+            long queueWaitNs,
+            long runNs) {
+        final AtomicLongArray arr = this.workerArrArr[workerIndex];
+        increment(arr, WA_EXECUTED, 1L);
+        increment(arr, WA_BUSY_NS, runNs);
+        if (queueWaitNs >= 0L) {
+            record(arr, WA_QUEUE_WAIT_SUM_NS, WA_QUEUE_WAIT_MAX_NS, WA_QUEUE_WAIT_BUCKETS, queueWaitNs);
+        }
+        record(arr, WA_RUN_SUM_NS, WA_RUN_MAX_NS, WA_RUN_BUCKETS, runNs);
+    }
+    
+    /**
+     * @param workerIndex Index of the worker that is about to execute
+     *        the timed schedule.
+     * @param latenessNs Duration between timed schedule theoretical time
+     *        and its actual time of execution (in the time frame
+     *        of scheduler's clock).
+     */
+    public void onLateness(
+            int workerIndex,
+            long latenessNs) {
+        final AtomicLongArray arr = this.workerArrArr[workerIndex];
+        record(arr, WA_LATENESS_SUM_NS, WA_LATENESS_MAX_NS, WA_LATENESS_BUCKETS, latenessNs);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private int currentStripeOffset() {
+        final int hash = (int) Thread.currentThread().getId();
+        return (hash & this.stripeMask) * STRIPE_STRIDE;
+    }
+    
+    /**
+     * Single writer increment.
+     */
+    private static void increment(AtomicLongArray arr, int index, long delta) {
+        arr.lazySet(index, arr.get(index) + delta);
+    }
+    
+    private static void record(
+            AtomicLongArray arr,
+            int sumIndex,
+            int maxIndex,
+            int bucketsOffset,
+            long valueNs) {
+        final long clampedNs = Math.max(0L, valueNs);
+        increment(arr, sumIndex, clampedNs);
+        if (clampedNs > arr.get(maxIndex)) {
+            arr.lazySet(maxIndex, clampedNs);
+        }
+        increment(arr, bucketsOffset + NsHistogram.computeBucketIndex(clampedNs), 1L);
+    }
+}
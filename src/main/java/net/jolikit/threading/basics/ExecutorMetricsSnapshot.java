@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.basics;
+
+/**
+ * Immutable snapshot of ExecutorMetrics.
+ */
+public class ExecutorMetricsSnapshot {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final long nbrOfSubmitted;
+    
+    private final long nbrOfExecuted;
+    
+    private final long nbrOfRejected;
+    
+    private final long nbrOfCancelled;
+    
+    private final long nbrOfDrained;
+    
+    private final long[] busyNsByWorker;
+    
+    private final NsHistogram queueWaitHisto;
+    
+    private final NsHistogram runHisto;
+    
+    private final NsHistogram latenessHisto;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[submitted = ");
+        sb.append(this.nbrOfSubmitted);
+        sb.append(", executed = ");
+        sb.append(this.nbrOfExecuted);
+        sb.append(", rejected = ");
+        sb.append(this.nbrOfRejected);
+        sb.append(", cancelled = ");
+        sb.append(this.nbrOfCancelled);
+        sb.append(", drained = ");
+        sb.append(this.nbrOfDrained);
+        sb.append(", total busy ns = ");
+        sb.append(this.getTotalBusyNs());
+        sb.append(", queue wait = ");
+        sb.append(this.queueWaitHisto);
+        sb.append(", run = ");
+        sb.append(this.runHisto);
+        sb.append(", lateness = ");
+        sb.append(this.latenessHisto);
+        sb.append("]");
+        return sb.toString();
+    }
+    
+    /**
+     * @return The number of schedules that have been accepted
+     *         (put in queue).
+     */
+    public long getNbrOfSubmitted() {
+        return this.nbrOfSubmitted;
+    }
+    
+    /**
+     * @return The number of schedules which execution completed
+     *         (normally or not).
+     */
+    public long getNbrOfExecuted() {
+        return this.nbrOfExecuted;
+    }
+    
+    /**
+     * @return The number of schedules that have been rejected
+     *         (not put in queue).
+     */
+    public long getNbrOfRejected() {
+        return this.nbrOfRejected;
+    }
+    
+    /**
+     * @return The number of schedules that have been removed
+     *         from queue and cancelled.
+     */
+    public long getNbrOfCancelled() {
+        return this.nbrOfCancelled;
+    }
+    
+    /**
+     * @return The number of schedules that have been removed
+     *         from queue and handed over to the caller, without
+     *         being executed nor cancelled.
+     */
+    public long getNbrOfDrained() {
+        return this.nbrOfDrained;
+    }
+    
+    /**
+     * @return The number of workers.
+     */
+    public int getNbrOfWorkers() {
+        return this.busyNsByWorker.length;
+    }
+    
+    /**
+     * @param workerIndex Index of a worker, in [0,getNbrOfWorkers()-1].
+     * @return The total duration of schedules executions
+     *         by the specified worker.
+     */
+    public long getBusyNs(int workerIndex) {
+        return this.busyNsByWorker[workerIndex];
+    }
+    
+    /**
+     * @return The total duration of schedules executions,
+     *         for all workers.
+     */
+    public long getTotalBusyNs() {
+        long sum = 0;
+        for (long busyNs : this.busyNsByWorker) {
+            sum += busyNs;
+        }
+        return sum;
+    }
+    
+    /**
+     * @return Histogram of durations between schedules submission
+     *         and execution start, for ASAP schedules.
+     */
+    public NsHistogram getQueueWaitHisto() {
+        return this.queueWaitHisto;
+    }
+    
+    /**
+     * @return Histogram of schedules execution durations.
+     */
+    public NsHistogram getRunHisto() {
+        return this.runHisto;
+    }
+    
+    /**
+     * @return Histogram of durations between timed schedules
+     *         theoretical time and execution start
+     *         (in the time frame of scheduler's clock).
+     */
+    public NsHistogram getLatenessHisto() {
+        return this.latenessHisto;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param busyNsByWorker Not copied.
+     */
+    ExecutorMetricsSnapshot(
+            long nbrOfSubmitted,
+            long nbrOfExecuted,
+            long nbrOfRejected,
+            long nbrOfCancelled,
+            long nbrOfDrained,
+            long[] busyNsByWorker,
+            NsHistogram queueWaitHisto,
+            NsHistogram runHisto,
+            NsHistogram latenessHisto) {
+        this.nbrOfSubmitted = nbrOfSubmitted;
+        this.nbrOfExecuted = nbrOfExecuted;
+        this.nbrOfRejected = nbrOfRejected;
+        this.nbrOfCancelled = nbrOfCancelled;
+        this.nbrOfDrained = nbrOfDrained;
+        this.busyNsByWorker = busyNsByWorker;
+        this.queueWaitHisto = queueWaitHisto;
+        this.runHisto = runHisto;
+        this.latenessHisto = latenessHisto;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.basics;
+
+/**
+ * Immutable histogram of durations in nanoseconds, as snapshot
+ * by ExecutorMetrics.
+ * 
+ * Uses fixed log-linear buckets (as in HDR histograms): values in [0,32[
+ * have their own bucket, and then each power of two range is split into
+ * 16 buckets, so the relative error on values is at most 1/16,
+ * for a fixed number of buckets covering all non-negative long values.
+ * Negative values are counted as 0.
+ */
+public class NsHistogram {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int SUB_BUCKET_BITS = 4;
+    
+    private static final int SUB_BUCKET_COUNT = (1 << SUB_BUCKET_BITS);
+    
+    /**
+     * Bucket of Long.MAX_VALUE is the last one.
+     */
+    static final int NBR_OF_BUCKETS = computeBucketIndex(Long.MAX_VALUE) + 1;
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final long[] countByBucket;
+    
+    private final long count;
+    
+    private final long sumNs;
+    
+    private final long maxNs;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    public String toString() {
+        return "[count = " + this.count
+                + ", mean = " + (long) this.getMeanNs()
+                + ", p50 = " + this.getNsAtPercentile(50.0)
+                + ", p90 = " + this.getNsAtPercentile(90.0)
+                + ", p99 = " + this.getNsAtPercentile(99.0)
+                + ", max = " + this.maxNs
+                + "]";
+    }
+    
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return this.count;
+    }
+    
+    /**
+     * @return The sum of recorded values, possibly overflowed
+     *         if recorded values are huge.
+     */
+    public long getSumNs() {
+        return this.sumNs;
+    }
+    
+    /**
+     * @return The max recorded value, or 0 if none.
+     */
+    public long getMaxNs() {
+        return this.maxNs;
+    }
+    
+    /**
+     * @return The mean of recorded values, or 0 if none.
+     */
+    public double getMeanNs() {
+        if (this.count == 0) {
+            return 0.0;
+        }
+        return this.sumNs / (double) this.count;
+    }
+    
+    /**
+     * @param percentile Percentile, in [0,100].
+     * @return The max value of the bucket where the value at the specified
+     *         percentile is, bounded by the max recorded value,
+     *         or 0 if there is no recorded value.
+     * @throws IllegalArgumentException if the specified percentile
+     *         is out of range (or NaN).
+     */
+    public long getNsAtPercentile(double percentile) {
+        if (!((percentile >= 0.0) && (percentile <= 100.0))) {
+            throw new IllegalArgumentException("percentile [" + percentile + "] must be in [0,100]");
+        }
+        if (this.count == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil((percentile / 100.0) * this.count));
+        long cumulatedCount = 0;
+        for (int i = 0; i < NBR_OF_BUCKETS; i++) {
+            cumulatedCount += this.countByBucket[i];
+            if (cumulatedCount >= rank) {
+                return Math.min(getBucketMaxNs(i), this.maxNs);
+            }
+        }
+        // Can happen if counts are inconsistent with each other,
+        // due to snapshot being done while recording.
+        return this.maxNs;
+    }
+    
+    /*
+     * Buckets.
+     */
+    
+    /**
+     * @return The number of buckets, which is the same for all histograms.
+     */
+    public static int getNbrOfBuckets() {
+        return NBR_OF_BUCKETS;
+    }
+    
+    /**
+     * @param index A bucket index, in [0,getNbrOfBuckets()-1].
+     * @return The min value of the specified bucket.
+     */
+    public static long getBucketMinNs(int index) {
+        checkBucketIndex(index);
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index >> SUB_BUCKET_BITS) - 1;
+        final long mantissa = SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1));
+        return mantissa << shift;
+    }
+    
+    /**
+     * @param index A bucket index, in [0,getNbrOfBuckets()-1].
+     * @return The max value of the specified bucket.
+     */
+    public static long getBucketMaxNs(int index) {
+        checkBucketIndex(index);
+        if (index == NBR_OF_BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return getBucketMinNs(index + 1) - 1;
+    }
+    
+    /**
+     * @param index A bucket index, in [0,getNbrOfBuckets()-1].
+     * @return The number of recorded values in the specified bucket.
+     */
+    public long getBucketCount(int index) {
+        checkBucketIndex(index);
+        return this.countByBucket[index];
+    }
+    
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param countByBucket Not copied.
+     */
+    NsHistogram(
+            long[] countByBucket,
+            long sumNs,
+            long maxNs) {
+        long count = 0;
+        for (long bucketCount : countByBucket) {
+            count += bucketCount;
+        }
+        this.countByBucket = countByBucket;
+        this.count = count;
+        this.sumNs = sumNs;
+        this.maxNs = maxNs;
+    }
+    
+    /**
+     * @param valueNs A value. If negative, 0 is used instead.
+     * @return The index of the bucket where the specified value is.
+     */
+    static int computeBucketIndex(long valueNs) {
+        if (valueNs < 2 * SUB_BUCKET_COUNT) {
+            return (int) Math.max(0L, valueNs);
+        }
+        final int msbIndex = 63 - Long.numberOfLeadingZeros(valueNs);
+        final int shift = msbIndex - SUB_BUCKET_BITS;
+        final int mantissa = (int) (valueNs >>> shift);
+        return ((shift + 1) << SUB_BUCKET_BITS) + (mantissa - SUB_BUCKET_COUNT);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static void checkBucketIndex(int index) {
+        if ((index < 0) || (index >= NBR_OF_BUCKETS)) {
+            throw new IndexOutOfBoundsException("index [" + index + "] must be in [0," + (NBR_OF_BUCKETS - 1) + "]");
+        }
+    }
+}
@@ -20,18 +20,24 @@ import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import net.jolikit.lang.InterfaceBooleanCondition;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 import net.jolikit.lang.PostPaddedAtomicInteger;
+import net.jolikit.lang.PostPaddedAtomicReference;
 import net.jolikit.threading.basics.CancellableUtils;
+import net.jolikit.threading.basics.ExecutorMetrics;
 import net.jolikit.threading.basics.WorkerThreadChecker;
 import net.jolikit.threading.locks.InterfaceCondilock;
 import net.jolikit.threading.locks.MonitorCondilock;
@@ -60,6 +66,12 @@ import net.jolikit.threading.locks.MonitorCondilock;
  *   - Methods to start/stop schedules acceptance and processing
  *     by worker threads.
  *   - Methods to cancel or drain pending schedules.
+ *   - Optional lock-free queue, for publishers not to contend
+ *     on a lock when there are many of them.
+ *   - Bulk submission methods, enqueuing a batch of runnables
+ *     with a single lock acquisition.
+ *   - Optional runtime metrics (counts, queue wait and run time
+ *     histograms, workers busy time), readable without lock.
  * - different:
  *   - Uses fixed threads instead of a thread pool.
  *     Can help to avoid thread-local inflation with threads turnover.
@@ -105,6 +117,10 @@ implements InterfaceWorkerAwareExecutor {
      * 
      * All of these locks can be acquired by user thread when calling
      * public methods of this class.
+     * 
+     * With lock-free queue, there is no putLock, and workers
+     * park outside of takeLock, which is only used
+     * for them to remove schedules one at a time.
      */
     
     //--------------------------------------------------------------------------
@@ -128,11 +144,15 @@ implements InterfaceWorkerAwareExecutor {
      */
     
     private class MyWorkerRunnable implements Runnable {
+        private final int workerIndex;
         private volatile boolean started = false;
         /**
          * Volatile, in case run gets called again by another thread.
          */
         private volatile boolean done = false;
+        public MyWorkerRunnable(int workerIndex) {
+            this.workerIndex = workerIndex;
+        }
         /**
          * Not logging errors in this method: user can wrap
          * this runnable using a thread factory, else default
@@ -153,7 +173,7 @@ implements InterfaceWorkerAwareExecutor {
                 this.started = true;
             }
             try {
-                workerRun();
+                workerRun(this.workerIndex);
                 this.done = true;
             } finally {
                 if (nbrOfRunningWorkers.decrementAndGet() == 0) {
@@ -193,8 +213,17 @@ implements InterfaceWorkerAwareExecutor {
         /**
          * Next node if any, null if last node
          * (including when empty, i.e. head = last).
+         * 
+         * Volatile for lock-free queue, where it is how
+         * publishers hand nodes over to consumers.
          */
-        MyNode next;
+        volatile MyNode next;
+        /**
+         * Submission time (System.nanoTime()), if recording metrics.
+         * Remains in the node after item removal, which then
+         * becomes queue's head.
+         */
+        long enqueueNs;
         MyNode(Runnable x) {
             this.item = x;
         }
@@ -215,7 +244,7 @@ implements InterfaceWorkerAwareExecutor {
         /**
          * Used on take.
          */
-        private MyNode head;
+        MyNode head;
         /**
          * Used on put.
          */
@@ -376,6 +405,129 @@ implements InterfaceWorkerAwareExecutor {
         }
     }
     
+    /*
+     * 
+     */
+    
+    /**
+     * Implementation where publishers don't use any lock,
+     * linking nodes with an atomic swap of last node
+     * (Vyukov's intrusive MPSC queue), and consumers
+     * remove nodes in takeLock (single consumer at a time).
+     * 
+     * Room is reserved in size (with a CAS) before linking,
+     * to respect capacity and to allow to close the queue,
+     * so size can be non-zero while first node is not yet
+     * linked, in which case pollFirst() spins until it is.
+     * 
+     * Doesn't compute wasEmptyBeforeLastAdd(), which would not make sense
+     * with concurrent adds: workers wake-up is based on idle workers count.
+     */
+    private static class MyLockFreeQueue extends MyAbstractQueue {
+        private static final long serialVersionUID = 1L;
+        /**
+         * Set in size when closed, preventing further adds.
+         */
+        private static final int CLOSED_BIT = Integer.MIN_VALUE;
+        private final AtomicReference<MyNode> lastRef;
+        public MyLockFreeQueue(int capacity) {
+            super(capacity);
+            this.lastRef = new PostPaddedAtomicReference<MyNode>(this.head);
+        }
+        @Override
+        public int size() {
+            final AtomicInteger sizeAto = this;
+            return sizeAto.get() & (~CLOSED_BIT);
+        }
+        /**
+         * Can be called concurrently, without lock.
+         * 
+         * @return True if could enqueue (i.e. was not full nor closed).
+         */
+        @Override
+        public boolean offerLast(MyNode node) {
+            final AtomicInteger sizeAto = this;
+            while (true) {
+                final int size = sizeAto.get();
+                // If closed, size is negative.
+                if ((size < 0)
+                    || (size >= this.capacity)) {
+                    return false;
+                }
+                if (sizeAto.compareAndSet(size, size + 1)) {
+                    break;
+                }
+            }
+            final MyNode previous = this.lastRef.getAndSet(node);
+            // Volatile write: publishes the node to consumers.
+            previous.next = node;
+            return true;
+        }
+        /**
+         * Can be called concurrently, without lock.
+         * Enqueues as many of the specified nodes as there is room for,
+         * starting from the first one, reserving room with a single CAS,
+         * and linking them all with a single swap.
+         * 
+         * @param nodeArr Nodes to enqueue. Must not be empty.
+         * @return The number of enqueued nodes (0 if was full or closed).
+         */
+        public int offerLastAll(MyNode[] nodeArr) {
+            final AtomicInteger sizeAto = this;
+            int n;
+            while (true) {
+                final int size = sizeAto.get();
+                // If closed, size is negative.
+                if ((size < 0)
+                    || (size >= this.capacity)) {
+                    return 0;
+                }
+                n = Math.min(nodeArr.length, this.capacity - size);
+                if (sizeAto.compareAndSet(size, size + n)) {
+                    break;
+                }
+            }
+            // Linking our nodes before publishing them.
+            for (int i = 1; i < n; i++) {
+                nodeArr[i - 1].next = nodeArr[i];
+            }
+            final MyNode previous = this.lastRef.getAndSet(nodeArr[n - 1]);
+            // Volatile write: publishes the nodes to consumers.
+            previous.next = nodeArr[0];
+            return n;
+        }
+        /**
+         * Makes subsequent offerLast(...) calls fail.
+         * Nodes for which room has already been reserved
+         * are still linked, and counted in size until removed.
+         */
+        public void close() {
+            final AtomicInteger sizeAto = this;
+            while (true) {
+                final int size = sizeAto.get();
+                if ((size < 0)
+                    || sizeAto.compareAndSet(size, size | CLOSED_BIT)) {
+                    break;
+                }
+            }
+        }
+        @Override
+        public Runnable pollFirst() {
+            final AtomicInteger sizeAto = this;
+            Runnable ret = null;
+            if (this.size() > 0) {
+                while (this.head.next == null) {
+                    // Publisher between reservation and linking.
+                    Thread.yield();
+                }
+                ret = this.removeFirst_structure();
+                final int oldSize = sizeAto.getAndDecrement() & (~CLOSED_BIT);
+                this.setWasNotEmptyAfterLastRemove(oldSize > 1);
+            }
+            return ret;
+        }
+    }
+    
     //--------------------------------------------------------------------------
     // FIELDS
     //--------------------------------------------------------------------------
@@ -400,6 +552,7 @@ implements InterfaceWorkerAwareExecutor {
     /**
      * Lock acquired by publishers.
      * Might be identical to takeLock.
+     * Null if using lock-free queue.
      */
     private final ReentrantLock putLock;
     
@@ -526,6 +679,39 @@ implements InterfaceWorkerAwareExecutor {
      */
     private final MyAbstractQueue schedQueue;
     
+    /*
+     * Idle workers, when using lock-free queue.
+     */
+    
+    /**
+     * Null if not using lock-free queue.
+     * 
+     * Element i holds the thread of worker i while it is idle
+     * (parked or about to park), and null otherwise.
+     * An element is set to null by whoever unparks the worker,
+     * or by the worker itself if nobody did.
+     */
+    private final AtomicReferenceArray<Thread> idleWorkerThreadArr;
+    
+    /**
+     * Null if not using lock-free queue.
+     * 
+     * Number of non-null elements in idleWorkerThreadArr, possibly
+     * transiently off by one, for publishers to figure out
+     * with a single read whether there is a worker to unpark.
+     */
+    private final AtomicInteger nbrOfIdleWorkers;
+    
+    /*
+     * 
+     */
+    
+    /**
+     * Null if metrics are disabled,
+     * in which case they only cost a null check per schedule.
+     */
+    private final ExecutorMetrics metrics;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -567,6 +753,102 @@ implements InterfaceWorkerAwareExecutor {
             nbrOfThreads,
             queueCapacity,
             maxWorkerCountForBasicQueue,
+            false, // mustUseLockFreeQueue
+            false, // mustEnableMetrics
+            threadFactory);
+    }
+    
+    /**
+     * Complete constructor for non-threadless instances,
+     * allowing to use a lock-free queue.
+     * Constructs an executor using the specified number of worker threads,
+     * that guarantees FIFO order for schedules only if single-threaded.
+     * 
+     * @param threadNamePrefix Prefix for worker threads names.
+     *        Can be null, in which case the name eventually set
+     *        by thread factory is preserved.
+     * @param daemon Daemon flag set to each thread.
+     *        Can be null, in which case the value eventually set
+     *        by thread factory is preserved.
+     * @param nbrOfThreads Number of worker threads to use. Must be >= 1.
+     * @param queueCapacity Capacity for schedules queue.
+     *        Must be >= 0. When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        a queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeQueue is true.
+     * @param mustUseLockFreeQueue If true, whatever the worker count,
+     *        uses a queue in which publishers don't acquire any lock,
+     *        with idle workers parked and unparked individually.
+     *        Useful in case of many concurrent publishers.
+     * @param threadFactory If null, default threads are created.
+     */
+    public FixedThreadExecutor(
+        String threadNamePrefix,
+        Boolean daemon,
+        int nbrOfThreads,
+        int queueCapacity,
+        int maxWorkerCountForBasicQueue,
+        boolean mustUseLockFreeQueue,
+        ThreadFactory threadFactory) {
+        this(
+            threadNamePrefix,
+            daemon,
+            nbrOfThreads,
+            queueCapacity,
+            maxWorkerCountForBasicQueue,
+            mustUseLockFreeQueue,
+            false, // mustEnableMetrics
+            threadFactory);
+    }
+    
+    /**
+     * Complete constructor for non-threadless instances,
+     * allowing to use a lock-free queue and to enable metrics.
+     * Constructs an executor using the specified number of worker threads,
+     * that guarantees FIFO order for schedules only if single-threaded.
+     * 
+     * @param threadNamePrefix Prefix for worker threads names.
+     *        Can be null, in which case the name eventually set
+     *        by thread factory is preserved.
+     * @param daemon Daemon flag set to each thread.
+     *        Can be null, in which case the value eventually set
+     *        by thread factory is preserved.
+     * @param nbrOfThreads Number of worker threads to use. Must be >= 1.
+     * @param queueCapacity Capacity for schedules queue.
+     *        Must be >= 0. When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        a queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeQueue is true.
+     * @param mustUseLockFreeQueue If true, whatever the worker count,
+     *        uses a queue in which publishers don't acquire any lock,
+     *        with idle workers parked and unparked individually.
+     *        Useful in case of many concurrent publishers.
+     * @param mustEnableMetrics If true, runtime metrics are recorded
+     *        (see getMetricsElseNull()).
+     * @param threadFactory If null, default threads are created.
+     */
+    public FixedThreadExecutor(
+        String threadNamePrefix,
+        Boolean daemon,
+        int nbrOfThreads,
+        int queueCapacity,
+        int maxWorkerCountForBasicQueue,
+        boolean mustUseLockFreeQueue,
+        boolean mustEnableMetrics,
+        ThreadFactory threadFactory) {
+        this(
+            false, // isThreadless
+            threadNamePrefix,
+            daemon,
+            nbrOfThreads,
+            queueCapacity,
+            maxWorkerCountForBasicQueue,
+            mustUseLockFreeQueue,
+            mustEnableMetrics,
             threadFactory);
     }
     
@@ -588,6 +870,62 @@ implements InterfaceWorkerAwareExecutor {
     public FixedThreadExecutor(
         int queueCapacity,
         int maxWorkerCountForBasicQueue) {
+        this(
+            queueCapacity,
+            maxWorkerCountForBasicQueue,
+            false); // mustUseLockFreeQueue
+    }
+    
+    /**
+     * Complete constructor for threadless instances,
+     * allowing to use a lock-free queue.
+     * Guarantees FIFO order for schedules,
+     * since only caller thread is used for work.
+     * 
+     * @param queueCapacity Capacity for schedules queue.
+     *        Must be >= 0. When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        a queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeQueue is true.
+     * @param mustUseLockFreeQueue If true, uses a queue in which
+     *        publishers don't acquire any lock.
+     */
+    public FixedThreadExecutor(
+        int queueCapacity,
+        int maxWorkerCountForBasicQueue,
+        boolean mustUseLockFreeQueue) {
+        this(
+            queueCapacity,
+            maxWorkerCountForBasicQueue,
+            mustUseLockFreeQueue,
+            false); // mustEnableMetrics
+    }
+    
+    /**
+     * Complete constructor for threadless instances,
+     * allowing to use a lock-free queue and to enable metrics.
+     * Guarantees FIFO order for schedules,
+     * since only caller thread is used for work.
+     * 
+     * @param queueCapacity Capacity for schedules queue.
+     *        Must be >= 0. When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        a queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeQueue is true.
+     * @param mustUseLockFreeQueue If true, uses a queue in which
+     *        publishers don't acquire any lock.
+     * @param mustEnableMetrics If true, runtime metrics are recorded
+     *        (see getMetricsElseNull()).
+     */
+    public FixedThreadExecutor(
+        int queueCapacity,
+        int maxWorkerCountForBasicQueue,
+        boolean mustUseLockFreeQueue,
+        boolean mustEnableMetrics) {
         this(
             true, // isThreadless
             null, // threadNamePrefix
@@ -595,6 +933,8 @@ implements InterfaceWorkerAwareExecutor {
             1, // nbrOfThreads
             queueCapacity,
             maxWorkerCountForBasicQueue,
+            mustUseLockFreeQueue,
+            mustEnableMetrics,
             null); // threadFactory
     }
     
@@ -842,6 +1182,10 @@ implements InterfaceWorkerAwareExecutor {
      * @return An estimation of the number of worker threads waiting for work.
      */
     public int getNbrOfIdleWorkers() {
+        if (this.nbrOfIdleWorkers != null) {
+            // Max in case of transient negative count.
+            return Math.max(0, this.nbrOfIdleWorkers.get());
+        }
         /*
          * We could count threads queued to acquire takeLock but don't,
          * because:
@@ -891,6 +1235,21 @@ implements InterfaceWorkerAwareExecutor {
         return isShutdown(this.getProcessSchedulesStatus());
     }
     
+    /*
+     * metrics
+     */
+    
+    /**
+     * Runtime metrics are disabled by default, and can be enabled
+     * with the mustEnableMetrics constructor argument.
+     * 
+     * @return The metrics, which can be snapshot at any time,
+     *         if enabled on construction, null otherwise.
+     */
+    public ExecutorMetrics getMetricsElseNull() {
+        return this.metrics;
+    }
+    
     /*
      * controls
      */
@@ -928,7 +1287,7 @@ implements InterfaceWorkerAwareExecutor {
                 this.workerThreadArr[0] = workerThread;
                 this.workerThreadSet.put(workerThread, Boolean.TRUE);
                 
-                workerRunnable = new MyWorkerRunnable();
+                workerRunnable = new MyWorkerRunnable(0);
                 this.workerRunnables[0] = workerRunnable;
             } else {
                 workerRunnable = this.workerRunnables[0];
@@ -1120,8 +1479,12 @@ implements InterfaceWorkerAwareExecutor {
      * - drain cancellables, and cancel them yourself.
      */
     public void cancelPendingSchedules() {
+        final ExecutorMetrics metrics = this.metrics;
         Runnable schedule;
         while ((schedule = this.pollFirstScheduleInTakeLock()) != null) {
+            if (metrics != null) {
+                metrics.onCancelled(1);
+            }
             CancellableUtils.call_onCancel_IfCancellable(schedule);
         }
     }
@@ -1132,6 +1495,7 @@ implements InterfaceWorkerAwareExecutor {
      *        in the order they were scheduled.
      */
     public void drainPendingRunnablesInto(Collection<? super Runnable> runnables) {
+        int nbrOfDrained = 0;
         boolean gotSome = false;
         final Lock takeLock = this.takeLock;
         takeLock.lock();
@@ -1142,10 +1506,16 @@ implements InterfaceWorkerAwareExecutor {
                 if (schedule == null) {
                     break;
                 }
+                nbrOfDrained++;
                 gotSome = true;
                 runnables.add(schedule);
             }
         } finally {
+            final ExecutorMetrics metrics = this.metrics;
+            if ((metrics != null)
+                && (nbrOfDrained != 0)) {
+                metrics.onDrained(nbrOfDrained);
+            }
             if (gotSome) {
                 // Signaling in finally, in case we had an exception
                 // while adding into output collection.
@@ -1222,8 +1592,14 @@ implements InterfaceWorkerAwareExecutor {
                  * and shutdownNow()'s drain would be waiting
                  * for the lock to be released by execute(),
                  * but we still take it in this case for consistency.
+                 * With lock-free queue, closing it instead,
+                 * which makes late execute() calls reject
+                 * their runnable.
                  */
-                this.putLock.lock();
+                final Lock putLock = this.putLock;
+                if (putLock != null) {
+                    putLock.lock();
+                }
                 try {
                     // NO, whether or not worker threads have been started already.
                     this.setAcceptSchedulesStatus(ACCEPT_SCHEDULES_NO);
@@ -1233,8 +1609,14 @@ implements InterfaceWorkerAwareExecutor {
                     } else {
                         this.setProcessSchedulesStatus(PROCESS_SCHEDULES_NO_AND_DIE_AFTERWARDS);
                     }
+                    
+                    if (putLock == null) {
+                        ((MyLockFreeQueue) this.schedQueue).close();
+                    }
                 } finally {
-                    this.putLock.unlock();
+                    if (putLock != null) {
+                        putLock.unlock();
+                    }
                 }
             }
         }
@@ -1303,6 +1685,9 @@ implements InterfaceWorkerAwareExecutor {
         
         // Optimistically allocated outside putLock.
         final MyNode node = new MyNode(runnable);
+        if (this.metrics != null) {
+            node.enqueueNs = System.nanoTime();
+        }
         
         if (this.enqueueRunnableIfPossible(node)) {
             this.tryStartWorkerThreadsOnScheduleSubmit();
@@ -1310,6 +1695,53 @@ implements InterfaceWorkerAwareExecutor {
         }
     }
     
+    /**
+     * Bulk version of execute(Runnable), which enqueues the specified
+     * runnables in order, acquiring put lock only once (or none with
+     * lock-free queue), and waking up only as many idle workers as needed.
+     * 
+     * If there is not enough room for all the runnables, the first ones
+     * are enqueued and the others are rejected: onCancel() is called
+     * on rejected cancellables, and then RejectedExecutionException
+     * is thrown if some rejected runnables are not cancellables.
+     * 
+     * @param runnables Runnables to execute ASAP.
+     * @throws NullPointerException if the specified array or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAll(Runnable[] runnables) {
+        
+        final MyNode[] nodeArr = new MyNode[runnables.length];
+        for (int i = 0; i < nodeArr.length; i++) {
+            nodeArr[i] = new MyNode(LangUtils.requireNonNull(runnables[i]));
+        }
+        if (nodeArr.length == 0) {
+            return;
+        }
+        if (this.metrics != null) {
+            final long nowNs = System.nanoTime();
+            for (MyNode node : nodeArr) {
+                node.enqueueNs = nowNs;
+            }
+        }
+        
+        if (this.enqueueRunnablesIfPossible(nodeArr)) {
+            this.tryStartWorkerThreadsOnScheduleSubmit();
+            this.enqueueRunnablesIfPossible(nodeArr);
+        }
+    }
+    
+    /**
+     * Bulk version of execute(Runnable), cf. executeAll(Runnable[]).
+     * 
+     * @param runnables Runnables to execute ASAP, in iteration order.
+     * @throws NullPointerException if the specified collection or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAll(Collection<? extends Runnable> runnables) {
+        this.executeAll(runnables.toArray(new Runnable[runnables.size()]));
+    }
+    
     /*
      * Complementary methods for ExecutorService.
      */
@@ -1378,6 +1810,8 @@ implements InterfaceWorkerAwareExecutor {
         int nbrOfThreads,
         int queueCapacity,
         int maxWorkerCountForBasicQueue,
+        boolean mustUseLockFreeQueue,
+        boolean mustEnableMetrics,
         final ThreadFactory threadFactory) {
         
         NbrsUtils.requireSupOrEq(1, nbrOfThreads, "nbrOfThreads");
@@ -1402,18 +1836,29 @@ implements InterfaceWorkerAwareExecutor {
         
         this.isThreadless = isThreadless;
         
+        this.metrics = (mustEnableMetrics ? new ExecutorMetrics(nbrOfThreads) : null);
+        
         /*
          * 
          */
         
         final boolean mustUseBasicQueue =
             (nbrOfThreads <= maxWorkerCountForBasicQueue);
-        if (mustUseBasicQueue) {
-            this.putLock = this.takeLock;
-            this.schedQueue = new MyBasicQueue(queueCapacity);
+        if (mustUseLockFreeQueue) {
+            this.putLock = null;
+            this.schedQueue = new MyLockFreeQueue(queueCapacity);
+            this.idleWorkerThreadArr = new AtomicReferenceArray<Thread>(nbrOfThreads);
+            this.nbrOfIdleWorkers = new PostPaddedAtomicInteger();
         } else {
-            this.putLock = new ReentrantLock();
-            this.schedQueue = new MyDualLockQueue(queueCapacity);
+            if (mustUseBasicQueue) {
+                this.putLock = this.takeLock;
+                this.schedQueue = new MyBasicQueue(queueCapacity);
+            } else {
+                this.putLock = new ReentrantLock();
+                this.schedQueue = new MyDualLockQueue(queueCapacity);
+            }
+            this.idleWorkerThreadArr = null;
+            this.nbrOfIdleWorkers = null;
         }
         
         /*
@@ -1427,7 +1872,7 @@ implements InterfaceWorkerAwareExecutor {
             // Will be initialized on start.
         } else {
             for (int i = 0; i < nbrOfThreads; i++) {
-                final MyWorkerRunnable runnable = new MyWorkerRunnable();
+                final MyWorkerRunnable runnable = new MyWorkerRunnable(i);
                 
                 final Thread thread;
                 if (threadFactory != null) {
@@ -1559,7 +2004,11 @@ implements InterfaceWorkerAwareExecutor {
      * to process them before completing after a shutdown.
      */
     private void signalAllWorkersAfterSchedulesRemoval() {
-        this.takeCondition.signalAll();
+        if (this.idleWorkerThreadArr != null) {
+            this.unparkIdleWorkers(Integer.MAX_VALUE);
+        } else {
+            this.takeCondition.signalAll();
+        }
     }
     
     /**
@@ -1567,6 +2016,11 @@ implements InterfaceWorkerAwareExecutor {
      * and stateMutex's locking time, but could be called within.
      */
     private void signalAllWorkersInTakeLock() {
+        if (this.idleWorkerThreadArr != null) {
+            // Parked workers: no need for lock.
+            this.unparkIdleWorkers(Integer.MAX_VALUE);
+            return;
+        }
         this.takeLock.lock();
         try {
             this.takeCondition.signalAll();
@@ -1575,19 +2029,149 @@ implements InterfaceWorkerAwareExecutor {
         }
     }
     
-    private void workerRun() {
+    /*
+     * 
+     */
+    
+    /**
+     * For use with lock-free queue.
+     * 
+     * @param maxNbrToUnpark Max number of idle workers to unpark.
+     *        Must be >= 1.
+     */
+    private void unparkIdleWorkers(int maxNbrToUnpark) {
+        final AtomicInteger nbrOfIdleWorkers = this.nbrOfIdleWorkers;
+        if (nbrOfIdleWorkers.get() <= 0) {
+            /*
+             * Either no idle worker, or one has just been unparked
+             * by someone else, and will increment this count
+             * (or have it incremented) when idle again.
+             */
+            return;
+        }
+        final AtomicReferenceArray<Thread> idleWorkerThreadArr = this.idleWorkerThreadArr;
+        final int n = idleWorkerThreadArr.length();
+        int nbrOfUnparked = 0;
+        for (int i = 0; i < n; i++) {
+            final Thread thread = idleWorkerThreadArr.get(i);
+            if ((thread != null)
+                && idleWorkerThreadArr.compareAndSet(i, thread, null)) {
+                nbrOfIdleWorkers.decrementAndGet();
+                LockSupport.unpark(thread);
+                if (++nbrOfUnparked == maxNbrToUnpark) {
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * For use with lock-free queue.
+     * 
+     * Returns either on wake-up, or directly if it turns out
+     * that the worker must not wait.
+     * Never throws InterruptedException, but clears interrupt status.
+     * 
+     * @param workerIndex Index of current worker.
+     * @param processStatus Process status based on which it was
+     *        decided to wait.
+     */
+    private void parkIdleWorker(int workerIndex, int processStatus) {
+        final Thread thread = Thread.currentThread();
+        final AtomicReferenceArray<Thread> idleWorkerThreadArr = this.idleWorkerThreadArr;
+        /*
+         * Becoming visible as idle, then checking again whether
+         * we must wait, since publishers and state changes
+         * only unpark workers visible as idle (each side writes,
+         * then reads what the other side writes, so at least one
+         * sees the other).
+         * Setting thread before incrementing count, for threads to
+         * always be visible to whoever sees the count incremented.
+         */
+        idleWorkerThreadArr.set(workerIndex, thread);
+        this.nbrOfIdleWorkers.incrementAndGet();
+        
+        final int newProcessStatus = this.getProcessSchedulesStatus();
+        final boolean mustWait;
+        if (newProcessStatus != processStatus) {
+            mustWait = false;
+        } else if (this.schedQueue.size() != 0) {
+            mustWait = !mustProcessSchedules(newProcessStatus);
+        } else {
+            mustWait = !isShutdown(newProcessStatus);
+        }
+        if (mustWait) {
+            /*
+             * Might also return spuriously, or due to a late unpark
+             * from a previous wait, or due to an interrupt:
+             * in all cases, worker will just check again for work.
+             */
+            LockSupport.park(this);
+        }
+        
+        if (idleWorkerThreadArr.compareAndSet(workerIndex, thread, null)) {
+            // Nobody unparked us: not idle anymore.
+            this.nbrOfIdleWorkers.decrementAndGet();
+        }
+        
+        /*
+         * Not keeping interrupt status,
+         * else next runnable to process would get interrupted,
+         * cf. waitForRunnableOrDeath().
+         */
+        Thread.interrupted();
+    }
+    
+    /*
+     * 
+     */
+    
+    private void workerRun(int workerIndex) {
+        final boolean lockFree = (this.idleWorkerThreadArr != null);
+        final ExecutorMetrics metrics = this.metrics;
+        // To retrieve enqueue time of polled schedules.
+        final long[] enqueueNsRef = ((metrics != null) ? new long[1] : null);
         while (true) {
-            final Runnable runnable = this.waitForRunnableOrDeath();
+            final Runnable runnable;
+            if (lockFree) {
+                runnable = this.waitForRunnableOrDeath_lockFree(workerIndex, enqueueNsRef);
+            } else {
+                runnable = this.waitForRunnableOrDeath(enqueueNsRef);
+            }
             if (runnable == null) {
                 // Here current worker starts to die.
                 break;
             }
             
+            if (metrics == null) {
+                runnable.run();
+            } else {
+                runAndRecord(runnable, metrics, workerIndex, enqueueNsRef[0]);
+            }
+        }
+    }
+    
+    private static void runAndRecord(
+        Runnable runnable,
+        ExecutorMetrics metrics,
+        int workerIndex,
+        long enqueueNs) {
+        final long startNs = System.nanoTime();
+        try {
             runnable.run();
+        } finally {
+            metrics.onExecuted(
+                workerIndex,
+                startNs - enqueueNs,
+                System.nanoTime() - startNs);
         }
     }
     
-    private Runnable waitForRunnableOrDeath() {
+    /**
+     * @param enqueueNsRef If not null, where to put
+     *        the enqueue time of the polled schedule.
+     */
+    private Runnable waitForRunnableOrDeath(long[] enqueueNsRef) {
         
         Runnable runnable = null;
         
@@ -1608,6 +2192,9 @@ implements InterfaceWorkerAwareExecutor {
                 if (mustProcessSchedules(processStatus)) {
                     runnable = this.schedQueue.pollFirst();
                     if (runnable != null) {
+                        if (enqueueNsRef != null) {
+                            enqueueNsRef[0] = this.schedQueue.head.enqueueNs;
+                        }
                         if (this.schedQueue.wasNotEmptyAfterLastRemove()) {
                             /*
                              * Signaling even if there is no other worker:
@@ -1665,6 +2252,59 @@ implements InterfaceWorkerAwareExecutor {
         return runnable;
     }
     
+    /**
+     * For use with lock-free queue.
+     * Same as waitForRunnableOrDeath(...), but with idle workers
+     * parking outside of takeLock.
+     */
+    private Runnable waitForRunnableOrDeath_lockFree(
+        int workerIndex,
+        long[] enqueueNsRef) {
+        
+        final ReentrantLock takeLock = this.takeLock;
+        while (true) {
+            final int processStatus = this.processSchedulesStatus.get();
+            
+            boolean queueFoundEmpty = false;
+            if (mustProcessSchedules(processStatus)) {
+                final Runnable runnable;
+                final boolean notEmptyAfterRemove;
+                takeLock.lock();
+                try {
+                    runnable = this.schedQueue.pollFirst();
+                    notEmptyAfterRemove =
+                        (runnable != null)
+                        && this.schedQueue.wasNotEmptyAfterLastRemove();
+                    if ((runnable != null)
+                        && (enqueueNsRef != null)) {
+                        enqueueNsRef[0] = this.schedQueue.head.enqueueNs;
+                    }
+                } finally {
+                    takeLock.unlock();
+                }
+                if (runnable != null) {
+                    if (notEmptyAfterRemove) {
+                        // Waking up help, if any available.
+                        this.unparkIdleWorkers(1);
+                    }
+                    return runnable;
+                } else {
+                    queueFoundEmpty = true;
+                }
+            } else {
+                queueFoundEmpty = (this.schedQueue.size() == 0);
+            }
+            
+            if (queueFoundEmpty
+                && isShutdown(processStatus)) {
+                // Here current worker starts to die.
+                return null;
+            }
+            
+            this.parkIdleWorker(workerIndex, processStatus);
+        }
+    }
+    
     /*
      * 
      */
@@ -1702,6 +2342,10 @@ implements InterfaceWorkerAwareExecutor {
      */
     private boolean enqueueRunnableIfPossible(MyNode node) {
         
+        if (this.putLock == null) {
+            return this.enqueueRunnableIfPossible_lockFree(node);
+        }
+        
         boolean enqueuedAndWasEmpty = false;
         boolean enqueued = false;
         
@@ -1750,6 +2394,15 @@ implements InterfaceWorkerAwareExecutor {
          * 
          */
         
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (enqueued) {
+                metrics.onSubmitted(1);
+            } else {
+                metrics.onRejected(1);
+            }
+        }
+        
         if (enqueuedAndWasEmpty) {
             if (!mustSignalInPutLock) {
                 this.takeLock.lock();
@@ -1767,4 +2420,239 @@ implements InterfaceWorkerAwareExecutor {
         
         return false;
     }
+    
+    /**
+     * For use with lock-free queue.
+     * 
+     * @param node Node holding the runnable.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueRunnableIfPossible_lockFree(MyNode node) {
+        /*
+         * No lock to check accept status in: if status changes
+         * to NO concurrently, we might still enqueue, as for
+         * a call to execute() just preceding stopAccepting(),
+         * except for shutdown(), which closes the queue.
+         */
+        final int acceptStatus = this.getAcceptSchedulesStatus();
+        final boolean mustTryToEnqueue;
+        if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+            // General case first.
+            mustTryToEnqueue = true;
+        } else {
+            if (this.isThreadless) {
+                mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+            } else {
+                if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                    /*
+                     * Must try to start workers and call again.
+                     */
+                    return true;
+                }
+                mustTryToEnqueue = false;
+            }
+        }
+        
+        final boolean enqueued =
+            mustTryToEnqueue
+            && this.schedQueue.offerLast(node);
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (enqueued) {
+                metrics.onSubmitted(1);
+            } else {
+                metrics.onRejected(1);
+            }
+        }
+        if (enqueued) {
+            // Reading idle workers count after size increment,
+            // cf. parkIdleWorker(...).
+            this.unparkIdleWorkers(1);
+        } else {
+            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(node.item);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Bulk version of enqueueRunnableIfPossible(...).
+     * Cancels the runnables that could not be enqueued.
+     * 
+     * @param nodeArr Nodes holding the runnables. Must not be empty.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueRunnablesIfPossible(MyNode[] nodeArr) {
+        
+        if (this.putLock == null) {
+            return this.enqueueRunnablesIfPossible_lockFree(nodeArr);
+        }
+        
+        int nbrOfEnqueued = 0;
+        int nbrOfSignals = 0;
+        
+        final Lock putLock = this.putLock;
+        final boolean mustSignalInPutLock =
+            this.isTakeLock(putLock);
+        putLock.lock();
+        try {
+            /*
+             * Need to check accept status in putLock,
+             * cf. comment in shutdown().
+             */
+            final int acceptStatus = this.getAcceptSchedulesStatus();
+            final boolean mustTryToEnqueue;
+            if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+                // General case first.
+                mustTryToEnqueue = true;
+            } else {
+                if (this.isThreadless) {
+                    mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+                } else {
+                    if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                        /*
+                         * Must try to start workers and call again.
+                         */
+                        return true;
+                    }
+                    mustTryToEnqueue = false;
+                }
+            }
+            if (mustTryToEnqueue) {
+                final MyAbstractQueue queue = this.schedQueue;
+                boolean wasEmptyBeforeFirstAdd = false;
+                while ((nbrOfEnqueued < nodeArr.length)
+                    && queue.offerLast(nodeArr[nbrOfEnqueued])) {
+                    if (nbrOfEnqueued == 0) {
+                        wasEmptyBeforeFirstAdd = queue.wasEmptyBeforeLastAdd();
+                    }
+                    nbrOfEnqueued++;
+                }
+                if (wasEmptyBeforeFirstAdd) {
+                    /*
+                     * Signaling up to one worker per runnable,
+                     * for them not to have to wake up each other
+                     * one after the other.
+                     * If the queue was not empty, workers are already
+                     * awake or being woken up.
+                     */
+                    nbrOfSignals = Math.min(nbrOfEnqueued, this.workerThreadArr.length);
+                    if (mustSignalInPutLock) {
+                        for (int i = 0; i < nbrOfSignals; i++) {
+                            this.takeCondition.signal();
+                        }
+                    }
+                }
+            }
+        } finally {
+            putLock.unlock();
+        }
+        
+        /*
+         * 
+         */
+        
+        if ((nbrOfSignals != 0)
+            && (!mustSignalInPutLock)) {
+            this.takeLock.lock();
+            try {
+                for (int i = 0; i < nbrOfSignals; i++) {
+                    this.takeCondition.signal();
+                }
+            } finally {
+                this.takeLock.unlock();
+            }
+        }
+        
+        this.onBulkEnqueueForMetrics(nbrOfEnqueued, nodeArr.length);
+        
+        if (nbrOfEnqueued != nodeArr.length) {
+            cancelRejectedNodes(nodeArr, nbrOfEnqueued);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * For use with lock-free queue.
+     * Bulk version of enqueueRunnableIfPossible_lockFree(...).
+     * 
+     * @param nodeArr Nodes holding the runnables. Must not be empty.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueRunnablesIfPossible_lockFree(MyNode[] nodeArr) {
+        /*
+         * No lock to check accept status in,
+         * cf. enqueueRunnableIfPossible_lockFree(...).
+         */
+        final int acceptStatus = this.getAcceptSchedulesStatus();
+        final boolean mustTryToEnqueue;
+        if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+            // General case first.
+            mustTryToEnqueue = true;
+        } else {
+            if (this.isThreadless) {
+                mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+            } else {
+                if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                    /*
+                     * Must try to start workers and call again.
+                     */
+                    return true;
+                }
+                mustTryToEnqueue = false;
+            }
+        }
+        
+        final int nbrOfEnqueued;
+        if (mustTryToEnqueue) {
+            nbrOfEnqueued = ((MyLockFreeQueue) this.schedQueue).offerLastAll(nodeArr);
+        } else {
+            nbrOfEnqueued = 0;
+        }
+        if (nbrOfEnqueued != 0) {
+            // Reading idle workers count after size increment,
+            // cf. parkIdleWorker(...).
+            this.unparkIdleWorkers(nbrOfEnqueued);
+        }
+        this.onBulkEnqueueForMetrics(nbrOfEnqueued, nodeArr.length);
+        
+        if (nbrOfEnqueued != nodeArr.length) {
+            cancelRejectedNodes(nodeArr, nbrOfEnqueued);
+        }
+        
+        return false;
+    }
+    
+    private void onBulkEnqueueForMetrics(int nbrOfEnqueued, int nbrOfNodes) {
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (nbrOfEnqueued != 0) {
+                metrics.onSubmitted(nbrOfEnqueued);
+            }
+            if (nbrOfEnqueued != nbrOfNodes) {
+                metrics.onRejected(nbrOfNodes - nbrOfEnqueued);
+            }
+        }
+    }
+    
+    /**
+     * Calls onCancel() on the runnables of the specified nodes
+     * that are cancellables.
+     * 
+     * @param from Index of the first rejected node.
+     * @throws RejectedExecutionException if some of these runnables
+     *         are not cancellables (after all onCancel() calls).
+     */
+    private static void cancelRejectedNodes(MyNode[] nodeArr, int from) {
+        boolean gotNonCancellable = false;
+        for (int i = from; i < nodeArr.length; i++) {
+            if (!CancellableUtils.call_onCancel_IfCancellable(nodeArr[i].item)) {
+                gotNonCancellable = true;
+            }
+        }
+        if (gotNonCancellable) {
+            throw new RejectedExecutionException();
+        }
+    }
 }
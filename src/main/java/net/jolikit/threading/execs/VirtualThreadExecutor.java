@@ -0,0 +1,413 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.execs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import net.jolikit.lang.InterfaceBooleanCondition;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+import net.jolikit.lang.PostPaddedAtomicInteger;
+import net.jolikit.lang.VirtualThreadFactory;
+import net.jolikit.threading.basics.CancellableUtils;
+import net.jolikit.threading.basics.WorkerThreadChecker;
+import net.jolikit.threading.locks.InterfaceCondilock;
+import net.jolikit.threading.locks.MonitorCondilock;
+
+/**
+ * Executor running each runnable in a new thread, which by default
+ * is a virtual thread, for blocking-heavy tasks for which
+ * FixedThreadExecutor would need a lot of platform threads.
+ * 
+ * Virtual threads are obtained by reflection (see VirtualThreadFactory),
+ * so this class can be loaded with any JDK, but can only be used
+ * with default thread factory if virtual threads are available.
+ * 
+ * Similarities with FixedThreadExecutor:
+ * - Use of InterfaceCancellable: on rejection by execute(),
+ *   onCancel() is called instead of throwing RejectedExecutionException.
+ * - Use of InterfaceWorkerAware: a worker thread is a thread
+ *   created by this executor, while it runs its runnable.
+ * 
+ * Differences with FixedThreadExecutor:
+ * - No queue: runnables are handed over to a new thread on submit,
+ *   so there are never pending schedules to cancel or drain,
+ *   and no FIFO order.
+ * - The bound is on the number of runnables being ran
+ *   (instead of on pending ones), above which runnables are rejected.
+ * - No start/stop methods (other than shutdown ones),
+ *   since there is no worker thread to keep around.
+ * 
+ * Exceptions thrown by runnables are not caught, and are handled
+ * by the uncaught exception handler of their thread.
+ */
+public class VirtualThreadExecutor
+extends AbstractExecutorService
+implements InterfaceWorkerAwareExecutor {
+    
+    /*
+     * Threads are registered as worker threads before being started,
+     * and unregistered once their runnable completed, so that
+     * interruptWorkers() can't miss a thread that is about to run
+     * its runnable.
+     */
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private class MyWorkerRunnable implements Runnable {
+        private final Runnable runnable;
+        public MyWorkerRunnable(Runnable runnable) {
+            this.runnable = runnable;
+        }
+        @Override
+        public void run() {
+            try {
+                this.runnable.run();
+            } finally {
+                workerThreadMap.remove(Thread.currentThread());
+                onWorkerDone();
+            }
+        }
+    }
+    
+    private class MyNoRunningWorkerBC implements InterfaceBooleanCondition {
+        @Override
+        public boolean isTrue() {
+            return getNbrOfRunningWorkers() == 0;
+        }
+    }
+    
+    private class MyTerminatedBC implements InterfaceBooleanCondition {
+        @Override
+        public boolean isTrue() {
+            return isTerminated();
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final ThreadFactory threadFactory;
+    
+    private final int maxNbrOfRunningWorkers;
+    
+    /**
+     * Incremented before thread creation, and decremented
+     * once thread's runnable completed, or on rejection.
+     */
+    private final PostPaddedAtomicInteger nbrOfRunningWorkers =
+        new PostPaddedAtomicInteger();
+    
+    private final ConcurrentHashMap<Thread,Boolean> workerThreadMap =
+        new ConcurrentHashMap<Thread,Boolean>();
+    
+    private volatile boolean shutdown = false;
+    
+    /*
+     * 
+     */
+    
+    private final MyNoRunningWorkerBC noRunningWorkerBooleanCondition =
+        new MyNoRunningWorkerBC();
+    
+    private final MyTerminatedBC terminatedBooleanCondition =
+        new MyTerminatedBC();
+    
+    private final Object noRunningWorkerMutex = new Object();
+    private final InterfaceCondilock noRunningWorkerCondilock =
+        new MonitorCondilock(this.noRunningWorkerMutex);
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param threadNamePrefix Prefix for virtual threads names.
+     *        Can be null, in which case threads names are empty.
+     * @param maxNbrOfRunningWorkers Max number (>=0) of runnables
+     *        being ran at once. When reached, new runnables are rejected.
+     * @throws UnsupportedOperationException if virtual threads
+     *         are not available.
+     */
+    public VirtualThreadExecutor(
+        String threadNamePrefix,
+        int maxNbrOfRunningWorkers) {
+        this(
+            maxNbrOfRunningWorkers,
+            new VirtualThreadFactory(threadNamePrefix));
+    }
+    
+    /**
+     * @param maxNbrOfRunningWorkers Max number (>=0) of runnables
+     *        being ran at once. When reached, new runnables are rejected.
+     * @param threadFactory Factory for the thread of each runnable.
+     *        If null, unnamed virtual threads are created.
+     *        Can be a platform threads factory, for example
+     *        for comparison, or when virtual threads are not available.
+     * @throws UnsupportedOperationException if the specified thread
+     *         factory is null and virtual threads are not available.
+     */
+    public VirtualThreadExecutor(
+        int maxNbrOfRunningWorkers,
+        ThreadFactory threadFactory) {
+        NbrsUtils.requireSupOrEq(0, maxNbrOfRunningWorkers, "maxNbrOfRunningWorkers");
+        if (threadFactory == null) {
+            threadFactory = new VirtualThreadFactory();
+        }
+        this.threadFactory = threadFactory;
+        this.maxNbrOfRunningWorkers = maxNbrOfRunningWorkers;
+    }
+    
+    /**
+     * @return An executor using unnamed virtual threads,
+     *         and Integer.MAX_VALUE for max number of running workers.
+     * @throws UnsupportedOperationException if virtual threads
+     *         are not available.
+     */
+    public static VirtualThreadExecutor newInstance() {
+        return new VirtualThreadExecutor(
+            Integer.MAX_VALUE,
+            null); // threadFactory
+    }
+    
+    /**
+     * @return True if virtual threads are available in current JDK,
+     *         i.e. if this executor can be used with its default
+     *         thread factory, false otherwise.
+     */
+    public static boolean isAvailable() {
+        return VirtualThreadFactory.isAvailable();
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        
+        sb.append("[");
+        sb.append(super.toString());
+        
+        if (this.isShutdown()) {
+            sb.append(",shutdown");
+        }
+        
+        sb.append(",running:");
+        sb.append(this.getNbrOfRunningWorkers());
+        sb.append("]");
+        
+        return sb.toString();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public boolean isWorkerThread() {
+        return this.workerThreadMap.containsKey(Thread.currentThread());
+    }
+    
+    @Override
+    public void checkIsWorkerThread() {
+        WorkerThreadChecker.checkIsWorkerThread(this);
+    }
+    
+    @Override
+    public void checkIsNotWorkerThread() {
+        WorkerThreadChecker.checkIsNotWorkerThread(this);
+    }
+    
+    /*
+     * getters
+     */
+    
+    /**
+     * @return The max number of runnables being ran at once,
+     *         specified to the constructor.
+     */
+    public int getMaxNbrOfRunningWorkers() {
+        return this.maxNbrOfRunningWorkers;
+    }
+    
+    /**
+     * @return An estimation of the number of worker threads
+     *         created and not done running their runnable.
+     */
+    public int getNbrOfRunningWorkers() {
+        // Bounded in case of transient overshoot due to rejections.
+        return Math.min(
+            this.maxNbrOfRunningWorkers,
+            this.nbrOfRunningWorkers.get());
+    }
+    
+    /**
+     * @return True if shutdown() or shutdownNow(...) has been called, false otherwise.
+     */
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+    
+    /*
+     * controls
+     */
+    
+    /**
+     * Interrupts worker threads.
+     */
+    public void interruptWorkers() {
+        for (Thread thread : this.workerThreadMap.keySet()) {
+            thread.interrupt();
+        }
+    }
+    
+    /**
+     * After this call, runnables are rejected,
+     * and already running ones complete normally.
+     */
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        // Signaling eventual termination waiters,
+        // in case there are no more running workers.
+        this.noRunningWorkerCondilock.signalAllInLock();
+    }
+    
+    /**
+     * Convenience method, implemented with other public methods:
+     * calls shutdown(), then eventually interruptWorkers().
+     * 
+     * @return An empty list, since there are never pending runnables.
+     */
+    public List<Runnable> shutdownNow(boolean mustInterruptWorkingWorkers) {
+        this.shutdown();
+        if (mustInterruptWorkingWorkers) {
+            this.interruptWorkers();
+        }
+        return new ArrayList<Runnable>();
+    }
+    
+    /*
+     * waits
+     */
+    
+    /**
+     * Waits for no more worker to be running,
+     * or for the specified timeout to elapse.
+     * 
+     * @param timeoutNs Timeout, in system time, in nanoseconds.
+     * @return True if there was no more running worker before
+     *         the timeout elapsed, false otherwise.
+     * @throws InterruptedException if the wait gets interrupted.
+     */
+    public boolean waitForNoMoreRunningWorker(long timeoutNs) throws InterruptedException {
+        return this.noRunningWorkerCondilock.awaitNanosWhileFalseInLock(
+            this.noRunningWorkerBooleanCondition,
+            timeoutNs);
+    }
+    
+    /*
+     * scheduling
+     */
+    
+    @Override
+    public void execute(Runnable runnable) {
+        
+        LangUtils.requireNonNull(runnable);
+        
+        /*
+         * Incrementing before checking shutdown, for termination
+         * not to be considered reached while a worker is being started.
+         */
+        final int newNbr = this.nbrOfRunningWorkers.incrementAndGet();
+        if ((newNbr > this.maxNbrOfRunningWorkers)
+            || this.shutdown) {
+            this.onWorkerDone();
+            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(runnable);
+            return;
+        }
+        
+        boolean started = false;
+        try {
+            final Thread thread = this.threadFactory.newThread(
+                new MyWorkerRunnable(runnable));
+            if (thread != null) {
+                this.workerThreadMap.put(thread, Boolean.TRUE);
+                try {
+                    thread.start();
+                    started = true;
+                } finally {
+                    if (!started) {
+                        this.workerThreadMap.remove(thread);
+                    }
+                }
+            }
+        } finally {
+            if (!started) {
+                this.onWorkerDone();
+            }
+        }
+        if (!started) {
+            // Thread factory rejected the runnable.
+            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(runnable);
+        }
+    }
+    
+    /*
+     * Complementary methods for ExecutorService.
+     */
+    
+    /**
+     * Does not interrupt workers.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        // Can always interrupt workers aside if needed.
+        final boolean mustInterruptWorkingWorkers = false;
+        return this.shutdownNow(mustInterruptWorkingWorkers);
+    }
+    
+    @Override
+    public boolean isTerminated() {
+        return this.isShutdown()
+            && (this.nbrOfRunningWorkers.get() == 0);
+    }
+    
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long timeoutNs = unit.toNanos(timeout);
+        return this.noRunningWorkerCondilock.awaitNanosWhileFalseInLock(
+            this.terminatedBooleanCondition,
+            timeoutNs);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void onWorkerDone() {
+        if (this.nbrOfRunningWorkers.decrementAndGet() == 0) {
+            this.noRunningWorkerCondilock.signalAllInLock();
+        }
+    }
+}
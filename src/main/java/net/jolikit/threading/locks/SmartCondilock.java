@@ -0,0 +1,331 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.locks;
+
+import java.util.concurrent.Callable;
+
+import net.jolikit.lang.InterfaceBooleanCondition;
+import net.jolikit.lang.NbrsUtils;
+
+/**
+ * Condilock that, when waiting for a boolean condition, first busy-spins,
+ * then yield-spins, and only then uses a backing condilock
+ * (typically a blocking one, such as MonitorCondilock or LockCondilock),
+ * which is also used for locking, signaling, and waits that are not
+ * for a boolean condition.
+ * 
+ * Useful to reduce wake-up latency for waits that are typically short,
+ * by avoiding to park threads, while not burning CPU for long waits.
+ * 
+ * Busy-spinning is done outside of the lock, and its budget (number of
+ * checks of the boolean condition) is adaptive: it grows when the boolean
+ * condition turned true while spinning, and shrinks when it did not,
+ * within [minSpinCount,maxSpinCount].
+ * Spinning phases stop early when wait end time is reached.
+ * 
+ * NB: Doesn't use Thread.onSpinWait(), which is not available in Java 6.
+ */
+public class SmartCondilock extends AbstractCondilock {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Busy-spinning only makes sense if some other CPU can make
+     * the boolean condition true meanwhile.
+     */
+    private static final boolean CAN_SPIN =
+            (Runtime.getRuntime().availableProcessors() >= 2);
+    
+    private static final int DEFAULT_MIN_SPIN_COUNT = (CAN_SPIN ? 16 : 0);
+    
+    private static final int DEFAULT_MAX_SPIN_COUNT = (CAN_SPIN ? 16 * 1024 : 0);
+    
+    private static final int DEFAULT_YIELD_COUNT = 8;
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final InterfaceCondilock condilock;
+    
+    private final int minSpinCount;
+    
+    private final int maxSpinCount;
+    
+    private final int yieldCount;
+    
+    /**
+     * Current busy-spinning budget, in [minSpinCount,maxSpinCount].
+     * 
+     * Racy updates, which are benign since it's just a hint.
+     */
+    private volatile int spinCount;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Uses default spin and yield counts, spin counts being 0
+     * (no busy-spinning) if there is a single available processor.
+     * 
+     * @param condilock Condilock to use for locking, signaling,
+     *        and waits after spinning phases.
+     */
+    public SmartCondilock(InterfaceCondilock condilock) {
+        this(
+                condilock,
+                DEFAULT_MIN_SPIN_COUNT,
+                DEFAULT_MAX_SPIN_COUNT,
+                DEFAULT_YIELD_COUNT);
+    }
+    
+    /**
+     * @param condilock Condilock to use for locking, signaling,
+     *        and waits after spinning phases.
+     * @param minSpinCount Min number of busy-spins. Must be >= 0.
+     * @param maxSpinCount Max number of busy-spins. Must be >= minSpinCount.
+     * @param yieldCount Number of yield-spins. Must be >= 0.
+     */
+    public SmartCondilock(
+            InterfaceCondilock condilock,
+            int minSpinCount,
+            int maxSpinCount,
+            int yieldCount) {
+        if (condilock == null) {
+            throw new NullPointerException();
+        }
+        NbrsUtils.requireSupOrEq(0, minSpinCount, "minSpinCount");
+        NbrsUtils.requireSupOrEq(minSpinCount, maxSpinCount, "maxSpinCount");
+        NbrsUtils.requireSupOrEq(0, yieldCount, "yieldCount");
+        this.condilock = condilock;
+        this.minSpinCount = minSpinCount;
+        this.maxSpinCount = maxSpinCount;
+        this.yieldCount = yieldCount;
+        this.spinCount = maxSpinCount;
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * @return Condilock used for locking, signaling,
+     *         and waits after spinning phases.
+     */
+    public InterfaceCondilock getCondilock() {
+        return this.condilock;
+    }
+    
+    /**
+     * @return Current busy-spinning budget.
+     */
+    public int getSpinCount() {
+        return this.spinCount;
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public long timeoutTimeNs() {
+        return this.condilock.timeoutTimeNs();
+    }
+    
+    @Override
+    public long deadlineTimeNs() {
+        return this.condilock.deadlineTimeNs();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void runInLock(Runnable runnable) {
+        this.condilock.runInLock(runnable);
+    }
+    
+    @Override
+    public <V> V callInLock(Callable<V> callable) throws Exception {
+        return this.condilock.callInLock(callable);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void signal() {
+        this.condilock.signal();
+    }
+    
+    @Override
+    public void signalAll() {
+        this.condilock.signalAll();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void signalInLock() {
+        this.condilock.signalInLock();
+    }
+    
+    @Override
+    public void signalAllInLock() {
+        this.condilock.signalAllInLock();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public boolean awaitNanosWhileFalseInLock(
+            InterfaceBooleanCondition booleanCondition,
+            long timeoutNs) throws InterruptedException {
+        if (booleanCondition.isTrue()) {
+            return true;
+        }
+        
+        if (CondilocksUtilz.whenInitiallyFalse_TT_timeout(timeoutNs)) {
+            return false;
+        }
+        
+        final long endTimeoutTimeNs = NbrsUtils.plusBounded(this.timeoutTimeNs(), timeoutNs);
+        if (this.spinWhileFalse(booleanCondition, false, endTimeoutTimeNs)) {
+            return true;
+        }
+        return this.condilock.awaitUntilNanosTimeoutTimeWhileFalseInLock(
+                booleanCondition, endTimeoutTimeNs);
+    }
+    
+    @Override
+    public boolean awaitUntilNanosTimeoutTimeWhileFalseInLock(
+            InterfaceBooleanCondition booleanCondition,
+            long endTimeoutTimeNs) throws InterruptedException {
+        if (booleanCondition.isTrue()) {
+            return true;
+        }
+        
+        if (CondilocksUtilz.whenInitiallyFalse_TT_until(this, endTimeoutTimeNs)) {
+            return false;
+        }
+        
+        if (this.spinWhileFalse(booleanCondition, false, endTimeoutTimeNs)) {
+            return true;
+        }
+        return this.condilock.awaitUntilNanosTimeoutTimeWhileFalseInLock(
+                booleanCondition, endTimeoutTimeNs);
+    }
+    
+    @Override
+    public boolean awaitUntilNanosWhileFalseInLock(
+            InterfaceBooleanCondition booleanCondition,
+            long deadlineNs) throws InterruptedException {
+        if (booleanCondition.isTrue()) {
+            return true;
+        }
+        
+        if (CondilocksUtilz.whenInitiallyFalse_DT_until(this, deadlineNs)) {
+            return false;
+        }
+        
+        if (this.spinWhileFalse(booleanCondition, true, deadlineNs)) {
+            return true;
+        }
+        return this.condilock.awaitUntilNanosWhileFalseInLock(
+                booleanCondition, deadlineNs);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected boolean areMainWaitsTimed() {
+        return true;
+    }
+    
+    @Override
+    protected void mainWait_TT_timeout_upTo(long timeoutNs) throws InterruptedException {
+        // Backing condilock takes care of its own chunks.
+        @SuppressWarnings("unused")
+        long unused = this.condilock.awaitNanos(timeoutNs);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Busy-spins, then yield-spins, while boolean condition is false,
+     * and end time is not reached.
+     * 
+     * @param isDeadline True if end time is a deadline,
+     *        false if it's a timeout time.
+     * @return True if boolean condition is true, false otherwise.
+     * @throws InterruptedException if current thread is interrupted
+     *         while yield-spinning.
+     */
+    private boolean spinWhileFalse(
+            InterfaceBooleanCondition booleanCondition,
+            boolean isDeadline,
+            long endTimeNs) throws InterruptedException {
+        
+        /*
+         * Busy-spinning (not checking time, since it's short).
+         */
+        
+        final int spinCount = this.spinCount;
+        for (int i = 0; i < spinCount; i++) {
+            if (booleanCondition.isTrue()) {
+                // Spinning worked: allowing for more.
+                this.spinCount = Math.min(this.maxSpinCount, 2 * spinCount + 1);
+                return true;
+            }
+        }
+        // Spinning didn't work: allowing for less.
+        this.spinCount = Math.max(this.minSpinCount, spinCount / 2);
+        
+        /*
+         * Yield-spinning.
+         */
+        
+        for (int i = 0; i < this.yieldCount; i++) {
+            CondilocksUtilz.yieldingWait();
+            if (booleanCondition.isTrue()) {
+                return true;
+            }
+            final boolean endTimeReached =
+                    (isDeadline
+                            ? ConditionsUtilz.isEndTimePassed_DT(this, endTimeNs)
+                                    : ConditionsUtilz.isEndTimePassed_TT(this, endTimeNs));
+            if (endTimeReached) {
+                // Letting backing condilock do the last check
+                // and return false.
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.Executor;
+
+import net.jolikit.lang.LangUtils;
+import net.jolikit.lang.NbrsUtils;
+import net.jolikit.lang.RethrowException;
+
+/**
+ * Parallelizer based on an Executor's execute(Runnable) method,
+ * like ExecutorParallelizer, with the same constraints on the backing
+ * executor and the same reentrancy, exceptions and interrupts semantics,
+ * but using work-stealing instead of a shared LIFO.
+ * 
+ * Each thread working for the parallelizer (calling thread, or backing
+ * executor's worker thread) uses its own (Chase-Lev) deque, pushing
+ * and popping split tasks at its bottom without lock, and when it is
+ * empty, steals the oldest (i.e. usually largest) tasks of other
+ * deques, starting at a random one.
+ * This avoids the contention of all workers on a same end of a same
+ * locked LIFO, which can become a bottleneck with high parallelism
+ * and fine-grained splits, at the cost of a bit more overhead
+ * (thread-local lookup, steal attempts) for each parallelization.
+ * 
+ * Using a lock only when the calling thread has nothing to do
+ * but wait for other threads to complete its parallelization's tasks.
+ */
+public class WorkStealingParallelizer implements InterfaceParallelizer {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final Executor executor;
+
+    private final int parallelism;
+    
+    private final int maxDepth;
+    
+    private final UncaughtExceptionHandler exceptionHandler;
+    
+    private final WsPrlzrSp prlzrSp;
+    
+    private final WsPrlzrSpm prlzrSpm;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+
+    /**
+     * Uses no uncaught exception handler: it will only be possible to be aware
+     * of the first detected exception, when it is rethrown in calling thread
+     * at the end of the parallelization.
+     * 
+     * @param executor Executor to use. Use of executors applying backpressure
+     *        on queue full, such as ThreadPoolExecutor, is discouraged,
+     *        as it could cause workers to block on execute() calls forever.
+     *        FixedThreadExecutor on the other hand is well suited.
+     * @param executorParallelism Executor's parallelism. Must be >= 1.
+     *        If is 1, the specified Executor won't be used,
+     *        only the calling thread.
+     * @param maxDepth Max depth of the split tree. Must be >= 0.
+     *        0 means no split.
+     * @throws NullPointerException if the specified executor is null.
+     * @throws IllegalArgumentException if executorParallelism <= 0 or maxDepth < 0.
+     */
+    public WorkStealingParallelizer(
+        Executor executor,
+        int executorParallelism,
+        int maxDepth) {
+        this(
+            executor,
+            executorParallelism,
+            maxDepth,
+            null); // exceptionHandler
+    }
+
+    /**
+     * @param executor Executor to use. Use of executors applying backpressure
+     *        on queue full, such as ThreadPoolExecutor, is discouraged,
+     *        as it could cause workers to block on execute() calls forever.
+     *        FixedThreadExecutor on the other hand is well suited.
+     * @param executorParallelism Executor's parallelism. Must be >= 1.
+     *        If is 1, the specified Executor won't be used,
+     *        only the calling thread.
+     * @param maxDepth Max depth of the split tree. Must be >= 0.
+     *        0 means no split.
+     * @param exceptionHandler Handler for exceptions throw during
+     *        {worthToSplit(), split(), run(), merge(), execute()}
+     *        calls (except first detected exception which is
+     *        rethrown by this method), either in worker threads
+     *        or in calling thread. Can be null.
+     * @throws NullPointerException if the specified executor is null.
+     * @throws IllegalArgumentException if executorParallelism <= 0 or maxDepth < 0.
+     */
+    public WorkStealingParallelizer(
+        Executor executor,
+        int executorParallelism,
+        int maxDepth,
+        UncaughtExceptionHandler exceptionHandler) {
+        
+        LangUtils.requireNonNull(executor);
+        NbrsUtils.requireSup(0, executorParallelism, "executorParallelism");
+        NbrsUtils.requireSupOrEq(0, maxDepth, "maxDepth");
+        
+        this.executor = executor;
+        this.parallelism = executorParallelism;
+        this.maxDepth = maxDepth;
+        this.exceptionHandler = exceptionHandler;
+        
+        /*
+         * Pool shared for splittable and splitmergable parallelizations,
+         * so that they can help each other and share threads without blocking them.
+         */
+        final WsPrlzrPool pool = new WsPrlzrPool(executor);
+        
+        this.prlzrSp = new WsPrlzrSp(
+            pool,
+            maxDepth,
+            exceptionHandler);
+        this.prlzrSpm = new WsPrlzrSpm(
+            pool,
+            maxDepth,
+            exceptionHandler);
+    }
+    
+    /**
+     * @return The backing Executor.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Actual parallelism may be one unit above, since calling thread can be used
+     * as worker thread (allows to avoid starving if calling thread is a worker
+     * thread of the backing Executor).
+     */
+    @Override
+    public int getParallelism() {
+        return this.parallelism;
+    }
+    
+    /**
+     * @return The max depth of split tree. >= 0.
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @param runnable A Runnable, possibly splittable or splitmergable.
+     * @throws NullPointerException if the specified runnable is null.
+     * @throws First detected throwable thrown by calling thread or
+     *         a worker thread, while executing this parallelization's work
+     *         (not while helping with concurrent parallelizations),
+     *         eventually wrapped in a RethrowException.
+     *         Might be an exception from the runnable,
+     *         or from the executor, such as RejectedExecutionException.
+     */
+    @Override
+    public void execute(Runnable runnable) {
+        if ((this.parallelism <= 1)
+            || (!(runnable instanceof InterfaceSplittable))) {
+            // Implicit null check.
+            runnable.run();
+        } else {
+            // Never null here.
+            final InterfaceSplittable splittable = (InterfaceSplittable) runnable;
+            // We want to run even if worthToSplit() throws
+            // (best effort work policy).
+            boolean worthToSplit = false;
+            Throwable firstDetected = null;
+            try {
+                worthToSplit = splittable.worthToSplit();
+            } catch (Throwable e) {
+                firstDetected = e;
+            }
+            if (!worthToSplit) {
+                try {
+                    splittable.run();
+                } catch (Throwable e) {
+                    if (firstDetected == null) {
+                        firstDetected = e;
+                    } else {
+                        if (this.exceptionHandler != null) {
+                            try {
+                                this.exceptionHandler.uncaughtException(Thread.currentThread(), e);
+                            } catch (Throwable e2) {
+                                // ignored (as if null handler)
+                            }
+                        }
+                    }
+                }
+                if (firstDetected != null) {
+                    throw new RethrowException(firstDetected);
+                }
+            } else {
+                /*
+                 * worthToSplit() returned true.
+                 * Using parallelism.
+                 */
+                if (splittable instanceof InterfaceSplitmergable) {
+                    this.prlzrSpm.executePrl((InterfaceSplitmergable) splittable);
+                } else {
+                    this.prlzrSp.executePrl(splittable);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Chase-Lev work-stealing deque, for work-stealing parallelizer.
+ *
+ * Only the owner thread can push and pop, at bottom (LIFO),
+ * while any thread can steal, at top (FIFO).
+ *
+ * Extended AtomicReference holds the owner thread, or null if none.
+ * A same deque can have successive owners, ownership transfers
+ * (CAS to acquire, volatile write to release) ensuring visibility
+ * of owner-only state.
+ */
+class WsPrlzrDeque extends AtomicReference<Thread> {
+    
+    /*
+     * Since we don't have fences in Java 6, using AtomicLong
+     * for top (which is CASed), and volatile for bottom,
+     * which gives us the required StoreLoad barrier between
+     * bottom write and top read in pop().
+     *
+     * Slots are cleared with CAS after steals, and directly
+     * after non-last pops, not to retain references to user
+     * splittables after their tasks have been ran.
+     */
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Must be a power of two.
+     * Initially small to ensure a few grows, to make sure that works.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Index of next slot to steal from.
+     */
+    private final AtomicLong top = new AtomicLong();
+    
+    /**
+     * Index of next slot to push into.
+     * Only written by owner.
+     */
+    private volatile long bottom;
+    
+    /**
+     * Capacity is a power of two.
+     * Only replaced by owner.
+     */
+    private volatile AtomicReferenceArray<WsPrlzrTask> slots =
+        new AtomicReferenceArray<WsPrlzrTask>(INITIAL_CAPACITY);
+    
+    /*
+     * Owner-only state.
+     */
+    
+    /**
+     * Number of nested acquisitions of this deque by its owner,
+     * for parallelizer reentrancy.
+     */
+    int holdCount;
+    
+    /**
+     * For randomized stealing.
+     */
+    int seed;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrDeque(int seed) {
+        // Must not be zero for xorshift.
+        this.seed = ((seed == 0) ? 1 : seed);
+    }
+    
+    /**
+     * Can be called by any thread, but is only accurate
+     * if called by owner.
+     *
+     * @return True if this deque was found empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        // Reading bottom first, to not see bottom < top
+        // due to a concurrent pop.
+        final long b = this.bottom;
+        return (this.top.get() >= b);
+    }
+    
+    /**
+     * Must only be called by owner.
+     */
+    public void push(WsPrlzrTask task) {
+        final long b = this.bottom;
+        final long t = this.top.get();
+        AtomicReferenceArray<WsPrlzrTask> slots = this.slots;
+        if (b - t >= slots.length() - 1) {
+            slots = this.grow(slots, t, b);
+        }
+        slots.set(indexOf(slots, b), task);
+        // Volatile write publishes the task to thieves.
+        this.bottom = b + 1;
+    }
+    
+    /**
+     * Must only be called by owner.
+     *
+     * @return The last pushed task not yet popped or stolen,
+     *         or null if there is none.
+     */
+    public WsPrlzrTask pop() {
+        final long b = this.bottom - 1;
+        final AtomicReferenceArray<WsPrlzrTask> slots = this.slots;
+        // Volatile write followed by volatile read: StoreLoad.
+        this.bottom = b;
+        final long t = this.top.get();
+        if (t > b) {
+            // Was empty.
+            this.bottom = b + 1;
+            return null;
+        }
+        final int index = indexOf(slots, b);
+        WsPrlzrTask task = slots.get(index);
+        if (t == b) {
+            /*
+             * Last task: racing with thieves.
+             */
+            if (this.top.compareAndSet(t, t + 1)) {
+                slots.compareAndSet(index, task, null);
+            } else {
+                // Stolen.
+                task = null;
+            }
+            this.bottom = b + 1;
+        } else {
+            // Thieves never reach this slot while it holds this task.
+            slots.lazySet(index, null);
+        }
+        return task;
+    }
+    
+    /**
+     * Can be called by any thread.
+     * Retries on contention, which is lock-free since a failure
+     * means that another thread made progress.
+     *
+     * @return The first pushed task not yet popped or stolen,
+     *         or null if there is none.
+     */
+    public WsPrlzrTask steal() {
+        while (true) {
+            final long t = this.top.get();
+            final long b = this.bottom;
+            if (t >= b) {
+                return null;
+            }
+            final AtomicReferenceArray<WsPrlzrTask> slots = this.slots;
+            final int index = indexOf(slots, t);
+            final WsPrlzrTask task = slots.get(index);
+            if ((task != null)
+                && this.top.compareAndSet(t, t + 1)) {
+                // Owner might already have reused the slot
+                // for another task, in which case CAS fails.
+                slots.compareAndSet(index, task, null);
+                return task;
+            }
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static int indexOf(AtomicReferenceArray<WsPrlzrTask> slots, long i) {
+        return ((int) i) & (slots.length() - 1);
+    }
+    
+    /**
+     * Old slots are not cleared, for concurrent thieves
+     * to still be able to read them.
+     */
+    private AtomicReferenceArray<WsPrlzrTask> grow(
+        AtomicReferenceArray<WsPrlzrTask> oldSlots,
+        long t,
+        long b) {
+        final int oldCapacity = oldSlots.length();
+        if (oldCapacity == (1 << 30)) {
+            throw new IllegalStateException("full");
+        }
+        final AtomicReferenceArray<WsPrlzrTask> newSlots =
+            new AtomicReferenceArray<WsPrlzrTask>(2 * oldCapacity);
+        for (long i = t; i < b; i++) {
+            newSlots.lazySet(
+                indexOf(newSlots, i),
+                oldSlots.get(indexOf(oldSlots, i)));
+        }
+        // Volatile write publishes new slots contents.
+        this.slots = newSlots;
+        return newSlots;
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jolikit.threading.basics.InterfaceCancellable;
+
+/**
+ * Deques and workers management for work-stealing parallelizer,
+ * shared by splittables and splitmergables parallelizations,
+ * so that they can help each other and share threads without blocking them.
+ * 
+ * Each thread working for the parallelizer (calling thread, or backing
+ * executor's worker thread) owns a deque while it works, pushing and popping
+ * tasks at its bottom, and when it is empty, steals tasks from the top
+ * of other deques, starting at a random one.
+ * Deques are never removed, for their tasks to remain stealable
+ * after their owner stopped working, and to be reused by subsequent
+ * workers, so their number is the max number of threads that worked
+ * concurrently for the parallelizer.
+ * 
+ * Runs as a backing executor's command, i.e. executes tasks until none
+ * can be found, and does nothing in onCancel(), for the same reasons than
+ * for ExecutorParallelizer.
+ */
+class WsPrlzrPool implements InterfaceCancellable {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Golden ratio based increment, for well spread seeds.
+     */
+    private static final int SEED_INCREMENT = 0x9E3779B9;
+    
+    private final Executor executor;
+    
+    /**
+     * Deque owned by current thread, if any.
+     */
+    private final ThreadLocal<WsPrlzrDeque> dequeTl =
+        new ThreadLocal<WsPrlzrDeque>();
+    
+    private final AtomicInteger seedGenerator = new AtomicInteger();
+    
+    /**
+     * Guards deques array replacements.
+     */
+    private final Object dequesMutex = new Object();
+    
+    /**
+     * Copy-on-write.
+     */
+    private volatile WsPrlzrDeque[] deques = new WsPrlzrDeque[0];
+    
+    /**
+     * Used to wait/notify for work and/or shots completion.
+     */
+    private final Object waitMutex = new Object();
+    
+    /**
+     * Written in waitMutex.
+     * Allows not to lock for signaling when there is no waiter.
+     */
+    private volatile int waiterCount;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrPool(Executor executor) {
+        this.executor = executor;
+    }
+    
+    /**
+     * Runs tasks until none can be found.
+     * Called from executor.
+     */
+    @Override
+    public void run() {
+        /*
+         * We don't need to wait for work here, because after
+         * each push we execute this in the backing executor,
+         * which ensures that we won't miss any task.
+         * Not waiting also helps freeing executor's workers earlier,
+         * in case they could be used by other treatments as well.
+         */
+        final WsPrlzrDeque deque = this.acquireDeque();
+        try {
+            WsPrlzrTask task;
+            while ((task = this.pollTask(deque)) != null) {
+                task.run(deque);
+            }
+        } finally {
+            this.releaseDeque(deque);
+        }
+    }
+    
+    @Override
+    public void onCancel() {
+        /*
+         * Doing nothing here. At worse remaining tasks
+         * will be taken care of by calling thread.
+         */
+    }
+    
+    /*
+     * 
+     */
+    
+    /**
+     * Reentrant: if current thread already owns a deque, returns it.
+     * 
+     * @return The deque owned by current thread.
+     */
+    public WsPrlzrDeque acquireDeque() {
+        final Thread currentThread = Thread.currentThread();
+        WsPrlzrDeque deque = this.dequeTl.get();
+        if (deque == null) {
+            deque = this.tryAcquireExistingDeque(currentThread);
+            if (deque == null) {
+                deque = this.newDeque(currentThread);
+            }
+            this.dequeTl.set(deque);
+        }
+        deque.holdCount++;
+        return deque;
+    }
+    
+    /**
+     * Must be called once for each call to acquireDeque(),
+     * in the same thread.
+     */
+    public void releaseDeque(WsPrlzrDeque deque) {
+        if (--deque.holdCount == 0) {
+            this.dequeTl.set(null);
+            // Volatile write, for owner-only state to be visible
+            // to next owner.
+            deque.set(null);
+        }
+    }
+    
+    /**
+     * Pushes the specified task into the specified deque,
+     * and executes this pool in the backing executor, to make sure
+     * we use all available parallelism.
+     * 
+     * If the executor applies backpressure on queue full,
+     * the parallelizer might block, that's why use of
+     * such executors is discouraged.
+     * If the executor throws RejectedExecutionException,
+     * our tasks will catch it and treat it as any other issue
+     * (throwable) thrown during execution, so in this case
+     * the parallelization will complete exceptionally.
+     * If the executor recognizes InterfaceCancellable
+     * and rejects this pool by calling onCancel(),
+     * due to queue full, shutdown, or else,
+     * we will just not benefit from the attempted parallelism
+     * (at worse, remaining tasks will be taken care of
+     * by calling thread).
+     * 
+     * @param deque Deque owned by current thread.
+     */
+    public void pushTaskAndExecutePool(
+        WsPrlzrDeque deque,
+        WsPrlzrTask task) {
+        deque.push(task);
+        this.signalWaitersIfAny();
+        this.executor.execute(this);
+    }
+    
+    /**
+     * Must be called on shot completion, for eventual waiters
+     * to be aware of it.
+     */
+    public void onShotCompletion() {
+        this.signalWaitersIfAny();
+    }
+    
+    /**
+     * Keeps running tasks until shot completion,
+     * waiting if no task can be found.
+     * 
+     * Always using calling thread as worker thread, in case it is a thread
+     * of executor, for we need to wait for shot completion, and we don't
+     * want to block tasks execution for it could cause deadlocks.
+     * 
+     * @param deque Deque owned by current thread.
+     */
+    public void runTasksUntilShotCompletion(
+        WsPrlzrDeque deque,
+        WsPrlzrShot shot) {
+        /*
+         * Shot might be completed when entering this method,
+         * and might also be completed due to completion
+         * of tasks not ran in current thread.
+         */
+        while (!shot.isShotCompleted()) {
+            final WsPrlzrTask task = this.pollTask(deque);
+            if (task != null) {
+                /*
+                 * Can be a task of this shot or of another shot
+                 * (since deques are shared).
+                 */
+                task.run(deque);
+            } else {
+                this.waitForTaskOrShotCompletion(shot);
+            }
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private WsPrlzrDeque tryAcquireExistingDeque(Thread currentThread) {
+        final WsPrlzrDeque[] deques = this.deques;
+        final int n = deques.length;
+        if (n == 0) {
+            return null;
+        }
+        // Starting at a thread-dependent index,
+        // to reduce contention on first deques.
+        final int start = (int) ((currentThread.getId() & Long.MAX_VALUE) % n);
+        for (int i = 0; i < n; i++) {
+            final WsPrlzrDeque deque = deques[(start + i) % n];
+            if ((deque.get() == null)
+                && deque.compareAndSet(null, currentThread)) {
+                return deque;
+            }
+        }
+        return null;
+    }
+    
+    private WsPrlzrDeque newDeque(Thread currentThread) {
+        final WsPrlzrDeque deque = new WsPrlzrDeque(
+            this.seedGenerator.addAndGet(SEED_INCREMENT));
+        deque.set(currentThread);
+        synchronized (this.dequesMutex) {
+            final WsPrlzrDeque[] oldDeques = this.deques;
+            final WsPrlzrDeque[] newDeques = new WsPrlzrDeque[oldDeques.length + 1];
+            System.arraycopy(oldDeques, 0, newDeques, 0, oldDeques.length);
+            newDeques[oldDeques.length] = deque;
+            this.deques = newDeques;
+        }
+        return deque;
+    }
+    
+    /**
+     * @param deque Deque owned by current thread.
+     * @return A task popped from the specified deque, else stolen from
+     *         another deque, or null if none could be found.
+     */
+    private WsPrlzrTask pollTask(WsPrlzrDeque deque) {
+        WsPrlzrTask task = deque.pop();
+        if (task == null) {
+            task = this.stealTask(deque);
+        }
+        return task;
+    }
+    
+    /**
+     * @param deque Deque owned by current thread.
+     */
+    private WsPrlzrTask stealTask(WsPrlzrDeque deque) {
+        final WsPrlzrDeque[] deques = this.deques;
+        final int n = deques.length;
+        final int start = (nextRandom(deque) & Integer.MAX_VALUE) % n;
+        for (int i = 0; i < n; i++) {
+            final WsPrlzrDeque victim = deques[(start + i) % n];
+            if (victim != deque) {
+                final WsPrlzrTask task = victim.steal();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Xorshift, using and updating owner-only deque seed.
+     */
+    private static int nextRandom(WsPrlzrDeque deque) {
+        int seed = deque.seed;
+        seed ^= (seed << 13);
+        seed ^= (seed >>> 17);
+        seed ^= (seed << 5);
+        deque.seed = seed;
+        return seed;
+    }
+    
+    private boolean isAnyTaskVisible() {
+        for (WsPrlzrDeque deque : this.deques) {
+            if (!deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void signalWaitersIfAny() {
+        /*
+         * Volatile read after volatile write of pushed task
+         * or of shot completion, and waiters do a volatile write
+         * of waiter count before reading these, so either
+         * we see the waiter, or the waiter sees the change.
+         */
+        if (this.waiterCount != 0) {
+            synchronized (this.waitMutex) {
+                this.waitMutex.notifyAll();
+            }
+        }
+    }
+    
+    private void waitForTaskOrShotCompletion(WsPrlzrShot shot) {
+        final Object waitMutex = this.waitMutex;
+        synchronized (waitMutex) {
+            this.waiterCount++;
+            boolean interrupted = false;
+            try {
+                while ((!shot.isShotCompleted())
+                    && (!this.isAnyTaskVisible())) {
+                    try {
+                        waitMutex.wait();
+                    } catch (@SuppressWarnings("unused") InterruptedException e) {
+                        /*
+                         * We don't want our wait to be interrupted,
+                         * but if current thread got interrupted,
+                         * we restore interrupt status after the wait,
+                         * to make user code (in split runnables) aware of it.
+                         */
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                this.waiterCount--;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+
+import net.jolikit.lang.RethrowException;
+
+/**
+ * Info specific to a call to work-stealing parallelizer execute(Runnable).
+ */
+abstract class WsPrlzrShot {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    final WsPrlzrPool pool;
+    
+    final int maxDepth;
+    
+    private final UncaughtExceptionHandler exceptionHandler;
+    
+    /**
+     * Write guarded by synchronization on this.
+     */
+    private volatile Throwable firstDetected;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrShot(
+        WsPrlzrPool pool,
+        int maxDepth,
+        UncaughtExceptionHandler exceptionHandler) {
+        this.pool = pool;
+        this.maxDepth = maxDepth;
+        this.exceptionHandler = exceptionHandler;
+    }
+    
+    /**
+     * Completion means all pushed tasks have been ran
+     * (and merged in case of splitmergables),
+     * for the same reasons than for ExecutorParallelizer.
+     * 
+     * Must be followed by a call to pool.onShotCompletion()
+     * when it becomes true.
+     * 
+     * @return True if all pushed tasks of this shot
+     *         have been ran and completed (normally or not).
+     */
+    public abstract boolean isShotCompleted();
+    
+    public void onThrowable(Throwable throwable) {
+        final boolean didSet = this.setIfFirst(throwable);
+        if (didSet) {
+            // Will be rethrown by rethrowFirstDetectedIfAny().
+        } else {
+            final UncaughtExceptionHandler handler = this.exceptionHandler;
+            if (handler != null) {
+                try {
+                    handler.uncaughtException(Thread.currentThread(), throwable);
+                } catch (@SuppressWarnings("unused") Throwable e) {
+                    // ignored (as if null handler)
+                }
+            }
+        }
+    }
+    
+    /**
+     * @throws RethrowException wrapping first detected throwable, if any.
+     */
+    public void rethrowFirstDetectedIfAny() {
+        final Throwable firstDetected = this.firstDetected;
+        if (firstDetected != null) {
+            throw new RethrowException(firstDetected);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param throwable
+     * @return True if was first detected.
+     */
+    private synchronized boolean setIfFirst(Throwable throwable) {
+        boolean didSet = false;
+        if (this.firstDetected == null) {
+            this.firstDetected = throwable;
+            didSet = true;
+        }
+        return didSet;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implements splittables parallelization, sharing a pool
+ * with splitmergables parallelization.
+ */
+class WsPrlzrSp {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MySpTask extends WsPrlzrTask {
+        private final InterfaceSplittable sp;
+        private final MyShot shot;
+        private int depth;
+        public MySpTask(
+            InterfaceSplittable sp,
+            MyShot shot,
+            int depth) {
+            this.sp = sp;
+            this.shot = shot;
+            this.depth = depth;
+        }
+        /**
+         * Called from pool.
+         */
+        @Override
+        public void run(WsPrlzrDeque deque) {
+            final MyShot shot = this.shot;
+            try {
+                this.forkRun(deque);
+            } finally {
+                shot.onPushedTaskCompletion();
+            }
+        }
+        public void forkRun(WsPrlzrDeque deque) {
+            /*
+             * Forking.
+             */
+            try {
+                this.forkAsNeeded(deque);
+            } catch (Throwable e) {
+                this.shot.onThrowable(e);
+            }
+            /*
+             * Running.
+             */
+            try {
+                this.sp.run();
+            } catch (Throwable e) {
+                this.shot.onThrowable(e);
+            }
+        }
+        private void forkAsNeeded(WsPrlzrDeque deque) {
+            final MyShot shot = this.shot;
+            while ((this.depth < shot.maxDepth)
+                && this.sp.worthToSplit()) {
+                final MySpTask right = new MySpTask(
+                    this.sp.split(),
+                    shot,
+                    ++this.depth);
+                
+                shot.pushTaskAndExecutePool(deque, right);
+            }
+        }
+    }
+    
+    /*
+     * 
+     */
+    
+    private static class MyShot extends WsPrlzrShot {
+        /**
+         * Number of tasks pushed and not yet completed.
+         */
+        private final AtomicInteger pendingTaskCount = new AtomicInteger();
+        public MyShot(
+            WsPrlzrPool pool,
+            int maxDepth,
+            UncaughtExceptionHandler exceptionHandler) {
+            super(
+                pool,
+                maxDepth,
+                exceptionHandler);
+        }
+        @Override
+        public boolean isShotCompleted() {
+            return (this.pendingTaskCount.get() == 0);
+        }
+        public void pushTaskAndExecutePool(WsPrlzrDeque deque, MySpTask task) {
+            this.pendingTaskCount.incrementAndGet();
+            this.pool.pushTaskAndExecutePool(deque, task);
+        }
+        /**
+         * Must be called on pushed task completion (normal or not).
+         */
+        public void onPushedTaskCompletion() {
+            if (this.pendingTaskCount.decrementAndGet() == 0) {
+                this.pool.onShotCompletion();
+            }
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final WsPrlzrPool pool;
+    
+    private final int maxDepth;
+    
+    private final UncaughtExceptionHandler exceptionHandler;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrSp(
+        WsPrlzrPool pool,
+        int maxDepth,
+        UncaughtExceptionHandler exceptionHandler) {
+        this.pool = pool;
+        this.maxDepth = maxDepth;
+        this.exceptionHandler = exceptionHandler;
+    }
+    
+    public void executePrl(InterfaceSplittable splittable) {
+        
+        final WsPrlzrPool pool = this.pool;
+        
+        final MyShot shot = new MyShot(
+            pool,
+            this.maxDepth,
+            this.exceptionHandler);
+        
+        final MySpTask task =
+            new MySpTask(
+                splittable,
+                shot,
+                0); // depth
+        
+        final WsPrlzrDeque deque = pool.acquireDeque();
+        try {
+            /*
+             * Forking and running root task in user thread,
+             * to minimize need for worker threads
+             * and corresponding context switches.
+             */
+            
+            task.forkRun(deque);
+            
+            /*
+             * Parallel execution happens here.
+             */
+            
+            pool.runTasksUntilShotCompletion(deque, shot);
+        } finally {
+            pool.releaseDeque(deque);
+        }
+        
+        shot.rethrowFirstDetectedIfAny();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implements splitmergables parallelization, sharing a pool
+ * with splittables parallelization.
+ */
+class WsPrlzrSpm {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MySpmTask extends WsPrlzrTask {
+        /**
+         * Holds reference to first completed child splitmergable, if any.
+         */
+        private final AtomicReference<InterfaceSplitmergable> firstCompletedRef =
+            new AtomicReference<InterfaceSplitmergable>();
+        private final InterfaceSplitmergable spm;
+        private final MyShot shot;
+        private final int depth;
+        private final MySpmTask parent;
+        public MySpmTask(
+            InterfaceSplitmergable spm,
+            MyShot shot,
+            int depth,
+            MySpmTask parent) {
+            this.spm = spm;
+            this.shot = shot;
+            this.depth = depth;
+            this.parent = parent;
+        }
+        /**
+         * Called from pool.
+         */
+        @Override
+        public void run(WsPrlzrDeque deque) {
+            this.forkRunMerge(deque);
+        }
+        /**
+         * Does not throw.
+         */
+        public void forkRunMerge(WsPrlzrDeque deque) {
+            final MyShot shot = this.shot;
+            MySpmTask currentTask = this;
+            /*
+             * Forking.
+             */
+            try {
+                while ((currentTask.depth < shot.maxDepth)
+                    && currentTask.spm.worthToSplit()) {
+                    
+                    final int childrenDepth = currentTask.depth + 1;
+                    /*
+                     * Unlike with splittable,
+                     * we can't reuse a same task for
+                     * the new state of spm after split,
+                     * because we need to keep track
+                     * of parent tasks for merging.
+                     */
+                    final MySpmTask left = new MySpmTask(
+                        currentTask.spm,
+                        shot,
+                        childrenDepth,
+                        currentTask);
+                    final MySpmTask right = new MySpmTask(
+                        currentTask.spm.split(),
+                        shot,
+                        childrenDepth,
+                        currentTask);
+                    
+                    /*
+                     * Doing this after split, to consider
+                     * that there was no split if split threw.
+                     * We can do this before pushing,
+                     * since even in case of rejected execution
+                     * right task will at least be processed
+                     * by user thread.
+                     */
+                    currentTask = left;
+                    
+                    shot.pool.pushTaskAndExecutePool(deque, right);
+                }
+            } catch (Throwable e) {
+                shot.onThrowable(e);
+            }
+            /*
+             * Running.
+             */
+            try {
+                currentTask.spm.run();
+            } catch (Throwable e) {
+                shot.onThrowable(e);
+            }
+            /*
+             * Merging.
+             */
+            mergeAsNeeded(currentTask);
+        }
+        private static void mergeAsNeeded(MySpmTask currentTask) {
+            final InterfaceSplitmergable currentSpm = currentTask.spm;
+            
+            MySpmTask parent = currentTask.parent;
+            while (parent != null) {
+                final AtomicReference<InterfaceSplitmergable> parentRef =
+                    parent.firstCompletedRef;
+                InterfaceSplitmergable peer = parentRef.get();
+                if (peer == null) {
+                    // CAS ensures visibility on peer for merges.
+                    if (parentRef.compareAndSet(null, currentSpm)) {
+                        // Peer will take care of merging.
+                        return;
+                    } else {
+                        // Peer just CASed itself:
+                        // we need to take care of merging.
+                        peer = parentRef.get();
+                    }
+                } else {
+                    // Peer already CASed itself:
+                    // we need to take care of merging.
+                }
+                // We always merge into the SPM we ran,
+                // even if it is a split from peer.
+                try {
+                    currentSpm.merge(currentSpm, peer);
+                } catch (Throwable e) {
+                    currentTask.shot.onThrowable(e);
+                }
+                currentTask = parent;
+                parent = parent.parent;
+            }
+            
+            /*
+             * Here parent is null: current task is root task,
+             * so currentSpm holds the result and we are done.
+             */
+            currentTask.shot.onMergeCompletion(currentSpm);
+        }
+    }
+    
+    /*
+     * 
+     */
+    
+    private static class MyShot extends WsPrlzrShot {
+        /**
+         * Holds reference to result holding SPM
+         * (i.e. the holder of the final merge, if any).
+         */
+        private final AtomicReference<InterfaceSplitmergable> resultSpmRef =
+            new AtomicReference<InterfaceSplitmergable>();
+        public MyShot(
+            WsPrlzrPool pool,
+            int maxDepth,
+            UncaughtExceptionHandler exceptionHandler) {
+            super(
+                pool,
+                maxDepth,
+                exceptionHandler);
+        }
+        @Override
+        public boolean isShotCompleted() {
+            return (this.resultSpmRef.get() != null);
+        }
+        public InterfaceSplitmergable getResultSpm() {
+            return this.resultSpmRef.get();
+        }
+        private void onMergeCompletion(InterfaceSplitmergable mergedRootSpm) {
+            // Not lazy set, for pool to see eventual waiters.
+            this.resultSpmRef.set(mergedRootSpm);
+            this.pool.onShotCompletion();
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final WsPrlzrPool pool;
+    
+    private final int maxDepth;
+    
+    private final UncaughtExceptionHandler exceptionHandler;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrSpm(
+        WsPrlzrPool pool,
+        int maxDepth,
+        UncaughtExceptionHandler exceptionHandler) {
+        this.pool = pool;
+        this.maxDepth = maxDepth;
+        this.exceptionHandler = exceptionHandler;
+    }
+    
+    /**
+     * Must only be called if the specified splitmergable is worth to split.
+     */
+    public void executePrl(InterfaceSplitmergable splitmergable) {
+        
+        final WsPrlzrPool pool = this.pool;
+        
+        final MyShot shot = new MyShot(
+            pool,
+            this.maxDepth,
+            this.exceptionHandler);
+        
+        final MySpmTask rootTask =
+            new MySpmTask(
+                splitmergable,
+                shot,
+                0, // depth
+                null); // parent
+        
+        final WsPrlzrDeque deque = pool.acquireDeque();
+        try {
+            /*
+             * Running root task in user thread,
+             * to minimize need for worker threads
+             * and corresponding context switches.
+             */
+            
+            rootTask.forkRunMerge(deque);
+            
+            /*
+             * Parallel execution happens here.
+             */
+            
+            pool.runTasksUntilShotCompletion(deque, shot);
+        } finally {
+            pool.releaseDeque(deque);
+        }
+        
+        /*
+         * 
+         */
+        
+        final InterfaceSplitmergable resultHolder = shot.getResultSpm();
+        if (resultHolder != splitmergable) {
+            try {
+                splitmergable.merge(resultHolder, null);
+            } catch (Throwable e) {
+                shot.onThrowable(e);
+            }
+        }
+        
+        shot.rethrowFirstDetectedIfAny();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.prl;
+
+/**
+ * Task for work-stealing parallelizer deques.
+ */
+abstract class WsPrlzrTask {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public WsPrlzrTask() {
+    }
+    
+    /**
+     * Does one fork/run(/merge) pass, and then completes the task.
+     * Must not throw.
+     * 
+     * @param deque Deque owned by current thread, into which
+     *        tasks resulting from splits must be pushed.
+     */
+    public abstract void run(WsPrlzrDeque deque);
+}
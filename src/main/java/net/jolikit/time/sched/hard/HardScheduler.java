@@ -20,8 +20,11 @@ import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -30,7 +33,10 @@ import net.jolikit.lang.InterfaceBooleanCondition;
 import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 import net.jolikit.lang.PostPaddedAtomicInteger;
+import net.jolikit.lang.PostPaddedAtomicLong;
+import net.jolikit.lang.PostPaddedAtomicReference;
 import net.jolikit.threading.basics.CancellableUtils;
+import net.jolikit.threading.basics.ExecutorMetrics;
 import net.jolikit.threading.basics.WorkerThreadChecker;
 import net.jolikit.threading.locks.InterfaceCondilock;
 import net.jolikit.threading.locks.LockCondilock;
@@ -56,6 +62,16 @@ import net.jolikit.time.sched.InterfaceWorkerAwareScheduler;
  *   - Methods to start/stop schedules acceptance and processing
  *     by worker threads.
  *   - Methods to cancel or drain pending schedules.
+ *   - Optional lock-free ASAP queue, for publishers not to contend
+ *     on a lock when there are many of them.
+ *   - Optional timing wheel for timed schedules, for constant time
+ *     enqueuing when there are a lot of pending timed schedules
+ *     (such as timeouts).
+ *   - Bulk submission methods, enqueuing a batch of runnables
+ *     with a single lock acquisition.
+ *   - Optional runtime metrics (counts, queue wait, run time and
+ *     timed schedules lateness histograms, workers busy time),
+ *     readable without lock.
  *   - Handles scheduling according to a clock which time speed might change,
  *     as well as time (other than due to real time flowing).
  * - different:
@@ -131,6 +147,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      * Except clock's modification lock, which is an external lock,
      * all of these locks can be acquired by user thread when calling
      * public methods of this class.
+     * 
+     * With lock-free ASAP queue, there is no asapPutLock,
+     * and ASAP publishers only acquire schedLock when the queue
+     * was empty and some worker waits in it.
      */
     
     //--------------------------------------------------------------------------
@@ -197,11 +217,15 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      */
     
     private class MyWorkerRunnable implements Runnable {
+        private final int workerIndex;
         private volatile boolean started = false;
         /**
          * Volatile, in case run gets called again by another thread.
          */
         private volatile boolean done = false;
+        public MyWorkerRunnable(int workerIndex) {
+            this.workerIndex = workerIndex;
+        }
         /**
          * Not logging errors in this method: user can wrap
          * this runnable using a thread factory, else default
@@ -223,7 +247,7 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             }
             try {
                 incrementClockWaitersCountAndAddListenerIfNeeded();
-                workerRun();
+                workerRun(this.workerIndex);
                 this.done = true;
             } finally {
                 if (nbrOfRunningWorkers.decrementAndGet() == 0) {
@@ -270,11 +294,26 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         /**
          * Next node if any, null if last node
          * (including when empty, i.e. head = last).
+         * 
+         * Volatile for lock-free queue, where it is how
+         * publishers hand nodes over to consumers.
          */
-        MyNode next;
+        volatile MyNode next;
+        /**
+         * Submission time (System.nanoTime()), if recording metrics.
+         */
+        long enqueueNs;
         public MyNode(Runnable runnable) {
             super(runnable);
         }
+        /**
+         * Also moves enqueue time, for it to follow the runnable.
+         */
+        @Override
+        public void drainDataInto(MySequencedSchedule other) {
+            ((MyNode) other).enqueueNs = this.enqueueNs;
+            super.drainDataInto(other);
+        }
     }
     
     /**
@@ -297,7 +336,7 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         /**
          * Used on take.
          */
-        private MyNode head;
+        MyNode head;
         /**
          * Used on put.
          */
@@ -494,6 +533,151 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         }
     }
     
+    /*
+     * 
+     */
+    
+    /**
+     * Implementation where publishers don't use any lock,
+     * linking nodes with an atomic swap of last node
+     * (Vyukov's intrusive MPSC queue), and where the take lock
+     * ensures a single consumer at a time.
+     * 
+     * Room is reserved in size (with a CAS) before linking,
+     * to respect capacity and to allow to close the queue,
+     * so size can be non-zero while first node is not yet
+     * linked, in which case peekFirst() and pollFirst()
+     * spin until it is.
+     * 
+     * Doesn't compute wasEmptyBeforeLastAdd(), which would not make
+     * sense with concurrent adds: offerLastAndGetOldSize(...)
+     * must be used instead.
+     */
+    private static class MyLockFreeAsapQueue extends MyAbstractAsapQueue {
+        private static final long serialVersionUID = 1L;
+        /**
+         * Set in size when closed, preventing further adds.
+         */
+        private static final int CLOSED_BIT = Integer.MIN_VALUE;
+        private final AtomicReference<MyNode> lastRef;
+        public MyLockFreeAsapQueue(int capacity) {
+            super(capacity);
+            this.lastRef = new PostPaddedAtomicReference<MyNode>(this.head);
+        }
+        @Override
+        public int size() {
+            final AtomicInteger sizeAto = this;
+            return sizeAto.get() & (~CLOSED_BIT);
+        }
+        @Override
+        public boolean offerLast(MyNode node) {
+            return (this.offerLastAndGetOldSize(node) >= 0);
+        }
+        /**
+         * Can be called concurrently, without lock.
+         * 
+         * @return Size before the add, or -1 if could not enqueue
+         *         (i.e. was full or closed).
+         */
+        public int offerLastAndGetOldSize(MyNode node) {
+            final AtomicInteger sizeAto = this;
+            int oldSize;
+            while (true) {
+                oldSize = sizeAto.get();
+                // If closed, size is negative.
+                if ((oldSize < 0)
+                    || (oldSize >= this.capacity)) {
+                    return -1;
+                }
+                if (sizeAto.compareAndSet(oldSize, oldSize + 1)) {
+                    break;
+                }
+            }
+            final MyNode previous = this.lastRef.getAndSet(node);
+            // Volatile write: publishes the node to consumers.
+            previous.next = node;
+            return oldSize;
+        }
+        /**
+         * Can be called concurrently, without lock.
+         * Enqueues as many of the specified nodes as there is room for,
+         * starting from the first one, reserving room with a single CAS,
+         * and linking them all with a single swap.
+         * 
+         * @param nodeArr Nodes to enqueue. Must not be empty.
+         * @return Size before the add, or -1 if could not enqueue
+         *         (i.e. was full or closed). If not -1, the number
+         *         of enqueued nodes is min(nodeArr.length, capacity - size).
+         */
+        public int offerLastAllAndGetOldSize(MyNode[] nodeArr) {
+            final AtomicInteger sizeAto = this;
+            int oldSize;
+            int n;
+            while (true) {
+                oldSize = sizeAto.get();
+                // If closed, size is negative.
+                if ((oldSize < 0)
+                    || (oldSize >= this.capacity)) {
+                    return -1;
+                }
+                n = Math.min(nodeArr.length, this.capacity - oldSize);
+                if (sizeAto.compareAndSet(oldSize, oldSize + n)) {
+                    break;
+                }
+            }
+            // Linking our nodes before publishing them.
+            for (int i = 1; i < n; i++) {
+                nodeArr[i - 1].next = nodeArr[i];
+            }
+            final MyNode previous = this.lastRef.getAndSet(nodeArr[n - 1]);
+            // Volatile write: publishes the nodes to consumers.
+            previous.next = nodeArr[0];
+            return oldSize;
+        }
+        /**
+         * Makes subsequent offers fail.
+         * Nodes for which room has already been reserved
+         * are still linked, and counted in size until removed.
+         */
+        public void close() {
+            final AtomicInteger sizeAto = this;
+            while (true) {
+                final int size = sizeAto.get();
+                if ((size < 0)
+                    || sizeAto.compareAndSet(size, size | CLOSED_BIT)) {
+                    break;
+                }
+            }
+        }
+        @Override
+        public MySequencedSchedule peekFirst() {
+            MySequencedSchedule ret = null;
+            if (this.size() > 0) {
+                this.waitForFirstLinked();
+                ret = this.getFirst_structure();
+            }
+            return ret;
+        }
+        @Override
+        public MySequencedSchedule pollFirst() {
+            final AtomicInteger sizeAto = this;
+            MySequencedSchedule ret = null;
+            if (this.size() > 0) {
+                this.waitForFirstLinked();
+                ret = this.removeFirst_structure();
+                final int oldSize = sizeAto.getAndDecrement() & (~CLOSED_BIT);
+                this.setWasNotEmptyAfterLastRemove(oldSize > 1);
+            }
+            return ret;
+        }
+        private void waitForFirstLinked() {
+            while (this.head.next == null) {
+                // Publisher between reservation and linking.
+                Thread.yield();
+            }
+        }
+    }
+    
     /*
      * 
      */
@@ -542,6 +726,9 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
          */
         public void moveCurrentSchedulesToTheirQueue(long nowNs) {
             while (true) {
+                if (this.futureQueue.size() == 0) {
+                    this.refillEmptyFutureQueue();
+                }
                 final MyTimedSchedule sched = this.futureQueue.peek();
                 if ((sched != null)
                     && (sched.getTheoreticalTimeNs() <= nowNs)) {
@@ -560,11 +747,15 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             if (this.size() == this.capacity) {
                 return false;
             }
-            return this.futureQueue.add(sched);
+            this.addFutureSchedule(sched);
+            return true;
         }
         public MyTimedSchedule peek() {
             MyTimedSchedule ret = this.currentQueue.peek();
             if (ret == null) {
+                if (this.futureQueue.size() == 0) {
+                    this.refillEmptyFutureQueue();
+                }
                 ret = this.futureQueue.peek();
             }
             return ret;
@@ -572,6 +763,9 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         public MyTimedSchedule poll() {
             MyTimedSchedule ret = this.currentQueue.poll();
             if (ret == null) {
+                if (this.futureQueue.size() == 0) {
+                    this.refillEmptyFutureQueue();
+                }
                 ret = this.futureQueue.poll();
             }
             return ret;
@@ -579,10 +773,217 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         public MyTimedSchedule remove() {
             MyTimedSchedule ret = this.currentQueue.poll();
             if (ret == null) {
+                if (this.futureQueue.size() == 0) {
+                    this.refillEmptyFutureQueue();
+                }
                 ret = this.futureQueue.remove();
             }
             return ret;
         }
+        /**
+         * Called by offer(...) once capacity has been checked.
+         * 
+         * This default implementation adds the specified schedule
+         * into futureQueue.
+         */
+        protected void addFutureSchedule(MyTimedSchedule sched) {
+            this.futureQueue.add(sched);
+        }
+        /**
+         * Called when futureQueue is empty and about to be read,
+         * for subclasses keeping future schedules elsewhere
+         * to move the earliest ones into it,
+         * by calling super.addFutureSchedule(...).
+         * 
+         * This default implementation does nothing.
+         */
+        protected void refillEmptyFutureQueue() {
+        }
+    }
+    
+    /**
+     * Hierarchical timing wheel, in which schedules are stored
+     * in buckets of tick resolution, for O(1) enqueuing.
+     * 
+     * futureQueue only contains schedules which tick is <= dueTick,
+     * other schedules being in the wheel: when futureQueue is empty
+     * and about to be read, the earliest non-empty tick bucket
+     * is moved into it, cascading higher levels buckets down as needed.
+     * As a result, ordering is exactly the same as with the priority
+     * queues backing (theoretical time then sequence number for future
+     * schedules, sequence number for current ones), tick only defining
+     * buckets granularity, and priority queues operations only involving
+     * the few schedules of the earliest tick(s).
+     * 
+     * Ticks are mapped to unsigned keys, which are split in levels
+     * of SLOT_BITS bits. A schedule is stored in the level
+     * of the highest bits group in which its key differs from
+     * the key of dueTick, which ensures that lower levels always
+     * contain earlier schedules than higher levels, and that
+     * all schedules of a level 0 bucket have the same tick.
+     */
+    private static class MyTimingWheelQueue extends MyFairPriorityQueue {
+        private static final int SLOT_BITS = 8;
+        private static final int NBR_OF_SLOTS = (1 << SLOT_BITS);
+        private static final int SLOT_MASK = NBR_OF_SLOTS - 1;
+        private static final int NBR_OF_LEVELS = 64 / SLOT_BITS;
+        private final long tickNs;
+        /**
+         * Schedules which tick is <= dueTick are not in the wheel.
+         * Never decreases.
+         */
+        private long dueTick = Long.MIN_VALUE;
+        /**
+         * Buckets of all levels, lazily created.
+         */
+        private final ArrayList<?>[] bucketArr =
+            new ArrayList<?>[NBR_OF_LEVELS * NBR_OF_SLOTS];
+        /**
+         * Bit set to 1 for non-empty buckets.
+         */
+        private final long[] nonEmptyBitArr =
+            new long[(NBR_OF_LEVELS * NBR_OF_SLOTS) / 64];
+        private int wheelSize = 0;
+        public MyTimingWheelQueue(
+            int capacity,
+            long tickNs) {
+            super(capacity);
+            this.tickNs = NbrsUtils.requireSup(0L, tickNs, "tickNs");
+        }
+        @Override
+        public int size() {
+            return super.size() + this.wheelSize;
+        }
+        @Override
+        protected void addFutureSchedule(MyTimedSchedule sched) {
+            final long tick = this.tickOf(sched);
+            if (tick <= this.dueTick) {
+                super.addFutureSchedule(sched);
+            } else {
+                this.addIntoWheel(sched, tick);
+            }
+        }
+        @Override
+        protected void refillEmptyFutureQueue() {
+            if (this.wheelSize == 0) {
+                return;
+            }
+            boolean didRefill = false;
+            while (!didRefill) {
+                final long dueKey = keyOf(this.dueTick);
+                int level = 0;
+                int index = -1;
+                while (level < NBR_OF_LEVELS) {
+                    final int levelShift = level * SLOT_BITS;
+                    final int dueSlot =
+                        ((int) (dueKey >>> levelShift)) & SLOT_MASK;
+                    final int levelIndex = level * NBR_OF_SLOTS;
+                    index = this.nextNonEmptyIndex(
+                        levelIndex + dueSlot + 1,
+                        levelIndex + NBR_OF_SLOTS);
+                    if (index >= 0) {
+                        break;
+                    }
+                    level++;
+                }
+                if (index < 0) {
+                    // Must not happen since wheel is not empty.
+                    throw new AssertionError();
+                }
+                
+                /*
+                 * Bucket's lowest key: same higher bits as dueKey,
+                 * slot bits at bucket's level, and zeros below.
+                 */
+                
+                final int levelShift = level * SLOT_BITS;
+                final long higherBitsMask =
+                    ((level == NBR_OF_LEVELS - 1) ? 0L : (-1L << (levelShift + SLOT_BITS)));
+                final long bucketKey =
+                    (dueKey & higherBitsMask)
+                    | (((long) (index & SLOT_MASK)) << levelShift);
+                this.dueTick = keyOf(bucketKey);
+                
+                @SuppressWarnings("unchecked")
+                final ArrayList<MyTimedSchedule> bucket =
+                    (ArrayList<MyTimedSchedule>) this.bucketArr[index];
+                this.nonEmptyBitArr[index >> 6] &= ~(1L << index);
+                this.wheelSize -= bucket.size();
+                // Cascading (or not, for level 0) into lower levels,
+                // which are always other buckets.
+                for (int i = 0; i < bucket.size(); i++) {
+                    final MyTimedSchedule sched = bucket.get(i);
+                    final long tick = this.tickOf(sched);
+                    if (tick == this.dueTick) {
+                        super.addFutureSchedule(sched);
+                        didRefill = true;
+                    } else {
+                        this.addIntoWheel(sched, tick);
+                    }
+                }
+                bucket.clear();
+            }
+        }
+        /**
+         * @return Floor of theoretical time divided by tick.
+         */
+        private long tickOf(MyTimedSchedule sched) {
+            final long timeNs = sched.getTheoreticalTimeNs();
+            long tick = timeNs / this.tickNs;
+            if ((timeNs < 0) && (tick * this.tickNs != timeNs)) {
+                tick--;
+            }
+            return tick;
+        }
+        /**
+         * @return A key which unsigned order is the signed order of ticks.
+         */
+        private static long keyOf(long tick) {
+            return tick ^ Long.MIN_VALUE;
+        }
+        /**
+         * @param tick Must be > dueTick.
+         */
+        private void addIntoWheel(MyTimedSchedule sched, long tick) {
+            final long key = keyOf(tick);
+            final long dueKey = keyOf(this.dueTick);
+            final int level =
+                (63 - Long.numberOfLeadingZeros(key ^ dueKey)) / SLOT_BITS;
+            final int slot = ((int) (key >>> (level * SLOT_BITS))) & SLOT_MASK;
+            final int index = level * NBR_OF_SLOTS + slot;
+            @SuppressWarnings("unchecked")
+            ArrayList<MyTimedSchedule> bucket =
+                (ArrayList<MyTimedSchedule>) this.bucketArr[index];
+            if (bucket == null) {
+                bucket = new ArrayList<MyTimedSchedule>();
+                this.bucketArr[index] = bucket;
+            }
+            bucket.add(sched);
+            this.nonEmptyBitArr[index >> 6] |= (1L << index);
+            this.wheelSize++;
+        }
+        /**
+         * @param to Must be a multiple of 64.
+         * @return Index of first non-empty bucket in [from,to[,
+         *         or -1 if none.
+         */
+        private int nextNonEmptyIndex(int from, int to) {
+            if (from >= to) {
+                return -1;
+            }
+            int wordIndex = (from >> 6);
+            long bits = this.nonEmptyBitArr[wordIndex] & (-1L << from);
+            while (true) {
+                if (bits != 0L) {
+                    return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+                }
+                wordIndex++;
+                if ((wordIndex << 6) >= to) {
+                    return -1;
+                }
+                bits = this.nonEmptyBitArr[wordIndex];
+            }
+        }
     }
     
     //--------------------------------------------------------------------------
@@ -612,6 +1013,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      * asapPutLock
      */
     
+    /**
+     * Might be identical to schedLock.
+     * Null if using lock-free ASAP queue.
+     */
     private final ReentrantLock asapPutLock;
     
     /*
@@ -652,6 +1057,26 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      */
     private long sequencer = 0;
     
+    /**
+     * Null if not using lock-free ASAP queue, else used instead of
+     * sequencer, since then ASAP schedules are not enqueued in a lock.
+     * 
+     * Sequence number of ASAP schedules enqueued concurrently might
+     * not be increasing along the queue, but only schedules ordered
+     * by happens-before need ordered sequence numbers.
+     */
+    private final AtomicLong atomicSequencer;
+    
+    /**
+     * Only used with lock-free ASAP queue.
+     * Written in schedLock, read by ASAP publishers without lock.
+     * 
+     * Number of workers waiting in schedLock while the ASAP queue
+     * is empty, for publishers to only acquire schedLock
+     * to signal them when needed.
+     */
+    private volatile int nbrOfWorkersWaitingForAsap;
+    
     /**
      * True if must work during call to startAndWorkInCurrentThread().
      */
@@ -760,14 +1185,26 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
     /**
      * Guarded by schedLock and possibly asapPutLock
      * depending on the implementation.
+     * Lock-free for puts if asapPutLock is null.
      */
     private final MyAbstractAsapQueue asapSchedQueue;
     
     /**
      * Guarded by schedLock.
+     * Possibly a timing wheel.
      */
     private final MyFairPriorityQueue timedSchedQueue;
     
+    /*
+     * 
+     */
+    
+    /**
+     * Null if metrics are disabled,
+     * in which case they only cost a null check per schedule.
+     */
+    private final ExecutorMetrics metrics;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -816,17 +1253,315 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             asapQueueCapacity,
             timedQueueCapacity,
             maxWorkerCountForBasicAsapQueue,
+            false, // mustUseLockFreeAsapQueue
+            0L, // timingWheelTickNs
+            false, // mustEnableMetrics
             threadFactory);
     }
     
     /**
-     * Complete constructor for threadless instances.
+     * Complete constructor for non-threadless instances,
+     * allowing to use a lock-free ASAP queue.
+     * Constructs a scheduler using the specified number of worker threads,
+     * that guarantees FIFO order for ASAP schedules only if single-threaded.
+     * 
+     * @param clock Hard clock to use.
+     * @param threadNamePrefix Prefix for worker threads names.
+     *        Can be null, in which case the name eventually set
+     *        by thread factory is preserved.
+     * @param daemon Daemon flag set to each thread.
+     *        Can be null, in which case the value eventually set
+     *        by thread factory is preserved.
+     * @param nbrOfThreads Number of worker threads to use. Must be >= 1.
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, whatever the worker count,
+     *        uses an ASAP queue in which publishers don't acquire any lock
+     *        (other than to wake up a worker waiting for the queue
+     *        to become non-empty).
+     *        Useful in case of many concurrent ASAP publishers.
+     * @param threadFactory If null, default threads are created.
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        String threadNamePrefix,
+        Boolean daemon,
+        int nbrOfThreads,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        ThreadFactory threadFactory) {
+        this(
+            false, // isThreadless
+            clock,
+            threadNamePrefix,
+            daemon,
+            nbrOfThreads,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            0L, // timingWheelTickNs
+            false, // mustEnableMetrics
+            threadFactory);
+    }
+    
+    /**
+     * Complete constructor for non-threadless instances,
+     * allowing to use a lock-free ASAP queue,
+     * and a timing wheel for timed schedules.
+     * Constructs a scheduler using the specified number of worker threads,
+     * that guarantees FIFO order for ASAP schedules only if single-threaded.
+     * 
+     * @param clock Hard clock to use.
+     * @param threadNamePrefix Prefix for worker threads names.
+     *        Can be null, in which case the name eventually set
+     *        by thread factory is preserved.
+     * @param daemon Daemon flag set to each thread.
+     *        Can be null, in which case the value eventually set
+     *        by thread factory is preserved.
+     * @param nbrOfThreads Number of worker threads to use. Must be >= 1.
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, whatever the worker count,
+     *        uses an ASAP queue in which publishers don't acquire any lock
+     *        (other than to wake up a worker waiting for the queue
+     *        to become non-empty).
+     *        Useful in case of many concurrent ASAP publishers.
+     * @param timingWheelTickNs Must be >= 0.
+     *        If 0, timed schedules are kept in priority queues,
+     *        with O(log(n)) enqueuing.
+     *        Else, timed schedules are kept in a hierarchical timing wheel
+     *        of this tick (in clock time), with O(1) enqueuing,
+     *        and ordering identical to the one of priority queues.
+     *        Useful in case of a lot of pending timed schedules,
+     *        such as timeouts. Tick should be large enough for
+     *        schedules done around a same time to share buckets,
+     *        and small enough for buckets to not be too large.
+     * @param threadFactory If null, default threads are created.
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        String threadNamePrefix,
+        Boolean daemon,
+        int nbrOfThreads,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        long timingWheelTickNs,
+        ThreadFactory threadFactory) {
+        this(
+            clock,
+            threadNamePrefix,
+            daemon,
+            nbrOfThreads,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            timingWheelTickNs,
+            false, // mustEnableMetrics
+            threadFactory);
+    }
+    
+    /**
+     * Complete constructor for non-threadless instances,
+     * allowing to use a lock-free ASAP queue,
+     * a timing wheel for timed schedules, and to enable metrics.
+     * Constructs a scheduler using the specified number of worker threads,
+     * that guarantees FIFO order for ASAP schedules only if single-threaded.
+     * 
+     * @param clock Hard clock to use.
+     * @param threadNamePrefix Prefix for worker threads names.
+     *        Can be null, in which case the name eventually set
+     *        by thread factory is preserved.
+     * @param daemon Daemon flag set to each thread.
+     *        Can be null, in which case the value eventually set
+     *        by thread factory is preserved.
+     * @param nbrOfThreads Number of worker threads to use. Must be >= 1.
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, whatever the worker count,
+     *        uses an ASAP queue in which publishers don't acquire any lock
+     *        (other than to wake up a worker waiting for the queue
+     *        to become non-empty).
+     *        Useful in case of many concurrent ASAP publishers.
+     * @param timingWheelTickNs Must be >= 0.
+     *        If 0, timed schedules are kept in priority queues,
+     *        with O(log(n)) enqueuing.
+     *        Else, timed schedules are kept in a hierarchical timing wheel
+     *        of this tick (in clock time), with O(1) enqueuing,
+     *        and ordering identical to the one of priority queues.
+     *        Useful in case of a lot of pending timed schedules,
+     *        such as timeouts. Tick should be large enough for
+     *        schedules done around a same time to share buckets,
+     *        and small enough for buckets to not be too large.
+     * @param mustEnableMetrics If true, runtime metrics are recorded
+     *        (see getMetricsElseNull()).
+     * @param threadFactory If null, default threads are created.
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        String threadNamePrefix,
+        Boolean daemon,
+        int nbrOfThreads,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        long timingWheelTickNs,
+        boolean mustEnableMetrics,
+        ThreadFactory threadFactory) {
+        this(
+            false, // isThreadless
+            clock,
+            threadNamePrefix,
+            daemon,
+            nbrOfThreads,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            timingWheelTickNs,
+            mustEnableMetrics,
+            threadFactory);
+    }
+    
+    /**
+     * Complete constructor for threadless instances.
+     * Guarantees FIFO order for schedules,
+     * since only caller thread is used for work.
+     * 
+     * Allows to extend this class, and to use non-default
+     * worker count thresholds for ASAP queues types.
+     * 
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue) {
+        this(
+            clock,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            false); // mustUseLockFreeAsapQueue
+    }
+    
+    /**
+     * Complete constructor for threadless instances,
+     * allowing to use a lock-free ASAP queue.
+     * Guarantees FIFO order for schedules,
+     * since only caller thread is used for work.
+     * 
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, uses an ASAP queue
+     *        in which publishers don't acquire any lock
+     *        (other than to wake up the worker).
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue) {
+        this(
+            clock,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            0L); // timingWheelTickNs
+    }
+    
+    /**
+     * Complete constructor for threadless instances,
+     * allowing to use a lock-free ASAP queue,
+     * and a timing wheel for timed schedules.
+     * Guarantees FIFO order for schedules,
+     * since only caller thread is used for work.
+     * 
+     * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
+     *        When full, new schedules are rejected.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxWorkerCountForBasicAsapQueue Must be >= 0.
+     *        When worker count is strictly superior to this value,
+     *        an ASAP queue more suited to high number of workers is used.
+     *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, uses an ASAP queue
+     *        in which publishers don't acquire any lock
+     *        (other than to wake up the worker).
+     * @param timingWheelTickNs Must be >= 0.
+     *        If 0, timed schedules are kept in priority queues,
+     *        else in a hierarchical timing wheel of this tick
+     *        (in clock time).
+     */
+    public HardScheduler(
+        InterfaceHardClock clock,
+        int asapQueueCapacity,
+        int timedQueueCapacity,
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        long timingWheelTickNs) {
+        this(
+            clock,
+            asapQueueCapacity,
+            timedQueueCapacity,
+            maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            timingWheelTickNs,
+            false); // mustEnableMetrics
+    }
+    
+    /**
+     * Complete constructor for threadless instances,
+     * allowing to use a lock-free ASAP queue,
+     * a timing wheel for timed schedules, and to enable metrics.
      * Guarantees FIFO order for schedules,
      * since only caller thread is used for work.
      * 
-     * Allows to extend this class, and to use non-default
-     * worker count thresholds for ASAP queues types.
-     * 
      * @param asapQueueCapacity Capacity (>=0) for ASAP schedules queue.
      *        When full, new schedules are rejected.
      * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
@@ -835,12 +1570,25 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      *        When worker count is strictly superior to this value,
      *        an ASAP queue more suited to high number of workers is used.
      *        Default for newXxx() construction methods is 4.
+     *        Not used if mustUseLockFreeAsapQueue is true.
+     * @param mustUseLockFreeAsapQueue If true, uses an ASAP queue
+     *        in which publishers don't acquire any lock
+     *        (other than to wake up the worker).
+     * @param timingWheelTickNs Must be >= 0.
+     *        If 0, timed schedules are kept in priority queues,
+     *        else in a hierarchical timing wheel of this tick
+     *        (in clock time).
+     * @param mustEnableMetrics If true, runtime metrics are recorded
+     *        (see getMetricsElseNull()).
      */
     public HardScheduler(
         InterfaceHardClock clock,
         int asapQueueCapacity,
         int timedQueueCapacity,
-        int maxWorkerCountForBasicAsapQueue) {
+        int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        long timingWheelTickNs,
+        boolean mustEnableMetrics) {
         this(
             true, // isThreadless
             clock,
@@ -850,6 +1598,9 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             asapQueueCapacity,
             timedQueueCapacity,
             maxWorkerCountForBasicAsapQueue,
+            mustUseLockFreeAsapQueue,
+            timingWheelTickNs,
+            mustEnableMetrics,
             null); // threadFactory
     }
     
@@ -1102,6 +1853,20 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         this.noRunningWorkerClockTimeCondilock.setMaxSystemWaitTimeNs(maxSystemWaitTimeNs);
     }
     
+    /**
+     * Runtime metrics are disabled by default, and can be enabled
+     * with the mustEnableMetrics constructor argument.
+     * 
+     * Queue wait is only recorded for ASAP schedules, and lateness
+     * (in clock time) for timed schedules.
+     * 
+     * @return The metrics, which can be snapshot at any time,
+     *         if enabled on construction, null otherwise.
+     */
+    public ExecutorMetrics getMetricsElseNull() {
+        return this.metrics;
+    }
+    
     /*
      * 
      */
@@ -1275,7 +2040,7 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                 this.workerThreadArr[0] = workerThread;
                 this.workerThreadSet.put(workerThread, Boolean.TRUE);
                 
-                workerRunnable = new MyWorkerRunnable();
+                workerRunnable = new MyWorkerRunnable(0);
                 this.workerRunnables[0] = workerRunnable;
             } else {
                 workerRunnable = this.workerRunnables[0];
@@ -1479,8 +2244,12 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      * method is called as many times.
      */
     public void cancelPendingAsapSchedules() {
+        final ExecutorMetrics metrics = this.metrics;
         MySequencedSchedule schedule;
         while ((schedule = this.pollFirstAsapScheduleInSchedLock()) != null) {
+            if (metrics != null) {
+                metrics.onCancelled(1);
+            }
             CancellableUtils.call_onCancel_IfCancellable(
                 schedule.removeRunnable());
         }
@@ -1494,8 +2263,12 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      * method is called as many times.
      */
     public void cancelPendingTimedSchedules() {
+        final ExecutorMetrics metrics = this.metrics;
         MyTimedSchedule schedule = null;
         while ((schedule = this.pollTimedScheduleInSchedLock()) != null) {
+            if (metrics != null) {
+                metrics.onCancelled(1);
+            }
             CancellableUtils.call_onCancel_IfCancellable(
                 schedule.removeRunnable());
         }
@@ -1507,6 +2280,7 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      *        in the order they were scheduled.
      */
     public void drainPendingAsapRunnablesInto(Collection<? super Runnable> runnables) {
+        int nbrOfDrained = 0;
         boolean gotSome = false;
         final Lock schedLock = this.schedLock;
         schedLock.lock();
@@ -1517,10 +2291,12 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                 if (schedule == null) {
                     break;
                 }
+                nbrOfDrained++;
                 gotSome = true;
                 runnables.add(schedule.removeRunnable());
             }
         } finally {
+            this.onDrainForMetrics(nbrOfDrained);
             if (gotSome) {
                 // Signaling in finally, in case we had an exception
                 // while adding into output collection.
@@ -1536,15 +2312,18 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      */
     public void drainPendingTimedRunnablesInto(Collection<? super Runnable> runnables) {
         int n = 0;
+        int nbrOfDrained = 0;
         final Lock schedLock = this.schedLock;
         schedLock.lock();
         try {
             n = this.timedSchedQueue.size();
             for (int i = 0; i < n; i++) {
                 final MyTimedSchedule schedule = this.timedSchedQueue.remove();
+                nbrOfDrained++;
                 runnables.add(schedule.removeRunnable());
             }
         } finally {
+            this.onDrainForMetrics(nbrOfDrained);
             if (n != 0) {
                 // Signaling in finally, in case we had an exception
                 // while adding into output collection.
@@ -1620,9 +2399,13 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                  * and shutdownNow()'s drain would be waiting
                  * for the lock to be released by execute(),
                  * but we still take it in this case for consistency.
+                 * With lock-free ASAP queue, closing it instead,
+                 * which makes late execute() calls reject
+                 * their runnable.
                  */
                 final boolean mustLockBoth =
-                    !this.isSchedLock(this.asapPutLock);
+                    (this.asapPutLock != null)
+                    && !this.isSchedLock(this.asapPutLock);
                 if (mustLockBoth) {
                     this.asapPutLock.lock();
                 }
@@ -1636,6 +2419,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                     } else {
                         this.setProcessSchedulesStatus(PROCESS_SCHEDULES_NO_AND_DIE_AFTERWARDS);
                     }
+                    
+                    if (this.asapPutLock == null) {
+                        ((MyLockFreeAsapQueue) this.asapSchedQueue).close();
+                    }
                 } finally {
                     this.schedLock.unlock();
                     if (mustLockBoth) {
@@ -1726,7 +2513,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         LangUtils.requireNonNull(runnable);
         
         // Optimistically allocated outside putLock.
-        final MySequencedSchedule schedule = new MyNode(runnable);
+        final MyNode schedule = new MyNode(runnable);
+        if (this.metrics != null) {
+            schedule.enqueueNs = System.nanoTime();
+        }
         
         if (this.enqueueScheduleIfPossible(schedule)) {
             this.tryStartWorkerThreadsOnScheduleSubmit();
@@ -1752,6 +2542,111 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         }
     }
     
+    /*
+     * bulk scheduling
+     */
+    
+    /**
+     * Bulk version of execute(Runnable), which enqueues the specified
+     * runnables in order, with consecutive sequence numbers, acquiring
+     * put lock only once (or none with lock-free ASAP queue),
+     * and waking up only as many workers as needed.
+     * 
+     * If there is not enough room for all the runnables, the first ones
+     * are enqueued and the others are rejected: onCancel() is called
+     * on rejected cancellables, and then RejectedExecutionException
+     * is thrown if some rejected runnables are not cancellables.
+     * 
+     * @param runnables Runnables to execute ASAP.
+     * @throws NullPointerException if the specified array or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAll(Runnable[] runnables) {
+        
+        final MyNode[] scheduleArr = new MyNode[runnables.length];
+        for (int i = 0; i < scheduleArr.length; i++) {
+            scheduleArr[i] = new MyNode(LangUtils.requireNonNull(runnables[i]));
+        }
+        if (scheduleArr.length == 0) {
+            return;
+        }
+        if (this.metrics != null) {
+            final long nowNs = System.nanoTime();
+            for (MyNode schedule : scheduleArr) {
+                schedule.enqueueNs = nowNs;
+            }
+        }
+        
+        if (this.enqueueSchedulesIfPossible(scheduleArr)) {
+            this.tryStartWorkerThreadsOnScheduleSubmit();
+            this.enqueueSchedulesIfPossible(scheduleArr);
+        }
+    }
+    
+    /**
+     * Bulk version of execute(Runnable), cf. executeAll(Runnable[]).
+     * 
+     * @param runnables Runnables to execute ASAP, in iteration order.
+     * @throws NullPointerException if the specified collection or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAll(Collection<? extends Runnable> runnables) {
+        this.executeAll(runnables.toArray(new Runnable[runnables.size()]));
+    }
+    
+    /**
+     * Bulk version of executeAtNs(Runnable,long), which enqueues
+     * the specified runnables in order, with consecutive sequence numbers,
+     * acquiring put lock only once, and waking up only as many workers
+     * as needed.
+     * 
+     * Rejections are handled as for executeAll(Runnable[]).
+     * 
+     * @param runnables Runnables to execute at the specified time.
+     * @param timeNs Time at which the specified runnables must be executed,
+     *        in nanoseconds, and in the time frame of scheduler's clock.
+     * @throws NullPointerException if the specified array or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAtNsAll(
+        Runnable[] runnables,
+        long timeNs) {
+        
+        final MyTimedSchedule[] scheduleArr = new MyTimedSchedule[runnables.length];
+        for (int i = 0; i < scheduleArr.length; i++) {
+            scheduleArr[i] = new MyTimedSchedule(
+                LangUtils.requireNonNull(runnables[i]),
+                timeNs);
+        }
+        if (scheduleArr.length == 0) {
+            return;
+        }
+        
+        if (this.enqueueSchedulesIfPossible(scheduleArr)) {
+            this.tryStartWorkerThreadsOnScheduleSubmit();
+            this.enqueueSchedulesIfPossible(scheduleArr);
+        }
+    }
+    
+    /**
+     * Bulk version of executeAtNs(Runnable,long),
+     * cf. executeAtNsAll(Runnable[],long).
+     * 
+     * @param runnables Runnables to execute at the specified time,
+     *        in iteration order.
+     * @param timeNs Time at which the specified runnables must be executed,
+     *        in nanoseconds, and in the time frame of scheduler's clock.
+     * @throws NullPointerException if the specified collection or any of
+     *         its runnables is null, in which case none is enqueued.
+     */
+    public void executeAtNsAll(
+        Collection<? extends Runnable> runnables,
+        long timeNs) {
+        this.executeAtNsAll(
+            runnables.toArray(new Runnable[runnables.size()]),
+            timeNs);
+    }
+    
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
@@ -1801,6 +2696,9 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         int asapQueueCapacity,
         int timedQueueCapacity,
         int maxWorkerCountForBasicAsapQueue,
+        boolean mustUseLockFreeAsapQueue,
+        long timingWheelTickNs,
+        boolean mustEnableMetrics,
         final ThreadFactory threadFactory) {
         
         NbrsUtils.requireSupOrEq(1, nbrOfThreads, "nbrOfThreads");
@@ -1813,6 +2711,8 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             maxWorkerCountForBasicAsapQueue,
             "maxWorkerCountForBasicAsapQueue");
         
+        NbrsUtils.requireSupOrEq(0L, timingWheelTickNs, "timingWheelTickNs");
+        
         if (isThreadless) {
             final boolean instanceAdaptedForUserWorkerThread =
                 (threadNamePrefix == null)
@@ -1826,6 +2726,8 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         
         this.isThreadless = isThreadless;
         
+        this.metrics = (mustEnableMetrics ? new ExecutorMetrics(nbrOfThreads) : null);
+        
         this.clock = LangUtils.requireNonNull(clock);
         
         /*
@@ -1848,17 +2750,32 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         
         final boolean mustUseBasicAsapQueue =
             (nbrOfThreads <= maxWorkerCountForBasicAsapQueue);
-        if (mustUseBasicAsapQueue) {
-            this.asapPutLock = this.schedLock;
-            this.asapSchedQueue = new MyBasicAsapQueue(
+        if (mustUseLockFreeAsapQueue) {
+            this.asapPutLock = null;
+            this.asapSchedQueue = new MyLockFreeAsapQueue(
                 asapQueueCapacity);
+            this.atomicSequencer = new PostPaddedAtomicLong();
         } else {
-            this.asapPutLock = new ReentrantLock();
-            this.asapSchedQueue = new MyDualLockAsapQueue(
-                asapQueueCapacity);
+            if (mustUseBasicAsapQueue) {
+                this.asapPutLock = this.schedLock;
+                this.asapSchedQueue = new MyBasicAsapQueue(
+                    asapQueueCapacity);
+            } else {
+                this.asapPutLock = new ReentrantLock();
+                this.asapSchedQueue = new MyDualLockAsapQueue(
+                    asapQueueCapacity);
+            }
+            this.atomicSequencer = null;
         }
         
-        this.timedSchedQueue = new MyFairPriorityQueue(timedQueueCapacity);
+        if (timingWheelTickNs == 0L) {
+            this.timedSchedQueue = new MyFairPriorityQueue(
+                timedQueueCapacity);
+        } else {
+            this.timedSchedQueue = new MyTimingWheelQueue(
+                timedQueueCapacity,
+                timingWheelTickNs);
+        }
         
         /*
          * 
@@ -1871,7 +2788,7 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             // Will be initialized on start.
         } else {
             for (int i = 0; i < nbrOfThreads; i++) {
-                final MyWorkerRunnable runnable = new MyWorkerRunnable();
+                final MyWorkerRunnable runnable = new MyWorkerRunnable(i);
                 
                 final Thread thread;
                 if (threadFactory != null) {
@@ -2102,6 +3019,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
              * but we prefer to call a single method and
              * get interrupt status cleared immediately if not useful.
              */
+            if (!this.beginWaitForAsap_schedLocked(nbrOfProcessablesAsapSchedules)) {
+                // New ASAP schedule.
+                continue;
+            }
             try {
                 this.schedCondition.await();
             } catch (@SuppressWarnings("unused") InterruptedException e) {
@@ -2109,10 +3030,48 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                  * Not restoring interrupt status,
                  * else next runnable to process would get interrupted.
                  */
+            } finally {
+                this.endWaitForAsap_schedLocked();
             }
         }
     }
     
+    /**
+     * With lock-free ASAP queue, must be called before waiting
+     * in schedLock, for publishers to know they must signal,
+     * and, if returns true, endWaitForAsap_schedLocked() must be
+     * called after the wait.
+     * 
+     * @param asapQueueSize ASAP queue size based on which
+     *        it was decided to wait.
+     * @return True if can wait, false if an ASAP schedule
+     *         got enqueued since the specified size was read.
+     */
+    private boolean beginWaitForAsap_schedLocked(int asapQueueSize) {
+        if (this.asapPutLock != null) {
+            // Publishers always signal in schedLock.
+            return true;
+        }
+        // Only written in schedLock.
+        this.nbrOfWorkersWaitingForAsap++;
+        /*
+         * Volatile write before volatile read of size,
+         * while publishers increment size before reading
+         * our count: at least one of us sees the other.
+         */
+        if (this.asapSchedQueue.size() != asapQueueSize) {
+            this.nbrOfWorkersWaitingForAsap--;
+            return false;
+        }
+        return true;
+    }
+    
+    private void endWaitForAsap_schedLocked() {
+        if (this.asapPutLock == null) {
+            this.nbrOfWorkersWaitingForAsap--;
+        }
+    }
+    
     /**
      * @param nbrOfAsapToProcess ASAP queue size.
      * @param firstTimedSched Can be null.
@@ -2152,10 +3111,15 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         return ret;
     }
     
-    private void workerRun() {
+    private void workerRun(int workerIndex) {
         final Lock schedLock = this.schedLock;
+        final ExecutorMetrics metrics = this.metrics;
         while (true) {
             Runnable runnable;
+            // Only used if recording metrics.
+            boolean isTimed = false;
+            long enqueueNs = 0L;
+            long latenessNs = 0L;
             
             schedLock.lock();
             try {
@@ -2209,6 +3173,9 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                             this.schedCondition.signal();
                         }
                         runnable = asapSchedToProcess.removeRunnable();
+                        if (metrics != null) {
+                            enqueueNs = ((MyNode) asapSchedToProcess).enqueueNs;
+                        }
                     } else {
                         // If we pass here, that means an eligible schedule is in
                         // timed queue.
@@ -2219,10 +3186,14 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                             firstTimedSched.getTheoreticalTimeNs(),
                             timeAfterWaitNs);
                         if (clockWaitTimeNs > 0) {
-                            try {
-                                this.schedClockTimeCondilock.awaitNanos(clockWaitTimeNs);
-                            } catch (@SuppressWarnings("unused") InterruptedException e) {
-                                // quiet
+                            if (this.beginWaitForAsap_schedLocked(nbrOfAsapToProcess)) {
+                                try {
+                                    this.schedClockTimeCondilock.awaitNanos(clockWaitTimeNs);
+                                } catch (@SuppressWarnings("unused") InterruptedException e) {
+                                    // quiet
+                                } finally {
+                                    this.endWaitForAsap_schedLocked();
+                                }
                             }
                             /*
                              * Here, 4 things might have happened:
@@ -2251,6 +3222,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
                          * but that doesn't help).
                          */
                         runnable = firstTimedSched.removeRunnable();
+                        if (metrics != null) {
+                            isTimed = true;
+                            latenessNs = -clockWaitTimeNs;
+                        }
                     }
                     // Existing anti-synchro loop.
                     break;
@@ -2263,7 +3238,47 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
              * 
              */
             
+            if (metrics == null) {
+                runnable.run();
+            } else {
+                runAndRecord(
+                    runnable,
+                    metrics,
+                    workerIndex,
+                    isTimed,
+                    enqueueNs,
+                    latenessNs);
+            }
+        }
+    }
+    
+    /**
+     * @param enqueueNs Only used for ASAP schedules.
+     * @param latenessNs Only used for timed schedules.
+     */
+    private static void runAndRecord(
+        Runnable runnable,
+        ExecutorMetrics metrics,
+        int workerIndex,
+        boolean isTimed,
+        long enqueueNs,
+        long latenessNs) {
+        final long startNs = System.nanoTime();
+        final long queueWaitNs;
+        if (isTimed) {
+            metrics.onLateness(workerIndex, latenessNs);
+            // Not recorded.
+            queueWaitNs = -1L;
+        } else {
+            queueWaitNs = startNs - enqueueNs;
+        }
+        try {
             runnable.run();
+        } finally {
+            metrics.onExecuted(
+                workerIndex,
+                queueWaitNs,
+                System.nanoTime() - startNs);
         }
     }
     
@@ -2310,6 +3325,10 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
      * @return True if schedule could be enqueued, false otherwise.
      */
     private boolean enqueueTimedScheduleIfRoom_schedLocked(MyTimedSchedule schedule) {
+        if (this.atomicSequencer != null) {
+            schedule.setSequenceNumber(this.atomicSequencer.getAndIncrement());
+            return this.timedSchedQueue.offer(schedule);
+        }
         schedule.setSequenceNumber(this.sequencer);
         final boolean didEnqueue = this.timedSchedQueue.offer(schedule);
         if (didEnqueue) {
@@ -2336,6 +3355,11 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         final boolean isTimedSchedule =
             (schedule instanceof MyTimedSchedule);
         
+        if ((!isTimedSchedule)
+            && (this.asapPutLock == null)) {
+            return this.enqueueAsapScheduleIfPossible_lockFree((MyNode) schedule);
+        }
+        
         final Lock lockForPut = this.getLockForPut(isTimedSchedule);
         final boolean mustSignalInLockForPut =
             this.isSchedLock(lockForPut);
@@ -2384,6 +3408,15 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
             lockForPut.unlock();
         }
         
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (enqueued) {
+                metrics.onSubmitted(1);
+            } else {
+                metrics.onRejected(1);
+            }
+        }
+        
         if (enqueuedTimedOrAsapAndWasEmpty) {
             if (!mustSignalInLockForPut) {
                 this.schedLock.lock();
@@ -2402,4 +3435,303 @@ public class HardScheduler extends AbstractDefaultScheduler implements Interface
         
         return false;
     }
+    
+    /**
+     * For use with lock-free ASAP queue.
+     * 
+     * @param schedule ASAP schedule.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueAsapScheduleIfPossible_lockFree(MyNode schedule) {
+        /*
+         * No lock to check accept status in: if status changes
+         * to NO concurrently, we might still enqueue, as for
+         * a call to execute() just preceding stopAccepting(),
+         * except for shutdown(), which closes the queue.
+         */
+        final int acceptStatus = this.getAcceptSchedulesStatus();
+        final boolean mustTryToEnqueue;
+        if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+            // General case first.
+            mustTryToEnqueue = true;
+        } else {
+            if (this.isThreadless) {
+                mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+            } else {
+                if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                    /*
+                     * Must try to start workers and call again.
+                     */
+                    return true;
+                }
+                mustTryToEnqueue = false;
+            }
+        }
+        
+        int oldSize = -1;
+        if (mustTryToEnqueue) {
+            schedule.setSequenceNumber(this.atomicSequencer.getAndIncrement());
+            oldSize = ((MyLockFreeAsapQueue) this.asapSchedQueue).offerLastAndGetOldSize(schedule);
+        }
+        
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (oldSize >= 0) {
+                metrics.onSubmitted(1);
+            } else {
+                metrics.onRejected(1);
+            }
+        }
+        
+        if (oldSize == 0) {
+            /*
+             * Reading waiting workers count after size increment,
+             * cf. beginWaitForAsap_schedLocked(...).
+             * If the queue was not empty, workers that took
+             * previous schedules take care of waking up others.
+             */
+            if (this.nbrOfWorkersWaitingForAsap != 0) {
+                this.schedLock.lock();
+                try {
+                    this.schedCondition.signal();
+                } finally {
+                    this.schedLock.unlock();
+                }
+            }
+        } else if (oldSize < 0) {
+            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(
+                schedule.removeRunnable());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Bulk version of enqueueScheduleIfPossible(...).
+     * Cancels the schedules that could not be enqueued.
+     * 
+     * @param scheduleArr ASAP or timed schedules, depending on array type.
+     *        Must not be empty.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueSchedulesIfPossible(
+        MySequencedSchedule[] scheduleArr) {
+        
+        int nbrOfEnqueued = 0;
+        int nbrOfSignals = 0;
+        
+        final boolean isTimedSchedule =
+            (scheduleArr instanceof MyTimedSchedule[]);
+        
+        if ((!isTimedSchedule)
+            && (this.asapPutLock == null)) {
+            return this.enqueueAsapSchedulesIfPossible_lockFree((MyNode[]) scheduleArr);
+        }
+        
+        final Lock lockForPut = this.getLockForPut(isTimedSchedule);
+        final boolean mustSignalInLockForPut =
+            this.isSchedLock(lockForPut);
+        lockForPut.lock();
+        try {
+            /*
+             * Need to check accept status in lockForPut,
+             * cf. comment in shutdown().
+             */
+            final int acceptStatus = this.getAcceptSchedulesStatus();
+            final boolean mustTryToEnqueue;
+            if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+                // General case first.
+                mustTryToEnqueue = true;
+            } else {
+                if (this.isThreadless) {
+                    mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+                } else {
+                    if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                        /*
+                         * Must try to start workers and call again.
+                         */
+                        return true;
+                    }
+                    mustTryToEnqueue = false;
+                }
+            }
+            if (mustTryToEnqueue) {
+                final boolean mustSignal;
+                if (isTimedSchedule) {
+                    while ((nbrOfEnqueued < scheduleArr.length)
+                        && this.enqueueTimedScheduleIfRoom_schedLocked(
+                            (MyTimedSchedule) scheduleArr[nbrOfEnqueued])) {
+                        nbrOfEnqueued++;
+                    }
+                    mustSignal = (nbrOfEnqueued != 0);
+                } else {
+                    boolean wasEmptyBeforeFirstAdd = false;
+                    while ((nbrOfEnqueued < scheduleArr.length)
+                        && this.enqueueAsapScheduleIfRoom_schedLocked(
+                            (MyNode) scheduleArr[nbrOfEnqueued])) {
+                        if (nbrOfEnqueued == 0) {
+                            wasEmptyBeforeFirstAdd =
+                                this.asapSchedQueue.wasEmptyBeforeLastAdd();
+                        }
+                        nbrOfEnqueued++;
+                    }
+                    mustSignal = wasEmptyBeforeFirstAdd;
+                }
+                if (mustSignal) {
+                    /*
+                     * Signaling up to one worker per schedule,
+                     * as individual submissions would do
+                     * (for timed schedules, which are not handed over
+                     * from a worker to another), but at once.
+                     */
+                    nbrOfSignals = Math.min(nbrOfEnqueued, this.workerThreadArr.length);
+                    if (mustSignalInLockForPut) {
+                        for (int i = 0; i < nbrOfSignals; i++) {
+                            this.schedCondition.signal();
+                        }
+                    }
+                }
+            }
+        } finally {
+            lockForPut.unlock();
+        }
+        
+        if ((nbrOfSignals != 0)
+            && (!mustSignalInLockForPut)) {
+            this.schedLock.lock();
+            try {
+                for (int i = 0; i < nbrOfSignals; i++) {
+                    this.schedCondition.signal();
+                }
+            } finally {
+                this.schedLock.unlock();
+            }
+        }
+        
+        this.onBulkEnqueueForMetrics(nbrOfEnqueued, scheduleArr.length);
+        
+        if (nbrOfEnqueued != scheduleArr.length) {
+            cancelRejectedSchedules(scheduleArr, nbrOfEnqueued);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * For use with lock-free ASAP queue.
+     * Bulk version of enqueueAsapScheduleIfPossible_lockFree(...).
+     * 
+     * @param scheduleArr ASAP schedules. Must not be empty.
+     * @return True if need workers start for retry, false otherwise.
+     */
+    private boolean enqueueAsapSchedulesIfPossible_lockFree(MyNode[] scheduleArr) {
+        /*
+         * No lock to check accept status in,
+         * cf. enqueueAsapScheduleIfPossible_lockFree(...).
+         */
+        final int acceptStatus = this.getAcceptSchedulesStatus();
+        final boolean mustTryToEnqueue;
+        if (acceptStatus == ACCEPT_SCHEDULES_YES) {
+            // General case first.
+            mustTryToEnqueue = true;
+        } else {
+            if (this.isThreadless) {
+                mustTryToEnqueue = (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED);
+            } else {
+                if (acceptStatus == ACCEPT_SCHEDULES_YES_AND_WORKERS_START_NEEDED) {
+                    /*
+                     * Must try to start workers and call again.
+                     */
+                    return true;
+                }
+                mustTryToEnqueue = false;
+            }
+        }
+        
+        int nbrOfEnqueued = 0;
+        int oldSize = -1;
+        if (mustTryToEnqueue) {
+            final long firstSequenceNumber =
+                this.atomicSequencer.getAndAdd(scheduleArr.length);
+            for (int i = 0; i < scheduleArr.length; i++) {
+                scheduleArr[i].setSequenceNumber(firstSequenceNumber + i);
+            }
+            final MyLockFreeAsapQueue queue = (MyLockFreeAsapQueue) this.asapSchedQueue;
+            oldSize = queue.offerLastAllAndGetOldSize(scheduleArr);
+            if (oldSize >= 0) {
+                nbrOfEnqueued = Math.min(scheduleArr.length, queue.capacity - oldSize);
+            }
+        }
+        
+        if (oldSize == 0) {
+            /*
+             * Reading waiting workers count after size increment,
+             * cf. beginWaitForAsap_schedLocked(...).
+             */
+            if (this.nbrOfWorkersWaitingForAsap != 0) {
+                this.schedLock.lock();
+                try {
+                    final int nbrOfSignals = Math.min(
+                        nbrOfEnqueued,
+                        Math.max(1, this.nbrOfWorkersWaitingForAsap));
+                    for (int i = 0; i < nbrOfSignals; i++) {
+                        this.schedCondition.signal();
+                    }
+                } finally {
+                    this.schedLock.unlock();
+                }
+            }
+        }
+        
+        this.onBulkEnqueueForMetrics(nbrOfEnqueued, scheduleArr.length);
+        
+        if (nbrOfEnqueued != scheduleArr.length) {
+            cancelRejectedSchedules(scheduleArr, nbrOfEnqueued);
+        }
+        
+        return false;
+    }
+    
+    private void onBulkEnqueueForMetrics(int nbrOfEnqueued, int nbrOfSchedules) {
+        final ExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            if (nbrOfEnqueued != 0) {
+                metrics.onSubmitted(nbrOfEnqueued);
+            }
+            if (nbrOfEnqueued != nbrOfSchedules) {
+                metrics.onRejected(nbrOfSchedules - nbrOfEnqueued);
+            }
+        }
+    }
+    
+    private void onDrainForMetrics(int nbrOfDrained) {
+        final ExecutorMetrics metrics = this.metrics;
+        if ((metrics != null)
+            && (nbrOfDrained != 0)) {
+            metrics.onDrained(nbrOfDrained);
+        }
+    }
+    
+    /**
+     * Calls onCancel() on the runnables of the specified schedules
+     * that are cancellables.
+     * 
+     * @param from Index of the first rejected schedule.
+     * @throws RejectedExecutionException if some of these runnables
+     *         are not cancellables (after all onCancel() calls).
+     */
+    private static void cancelRejectedSchedules(
+        MySequencedSchedule[] scheduleArr,
+        int from) {
+        boolean gotNonCancellable = false;
+        for (int i = from; i < scheduleArr.length; i++) {
+            final Runnable runnable = scheduleArr[i].removeRunnable();
+            if (!CancellableUtils.call_onCancel_IfCancellable(runnable)) {
+                gotNonCancellable = true;
+            }
+        }
+        if (gotNonCancellable) {
+            throw new RejectedExecutionException();
+        }
+    }
 }
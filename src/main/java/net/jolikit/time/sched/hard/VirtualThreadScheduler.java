@@ -0,0 +1,397 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.time.sched.hard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import net.jolikit.lang.DefaultThreadFactory;
+import net.jolikit.lang.LangUtils;
+import net.jolikit.threading.basics.CancellableUtils;
+import net.jolikit.threading.basics.InterfaceCancellable;
+import net.jolikit.threading.basics.WorkerThreadChecker;
+import net.jolikit.threading.execs.VirtualThreadExecutor;
+import net.jolikit.time.clocks.hard.InterfaceHardClock;
+import net.jolikit.time.sched.AbstractScheduler;
+import net.jolikit.time.sched.InterfaceWorkerAwareScheduler;
+
+/**
+ * Scheduler based on a hard clock, running each schedule
+ * in a new thread, which by default is a virtual thread,
+ * for blocking-heavy tasks for which HardScheduler
+ * would need a lot of platform threads.
+ * 
+ * ASAP schedules are directly handed over to a VirtualThreadExecutor.
+ * Timed schedules are first enqueued in a single-threaded HardScheduler,
+ * which thread only hands them over to the executor when their time
+ * has come, so timed schedules have the same clock semantics
+ * as with HardScheduler (time jumps, time speed changes, etc.).
+ * 
+ * Worker threads, as for InterfaceWorkerAware, are the threads
+ * running the schedules, not including the timing thread,
+ * in which user code is never ran.
+ * 
+ * Runnables implementing InterfaceCancellable have their onCancel()
+ * method called on rejection, either on submit, or, for timed schedules,
+ * on hand over to the executor if its max number of running workers
+ * has been reached (in which case non-cancellable runnables cause
+ * a RejectedExecutionException in the timing thread, which is
+ * handled by its DefaultThreadFactory).
+ * 
+ * On shutdown, pending timed schedules are still executed
+ * at their time, unless cancelled or drained.
+ */
+public class VirtualThreadScheduler extends AbstractScheduler implements InterfaceWorkerAwareScheduler {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * For timed schedules of non-cancellable runnables.
+     */
+    private class MyDispatcher implements Runnable {
+        final Runnable runnable;
+        public MyDispatcher(Runnable runnable) {
+            this.runnable = runnable;
+        }
+        @Override
+        public void run() {
+            executor.execute(this.runnable);
+        }
+    }
+    
+    /**
+     * For timed schedules of cancellable runnables,
+     * for timing scheduler to call onCancel() on rejection.
+     */
+    private class MyCancellableDispatcher extends MyDispatcher implements InterfaceCancellable {
+        public MyCancellableDispatcher(InterfaceCancellable cancellable) {
+            super(cancellable);
+        }
+        @Override
+        public void onCancel() {
+            ((InterfaceCancellable) this.runnable).onCancel();
+        }
+    }
+    
+    /**
+     * Shuts down the executor once timing worker completed normally,
+     * i.e. once it has been shut down and has no more pending schedule,
+     * for late timed schedules to still be accepted by the executor.
+     */
+    private class MyTimingWorkerRunnable implements Runnable {
+        private final Runnable workerRunnable;
+        public MyTimingWorkerRunnable(Runnable workerRunnable) {
+            this.workerRunnable = workerRunnable;
+        }
+        @Override
+        public void run() {
+            this.workerRunnable.run();
+            executor.shutdown();
+        }
+    }
+    
+    private class MyTimingThreadFactory implements ThreadFactory {
+        private final ThreadFactory backingThreadFactory = new DefaultThreadFactory();
+        @Override
+        public Thread newThread(Runnable r) {
+            // Default thread factory wrapping our runnable,
+            // so that it only completes when timing worker
+            // completes normally.
+            return this.backingThreadFactory.newThread(
+                new MyTimingWorkerRunnable(r));
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final VirtualThreadExecutor executor;
+    
+    private final HardScheduler timingScheduler;
+    
+    private volatile boolean shutdown = false;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @param clock Hard clock to use.
+     * @param threadNamePrefix Prefix for worker threads names,
+     *        and for timing thread name, which is "prefix-timing-1".
+     *        Can be null, in which case worker threads names are empty,
+     *        or preserved if the specified thread factory is not null.
+     * @param timedQueueCapacity Capacity (>=0) for timed schedules queue.
+     *        When full, new schedules are rejected.
+     * @param maxNbrOfRunningWorkers Max number (>=0) of schedules
+     *        being ran at once. When reached, new schedules are rejected.
+     * @param threadFactory Factory for the thread of each schedule.
+     *        If null, virtual threads are created.
+     * @throws UnsupportedOperationException if the specified thread
+     *         factory is null and virtual threads are not available.
+     */
+    public VirtualThreadScheduler(
+        InterfaceHardClock clock,
+        String threadNamePrefix,
+        int timedQueueCapacity,
+        int maxNbrOfRunningWorkers,
+        ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            this.executor = new VirtualThreadExecutor(
+                threadNamePrefix,
+                maxNbrOfRunningWorkers);
+        } else {
+            this.executor = new VirtualThreadExecutor(
+                maxNbrOfRunningWorkers,
+                threadFactory);
+        }
+        this.timingScheduler = HardScheduler.newInstance(
+            clock,
+            ((threadNamePrefix != null) ? threadNamePrefix + "-timing" : null),
+            true, // daemon
+            1, // nbrOfThreads
+            1, // asapQueueCapacity (unused, but must be > 0)
+            timedQueueCapacity,
+            new MyTimingThreadFactory());
+    }
+    
+    /**
+     * @param clock Hard clock to use.
+     * @return A scheduler using unnamed virtual threads,
+     *         and Integer.MAX_VALUE for timed queue capacity
+     *         and max number of running workers.
+     * @throws UnsupportedOperationException if virtual threads
+     *         are not available.
+     */
+    public static VirtualThreadScheduler newInstance(InterfaceHardClock clock) {
+        return new VirtualThreadScheduler(
+            clock,
+            null, // threadNamePrefix
+            Integer.MAX_VALUE,
+            Integer.MAX_VALUE,
+            null); // threadFactory
+    }
+    
+    /**
+     * @return True if virtual threads are available in current JDK,
+     *         i.e. if this scheduler can be used with its default
+     *         thread factory, false otherwise.
+     */
+    public static boolean isAvailable() {
+        return VirtualThreadExecutor.isAvailable();
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        
+        sb.append("[");
+        sb.append(super.toString());
+        
+        if (this.isShutdown()) {
+            sb.append(",shutdown");
+        }
+        
+        sb.append(",running:");
+        sb.append(this.getNbrOfRunningWorkers());
+        
+        sb.append(",timed schedules:");
+        sb.append(this.getNbrOfPendingSchedules());
+        sb.append("]");
+        
+        return sb.toString();
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public boolean isWorkerThread() {
+        return this.executor.isWorkerThread();
+    }
+    
+    @Override
+    public void checkIsWorkerThread() {
+        WorkerThreadChecker.checkIsWorkerThread(this);
+    }
+    
+    @Override
+    public void checkIsNotWorkerThread() {
+        WorkerThreadChecker.checkIsNotWorkerThread(this);
+    }
+    
+    /*
+     * getters
+     */
+    
+    @Override
+    public InterfaceHardClock getClock() {
+        return this.timingScheduler.getClock();
+    }
+    
+    /**
+     * @return An estimation of the number of worker threads
+     *         created and not done running their schedule.
+     */
+    public int getNbrOfRunningWorkers() {
+        return this.executor.getNbrOfRunningWorkers();
+    }
+    
+    /**
+     * @return The number of pending timed schedules, i.e. which time
+     *         has not come yet (ASAP schedules are never pending).
+     */
+    public int getNbrOfPendingSchedules() {
+        return this.timingScheduler.getNbrOfPendingTimedSchedules();
+    }
+    
+    /**
+     * @return True if shutdown() or shutdownNow(...) has been called, false otherwise.
+     */
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+    
+    /**
+     * @return True if shutdown, and there are no more pending
+     *         or running schedules, false otherwise.
+     */
+    public boolean isTerminated() {
+        return this.executor.isTerminated();
+    }
+    
+    /*
+     * controls
+     */
+    
+    /**
+     * Cancels pending timed schedules.
+     */
+    public void cancelPendingSchedules() {
+        this.timingScheduler.cancelPendingTimedSchedules();
+    }
+    
+    /**
+     * Drains pending timed schedules.
+     * 
+     * @param runnables Collection where to add drained runnables.
+     */
+    public void drainPendingRunnablesInto(Collection<? super Runnable> runnables) {
+        final ArrayList<Runnable> dispatchers = new ArrayList<Runnable>();
+        this.timingScheduler.drainPendingTimedRunnablesInto(dispatchers);
+        for (Runnable dispatcher : dispatchers) {
+            runnables.add(((MyDispatcher) dispatcher).runnable);
+        }
+    }
+    
+    /**
+     * Interrupts worker threads.
+     */
+    public void interruptWorkers() {
+        this.executor.interruptWorkers();
+    }
+    
+    /**
+     * This method irremediably stops schedules acceptance,
+     * while pending timed schedules are still handed over
+     * to workers when their time comes.
+     * 
+     * After call to this method, and in the purpose of quickening termination,
+     * you might want (or not want) to (and in that order if calling both):
+     * - cancel or drain pending schedules,
+     * - interrupt workers.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        // Making sure timing worker is running,
+        // for executor to be shut down when it completes.
+        this.timingScheduler.startWorkerThreadsIfNeeded();
+        this.timingScheduler.shutdown();
+    }
+    
+    /**
+     * Convenience method, implemented with other public methods:
+     * calls shutdown(), then drains pending schedules,
+     * and then eventually interruptWorkers().
+     */
+    public List<Runnable> shutdownNow(boolean mustInterruptWorkingWorkers) {
+        this.shutdown();
+        
+        final ArrayList<Runnable> runnables = new ArrayList<Runnable>();
+        this.drainPendingRunnablesInto(runnables);
+        
+        if (mustInterruptWorkingWorkers) {
+            this.interruptWorkers();
+        }
+        return runnables;
+    }
+    
+    /*
+     * waits
+     */
+    
+    /**
+     * Waits for this scheduler to be terminated,
+     * or for the specified timeout to elapse.
+     * 
+     * @param timeoutNs Timeout, in system time, in nanoseconds.
+     * @return True if this scheduler was terminated before
+     *         the timeout elapsed, false otherwise.
+     * @throws InterruptedException if the wait gets interrupted.
+     */
+    public boolean waitForTerminationSystemTimeNs(long timeoutNs) throws InterruptedException {
+        return this.executor.awaitTermination(
+            timeoutNs,
+            TimeUnit.NANOSECONDS);
+    }
+    
+    /*
+     * scheduling
+     */
+    
+    @Override
+    public void execute(Runnable runnable) {
+        LangUtils.requireNonNull(runnable);
+        if (this.shutdown) {
+            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(runnable);
+            return;
+        }
+        this.executor.execute(runnable);
+    }
+    
+    @Override
+    public void executeAtNs(
+        Runnable runnable,
+        long timeNs) {
+        LangUtils.requireNonNull(runnable);
+        final MyDispatcher dispatcher;
+        if (runnable instanceof InterfaceCancellable) {
+            dispatcher = new MyCancellableDispatcher((InterfaceCancellable) runnable);
+        } else {
+            dispatcher = new MyDispatcher(runnable);
+        }
+        // Timing scheduler is shut down by shutdown(),
+        // and rejects or cancels accordingly.
+        this.timingScheduler.executeAtNs(dispatcher, timeNs);
+    }
+}
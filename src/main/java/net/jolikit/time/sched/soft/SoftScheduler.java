@@ -17,6 +17,7 @@ package net.jolikit.time.sched.soft;
 
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -25,6 +26,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
 import net.jolikit.lang.ExceptionsUtils;
+import net.jolikit.lang.LangUtils;
 import net.jolikit.lang.NbrsUtils;
 import net.jolikit.threading.basics.WorkerThreadChecker;
 import net.jolikit.time.clocks.InterfaceClockModificationListener;
@@ -369,6 +371,84 @@ public class SoftScheduler extends AbstractDefaultScheduler implements Interface
         this.addToFutureSchedules(schedule);
     }
 
+    /*
+     * bulk scheduling
+     */
+
+    /**
+     * Bulk version of execute(Runnable), with the same semantics
+     * as calling it for each runnable in order, but with checks
+     * only done once.
+     * 
+     * @param runnables Runnables to execute ASAP.
+     * @throws NullPointerException if the specified array or any of
+     *         its runnables is null, in which case none is executed
+     *         or scheduled.
+     */
+    public void executeAll(Runnable[] runnables) {
+        requireNonNullRunnables(runnables);
+        final long nowNs = this.rootClock.getTimeNs();
+        if (this.mustExecuteAsapSchedulesSynchronously) {
+            this.checkIsWorkerThread();
+            this.checkScheduleNotInThePast(nowNs);
+            
+            for (Runnable runnable : runnables) {
+                runnable.run();
+            }
+        } else {
+            this.executeAtNsAll(runnables, nowNs);
+        }
+    }
+
+    /**
+     * Bulk version of execute(Runnable), cf. executeAll(Runnable[]).
+     * 
+     * @param runnables Runnables to execute ASAP, in iteration order.
+     */
+    public void executeAll(Collection<? extends Runnable> runnables) {
+        this.executeAll(runnables.toArray(new Runnable[runnables.size()]));
+    }
+
+    /**
+     * Bulk version of executeAtNs(Runnable,long), with the same semantics
+     * as calling it for each runnable in order (i.e. with consecutive
+     * sequence numbers), but with checks only done once.
+     * 
+     * @param runnables Runnables to execute at the specified time.
+     * @param timeNs Time at which the specified runnables must be executed,
+     *        in nanoseconds, and in the time frame of scheduler's clock.
+     * @throws NullPointerException if the specified array or any of
+     *         its runnables is null, in which case none is scheduled.
+     */
+    public void executeAtNsAll(Runnable[] runnables, long timeNs) {
+        requireNonNullRunnables(runnables);
+        this.ifRunningCheckIsWorkerThreadAndScheduleNotInPast(timeNs);
+
+        this.futureSchedules.ensureCapacity(
+                this.futureSchedules.size() + runnables.length);
+        for (Runnable runnable : runnables) {
+            final MyTimedSchedule schedule = new MyTimedSchedule(
+                    runnable,
+                    timeNs);
+            this.addToFutureSchedules(schedule);
+        }
+    }
+
+    /**
+     * Bulk version of executeAtNs(Runnable,long),
+     * cf. executeAtNsAll(Runnable[],long).
+     * 
+     * @param runnables Runnables to execute at the specified time,
+     *        in iteration order.
+     * @param timeNs Time at which the specified runnables must be executed,
+     *        in nanoseconds, and in the time frame of scheduler's clock.
+     */
+    public void executeAtNsAll(Collection<? extends Runnable> runnables, long timeNs) {
+        this.executeAtNsAll(
+                runnables.toArray(new Runnable[runnables.size()]),
+                timeNs);
+    }
+
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
@@ -413,6 +493,12 @@ public class SoftScheduler extends AbstractDefaultScheduler implements Interface
         checkScheduleNotInThePast(scheduleTimeNs, nowNs);
     }
 
+    private static void requireNonNullRunnables(Runnable[] runnables) {
+        for (Runnable runnable : runnables) {
+            LangUtils.requireNonNull(runnable);
+        }
+    }
+
     private static void checkScheduleNotInThePast(long scheduleTimeNs, long nowNs) {
         if (scheduleTimeNs < nowNs) {
             throw new IllegalArgumentException("schedule in the past: " + scheduleTimeNs + " ns < " + nowNs + " ns");
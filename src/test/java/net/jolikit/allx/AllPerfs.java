@@ -27,6 +27,7 @@ import net.jolikit.lang.HeisenLoggerPerf;
 import net.jolikit.lang.NbrsUtilsPerf;
 import net.jolikit.lang.ThinTimePerf;
 import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.locks.CondilocksPerf;
 import net.jolikit.threading.prl.ParallelizersPerf;
 import net.jolikit.time.sched.hard.ExecutorsPerf;
 
@@ -75,6 +76,12 @@ public class AllPerfs {
         NbrsUtilsPerf.newRun(args);
         ThinTimePerf.newRun(args);
         
+        /*
+         * net.jolikit.threading.locks
+         */
+        
+        CondilocksPerf.newRun(args);
+        
         /*
          * net.jolikit.threading.prl
          */
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.basics;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.impl.utils.basics.BudgetedLruCache.InterfaceKeyFilter;
+
+public class BudgetedLruCacheTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_BudgetedLruCache_long() {
+        try {
+            new BudgetedLruCache<String,String>(0L);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        assertEquals(1L, new BudgetedLruCache<String,String>(1L).getMaxTotalSize());
+    }
+    
+    public void test_get_peek_put() {
+        final BudgetedLruCache<String,String> cache =
+                new BudgetedLruCache<String,String>(100L);
+        
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        
+        assertTrue(cache.put("a", "va", 10L));
+        assertEquals("va", cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        
+        // No statistics.
+        assertEquals("va", cache.peek("a"));
+        assertNull(cache.peek("b"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        cache.countHit();
+        cache.countMiss();
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        
+        assertEquals(1, cache.size());
+        assertEquals(10L, cache.getTotalSize());
+        
+        // Replacing.
+        assertTrue(cache.put("a", "va2", 20L));
+        assertEquals("va2", cache.peek("a"));
+        assertEquals(1, cache.size());
+        assertEquals(20L, cache.getTotalSize());
+        assertEquals(0, cache.getEvictionCount());
+    }
+    
+    public void test_put_lruEviction() {
+        final BudgetedLruCache<String,String> cache =
+                new BudgetedLruCache<String,String>(30L);
+        
+        cache.put("a", "va", 10L);
+        cache.put("b", "vb", 10L);
+        cache.put("c", "vc", 10L);
+        assertEquals(3, cache.size());
+        
+        // "a" becomes most recently used.
+        assertNotNull(cache.peek("a"));
+        
+        cache.put("d", "vd", 10L);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.peek("b"));
+        
+        // Evicting as many as needed.
+        cache.put("e", "ve", 25L);
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getEvictionCount());
+        assertEquals("ve", cache.peek("e"));
+        assertEquals(25L, cache.getTotalSize());
+    }
+    
+    public void test_put_tooLarge() {
+        final BudgetedLruCache<String,String> cache =
+                new BudgetedLruCache<String,String>(30L);
+        cache.put("a", "va", 10L);
+        
+        // Larger than budget: ignored, no eviction.
+        assertFalse(cache.put("b", "vb", 31L));
+        assertEquals(1, cache.size());
+        assertNull(cache.peek("b"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+    
+    public void test_remove_removeAll_clear() {
+        final BudgetedLruCache<String,String> cache =
+                new BudgetedLruCache<String,String>(100L);
+        cache.put("a1", "va1", 10L);
+        cache.put("a2", "va2", 10L);
+        cache.put("b1", "vb1", 20L);
+        cache.put("b2", "vb2", 20L);
+        
+        assertEquals("vb2", cache.remove("b2"));
+        assertNull(cache.remove("b2"));
+        assertEquals(40L, cache.getTotalSize());
+        
+        final int removedCount = cache.removeAll(new InterfaceKeyFilter<String>() {
+            @Override
+            public boolean accept(String key) {
+                return key.startsWith("a");
+            }
+        });
+        assertEquals(2, removedCount);
+        assertEquals(1, cache.size());
+        assertEquals(20L, cache.getTotalSize());
+        assertEquals("vb1", cache.peek("b1"));
+        
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getTotalSize());
+        // Removals are not evictions.
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
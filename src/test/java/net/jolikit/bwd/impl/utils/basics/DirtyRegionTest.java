@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.basics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.graphics.GRect;
+
+public class DirtyRegionTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_CASES = 1000;
+    
+    private static final int MAX_NBR_OF_ADDS = 20;
+    
+    private static final int AREA_SPAN = 50;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_DirtyRegion_int() {
+        try {
+            new DirtyRegion(0);
+            fail();
+        } catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+            // ok
+        }
+        
+        final DirtyRegion region = new DirtyRegion(1);
+        assertEquals(1, region.getMaxRectCount());
+        assertTrue(region.isEmpty());
+        assertEquals(0, region.size());
+        assertEquals(GRect.DEFAULT_EMPTY, region.getBoundingBox());
+    }
+    
+    public void test_add_GRect_empty() {
+        final DirtyRegion region = new DirtyRegion(4);
+        region.add(GRect.valueOf(1, 2, 0, 5));
+        assertTrue(region.isEmpty());
+        
+        try {
+            region.add(null);
+            fail();
+        } catch (@SuppressWarnings("unused") NullPointerException e) {
+            // ok
+        }
+    }
+    
+    public void test_add_GRect_containedAndContaining() {
+        final DirtyRegion region = new DirtyRegion(4);
+        region.add(GRect.valueOf(0, 0, 10, 10));
+        region.add(GRect.valueOf(2, 2, 3, 3));
+        assertEquals(asList(GRect.valueOf(0, 0, 10, 10)), region.newRectList());
+        
+        region.add(GRect.valueOf(-1, -1, 20, 20));
+        assertEquals(asList(GRect.valueOf(-1, -1, 20, 20)), region.newRectList());
+    }
+    
+    public void test_add_GRect_overlapping() {
+        final DirtyRegion region = new DirtyRegion(4);
+        region.add(GRect.valueOf(0, 0, 10, 10));
+        region.add(GRect.valueOf(5, 5, 10, 10));
+        assertEquals(asList(GRect.valueOf(0, 0, 15, 15)), region.newRectList());
+    }
+    
+    public void test_add_GRect_disjoint() {
+        final DirtyRegion region = new DirtyRegion(4);
+        final GRect r1 = GRect.valueOf(0, 0, 10, 10);
+        final GRect r2 = GRect.valueOf(1000, 1000, 10, 10);
+        region.add(r1);
+        region.add(r2);
+        assertEquals(2, region.size());
+        assertTrue(region.newRectList().contains(r1));
+        assertTrue(region.newRectList().contains(r2));
+        assertEquals(200L, region.getAreaLong());
+        assertEquals(GRect.valueOf(0, 0, 1010, 1010), region.getBoundingBox());
+        
+        region.clear();
+        assertTrue(region.isEmpty());
+    }
+    
+    public void test_add_GRect_maxRectCount() {
+        final DirtyRegion region = new DirtyRegion(2);
+        final GRect r1 = GRect.valueOf(0, 0, 10, 10);
+        final GRect r2 = GRect.valueOf(20, 0, 10, 10);
+        final GRect r3 = GRect.valueOf(1000, 1000, 10, 10);
+        region.add(r1);
+        region.add(r3);
+        region.add(r2);
+        // r1 and r2 are the closest, so merged.
+        assertEquals(2, region.size());
+        assertTrue(region.newRectList().contains(GRect.valueOf(0, 0, 30, 10)));
+        assertTrue(region.newRectList().contains(r3));
+    }
+    
+    /**
+     * Merged bounding box overlapping another rectangle
+     * must be merged with it.
+     */
+    public void test_add_GRect_maxRectCount_cascade() {
+        final DirtyRegion region = new DirtyRegion(2);
+        region.add(GRect.valueOf(0, 0, 10, 10));
+        region.add(GRect.valueOf(0, 20, 10, 10));
+        // Closest rectangles are the first two,
+        // which bounding box overlaps this one.
+        region.add(GRect.valueOf(5, 12, 30, 2));
+        assertEquals(1, region.size());
+        assertEquals(GRect.valueOf(0, 0, 35, 30), region.getBoundingBox());
+    }
+    
+    public void test_add_GRect_random() {
+        final Random random = new Random(123456789L);
+        for (int k = 0; k < NBR_OF_CASES; k++) {
+            final int maxRectCount = 1 + random.nextInt(8);
+            final DirtyRegion region = new DirtyRegion(maxRectCount);
+            final List<GRect> addedList = new ArrayList<GRect>();
+            final int nbrOfAdds = random.nextInt(MAX_NBR_OF_ADDS + 1);
+            for (int i = 0; i < nbrOfAdds; i++) {
+                final GRect rect = GRect.valueOf(
+                    random.nextInt(AREA_SPAN),
+                    random.nextInt(AREA_SPAN),
+                    random.nextInt(AREA_SPAN / 4),
+                    random.nextInt(AREA_SPAN / 4));
+                region.add(rect);
+                addedList.add(rect);
+                checkInvariants(region, addedList);
+            }
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static List<GRect> asList(GRect rect) {
+        final List<GRect> list = new ArrayList<GRect>();
+        list.add(rect);
+        return list;
+    }
+    
+    private static void checkInvariants(
+        DirtyRegion region,
+        List<GRect> addedList) {
+        final List<GRect> rectList = region.newRectList();
+        assertTrue(rectList.size() <= region.getMaxRectCount());
+        assertEquals(rectList.size(), region.size());
+        
+        GRect expectedBb = GRect.DEFAULT_EMPTY;
+        for (GRect added : addedList) {
+            if (!added.isEmpty()) {
+                expectedBb = expectedBb.unionBoundingBox(added);
+            }
+        }
+        // Never going beyond added rectangles bounding box.
+        if (!region.isEmpty()) {
+            assertTrue(expectedBb.contains(region.getBoundingBox()));
+        }
+        
+        long area = 0;
+        for (int i = 0; i < rectList.size(); i++) {
+            final GRect ri = rectList.get(i);
+            assertFalse(ri.isEmpty());
+            area += ri.areaLong();
+            for (int j = i + 1; j < rectList.size(); j++) {
+                assertFalse(ri.overlaps(rectList.get(j)));
+            }
+        }
+        assertEquals(area, region.getAreaLong());
+        
+        // All added pixels covered.
+        for (GRect added : addedList) {
+            for (int y = added.y(); y <= added.yMax(); y++) {
+                for (int x = added.x(); x <= added.xMax(); x++) {
+                    boolean covered = false;
+                    for (GRect rect : rectList) {
+                        if (rect.contains(x, y)) {
+                            covered = true;
+                            break;
+                        }
+                    }
+                    assertTrue(covered);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.events;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.events.BwdEventType;
+import net.jolikit.bwd.api.events.BwdKeys;
+import net.jolikit.bwd.api.events.BwdMouseButtons;
+import net.jolikit.bwd.api.events.BwdMouseEvent;
+import net.jolikit.bwd.api.events.BwdWheelEvent;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.impl.utils.basics.InterfaceBwdHostImpl;
+import net.jolikit.bwd.impl.utils.basics.ScaleHelper;
+
+public class AbstractEventConverterTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final GRect CLIENT_BOUNDS_IN_OS = GRect.valueOf(100, 50, 400, 300);
+    
+    private static final int NBR_OF_WARMUP_EVENTS = 100 * 1000;
+    
+    private static final int NBR_OF_MEASURED_EVENTS = 100 * 1000;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Backing events are int arrays: {x, y, button, xRoll, yRoll}.
+     */
+    private static class MyEventConverter extends AbstractEventConverter {
+        public MyEventConverter(
+            CmnInputConvState commonState,
+            InterfaceBwdHostImpl host,
+            ScaleHelper scaleHelper) {
+            super(commonState, host, scaleHelper);
+        }
+        @Override
+        protected void updateFromBackingEvent(Object backingEvent) {
+            final int[] arr = (int[]) backingEvent;
+            this.getCommonState().setMousePosInScreenInOs(arr[0], arr[1]);
+        }
+        @Override
+        protected int getKey(Object backingEvent) {
+            throw new UnsupportedOperationException();
+        }
+        @Override
+        protected int getKeyLocation(Object backingEvent) {
+            throw new UnsupportedOperationException();
+        }
+        @Override
+        protected int getCodePoint(Object backingEvent) {
+            throw new UnsupportedOperationException();
+        }
+        @Override
+        protected int getButton(Object backingEvent) {
+            return ((int[]) backingEvent)[2];
+        }
+        @Override
+        protected int getWheelXRoll(Object backingEvent) {
+            return ((int[]) backingEvent)[3];
+        }
+        @Override
+        protected int getWheelYRoll(Object backingEvent) {
+            return ((int[]) backingEvent)[4];
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_setMustRecycleMoveAndWheelEvents_boolean() {
+        final MyEventConverter converter = newConverter(new CmnInputConvState(), 1);
+        assertFalse(converter.getMustRecycleMoveAndWheelEvents());
+        converter.setMustRecycleMoveAndWheelEvents(true);
+        assertTrue(converter.getMustRecycleMoveAndWheelEvents());
+    }
+    
+    public void test_newMouseMovedEventElseNull_recycledVsNot() {
+        for (int scale : new int[]{1, 2}) {
+            final CmnInputConvState commonState = new CmnInputConvState();
+            commonState.setPrimaryButtonDown(true);
+            commonState.setShiftDown(true);
+            commonState.setAltGraphDown(true);
+            
+            final MyEventConverter refConverter = newConverter(commonState, scale);
+            final MyEventConverter recConverter = newConverter(commonState, scale);
+            recConverter.setMustRecycleMoveAndWheelEvents(true);
+            
+            BwdMouseEvent prevRec = null;
+            for (int[] backingEvent : new int[][]{
+                {150, 60, BwdMouseButtons.NO_STATEMENT, 0, 0},
+                {10, 20, BwdMouseButtons.NO_STATEMENT, 0, 0},
+                {499, 349, BwdMouseButtons.NO_STATEMENT, 0, 0},
+            }) {
+                final BwdMouseEvent ref = refConverter.newMouseMovedEventElseNull(backingEvent);
+                final BwdMouseEvent rec = recConverter.newMouseMovedEventElseNull(backingEvent);
+                if (prevRec != null) {
+                    assertSame(prevRec, rec);
+                }
+                prevRec = rec;
+                
+                checkEqual(ref, rec);
+                checkEqual(ref.asMouseDraggedEvent(), rec.asMouseDraggedEvent());
+                assertSame(rec.asMouseDraggedEvent(), rec.asMouseDraggedEvent());
+                assertEquals(BwdEventType.MOUSE_DRAGGED, rec.asMouseDraggedEvent().getEventType());
+                checkEqual(ref.asMouseEnteredClientEvent(), rec.asMouseEnteredClientEvent());
+                checkEqual(ref.asMouseExitedClientEvent(), rec.asMouseExitedClientEvent());
+                assertEquals(ref.toString(), rec.toString());
+            }
+            
+            // Taking button and modifier changes into account.
+            commonState.setPrimaryButtonDown(false);
+            commonState.setSecondaryButtonDown(true);
+            commonState.setShiftDown(false);
+            final int[] backingEvent = {200, 100, BwdMouseButtons.NO_STATEMENT, 0, 0};
+            checkEqual(
+                refConverter.newMouseMovedEventElseNull(backingEvent),
+                recConverter.newMouseMovedEventElseNull(backingEvent));
+        }
+    }
+    
+    public void test_newWheelEventElseNull_recycledVsNot() {
+        for (int scale : new int[]{1, 2}) {
+            final CmnInputConvState commonState = new CmnInputConvState();
+            commonState.setControlDown(true);
+            
+            final MyEventConverter refConverter = newConverter(commonState, scale);
+            final MyEventConverter recConverter = newConverter(commonState, scale);
+            recConverter.setMustRecycleMoveAndWheelEvents(true);
+            
+            for (int[] backingEvent : new int[][]{
+                {150, 60, BwdMouseButtons.NO_STATEMENT, 0, 1},
+                {10, 20, BwdMouseButtons.NO_STATEMENT, -2, 0},
+                {499, 349, BwdMouseButtons.NO_STATEMENT, 3, -4},
+            }) {
+                final BwdWheelEvent ref = refConverter.newWheelEventElseNull(backingEvent);
+                final BwdWheelEvent rec = recConverter.newWheelEventElseNull(backingEvent);
+                assertEquals(ref.toString(), rec.toString());
+                assertEquals(ref.xRoll(), rec.xRoll());
+                assertEquals(ref.yRoll(), rec.yRoll());
+                assertEquals(ref.posInScreen(), rec.posInScreen());
+                assertEquals(ref.posInClient(), rec.posInClient());
+                assertEquals(ref.clientBounds(), rec.clientBounds());
+                assertEquals(ref.getModifierKeyDownSet(), rec.getModifierKeyDownSet());
+                assertEquals(ref.isControlDown(), rec.isControlDown());
+                assertEquals(ref.isShiftDown(), rec.isShiftDown());
+            }
+            
+            // No roll: no event, as without recycling.
+            final int[] backingEvent = {150, 60, BwdMouseButtons.NO_STATEMENT, 0, 0};
+            assertNull(refConverter.newWheelEventElseNull(backingEvent));
+            assertNull(recConverter.newWheelEventElseNull(backingEvent));
+        }
+    }
+    
+    /**
+     * Checks that, once warmed up, converting a moved-mouse backing event
+     * into a BWD event allocates nothing.
+     */
+    public void test_newMouseMovedEventElseNull_noAllocation() {
+        final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBeanElseNull();
+        if (threadMXBean == null) {
+            System.out.println("thread allocated bytes not available: skipping test");
+            return;
+        }
+        
+        final CmnInputConvState commonState = new CmnInputConvState();
+        commonState.setPrimaryButtonDown(true);
+        commonState.setControlDown(true);
+        final MyEventConverter converter = newConverter(commonState, 1);
+        converter.setMustRecycleMoveAndWheelEvents(true);
+        
+        final int[] backingEvent = {0, 0, BwdMouseButtons.NO_STATEMENT, 0, 0};
+        
+        // Warmup, for JIT and lazy initializations.
+        long antiOptim = 0;
+        antiOptim += dispatchMovedEvents(converter, backingEvent, NBR_OF_WARMUP_EVENTS);
+        
+        final long threadId = Thread.currentThread().getId();
+        final long a = threadMXBean.getThreadAllocatedBytes(threadId);
+        antiOptim += dispatchMovedEvents(converter, backingEvent, NBR_OF_MEASURED_EVENTS);
+        final long b = threadMXBean.getThreadAllocatedBytes(threadId);
+        
+        final long allocatedBytes = b - a;
+        // Allowing for a few bytes of measurement noise,
+        // but way less than one byte per event.
+        assertTrue("allocated " + allocatedBytes + " bytes (" + antiOptim + ")",
+            allocatedBytes < NBR_OF_MEASURED_EVENTS / 10);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static MyEventConverter newConverter(
+        CmnInputConvState commonState,
+        int scale) {
+        final ScaleHelper scaleHelper = new ScaleHelper();
+        scaleHelper.setScale(scale);
+        return new MyEventConverter(
+            commonState,
+            newHost(),
+            scaleHelper);
+    }
+    
+    /**
+     * @return A host which only supports getClientBoundsInOs(),
+     *         which returns a constant instance.
+     */
+    private static InterfaceBwdHostImpl newHost() {
+        final InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("getClientBoundsInOs")) {
+                    return CLIENT_BOUNDS_IN_OS;
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("toString")) {
+                    return "host";
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        };
+        return (InterfaceBwdHostImpl) Proxy.newProxyInstance(
+            InterfaceBwdHostImpl.class.getClassLoader(),
+            new Class<?>[]{InterfaceBwdHostImpl.class},
+            handler);
+    }
+    
+    private static com.sun.management.ThreadMXBean getThreadMXBeanElseNull() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (!sunBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return sunBean;
+    }
+    
+    /**
+     * Moves the mouse inside client area, using the event
+     * as a listener would.
+     * 
+     * @return A value depending on events content.
+     */
+    private static long dispatchMovedEvents(
+        AbstractEventConverter converter,
+        int[] backingEvent,
+        int nbrOfEvents) {
+        long sum = 0;
+        for (int i = 0; i < nbrOfEvents; i++) {
+            backingEvent[0] = CLIENT_BOUNDS_IN_OS.x() + (i % CLIENT_BOUNDS_IN_OS.xSpan());
+            backingEvent[1] = CLIENT_BOUNDS_IN_OS.y() + ((i / 7) % CLIENT_BOUNDS_IN_OS.ySpan());
+            final BwdMouseEvent event = converter.newMouseMovedEventElseNull(backingEvent);
+            sum += event.xInClient() + event.yInClient();
+            if (event.isPrimaryDown()
+                && event.isControlDown()
+                && event.isModifierKeyDown(BwdKeys.CONTROL)
+                && event.getButtonDownSet().contains(BwdMouseButtons.PRIMARY)) {
+                sum++;
+            }
+            sum += event.asMouseDraggedEvent().xInScreen();
+        }
+        return sum;
+    }
+    
+    private static void checkEqual(BwdMouseEvent expected, BwdMouseEvent actual) {
+        assertEquals(expected.getEventType(), actual.getEventType());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.posInScreen(), actual.posInScreen());
+        assertEquals(expected.xInScreen(), actual.xInScreen());
+        assertEquals(expected.yInScreen(), actual.yInScreen());
+        assertEquals(expected.posInClient(), actual.posInClient());
+        assertEquals(expected.xInClient(), actual.xInClient());
+        assertEquals(expected.yInClient(), actual.yInClient());
+        assertEquals(expected.clientBounds(), actual.clientBounds());
+        assertEquals(expected.isPosInClient(), actual.isPosInClient());
+        assertEquals(expected.getButton(), actual.getButton());
+        assertEquals(expected.getButtonDownSet(), actual.getButtonDownSet());
+        assertEquals(expected.isPrimaryDown(), actual.isPrimaryDown());
+        assertEquals(expected.isMiddleDown(), actual.isMiddleDown());
+        assertEquals(expected.isSecondaryDown(), actual.isSecondaryDown());
+        for (int button : new int[]{BwdMouseButtons.PRIMARY, BwdMouseButtons.MIDDLE, BwdMouseButtons.SECONDARY}) {
+            assertEquals(expected.isButtonDown(button), actual.isButtonDown(button));
+        }
+        assertEquals(expected.getModifierKeyDownSet(), actual.getModifierKeyDownSet());
+        assertEquals(expected.isShiftDown(), actual.isShiftDown());
+        assertEquals(expected.isControlDown(), actual.isControlDown());
+        assertEquals(expected.isAltOrAltGraphDown(), actual.isAltOrAltGraphDown());
+        assertEquals(expected.isMetaDown(), actual.isMetaDown());
+        for (int key : new int[]{BwdKeys.SHIFT, BwdKeys.CONTROL, BwdKeys.ALT, BwdKeys.ALT_GRAPH, BwdKeys.META}) {
+            assertEquals(expected.isModifierKeyDown(key), actual.isModifierKeyDown(key));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fontbox;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.test.utils.BwdTestResources;
+import net.jolikit.test.utils.TestUtils;
+
+/**
+ * Checks that MappedTTFDataStream reads the same as RAFDataStream.
+ */
+public class MappedTTFDataStreamTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final String FONT_FILE_PATH = BwdTestResources.TEST_FONT_FREE_MONO_TTF;
+    
+    private static final int NBR_OF_RANDOM_READS = 10 * 1000;
+    
+    private static final int NBR_OF_OPS = 7;
+    
+    /**
+     * Result for reads that throw, since position after a failed read
+     * is implementation-dependent.
+     */
+    private static final String EOF_RESULT = "EOF";
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_newFileDataStream() throws IOException {
+        final TTFDataStream stream = MappedTTFDataStream.newFileDataStream(fontFile());
+        try {
+            assertTrue(stream instanceof MappedTTFDataStream);
+        } finally {
+            stream.close();
+        }
+    }
+    
+    public void test_read_sequential() throws IOException {
+        final TTFDataStream expected = newRafStream();
+        final TTFDataStream actual = newMappedStream();
+        try {
+            final long size = fontFile().length();
+            for (long i = 0; i < size; i++) {
+                assertEquals(expected.getCurrentPosition(), actual.getCurrentPosition());
+                assertEquals(expected.read(), actual.read());
+            }
+            assertEquals(size, actual.getCurrentPosition());
+            
+            // Past end.
+            assertEquals(-1, expected.read());
+            assertEquals(-1, actual.read());
+            assertEquals(-1, actual.read(new byte[1], 0, 1));
+            assertEquals(size, actual.getCurrentPosition());
+        } finally {
+            expected.close();
+            actual.close();
+        }
+    }
+    
+    public void test_seekAndReads_random() throws IOException {
+        final Random random = TestUtils.newRandom123456789L();
+        final TTFDataStream expected = newRafStream();
+        final TTFDataStream actual = newMappedStream();
+        try {
+            final int size = (int) fontFile().length();
+            boolean mustSeek = true;
+            for (int i = 0; i < NBR_OF_RANDOM_READS; i++) {
+                if (mustSeek || random.nextBoolean()) {
+                    // Often near end, to cover reads past end.
+                    final int pos = (random.nextBoolean()
+                            ? random.nextInt(size + 1)
+                            : size - random.nextInt(Math.min(size, 16) + 1));
+                    expected.seek(pos);
+                    actual.seek(pos);
+                    assertEquals(pos, actual.getCurrentPosition());
+                }
+                final int op = random.nextInt(NBR_OF_OPS);
+                final int length = random.nextInt(20);
+                final String expectedRes = readWithOp(expected, op, length);
+                final String actualRes = readWithOp(actual, op, length);
+                assertEquals(expectedRes, actualRes);
+                if (EOF_RESULT.equals(actualRes)) {
+                    mustSeek = true;
+                } else {
+                    assertEquals(expected.getCurrentPosition(), actual.getCurrentPosition());
+                    mustSeek = false;
+                }
+            }
+        } finally {
+            expected.close();
+            actual.close();
+        }
+    }
+    
+    public void test_seek_outOfRange() throws IOException {
+        final TTFDataStream stream = newMappedStream();
+        try {
+            final long size = fontFile().length();
+            for (long pos : new long[]{-1L, size + 1}) {
+                try {
+                    stream.seek(pos);
+                    fail();
+                } catch (@SuppressWarnings("unused") EOFException e) {
+                    // ok
+                }
+            }
+            
+            // End is a valid position.
+            stream.seek(size);
+            assertEquals(size, stream.getCurrentPosition());
+            assertEquals(-1, stream.read());
+        } finally {
+            stream.close();
+        }
+    }
+    
+    public void test_getOriginalData() throws IOException {
+        final TTFDataStream expected = newRafStream();
+        final TTFDataStream actual = newMappedStream();
+        try {
+            assertEquals(fontFile().length(), actual.getOriginalDataSize());
+            assertEquals(expected.getOriginalDataSize(), actual.getOriginalDataSize());
+            
+            // Not impacted by stream position.
+            actual.seek(actual.getOriginalDataSize() / 2);
+            
+            final byte[] expectedArr = readAll(expected.getOriginalData());
+            final byte[] actualArr = readAll(actual.getOriginalData());
+            assertEquals(actual.getOriginalDataSize(), actualArr.length);
+            assertTrue(Arrays.equals(expectedArr, actualArr));
+        } finally {
+            expected.close();
+            actual.close();
+        }
+    }
+    
+    public void test_close() throws IOException {
+        final TTFDataStream stream = newMappedStream();
+        stream.close();
+        
+        // Idempotent.
+        stream.close();
+        
+        try {
+            stream.read();
+            fail();
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // ok
+        }
+        try {
+            stream.seek(0L);
+            fail();
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // ok
+        }
+        try {
+            stream.getCurrentPosition();
+            fail();
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // ok
+        }
+        
+        // Original data still available.
+        final byte[] byteArr = readAll(stream.getOriginalData());
+        assertEquals(stream.getOriginalDataSize(), byteArr.length);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static File fontFile() {
+        return new File(FONT_FILE_PATH);
+    }
+    
+    private static TTFDataStream newRafStream() throws IOException {
+        return new RAFDataStream(fontFile(), "r");
+    }
+    
+    private static TTFDataStream newMappedStream() throws IOException {
+        return new MappedTTFDataStream(fontFile());
+    }
+    
+    /**
+     * @return A string representation of what was read,
+     *         or EOF_RESULT if reading threw.
+     */
+    private static String readWithOp(
+            TTFDataStream stream,
+            int op,
+            int length) throws IOException {
+        try {
+            switch (op) {
+                case 0: return Integer.toString(stream.read());
+                case 1: return Long.toString(stream.readLong());
+                case 2: return Integer.toString(stream.readUnsignedShort());
+                case 3: return Short.toString(stream.readSignedShort());
+                case 4: return Long.toString(stream.readUnsignedInt());
+                case 5: return Arrays.toString(stream.readUnsignedShortArray(length));
+                case 6: return readBytes(stream, length);
+                default: throw new AssertionError();
+            }
+        } catch (@SuppressWarnings("unused") EOFException e) {
+            return EOF_RESULT;
+        }
+    }
+    
+    /**
+     * Uses read(byte[],int,int), through read(int).
+     */
+    private static String readBytes(
+            TTFDataStream stream,
+            int length) {
+        try {
+            return Arrays.toString(stream.read(length));
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // Not an EOFException for this method.
+            return EOF_RESULT;
+        }
+    }
+    
+    private static byte[] readAll(InputStream is) throws IOException {
+        try {
+            byte[] byteArr = new byte[1024];
+            int n = 0;
+            while (true) {
+                if (n == byteArr.length) {
+                    byteArr = Arrays.copyOf(byteArr, 2 * n);
+                }
+                final int read = is.read(byteArr, n, byteArr.length - n);
+                if (read < 0) {
+                    break;
+                }
+                n += read;
+            }
+            return Arrays.copyOf(byteArr, n);
+        } finally {
+            is.close();
+        }
+    }
+}
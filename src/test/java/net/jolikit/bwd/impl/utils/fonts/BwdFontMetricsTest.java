@@ -29,20 +29,27 @@ public class BwdFontMetricsTest extends TestCase {
 
     private static final boolean DEBUG = false;
     
+    private static final int CHAR_WIDTH = 7;
+    
     //--------------------------------------------------------------------------
     // PRIVATE CLASSES
     //--------------------------------------------------------------------------
     
     private static class MyMetrics extends AbstractBwdFontMetrics {
+        int textWidthComputationCount = 0;
         public MyMetrics() {
         }
         @Override
         protected int computeCharWidth_noCache(int codePoint, String cpText) {
-            return 0;
+            return CHAR_WIDTH;
         }
+        /**
+         * Not the sum of chars widths, to distinguish from approximation.
+         */
         @Override
         protected int computeTextWidth_twoOrMoreCp(String text) {
-            return 0;
+            this.textWidthComputationCount++;
+            return text.codePointCount(0, text.length()) * CHAR_WIDTH + 1;
         }
     }
 
@@ -105,6 +112,81 @@ public class BwdFontMetricsTest extends TestCase {
                 7, 5, 12);
     }
     
+    public void test_computeTextWidth_noCache() {
+        final MyMetrics metrics = new MyMetrics();
+        assertNull(metrics.getTextWidthCacheElseNull());
+        
+        assertEquals(0, metrics.computeTextWidth(""));
+        assertEquals(CHAR_WIDTH, metrics.computeTextWidth("a"));
+        assertEquals(0, metrics.textWidthComputationCount);
+        
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(2, metrics.textWidthComputationCount);
+    }
+    
+    public void test_computeTextWidth_cache() {
+        final MyMetrics metrics = new MyMetrics();
+        metrics.configureTextWidths(2, false, null, 10.0);
+        final TextWidthCache cache = metrics.getTextWidthCacheElseNull();
+        assertNotNull(cache);
+        
+        // Single code point texts don't go through the cache.
+        assertEquals(CHAR_WIDTH, metrics.computeTextWidth("a"));
+        assertEquals(0, cache.getMissCount());
+        
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(1, metrics.textWidthComputationCount);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        
+        assertEquals(3 * CHAR_WIDTH + 1, metrics.computeTextWidth("abc"));
+        assertEquals(4 * CHAR_WIDTH + 1, metrics.computeTextWidth("abcd"));
+        assertEquals(3, metrics.textWidthComputationCount);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        
+        // "ab" got evicted.
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(4, metrics.textWidthComputationCount);
+        
+        // Disabling.
+        metrics.configureTextWidths(0, false, null, 10.0);
+        assertNull(metrics.getTextWidthCacheElseNull());
+        assertEquals(2 * CHAR_WIDTH + 1, metrics.computeTextWidth("ab"));
+        assertEquals(5, metrics.textWidthComputationCount);
+    }
+    
+    public void test_computeTextWidth_approx() {
+        final MyMetrics metrics = new MyMetrics();
+        metrics.configureTextWidths(0, true, null, 10.0);
+        
+        assertEquals(2 * CHAR_WIDTH, metrics.computeTextWidth("ab"));
+        // Surrogate pair counts as one code point.
+        assertEquals(
+                2 * CHAR_WIDTH,
+                metrics.computeTextWidth("a" + new String(Character.toChars(0x10000))));
+        assertEquals(0, metrics.textWidthComputationCount);
+        
+        // With cache.
+        metrics.configureTextWidths(10, true, null, 10.0);
+        assertEquals(3 * CHAR_WIDTH, metrics.computeTextWidth("abc"));
+        assertEquals(3 * CHAR_WIDTH, metrics.computeTextWidth("abc"));
+        assertEquals(1, metrics.getTextWidthCacheElseNull().getHitCount());
+        assertEquals(0, metrics.textWidthComputationCount);
+    }
+    
+    public void test_configureTextWidths_exceptions() {
+        final MyMetrics metrics = new MyMetrics();
+        try {
+            metrics.configureTextWidths(-1, false, null, 10.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+    }
+    
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
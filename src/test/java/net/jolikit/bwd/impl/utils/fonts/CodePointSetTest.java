@@ -0,0 +1,238 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.utils.BwdUnicode;
+import net.jolikit.lang.LangUtils;
+
+public class CodePointSetTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_RANDOM_SETS = 200;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_CodePointSet_intArr() {
+        for (int[] badArr : new int[][]{
+                {1},
+                {2,1},
+                // Contiguous ranges.
+                {1,2, 3,4},
+                // Overlapping ranges.
+                {1,3, 3,4},
+                // Decreasing ranges.
+                {5,6, 1,2},
+        }) {
+            try {
+                new CodePointSet(badArr);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // ok
+            }
+        }
+        
+        final CodePointSet cps = new CodePointSet(new int[]{1,3, 5,5});
+        assertEquals(4, cps.getCodePointCount());
+        assertEquals(2, cps.getRangeCount());
+        assertEquals(1, cps.getMin());
+        assertEquals(5, cps.getMax());
+        assertEquals("[[1,3],[5]]", cps.toString());
+    }
+    
+    public void test_getMin_getMax_empty() {
+        final CodePointSet cps = new CodePointSet(LangUtils.EMPTY_INT_ARR);
+        assertEquals(0, cps.getCodePointCount());
+        try {
+            cps.getMin();
+            fail();
+        } catch (NoSuchElementException e) {
+            // ok
+        }
+        try {
+            cps.getMax();
+            fail();
+        } catch (NoSuchElementException e) {
+            // ok
+        }
+    }
+    
+    public void test_contains_int_fewRanges() {
+        final CodePointSet cps = new CodePointSet(new int[]{1,3, 5,5, 0x10000,0x10001});
+        for (int cp : new int[]{Integer.MIN_VALUE, -1, 0, 4, 6, 0xFFFF, 0x10002, Integer.MAX_VALUE}) {
+            assertFalse(cps.contains(cp));
+        }
+        for (int cp : new int[]{1, 2, 3, 5, 0x10000, 0x10001}) {
+            assertTrue(cps.contains(cp));
+        }
+    }
+    
+    /**
+     * Checks contains(...) against ranges, for sets using bitsets
+     * (many ranges) or not, with ranges around BMP and pages bounds.
+     */
+    public void test_contains_int_random() {
+        final Random random = new Random(123456789L);
+        for (int k = 0; k < NBR_OF_RANDOM_SETS; k++) {
+            final int[] minMaxCpArr = newRandomMinMaxCpArr(random);
+            final CodePointSet cps = new CodePointSet(minMaxCpArr);
+            
+            final List<Integer> cpToCheckList = new ArrayList<Integer>();
+            cpToCheckList.add(-1);
+            cpToCheckList.add(0);
+            cpToCheckList.add(BwdUnicode.MAX_FFFF);
+            cpToCheckList.add(BwdUnicode.MAX_FFFF + 1);
+            cpToCheckList.add(BwdUnicode.MAX_10FFFF);
+            cpToCheckList.add(BwdUnicode.MAX_10FFFF + 1);
+            for (int bound : minMaxCpArr) {
+                for (int d = -2; d <= 2; d++) {
+                    cpToCheckList.add(bound + d);
+                }
+            }
+            for (int i = 0; i < 1000; i++) {
+                cpToCheckList.add(random.nextInt(BwdUnicode.MAX_10FFFF + 1));
+            }
+            
+            for (int cp : cpToCheckList) {
+                assertEquals(
+                        "cps = " + cps + ", cp = " + cp,
+                        containsRef(minMaxCpArr, cp),
+                        cps.contains(cp));
+            }
+        }
+    }
+    
+    public void test_containsAll_CharSequence_firstMissingIndex_CharSequence() {
+        for (boolean manyRanges : new boolean[]{false, true}) {
+            final List<Integer> minMaxList = new ArrayList<Integer>();
+            addRange(minMaxList, 'a', 'z');
+            if (manyRanges) {
+                for (int i = 0; i < 10; i++) {
+                    addRange(minMaxList, 0x400 + 4 * i, 0x400 + 4 * i + 1);
+                }
+            }
+            addRange(minMaxList, 0x1F600, 0x1F64F);
+            final CodePointSet cps = new CodePointSet(toIntArr(minMaxList));
+            
+            try {
+                cps.containsAll(null);
+                fail();
+            } catch (NullPointerException e) {
+                // ok
+            }
+            try {
+                cps.firstMissingIndex(null);
+                fail();
+            } catch (NullPointerException e) {
+                // ok
+            }
+            
+            assertTrue(cps.containsAll(""));
+            assertEquals(-1, cps.firstMissingIndex(""));
+            
+            final String smiley = new String(Character.toChars(0x1F600));
+            
+            assertTrue(cps.containsAll("abc"));
+            assertEquals(-1, cps.firstMissingIndex("abc"));
+            
+            assertTrue(cps.containsAll("a" + smiley + "b"));
+            assertEquals(-1, cps.firstMissingIndex("a" + smiley + "b"));
+            
+            assertFalse(cps.containsAll("abC"));
+            assertEquals(2, cps.firstMissingIndex("abC"));
+            
+            // Index in chars.
+            assertEquals(3, cps.firstMissingIndex("a" + smiley + "C"));
+            
+            // Unpaired surrogate.
+            assertEquals(1, cps.firstMissingIndex("a" + smiley.charAt(0) + "b"));
+            assertEquals(1, cps.firstMissingIndex("a" + smiley.charAt(1)));
+            
+            // Other CharSequence.
+            assertEquals(1, cps.firstMissingIndex(new StringBuilder("a b")));
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static boolean containsRef(int[] minMaxCpArr, int cp) {
+        for (int i = 0; i < minMaxCpArr.length; i += 2) {
+            if ((cp >= minMaxCpArr[i])
+                    && (cp <= minMaxCpArr[i+1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Ranges of random count and sizes, with bounds often
+     * on BMP bound or supplementary pages bounds.
+     */
+    private static int[] newRandomMinMaxCpArr(Random random) {
+        final List<Integer> minMaxList = new ArrayList<Integer>();
+        final int rangeCount = random.nextInt(40);
+        int prevMax = -2;
+        for (int i = 0; i < rangeCount; i++) {
+            final int maxGap;
+            switch (random.nextInt(3)) {
+            case 0: maxGap = 10; break;
+            case 1: maxGap = 5000; break;
+            default: maxGap = 100 * 1000; break;
+            }
+            int min = prevMax + 2 + random.nextInt(maxGap);
+            if (random.nextInt(4) == 0) {
+                // Aligning on a page (or BMP) bound.
+                min = Math.max(prevMax + 2, (min >>> 12) << 12);
+            }
+            int max = min + random.nextInt(maxGap);
+            if (random.nextInt(4) == 0) {
+                max = Math.max(min, (((max >>> 12) + 1) << 12) - 1);
+            }
+            if (max > BwdUnicode.MAX_10FFFF) {
+                break;
+            }
+            addRange(minMaxList, min, max);
+            prevMax = max;
+        }
+        return toIntArr(minMaxList);
+    }
+    
+    private static void addRange(List<Integer> minMaxList, int min, int max) {
+        minMaxList.add(min);
+        minMaxList.add(max);
+    }
+    
+    private static int[] toIntArr(List<Integer> list) {
+        final int[] arr = new int[list.size()];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = list.get(i);
+        }
+        return arr;
+    }
+}
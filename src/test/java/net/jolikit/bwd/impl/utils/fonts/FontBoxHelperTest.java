@@ -202,6 +202,62 @@ public class FontBoxHelperTest extends TestCase {
         }
     }
     
+    public void test_prefetch() {
+        for (String fontFilePath : new String[]{
+                BwdTestResources.TEST_FONT_FREE_MONO_OTF,
+                BwdTestResources.TEST_FONT_FREE_MONO_TTF,
+                BwdTestResources.TEST_FONT_A010013L_AFM,
+                BwdTestResources.TEST_FONT_LUCIDA_SANS_UNICODE_TTF,
+        }) {
+            final FontBoxHelper refHelper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+            try {
+                helper.prefetch();
+                
+                final int fontCount = refHelper.getFontCount();
+                assertEquals(fontCount, helper.getFontCount());
+                for (int fontIndex = 0; fontIndex < fontCount; fontIndex++) {
+                    assertEquals(
+                            refHelper.computeFontKindElseNull(fontIndex),
+                            helper.computeFontKindElseNull(fontIndex));
+                    for (int maxCp : new int[]{
+                            0x7F,
+                            0xFF,
+                            BwdUnicode.MAX_FFFF,
+                            Integer.MAX_VALUE}) {
+                        assertEquals(
+                                String.valueOf(refHelper.computeCodePointSetElseNull(fontIndex, maxCp)),
+                                String.valueOf(helper.computeCodePointSetElseNull(fontIndex, maxCp)));
+                    }
+                }
+            } finally {
+                refHelper.close();
+                helper.close();
+            }
+        }
+    }
+    
+    public void test_toCodePointSetClippedElseNull_CodePointSet_int() {
+        assertNull(FontBoxHelper.toCodePointSetClippedElseNull(null, 10));
+        assertNull(FontBoxHelper.toCodePointSetClippedElseNull(CodePointSet.DEFAULT_EMPTY, 10));
+        
+        final CodePointSet cps = new CodePointSet(new int[]{2,4, 7,9, 20,20});
+        
+        assertNull(FontBoxHelper.toCodePointSetClippedElseNull(cps, 1));
+        assertSame(cps, FontBoxHelper.toCodePointSetClippedElseNull(cps, 20));
+        assertSame(cps, FontBoxHelper.toCodePointSetClippedElseNull(cps, Integer.MAX_VALUE));
+        
+        assertEquals(
+                new CodePointSet(new int[]{2,4}).toString(),
+                FontBoxHelper.toCodePointSetClippedElseNull(cps, 6).toString());
+        assertEquals(
+                new CodePointSet(new int[]{2,4, 7,8}).toString(),
+                FontBoxHelper.toCodePointSetClippedElseNull(cps, 8).toString());
+        assertEquals(
+                new CodePointSet(new int[]{2,4, 7,9}).toString(),
+                FontBoxHelper.toCodePointSetClippedElseNull(cps, 19).toString());
+    }
+    
     /*
      * 
      */
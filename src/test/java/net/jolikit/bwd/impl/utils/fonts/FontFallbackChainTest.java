@@ -0,0 +1,347 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.fonts.BwdFontId;
+import net.jolikit.bwd.api.fonts.BwdFontKind;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.impl.utils.DefaultDefaultFontInfoComputer;
+import net.jolikit.bwd.impl.utils.basics.InterfaceDefaultFontInfoComputer;
+
+public class FontFallbackChainTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final BwdFontKind LATIN_KIND = new BwdFontKind("latin");
+    private static final BwdFontKind CJK_KIND = new BwdFontKind("cjk");
+    private static final BwdFontKind EMOJI_KIND = new BwdFontKind("emoji");
+    private static final BwdFontKind NOT_LOADED_KIND = new BwdFontKind("not loaded");
+    
+    private static final int SMILEY_CP = 0x1F600;
+    
+    private static final String SMILEY = new String(Character.toChars(SMILEY_CP));
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Counts canDisplay(...) calls.
+     */
+    private static class MyCfdc implements InterfaceCanFontDisplayComputer {
+        private final CodePointSet cps;
+        private int callCount = 0;
+        public MyCfdc(CodePointSet cps) {
+            this.cps = cps;
+        }
+        @Override
+        public boolean canFontDisplay(InterfaceBwdFont font, int codePoint) {
+            this.callCount++;
+            return this.cps.contains(codePoint);
+        }
+    }
+    
+    private static class MyMetrics extends AbstractBwdFontMetrics {
+        public MyMetrics(int fontSize) {
+            this.initialize_final(fontSize * 0.8, fontSize * 0.2);
+        }
+        @Override
+        protected int computeCharWidth_noCache(int codePoint, String cpText) {
+            return this.height() / 2;
+        }
+        @Override
+        protected int computeTextWidth_twoOrMoreCp(String text) {
+            return text.length() * (this.height() / 2);
+        }
+    }
+    
+    private static class MyFont extends AbstractBwdFont<String> {
+        private final MyMetrics metrics;
+        public MyFont(
+                int homeId,
+                BwdFontId fontId,
+                InterfaceCanFontDisplayComputer canFontDisplayComputer,
+                InterfaceFontDisposeCallListener disposeCallListener,
+                String backingFont) {
+            super(
+                    homeId,
+                    fontId,
+                    canFontDisplayComputer,
+                    disposeCallListener,
+                    backingFont);
+            this.metrics = new MyMetrics(fontId.size());
+        }
+        @Override
+        public InterfaceBwdFontMetrics metrics() {
+            return this.metrics;
+        }
+    }
+    
+    /**
+     * Home with system fonts for specified code point sets.
+     */
+    private static class MyFontHome extends AbstractBwdFontHome<String,Integer> {
+        private final Map<BwdFontKind,MyCfdc> cfdcByFontKind;
+        private final InterfaceDefaultFontInfoComputer defaultFontInfoComputer =
+                new DefaultDefaultFontInfoComputer(true, 10, -1);
+        int backingFontDisposeCount = 0;
+        public MyFontHome(Map<BwdFontKind,MyCfdc> cfdcByFontKind) {
+            this.cfdcByFontKind = cfdcByFontKind;
+            this.initialize_final(1, 100, 1.0);
+        }
+        @Override
+        protected Map<BwdFontKind,MyLoadedFontData> loadSystemFonts() {
+            final Map<BwdFontKind,MyLoadedFontData> lfdByFontKind =
+                    new TreeMap<BwdFontKind,MyLoadedFontData>();
+            for (Map.Entry<BwdFontKind,MyCfdc> entry : this.cfdcByFontKind.entrySet()) {
+                lfdByFontKind.put(entry.getKey(), new MyLoadedFontData(entry.getValue(), 0));
+            }
+            return lfdByFontKind;
+        }
+        @Override
+        protected Map<BwdFontKind,MyLoadedFontData> loadFontsAtPath(String fontFilePath) {
+            return new TreeMap<BwdFontKind,MyLoadedFontData>();
+        }
+        @Override
+        protected List<String> getBonusSystemFontFilePathList() {
+            return null;
+        }
+        @Override
+        protected InterfaceDefaultFontInfoComputer getDefaultFontInfoComputer() {
+            return this.defaultFontInfoComputer;
+        }
+        @Override
+        protected AbstractBwdFont<String> createBackingFontAndFont(
+                BwdFontId fontId,
+                MyDisposableFontDisposeCallListener disposeCallListener) {
+            final MyLoadedFontData lfd = this.getLfdForLoadedFontKind(fontId.kind());
+            if (disposeCallListener != null) {
+                disposeCallListener.incrementRefCount_atCreation();
+            }
+            return new MyFont(
+                    this.homeId(),
+                    fontId,
+                    lfd.getCanFontDisplayComputer(),
+                    disposeCallListener,
+                    fontId.toString());
+        }
+        @Override
+        protected AbstractBwdFont<String> createFontReusingBackingFont(
+                int homeId,
+                BwdFontId fontId,
+                InterfaceCanFontDisplayComputer canFontDisplayComputer,
+                InterfaceFontDisposeCallListener disposeCallListener,
+                String backingFont) {
+            return new MyFont(
+                    homeId,
+                    fontId,
+                    canFontDisplayComputer,
+                    disposeCallListener,
+                    backingFont);
+        }
+        @Override
+        protected void disposeBackingFont(String backingFont) {
+            this.backingFontDisposeCount++;
+        }
+        @Override
+        protected void disposeBfg(Integer bfg) {
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final Map<BwdFontKind,MyCfdc> cfdcByFontKind = new HashMap<BwdFontKind,MyCfdc>();
+    
+    private MyFontHome home;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected void setUp() throws Exception {
+        this.cfdcByFontKind.put(LATIN_KIND, new MyCfdc(new CodePointSet(new int[]{0x20,0x7E, 0xA0,0xFF})));
+        this.cfdcByFontKind.put(CJK_KIND, new MyCfdc(new CodePointSet(new int[]{0x20,0x7E, 0x4E00,0x9FFF})));
+        this.cfdcByFontKind.put(EMOJI_KIND, new MyCfdc(new CodePointSet(new int[]{SMILEY_CP,SMILEY_CP + 0x4F})));
+        this.home = new MyFontHome(this.cfdcByFontKind);
+        this.home.loadSystemAndUserFonts(null);
+    }
+    
+    @Override
+    protected void tearDown() throws Exception {
+        this.home.dispose();
+    }
+    
+    /*
+     * 
+     */
+    
+    public void test_FontFallbackChain_InterfaceBwdFontHome_List_boolean() {
+        try {
+            new FontFallbackChain(this.home, null, false);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            new FontFallbackChain(this.home, Arrays.asList(LATIN_KIND, null), false);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            final BwdFontKind[] kindArr = new BwdFontKind[FontFallbackChain.MAX_FONT_COUNT + 1];
+            Arrays.fill(kindArr, LATIN_KIND);
+            new FontFallbackChain(this.home, Arrays.asList(kindArr), false);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        
+        for (boolean mustBeThreadSafe : new boolean[]{false, true}) {
+            final FontFallbackChain chain = newChain(mustBeThreadSafe);
+            assertEquals(4, chain.getFontCount());
+            assertEquals(NOT_LOADED_KIND, chain.getFontKind(0));
+            assertEquals(LATIN_KIND, chain.getFontKind(1));
+            assertEquals(EMOJI_KIND, chain.getFontKind(3));
+            chain.dispose();
+        }
+    }
+    
+    public void test_computeFontIndex_int() {
+        for (boolean mustBeThreadSafe : new boolean[]{false, true}) {
+            final FontFallbackChain chain = newChain(mustBeThreadSafe);
+            
+            assertEquals(1, chain.computeFontIndex('a'));
+            assertEquals(1, chain.computeFontIndex(0xE9));
+            assertEquals(2, chain.computeFontIndex(0x4E2D));
+            assertEquals(3, chain.computeFontIndex(SMILEY_CP));
+            assertEquals(-1, chain.computeFontIndex(0x3A9));
+            assertEquals(-1, chain.computeFontIndex(-1));
+            assertEquals(-1, chain.computeFontIndex(Integer.MAX_VALUE));
+            
+            chain.dispose();
+        }
+    }
+    
+    public void test_computeFontIndex_int_cache() {
+        final FontFallbackChain chain = newChain(false);
+        final MyCfdc latinCfdc = this.cfdcByFontKind.get(LATIN_KIND);
+        final MyCfdc cjkCfdc = this.cfdcByFontKind.get(CJK_KIND);
+        final int latinCount0 = latinCfdc.callCount;
+        final int cjkCount0 = cjkCfdc.callCount;
+        
+        for (int k = 0; k < 3; k++) {
+            assertEquals(2, chain.computeFontIndex(0x4E2D));
+            assertEquals(-1, chain.computeFontIndex(0x3A9));
+        }
+        // Probed once per code point.
+        assertEquals(latinCount0 + 2, latinCfdc.callCount);
+        assertEquals(cjkCount0 + 2, cjkCfdc.callCount);
+        
+        chain.dispose();
+    }
+    
+    public void test_computeRuns_CharSequence_intArr_intArr() {
+        final FontFallbackChain chain = newChain(false);
+        
+        try {
+            chain.computeRuns("ab", new int[1], new int[2]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        try {
+            chain.computeRuns("ab", new int[2], new int[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        
+        final int[] runEndArr = new int[16];
+        final int[] runFontIndexArr = new int[16];
+        
+        assertEquals(0, chain.computeRuns("", runEndArr, runFontIndexArr));
+        
+        assertEquals(1, chain.computeRuns("abc", runEndArr, runFontIndexArr));
+        assertEquals(3, runEndArr[0]);
+        assertEquals(1, runFontIndexArr[0]);
+        
+        // "ab", CJK, smiley (2 chars), unknown, "c".
+        final String text = "ab\u4E2D\u4E2E" + SMILEY + "\u03A9c";
+        final int runCount = chain.computeRuns(new StringBuilder(text), runEndArr, runFontIndexArr);
+        assertEquals(5, runCount);
+        assertEquals(2, runEndArr[0]);
+        assertEquals(1, runFontIndexArr[0]);
+        assertEquals(4, runEndArr[1]);
+        assertEquals(2, runFontIndexArr[1]);
+        assertEquals(6, runEndArr[2]);
+        assertEquals(3, runFontIndexArr[2]);
+        assertEquals(7, runEndArr[3]);
+        assertEquals(-1, runFontIndexArr[3]);
+        assertEquals(8, runEndArr[4]);
+        assertEquals(1, runFontIndexArr[4]);
+        
+        chain.dispose();
+    }
+    
+    public void test_dispose() {
+        final FontFallbackChain chain = newChain(true);
+        final int count0 = this.home.backingFontDisposeCount;
+        chain.dispose();
+        // One backing font per loaded font kind.
+        assertEquals(count0 + 3, this.home.backingFontDisposeCount);
+        // Idempotent.
+        chain.dispose();
+        assertEquals(count0 + 3, this.home.backingFontDisposeCount);
+        
+        try {
+            chain.computeFontIndex('a');
+            fail();
+        } catch (IllegalStateException e) {
+            // ok
+        }
+        try {
+            chain.computeRuns("a", new int[1], new int[1]);
+            fail();
+        } catch (IllegalStateException e) {
+            // ok
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private FontFallbackChain newChain(boolean mustBeThreadSafe) {
+        return new FontFallbackChain(
+                this.home,
+                Arrays.asList(NOT_LOADED_KIND, LATIN_KIND, CJK_KIND, EMOJI_KIND),
+                mustBeThreadSafe);
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.jolikit.bwd.api.fonts.BwdFontId;
+import net.jolikit.bwd.api.fonts.BwdFontKind;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.impl.utils.DefaultDefaultFontInfoComputer;
+import net.jolikit.bwd.impl.utils.basics.BindingStringUtils;
+import net.jolikit.bwd.impl.utils.basics.InterfaceDefaultFontInfoComputer;
+import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.prl.ExecutorParallelizer;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+
+/**
+ * To bench fonts load of a font home from a directory of font files,
+ * sequentially, with font files parsed concurrently, and with font files
+ * metadata read from an index file (cold run, then warm runs).
+ * 
+ * Font files are parsed with FontBox (font kinds and code point sets),
+ * as done by bindings configured to use FontBox, but there is no
+ * backing library involved.
+ * 
+ * Args: [fontDirPath], default being system fonts directory if any.
+ */
+public class FontFilesLoadPerf {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_RUNS = 4;
+    
+    private static final String[] DEFAULT_FONT_DIR_PATH_ARR = new String[]{
+        "/usr/share/fonts",
+        "/Library/Fonts",
+        "C:/Windows/Fonts",
+        "src/test/resources/fonts",
+    };
+    
+    private static final int[] PARALLELISM_ARR = new int[]{1, 2, 4};
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyMetrics extends AbstractBwdFontMetrics {
+        public MyMetrics(int fontSize) {
+            this.initialize_final(fontSize * 0.8, fontSize * 0.2);
+        }
+        @Override
+        protected int computeCharWidth_noCache(int codePoint, String cpText) {
+            return this.height() / 2;
+        }
+        @Override
+        protected int computeTextWidth_twoOrMoreCp(String text) {
+            return text.length() * (this.height() / 2);
+        }
+    }
+    
+    private static class MyFont extends AbstractBwdFont<String> {
+        private final MyMetrics metrics;
+        public MyFont(
+                int homeId,
+                BwdFontId fontId,
+                InterfaceCanFontDisplayComputer canFontDisplayComputer,
+                InterfaceFontDisposeCallListener disposeCallListener,
+                String backingFont) {
+            super(
+                    homeId,
+                    fontId,
+                    canFontDisplayComputer,
+                    disposeCallListener,
+                    backingFont);
+            this.metrics = new MyMetrics(fontId.size());
+        }
+        @Override
+        public InterfaceBwdFontMetrics metrics() {
+            return this.metrics;
+        }
+    }
+    
+    /**
+     * Loads font files as bonus system fonts,
+     * computing font kinds and code point sets with FontBox.
+     */
+    private static class MyFontHome extends AbstractBwdFontHome<String,Integer> {
+        private final List<String> fontFilePathList;
+        private final InterfaceDefaultFontInfoComputer defaultFontInfoComputer =
+                new DefaultDefaultFontInfoComputer(true, 10, -1);
+        public MyFontHome(
+                List<String> fontFilePathList,
+                String fontMetadataIndexFilePath,
+                InterfaceParallelizer fontFilesParsingParallelizer) {
+            this.fontFilePathList = fontFilePathList;
+            this.initialize_final(1, 100, 1.0, 0L, fontFilesParsingParallelizer);
+            this.initFontMetadataIndex_final(fontMetadataIndexFilePath);
+        }
+        @Override
+        protected Map<BwdFontKind,MyLoadedFontData> loadSystemFonts() {
+            return new TreeMap<BwdFontKind,MyLoadedFontData>();
+        }
+        @Override
+        protected Map<BwdFontKind,MyLoadedFontData> loadFontsAtPath(String fontFilePath) {
+            final Map<BwdFontKind,MyLoadedFontData> lfdByFontKind =
+                    new TreeMap<BwdFontKind,MyLoadedFontData>();
+            final FontBoxHelper helper = this.newFontBoxHelper(fontFilePath);
+            try {
+                final int fontCount = helper.getFontCount();
+                for (int fontIndex = 0; fontIndex < fontCount; fontIndex++) {
+                    final BwdFontKind fontKind = helper.computeFontKindElseNull(fontIndex);
+                    final CodePointSet cps = helper.computeCodePointSetElseNull(fontIndex);
+                    if ((fontKind != null)
+                            && (cps != null)
+                            && (!lfdByFontKind.containsKey(fontKind))) {
+                        lfdByFontKind.put(
+                                fontKind,
+                                new MyLoadedFontData(new CodePointSetCfdc(cps), fontIndex));
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Ignoring fonts FontBox can't parse.
+            } finally {
+                helper.close();
+            }
+            return lfdByFontKind;
+        }
+        @Override
+        protected List<String> getBonusSystemFontFilePathList() {
+            return this.fontFilePathList;
+        }
+        @Override
+        protected InterfaceDefaultFontInfoComputer getDefaultFontInfoComputer() {
+            return this.defaultFontInfoComputer;
+        }
+        @Override
+        protected boolean mustUseFontBoxForFontFiles() {
+            return true;
+        }
+        @Override
+        protected AbstractBwdFont<String> createBackingFontAndFont(
+                BwdFontId fontId,
+                MyDisposableFontDisposeCallListener disposeCallListener) {
+            final MyLoadedFontData lfd = this.getLfdForLoadedFontKind(fontId.kind());
+            return new MyFont(
+                    this.homeId(),
+                    fontId,
+                    lfd.getCanFontDisplayComputer(),
+                    disposeCallListener,
+                    fontId.toString());
+        }
+        @Override
+        protected AbstractBwdFont<String> createFontReusingBackingFont(
+                int homeId,
+                BwdFontId fontId,
+                InterfaceCanFontDisplayComputer canFontDisplayComputer,
+                InterfaceFontDisposeCallListener disposeCallListener,
+                String backingFont) {
+            return new MyFont(
+                    homeId,
+                    fontId,
+                    canFontDisplayComputer,
+                    disposeCallListener,
+                    backingFont);
+        }
+        @Override
+        protected void disposeBackingFont(String backingFont) {
+        }
+        @Override
+        protected void disposeBfg(Integer bfg) {
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public static void main(String[] args) {
+        System.out.println(TestUtils.getJVMInfo());
+        newRun(args);
+    }
+    
+    public static void newRun(String[] args) {
+        new FontFilesLoadPerf().run(args);
+    }
+    
+    public FontFilesLoadPerf() {
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void run(String[] args) {
+        final long a = System.nanoTime();
+        System.out.println("--- " + FontFilesLoadPerf.class.getSimpleName() + "... ---");
+        
+        final String fontDirPath;
+        if (args.length != 0) {
+            fontDirPath = args[0];
+        } else {
+            fontDirPath = computeDefaultFontDirPath();
+        }
+        
+        final List<String> fontFilePathList = new ArrayList<String>();
+        addFontFilePaths(new File(fontDirPath), fontFilePathList);
+        // For determinism.
+        Collections.sort(fontFilePathList);
+        
+        System.out.println("font dir = " + fontDirPath);
+        System.out.println("number of font files = " + fontFilePathList.size());
+        
+        for (int parallelism : PARALLELISM_ARR) {
+            bench_loadSystemAndUserFonts(fontFilePathList, parallelism);
+        }
+        
+        bench_loadSystemAndUserFonts_index(fontFilePathList);
+        
+        final long b = System.nanoTime();
+        System.out.println("--- ..." + FontFilesLoadPerf.class.getSimpleName()
+            + ", " + TestUtils.nsToSRounded(b-a) + " s ---");
+    }
+    
+    private static String computeDefaultFontDirPath() {
+        for (String path : DEFAULT_FONT_DIR_PATH_ARR) {
+            if (new File(path).isDirectory()) {
+                return path;
+            }
+        }
+        throw new IllegalStateException("no font directory found");
+    }
+    
+    private static void addFontFilePaths(File dir, List<String> fontFilePathList) {
+        final File[] fileArr = dir.listFiles();
+        if (fileArr == null) {
+            return;
+        }
+        for (File file : fileArr) {
+            if (file.isDirectory()) {
+                addFontFilePaths(file, fontFilePathList);
+            } else {
+                final String path = file.getPath();
+                if (BindingStringUtils.endsWithIgnoreCase(path, ".ttf")
+                        || BindingStringUtils.endsWithIgnoreCase(path, ".otf")
+                        || BindingStringUtils.endsWithIgnoreCase(path, ".ttc")) {
+                    fontFilePathList.add(path);
+                }
+            }
+        }
+    }
+    
+    private static void bench_loadSystemAndUserFonts(
+            List<String> fontFilePathList,
+            int parallelism) {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final InterfaceParallelizer parallelizer = new ExecutorParallelizer(
+                    executor,
+                    parallelism,
+                    Integer.MAX_VALUE);
+            for (int k = 0; k < NBR_OF_RUNS; k++) {
+                final MyFontHome home = new MyFontHome(fontFilePathList, null, parallelizer);
+                
+                final long a = System.nanoTime();
+                home.loadSystemAndUserFonts(null);
+                final long b = System.nanoTime();
+                
+                final SortedSet<BwdFontKind> fontKindSet = home.getLoadedFontKindSet();
+                System.out.println("parallelism = " + parallelism
+                        + ", loaded " + fontKindSet.size() + " font kinds"
+                        + ", took " + TestUtils.nsToSRounded(b-a) + " s");
+                home.dispose();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static void bench_loadSystemAndUserFonts_index(List<String> fontFilePathList) {
+        final File indexFile;
+        try {
+            indexFile = File.createTempFile("fonts", ".idx");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            for (int k = 0; k < NBR_OF_RUNS; k++) {
+                if (k == 0) {
+                    indexFile.delete();
+                }
+                final MyFontHome home = new MyFontHome(fontFilePathList, indexFile.getPath(), null);
+                
+                final long a = System.nanoTime();
+                home.loadSystemAndUserFonts(null);
+                final long b = System.nanoTime();
+                
+                final SortedSet<BwdFontKind> fontKindSet = home.getLoadedFontKindSet();
+                System.out.println("index (" + ((k == 0) ? "cold" : "warm") + ")"
+                        + ", loaded " + fontKindSet.size() + " font kinds"
+                        + ", took " + TestUtils.nsToSRounded(b-a) + " s"
+                        + ", index file size = " + indexFile.length() + " bytes");
+                home.dispose();
+            }
+        } finally {
+            indexFile.delete();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.utils.BwdUnicode;
+import net.jolikit.bwd.test.utils.BwdTestResources;
+
+public class FontMetadataIndexTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private File tmpDir;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected void setUp() throws Exception {
+        this.tmpDir = File.createTempFile("fmi", "");
+        this.tmpDir.delete();
+        this.tmpDir.mkdir();
+    }
+    
+    @Override
+    protected void tearDown() throws Exception {
+        final File[] fileArr = this.tmpDir.listFiles();
+        if (fileArr != null) {
+            for (File file : fileArr) {
+                file.delete();
+            }
+        }
+        this.tmpDir.delete();
+    }
+    
+    /*
+     * 
+     */
+    
+    public void test_FontMetadataIndex_String() {
+        try {
+            new FontMetadataIndex(null);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+    }
+    
+    public void test_load_noFile() {
+        final FontMetadataIndex index = new FontMetadataIndex(this.indexPath());
+        assertFalse(index.load());
+        assertEquals(0, index.size());
+        // Nothing to save.
+        assertFalse(index.saveIfModified());
+        assertFalse(new File(this.indexPath()).exists());
+    }
+    
+    public void test_saveIfModified_load() throws IOException {
+        final String[] fontFilePathArr = new String[]{
+                this.copyToTmpDir(BwdTestResources.TEST_FONT_FREE_MONO_OTF),
+                this.copyToTmpDir(BwdTestResources.TEST_FONT_FREE_MONO_TTF),
+                this.copyToTmpDir(BwdTestResources.TEST_FONT_A010013L_AFM),
+                this.copyToTmpDir(BwdTestResources.TEST_FONT_LUCIDA_SANS_UNICODE_TTF),
+        };
+        
+        final FontMetadataIndex index = new FontMetadataIndex(this.indexPath());
+        for (String fontFilePath : fontFilePathArr) {
+            assertNull(index.newFontBoxHelperElseNull(fontFilePath));
+            putPrefetched(index, fontFilePath);
+        }
+        assertEquals(fontFilePathArr.length, index.size());
+        assertTrue(index.saveIfModified());
+        // Not modified since save.
+        assertFalse(index.saveIfModified());
+        
+        final FontMetadataIndex index2 = new FontMetadataIndex(this.indexPath());
+        assertTrue(index2.load());
+        assertEquals(fontFilePathArr.length, index2.size());
+        for (String fontFilePath : fontFilePathArr) {
+            final FontBoxHelper refHelper = new FontBoxHelper(fontFilePath);
+            final FontBoxHelper helper = index2.newFontBoxHelperElseNull(fontFilePath);
+            assertNotNull(helper);
+            try {
+                final int fontCount = refHelper.getFontCount();
+                assertEquals(fontCount, helper.getFontCount());
+                for (int fontIndex = 0; fontIndex < fontCount; fontIndex++) {
+                    assertEquals(
+                            refHelper.computeFontKindElseNull(fontIndex),
+                            helper.computeFontKindElseNull(fontIndex));
+                    for (int maxCp : new int[]{
+                            0xFF,
+                            BwdUnicode.MAX_FFFF,
+                            Integer.MAX_VALUE}) {
+                        assertEquals(
+                                String.valueOf(refHelper.computeCodePointSetElseNull(fontIndex, maxCp)),
+                                String.valueOf(helper.computeCodePointSetElseNull(fontIndex, maxCp)));
+                    }
+                }
+            } finally {
+                refHelper.close();
+                helper.close();
+            }
+        }
+    }
+    
+    public void test_newFontBoxHelperElseNull_invalidation() throws IOException {
+        final String fontFilePath = this.copyToTmpDir(BwdTestResources.TEST_FONT_FREE_MONO_TTF);
+        final File fontFile = new File(fontFilePath);
+        
+        final FontMetadataIndex index = new FontMetadataIndex(this.indexPath());
+        putPrefetched(index, fontFilePath);
+        assertNotNull(index.newFontBoxHelperElseNull(fontFilePath));
+        
+        // Modification time change.
+        assertTrue(fontFile.setLastModified(fontFile.lastModified() - 10L * 1000L));
+        assertNull(index.newFontBoxHelperElseNull(fontFilePath));
+        
+        // Updating.
+        putPrefetched(index, fontFilePath);
+        assertNotNull(index.newFontBoxHelperElseNull(fontFilePath));
+        
+        // Size change (same modification time).
+        final long lastModified = fontFile.lastModified();
+        final OutputStream os = new FileOutputStream(fontFile, true);
+        try {
+            os.write(0);
+        } finally {
+            os.close();
+        }
+        assertTrue(fontFile.setLastModified(lastModified));
+        assertNull(index.newFontBoxHelperElseNull(fontFilePath));
+        
+        // Removal.
+        putPrefetched(index, fontFilePath);
+        assertNotNull(index.newFontBoxHelperElseNull(fontFilePath));
+        assertTrue(fontFile.delete());
+        assertNull(index.newFontBoxHelperElseNull(fontFilePath));
+    }
+    
+    public void test_load_invalidFile() throws IOException {
+        final String fontFilePath = this.copyToTmpDir(BwdTestResources.TEST_FONT_FREE_MONO_TTF);
+        
+        final FontMetadataIndex index = new FontMetadataIndex(this.indexPath());
+        putPrefetched(index, fontFilePath);
+        assertTrue(index.saveIfModified());
+        
+        final File indexFile = new File(this.indexPath());
+        final byte[] byteArr = readBytes(indexFile);
+        
+        // Truncated.
+        for (int len : new int[]{0, 3, 12, byteArr.length / 2, byteArr.length - 1}) {
+            writeBytes(indexFile, byteArr, len);
+            assertFalse(index.load());
+            assertEquals(0, index.size());
+        }
+        
+        // Bad magic.
+        {
+            final byte[] badArr = byteArr.clone();
+            badArr[0]++;
+            writeBytes(indexFile, badArr, badArr.length);
+            assertFalse(index.load());
+            assertEquals(0, index.size());
+        }
+        
+        // Huge counts, which must not cause huge allocations.
+        {
+            // After magic, version, entry count,
+            // path, file size and last modification time.
+            final int fontCountOffset = 12 + 4 + readInt(byteArr, 12) + 8 + 8;
+            // After font count, font kind flag, family and style.
+            final int familyOffset = fontCountOffset + 4 + 1;
+            assertEquals(1, byteArr[familyOffset - 1]);
+            final int rangeCountOffset = familyOffset + 4 + readInt(byteArr, familyOffset) + 4;
+            for (int offset : new int[]{fontCountOffset, rangeCountOffset}) {
+                final byte[] badArr = byteArr.clone();
+                writeInt(badArr, offset, Integer.MAX_VALUE);
+                writeBytes(indexFile, badArr, badArr.length);
+                assertFalse(index.load());
+                assertEquals(0, index.size());
+            }
+        }
+        
+        // Back to valid.
+        writeBytes(indexFile, byteArr, byteArr.length);
+        assertTrue(index.load());
+        assertEquals(1, index.size());
+        assertNotNull(index.newFontBoxHelperElseNull(fontFilePath));
+    }
+    
+    public void test_clear() {
+        final String fontFilePath = BwdTestResources.TEST_FONT_FREE_MONO_TTF;
+        
+        final FontMetadataIndex index = new FontMetadataIndex(this.indexPath());
+        putPrefetched(index, fontFilePath);
+        assertTrue(index.saveIfModified());
+        
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.newFontBoxHelperElseNull(fontFilePath));
+        assertTrue(index.saveIfModified());
+        
+        assertTrue(index.load());
+        assertEquals(0, index.size());
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private String indexPath() {
+        return new File(this.tmpDir, "fonts.idx").getPath();
+    }
+    
+    private String copyToTmpDir(String fontFilePath) throws IOException {
+        final File srcFile = new File(fontFilePath);
+        final File dstFile = new File(this.tmpDir, srcFile.getName());
+        final byte[] byteArr = readBytes(srcFile);
+        writeBytes(dstFile, byteArr, byteArr.length);
+        return dstFile.getPath();
+    }
+    
+    private static void putPrefetched(FontMetadataIndex index, String fontFilePath) {
+        final File file = new File(fontFilePath);
+        final FontBoxHelper helper = new FontBoxHelper(fontFilePath);
+        helper.prefetch();
+        index.put(fontFilePath, file.length(), file.lastModified(), helper);
+    }
+    
+    private static byte[] readBytes(File file) throws IOException {
+        final byte[] byteArr = new byte[(int) file.length()];
+        final InputStream is = new FileInputStream(file);
+        try {
+            int n = 0;
+            while (n < byteArr.length) {
+                final int read = is.read(byteArr, n, byteArr.length - n);
+                if (read < 0) {
+                    throw new IOException("unexpected end of " + file);
+                }
+                n += read;
+            }
+        } finally {
+            is.close();
+        }
+        return byteArr;
+    }
+    
+    private static void writeBytes(File file, byte[] byteArr, int len) throws IOException {
+        final OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(byteArr, 0, len);
+        } finally {
+            os.close();
+        }
+    }
+    
+    /**
+     * Big endian, as in index file.
+     */
+    private static int readInt(byte[] byteArr, int offset) {
+        return ((byteArr[offset] & 0xFF) << 24)
+                | ((byteArr[offset + 1] & 0xFF) << 16)
+                | ((byteArr[offset + 2] & 0xFF) << 8)
+                | (byteArr[offset + 3] & 0xFF);
+    }
+    
+    /**
+     * Big endian, as in index file.
+     */
+    private static void writeInt(byte[] byteArr, int offset, int value) {
+        byteArr[offset] = (byte) (value >>> 24);
+        byteArr[offset + 1] = (byte) (value >>> 16);
+        byteArr[offset + 2] = (byte) (value >>> 8);
+        byteArr[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.fonts.BwdFontId;
+import net.jolikit.bwd.api.fonts.BwdFontStyles;
+
+public class GlyphMaskCacheTest extends TestCase {
+
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+
+    private static final BwdFontId FONT_ID_1 = new BwdFontId("f1", BwdFontStyles.NORMAL, 10);
+    private static final BwdFontId FONT_ID_2 = new BwdFontId("f1", BwdFontStyles.NORMAL, 11);
+
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+
+    public void test_GlyphMask_newTrimmed() {
+        final int advance = 5;
+        final int width = 4;
+        final int height = 3;
+        final int scanlineStride = 6;
+        final byte[] alpha8Arr = new byte[scanlineStride * height];
+        alpha8Arr[1 * scanlineStride + 1] = (byte) 0x80;
+        alpha8Arr[2 * scanlineStride + 2] = (byte) 0xFF;
+        // Out of area.
+        alpha8Arr[0 * scanlineStride + 5] = (byte) 0xFF;
+
+        final GlyphMask mask = GlyphMask.newTrimmed(
+                advance,
+                -10,
+                -20,
+                width,
+                height,
+                alpha8Arr,
+                scanlineStride);
+        assertEquals(advance, mask.getAdvance());
+        assertEquals(-9, mask.getXInPen());
+        assertEquals(-19, mask.getYInText());
+        assertEquals(2, mask.getWidth());
+        assertEquals(2, mask.getHeight());
+        assertEquals(0x80, mask.getAlpha8At(0, 0));
+        assertEquals(0x00, mask.getAlpha8At(1, 0));
+        assertEquals(0x00, mask.getAlpha8At(0, 1));
+        assertEquals(0xFF, mask.getAlpha8At(1, 1));
+
+        final GlyphMask emptyMask = GlyphMask.newTrimmed(
+                advance,
+                0,
+                0,
+                width,
+                height,
+                new byte[width * height],
+                width);
+        assertTrue(emptyMask.isEmpty());
+        assertEquals(advance, emptyMask.getAdvance());
+    }
+
+    public void test_get_put() {
+        final GlyphMaskCache cache = new GlyphMaskCache(1000);
+
+        assertNull(cache.get(FONT_ID_1, 'a'));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        final GlyphMask mask = newMask(10);
+        cache.put(FONT_ID_1, 'a', mask);
+        assertSame(mask, cache.get(FONT_ID_1, 'a'));
+        assertNull(cache.get(FONT_ID_1, 'b'));
+        assertNull(cache.get(FONT_ID_2, 'a'));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+
+        assertEquals(1, cache.size());
+        assertEquals(mask.getByteSize(), cache.getByteSize());
+
+        // Replacing.
+        final GlyphMask mask2 = newMask(20);
+        cache.put(FONT_ID_1, 'a', mask2);
+        assertSame(mask2, cache.get(FONT_ID_1, 'a'));
+        assertEquals(1, cache.size());
+        assertEquals(mask2.getByteSize(), cache.getByteSize());
+    }
+
+    public void test_put_lruEviction() {
+        final int maskByteSize = newMask(10).getByteSize();
+        final GlyphMaskCache cache = new GlyphMaskCache(3 * maskByteSize);
+
+        cache.put(FONT_ID_1, 'a', newMask(10));
+        cache.put(FONT_ID_1, 'b', newMask(10));
+        cache.put(FONT_ID_1, 'c', newMask(10));
+        assertEquals(3, cache.size());
+
+        // 'a' becomes most recently used.
+        assertNotNull(cache.get(FONT_ID_1, 'a'));
+
+        cache.put(FONT_ID_1, 'd', newMask(10));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get(FONT_ID_1, 'a'));
+        assertNull(cache.get(FONT_ID_1, 'b'));
+        assertNotNull(cache.get(FONT_ID_1, 'c'));
+        assertNotNull(cache.get(FONT_ID_1, 'd'));
+        assertEquals(3 * maskByteSize, cache.getByteSize());
+    }
+
+    public void test_put_tooLarge() {
+        final GlyphMaskCache cache = new GlyphMaskCache(100);
+        cache.put(FONT_ID_1, 'a', newMask(10));
+        assertEquals(1, cache.size());
+
+        // Larger than budget: ignored, no eviction.
+        cache.put(FONT_ID_1, 'b', newMask(100));
+        assertEquals(1, cache.size());
+        assertNull(cache.get(FONT_ID_1, 'b'));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    public void test_removeAllForFontId() {
+        final GlyphMaskCache cache = new GlyphMaskCache(1000);
+        cache.put(FONT_ID_1, 'a', newMask(10));
+        cache.put(FONT_ID_1, 'b', newMask(10));
+        final GlyphMask mask = newMask(10);
+        cache.put(FONT_ID_2, 'a', mask);
+
+        cache.removeAllForFontId(FONT_ID_1);
+        assertEquals(1, cache.size());
+        assertEquals(mask.getByteSize(), cache.getByteSize());
+        assertSame(mask, cache.get(FONT_ID_2, 'a'));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getByteSize());
+    }
+
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+
+    /**
+     * @return A fully covered mask of the specified number of pixels.
+     */
+    private static GlyphMask newMask(int pixelCount) {
+        final byte[] alpha8Arr = new byte[pixelCount];
+        for (int i = 0; i < alpha8Arr.length; i++) {
+            alpha8Arr[i] = (byte) 0xFF;
+        }
+        return GlyphMask.newTrimmed(
+                pixelCount,
+                0,
+                0,
+                pixelCount,
+                1,
+                alpha8Arr,
+                pixelCount);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.fonts;
+
+import junit.framework.TestCase;
+
+public class TextWidthCacheTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_TextWidthCache_int() {
+        try {
+            new TextWidthCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        assertEquals(1, new TextWidthCache(1).getMaxSize());
+    }
+    
+    public void test_get_put() {
+        final TextWidthCache cache = new TextWidthCache(10);
+        
+        assertEquals(-1, cache.get("ab"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        
+        cache.put("ab", 17);
+        assertEquals(17, cache.get("ab"));
+        assertEquals(-1, cache.get("ba"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+        
+        // Zero width is a valid width.
+        cache.put("  ", 0);
+        assertEquals(0, cache.get("  "));
+        
+        // Replacing.
+        cache.put("ab", 19);
+        assertEquals(19, cache.get("ab"));
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        
+        try {
+            cache.put("ab", -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        try {
+            cache.put(null, 1);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            cache.get(null);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+    }
+    
+    public void test_put_lruEviction() {
+        final TextWidthCache cache = new TextWidthCache(3);
+        
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(3, cache.size());
+        
+        // "a" becomes most recently used.
+        assertEquals(1, cache.get("a"));
+        
+        cache.put("d", 4);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.get("a"));
+        assertEquals(-1, cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+    }
+    
+    public void test_clear() {
+        final TextWidthCache cache = new TextWidthCache(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(-1, cache.get("a"));
+        // Statistics not reset.
+        assertEquals(1, cache.getHitCount());
+    }
+}
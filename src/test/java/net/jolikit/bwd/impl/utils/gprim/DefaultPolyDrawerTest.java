@@ -20,6 +20,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.NbrsUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
 
 public class DefaultPolyDrawerTest extends AbstractDrawerTezt<TestPolyArgs> {
 
@@ -52,6 +54,48 @@ public class DefaultPolyDrawerTest extends AbstractDrawerTezt<TestPolyArgs> {
      * and could slow things down.
      */
     private static final int MAX_NBR_OF_POINTS_FOR_MAX_SPAN_LARGE = 11;
+    
+    /*
+     * Parallel filling.
+     */
+    
+    private static final int NBR_OF_CALLS_PRL = 40;
+    
+    /**
+     * Large enough for parallel filling to be used.
+     */
+    private static final int MIN_SPAN_PRL = 256;
+    private static final int MAX_SPAN_PRL = 400;
+    
+    private static final int MAX_NBR_OF_POINTS_PRL = 100;
+
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Claims a parallelism of 2, and splits splittables
+     * as much as worth it, but runs everything in the calling thread,
+     * for determinism.
+     */
+    private static class MySplittingParallelizer implements InterfaceParallelizer {
+        int nbrOfSplits = 0;
+        @Override
+        public int getParallelism() {
+            return 2;
+        }
+        @Override
+        public void execute(Runnable runnable) {
+            if (runnable instanceof InterfaceSplittable) {
+                final InterfaceSplittable splittable = (InterfaceSplittable) runnable;
+                while (splittable.worthToSplit()) {
+                    this.nbrOfSplits++;
+                    this.execute(splittable.split());
+                }
+            }
+            runnable.run();
+        }
+    }
 
     //--------------------------------------------------------------------------
     // FIELDS
@@ -159,10 +203,96 @@ public class DefaultPolyDrawerTest extends AbstractDrawerTezt<TestPolyArgs> {
         assertSame(clip, clipArg);
         assertEquals(clip, rectArg);
     }
+    
+    /**
+     * Parallel filling must paint the same pixels
+     * as sequential filling, the same number of times.
+     */
+    public void test_fillPolygon_parallelizer() {
+        final MySplittingParallelizer parallelizer = new MySplittingParallelizer();
+        
+        final TestClippedPointDrawer seqPointDrawer = new TestClippedPointDrawer();
+        final TestClippedPointDrawer prlPointDrawer = new TestClippedPointDrawer();
+        final DefaultPolyDrawer seqDrawer = newPolyDrawer(
+                null,
+                seqPointDrawer);
+        final DefaultPolyDrawer prlDrawer = newPolyDrawer(
+                parallelizer,
+                prlPointDrawer);
+        
+        for (int k = 0; k < NBR_OF_CALLS_PRL; k++) {
+            final int xSpan = MIN_SPAN_PRL + this.random.nextInt(MAX_SPAN_PRL - MIN_SPAN_PRL + 1);
+            final int ySpan = MIN_SPAN_PRL + this.random.nextInt(MAX_SPAN_PRL - MIN_SPAN_PRL + 1);
+            final int pointCount = 3 + this.random.nextInt(MAX_NBR_OF_POINTS_PRL - 2);
+            final int xOffset = this.random.nextInt(1000) - 500;
+            final int yOffset = this.random.nextInt(1000) - 500;
+            final int[] xArr = new int[pointCount];
+            final int[] yArr = new int[pointCount];
+            for (int i = 0; i < pointCount; i++) {
+                xArr[i] = xOffset + this.random.nextInt(xSpan);
+                yArr[i] = yOffset + this.random.nextInt(ySpan);
+            }
+            // Either whole bounding box, or a part of it.
+            final GRect bbox = GprimUtils.computePolyBoundingBox(xArr, yArr, pointCount);
+            final GRect clip;
+            if (this.random.nextBoolean()) {
+                clip = bbox;
+            } else {
+                clip = GRect.valueOf(
+                        bbox.x() + this.random.nextInt(bbox.xSpan() / 4),
+                        bbox.y() + this.random.nextInt(bbox.ySpan() / 4),
+                        bbox.xSpan() / 2 + this.random.nextInt(bbox.xSpan() / 2),
+                        bbox.ySpan() / 2 + this.random.nextInt(bbox.ySpan() / 2));
+            }
+            this.colorDrawer.setIsColorOpaque(this.random.nextBoolean());
+            
+            seqPointDrawer.paintedCountByPixel.clear();
+            prlPointDrawer.paintedCountByPixel.clear();
+            seqDrawer.fillPolygon(clip, xArr, yArr, pointCount, false);
+            prlDrawer.fillPolygon(clip, xArr, yArr, pointCount, false);
+            assertEquals(
+                    seqPointDrawer.paintedCountByPixel,
+                    prlPointDrawer.paintedCountByPixel);
+        }
+        
+        // Parallel filling actually used.
+        assertTrue(parallelizer.nbrOfSplits > 0);
+    }
 
     //--------------------------------------------------------------------------
     // PROTECTED METHODS
     //--------------------------------------------------------------------------
+    
+    /**
+     * @param parallelizer Can be null, for sequential filling.
+     */
+    private DefaultPolyDrawer newPolyDrawer(
+            InterfaceParallelizer parallelizer,
+            InterfaceClippedPointDrawer clippedPointDrawer) {
+        final DefaultClippedLineDrawer clippedLineDrawer =
+                new DefaultClippedLineDrawer(clippedPointDrawer);
+        final DefaultLineDrawer lineDrawer =
+                new DefaultLineDrawer(clippedLineDrawer);
+        final DefaultRectDrawer rectDrawer = new DefaultRectDrawer(
+                lineDrawer,
+                new DefaultClippedRectDrawer(clippedLineDrawer));
+        if (parallelizer == null) {
+            return new DefaultPolyDrawer(
+                    this.colorDrawer,
+                    clippedPointDrawer,
+                    clippedLineDrawer,
+                    lineDrawer,
+                    rectDrawer);
+        } else {
+            return new DefaultPolyDrawer(
+                    parallelizer,
+                    this.colorDrawer,
+                    clippedPointDrawer,
+                    clippedLineDrawer,
+                    lineDrawer,
+                    rectDrawer);
+        }
+    }
 
     @Override
     protected AbstractDrawerTestHelper<TestPolyArgs> newDrawerTestHelper(
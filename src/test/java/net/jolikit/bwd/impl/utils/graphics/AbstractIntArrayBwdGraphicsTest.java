@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GRotation;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.impl.utils.FontHomeForApiTests;
+import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+
+/**
+ * Tests that drawing text from glyph masks gives the same pixels
+ * as drawing it from text data accessors.
+ */
+public class AbstractIntArrayBwdGraphicsTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyFontHome extends FontHomeForApiTests {
+        private final InterfaceBwdFont defaultFont = IntArrayBwdGraphicsForTests.newFont();
+        public MyFontHome() {
+            this.initialize_final(
+                    1, // minRawFontSize
+                    100, // maxRawFontSize
+                    1.0, // fontSizeFactor
+                    1000L * 1000L); // glyphMaskCacheMaxByteSize
+        }
+        @Override
+        public InterfaceBwdFont getDefaultFont() {
+            return this.defaultFont;
+        }
+    }
+    
+    private interface MyDrawer {
+        public void draw(InterfaceBwdGraphics g);
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private static final GRect BOX = GRect.valueOf(0, 0, 60, 40);
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_drawText_glyphMasks_clipping() {
+        this.checkSamePixelsWithAndWithoutGlyphMasks(new MyDrawer() {
+            @Override
+            public void draw(InterfaceBwdGraphics g) {
+                g.setArgb32(0xFF804020);
+                // Clip cutting glyphs on all sides.
+                g.addClipInUser(GRect.valueOf(7, 5, 31, 9));
+                g.drawText(2, 3, "Hello");
+                // Text starting left of clip.
+                g.drawText(-10, 8, "abcdefgh");
+                // Text entirely out of clip.
+                g.drawText(2, 25, "out");
+                g.removeLastAddedClip();
+                g.drawText(30, 20, "xyz");
+                // Glyph leaking well past its advance.
+                g.drawText(40, 28, "a" + (char) IntArrayBwdGraphicsForTests.OVERHANGING_CODE_POINT);
+            }
+        });
+    }
+    
+    public void test_drawText_glyphMasks_rotations() {
+        for (final GRotation rotation : GRotation.values()) {
+            this.checkSamePixelsWithAndWithoutGlyphMasks(new MyDrawer() {
+                @Override
+                public void draw(InterfaceBwdGraphics g) {
+                    g.setTransform(GTransform.valueOf(rotation, 30, 20));
+                    g.setArgb32(0xFF2080C0);
+                    g.drawText(-25, -15, "Rotated");
+                    g.addClipInUser(GRect.valueOf(-20, -5, 17, 7));
+                    g.drawText(-25, -7, "clipped");
+                }
+            });
+        }
+    }
+    
+    public void test_drawText_glyphMasks_alphaBlending() {
+        this.checkSamePixelsWithAndWithoutGlyphMasks(new MyDrawer() {
+            @Override
+            public void draw(InterfaceBwdGraphics g) {
+                g.setArgb32(0xFF203040);
+                g.fillRect(0, 0, 30, 40);
+                g.setArgb32(0x80FF8000);
+                g.drawText(3, 5, "Blend");
+                // Over previous text.
+                g.setArgb32(0x400000FF);
+                g.drawText(5, 7, "Blend");
+                // Over transparent pixels.
+                g.setArgb32(0xC000FF00);
+                g.drawText(25, 20, "Alpha");
+            }
+        });
+    }
+    
+    /**
+     * When a glyph mask can't be computed, text must be drawn
+     * without glyph masks.
+     */
+    public void test_drawText_glyphMaskNotComputable() {
+        final String text = "ab" + new String(Character.toChars(0x1F600)) + "cd";
+        this.checkSamePixelsWithAndWithoutGlyphMasks(new MyDrawer() {
+            @Override
+            public void draw(InterfaceBwdGraphics g) {
+                g.setArgb32(0xFF804020);
+                g.drawText(2, 3, text);
+            }
+        });
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void checkSamePixelsWithAndWithoutGlyphMasks(MyDrawer drawer) {
+        final int[] expectedArr = drawWith(drawer, new MyFontHome(), false);
+        
+        final MyFontHome fontHome = new MyFontHome();
+        final int[] actualArr = drawWith(drawer, fontHome, true);
+        // Masks have been used.
+        assertTrue(fontHome.getGlyphMaskCache().size() > 0);
+        
+        boolean foundPainted = false;
+        for (int i = 0; i < expectedArr.length; i++) {
+            if (actualArr[i] != expectedArr[i]) {
+                fail("pixel (" + (i % BOX.xSpan()) + "," + (i / BOX.xSpan())
+                        + "): expected " + Argb32.toString(expectedArr[i])
+                        + ", got " + Argb32.toString(actualArr[i]));
+            }
+            foundPainted |= (expectedArr[i] != 0);
+        }
+        assertTrue(foundPainted);
+    }
+    
+    private static int[] drawWith(
+            MyDrawer drawer,
+            MyFontHome fontHome,
+            boolean canComputeGlyphMasks) {
+        final InterfaceBwdBindingImpl binding =
+                IntArrayBwdGraphicsForTests.newBinding(null, fontHome);
+        final int[] pixelArr = new int[BOX.area()];
+        final IntArrayBwdGraphicsForTests g = new IntArrayBwdGraphicsForTests(
+                binding,
+                BOX,
+                false, // isImageGraphics
+                pixelArr,
+                BOX.xSpan(),
+                canComputeGlyphMasks);
+        g.init();
+        drawer.draw(g);
+        g.finish();
+        return pixelArr;
+    }
+}
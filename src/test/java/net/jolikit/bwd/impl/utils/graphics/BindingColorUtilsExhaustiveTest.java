@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import junit.framework.TestCase;
+
+/**
+ * Exhaustive versions of BindingColorUtilsTest checks,
+ * covering all 2^32 colors.
+ * 
+ * Long (a few minutes), so only run if "jolikit.test.exhaustive"
+ * system property is true, i.e. with the JVM argument
+ * -Djolikit.test.exhaustive=true. Otherwise, tests pass without
+ * checking anything.
+ */
+public class BindingColorUtilsExhaustiveTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final boolean MUST_RUN =
+            Boolean.getBoolean("jolikit.test.exhaustive");
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_toPremulAxyz32_int_exhaustive() {
+        if (!MUST_RUN) {
+            return;
+        }
+        for (int alpha8 = 0; alpha8 <= 0xFF; alpha8++) {
+            for (int xyz24 = 0; xyz24 <= 0xFFFFFF; xyz24++) {
+                BindingColorUtilsTest.checkToPremulAxyz32((alpha8 << 24) | xyz24);
+            }
+        }
+    }
+    
+    public void test_toPremulXyza32_int_exhaustive() {
+        if (!MUST_RUN) {
+            return;
+        }
+        for (int alpha8 = 0; alpha8 <= 0xFF; alpha8++) {
+            for (int xyz24 = 0; xyz24 <= 0xFFFFFF; xyz24++) {
+                BindingColorUtilsTest.checkToPremulXyza32((xyz24 << 8) | alpha8);
+            }
+        }
+    }
+    
+    public void test_toNonPremulAxyz32_int_exhaustive() {
+        if (!MUST_RUN) {
+            return;
+        }
+        for (int alpha8 = 0; alpha8 <= 0xFF; alpha8++) {
+            for (int xyz24 = 0; xyz24 <= 0xFFFFFF; xyz24++) {
+                BindingColorUtilsTest.checkToNonPremulAxyz32((alpha8 << 24) | xyz24);
+            }
+        }
+    }
+    
+    public void test_toNonPremulXyza32_int_exhaustive() {
+        if (!MUST_RUN) {
+            return;
+        }
+        for (int alpha8 = 0; alpha8 <= 0xFF; alpha8++) {
+            for (int xyz24 = 0; xyz24 <= 0xFFFFFF; xyz24++) {
+                BindingColorUtilsTest.checkToNonPremulXyza32((xyz24 << 8) | alpha8);
+            }
+        }
+    }
+}
@@ -23,7 +23,7 @@ import net.jolikit.lang.NbrsUtils;
 import net.jolikit.test.utils.TestUtils;
 
 public class BindingColorUtilsTest extends TestCase {
-
+    
     //--------------------------------------------------------------------------
     // CONFIGURATION
     //--------------------------------------------------------------------------
@@ -32,6 +32,8 @@ public class BindingColorUtilsTest extends TestCase {
     
     private static final int NBR_OF_CALLS = 1000 * 1000;
     
+    private static final int[] EDGE_ALPHA_8_ARR = new int[]{0, 1, 0xFE, 0xFF};
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -58,7 +60,7 @@ public class BindingColorUtilsTest extends TestCase {
         //
         assertEquals(255, BindingColorUtils.toInt8FromFp_noCheck(1.0));
     }
-
+    
     public void test_toFpFromInt8_noCheck_int() {
         assertEquals(0.0, BindingColorUtils.toFpFromInt8_noCheck(0));
         //
@@ -75,7 +77,7 @@ public class BindingColorUtilsTest extends TestCase {
     public void test_withAlpha8_noCheck_2int() {
         checkEqual_color32(0x9A345678, BindingColorUtils.withAlpha8_noCheck(0x12345678, 0x9A));
     }
-
+    
     public void test_toPremul8_noCheck_int_double() {
         checkEqual_color32(0x44, BindingColorUtils.toPremul8_noCheck(0x88, 0.5));
     }
@@ -87,11 +89,11 @@ public class BindingColorUtilsTest extends TestCase {
     /*
      * 
      */
-
+    
     public void test_toPremulAxyz32_int() {
         checkEqual_color32(0x80224466, BindingColorUtils.toPremulAxyz32(0x804488CC));
     }
-
+    
     public void test_toPremulXyza32_int() {
         checkEqual_color32(0x22446680, BindingColorUtils.toPremulXyza32(0x4488CC80));
     }
@@ -99,7 +101,7 @@ public class BindingColorUtilsTest extends TestCase {
     /*
      * 
      */
-
+    
     public void test_toNonPremulAxyz32_int() {
         // Rounding non-errors.
         checkEqual_color32(0x804487CB, BindingColorUtils.toNonPremulAxyz32(0x80224466));
@@ -113,19 +115,125 @@ public class BindingColorUtilsTest extends TestCase {
     /*
      * 
      */
-
+    
+    /*
+     * Tests against floating-point computations used before lookup tables,
+     * on random colors with edge alpha values (0, 1, 254 and 255)
+     * for half of them.
+     * Exhaustive versions, covering all 2^32 colors,
+     * are in BindingColorUtilsExhaustiveTest.
+     */
+    
+    public void test_toPremulAxyz32_int_sampled() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int i = 0; i < NBR_OF_CALLS; i++) {
+            checkToPremulAxyz32(newSampleColor32(random, i));
+        }
+    }
+    
+    public void test_toPremulXyza32_int_sampled() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int i = 0; i < NBR_OF_CALLS; i++) {
+            checkToPremulXyza32(toXyza32(newSampleColor32(random, i)));
+        }
+    }
+    
+    public void test_toNonPremulAxyz32_int_sampled() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int i = 0; i < NBR_OF_CALLS; i++) {
+            checkToNonPremulAxyz32(toValidPremulAxyz32(newSampleColor32(random, i)));
+        }
+    }
+    
+    public void test_toNonPremulXyza32_int_sampled() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int i = 0; i < NBR_OF_CALLS; i++) {
+            checkToNonPremulXyza32(toXyza32(toValidPremulAxyz32(newSampleColor32(random, i))));
+        }
+    }
+    
+    public void test_toNonPremulAxyz32_int_invalid() {
+        for (int premulAxyz32 : new int[]{0x00000001, 0x7F800000, 0x7F008000, 0x7F000080, 0xFE0000FF}) {
+            try {
+                BindingColorUtils.toNonPremulAxyz32(premulAxyz32);
+                fail();
+            } catch (@SuppressWarnings("unused") AssertionError e) {
+                // ok
+            }
+            try {
+                BindingColorUtils.toNonPremulAxyz32(new int[]{premulAxyz32}, 0, new int[1], 0, 1);
+                fail();
+            } catch (@SuppressWarnings("unused") AssertionError e) {
+                // ok
+            }
+        }
+    }
+    
+    /*
+     * 
+     */
+    
+    public void test_toPremulAxyz32_intArr_int_intArr_2int() {
+        final int length = 1 << 16;
+        final int offset = 3;
+        final int[] srcArr = new int[offset + length];
+        final int[] dstArr = new int[offset + length + 1];
+        for (int hi16 = 0; hi16 <= 0xFFFF; hi16 += 0x0101) {
+            for (int i = 0; i < length; i++) {
+                srcArr[offset + i] = (hi16 << 16) | i;
+            }
+            BindingColorUtils.toPremulAxyz32(srcArr, offset, dstArr, offset + 1, length);
+            for (int i = 0; i < length; i++) {
+                final int expected = BindingColorUtils.toPremulAxyz32(srcArr[offset + i]);
+                checkEqual_color32(expected, dstArr[offset + 1 + i]);
+            }
+            // In place.
+            BindingColorUtils.toPremulAxyz32(srcArr, offset, srcArr, offset, length);
+            for (int i = 0; i < length; i++) {
+                checkEqual_color32(dstArr[offset + 1 + i], srcArr[offset + i]);
+            }
+        }
+    }
+    
+    public void test_toNonPremulAxyz32_intArr_int_intArr_2int() {
+        final int length = 1 << 16;
+        final int offset = 3;
+        final int[] srcArr = new int[offset + length];
+        final int[] dstArr = new int[offset + length + 1];
+        for (int hi16 = 0; hi16 <= 0xFFFF; hi16 += 0x0101) {
+            for (int i = 0; i < length; i++) {
+                // Making it valid premul.
+                srcArr[offset + i] = BindingColorUtils.toPremulAxyz32((hi16 << 16) | i);
+            }
+            BindingColorUtils.toNonPremulAxyz32(srcArr, offset, dstArr, offset + 1, length);
+            for (int i = 0; i < length; i++) {
+                final int expected = BindingColorUtils.toNonPremulAxyz32(srcArr[offset + i]);
+                checkEqual_color32(expected, dstArr[offset + 1 + i]);
+            }
+            // In place.
+            BindingColorUtils.toNonPremulAxyz32(srcArr, offset, srcArr, offset, length);
+            for (int i = 0; i < length; i++) {
+                checkEqual_color32(dstArr[offset + 1 + i], srcArr[offset + i]);
+            }
+        }
+    }
+    
+    /*
+     * 
+     */
+    
     public void test_toInvertedPremulAxyz32_noCheck_int() {
         checkEqual_color32(0x80807F70, BindingColorUtils.toInvertedPremulAxyz32_noCheck(0x80000110));
     }
-
+    
     public void test_toInvertedPremulXyza32_noCheck_int() {
         checkEqual_color32(0x807F7080, BindingColorUtils.toInvertedPremulXyza32_noCheck(0x00011080));
     }
-
+    
     /*
      * 
      */
-
+    
     public void test_blendPremulAxyz32_srcOver_2int_specific() {
         
         /*
@@ -156,7 +264,7 @@ public class BindingColorUtilsTest extends TestCase {
             if (BindingColorUtils.CAN_ASSUME_THAT_DST_ALPHA_8_IS_255) {
                 dstPremulAxyz32 |= 0xFF000000;
             }
-
+            
             final int expectedPremulAxyz32 = ref_blendPremulAxyz32_srcOver(srcPremulAxyz32, dstPremulAxyz32);
             final int actualPremulAxyz32 = BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulAxyz32, dstPremulAxyz32);
             if (expectedPremulAxyz32 != actualPremulAxyz32) {
@@ -169,7 +277,7 @@ public class BindingColorUtilsTest extends TestCase {
             }
         }
     }
-
+    
     public void test_blendPremulXyza32_srcOver_2int_random() {
         final Random random = TestUtils.newRandom123456789L();
         
@@ -181,7 +289,7 @@ public class BindingColorUtilsTest extends TestCase {
             if (BindingColorUtils.CAN_ASSUME_THAT_DST_ALPHA_8_IS_255) {
                 dstPremulXyza32 |= 0x000000FF;
             }
-
+            
             final int expectedPremulXyza32 = toXyza32(ref_blendPremulAxyz32_srcOver(toAxyz32(srcPremulXyza32), toAxyz32(dstPremulXyza32)));
             final int actualPremulXyza32 = BindingColorUtils.blendPremulXyza32_srcOver(srcPremulXyza32, dstPremulXyza32);
             if (expectedPremulXyza32 != actualPremulXyza32) {
@@ -194,7 +302,7 @@ public class BindingColorUtilsTest extends TestCase {
             }
         }
     }
-
+    
     /*
      * 
      */
@@ -211,7 +319,7 @@ public class BindingColorUtilsTest extends TestCase {
             assertEquals(a, BindingColorUtils.INT_MULT_0_255(a, 255));
         }
     }
-
+    
     public void test_INT_MULT_0_255_2int_random() {
         // Our computation seem good enough to always round
         // to the theoretical value.
@@ -233,10 +341,92 @@ public class BindingColorUtilsTest extends TestCase {
         }
     }
     
+    //--------------------------------------------------------------------------
+    // PACKAGE-PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /*
+     * Checks against floating-point computations
+     * used before lookup tables.
+     */
+    
+    static void checkToPremulAxyz32(int axyz32) {
+        final int expected = ref_toPremulAxyz32(axyz32);
+        final int actual = BindingColorUtils.toPremulAxyz32(axyz32);
+        if (actual != expected) {
+            throwNotEqual(expected, actual);
+        }
+    }
+    
+    static void checkToPremulXyza32(int xyza32) {
+        final int expected = toXyza32(ref_toPremulAxyz32(toAxyz32(xyza32)));
+        final int actual = BindingColorUtils.toPremulXyza32(xyza32);
+        if (actual != expected) {
+            throwNotEqual(expected, actual);
+        }
+    }
+    
+    /**
+     * Invalid premultiplied colors (with a component greater than alpha)
+     * are skipped, since they cause an exception.
+     */
+    static void checkToNonPremulAxyz32(int premulAxyz32) {
+        if (!isValidPremulAxyz32(premulAxyz32)) {
+            return;
+        }
+        final int expected = ref_toNonPremulAxyz32(premulAxyz32);
+        final int actual = BindingColorUtils.toNonPremulAxyz32(premulAxyz32);
+        if (actual != expected) {
+            throwNotEqual(expected, actual);
+        }
+    }
+    
+    /**
+     * Invalid premultiplied colors (with a component greater than alpha)
+     * are skipped, since they cause an exception.
+     */
+    static void checkToNonPremulXyza32(int premulXyza32) {
+        final int premulAxyz32 = toAxyz32(premulXyza32);
+        if (!isValidPremulAxyz32(premulAxyz32)) {
+            return;
+        }
+        final int expected = toXyza32(ref_toNonPremulAxyz32(premulAxyz32));
+        final int actual = BindingColorUtils.toNonPremulXyza32(premulXyza32);
+        if (actual != expected) {
+            throwNotEqual(expected, actual);
+        }
+    }
+    
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
+    /**
+     * @return A random AXYZ32 color, with an edge alpha value
+     *         (0, 1, 254 or 255) for even indexes.
+     */
+    private static int newSampleColor32(Random random, int index) {
+        final int alpha8;
+        if ((index & 1) == 0) {
+            alpha8 = EDGE_ALPHA_8_ARR[(index >> 1) % EDGE_ALPHA_8_ARR.length];
+        } else {
+            alpha8 = random.nextInt(0x100);
+        }
+        return (alpha8 << 24) | (random.nextInt() & 0xFFFFFF);
+    }
+    
+    /**
+     * @return A valid premultiplied color, with each component
+     *         of the specified color reduced modulo (alpha + 1).
+     */
+    private static int toValidPremulAxyz32(int axyz32) {
+        final int alpha8 = Argb32.getAlpha8(axyz32);
+        final int x8 = Argb32.getRed8(axyz32) % (alpha8 + 1);
+        final int y8 = Argb32.getGreen8(axyz32) % (alpha8 + 1);
+        final int z8 = Argb32.getBlue8(axyz32) % (alpha8 + 1);
+        return BindingColorUtils.toAbcd32_noCheck(alpha8, x8, y8, z8);
+    }
+    
     private static int toXyza32(int axyz32) {
         final int a8 = Argb32.getAlpha8(axyz32);
         final int x8 = Argb32.getRed8(axyz32);
@@ -253,6 +443,50 @@ public class BindingColorUtilsTest extends TestCase {
         return BindingColorUtils.toAbcd32_noCheck(a8, x8, y8, z8);
     }
     
+    /*
+     * 
+     */
+    
+    /**
+     * Floating-point computation, as was done before lookup tables.
+     */
+    private static int ref_toPremulAxyz32(int axyz32) {
+        final int alpha8 = Argb32.getAlpha8(axyz32);
+        if (alpha8 == 0xFF) {
+            return axyz32;
+        }
+        final double alphaFp = BindingColorUtils.toFpFromInt8_noCheck(alpha8);
+        final int x8 = BindingColorUtils.toPremul8_noCheck(Argb32.getRed8(axyz32), alphaFp);
+        final int y8 = BindingColorUtils.toPremul8_noCheck(Argb32.getGreen8(axyz32), alphaFp);
+        final int z8 = BindingColorUtils.toPremul8_noCheck(Argb32.getBlue8(axyz32), alphaFp);
+        return BindingColorUtils.toAbcd32_noCheck(alpha8, x8, y8, z8);
+    }
+    
+    /**
+     * Floating-point computation, as was done before lookup tables.
+     */
+    private static int ref_toNonPremulAxyz32(int premulAxyz32) {
+        final int alpha8 = Argb32.getAlpha8(premulAxyz32);
+        if (alpha8 == 0xFF) {
+            return premulAxyz32;
+        }
+        if (alpha8 == 0) {
+            return 0;
+        }
+        final double oneOverAlphaFp = 1.0/BindingColorUtils.toFpFromInt8_noCheck(alpha8);
+        final int x8 = BindingColorUtils.toNonPremul8_noCheck(Argb32.getRed8(premulAxyz32), oneOverAlphaFp);
+        final int y8 = BindingColorUtils.toNonPremul8_noCheck(Argb32.getGreen8(premulAxyz32), oneOverAlphaFp);
+        final int z8 = BindingColorUtils.toNonPremul8_noCheck(Argb32.getBlue8(premulAxyz32), oneOverAlphaFp);
+        return BindingColorUtils.toAbcd32_noCheck(alpha8, x8, y8, z8);
+    }
+    
+    private static boolean isValidPremulAxyz32(int premulAxyz32) {
+        final int alpha8 = Argb32.getAlpha8(premulAxyz32);
+        return (Argb32.getRed8(premulAxyz32) <= alpha8)
+                && (Argb32.getGreen8(premulAxyz32) <= alpha8)
+                && (Argb32.getBlue8(premulAxyz32) <= alpha8);
+    }
+    
     /*
      * 
      */
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontHome;
+import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GRotation;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.threading.prl.ExecutorParallelizer;
+
+public class DisplayListTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private static final GRect BOX = GRect.valueOf(0, 0, 100, 50);
+    
+    private final InterfaceBwdBindingImpl binding = newBinding();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_record_clipping() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        
+        assertTrue(list.isEmpty());
+        
+        // Out of clip.
+        g.fillRect(-10, -10, 5, 5);
+        g.drawLine(-10, 60, 200, 60);
+        g.fillOval(0, 0, 0, 10);
+        g.fillPolygon(new int[]{1, 2}, new int[]{1, 2}, 0);
+        g.addClipInBase(GRect.valueOf(10, 10, 5, 5));
+        g.drawPoint(9, 9);
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.getDrawOpCount());
+        
+        // In clip.
+        g.drawPoint(10, 10);
+        g.removeAllAddedClips();
+        g.fillRect(-10, -10, 20, 20);
+        g.drawLine(-10, 60, 200, 0);
+        g.drawText(1, 1, "text");
+        assertFalse(list.isEmpty());
+        assertEquals(4, list.getDrawOpCount());
+        
+        g.finish();
+    }
+    
+    public void test_record_stateOnlyWithDrawings() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        
+        g.fillRect(1, 1, 2, 2);
+        final String ref = list.toString();
+        
+        // Unused state changes are not recorded.
+        g.setArgb32(0xFF102030);
+        g.setTransform(GTransform.valueOf(GRotation.ROT_90, 10, 10));
+        g.addClipInUser(GRect.valueOf(1, 2, 3, 4));
+        g.setArgb32(0xFF000000);
+        g.setTransform(GTransform.IDENTITY);
+        g.removeAllAddedClips();
+        assertEquals(ref, list.toString());
+        
+        // Same state: only the drawing is recorded.
+        g.fillRect(1, 1, 2, 2);
+        assertEquals(2, list.getDrawOpCount());
+        
+        g.finish();
+    }
+    
+    public void test_record_childGraphics() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        
+        final RecordingBwdGraphics child =
+                (RecordingBwdGraphics) g.newChildGraphics(GRect.valueOf(10, 10, 10, 10));
+        assertSame(list, child.getDisplayList());
+        child.init();
+        child.fillRect(0, 0, 100, 100);
+        child.fillRect(0, 0, 5, 5);
+        child.finish();
+        
+        g.fillRect(0, 0, 5, 5);
+        assertEquals(2, list.getDrawOpCount());
+        
+        g.finish();
+    }
+    
+    public void test_copyArea_notTileReplayable() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        
+        g.copyArea(GRect.valueOf(0, 0, 10, 10), 0, 0);
+        assertTrue(list.isTileReplayable());
+        assertTrue(list.isEmpty());
+        
+        g.copyArea(GRect.valueOf(0, 0, 10, 10), 0, 5);
+        assertFalse(list.isTileReplayable());
+        assertEquals(1, list.getDrawOpCount());
+        
+        list.clear();
+        assertTrue(list.isTileReplayable());
+        assertTrue(list.isEmpty());
+        
+        g.finish();
+    }
+    
+    public void test_replay() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        g.setArgb32(0xFF102030);
+        g.fillRect(0, 0, 10, 10);
+        g.setTransform(GTransform.valueOf(GRotation.ROT_180, 100, 50));
+        g.drawOval(0, 0, 20, 20);
+        g.fillArc(50, 0, 20, 20, 10.0, 90.0);
+        g.setArgb64(0xFFFF123456789ABCL);
+        g.drawPolygon(new int[]{0, 10, 5}, new int[]{0, 0, 10}, 3);
+        g.drawLineStipple(0, 0, 30, 30, 2, (short) 0xF0F0, 3);
+        g.drawText(5, 5, "text");
+        g.finish();
+        
+        /*
+         * Replaying into a recording graphics with same box
+         * must record the same operations.
+         */
+        
+        final DisplayList list2 = new DisplayList();
+        final RecordingBwdGraphics g2 = this.newRecordingGraphics(list2, BOX);
+        g2.init();
+        list.replay(g2);
+        assertEquals(list.toString(), list2.toString());
+        
+        // Replay must not modify graphics state.
+        assertEquals(GTransform.IDENTITY, g2.getTransform());
+        assertEquals(BOX, g2.getClipInBase());
+        assertEquals(0xFF000000, g2.getArgb32());
+        
+        g2.finish();
+        
+        /*
+         * Replaying in a smaller clip must only
+         * record operations overlapping it
+         * (sequentially here, since recording graphics
+         * painting parallelizer is sequential).
+         */
+        
+        final DisplayList list3 = new DisplayList();
+        final RecordingBwdGraphics g3 = this.newRecordingGraphics(list3, BOX);
+        g3.init();
+        g3.addClipInBase(GRect.valueOf(0, 0, 10, 10));
+        list.replayInTiles(g3, 5, 5);
+        // Only the fillRect overlaps top-left corner,
+        // other drawings being at bottom-right.
+        assertEquals(1, list3.getDrawOpCount());
+        g3.finish();
+    }
+    
+    /**
+     * Tiled replay, with an actually parallel parallelizer,
+     * must give the same pixels as sequential replay,
+     * for drawings which pixels don't depend on clip.
+     */
+    public void test_replayInTiles_sameAsReplay() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        g.setArgb32(0xFF203040);
+        g.clearRect(BOX);
+        // Overlapping tiles borders, with and without blending.
+        g.setArgb32(0xFF00FF00);
+        g.fillRect(10, 5, 30, 20);
+        g.setArgb32(0x80FF0000);
+        g.fillRect(20, 10, 50, 30);
+        g.drawRect(5, 8, 60, 30);
+        g.setTransform(GTransform.valueOf(GRotation.ROT_90, 90, 5));
+        g.setArgb32(0xC00000FF);
+        g.fillOval(3, 7, 40, 25);
+        g.drawOval(0, 30, 30, 45);
+        g.drawPoint(12, 33);
+        g.addClipInUser(GRect.valueOf(5, 5, 35, 60));
+        g.flipColors(0, 20, 30, 30);
+        final int[] argb32Arr = new int[13 * 17];
+        for (int i = 0; i < argb32Arr.length; i++) {
+            argb32Arr[i] = 0x40000000 | (i * 0x010305);
+        }
+        g.drawPixels(argb32Arr, 0, 13, GRect.valueOf(20, 10, 13, 17));
+        g.finish();
+        assertTrue(list.isTileReplayable());
+        
+        checkReplayInTilesSameAsReplay(list);
+    }
+    
+    /**
+     * Text must be replayed in all tiles its glyphs can leak into,
+     * including for glyphs drawn well past their advance.
+     */
+    public void test_replayInTiles_text_sameAsReplay() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(list, BOX);
+        g.init();
+        g.setArgb32(0xFF203040);
+        // Overhanging glyph ending in the tile at x = 48,
+        // past one font height from text theoretical box.
+        final String overhangingText =
+                "a" + (char) IntArrayBwdGraphicsForTests.OVERHANGING_CODE_POINT;
+        g.drawText(26, 3, overhangingText);
+        g.setArgb32(0x80FF0000);
+        g.drawText(14, 20, "Tiled text");
+        g.setTransform(GTransform.valueOf(GRotation.ROT_90, 90, 2));
+        g.drawText(3, 5, overhangingText);
+        g.finish();
+        assertTrue(list.isTileReplayable());
+        
+        checkReplayInTilesSameAsReplay(list);
+    }
+    
+    public void test_replayInTiles_exceptions() {
+        final DisplayList list = new DisplayList();
+        final RecordingBwdGraphics g = this.newRecordingGraphics(new DisplayList(), BOX);
+        g.init();
+        
+        try {
+            list.replayInTiles(null, 1, 1);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        for (int[] spans : new int[][]{{0, 1}, {1, 0}, {-1, 1}}) {
+            try {
+                list.replayInTiles(g, spans[0], spans[1]);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // ok
+            }
+        }
+        
+        g.finish();
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Checks that tiled replay, with an actually parallel parallelizer,
+     * gives the same pixels as sequential replay.
+     */
+    private static void checkReplayInTilesSameAsReplay(DisplayList list) {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final AtomicInteger executeCount = new AtomicInteger();
+            final Executor countingExecutor = new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    executeCount.incrementAndGet();
+                    executor.execute(command);
+                }
+            };
+            final InterfaceBwdBindingImpl intArrBinding =
+                    IntArrayBwdGraphicsForTests.newBinding(
+                            new ExecutorParallelizer(countingExecutor, 2, 8));
+            
+            final int[] expectedArr = new int[BOX.area()];
+            final IntArrayBwdGraphicsForTests expectedG = new IntArrayBwdGraphicsForTests(
+                    intArrBinding,
+                    BOX,
+                    false, // isImageGraphics
+                    expectedArr,
+                    BOX.xSpan());
+            expectedG.init();
+            list.replay(expectedG);
+            expectedG.finish();
+            assertEquals(0, executeCount.get());
+            
+            final int[] actualArr = new int[BOX.area()];
+            final IntArrayBwdGraphicsForTests actualG = new IntArrayBwdGraphicsForTests(
+                    intArrBinding,
+                    BOX,
+                    false, // isImageGraphics
+                    actualArr,
+                    BOX.xSpan());
+            actualG.init();
+            // Tiles spans not dividing box spans.
+            list.replayInTiles(actualG, 16, 12);
+            actualG.finish();
+            assertTrue(executeCount.get() > 0);
+            
+            for (int i = 0; i < expectedArr.length; i++) {
+                if (actualArr[i] != expectedArr[i]) {
+                    fail("pixel (" + (i % BOX.xSpan()) + "," + (i / BOX.xSpan())
+                            + "): expected " + Argb32.toString(expectedArr[i])
+                            + ", got " + Argb32.toString(actualArr[i]));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * @return A binding which only supports getFontHome(),
+     *         which default font is the one of graphics for tests,
+     *         for text to be replayable into them.
+     */
+    private static InterfaceBwdBindingImpl newBinding() {
+        final InterfaceBwdFont defaultFont = IntArrayBwdGraphicsForTests.newFont();
+        final InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("getFontHome")) {
+                    return newProxy(InterfaceBwdFontHome.class, this);
+                } else if (name.equals("getDefaultFont")) {
+                    return defaultFont;
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("toString")) {
+                    return "proxy";
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        };
+        return newProxy(InterfaceBwdBindingImpl.class, handler);
+    }
+    
+    private static <T> T newProxy(Class<T> clazz, InvocationHandler handler) {
+        return clazz.cast(Proxy.newProxyInstance(
+            clazz.getClassLoader(),
+            new Class<?>[]{clazz},
+            handler));
+    }
+    
+    private RecordingBwdGraphics newRecordingGraphics(DisplayList list, GRect box) {
+        return new RecordingBwdGraphics(
+                this.binding,
+                box,
+                box,
+                list);
+    }
+}
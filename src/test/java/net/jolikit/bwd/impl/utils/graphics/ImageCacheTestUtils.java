@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Random;
+
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.images.AbstractBwdImage;
+import net.jolikit.bwd.impl.utils.images.InterfaceBwdImageDisposalListener;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.SequentialParallelizer;
+
+/**
+ * Fixtures for tests of images caches.
+ */
+public class ImageCacheTestUtils {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Only used as a key.
+     */
+    public static class ImageForTests extends AbstractBwdImage {
+        public ImageForTests(int width, int height) {
+            super(new InterfaceBwdImageDisposalListener() {
+                @Override
+                public void onImageDisposed(InterfaceBwdImage image) {
+                }
+            });
+            this.checkAndSetWritableImageDims(width, height);
+        }
+        @Override
+        protected int getArgb32AtImpl(int x, int y) {
+            throw new UnsupportedOperationException();
+        }
+        @Override
+        protected void disposeImpl() {
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    public static final InterfaceParallelizer PARALLELIZER = new SequentialParallelizer();
+    
+    public static final InterfaceColorTypeHelper COLOR_TYPE_HELPER = PremulArgbHelper.getInstance();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Random premultiplied pixels, with a rect at (0,0),
+     *         and width as scanline stride.
+     */
+    public static IntArrSrcPixels newRandomSrcPixels(Random random, int width, int height) {
+        final int[] arr = new int[width * height];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = BindingColorUtils.toPremulAxyz32(random.nextInt());
+        }
+        final IntArrSrcPixels srcPixels = new IntArrSrcPixels();
+        srcPixels.configure(
+                GRect.valueOf(0, 0, width, height),
+                arr,
+                width);
+        return srcPixels;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private ImageCacheTestUtils() {
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Random;
+
+import net.jolikit.test.utils.TestUtils;
+
+/**
+ * Compares bulk SRC_OVER blending of IntArrSrcOverBlender
+ * with per-pixel blending using BindingColorUtils.
+ */
+public class IntArrSrcOverBlenderPerf {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * 3 for 1 load/warmup run + 2 meaningful runs.
+     */
+    private static final int NBR_OF_RUNS = 3;
+    
+    private static final int NBR_OF_CALLS = 10 * 1000;
+    
+    /**
+     * Typical of a wide window row.
+     */
+    private static final int ROW_LENGTH = 1920;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public static void main(String[] args) {
+        newRun();
+    }
+    
+    public static void newRun() {
+        final long a = System.nanoTime();
+        System.out.println("--- " + IntArrSrcOverBlenderPerf.class.getSimpleName() + "... ---");
+        
+        bench_blendColorOverSpan();
+        
+        System.out.println();
+        
+        bench_blendSpanOverSpan();
+        
+        final long b = System.nanoTime();
+        System.out.println("--- ..." + IntArrSrcOverBlenderPerf.class.getSimpleName()
+            + ", " + TestUtils.nsToSRounded(b-a) + " s ---");
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static void bench_blendColorOverSpan() {
+        final Random random = TestUtils.newRandom123456789L();
+        final int[] dstArr = newPixels(random, ROW_LENGTH, false, false);
+        
+        for (int srcAlpha8 : new int[]{0xFF, 0x80}) {
+            final int srcPremulArgb32 = (srcAlpha8 << 24) | (srcAlpha8 >>> 1);
+            for (boolean bulk : new boolean[]{false, true}) {
+                for (int k = 0; k < NBR_OF_RUNS; k++) {
+                    final long a = System.nanoTime();
+                    for (int i = 0; i < NBR_OF_CALLS; i++) {
+                        if (bulk) {
+                            IntArrSrcOverBlender.blendColorOverSpan(
+                                srcPremulArgb32,
+                                dstArr,
+                                0,
+                                ROW_LENGTH);
+                        } else {
+                            for (int j = 0; j < ROW_LENGTH; j++) {
+                                dstArr[j] = BindingColorUtils.blendPremulAxyz32_srcOver(
+                                    srcPremulArgb32,
+                                    dstArr[j]);
+                            }
+                        }
+                    }
+                    final long b = System.nanoTime();
+                    TestUtils.blackHole(dstArr[random.nextInt(ROW_LENGTH)]);
+                    printResult(
+                        "color over span (alpha = " + srcAlpha8 + ")",
+                        bulk,
+                        b - a);
+                }
+            }
+        }
+    }
+    
+    private static void bench_blendSpanOverSpan() {
+        final Random random = TestUtils.newRandom123456789L();
+        final int[] dstArr = newPixels(random, ROW_LENGTH, false, false);
+        
+        final String[] descArr = new String[]{"opaque", "translucent", "mixed alpha"};
+        final int[][] srcArrArr = new int[][]{
+            newPixels(random, ROW_LENGTH, true, false),
+            newPixels(random, ROW_LENGTH, false, false),
+            newPixels(random, ROW_LENGTH, false, true),
+        };
+        for (int s = 0; s < srcArrArr.length; s++) {
+            final int[] srcArr = srcArrArr[s];
+            for (boolean bulk : new boolean[]{false, true}) {
+                for (int k = 0; k < NBR_OF_RUNS; k++) {
+                    final long a = System.nanoTime();
+                    for (int i = 0; i < NBR_OF_CALLS; i++) {
+                        if (bulk) {
+                            IntArrSrcOverBlender.blendSpanOverSpan(
+                                srcArr,
+                                0,
+                                dstArr,
+                                0,
+                                ROW_LENGTH);
+                        } else {
+                            for (int j = 0; j < ROW_LENGTH; j++) {
+                                dstArr[j] = BindingColorUtils.blendPremulAxyz32_srcOver(
+                                    srcArr[j],
+                                    dstArr[j]);
+                            }
+                        }
+                    }
+                    final long b = System.nanoTime();
+                    TestUtils.blackHole(dstArr[random.nextInt(ROW_LENGTH)]);
+                    printResult(
+                        "span over span (" + descArr[s] + ")",
+                        bulk,
+                        b - a);
+                }
+            }
+        }
+    }
+    
+    private static void printResult(String desc, boolean bulk, long dtNs) {
+        final double nbrOfPixels = NBR_OF_CALLS * (double) ROW_LENGTH;
+        final double pixelsPerSecond = nbrOfPixels / (dtNs / 1e9);
+        System.out.println(desc
+            + (bulk ? ", bulk" : ", scalar")
+            + ", " + (long) (pixelsPerSecond / 1e6) + " Mpixels/s"
+            + ", took " + TestUtils.nsToSRounded(dtNs) + " s");
+    }
+    
+    /**
+     * @param opaque If true, all pixels are opaque.
+     * @param mixedAlpha If true (and not opaque), pixels are in runs
+     *        of opaque, fully transparent, and translucent pixels.
+     *        Else pixels are translucent.
+     */
+    private static int[] newPixels(
+        Random random,
+        int length,
+        boolean opaque,
+        boolean mixedAlpha) {
+        final int[] arr = new int[length];
+        int i = 0;
+        while (i < length) {
+            final int runLength = Math.min(length - i, 1 + random.nextInt(16));
+            final int type = (opaque ? 1 : (mixedAlpha ? random.nextInt(3) : 2));
+            for (int j = 0; j < runLength; j++) {
+                final int alpha8;
+                if (type == 0) {
+                    alpha8 = 0;
+                } else if (type == 1) {
+                    alpha8 = 0xFF;
+                } else {
+                    alpha8 = 1 + random.nextInt(0xFE);
+                }
+                final int r8 = random.nextInt(alpha8 + 1);
+                final int g8 = random.nextInt(alpha8 + 1);
+                final int b8 = random.nextInt(alpha8 + 1);
+                arr[i++] = (alpha8 << 24) | (r8 << 16) | (g8 << 8) | b8;
+            }
+        }
+        return arr;
+    }
+}
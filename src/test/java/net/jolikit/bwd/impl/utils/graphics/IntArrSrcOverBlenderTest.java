@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.test.utils.TestUtils;
+
+public class IntArrSrcOverBlenderTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_CALLS = 1000 * 1000;
+    
+    private static final int NBR_OF_SPANS = 10 * 1000;
+    
+    private static final int MAX_SPAN_LENGTH = 100;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Exhaustive check for each (component, alpha complement) pair,
+     * using same component in all lanes.
+     */
+    public void test_blendPremulArgb32_srcOver_lanes_exhaustive() {
+        for (int srcAlpha8 = 1; srcAlpha8 < 0xFF; srcAlpha8++) {
+            final int srcPremulArgb32 = (srcAlpha8 << 24);
+            final int srcAlpha8Cmpl = 0xFF - srcAlpha8;
+            for (int cpt8 = 0; cpt8 <= 0xFF; cpt8++) {
+                final int dstPremulArgb32 =
+                    (cpt8 << 24) | (cpt8 << 16) | (cpt8 << 8) | cpt8;
+                final int expected = BindingColorUtils.blendPremulAxyz32_srcOver(
+                    srcPremulArgb32,
+                    dstPremulArgb32);
+                final int actual = IntArrSrcOverBlender.blendPremulArgb32_srcOver_lanes(
+                    srcPremulArgb32,
+                    srcAlpha8Cmpl,
+                    dstPremulArgb32);
+                checkEqual(expected, actual);
+            }
+        }
+    }
+    
+    public void test_blendPremulArgb32_srcOver_lanes_random() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int i = 0; i < NBR_OF_CALLS; i++) {
+            final int srcPremulArgb32 = randomTranslucentPremulArgb32(random);
+            final int dstPremulArgb32 = randomPremulArgb32(random);
+            final int expected = BindingColorUtils.blendPremulAxyz32_srcOver(
+                srcPremulArgb32,
+                dstPremulArgb32);
+            final int actual = IntArrSrcOverBlender.blendPremulArgb32_srcOver_lanes(
+                srcPremulArgb32,
+                0xFF - (srcPremulArgb32 >>> 24),
+                dstPremulArgb32);
+            checkEqual(expected, actual);
+        }
+    }
+    
+    public void test_blendColorOverSpan_4arg() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int k = 0; k < NBR_OF_SPANS; k++) {
+            final int length = random.nextInt(MAX_SPAN_LENGTH + 1);
+            final int dstOffset = random.nextInt(3);
+            final int[] dstArr = newRandomPixels(random, dstOffset + length + 2);
+            final int[] expectedArr = dstArr.clone();
+            
+            final int srcPremulArgb32;
+            switch (k % 3) {
+                case 0: srcPremulArgb32 = 0; break;
+                case 1: srcPremulArgb32 = randomPremulArgb32WithAlpha8(random, 0xFF); break;
+                default: srcPremulArgb32 = randomPremulArgb32(random); break;
+            }
+            
+            for (int i = dstOffset; i < dstOffset + length; i++) {
+                expectedArr[i] = BindingColorUtils.blendPremulAxyz32_srcOver(
+                    srcPremulArgb32,
+                    expectedArr[i]);
+            }
+            IntArrSrcOverBlender.blendColorOverSpan(
+                srcPremulArgb32,
+                dstArr,
+                dstOffset,
+                length);
+            checkEqual(expectedArr, dstArr);
+        }
+    }
+    
+    public void test_blendSpanOverSpan_5arg() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int k = 0; k < NBR_OF_SPANS; k++) {
+            final int length = random.nextInt(MAX_SPAN_LENGTH + 1);
+            final int srcOffset = random.nextInt(3);
+            final int dstOffset = random.nextInt(3);
+            final int[] srcArr = newRandomPixels(random, srcOffset + length + 2);
+            final int[] dstArr = newRandomPixels(random, dstOffset + length + 2);
+            final int[] expectedArr = dstArr.clone();
+            
+            for (int i = 0; i < length; i++) {
+                expectedArr[dstOffset + i] = BindingColorUtils.blendPremulAxyz32_srcOver(
+                    srcArr[srcOffset + i],
+                    expectedArr[dstOffset + i]);
+            }
+            IntArrSrcOverBlender.blendSpanOverSpan(
+                srcArr,
+                srcOffset,
+                dstArr,
+                dstOffset,
+                length);
+            checkEqual(expectedArr, dstArr);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Pixels with runs of opaque, fully transparent,
+     *         and translucent pixels.
+     */
+    private static int[] newRandomPixels(Random random, int length) {
+        final int[] arr = new int[length];
+        int i = 0;
+        while (i < length) {
+            final int runLength = Math.min(length - i, 1 + random.nextInt(8));
+            final int type = random.nextInt(3);
+            for (int j = 0; j < runLength; j++) {
+                final int premulArgb32;
+                if (type == 0) {
+                    premulArgb32 = 0;
+                } else if (type == 1) {
+                    premulArgb32 = randomPremulArgb32WithAlpha8(random, 0xFF);
+                } else {
+                    premulArgb32 = randomPremulArgb32(random);
+                }
+                arr[i++] = premulArgb32;
+            }
+        }
+        return arr;
+    }
+    
+    private static int randomTranslucentPremulArgb32(Random random) {
+        return randomPremulArgb32WithAlpha8(random, 1 + random.nextInt(0xFE));
+    }
+    
+    private static int randomPremulArgb32(Random random) {
+        return randomPremulArgb32WithAlpha8(random, random.nextInt(0x100));
+    }
+    
+    /**
+     * @return A valid alpha-premultiplied color, i.e. with each
+     *         component <= alpha.
+     */
+    private static int randomPremulArgb32WithAlpha8(Random random, int alpha8) {
+        final int r8 = random.nextInt(alpha8 + 1);
+        final int g8 = random.nextInt(alpha8 + 1);
+        final int b8 = random.nextInt(alpha8 + 1);
+        return (alpha8 << 24) | (r8 << 16) | (g8 << 8) | b8;
+    }
+    
+    private static void checkEqual(int expected, int actual) {
+        if (expected != actual) {
+            throw new AssertionError(
+                Integer.toHexString(expected)
+                + " != "
+                + Integer.toHexString(actual));
+        }
+    }
+    
+    private static void checkEqual(int[] expectedArr, int[] actualArr) {
+        assertEquals(expectedArr.length, actualArr.length);
+        for (int i = 0; i < expectedArr.length; i++) {
+            checkEqual(expectedArr[i], actualArr[i]);
+        }
+    }
+}
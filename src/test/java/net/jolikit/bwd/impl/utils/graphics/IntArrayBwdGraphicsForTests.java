@@ -0,0 +1,510 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import net.jolikit.bwd.api.fonts.BwdFontId;
+import net.jolikit.bwd.api.fonts.BwdFontStyles;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontHome;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.BaseBwdBindingConfig;
+import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.fonts.GlyphMask;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.SequentialParallelizer;
+
+/**
+ * Graphics drawing into an array of premultiplied ARGB32 pixels,
+ * for non-graphical unit tests.
+ * 
+ * Draws text with synthetic glyphs, which only depend on code points,
+ * either from glyph masks or from text data accessors,
+ * both giving the same pixels for non-overlapping glyphs.
+ * Doesn't support images drawing.
+ */
+public class IntArrayBwdGraphicsForTests extends AbstractIntArrayBwdGraphics {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    public static final int FONT_SIZE = 8;
+    
+    public static final int FONT_HEIGHT = 10;
+    
+    /**
+     * Advance of all glyphs.
+     */
+    public static final int CHAR_WIDTH = 6;
+    
+    /**
+     * Glyphs leak by this amount above and below text box.
+     */
+    public static final int GLYPH_Y_LEAK = 2;
+    
+    /**
+     * Code point which glyph leaks to the right of its advance
+     * by twice its advance.
+     */
+    public static final int OVERHANGING_CODE_POINT = 0x11A8;
+    
+    private final boolean canComputeGlyphMasks;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Constructor for root graphics not using glyph masks.
+     */
+    public IntArrayBwdGraphicsForTests(
+            InterfaceBwdBindingImpl binding,
+            GRect box,
+            //
+            boolean isImageGraphics,
+            int[] pixelArr,
+            int pixelArrScanlineStride) {
+        this(
+                binding,
+                box,
+                //
+                isImageGraphics,
+                pixelArr,
+                pixelArrScanlineStride,
+                //
+                false); // canComputeGlyphMasks
+    }
+    
+    /**
+     * Constructor for root graphics.
+     * 
+     * @param canComputeGlyphMasks True if glyph masks can be computed,
+     *        except for supplementary code points, to test fallback
+     *        on text data accessors.
+     */
+    public IntArrayBwdGraphicsForTests(
+            InterfaceBwdBindingImpl binding,
+            GRect box,
+            //
+            boolean isImageGraphics,
+            int[] pixelArr,
+            int pixelArrScanlineStride,
+            //
+            boolean canComputeGlyphMasks) {
+        this(
+                binding,
+                topLeftOf(box),
+                box,
+                box, // initialClip
+                //
+                isImageGraphics,
+                pixelArr,
+                pixelArrScanlineStride,
+                //
+                canComputeGlyphMasks);
+    }
+    
+    /**
+     * @param parallelizer Parallelizer for painting,
+     *        or null if parallel painting is not supported.
+     * @return A binding which only supports what these graphics use,
+     *         with no mipmap nor scaled image cache,
+     *         and a font home with no glyph masks cache.
+     */
+    public static InterfaceBwdBindingImpl newBinding(
+            InterfaceParallelizer parallelizer) {
+        return newBinding(parallelizer, null);
+    }
+    
+    /**
+     * @param parallelizer Parallelizer for painting,
+     *        or null if parallel painting is not supported.
+     * @param fontHome Font home, for its glyph masks cache.
+     *        Can be null.
+     * @return A binding which only supports what these graphics use,
+     *         with no mipmap nor scaled image cache,
+     *         and which default font is a new font (see newFont()).
+     */
+    public static InterfaceBwdBindingImpl newBinding(
+            final InterfaceParallelizer parallelizer,
+            final InterfaceBwdFontHome fontHome) {
+        final BaseBwdBindingConfig bindingConfig = new BaseBwdBindingConfig();
+        final InterfaceParallelizer internalParallelizer = new SequentialParallelizer();
+        final InterfaceBwdFont defaultFont = newFont();
+        final InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("getBindingConfig")) {
+                    return bindingConfig;
+                } else if (name.equals("getInternalParallelizer")) {
+                    return internalParallelizer;
+                } else if (name.equals("isParallelPaintingSupported")) {
+                    return (parallelizer != null);
+                } else if (name.equals("getParallelizer")) {
+                    return parallelizer;
+                } else if (name.equals("getFontHome")) {
+                    if (fontHome != null) {
+                        return fontHome;
+                    }
+                    return newProxy(InterfaceBwdFontHome.class, this);
+                } else if (name.equals("getDefaultFont")) {
+                    return defaultFont;
+                } else if (name.equals("isDisposed")) {
+                    return false;
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("toString")) {
+                    return "proxy";
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        };
+        return newProxy(InterfaceBwdBindingImpl.class, handler);
+    }
+    
+    /**
+     * @return A font of size FONT_SIZE, which metrics only support
+     *         height(), computeCharWidth(...) and computeTextWidth(...),
+     *         consistent with glyphs drawn by these graphics.
+     */
+    public static InterfaceBwdFont newFont() {
+        final BwdFontId fontId = new BwdFontId("test", BwdFontStyles.NORMAL, FONT_SIZE);
+        final InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("id")) {
+                    return fontId;
+                } else if (name.equals("size")) {
+                    return FONT_SIZE;
+                } else if (name.equals("isDisposed")) {
+                    return false;
+                } else if (name.equals("metrics")) {
+                    return newProxy(InterfaceBwdFontMetrics.class, this);
+                } else if (name.equals("height")) {
+                    return FONT_HEIGHT;
+                } else if (name.equals("computeCharWidth")) {
+                    return CHAR_WIDTH;
+                } else if (name.equals("computeTextWidth")) {
+                    final String text = (String) args[0];
+                    return CHAR_WIDTH * text.codePointCount(0, text.length());
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("toString")) {
+                    return "font proxy";
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        };
+        return newProxy(InterfaceBwdFont.class, handler);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    protected IntArrayBwdGraphicsForTests newChildGraphicsImpl(
+            GRect childBox,
+            GRect childMaxInitialClip) {
+        this.checkFinishNotCalled();
+        
+        final GRect childInitialClip =
+                this.getInitialClipInBase().intersected(
+                        childMaxInitialClip.intersected(childBox));
+        
+        return new IntArrayBwdGraphicsForTests(
+                this.getBinding(),
+                this.getRootBoxTopLeft(),
+                childBox,
+                childInitialClip,
+                //
+                this.isImageGraphics(),
+                this.getPixelArr(),
+                this.getPixelArrScanlineStride(),
+                //
+                this.canComputeGlyphMasks);
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected void finishImpl() {
+        // Nothing to do.
+    }
+    
+    @Override
+    protected void setBackingFont(InterfaceBwdFont font) {
+        // Nothing to do.
+    }
+    
+    @Override
+    protected void setBackingState(
+            boolean mustSetClip,
+            GRect clipInBase,
+            //
+            boolean mustSetTransform,
+            GTransform transform,
+            //
+            boolean mustSetColor,
+            int argb32,
+            BwdColor colorElseNull,
+            //
+            boolean mustSetFont,
+            InterfaceBwdFont font) {
+        
+        this.setBackingStateDefaultImpl(
+                mustSetClip,
+                clipInBase,
+                //
+                mustSetTransform,
+                transform,
+                //
+                mustSetColor,
+                argb32,
+                colorElseNull,
+                //
+                mustSetFont,
+                font);
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    protected InterfaceColorTypeHelper getArrayColorHelper() {
+        return PremulArgbHelper.getInstance();
+    }
+    
+    @Override
+    protected int getArrayColor32FromArgb32(int argb32) {
+        return BindingColorUtils.toPremulAxyz32(argb32);
+    }
+    
+    @Override
+    protected int getArgb32FromArrayColor32(int premulArgb32) {
+        return BindingColorUtils.toNonPremulAxyz32(premulArgb32);
+    }
+    
+    @Override
+    protected int toInvertedArrayColor32(int premulArgb32) {
+        return BindingColorUtils.toInvertedPremulAxyz32_noCheck(premulArgb32);
+    }
+    
+    @Override
+    protected int getArrayColorAlpha8(int premulArgb32) {
+        return Argb32.getAlpha8(premulArgb32);
+    }
+    
+    @Override
+    protected int blendArrayColor32(int srcPremulArgb32, int dstPremulArgb32) {
+        return BindingColorUtils.blendPremulAxyz32_srcOver(srcPremulArgb32, dstPremulArgb32);
+    }
+    
+    /*
+     * Text.
+     */
+    
+    @Override
+    protected boolean canComputeGlyphMasks() {
+        return this.canComputeGlyphMasks;
+    }
+    
+    /**
+     * Returns null for supplementary code points.
+     */
+    @Override
+    protected GlyphMask computeGlyphMask(InterfaceBwdFont font, int codePoint) {
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+            return null;
+        }
+        final int width = computeGlyphWidth(codePoint);
+        final int height = FONT_HEIGHT + 2 * GLYPH_Y_LEAK;
+        final byte[] alpha8Arr = new byte[width * height];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                alpha8Arr[j * width + i] = (byte) computeGlyphAlpha8(
+                        codePoint,
+                        i,
+                        j - GLYPH_Y_LEAK);
+            }
+        }
+        return GlyphMask.newTrimmed(
+                CHAR_WIDTH,
+                0,
+                -GLYPH_Y_LEAK,
+                width,
+                height,
+                alpha8Arr,
+                width);
+    }
+    
+    /**
+     * @return The specified rect, as accessor.
+     */
+    @Override
+    protected Object getClippedTextDataAccessor(
+            String text,
+            GRect maxClippedTextRectInText) {
+        return maxClippedTextRectInText;
+    }
+    
+    @Override
+    protected void disposeClippedTextDataAccessor(
+            Object clippedTextDataAccessor) {
+        // Nothing to do.
+    }
+    
+    @Override
+    protected GRect getRenderedClippedTextRectInText(
+            Object clippedTextDataAccessor) {
+        return (GRect) clippedTextDataAccessor;
+    }
+    
+    /**
+     * Uses the color of the first glyph covering the specified pixel,
+     * with the same coverage to color computation as for glyph masks.
+     */
+    @Override
+    protected int getTextColor32(
+            String text,
+            Object clippedTextDataAccessor,
+            int xInClippedText,
+            int yInClippedText) {
+        final GRect clippedTextRectInText = (GRect) clippedTextDataAccessor;
+        final int xInText = clippedTextRectInText.x() + xInClippedText;
+        final int yInText = clippedTextRectInText.y() + yInClippedText;
+        if ((yInText < -GLYPH_Y_LEAK)
+                || (yInText >= FONT_HEIGHT + GLYPH_Y_LEAK)) {
+            return 0;
+        }
+        int penX = 0;
+        int ci = 0;
+        while (ci < text.length()) {
+            final int cp = text.codePointAt(ci);
+            final int xInPen = xInText - penX;
+            if ((xInPen >= 0)
+                    && (xInPen < computeGlyphWidth(cp))) {
+                final int alpha8 = computeGlyphAlpha8(cp, xInPen, yInText);
+                if (alpha8 == 0) {
+                    return 0;
+                }
+                final int argb32 = this.getArgb32();
+                final int newAlpha8 = (Argb32.getAlpha8(argb32) * alpha8 + 127) / 255;
+                return this.getArrayColor32FromArgb32(
+                        Argb32.withAlpha8(argb32, newAlpha8));
+            }
+            penX += CHAR_WIDTH;
+            ci += Character.charCount(cp);
+        }
+        return 0;
+    }
+    
+    /*
+     * Images.
+     */
+    
+    @Override
+    protected Object getImageDataAccessor(InterfaceBwdImage image) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    protected void disposeImageDataAccessor(Object imageDataAccessor) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    protected int getImageColor32(
+            InterfaceBwdImage image,
+            Object imageDataAccessor,
+            int xInImage,
+            int yInImage) {
+        throw new UnsupportedOperationException();
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static <T> T newProxy(Class<T> clazz, InvocationHandler handler) {
+        return clazz.cast(Proxy.newProxyInstance(
+                clazz.getClassLoader(),
+                new Class<?>[]{clazz},
+                handler));
+    }
+    
+    private static int computeGlyphWidth(int codePoint) {
+        if (codePoint == OVERHANGING_CODE_POINT) {
+            return 3 * CHAR_WIDTH;
+        }
+        return CHAR_WIDTH;
+    }
+    
+    /**
+     * @param xInPen Must be in [0,glyphWidth[.
+     * @param yInText Must be in [-GLYPH_Y_LEAK,FONT_HEIGHT+GLYPH_Y_LEAK[.
+     * @return Coverage of the glyph for the specified code point,
+     *         in [0,255].
+     */
+    private static int computeGlyphAlpha8(int codePoint, int xInPen, int yInText) {
+        if (codePoint == ' ') {
+            return 0;
+        }
+        return ((codePoint * 31 + xInPen * 7 + yInText * 13) * 41) & 0xFF;
+    }
+    
+    private IntArrayBwdGraphicsForTests(
+            InterfaceBwdBindingImpl binding,
+            GPoint rootBoxTopLeft,
+            GRect box,
+            GRect initialClip,
+            //
+            boolean isImageGraphics,
+            int[] pixelArr,
+            int pixelArrScanlineStride,
+            //
+            boolean canComputeGlyphMasks) {
+        super(
+                binding,
+                rootBoxTopLeft,
+                box,
+                initialClip,
+                //
+                isImageGraphics,
+                pixelArr,
+                pixelArrScanlineStride);
+        this.canComputeGlyphMasks = canComputeGlyphMasks;
+    }
+}
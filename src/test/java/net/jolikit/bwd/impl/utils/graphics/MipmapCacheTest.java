@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.graphics.BwdScalingType;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.graphics.ImageCacheTestUtils.ImageForTests;
+
+public class MipmapCacheTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final BwdScalingType[] MIPMAPPED_SCALING_TYPE_ARR = new BwdScalingType[]{
+        BwdScalingType.ITERATIVE_BILINEAR,
+        BwdScalingType.ITERATIVE_BICUBIC,
+        BwdScalingType.ITERATIVE_BILINEAR_BICUBIC,
+    };
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_computeMipmapLevel() {
+        // No downscaling.
+        assertEquals(0, SrdIterForDown.computeMipmapLevel(10, 10, 10, 10));
+        assertEquals(0, SrdIterForDown.computeMipmapLevel(10, 10, 20, 20));
+        // Single halving or less: direct draw.
+        assertEquals(0, SrdIterForDown.computeMipmapLevel(10, 10, 5, 5));
+        assertEquals(0, SrdIterForDown.computeMipmapLevel(10, 10, 7, 6));
+        // 100 -> 50 -> 25 -> 13 -> 10
+        assertEquals(3, SrdIterForDown.computeMipmapLevel(100, 100, 10, 10));
+        // 101 -> 51 -> 26 -> 13 -> 7 -> 5
+        assertEquals(4, SrdIterForDown.computeMipmapLevel(101, 101, 5, 5));
+        // Exactly reaching destination span: last level is the destination.
+        // 100 -> 50 -> 25
+        assertEquals(1, SrdIterForDown.computeMipmapLevel(100, 100, 25, 25));
+        // One axis not downscaled: no mipmap level.
+        assertEquals(0, SrdIterForDown.computeMipmapLevel(100, 1000, 100, 10));
+        // One axis reaching its destination span before the other:
+        // 1000 -> 500 -> 250 -> 125 -> 63
+        // 100 -> 50 -> (40 instead of 25)
+        assertEquals(1, SrdIterForDown.computeMipmapLevel(1000, 100, 60, 40));
+        
+        assertEquals(1, SrdIterForDown.computeMipmapSpan(1));
+        assertEquals(1, SrdIterForDown.computeMipmapSpan(2));
+        assertEquals(2, SrdIterForDown.computeMipmapSpan(3));
+        assertEquals(50, SrdIterForDown.computeMipmapSpan(100));
+    }
+    
+    public void test_drawScaledRect_sameAsWithoutMipmaps() {
+        final Random random = new Random(123456789L);
+        final int sw = 97;
+        final int sh = 64;
+        final IntArrSrcPixels srcPixels = ImageCacheTestUtils.newRandomSrcPixels(random, sw, sh);
+        final ImageForTests image = new ImageForTests(sw, sh);
+        
+        final MipmapCache cache = new MipmapCache(Long.MAX_VALUE);
+        
+        final int[][] dstSpansArr = new int[][]{
+            {40, 30},
+            {10, 7},
+            {3, 2},
+            {1, 1},
+            {50, 3},
+            {24, 16},
+        };
+        for (BwdScalingType scalingType : MIPMAPPED_SCALING_TYPE_ARR) {
+            for (int[] dstSpans : dstSpansArr) {
+                // Non-(0,0) destination, with a clip.
+                final GRect dstRect = GRect.valueOf(7, 5, dstSpans[0], dstSpans[1]);
+                final GRect dstClip = dstRect.withBordersDeltas(1, 0, 0, -1);
+                
+                final int[] expected = draw(
+                    scalingType,
+                    srcPixels,
+                    dstRect,
+                    dstClip,
+                    null,
+                    null);
+                // Twice, for second one to hit.
+                for (int k = 0; k < 2; k++) {
+                    final int[] actual = draw(
+                        scalingType,
+                        srcPixels,
+                        dstRect,
+                        dstClip,
+                        cache,
+                        image);
+                    assertTrue(
+                        scalingType + ", " + dstRect + ", k = " + k,
+                        Arrays.equals(expected, actual));
+                }
+            }
+        }
+        assertTrue(cache.getHitCount() > 0);
+        // Bilinear and bilinear-bicubic share levels.
+        assertEquals(2, cache.size());
+    }
+    
+    public void test_getLevelPixels_hitsMissesAndVersions() {
+        final Random random = new Random(123456789L);
+        final int sw = 64;
+        final int sh = 32;
+        final IntArrSrcPixels srcPixels = ImageCacheTestUtils.newRandomSrcPixels(random, sw, sh);
+        final ImageForTests image = new ImageForTests(sw, sh);
+        final SrdIterForDown drawer = new SrdIterBili();
+        
+        final MipmapCache cache = new MipmapCache(Long.MAX_VALUE);
+        
+        final InterfaceSrcPixels level2 = getLevel(cache, drawer, image, 0L, srcPixels, 2);
+        assertEquals(GRect.valueOf(0, 0, 16, 8), level2.getRect());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals((32 * 16 + 16 * 8) * 4L, cache.getByteSize());
+        
+        // Shallower level: hit.
+        final InterfaceSrcPixels level1 = getLevel(cache, drawer, image, 0L, srcPixels, 1);
+        assertEquals(GRect.valueOf(0, 0, 32, 16), level1.getRect());
+        assertSame(level2, getLevel(cache, drawer, image, 0L, srcPixels, 2));
+        assertEquals(2, cache.getHitCount());
+        
+        // Deeper level: computed from cached ones.
+        final InterfaceSrcPixels level3 = getLevel(cache, drawer, image, 0L, srcPixels, 3);
+        assertEquals(GRect.valueOf(0, 0, 8, 4), level3.getRect());
+        assertEquals(2, cache.getMissCount());
+        assertSame(level1, getLevel(cache, drawer, image, 0L, srcPixels, 1));
+        assertEquals(1, cache.size());
+        
+        // New content version: recomputed.
+        assertNotSame(level1, getLevel(cache, drawer, image, 1L, srcPixels, 1));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(32 * 16 * 4L, cache.getByteSize());
+        
+        cache.removeAllForImage(image);
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getByteSize());
+    }
+    
+    public void test_getLevelPixels_eviction() {
+        final Random random = new Random(123456789L);
+        final int sw = 64;
+        final int sh = 64;
+        final IntArrSrcPixels srcPixels = ImageCacheTestUtils.newRandomSrcPixels(random, sw, sh);
+        final SrdIterForDown drawer = new SrdIterBili();
+        
+        final long levelByteSize = 32 * 32 * 4L;
+        final MipmapCache cache = new MipmapCache(2 * levelByteSize);
+        
+        final ImageForTests image1 = new ImageForTests(sw, sh);
+        final ImageForTests image2 = new ImageForTests(sw, sh);
+        final ImageForTests image3 = new ImageForTests(sw, sh);
+        getLevel(cache, drawer, image1, 0L, srcPixels, 1);
+        getLevel(cache, drawer, image2, 0L, srcPixels, 1);
+        // Image 1 becomes the most recently used.
+        getLevel(cache, drawer, image1, 0L, srcPixels, 1);
+        getLevel(cache, drawer, image3, 0L, srcPixels, 1);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2 * levelByteSize, cache.getByteSize());
+        
+        final long hitCount = cache.getHitCount();
+        getLevel(cache, drawer, image1, 0L, srcPixels, 1);
+        assertEquals(hitCount + 1, cache.getHitCount());
+        getLevel(cache, drawer, image2, 0L, srcPixels, 1);
+        assertEquals(hitCount + 1, cache.getHitCount());
+        
+        // Too large to be cached, but still computed.
+        final InterfaceSrcPixels level = getLevel(
+            new MipmapCache(levelByteSize - 1), drawer, image1, 0L, srcPixels, 1);
+        assertEquals(GRect.valueOf(0, 0, 32, 32), level.getRect());
+    }
+    
+    /**
+     * Levels computed while the image mipmaps are removed
+     * (such as on image disposal) must not be put back in cache.
+     */
+    public void test_getLevelPixels_removalWhileComputing() {
+        final Random random = new Random(123456789L);
+        final int sw = 64;
+        final int sh = 64;
+        final IntArrSrcPixels srcPixels = ImageCacheTestUtils.newRandomSrcPixels(random, sw, sh);
+        final ImageForTests image = new ImageForTests(sw, sh);
+        final SrdIterForDown drawer = new SrdIterBili();
+        
+        final MipmapCache cache = new MipmapCache(Long.MAX_VALUE);
+        
+        // Removing on first pixels access, which happens
+        // while computing levels, out of cache lock.
+        final InterfaceSrcPixels removingSrcPixels = new InterfaceSrcPixels() {
+            private boolean removed = false;
+            @Override
+            public GRect getRect() {
+                this.removeIfNotDone();
+                return srcPixels.getRect();
+            }
+            @Override
+            public int[] color32Arr() {
+                this.removeIfNotDone();
+                return srcPixels.color32Arr();
+            }
+            @Override
+            public int getScanlineStride() {
+                this.removeIfNotDone();
+                return srcPixels.getScanlineStride();
+            }
+            @Override
+            public int getColor32At(int x, int y) {
+                this.removeIfNotDone();
+                return srcPixels.getColor32At(x, y);
+            }
+            private void removeIfNotDone() {
+                if (!this.removed) {
+                    this.removed = true;
+                    cache.removeAllForImage(image);
+                }
+            }
+        };
+        final InterfaceSrcPixels level = getLevel(cache, drawer, image, 0L, removingSrcPixels, 1);
+        assertEquals(GRect.valueOf(0, 0, 32, 32), level.getRect());
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getByteSize());
+        
+        // Cached again if no removal meanwhile.
+        getLevel(cache, drawer, image, 0L, srcPixels, 1);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static InterfaceSrcPixels getLevel(
+        MipmapCache cache,
+        SrdIterForDown drawer,
+        InterfaceBwdImage image,
+        long contentVersion,
+        InterfaceSrcPixels srcPixels,
+        int level) {
+        return cache.getLevelPixels(
+            ImageCacheTestUtils.PARALLELIZER,
+            ImageCacheTestUtils.COLOR_TYPE_HELPER,
+            drawer,
+            image,
+            contentVersion,
+            srcPixels,
+            level);
+    }
+    
+    /**
+     * @return Pixels of dstRect (zero out of clip).
+     */
+    private static int[] draw(
+        BwdScalingType scalingType,
+        InterfaceSrcPixels srcPixels,
+        GRect dstRect,
+        GRect dstClip,
+        MipmapCache cache,
+        InterfaceBwdImage image) {
+        final int[] dstArr = new int[dstRect.area()];
+        final IntArrCopyRowDrawer rowDrawer = new IntArrCopyRowDrawer();
+        rowDrawer.configure(
+            GTransform.valueOf(0, -dstRect.x(), -dstRect.y()),
+            dstArr,
+            dstRect.xSpan());
+        ScaledRectDrawing.drawScaledRect(
+            ImageCacheTestUtils.PARALLELIZER,
+            scalingType,
+            ImageCacheTestUtils.COLOR_TYPE_HELPER,
+            //
+            srcPixels,
+            srcPixels.getRect(),
+            //
+            dstRect,
+            dstClip,
+            rowDrawer,
+            //
+            cache,
+            image,
+            0L);
+        return dstArr;
+    }
+}
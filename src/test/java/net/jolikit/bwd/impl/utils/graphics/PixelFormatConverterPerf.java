@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.prl.ExecutorParallelizer;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+
+/**
+ * Compares bulk conversions of PixelFormatConverter
+ * (sequential and parallel) with per-pixel conversions.
+ * 
+ * To be run along with BufferedImageHelperPerfs,
+ * which bulk int arrays copies use these bulk conversions.
+ */
+public class PixelFormatConverterPerf {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    /**
+     * 3 for 1 load/warmup run + 2 meaningful runs.
+     */
+    private static final int NBR_OF_RUNS = 3;
+    
+    private static final int NBR_OF_CALLS = 20;
+    
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    
+    private static final int PARALLELISM =
+        Math.max(2, Runtime.getRuntime().availableProcessors());
+    
+    private static final PixelFormatConverter ARGB32 =
+        PixelFormatConverter.valueOf(0xFF000000, 0x00FF0000, 0x0000FF00, 0x000000FF);
+    private static final PixelFormatConverter ABGR32 =
+        PixelFormatConverter.valueOf(0xFF000000, 0x000000FF, 0x0000FF00, 0x00FF0000);
+    private static final PixelFormatConverter RGBA32 =
+        PixelFormatConverter.valueOf(0x000000FF, 0xFF000000, 0x00FF0000, 0x0000FF00);
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public static void main(String[] args) {
+        newRun();
+    }
+    
+    public static void newRun() {
+        final long a = System.nanoTime();
+        System.out.println("--- " + PixelFormatConverterPerf.class.getSimpleName() + "... ---");
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            final InterfaceParallelizer parallelizer =
+                new ExecutorParallelizer(
+                    executor,
+                    PARALLELISM,
+                    Integer.MAX_VALUE);
+            
+            bench_convert("ABGR32 to ARGB32", ABGR32, false, ARGB32, false, parallelizer);
+            System.out.println();
+            bench_convert("ARGB32 to ARGB32 premul", ARGB32, false, ARGB32, true, parallelizer);
+            System.out.println();
+            bench_convert("RGBA32 premul to ABGR32", RGBA32, true, ABGR32, false, parallelizer);
+        } finally {
+            executor.shutdown();
+        }
+        
+        final long b = System.nanoTime();
+        System.out.println("--- ..." + PixelFormatConverterPerf.class.getSimpleName()
+            + ", " + TestUtils.nsToSRounded(b-a) + " s ---");
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static void bench_convert(
+        String desc,
+        PixelFormatConverter srcConverter,
+        boolean srcPremul,
+        PixelFormatConverter dstConverter,
+        boolean dstPremul,
+        InterfaceParallelizer parallelizer) {
+        final Random random = TestUtils.newRandom123456789L();
+        final int[] srcArr = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < srcArr.length; i++) {
+            int argb32 = random.nextInt();
+            if (srcPremul) {
+                argb32 = BindingColorUtils.toPremulAxyz32(argb32);
+            }
+            srcArr[i] = srcConverter.toPixel(argb32);
+        }
+        final int[] dstArr = new int[WIDTH * HEIGHT];
+        
+        for (String mode : new String[]{"scalar", "bulk", "bulk prl"}) {
+            for (int k = 0; k < NBR_OF_RUNS; k++) {
+                final long a = System.nanoTime();
+                for (int i = 0; i < NBR_OF_CALLS; i++) {
+                    if (mode.equals("scalar")) {
+                        for (int j = 0; j < srcArr.length; j++) {
+                            int argb32 = srcConverter.toArgb32(srcArr[j]);
+                            if (srcPremul != dstPremul) {
+                                if (dstPremul) {
+                                    argb32 = BindingColorUtils.toPremulAxyz32(argb32);
+                                } else {
+                                    argb32 = BindingColorUtils.toNonPremulAxyz32(argb32);
+                                }
+                            }
+                            dstArr[j] = dstConverter.toPixel(argb32);
+                        }
+                    } else if (mode.equals("bulk")) {
+                        PixelFormatConverter.convert(
+                            srcConverter, srcPremul, srcArr, 0, WIDTH,
+                            dstConverter, dstPremul, dstArr, 0, WIDTH,
+                            WIDTH, HEIGHT);
+                    } else {
+                        PixelFormatConverter.convert(
+                            parallelizer,
+                            srcConverter, srcPremul, srcArr, 0, WIDTH,
+                            dstConverter, dstPremul, dstArr, 0, WIDTH,
+                            WIDTH, HEIGHT);
+                    }
+                }
+                final long b = System.nanoTime();
+                TestUtils.blackHole(dstArr[random.nextInt(dstArr.length)]);
+                printResult(desc, mode, b - a);
+            }
+        }
+    }
+    
+    private static void printResult(String desc, String mode, long dtNs) {
+        final double nbrOfPixels = NBR_OF_CALLS * (double) (WIDTH * HEIGHT);
+        final double pixelsPerSecond = nbrOfPixels / (dtNs / 1e9);
+        System.out.println(desc
+            + ", " + mode
+            + ", " + (long) (pixelsPerSecond / 1e6) + " Mpixels/s"
+            + ", took " + TestUtils.nsToSRounded(dtNs) + " s");
+    }
+}
@@ -15,11 +15,67 @@
  */
 package net.jolikit.bwd.impl.utils.graphics;
 
+import java.util.Random;
+
 import junit.framework.TestCase;
 import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.prl.InterfaceParallelizer;
+import net.jolikit.threading.prl.InterfaceSplittable;
 
 public class PixelFormatConverterTest extends TestCase {
     
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_CASES = 100;
+    
+    /**
+     * Specialized formats, and formats that are not.
+     */
+    private static final PixelFormatConverter[] CONVERTER_ARR = new PixelFormatConverter[]{
+        // ARGB32, ABGR32, RGBA32, BGRA32.
+        PixelFormatConverter.valueOf(0xFF000000, 0x00FF0000, 0x0000FF00, 0x000000FF),
+        PixelFormatConverter.valueOf(0xFF000000, 0x000000FF, 0x0000FF00, 0x00FF0000),
+        PixelFormatConverter.valueOf(0x000000FF, 0xFF000000, 0x00FF0000, 0x0000FF00),
+        PixelFormatConverter.valueOf(0x000000FF, 0x0000FF00, 0x00FF0000, 0xFF000000),
+        // XRGB24, XBGR24.
+        PixelFormatConverter.valueOf(0, 0x00FF0000, 0x0000FF00, 0x000000FF),
+        PixelFormatConverter.valueOf(0, 0x000000FF, 0x0000FF00, 0x00FF0000),
+        // Not specialized.
+        PixelFormatConverter.valueOf(0xFF000000, 0x0000FF00, 0x00FF0000, 0x000000FF),
+        PixelFormatConverter.valueOf(0x0F000000, 0x00FF0000, 0x0000E000, 0x00001000),
+    };
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Claims a parallelism of 2, and splits splittables
+     * as much as worth it, but runs everything in the calling thread,
+     * for determinism.
+     */
+    private static class MySplittingParallelizer implements InterfaceParallelizer {
+        int nbrOfSplits = 0;
+        @Override
+        public int getParallelism() {
+            return 2;
+        }
+        @Override
+        public void execute(Runnable runnable) {
+            if (runnable instanceof InterfaceSplittable) {
+                final InterfaceSplittable splittable = (InterfaceSplittable) runnable;
+                while (splittable.worthToSplit()) {
+                    this.nbrOfSplits++;
+                    this.execute(splittable.split());
+                }
+            }
+            runnable.run();
+        }
+    }
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
@@ -112,10 +168,180 @@ public class PixelFormatConverterTest extends TestCase {
         checkEquals(0x0F0810A1, converter.toPixel(0xFF81B6FF));
     }
     
+    /*
+     * Bulk conversions.
+     */
+    
+    public void test_toArgb32_bulk_toPixel_bulk() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int k = 0; k < NBR_OF_CASES; k++) {
+            final PixelFormatConverter converter =
+                CONVERTER_ARR[random.nextInt(CONVERTER_ARR.length)];
+            final int width = random.nextInt(20);
+            final int height = random.nextInt(20);
+            final int srcStride = width + random.nextInt(3);
+            final int dstStride = width + random.nextInt(3);
+            final int srcOffset = random.nextInt(3);
+            final int dstOffset = random.nextInt(3);
+            final int[] srcArr = newRandomArr(random, srcOffset + srcStride * height);
+            final int[] dstArr = newRandomArr(random, dstOffset + dstStride * height);
+            
+            final int[] expectedArgb32Arr = dstArr.clone();
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    expectedArgb32Arr[dstOffset + j * dstStride + i] =
+                        converter.toArgb32(srcArr[srcOffset + j * srcStride + i]);
+                }
+            }
+            final int[] actualArgb32Arr = dstArr.clone();
+            converter.toArgb32(
+                srcArr, srcOffset, srcStride,
+                actualArgb32Arr, dstOffset, dstStride,
+                width, height);
+            checkEquals(expectedArgb32Arr, actualArgb32Arr);
+            
+            final int[] expectedPixelArr = dstArr.clone();
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    expectedPixelArr[dstOffset + j * dstStride + i] =
+                        converter.toPixel(srcArr[srcOffset + j * srcStride + i]);
+                }
+            }
+            final int[] actualPixelArr = dstArr.clone();
+            converter.toPixel(
+                srcArr, srcOffset, srcStride,
+                actualPixelArr, dstOffset, dstStride,
+                width, height);
+            checkEquals(expectedPixelArr, actualPixelArr);
+            
+            // In place.
+            final int[] inPlaceArr = srcArr.clone();
+            converter.toArgb32(
+                inPlaceArr, srcOffset, srcStride,
+                inPlaceArr, srcOffset, srcStride,
+                width, height);
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    final int index = srcOffset + j * srcStride + i;
+                    checkEquals(converter.toArgb32(srcArr[index]), inPlaceArr[index]);
+                }
+            }
+        }
+    }
+    
+    public void test_convert() {
+        final Random random = TestUtils.newRandom123456789L();
+        for (int k = 0; k < NBR_OF_CASES * 10; k++) {
+            final PixelFormatConverter srcConverter =
+                CONVERTER_ARR[random.nextInt(CONVERTER_ARR.length)];
+            final PixelFormatConverter dstConverter =
+                CONVERTER_ARR[random.nextInt(CONVERTER_ARR.length)];
+            // Lossy formats can't hold valid premul colors.
+            final boolean srcPremul = random.nextBoolean()
+                && (srcConverter.toArgb32(srcConverter.toPixel(0x01020304)) == 0x01020304);
+            final boolean dstPremul = random.nextBoolean();
+            final boolean parallel = random.nextBoolean();
+            final int width = random.nextInt(parallel ? 300 : 20);
+            final int height = random.nextInt(parallel ? 300 : 20);
+            final int srcStride = width + random.nextInt(3);
+            final int dstStride = width + random.nextInt(3);
+            final int srcOffset = random.nextInt(3);
+            final int dstOffset = random.nextInt(3);
+            final int[] srcArr = new int[srcOffset + srcStride * height];
+            for (int i = 0; i < srcArr.length; i++) {
+                int argb32 = random.nextInt();
+                if (srcPremul) {
+                    argb32 = BindingColorUtils.toPremulAxyz32(argb32);
+                }
+                srcArr[i] = srcConverter.toPixel(argb32);
+            }
+            final int[] dstArr = newRandomArr(random, dstOffset + dstStride * height);
+            
+            final int[] expectedArr = dstArr.clone();
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    int argb32 = srcConverter.toArgb32(srcArr[srcOffset + j * srcStride + i]);
+                    if (srcPremul != dstPremul) {
+                        if (dstPremul) {
+                            argb32 = BindingColorUtils.toPremulAxyz32(argb32);
+                        } else {
+                            argb32 = BindingColorUtils.toNonPremulAxyz32(argb32);
+                        }
+                    }
+                    expectedArr[dstOffset + j * dstStride + i] = dstConverter.toPixel(argb32);
+                }
+            }
+            
+            final int[] actualArr = dstArr.clone();
+            if (parallel) {
+                final MySplittingParallelizer parallelizer = new MySplittingParallelizer();
+                PixelFormatConverter.convert(
+                    parallelizer,
+                    srcConverter, srcPremul, srcArr, srcOffset, srcStride,
+                    dstConverter, dstPremul, actualArr, dstOffset, dstStride,
+                    width, height);
+                if (width * height >= 64 * 1024) {
+                    assertTrue(parallelizer.nbrOfSplits > 0);
+                }
+            } else {
+                PixelFormatConverter.convert(
+                    srcConverter, srcPremul, srcArr, srcOffset, srcStride,
+                    dstConverter, dstPremul, actualArr, dstOffset, dstStride,
+                    width, height);
+            }
+            checkEquals(expectedArr, actualArr);
+        }
+    }
+    
+    public void test_convert_exceptions() {
+        final PixelFormatConverter converter = CONVERTER_ARR[0];
+        final int[] arr = new int[10];
+        try {
+            PixelFormatConverter.convert(
+                null, false, arr, 0, 2, converter, false, arr, 0, 2, 2, 5);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            PixelFormatConverter.convert(
+                converter, false, arr, 0, 1, converter, false, arr, 0, 2, 2, 5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        try {
+            PixelFormatConverter.convert(
+                converter, false, arr, 1, 2, converter, false, arr, 0, 2, 2, 5);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // ok
+        }
+        // Empty area: no bounds check.
+        PixelFormatConverter.convert(
+            converter, false, arr, 100, 2, converter, false, arr, 0, 2, 2, 0);
+    }
+    
     //--------------------------------------------------------------------------
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
+    private static int[] newRandomArr(Random random, int length) {
+        final int[] arr = new int[length];
+        for (int i = 0; i < length; i++) {
+            arr[i] = random.nextInt();
+        }
+        return arr;
+    }
+    
+    private static void checkEquals(int[] expected, int[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            checkEquals(expected[i], actual[i]);
+        }
+    }
+    
+    
     private static void checkEquals(int expected, int actual) {
         final String e = Argb32.toString(expected);
         final String a = Argb32.toString(actual);
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.impl.utils.graphics;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.jolikit.bwd.api.graphics.BwdScalingType;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.GRotation;
+import net.jolikit.bwd.api.graphics.GTransform;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.api.graphics.InterfaceBwdImage;
+import net.jolikit.bwd.impl.utils.graphics.ImageCacheTestUtils.ImageForTests;
+
+public class ScaledImageCacheTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private static final BwdScalingType SCALING_TYPE = BwdScalingType.BOXSAMPLED;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Scaled pixels are cached for destination rect at (0,0),
+     * and used for any destination rect and clip.
+     */
+    public void test_scaledPixels_dependOnlyOnRelativePosition() {
+        final Random random = new Random(123456789L);
+        final int sw = 37;
+        final int sh = 23;
+        final IntArrSrcPixels srcPixels = ImageCacheTestUtils.newRandomSrcPixels(random, sw, sh);
+        final GRect srcRect = GRect.valueOf(2, 1, sw - 5, sh - 3);
+        
+        final int[][] dstSpansArr = new int[][]{
+            {11, 7},
+            {64, 45},
+            {20, 60},
+        };
+        for (BwdScalingType scalingType : BwdScalingType.values()) {
+            for (int[] dstSpans : dstSpansArr) {
+                final int dw = dstSpans[0];
+                final int dh = dstSpans[1];
+                final GRect scaledRect = GRect.valueOf(0, 0, dw, dh);
+                final int[] scaledArr = draw(
+                    scalingType,
+                    srcPixels,
+                    srcRect,
+                    scaledRect,
+                    scaledRect);
+                
+                final GRect dstRect = GRect.valueOf(-3, 1000, dw, dh);
+                final GRect dstClip = GRect.valueOf(0, 1002, dw, dh);
+                final int[] dstArr = draw(
+                    scalingType,
+                    srcPixels,
+                    srcRect,
+                    dstRect,
+                    dstClip);
+                
+                final GRect rect = dstRect.intersected(dstClip);
+                for (int y = rect.y(); y <= rect.yMax(); y++) {
+                    for (int x = rect.x(); x <= rect.xMax(); x++) {
+                        final int index = (y - dstRect.y()) * dw + (x - dstRect.x());
+                        assertEquals(
+                            scalingType + ", " + dstRect + ", (" + x + "," + y + ")",
+                            scaledArr[index],
+                            dstArr[index]);
+                    }
+                }
+            }
+        }
+    }
+    
+    public void test_getPut_hitsMissesAndVersions() {
+        final ScaledImageCache cache = new ScaledImageCache(1000L);
+        final ImageForTests image = new ImageForTests(10, 10);
+        final GRect srcRect = GRect.valueOf(0, 0, 10, 10);
+        
+        assertTrue(cache.isCacheable(10, 25));
+        assertFalse(cache.isCacheable(10, 26));
+        
+        assertNull(get(cache, image, 0L, srcRect, 5, 5));
+        assertEquals(1, cache.getMissCount());
+        
+        final int[] arr = new int[5 * 5];
+        put(cache, image, 0L, srcRect, 5, 5, arr);
+        assertEquals(1, cache.size());
+        assertEquals(100L, cache.getByteSize());
+        assertSame(arr, get(cache, image, 0L, srcRect, 5, 5));
+        assertEquals(1, cache.getHitCount());
+        
+        // Other keys.
+        assertNull(get(cache, image, 0L, srcRect, 5, 4));
+        assertNull(get(cache, image, 0L, GRect.valueOf(0, 0, 9, 10), 5, 5));
+        assertNull(cache.get(
+            image, 0L, srcRect, 5, 5,
+            BwdScalingType.ITERATIVE_BICUBIC, ImageCacheTestUtils.COLOR_TYPE_HELPER));
+        assertNull(cache.get(
+            image, 0L, srcRect, 5, 5,
+            SCALING_TYPE, NonPremulArgbHelper.getInstance()));
+        assertNull(get(cache, new ImageForTests(10, 10), 0L, srcRect, 5, 5));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(6, cache.getMissCount());
+        
+        // Other content version: removed.
+        assertNull(get(cache, image, 1L, srcRect, 5, 5));
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getByteSize());
+        
+        put(cache, image, 1L, srcRect, 5, 5, arr);
+        put(cache, image, 1L, srcRect, 4, 4, new int[4 * 4]);
+        assertEquals(2, cache.size());
+        cache.removeAllForImage(image);
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getByteSize());
+        
+        try {
+            put(cache, image, 0L, srcRect, 5, 5, new int[5 * 4]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+    }
+    
+    /**
+     * Reading pixels or changing graphics state must not change
+     * content version, and thus not invalidate cached pixels.
+     */
+    public void test_contentVersion_onlyChangedByPixelsModifications() {
+        final ScaledImageCache cache = new ScaledImageCache(1000L);
+        final ImageForTests image = new ImageForTests(10, 10);
+        final GRect srcRect = GRect.valueOf(0, 0, 10, 10);
+        
+        final IntArrayBwdGraphicsForTests g = new IntArrayBwdGraphicsForTests(
+            IntArrayBwdGraphicsForTests.newBinding(null),
+            srcRect,
+            true, // isImageGraphics
+            new int[srcRect.area()],
+            srcRect.xSpan());
+        g.init();
+        g.fillRect(1, 1, 5, 5);
+        
+        final long version = g.getContentVersion();
+        assertTrue(version >= 0L);
+        final int[] arr = new int[5 * 5];
+        put(cache, image, version, srcRect, 5, 5, arr);
+        
+        // Reads and state changes.
+        g.getArgb32At(2, 2);
+        g.getArgb64At(2, 2);
+        g.getArgb32s(srcRect, new int[srcRect.area()], 0, srcRect.xSpan());
+        g.setArgb32(0xFF102030);
+        g.addClipInUser(GRect.valueOf(1, 1, 5, 5));
+        g.setTransform(GTransform.valueOf(GRotation.ROT_90, 10, 0));
+        g.removeAllAddedClips();
+        g.setTransform(GTransform.IDENTITY);
+        final InterfaceBwdGraphics child = g.newChildGraphics(srcRect);
+        child.init();
+        child.getArgb32At(3, 3);
+        child.finish();
+        
+        assertEquals(version, g.getContentVersion());
+        assertSame(arr, get(cache, image, g.getContentVersion(), srcRect, 5, 5));
+        
+        // Modifications, from child graphics as well.
+        for (int k = 0; k < 2; k++) {
+            final InterfaceBwdGraphics gg;
+            if (k == 0) {
+                gg = g;
+            } else {
+                gg = g.newChildGraphics(srcRect);
+                gg.init();
+            }
+            final long versionBefore = g.getContentVersion();
+            gg.drawPoint(1, 1);
+            assertTrue(g.getContentVersion() != versionBefore);
+            gg.clearRect(1, 1, 2, 2);
+            gg.flipColors(1, 1, 2, 2);
+            gg.copyArea(GRect.valueOf(1, 1, 2, 2), 1, 0);
+            gg.drawPixels(new int[4], 0, 2, GRect.valueOf(1, 1, 2, 2));
+            assertEquals(versionBefore + 5, g.getContentVersion());
+            if (k != 0) {
+                gg.finish();
+            }
+        }
+        
+        assertNull(get(cache, image, g.getContentVersion(), srcRect, 5, 5));
+        
+        g.finish();
+    }
+    
+    public void test_put_eviction() {
+        final ScaledImageCache cache = new ScaledImageCache(2 * 100L);
+        final GRect srcRect = GRect.valueOf(0, 0, 10, 10);
+        final ImageForTests image1 = new ImageForTests(10, 10);
+        final ImageForTests image2 = new ImageForTests(10, 10);
+        final ImageForTests image3 = new ImageForTests(10, 10);
+        
+        put(cache, image1, 0L, srcRect, 5, 5, new int[5 * 5]);
+        put(cache, image2, 0L, srcRect, 5, 5, new int[5 * 5]);
+        // Image 1 becomes the most recently used.
+        assertNotNull(get(cache, image1, 0L, srcRect, 5, 5));
+        put(cache, image3, 0L, srcRect, 5, 5, new int[5 * 5]);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(get(cache, image1, 0L, srcRect, 5, 5));
+        assertNull(get(cache, image2, 0L, srcRect, 5, 5));
+        assertNotNull(get(cache, image3, 0L, srcRect, 5, 5));
+        
+        // Too large: ignored.
+        put(cache, image2, 0L, srcRect, 10, 10, new int[10 * 10]);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static int[] get(
+        ScaledImageCache cache,
+        InterfaceBwdImage image,
+        long contentVersion,
+        GRect srcRect,
+        int dw,
+        int dh) {
+        return cache.get(
+            image,
+            contentVersion,
+            srcRect,
+            dw,
+            dh,
+            SCALING_TYPE,
+            ImageCacheTestUtils.COLOR_TYPE_HELPER);
+    }
+    
+    private static void put(
+        ScaledImageCache cache,
+        InterfaceBwdImage image,
+        long contentVersion,
+        GRect srcRect,
+        int dw,
+        int dh,
+        int[] arr) {
+        cache.put(
+            image,
+            contentVersion,
+            srcRect,
+            dw,
+            dh,
+            SCALING_TYPE,
+            ImageCacheTestUtils.COLOR_TYPE_HELPER,
+            arr);
+    }
+    
+    /**
+     * @return Pixels of dstRect (zero out of clip).
+     */
+    private static int[] draw(
+        BwdScalingType scalingType,
+        InterfaceSrcPixels srcPixels,
+        GRect srcRect,
+        GRect dstRect,
+        GRect dstClip) {
+        final int[] dstArr = new int[dstRect.area()];
+        final IntArrCopyRowDrawer rowDrawer = new IntArrCopyRowDrawer();
+        rowDrawer.configure(
+            GTransform.valueOf(0, -dstRect.x(), -dstRect.y()),
+            dstArr,
+            dstRect.xSpan());
+        ScaledRectDrawing.drawScaledRect(
+            ImageCacheTestUtils.PARALLELIZER,
+            scalingType,
+            ImageCacheTestUtils.COLOR_TYPE_HELPER,
+            //
+            srcPixels,
+            srcRect,
+            //
+            dstRect,
+            dstClip,
+            rowDrawer);
+        return dstArr;
+    }
+}
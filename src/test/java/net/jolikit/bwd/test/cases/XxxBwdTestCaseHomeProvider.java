@@ -37,11 +37,13 @@ import net.jolikit.bwd.test.cases.unittests.HostUnitTestBwdTestCase;
 import net.jolikit.bwd.test.cases.unittests.UiSchedulerAndThrowUnitTestBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDirtyFillRectBulkBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDirtyFillRectBwdTestCase;
+import net.jolikit.bwd.test.cases.visualbenches.BenchDisplayListReplayBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDrawImageIterBicuBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDrawImageIterBiliBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDrawImageBoxsampledBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDrawImageNearestBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchDrawTextBwdTestCase;
+import net.jolikit.bwd.test.cases.visualbenches.BenchFillPolygonBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchNewChildGBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchPacMiceOpaqBgOpaqFgBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchPacMiceOpaqBgTranspFgBwdTestCase;
@@ -51,6 +53,8 @@ import net.jolikit.bwd.test.cases.visualbenches.BenchParallelFillBwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchRepaint_0s_BwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchRepaint_1Over30s_BwdTestCase;
 import net.jolikit.bwd.test.cases.visualbenches.BenchRepaint_1Over60s_BwdTestCase;
+import net.jolikit.bwd.test.cases.visualbenches.BenchScrollCopyAreaBwdTestCase;
+import net.jolikit.bwd.test.cases.visualbenches.BenchScrollRepaintBwdTestCase;
 import net.jolikit.bwd.test.cases.visualsturds.ConcurrentFontCreaDispBwdTestCase;
 import net.jolikit.bwd.test.cases.visualsturds.ConcurrentImageCreaDispBwdTestCase;
 import net.jolikit.bwd.test.cases.visualsturds.ParallelPaintingBwdTestCase;
@@ -318,7 +322,11 @@ public class XxxBwdTestCaseHomeProvider implements InterfaceBwdTestCaseHomeProvi
                     new BenchPacMiceTranspBgTranspFgBwdTestCase(),
                     new BenchDirtyFillRectBwdTestCase(),
                     new BenchDirtyFillRectBulkBwdTestCase(),
+                    new BenchScrollRepaintBwdTestCase(),
+                    new BenchScrollCopyAreaBwdTestCase(),
                     new BenchParallelFillBwdTestCase(),
+                    new BenchDisplayListReplayBwdTestCase(),
+                    new BenchFillPolygonBwdTestCase(),
             });
         }
         {
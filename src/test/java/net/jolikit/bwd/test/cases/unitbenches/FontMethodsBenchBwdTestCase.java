@@ -27,6 +27,8 @@ import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
 import net.jolikit.bwd.api.graphics.BwdColor;
 import net.jolikit.bwd.api.graphics.GPoint;
 import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.impl.utils.fonts.AbstractBwdFontMetrics;
+import net.jolikit.bwd.impl.utils.fonts.TextWidthCache;
 import net.jolikit.bwd.test.cases.utils.AbstractUnitTestBwdTestCase;
 import net.jolikit.bwd.test.utils.BwdTestResources;
 import net.jolikit.bwd.test.utils.InterfaceBwdTestCase;
@@ -38,7 +40,8 @@ import net.jolikit.time.TimeUtils;
  * To bench:
  * - canDisplay(...)
  * - computeCharWidth(...)
- * - computeTextWidth(...)
+ * - computeTextWidth(...), for single code points,
+ *   and for words (for which text width cache can help)
  */
 public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
 
@@ -60,6 +63,14 @@ public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
     private static final int NBR_OF_RUNS = 2;
     private static final int NBR_OF_CALLS = (MAX_CP - MIN_CP + 1);
     
+    /**
+     * Number of distinct words measured repeatedly,
+     * less than default text width cache size.
+     */
+    private static final int NBR_OF_REPEATED_WORDS = 128;
+    
+    private static final int WORD_LENGTH = 8;
+    
     /*
      * 
      */
@@ -101,7 +112,12 @@ public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
         /**
          * computeTextWidth(...)
          */
-        COMPUTE_TEXT_WIDTH;
+        COMPUTE_TEXT_WIDTH,
+        /**
+         * computeTextWidth(...) with words, distinct ones
+         * and then repeated ones, to see text width cache speedup.
+         */
+        COMPUTE_WORD_WIDTH;
     }
     
     //--------------------------------------------------------------------------
@@ -110,6 +126,13 @@ public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
     
     private static final MyMethodType[] METHOD_TYPE_ARR = MyMethodType.values();
     
+    /**
+     * One distinct word per call.
+     */
+    private static final String[] DISTINCT_WORD_ARR = newWordArr(NBR_OF_CALLS);
+    
+    private static final String[] REPEATED_WORD_ARR = newWordArr(NBR_OF_REPEATED_WORDS);
+    
     private final List<BwdFontKind> fontKindList = new ArrayList<BwdFontKind>();
     
     private final List<String> reportList = new ArrayList<String>();
@@ -227,7 +250,34 @@ public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
                 final InterfaceBwdFontMetrics metrics = font.metrics();
                 
                 int antiOptim = 0;
-                {
+                if (methodType == MyMethodType.COMPUTE_WORD_WIDTH) {
+                    final long a = System.nanoTime();
+                    for (int i = 0; i < NBR_OF_CALLS; i++) {
+                        antiOptim += metrics.computeTextWidth(DISTINCT_WORD_ARR[i]);
+                    }
+                    final long b = System.nanoTime();
+                    for (int i = 0; i < NBR_OF_CALLS; i++) {
+                        antiOptim += metrics.computeTextWidth(
+                                REPEATED_WORD_ARR[i % NBR_OF_REPEATED_WORDS]);
+                    }
+                    final long c = System.nanoTime();
+                    final double distinctDtS = TestUtils.nsToSRounded(b - a);
+                    final double repeatedDtS = TestUtils.nsToSRounded(c - b);
+                    final double speedup =
+                            Math.round(((b - a) / (double) Math.max(1L, c - b)) * 10) / 10.0;
+                    String report =
+                            fontKind + ", h = " + metrics.height()
+                            + ", " + NBR_OF_CALLS + " calls to " + methodType
+                            + ", distinct: " + distinctDtS + " s"
+                            + ", repeated: " + repeatedDtS + " s"
+                            + " (speedup = x" + speedup + ")";
+                    if (metrics instanceof AbstractBwdFontMetrics) {
+                        final TextWidthCache cache =
+                                ((AbstractBwdFontMetrics) metrics).getTextWidthCacheElseNull();
+                        report += ", cache = " + cache;
+                    }
+                    this.reportList.add(report);
+                } else {
                     final long a = System.nanoTime();
                     for (int cp = MIN_CP; cp <= MAX_CP; cp++) {
                         final Object res = callMethod(font, methodType, cp);
@@ -272,6 +322,23 @@ public class FontMethodsBenchBwdTestCase extends AbstractUnitTestBwdTestCase {
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
+    /**
+     * @return Words of WORD_LENGTH latin letters, all distinct.
+     */
+    private static String[] newWordArr(int length) {
+        final String[] wordArr = new String[length];
+        final char[] charArr = new char[WORD_LENGTH];
+        for (int i = 0; i < length; i++) {
+            int tmp = i;
+            for (int j = 0; j < WORD_LENGTH; j++) {
+                charArr[j] = (char) ('a' + (tmp % 26));
+                tmp /= 26;
+            }
+            wordArr[i] = new String(charArr);
+        }
+        return wordArr;
+    }
+    
     /**
      * Causes a bit of overhead, but almost nothing compared to the overhead
      * of actual computations (when there is no caching).
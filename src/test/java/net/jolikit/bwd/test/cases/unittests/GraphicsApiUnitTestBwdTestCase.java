@@ -652,6 +652,10 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
                     childG.clearRect(GRect.DEFAULT_HUGE);
                     fail();
                 } catch (IllegalStateException ok) {}
+                try {
+                    childG.copyArea(GRect.valueOf(0, 0, 1, 1), 1, 1);
+                    fail();
+                } catch (IllegalStateException ok) {}
                 /*
                  * 
                  */
@@ -659,6 +663,10 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
                     childG.drawPoint(0, 0);
                     fail();
                 } catch (IllegalStateException ok) {}
+                try {
+                    childG.drawPixels(new int[1], 0, 1, GRect.valueOf(0, 0, 1, 1));
+                    fail();
+                } catch (IllegalStateException ok) {}
                 try {
                     childG.drawLine(0, 0, 0, 0);
                     fail();
@@ -791,6 +799,10 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
                     childG.getArgb32At(0, 0);
                     fail();
                 } catch (IllegalStateException ok) {}
+                try {
+                    childG.getArgb32s(GRect.valueOf(0, 0, 1, 1), new int[1], 0, 1);
+                    fail();
+                } catch (IllegalStateException ok) {}
                 /*
                  * 
                  */
@@ -1174,6 +1186,7 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
         }
         
         test_primitives_points(g);
+        test_primitives_pixels(g);
         test_primitives_lines(g);
         test_primitives_rects(g);
         test_primitives_ovals(g);
@@ -1193,6 +1206,83 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
         }
     }
     
+    private void test_primitives_pixels(InterfaceBwdGraphics g) {
+        if (DEBUG) {
+            System.out.println("test_primitives_pixels(...)");
+        }
+        
+        final int[] argb32Arr = new int[]{
+            0xFF000000, 0x80FF0000, 0x00FFFFFF,
+            0xFF00FF00, 0x800000FF, 0xFFFFFFFF,
+        };
+        
+        /*
+         * NullPointerException
+         */
+        
+        try {
+            g.drawPixels(null, 0, 3, GRect.valueOf(0, 0, 3, 2));
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            g.drawPixels(argb32Arr, 0, 3, null);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        
+        /*
+         * IllegalArgumentException
+         */
+        
+        try {
+            g.drawPixels(argb32Arr, 0, 2, GRect.valueOf(0, 0, 3, 2));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        
+        /*
+         * IndexOutOfBoundsException
+         */
+        
+        try {
+            g.drawPixels(argb32Arr, -1, 3, GRect.valueOf(0, 0, 3, 2));
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // ok
+        }
+        try {
+            g.drawPixels(argb32Arr, 1, 3, GRect.valueOf(0, 0, 3, 2));
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // ok
+        }
+        
+        /*
+         * 
+         */
+        
+        final int oldArgb32 = g.getArgb32();
+        
+        // Empty rectangles: no check on array bounds.
+        g.drawPixels(argb32Arr, 100, 0, GRect.valueOf(0, 0, 0, 2));
+        g.drawPixels(argb32Arr, 100, 0, GRect.valueOf(0, 0, 3, 0));
+        
+        for (int x : POS_ANY_ARR) {
+            for (int y : POS_ANY_ARR) {
+                g.drawPixels(argb32Arr, 0, 3, GRect.valueOf(x, y, 3, 2));
+                g.drawPixels(argb32Arr, 1, 3, GRect.valueOf(x, y, 2, 2));
+                g.drawPixels(argb32Arr, 0, 1, GRect.valueOf(x, y, 1, 6));
+            }
+        }
+        
+        // Current color not modified.
+        checkEqualArgb32(oldArgb32, g.getArgb32());
+    }
+    
     private void test_primitives_lines(InterfaceBwdGraphics g) {
         if (DEBUG) {
             System.out.println("test_primitives_lines(...)");
@@ -1951,6 +2041,103 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
             g.flipColors(rect.x(), rect.y(), rect.xSpan(), rect.ySpan());
             g.flipColors(rect);
         }
+        
+        /*
+         * Area copy.
+         */
+        
+        try {
+            g.copyArea(null, 1, 1);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        
+        for (int dx : POS_ANY_ARR) {
+            for (int dy : POS_ANY_ARR) {
+                g.copyArea(GRect.valueOf(0, 0, 2, 2), dx, dy);
+            }
+        }
+        
+        for (GRect rect : RECT_ANY_LIST) {
+            g.copyArea(rect, 1, -1);
+            g.copyArea(rect, MIN, MAX);
+        }
+        
+        test_colors_rework_copyAreaPixels(g);
+    }
+    
+    /**
+     * Checks copied pixels, with overlapping source and destination,
+     * for copies in both directions, and with a rotation.
+     */
+    private void test_colors_rework_copyAreaPixels(InterfaceBwdGraphics g) {
+        final GTransform oldTransform = g.getTransform();
+        final long oldArgb64 = g.getArgb64();
+        try {
+            final int xSpan = 8;
+            final int ySpan = 6;
+            final int[] patternArr = new int[xSpan * ySpan];
+            for (int j = 0; j < ySpan; j++) {
+                for (int i = 0; i < xSpan; i++) {
+                    // Distinct opaque colors.
+                    patternArr[j * xSpan + i] = Argb32.withAlpha8(
+                            (i * 31) << 16 | (j * 41) << 8 | ((i + j) * 17),
+                            0xFF);
+                }
+            }
+            final int[] beforeArr = new int[patternArr.length];
+            final int[] afterArr = new int[patternArr.length];
+            
+            final GRect initialClipInBase = g.getInitialClipInBase();
+            for (GRotation rotation : new GRotation[]{GRotation.ROT_0, GRotation.ROT_90}) {
+                g.setTransform(GTransform.valueOf(
+                        rotation,
+                        initialClipInBase.x(),
+                        initialClipInBase.y()));
+                final GRect clip = g.getClipInUser();
+                if ((clip.xSpan() < xSpan) || (clip.ySpan() < ySpan)) {
+                    continue;
+                }
+                final GRect area = GRect.valueOf(clip.x(), clip.y(), xSpan, ySpan);
+                for (int[] dxDy : new int[][]{{2, 1}, {-2, -1}}) {
+                    final int dx = dxDy[0];
+                    final int dy = dxDy[1];
+                    
+                    g.drawPixels(patternArr, 0, xSpan, area);
+                    // Reading what has been drawn, in case colors
+                    // would not be stored exactly.
+                    g.getArgb32s(area, beforeArr, 0, xSpan);
+                    
+                    // Overlapping destination.
+                    final GRect srcRect = GRect.valueOf(
+                            area.x() + Math.max(0, -dx),
+                            area.y() + Math.max(0, -dy),
+                            xSpan - Math.abs(dx),
+                            ySpan - Math.abs(dy));
+                    final GRect dstRect = srcRect.withPosDeltas(dx, dy);
+                    g.copyArea(srcRect, dx, dy);
+                    
+                    g.getArgb32s(area, afterArr, 0, xSpan);
+                    for (int j = 0; j < ySpan; j++) {
+                        for (int i = 0; i < xSpan; i++) {
+                            final int expectedIndex;
+                            if (dstRect.contains(area.x() + i, area.y() + j)) {
+                                expectedIndex = (j - dy) * xSpan + (i - dx);
+                            } else {
+                                expectedIndex = j * xSpan + i;
+                            }
+                            checkEqualArgb32(
+                                    beforeArr[expectedIndex],
+                                    afterArr[j * xSpan + i]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            g.setTransform(oldTransform);
+            g.setArgb64(oldArgb64);
+        }
     }
 
     /*
@@ -1985,6 +2172,58 @@ public class GraphicsApiUnitTestBwdTestCase extends AbstractUnitTestBwdTestCase
                 }
             }
         }
+        
+        /*
+         * Bulk reading.
+         */
+        
+        final int[] argb32Arr = new int[3 * 2];
+        
+        try {
+            g.getArgb32s(null, argb32Arr, 0, 3);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            g.getArgb32s(GRect.valueOf(clip.x(), clip.y(), 3, 2), null, 0, 3);
+            fail();
+        } catch (NullPointerException e) {
+            // ok
+        }
+        try {
+            g.getArgb32s(GRect.valueOf(clip.x(), clip.y(), 3, 2), argb32Arr, 0, 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        try {
+            g.getArgb32s(GRect.valueOf(clip.x(), clip.y(), 3, 2), argb32Arr, 1, 3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // ok
+        }
+        try {
+            g.getArgb32s(GRect.valueOf(clip.x() - 1, clip.y(), 3, 2), argb32Arr, 0, 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        
+        // Empty rectangle: no check on position.
+        g.getArgb32s(GRect.valueOf(MIN, MIN, 0, 0), argb32Arr, 0, 3);
+        
+        if ((clip.xSpan() >= 3) && (clip.ySpan() >= 2)) {
+            final GRect rect = GRect.valueOf(clip.x(), clip.y(), 3, 2);
+            g.getArgb32s(rect, argb32Arr, 0, 3);
+            for (int j = 0; j < rect.ySpan(); j++) {
+                for (int i = 0; i < rect.xSpan(); i++) {
+                    checkEqualArgb32(
+                            g.getArgb32At(rect.x() + i, rect.y() + j),
+                            argb32Arr[j * 3 + i]);
+                }
+            }
+        }
     }
     
     /*
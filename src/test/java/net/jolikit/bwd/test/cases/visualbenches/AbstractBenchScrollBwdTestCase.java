@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.test.cases.visualbenches;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jolikit.bwd.api.InterfaceBwdBinding;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+
+/**
+ * Bench for scrolling a list of rows, by a few pixels per painting,
+ * either repainting the whole client area, or moving already painted
+ * pixels with copyArea(...) and only painting the newly exposed strip.
+ */
+public abstract class AbstractBenchScrollBwdTestCase extends AbstractDirtyBenchBwdTestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int ROW_HEIGHT = 20;
+    
+    private static final int SCROLL_STEP = 3;
+    
+    private static final int INITIAL_WIDTH = 800;
+    private static final int INITIAL_HEIGHT = 600;
+    private static final GPoint INITIAL_CLIENT_SPANS = GPoint.valueOf(INITIAL_WIDTH, INITIAL_HEIGHT);
+    
+    /**
+     * Number of paintings for benching, done after first painting.
+     */
+    private static final int NBR_OF_REPAINT = 2000;
+    
+    private static final BwdColor[] ROW_COLORS = new BwdColor[]{
+        BwdColor.WHITE,
+        BwdColor.LAVENDER,
+    };
+    
+    private static final BwdColor[] BAR_COLORS = new BwdColor[]{
+        BwdColor.DEEPSKYBLUE,
+        BwdColor.CHOCOLATE,
+        BwdColor.GREEN,
+    };
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private final boolean mustUseCopyArea;
+    
+    /**
+     * Box of previous painting, to repaint everything
+     * if client area changed.
+     */
+    private GRect lastBox = GRect.DEFAULT_EMPTY;
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public AbstractBenchScrollBwdTestCase(boolean mustUseCopyArea) {
+        super(NBR_OF_REPAINT);
+        this.mustUseCopyArea = mustUseCopyArea;
+    }
+    
+    public AbstractBenchScrollBwdTestCase(
+            InterfaceBwdBinding binding,
+            boolean mustUseCopyArea) {
+        super(NBR_OF_REPAINT, binding);
+        this.mustUseCopyArea = mustUseCopyArea;
+    }
+    
+    @Override
+    public boolean getMustSequenceLaunches() {
+        /*
+         * True not to share CPU among bindings.
+         */
+        return true;
+    }
+    
+    @Override
+    public GPoint getInitialClientSpans() {
+        return INITIAL_CLIENT_SPANS;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected List<GRect> paint_initDone_2(
+            InterfaceBwdGraphics g,
+            GRect dirtyRect,
+            GRect[] nextDirtyRect) {
+        
+        final GRect box = g.getBox();
+        
+        final int paintIndex = this.getPaintIndex();
+        final int scrollY = paintIndex * SCROLL_STEP;
+        
+        final GRect rectToPaint;
+        if (this.mustUseCopyArea
+                && (paintIndex > 0)
+                && box.equals(this.lastBox)) {
+            // Moving already painted rows up.
+            g.copyArea(box, 0, -SCROLL_STEP);
+            
+            final GRect exposedRect = GRect.valueOf(
+                    box.x(),
+                    box.y() + box.ySpan() - SCROLL_STEP,
+                    box.xSpan(),
+                    SCROLL_STEP);
+            rectToPaint = exposedRect.unionBoundingBox(dirtyRect);
+        } else {
+            rectToPaint = box;
+        }
+        this.lastBox = box;
+        
+        g.addClipInUser(rectToPaint);
+        try {
+            paintRows(g, box, scrollY);
+        } finally {
+            g.removeLastAddedClip();
+        }
+        
+        nextDirtyRect[0] = GRect.DEFAULT_EMPTY;
+        
+        // All pixels might have changed, due to area copy.
+        final ArrayList<GRect> paintedRectList = new ArrayList<GRect>();
+        paintedRectList.add(box);
+        return paintedRectList;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Paints rows intersecting the clip.
+     * 
+     * @param scrollY Y of the list in client area, in the other direction.
+     */
+    private static void paintRows(
+            InterfaceBwdGraphics g,
+            GRect box,
+            int scrollY) {
+        
+        final GRect clip = g.getClipInUser();
+        if (clip.isEmpty()) {
+            return;
+        }
+        
+        final InterfaceBwdFontMetrics fontMetrics = g.getFont().metrics();
+        final int textDy = (ROW_HEIGHT - fontMetrics.height()) / 2;
+        
+        final int firstRowIndex = (scrollY + (clip.y() - box.y())) / ROW_HEIGHT;
+        final int lastRowIndex = (scrollY + (clip.yMax() - box.y())) / ROW_HEIGHT;
+        for (int rowIndex = firstRowIndex; rowIndex <= lastRowIndex; rowIndex++) {
+            final int rowY = box.y() + rowIndex * ROW_HEIGHT - scrollY;
+            
+            g.setColor(ROW_COLORS[rowIndex % ROW_COLORS.length]);
+            g.clearRect(box.x(), rowY, box.xSpan(), ROW_HEIGHT);
+            
+            final int barWidth = 1 + ((rowIndex * 37) % (box.xSpan() / 2));
+            g.setColor(BAR_COLORS[rowIndex % BAR_COLORS.length]);
+            g.fillRect(
+                    box.x() + box.xSpan() - barWidth,
+                    rowY + 2,
+                    barWidth,
+                    ROW_HEIGHT - 4);
+            
+            g.setColor(BwdColor.BLACK);
+            g.drawText(box.x() + 5, rowY + textDy, "row " + rowIndex);
+        }
+    }
+}
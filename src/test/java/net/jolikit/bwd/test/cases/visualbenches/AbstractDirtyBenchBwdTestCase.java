@@ -19,8 +19,10 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import net.jolikit.bwd.api.InterfaceBwdBinding;
+import net.jolikit.bwd.api.InterfaceBwdDirtyRectsClient;
 import net.jolikit.bwd.api.graphics.GRect;
 import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.impl.utils.basics.BindingCoordsUtils;
 import net.jolikit.bwd.test.cases.utils.AbstractBwdTestCase;
 import net.jolikit.lang.Dbg;
 import net.jolikit.lang.NbrsUtils;
@@ -40,9 +42,15 @@ import net.jolikit.time.TimeUtils;
  * 
  * Note that PPS (Paintings Per Second) might be bound by configuration,
  * even though each dirty painting could be cheap on CPU.
+ * 
+ * Also counts dirty pixels, as specified by the binding
+ * in dirty rectangles lists, and as covered by their bounding boxes,
+ * to quantify the pixels that multiple dirty rectangles
+ * allow not to repaint.
  */
-public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase {
-
+public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
+implements InterfaceBwdDirtyRectsClient {
+    
     //--------------------------------------------------------------------------
     // CONFIGURATION
     //--------------------------------------------------------------------------
@@ -52,7 +60,7 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
     //--------------------------------------------------------------------------
     // FIELDS
     //--------------------------------------------------------------------------
-
+    
     private final int nbrOfRepaint;
     
     /*
@@ -65,11 +73,14 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
     private long endTimeNs;
     
     private int paintCounter = 0;
-
+    
+    private long dirtyPixelCountInRects = 0;
+    private long dirtyPixelCountInBbs = 0;
+    
     //--------------------------------------------------------------------------
     // PUBLIC METHODS
     //--------------------------------------------------------------------------
-
+    
     /**
      * Constructor for instance as BWD mock.
      * 
@@ -82,7 +93,7 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
         this.nbrOfRepaint = nbrOfRepaint;
         this.latch = null;
     }
-
+    
     /**
      * Constructor for instance as client mock.
      * 
@@ -95,18 +106,50 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
         this.nbrOfRepaint = nbrOfRepaint;
         this.latch = new CountDownLatch(1);
     }
-
+    
+    @Override
+    public List<GRect> paintClient(
+            InterfaceBwdGraphics g,
+            List<GRect> dirtyRectList) {
+        
+        final GRect dirtyRectBb =
+                BindingCoordsUtils.computeBoundingBox(dirtyRectList);
+        
+        for (GRect dirtyRect : dirtyRectList) {
+            this.dirtyPixelCountInRects += dirtyRect.areaLong();
+        }
+        this.dirtyPixelCountInBbs += dirtyRectBb.areaLong();
+        
+        return this.paintClient(g, dirtyRectBb);
+    }
+    
     //--------------------------------------------------------------------------
     // PROTECTED METHODS
     //--------------------------------------------------------------------------
-
+    
     /**
      * 0 during first painting, 1 for the next, etc.
      */
     protected int getPaintIndex() {
         return this.paintCounter - 1;
     }
-
+    
+    /**
+     * @return Number of dirty pixels, as specified in dirty rectangles
+     *         lists, since first painting.
+     */
+    protected long getDirtyPixelCountInRects() {
+        return this.dirtyPixelCountInRects;
+    }
+    
+    /**
+     * @return Number of pixels in dirty rectangles bounding boxes,
+     *         since first painting.
+     */
+    protected long getDirtyPixelCountInBbs() {
+        return this.dirtyPixelCountInBbs;
+    }
+    
     /**
      * Do your painting here.
      * @param nextDirtyRect (out) Put next dirty rectangle in first slot.
@@ -130,7 +173,7 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
                 g,
                 dirtyRect,
                 nextDirtyRect);
-
+        
         this.afterPaint(nextDirtyRect[0]);
         
         return paintedRectList;
@@ -164,11 +207,17 @@ public abstract class AbstractDirtyBenchBwdTestCase extends AbstractBwdTestCase
                                 + this.getBinding().getClass().getSimpleName()
                                 + ", took " + NbrsUtils.toStringNoCSN(durationS) + " s, mean = "
                                 + NbrsUtils.toStringNoCSN(meanDurationS) + " s");
+                Dbg.log(
+                        "dirty pixels : " + this.dirtyPixelCountInRects
+                        + " in rects, " + this.dirtyPixelCountInBbs
+                        + " in bounding boxes ("
+                        + (this.dirtyPixelCountInBbs - this.dirtyPixelCountInRects)
+                        + " saved)");
                 Dbg.flush();
             }
-
+            
             this.latch.countDown();
-
+            
             this.getBinding().shutdownAbruptly();
         }
     }
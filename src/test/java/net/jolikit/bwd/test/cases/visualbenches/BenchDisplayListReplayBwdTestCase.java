@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.test.cases.visualbenches;
+
+import java.util.List;
+
+import net.jolikit.bwd.api.InterfaceBwdBinding;
+import net.jolikit.bwd.api.events.BwdMouseButtons;
+import net.jolikit.bwd.api.events.BwdMouseEvent;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFontMetrics;
+import net.jolikit.bwd.api.graphics.Argb32;
+import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.impl.utils.InterfaceBwdBindingImpl;
+import net.jolikit.bwd.impl.utils.graphics.DisplayList;
+import net.jolikit.bwd.impl.utils.graphics.RecordingBwdGraphics;
+import net.jolikit.bwd.test.cases.utils.AbstractBwdTestCase;
+import net.jolikit.bwd.test.utils.BwdTestUtils;
+import net.jolikit.bwd.test.utils.HertzHelper;
+import net.jolikit.bwd.test.utils.InterfaceBwdTestCase;
+
+/**
+ * To bench replay of a display list, recorded once,
+ * sequentially or over tiles with painting parallelizer.
+ * Mouse primary button toggles tiled replay.
+ */
+public class BenchDisplayListReplayBwdTestCase extends AbstractBwdTestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int PARALLELISM = 4;
+    
+    private static final int TILE_SPAN = 128;
+    
+    private static final int CELL_SPAN = 25;
+    
+    private static final int INITIAL_WIDTH = 1000;
+    private static final int INITIAL_HEIGHT = 1000;
+    private static final GPoint INITIAL_CLIENT_SPANS = GPoint.valueOf(INITIAL_WIDTH, INITIAL_HEIGHT);
+    
+    //--------------------------------------------------------------------------
+    // FIELDS
+    //--------------------------------------------------------------------------
+    
+    private boolean mustReplayInTiles = true;
+    
+    private final DisplayList displayList = new DisplayList();
+    
+    /**
+     * Box for which display list has been recorded.
+     */
+    private GRect recordedBox = GRect.DEFAULT_EMPTY;
+    
+    private final HertzHelper ppsHelper = new HertzHelper();
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public BenchDisplayListReplayBwdTestCase() {
+    }
+    
+    public BenchDisplayListReplayBwdTestCase(InterfaceBwdBinding binding) {
+        super(binding);
+    }
+    
+    @Override
+    public InterfaceBwdTestCase newTestCase(InterfaceBwdBinding binding) {
+        return new BenchDisplayListReplayBwdTestCase(binding);
+    }
+    
+    @Override
+    public GPoint getInitialClientSpans() {
+        return INITIAL_CLIENT_SPANS;
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public Integer getParallelizerParallelismElseNull() {
+        return PARALLELISM;
+    }
+    
+    /*
+     * 
+     */
+    
+    @Override
+    public void onMousePressed(BwdMouseEvent event) {
+        super.onMousePressed(event);
+        
+        if (event.getButton() == BwdMouseButtons.PRIMARY) {
+            this.mustReplayInTiles = !this.mustReplayInTiles;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected List<GRect> paintClientImpl(
+            InterfaceBwdGraphics g,
+            GRect dirtyRect) {
+        
+        final GRect box = g.getBox();
+        
+        /*
+         * 
+         */
+        
+        this.ppsHelper.onEvent();
+        final int pps = this.ppsHelper.getFrequencyHzRounded();
+        
+        /*
+         * Recording once for each box.
+         */
+        
+        final DisplayList displayList = this.displayList;
+        if (!box.equals(this.recordedBox)) {
+            displayList.clear();
+            final RecordingBwdGraphics rg = new RecordingBwdGraphics(
+                    (InterfaceBwdBindingImpl) this.getBinding(),
+                    box,
+                    box,
+                    displayList);
+            rg.init();
+            try {
+                drawScene(rg);
+            } finally {
+                rg.finish();
+            }
+            this.recordedBox = box;
+        }
+        
+        /*
+         * 
+         */
+        
+        final int parallelism;
+        if (this.mustReplayInTiles) {
+            parallelism = g.getPaintingParallelizer().getParallelism();
+            displayList.replayInTiles(g, TILE_SPAN, TILE_SPAN);
+        } else {
+            parallelism = 1;
+            displayList.replay(g);
+        }
+        
+        /*
+         * 
+         */
+        
+        drawInfo(
+                g,
+                displayList.getDrawOpCount(),
+                parallelism,
+                pps);
+        
+        /*
+         * Scheduling next painting.
+         */
+        
+        getHost().ensurePendingClientPainting();
+        
+        return null;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private static void drawScene(InterfaceBwdGraphics g) {
+        final GRect box = g.getBox();
+        
+        g.setColor(BwdColor.WHITE);
+        g.clearRect(box);
+        
+        final int[] xArr = new int[3];
+        final int[] yArr = new int[3];
+        int i = 0;
+        for (int y = box.y(); y < box.yMaxLong(); y += CELL_SPAN) {
+            for (int x = box.x(); x < box.xMaxLong(); x += CELL_SPAN) {
+                final int red8 = (i * 3) & 0xFF;
+                final int green8 = (i * 5) & 0xFF;
+                final int blue8 = (i * 7) & 0xFF;
+                g.setArgb32(Argb32.toArgb32FromInt8(0x80, red8, green8, blue8));
+                switch (i % 4) {
+                    case 0: {
+                        g.fillOval(x, y, CELL_SPAN, CELL_SPAN);
+                    } break;
+                    case 1: {
+                        g.drawLine(x, y, x + CELL_SPAN - 1, y + CELL_SPAN - 1);
+                        g.drawLine(x, y + CELL_SPAN - 1, x + CELL_SPAN - 1, y);
+                    } break;
+                    case 2: {
+                        xArr[0] = x;
+                        yArr[0] = y + CELL_SPAN - 1;
+                        xArr[1] = x + CELL_SPAN / 2;
+                        yArr[1] = y;
+                        xArr[2] = x + CELL_SPAN - 1;
+                        yArr[2] = y + CELL_SPAN - 1;
+                        g.fillPolygon(xArr, yArr, 3);
+                    } break;
+                    default: {
+                        g.fillArc(x, y, CELL_SPAN, CELL_SPAN, 30.0, 300.0);
+                    } break;
+                }
+                i++;
+            }
+        }
+    }
+    
+    private static void drawInfo(
+            InterfaceBwdGraphics g,
+            int drawOpCount,
+            int parallelism,
+            int pps) {
+        
+        final GRect box = g.getBox();
+        
+        final String opHead = drawOpCount + " ops replayed/paint, Parallelism = ";
+        final String ppsHead = ", Paints Per Second = ";
+        // To avoid digits of obsolete values to be visible.
+        final String textForWidth = opHead + "123456789" + ppsHead + "123456789";
+        final String text = opHead + parallelism + ppsHead + pps;
+        
+        final int textX = box.x();
+        final int textY = box.y();
+        
+        final InterfaceBwdFont font = g.getFont();
+        final InterfaceBwdFontMetrics metrics = font.metrics();
+        final int textWidth = metrics.computeTextWidth(textForWidth);
+        final int textHeight = metrics.height();
+        
+        BwdTestUtils.drawTextAndSpannedBg(
+                g, BwdColor.WHITE, BwdColor.BLACK,
+                textX, textY, text, textWidth, textHeight);
+    }
+}
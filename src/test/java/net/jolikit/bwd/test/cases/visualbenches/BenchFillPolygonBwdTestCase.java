@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.bwd.test.cases.visualbenches;
+
+import java.util.List;
+
+import net.jolikit.bwd.api.InterfaceBwdBinding;
+import net.jolikit.bwd.api.fonts.InterfaceBwdFont;
+import net.jolikit.bwd.api.graphics.BwdColor;
+import net.jolikit.bwd.api.graphics.GPoint;
+import net.jolikit.bwd.api.graphics.GRect;
+import net.jolikit.bwd.api.graphics.InterfaceBwdGraphics;
+import net.jolikit.bwd.test.cases.utils.AbstractBwdTestCase;
+import net.jolikit.bwd.test.utils.InterfaceBwdTestCase;
+import net.jolikit.test.utils.TestUtils;
+
+/**
+ * To bench filling of large polygons with many points,
+ * which for int array graphics is done in parallel
+ * with the binding internal parallelizer.
+ */
+public class BenchFillPolygonBwdTestCase extends AbstractBwdTestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int[] NBR_OF_POINTS_ARR = new int[]{100, 1000, 10 * 1000};
+    
+    private static final int NBR_OF_CALLS = 10;
+    
+    private static final int INITIAL_WIDTH = 1000;
+    private static final int INITIAL_HEIGHT = 1000;
+    private static final GPoint INITIAL_CLIENT_SPANS = GPoint.valueOf(INITIAL_WIDTH, INITIAL_HEIGHT);
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public BenchFillPolygonBwdTestCase() {
+    }
+    
+    public BenchFillPolygonBwdTestCase(InterfaceBwdBinding binding) {
+        super(binding);
+    }
+    
+    @Override
+    public InterfaceBwdTestCase newTestCase(InterfaceBwdBinding binding) {
+        return new BenchFillPolygonBwdTestCase(binding);
+    }
+    
+    @Override
+    public GPoint getInitialClientSpans() {
+        return INITIAL_CLIENT_SPANS;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PROTECTED METHODS
+    //--------------------------------------------------------------------------
+    
+    @Override
+    protected List<GRect> paintClientImpl(
+            InterfaceBwdGraphics g,
+            GRect dirtyRect) {
+        
+        final GRect box = g.getBox();
+        
+        final InterfaceBwdFont font = g.getFont();
+        final int dh = font.metrics().height() + 1;
+        
+        /*
+         * Clearing.
+         */
+        
+        g.setColor(BwdColor.WHITE);
+        g.fillRect(box);
+        
+        /*
+         * Benching.
+         */
+        
+        final int nbrOfPolys = NBR_OF_POINTS_ARR.length;
+        final int polyHeight = (box.ySpan() - nbrOfPolys * dh) / nbrOfPolys;
+        
+        int y = box.y();
+        for (int k = 0; k < nbrOfPolys; k++) {
+            final int pointCount = NBR_OF_POINTS_ARR[k];
+            final GRect polyBox = GRect.valueOf(
+                    box.x(),
+                    y + dh,
+                    box.xSpan(),
+                    Math.max(0, polyHeight));
+            
+            final int[] xArr = new int[pointCount];
+            final int[] yArr = new int[pointCount];
+            computeStarPolygon(polyBox, xArr, yArr);
+            
+            g.setColor(BwdColor.BLUE);
+            final long startNs = System.nanoTime();
+            for (int i = 0; i < NBR_OF_CALLS; i++) {
+                g.fillPolygon(xArr, yArr, pointCount);
+            }
+            final long endNs = System.nanoTime();
+            
+            /*
+             * Drawing how long it took.
+             */
+            
+            final long dtNs = endNs - startNs;
+            g.setColor(BwdColor.BLACK);
+            final String comment =
+                    NBR_OF_CALLS + " calls, "
+                            + pointCount + " points, took "
+                            + TestUtils.nsToSRounded(dtNs) + " s";
+            g.drawText(box.x(), y, comment);
+            
+            y += dh + polyHeight;
+        }
+        
+        getHost().ensurePendingClientPainting();
+        
+        return null;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Star-like polygon, alternating between outer and inner radii,
+     * for many edges to cross each row.
+     */
+    private static void computeStarPolygon(
+            GRect box,
+            int[] xArr,
+            int[] yArr) {
+        final int pointCount = xArr.length;
+        final double cx = box.x() + box.xSpan() * 0.5;
+        final double cy = box.y() + box.ySpan() * 0.5;
+        final double rxOut = box.xSpan() * 0.5;
+        final double ryOut = box.ySpan() * 0.5;
+        for (int i = 0; i < pointCount; i++) {
+            final double angRad = (2 * Math.PI * i) / pointCount;
+            final double ratio = (((i & 1) == 0) ? 1.0 : 0.25);
+            xArr[i] = (int) Math.round(cx + ratio * rxOut * Math.cos(angRad));
+            yArr[i] = (int) Math.round(cy + ratio * ryOut * Math.sin(angRad));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.basics;
+
+import junit.framework.TestCase;
+
+public class ExecutorMetricsTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_NsHistogram_buckets() {
+        final int nbrOfBuckets = NsHistogram.getNbrOfBuckets();
+        assertEquals(0L, NsHistogram.getBucketMinNs(0));
+        assertEquals(Long.MAX_VALUE, NsHistogram.getBucketMaxNs(nbrOfBuckets - 1));
+        for (int i = 0; i < nbrOfBuckets; i++) {
+            final long minNs = NsHistogram.getBucketMinNs(i);
+            final long maxNs = NsHistogram.getBucketMaxNs(i);
+            assertTrue(minNs <= maxNs);
+            assertEquals(i, NsHistogram.computeBucketIndex(minNs));
+            assertEquals(i, NsHistogram.computeBucketIndex(maxNs));
+            if (i > 0) {
+                assertEquals(NsHistogram.getBucketMaxNs(i - 1) + 1, minNs);
+            }
+            if (minNs >= 32) {
+                // Relative error bounded by 1/16.
+                assertTrue((maxNs - minNs) <= (minNs >> 4));
+            }
+        }
+        assertEquals(0, NsHistogram.computeBucketIndex(-1L));
+        assertEquals(0, NsHistogram.computeBucketIndex(Long.MIN_VALUE));
+        
+        for (int badIndex : new int[]{-1, nbrOfBuckets}) {
+            try {
+                NsHistogram.getBucketMinNs(badIndex);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // ok
+            }
+            try {
+                NsHistogram.getBucketMaxNs(badIndex);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // ok
+            }
+        }
+    }
+    
+    public void test_NsHistogram_getNsAtPercentile() {
+        final ExecutorMetrics metrics = new ExecutorMetrics(1);
+        assertEquals(0L, metrics.newSnapshot().getRunHisto().getNsAtPercentile(50.0));
+        
+        // Values 1..100.
+        for (int i = 1; i <= 100; i++) {
+            metrics.onExecuted(0, -1L, i);
+        }
+        final NsHistogram histo = metrics.newSnapshot().getRunHisto();
+        assertEquals(100, histo.getCount());
+        assertEquals(5050, histo.getSumNs());
+        assertEquals(100, histo.getMaxNs());
+        assertEquals(50.5, histo.getMeanNs());
+        
+        assertEquals(1L, histo.getNsAtPercentile(0.0));
+        assertEquals(10L, histo.getNsAtPercentile(10.0));
+        assertEquals(100L, histo.getNsAtPercentile(100.0));
+        final long p90Ns = histo.getNsAtPercentile(90.0);
+        assertTrue(p90Ns >= 90);
+        assertTrue(p90Ns <= 90 + (90 >> 4));
+        
+        for (double badPercentile : new double[]{-0.1, 100.1, Double.NaN}) {
+            try {
+                histo.getNsAtPercentile(badPercentile);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // ok
+            }
+        }
+    }
+    
+    public void test_ExecutorMetrics_recording() {
+        try {
+            new ExecutorMetrics(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        
+        final ExecutorMetrics metrics = new ExecutorMetrics(2);
+        assertEquals(2, metrics.getNbrOfWorkers());
+        
+        metrics.onSubmitted(5);
+        metrics.onSubmitted(1);
+        metrics.onRejected(2);
+        metrics.onCancelled(3);
+        metrics.onDrained(4);
+        metrics.onExecuted(0, 10L, 100L);
+        metrics.onExecuted(1, -1L, 200L);
+        metrics.onExecuted(1, 30L, 300L);
+        metrics.onLateness(1, 1000L);
+        
+        final ExecutorMetricsSnapshot snapshot = metrics.newSnapshot();
+        assertEquals(6, snapshot.getNbrOfSubmitted());
+        assertEquals(2, snapshot.getNbrOfRejected());
+        assertEquals(3, snapshot.getNbrOfCancelled());
+        assertEquals(4, snapshot.getNbrOfDrained());
+        assertEquals(3, snapshot.getNbrOfExecuted());
+        assertEquals(2, snapshot.getNbrOfWorkers());
+        assertEquals(100L, snapshot.getBusyNs(0));
+        assertEquals(500L, snapshot.getBusyNs(1));
+        assertEquals(600L, snapshot.getTotalBusyNs());
+        
+        assertEquals(2, snapshot.getQueueWaitHisto().getCount());
+        assertEquals(40L, snapshot.getQueueWaitHisto().getSumNs());
+        assertEquals(30L, snapshot.getQueueWaitHisto().getMaxNs());
+        assertEquals(3, snapshot.getRunHisto().getCount());
+        assertEquals(300L, snapshot.getRunHisto().getMaxNs());
+        assertEquals(1, snapshot.getLatenessHisto().getCount());
+        assertEquals(1000L, snapshot.getLatenessHisto().getMaxNs());
+        
+        // Snapshots are immutable.
+        metrics.onExecuted(0, 1L, 1L);
+        assertEquals(3, snapshot.getNbrOfExecuted());
+        assertEquals(4, metrics.newSnapshot().getNbrOfExecuted());
+    }
+}
@@ -25,6 +25,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -38,6 +39,8 @@ import net.jolikit.lang.InterfaceBooleanCondition;
 import net.jolikit.lang.ObjectWrapper;
 import net.jolikit.lang.Unchecked;
 import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.basics.ExecutorMetrics;
+import net.jolikit.threading.basics.ExecutorMetricsSnapshot;
 import net.jolikit.threading.basics.InterfaceCancellable;
 import net.jolikit.threading.locks.MonitorCondilock;
 import net.jolikit.time.TimeUtils;
@@ -1566,6 +1569,247 @@ public class FixedThreadExecutorTest extends TestCase {
         shutdownNowAndWait(executorList);
     }
 
+    public void test_executeAll_null() {
+        final List<FixedThreadExecutor> executorList = newFifoExecutors();
+        
+        for (FixedThreadExecutor executor : executorList) {
+            executor.stopProcessing();
+            
+            try {
+                executor.executeAll((Runnable[]) null);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            try {
+                executor.executeAll(Arrays.asList(new MyRunnable(), null));
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            // None enqueued.
+            assertEquals(0, executor.getNbrOfPendingSchedules());
+        }
+        
+        shutdownNowAndWait(executorList);
+    }
+
+    public void test_executeAll_fifoOrder() {
+        final List<FixedThreadExecutor> executorList = newFifoExecutors();
+
+        for (FixedThreadExecutor executor : executorList) {
+            this.nextOrderNum.set(0);
+
+            final ArrayList<MyRunnable> runnableList = new ArrayList<MyRunnable>();
+
+            // Mixing batches of various sizes and single calls.
+            for (int batchSize : new int[]{0, 1, 2, 10, 1000, 1, 100 * 1000}) {
+                final MyRunnable[] batch = new MyRunnable[batchSize];
+                for (int i = 0; i < batchSize; i++) {
+                    batch[i] = new MyRunnable();
+                }
+                runnableList.addAll(Arrays.asList(batch));
+                if ((batchSize & 1) == 0) {
+                    executor.executeAll(batch);
+                } else {
+                    executor.executeAll(Arrays.asList(batch));
+                }
+                
+                final MyRunnable runnable = new MyRunnable();
+                runnableList.add(runnable);
+                executor.execute(runnable);
+            }
+
+            for (int i = 0; i < runnableList.size(); i++) {
+                final MyRunnable runnable = runnableList.get(i);
+                assertEquals(i+1,runnable.waitAndGetReport().orderNum);
+            }
+        }
+        
+        shutdownNowAndWait(executorList);
+    }
+
+    /**
+     * Testing that a batch wakes up enough workers
+     * for its runnables to run concurrently.
+     */
+    public void test_executeAll_concurrentRuns() {
+        final int nbrOfThreads = DEFAULT_MULTI_WORKER_COUNT;
+
+        final List<FixedThreadExecutor> executorList = newExecutors(
+                nbrOfThreads);
+
+        for (FixedThreadExecutor executor : executorList) {
+            // Making sure workers are started and idle.
+            executor.startWorkerThreadsIfNeeded();
+            sleepMS(REAL_TIME_TOLERANCE_MS);
+
+            final CountDownLatch latch = new CountDownLatch(nbrOfThreads);
+            final AtomicInteger nbrOfReleased = new AtomicInteger();
+            final Runnable[] batch = new Runnable[nbrOfThreads];
+            for (int i = 0; i < nbrOfThreads; i++) {
+                batch[i] = new Runnable() {
+                    @Override
+                    public void run() {
+                        latch.countDown();
+                        try {
+                            if (latch.await(10 * REAL_TIME_TOLERANCE_MS, TimeUnit.MILLISECONDS)) {
+                                nbrOfReleased.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                };
+            }
+            executor.executeAll(batch);
+
+            sleepMS(2 * REAL_TIME_TOLERANCE_MS);
+            assertEquals(nbrOfThreads, nbrOfReleased.get());
+        }
+        
+        shutdownNowAndWait(executorList);
+    }
+
+    public void test_executeAll_queueCapacity() {
+        final int queueCapacity = 2;
+
+        final List<FixedThreadExecutor> executorList =
+            newExecutors(
+                DEFAULT_MULTI_WORKER_COUNT,
+                queueCapacity,
+                null);
+
+        for (FixedThreadExecutor executor : executorList) {
+            executor.stopProcessing();
+
+            // Partially filling queue.
+            final MyRunnable runnable0 = new MyRunnable();
+            executor.execute(runnable0);
+
+            // Only the first runnable of the batch fits.
+            final MyRunnable[] batch = new MyRunnable[]{
+                new MyRunnable(),
+                new MyRunnable(),
+                new MyRunnable()};
+            executor.executeAll(batch);
+            assertEquals(queueCapacity, executor.getNbrOfPendingSchedules());
+            assertFalse(batch[0].onCancelCalled());
+            assertTrue(batch[1].onCancelCalled());
+            assertTrue(batch[2].onCancelCalled());
+
+            // Non-cancellables rejection: throws,
+            // after cancellables have been cancelled.
+            final MyRunnable cancellable = new MyRunnable();
+            final Runnable nonCancellable = new Runnable() {
+                @Override
+                public void run() {
+                }
+            };
+            try {
+                executor.executeAll(new Runnable[]{nonCancellable, cancellable});
+                fail();
+            } catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+                // ok
+            }
+            assertTrue(cancellable.onCancelCalled());
+
+            executor.startProcessing();
+            assertTrue(runnable0.waitAndGetReport() != null);
+            assertTrue(batch[0].waitAndGetReport() != null);
+            assertFalse(batch[1].runCalled());
+        }
+        
+        shutdownNowAndWait(executorList);
+    }
+
+    public void test_metrics() {
+        final int queueCapacity = 4;
+
+        final List<FixedThreadExecutor> executorList =
+            newExecutors(
+                DEFAULT_MULTI_WORKER_COUNT,
+                queueCapacity,
+                true, // mustEnableMetrics
+                null);
+
+        for (FixedThreadExecutor executor : executorList) {
+            final ExecutorMetrics metrics = executor.getMetricsElseNull();
+            assertNotNull(metrics);
+            assertEquals(DEFAULT_MULTI_WORKER_COUNT, metrics.getNbrOfWorkers());
+
+            executor.stopProcessing();
+
+            // 4 submitted, 2 rejected.
+            executor.executeAll(new MyRunnable[]{
+                new MyRunnable(),
+                new MyRunnable(),
+                new MyRunnable(),
+                new MyRunnable(),
+                new MyRunnable(),
+                new MyRunnable()});
+            // 4 cancelled, 1 drained.
+            executor.cancelPendingSchedules();
+            executor.execute(new MyRunnable());
+            executor.drainPendingRunnablesInto(new ArrayList<Runnable>());
+
+            // 3 executed.
+            for (int i = 0; i < 3; i++) {
+                executor.execute(new MyRunnable());
+            }
+            executor.startProcessing();
+            executor.shutdown();
+            try {
+                executor.waitForNoMoreRunningWorker(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            final ExecutorMetricsSnapshot snapshot = metrics.newSnapshot();
+            assertEquals(8, snapshot.getNbrOfSubmitted());
+            assertEquals(2, snapshot.getNbrOfRejected());
+            assertEquals(4, snapshot.getNbrOfCancelled());
+            assertEquals(1, snapshot.getNbrOfDrained());
+            assertEquals(3, snapshot.getNbrOfExecuted());
+            assertEquals(3, snapshot.getQueueWaitHisto().getCount());
+            assertEquals(3, snapshot.getRunHisto().getCount());
+            assertEquals(0, snapshot.getLatenessHisto().getCount());
+            assertEquals(DEFAULT_MULTI_WORKER_COUNT, snapshot.getNbrOfWorkers());
+            assertEquals(snapshot.getRunHisto().getSumNs(), snapshot.getTotalBusyNs());
+        }
+        
+        shutdownNowAndWait(executorList);
+        
+        /*
+         * Disabled by default.
+         */
+        
+        final List<FixedThreadExecutor> defaultExecutorList =
+            newExecutors(DEFAULT_MULTI_WORKER_COUNT);
+        defaultExecutorList.addAll(newThreadlessExecutors());
+        
+        for (FixedThreadExecutor executor : defaultExecutorList) {
+            assertNull(executor.getMetricsElseNull());
+        }
+        
+        shutdownNowAndWait(defaultExecutorList);
+        
+        /*
+         * Threadless.
+         */
+        
+        final FixedThreadExecutor threadlessExecutor =
+            new FixedThreadExecutor(
+                queueCapacity,
+                0, // maxWorkerCountForBasicQueue
+                false, // mustUseLockFreeQueue
+                true); // mustEnableMetrics
+        final ExecutorMetrics threadlessMetrics =
+            threadlessExecutor.getMetricsElseNull();
+        assertNotNull(threadlessMetrics);
+        assertEquals(1, threadlessMetrics.getNbrOfWorkers());
+    }
+
     /*
      * General tests (not method-specific).
      */
@@ -2015,11 +2259,25 @@ public class FixedThreadExecutorTest extends TestCase {
         int nbrOfThreads,
         int queueCapacity,
         ThreadFactory threadFactory) {
+        return newExecutors(
+            nbrOfThreads,
+            queueCapacity,
+            false, // mustEnableMetrics
+            threadFactory);
+    }
+
+    private static List<FixedThreadExecutor> newExecutors(
+        int nbrOfThreads,
+        int queueCapacity,
+        boolean mustEnableMetrics,
+        ThreadFactory threadFactory) {
         
         final boolean daemon = true;
         
         @SuppressWarnings("unused")
         int maxWorkerCountForBasicQueue;
+        @SuppressWarnings("unused")
+        boolean mustUseLockFreeQueue;
         
         final List<FixedThreadExecutor> executorList = new ArrayList<FixedThreadExecutor>();
         
@@ -2031,6 +2289,8 @@ public class FixedThreadExecutorTest extends TestCase {
                 nbrOfThreads,
                 queueCapacity,
                 (maxWorkerCountForBasicQueue = Integer.MAX_VALUE),
+                (mustUseLockFreeQueue = false),
+                mustEnableMetrics,
                 threadFactory));
         
         // Executor with advanced queue.
@@ -2041,6 +2301,20 @@ public class FixedThreadExecutorTest extends TestCase {
                 nbrOfThreads,
                 queueCapacity,
                 (maxWorkerCountForBasicQueue = 0),
+                (mustUseLockFreeQueue = false),
+                mustEnableMetrics,
+                threadFactory));
+        
+        // Executor with lock-free queue.
+        executorList.add(
+            new FixedThreadExecutor(
+                "FTE_LFR",
+                daemon,
+                nbrOfThreads,
+                queueCapacity,
+                (maxWorkerCountForBasicQueue = 0),
+                (mustUseLockFreeQueue = true),
+                mustEnableMetrics,
                 threadFactory));
         
         return executorList;
@@ -2059,6 +2333,8 @@ public class FixedThreadExecutorTest extends TestCase {
         
         @SuppressWarnings("unused")
         int maxWorkerCountForBasicQueue;
+        @SuppressWarnings("unused")
+        boolean mustUseLockFreeQueue;
         
         final List<FixedThreadExecutor> executorList = new ArrayList<FixedThreadExecutor>();
         
@@ -2074,6 +2350,13 @@ public class FixedThreadExecutorTest extends TestCase {
                 queueCapacity,
                 (maxWorkerCountForBasicQueue = 0)));
         
+        // Executor with lock-free queue.
+        executorList.add(
+            new FixedThreadExecutor(
+                queueCapacity,
+                (maxWorkerCountForBasicQueue = 0),
+                (mustUseLockFreeQueue = true)));
+        
         return executorList;
     }
     
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.execs;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import net.jolikit.lang.Unchecked;
+import net.jolikit.lang.VirtualThreadFactory;
+import net.jolikit.threading.basics.InterfaceCancellable;
+
+public class VirtualThreadExecutorTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final long TIMEOUT_S = 10L;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    /**
+     * Blocks in run() until released.
+     */
+    private static class MyBlockingCancellable implements InterfaceCancellable {
+        final CountDownLatch runLatch = new CountDownLatch(1);
+        final CountDownLatch releaseLatch;
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        volatile boolean interrupted = false;
+        volatile boolean onCancelCalled = false;
+        public MyBlockingCancellable(CountDownLatch releaseLatch) {
+            this.releaseLatch = releaseLatch;
+        }
+        @Override
+        public void run() {
+            this.runLatch.countDown();
+            try {
+                this.releaseLatch.await();
+            } catch (@SuppressWarnings("unused") InterruptedException e) {
+                this.interrupted = true;
+            }
+            this.doneLatch.countDown();
+        }
+        @Override
+        public void onCancel() {
+            this.onCancelCalled = true;
+        }
+        public void waitForRun() {
+            await(this.runLatch);
+        }
+        public void waitForDone() {
+            await(this.doneLatch);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_constructor_defaultThreadFactory() {
+        if (VirtualThreadExecutor.isAvailable()) {
+            final VirtualThreadExecutor executor = VirtualThreadExecutor.newInstance();
+            assertEquals(Integer.MAX_VALUE, executor.getMaxNbrOfRunningWorkers());
+            executor.shutdown();
+        } else {
+            try {
+                VirtualThreadExecutor.newInstance();
+                fail();
+            } catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+                // ok
+            }
+        }
+    }
+    
+    public void test_constructor_maxNbrOfRunningWorkers() {
+        try {
+            new VirtualThreadExecutor(-1, Executors.defaultThreadFactory());
+            fail();
+        } catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+            // ok
+        }
+    }
+    
+    public void test_execute_null() {
+        for (VirtualThreadExecutor executor : newExecutors(Integer.MAX_VALUE)) {
+            try {
+                executor.execute(null);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+        }
+    }
+    
+    /**
+     * Blocking runnables must not prevent others from running.
+     */
+    public void test_execute_concurrentRuns() {
+        final int nbrOfRunnables = 100;
+        for (VirtualThreadExecutor executor : newExecutors(Integer.MAX_VALUE)) {
+            final CountDownLatch releaseLatch = new CountDownLatch(1);
+            final List<MyBlockingCancellable> runnableList =
+                new ArrayList<MyBlockingCancellable>();
+            for (int i = 0; i < nbrOfRunnables; i++) {
+                final MyBlockingCancellable runnable =
+                    new MyBlockingCancellable(releaseLatch);
+                runnableList.add(runnable);
+                executor.execute(runnable);
+            }
+            for (MyBlockingCancellable runnable : runnableList) {
+                runnable.waitForRun();
+            }
+            assertEquals(nbrOfRunnables, executor.getNbrOfRunningWorkers());
+            
+            releaseLatch.countDown();
+            for (MyBlockingCancellable runnable : runnableList) {
+                runnable.waitForDone();
+                assertFalse(runnable.onCancelCalled);
+            }
+            shutdownAndWait(executor);
+        }
+    }
+    
+    public void test_execute_maxNbrOfRunningWorkers() {
+        final int maxNbrOfRunningWorkers = 2;
+        for (VirtualThreadExecutor executor : newExecutors(maxNbrOfRunningWorkers)) {
+            final CountDownLatch releaseLatch = new CountDownLatch(1);
+            final MyBlockingCancellable r1 = new MyBlockingCancellable(releaseLatch);
+            final MyBlockingCancellable r2 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r1);
+            executor.execute(r2);
+            r1.waitForRun();
+            r2.waitForRun();
+            
+            // Cancellable rejection.
+            final MyBlockingCancellable r3 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r3);
+            assertTrue(r3.onCancelCalled);
+            
+            // Non-cancellable rejection.
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                });
+                fail();
+            } catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+                // ok
+            }
+            assertEquals(maxNbrOfRunningWorkers, executor.getNbrOfRunningWorkers());
+            
+            releaseLatch.countDown();
+            r1.waitForDone();
+            r2.waitForDone();
+            waitForNoMoreRunningWorker(executor);
+            
+            // Accepting again.
+            final MyBlockingCancellable r4 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r4);
+            r4.waitForDone();
+            assertFalse(r4.onCancelCalled);
+            
+            shutdownAndWait(executor);
+        }
+    }
+    
+    public void test_shutdown() {
+        for (VirtualThreadExecutor executor : newExecutors(Integer.MAX_VALUE)) {
+            final CountDownLatch releaseLatch = new CountDownLatch(1);
+            final MyBlockingCancellable r1 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r1);
+            r1.waitForRun();
+            
+            assertFalse(executor.isShutdown());
+            executor.shutdown();
+            assertTrue(executor.isShutdown());
+            // Still running.
+            assertFalse(executor.isTerminated());
+            
+            // Rejections.
+            final MyBlockingCancellable r2 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r2);
+            assertTrue(r2.onCancelCalled);
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                });
+                fail();
+            } catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+                // ok
+            }
+            
+            // Running runnable completes normally.
+            releaseLatch.countDown();
+            awaitTermination(executor);
+            assertTrue(executor.isTerminated());
+            assertFalse(r1.interrupted);
+            assertFalse(r1.onCancelCalled);
+        }
+    }
+    
+    public void test_shutdownNow_boolean() {
+        for (VirtualThreadExecutor executor : newExecutors(Integer.MAX_VALUE)) {
+            final CountDownLatch releaseLatch = new CountDownLatch(1);
+            final MyBlockingCancellable r1 = new MyBlockingCancellable(releaseLatch);
+            executor.execute(r1);
+            r1.waitForRun();
+            
+            // Never any pending runnable.
+            assertEquals(0, executor.shutdownNow(true).size());
+            awaitTermination(executor);
+            assertTrue(r1.interrupted);
+        }
+    }
+    
+    public void test_isWorkerThread_andChecks() {
+        for (final VirtualThreadExecutor executor : newExecutors(Integer.MAX_VALUE)) {
+            assertFalse(executor.isWorkerThread());
+            try {
+                executor.checkIsWorkerThread();
+                fail();
+            } catch (@SuppressWarnings("unused") ConcurrentModificationException e) {
+                // ok
+            }
+            executor.checkIsNotWorkerThread();
+            
+            final AtomicInteger res = new AtomicInteger();
+            final CountDownLatch doneLatch = new CountDownLatch(1);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    res.set(executor.isWorkerThread() ? 1 : -1);
+                    try {
+                        executor.checkIsWorkerThread();
+                        // ok
+                    } catch (@SuppressWarnings("unused") Throwable e) {
+                        res.set(2); // bad value
+                    }
+                    try {
+                        executor.checkIsNotWorkerThread();
+                        res.set(3); // bad value
+                    } catch (@SuppressWarnings("unused") IllegalStateException e) {
+                        // ok
+                    }
+                    doneLatch.countDown();
+                }
+            });
+            await(doneLatch);
+            assertEquals(1, res.get());
+            
+            shutdownAndWait(executor);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Executors using platform threads, and virtual threads
+     *         if available.
+     */
+    private static List<VirtualThreadExecutor> newExecutors(int maxNbrOfRunningWorkers) {
+        final List<VirtualThreadExecutor> list = new ArrayList<VirtualThreadExecutor>();
+        list.add(new VirtualThreadExecutor(
+            maxNbrOfRunningWorkers,
+            Executors.defaultThreadFactory()));
+        if (VirtualThreadFactory.isAvailable()) {
+            list.add(new VirtualThreadExecutor(
+                "VTE",
+                maxNbrOfRunningWorkers));
+        }
+        return list;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_S, TimeUnit.SECONDS)) {
+                throw new AssertionError("timeout");
+            }
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void waitForNoMoreRunningWorker(VirtualThreadExecutor executor) {
+        try {
+            assertTrue(executor.waitForNoMoreRunningWorker(
+                TimeUnit.SECONDS.toNanos(TIMEOUT_S)));
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void awaitTermination(VirtualThreadExecutor executor) {
+        try {
+            assertTrue(executor.awaitTermination(TIMEOUT_S, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void shutdownAndWait(VirtualThreadExecutor executor) {
+        executor.shutdown();
+        awaitTermination(executor);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.threading.locks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.jolikit.lang.InterfaceBooleanCondition;
+import net.jolikit.lang.Unchecked;
+import net.jolikit.test.utils.TestUtils;
+
+/**
+ * Measures wake-up latency of condilocks, with two threads
+ * passing a token back and forth (ping-pong), each waiting
+ * for its turn with a boolean condition.
+ */
+public class CondilocksPerf {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final int NBR_OF_ROUND_TRIPS = 10 * 1000;
+    
+    private static final int NBR_OF_RUNS = 4;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyPingPonger implements Runnable {
+        private final InterfaceCondilock condilock;
+        private final MyToken token;
+        private final InterfaceBooleanCondition myTurnBc;
+        public MyPingPonger(
+                InterfaceCondilock condilock,
+                final MyToken token,
+                final int myParity) {
+            this.condilock = condilock;
+            this.token = token;
+            this.myTurnBc = new InterfaceBooleanCondition() {
+                @Override
+                public boolean isTrue() {
+                    return (token.count % 2) == myParity;
+                }
+            };
+        }
+        @Override
+        public void run() {
+            // Each thread passing the token once per round trip.
+            for (int i = 0; i < NBR_OF_ROUND_TRIPS; i++) {
+                this.condilock.awaitWhileFalseInLockUninterruptibly(this.myTurnBc);
+                this.token.count++;
+                this.condilock.signalAllInLock();
+            }
+        }
+    }
+    
+    private static class MyToken {
+        volatile int count;
+    }
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public static void main(String[] args) {
+        System.out.println(TestUtils.getJVMInfo());
+        newRun(args);
+    }
+    
+    public static void newRun(String[] args) {
+        new CondilocksPerf().run(args);
+    }
+    
+    public CondilocksPerf() {
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    private void run(String[] args) {
+        final long a = System.nanoTime();
+        System.out.println("--- " + CondilocksPerf.class.getSimpleName() + "... ---");
+        System.out.println("number of round trips = " + NBR_OF_ROUND_TRIPS);
+        
+        bench_pingPong();
+        
+        final long b = System.nanoTime();
+        System.out.println("--- ..." + CondilocksPerf.class.getSimpleName()
+            + ", " + TestUtils.nsToSRounded(b-a) + " s ---");
+    }
+    
+    private static void bench_pingPong() {
+        for (int ci = 0; ci < 6; ci++) {
+            System.out.println();
+            for (int k = 0; k < NBR_OF_RUNS; k++) {
+                final InterfaceCondilock condilock;
+                switch (ci) {
+                case 0: condilock = new YieldingCondilock(); break;
+                case 1: condilock = new SleepingCondilock(); break;
+                case 2: condilock = new MonitorCondilock(); break;
+                case 3: condilock = new LockCondilock(); break;
+                case 4: condilock = new SmartCondilock(new MonitorCondilock()); break;
+                case 5: condilock = new SmartCondilock(new LockCondilock()); break;
+                default:
+                    throw new AssertionError();
+                }
+                final String cs = condilock.getClass().getSimpleName()
+                        + ((condilock instanceof SmartCondilock)
+                                ? "(" + ((SmartCondilock) condilock).getCondilock().getClass().getSimpleName() + ")"
+                                        : "");
+                
+                final ExecutorService executor = Executors.newCachedThreadPool();
+                final MyToken token = new MyToken();
+                
+                final long a = System.nanoTime();
+                executor.execute(new MyPingPonger(condilock, token, 0));
+                executor.execute(new MyPingPonger(condilock, token, 1));
+                Unchecked.shutdownAndAwaitTermination(executor);
+                final long b = System.nanoTime();
+                
+                final long nsPerWakeUp = (b-a) / (2 * NBR_OF_ROUND_TRIPS);
+                System.out.println(cs + ": ping-pong took " + TestUtils.nsToSRounded(b-a)
+                        + " s (" + nsPerWakeUp + " ns per wake-up)");
+            }
+        }
+    }
+}
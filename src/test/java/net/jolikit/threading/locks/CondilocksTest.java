@@ -91,6 +91,12 @@ public class CondilocksTest extends TestCase {
         list.add(new MyCondilockWrapper(newLockCondilock(SMALL_NS), SMALL_NS));
         list.add(new MyCondilockWrapper(newLockCondilock(BIG_NS), BIG_NS));
         list.add(new MyCondilockWrapper(newLockCondilock(MAX_NS), MAX_NS));
+        //
+        list.add(new MyCondilockWrapper(newSmartCondilock(newMonitorCondilock(1L)), 1L));
+        list.add(new MyCondilockWrapper(newSmartCondilock(newMonitorCondilock(SMALL_NS)), SMALL_NS));
+        list.add(new MyCondilockWrapper(newSmartCondilock(newLockCondilock(1L)), 1L));
+        list.add(new MyCondilockWrapper(newSmartCondilock(newLockCondilock(SMALL_NS)), SMALL_NS));
+        list.add(new MyCondilockWrapper(newSmartCondilock(newLockCondilock(MAX_NS)), MAX_NS));
         return list;
     }
 
@@ -112,6 +118,15 @@ public class CondilocksTest extends TestCase {
         return new MyLockCondilock(maxBlockingWaitChunkNs);
     }
 
+    /**
+     * Using explicit spin counts, for spinning to be tested
+     * even if there is a single available processor.
+     */
+    private static InterfaceCondilock newSmartCondilock(
+            InterfaceCondilock condilock) {
+        return new SmartCondilock(condilock, 1, 1024, 4);
+    }
+
     //--------------------------------------------------------------------------
     // PRIVATE CLASSES
     //--------------------------------------------------------------------------
@@ -574,6 +589,51 @@ public class CondilocksTest extends TestCase {
         }
     }
 
+    public void testSmartCondilockSpinCountAdaptation() {
+        final int minSpinCount = 2;
+        final int maxSpinCount = 64;
+        final SmartCondilock condilock = new SmartCondilock(
+                newMonitorCondilock(1L),
+                minSpinCount,
+                maxSpinCount,
+                0);
+        assertEquals(maxSpinCount, condilock.getSpinCount());
+
+        final InterfaceBooleanCondition falseBc = new InterfaceBooleanCondition() {
+            @Override
+            public boolean isTrue() {
+                return false;
+            }
+        };
+        // Never true while spinning: shrinks down to min.
+        for (int i = 0; i < 10; i++) {
+            try {
+                assertFalse(condilock.awaitNanosWhileFalseInLock(falseBc, 1L));
+            } catch (InterruptedException e) {
+                throw new RethrowException(e);
+            }
+        }
+        assertEquals(minSpinCount, condilock.getSpinCount());
+
+        final int[] checkCountRef = new int[1];
+        final InterfaceBooleanCondition secondCheckTrueBc = new InterfaceBooleanCondition() {
+            @Override
+            public boolean isTrue() {
+                // Initial check false, true while spinning.
+                return (++checkCountRef[0] % 2 == 0);
+            }
+        };
+        // True while spinning: grows up to max.
+        for (int i = 0; i < 10; i++) {
+            try {
+                assertTrue(condilock.awaitNanosWhileFalseInLock(secondCheckTrueBc, Long.MAX_VALUE));
+            } catch (InterruptedException e) {
+                throw new RethrowException(e);
+            }
+        }
+        assertEquals(maxSpinCount, condilock.getSpinCount());
+    }
+
     //--------------------------------------------------------------------------
     // PROTECTED METHODS
     //--------------------------------------------------------------------------
@@ -63,6 +63,8 @@ public class ParallelizersPerf {
     
     private static final boolean MUST_BENCH_EP_WITH_FTE = true;
     
+    private static final boolean MUST_BENCH_WSP_WITH_FTE = true;
+    
     /*
      * 
      */
@@ -107,6 +109,19 @@ public class ParallelizersPerf {
                         discrepancy,
                         null));
                 }
+                if (MUST_BENCH_WSP_WITH_FTE) {
+                    final Executor executor =
+                        FixedThreadExecutor.newInstance(
+                            "HeWspTest",
+                            true,
+                            parallelism,
+                            new DefaultThreadFactory());
+                    list.add(new WorkStealingParallelizerForTests(
+                        executor,
+                        parallelism,
+                        discrepancy,
+                        null));
+                }
             }
         }
         
@@ -140,65 +140,84 @@ public class ParallelizersTest extends TestCase {
         
         final List<InterfaceParallelizerForTests> ret =
             new ArrayList<>();
-        if (true) {
-            /*
-             * Executor rejecting by throwing RejectedExecutionException.
-             */
-            final Executor executor =
-                new ThreadPoolExecutor(
-                    DEFAULT_PARALLELISM,
-                    DEFAULT_PARALLELISM,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<Runnable>(),
-                    threadFactory) {
-                @Override
-                public void execute(Runnable command) {
-                    if ((rejectionProba != 0.0)
-                        && (random.nextDouble() < rejectionProba)) {
-                        throw new RejectedExecutionException();
-                    } else {
-                        super.execute(command);
+        for (boolean workStealing : new boolean[]{false, true}) {
+            if (true) {
+                /*
+                 * Executor rejecting by throwing RejectedExecutionException.
+                 */
+                final Executor executor =
+                    new ThreadPoolExecutor(
+                        DEFAULT_PARALLELISM,
+                        DEFAULT_PARALLELISM,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<Runnable>(),
+                        threadFactory) {
+                    @Override
+                    public void execute(Runnable command) {
+                        if ((rejectionProba != 0.0)
+                            && (random.nextDouble() < rejectionProba)) {
+                            throw new RejectedExecutionException();
+                        } else {
+                            super.execute(command);
+                        }
                     }
-                }
-            };
-            ret.add(new ExecutorParallelizerForTests(
+                };
+                ret.add(newParallelizer(
+                    workStealing,
+                    executor,
+                    exceptionHandler));
+            }
+            if (true) {
+                /*
+                 * Executor rejecting by calling onCancel() if cancellable,
+                 * else by throwing RejectedExecutionException.
+                 */
+                final int maxWorkerCountForBasicQueue = 4;
+                final Executor executor =
+                    new FixedThreadExecutor(
+                        "HeEpTest",
+                        true,
+                        DEFAULT_PARALLELISM,
+                        Integer.MAX_VALUE,
+                        maxWorkerCountForBasicQueue,
+                        threadFactory) {
+                    @Override
+                    public void execute(Runnable command) {
+                        if ((rejectionProba != 0.0)
+                            && (random.nextDouble() < rejectionProba)) {
+                            CancellableUtils.call_onCancel_IfCancellableElseThrowREE(command);
+                        } else {
+                            super.execute(command);
+                        }
+                    }
+                };
+                ret.add(newParallelizer(
+                    workStealing,
+                    executor,
+                    exceptionHandler));
+            }
+        }
+        return ret;
+    }
+    
+    private static InterfaceParallelizerForTests newParallelizer(
+        boolean workStealing,
+        Executor executor,
+        UncaughtExceptionHandler exceptionHandler) {
+        if (workStealing) {
+            return new WorkStealingParallelizerForTests(
                 executor,
                 DEFAULT_PARALLELISM,
                 DEFAULT_DISCREPANCY,
-                exceptionHandler));
-        }
-        if (true) {
-            /*
-             * Executor rejecting by calling onCancel() if cancellable,
-             * else by throwing RejectedExecutionException.
-             */
-            final int maxWorkerCountForBasicQueue = 4;
-            final Executor executor =
-                new FixedThreadExecutor(
-                    "HeEpTest",
-                    true,
-                    DEFAULT_PARALLELISM,
-                    Integer.MAX_VALUE,
-                    maxWorkerCountForBasicQueue,
-                    threadFactory) {
-                @Override
-                public void execute(Runnable command) {
-                    if ((rejectionProba != 0.0)
-                        && (random.nextDouble() < rejectionProba)) {
-                        CancellableUtils.call_onCancel_IfCancellableElseThrowREE(command);
-                    } else {
-                        super.execute(command);
-                    }
-                }
-            };
-            ret.add(new ExecutorParallelizerForTests(
+                exceptionHandler);
+        } else {
+            return new ExecutorParallelizerForTests(
                 executor,
                 DEFAULT_PARALLELISM,
                 DEFAULT_DISCREPANCY,
-                exceptionHandler));
+                exceptionHandler);
         }
-        return ret;
     }
     
     //--------------------------------------------------------------------------
@@ -892,6 +911,41 @@ public class ParallelizersTest extends TestCase {
         }
     }
     
+    /**
+     * Constructor test.
+     */
+    public void test_WorkStealingParallelizer() {
+        @SuppressWarnings("unused")
+        Object o;
+        
+        try {
+            o = new WorkStealingParallelizer(null, 1, 0);
+            fail();
+        } catch (@SuppressWarnings("unused") NullPointerException e) {
+            // ok
+        }
+        
+        final Executor executor = Executors.newSingleThreadExecutor();
+        
+        for (int badParallelism : new int[]{Integer.MIN_VALUE, 0}) {
+            try {
+                o = new WorkStealingParallelizer(executor, badParallelism, 0);
+                fail();
+            } catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+                // ok
+            }
+        }
+        
+        for (int badMaxDepth : new int[]{Integer.MIN_VALUE, -1}) {
+            try {
+                o = new WorkStealingParallelizer(executor, 1, badMaxDepth);
+                fail();
+            } catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+                // ok
+            }
+        }
+    }
+    
     /*
      * 
      */
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -35,6 +36,7 @@ import net.jolikit.lang.Unchecked;
 import net.jolikit.test.utils.TestUtils;
 import net.jolikit.threading.basics.InterfaceCancellable;
 import net.jolikit.threading.execs.FixedThreadExecutor;
+import net.jolikit.threading.execs.VirtualThreadExecutor;
 import net.jolikit.time.clocks.InterfaceClock;
 import net.jolikit.time.clocks.hard.SystemTimeClock;
 import net.jolikit.time.clocks.hard.ZeroHardClock;
@@ -88,6 +90,31 @@ public class ExecutorsPerf {
     private static final boolean MUST_BENCH_N_2 = true;
     private static final boolean MUST_BENCH_N_N = true;
     
+    /**
+     * Benches execute() with increasing number of publishers,
+     * and a fixed number of workers, to see how publishers
+     * contention scales.
+     */
+    private static final boolean MUST_BENCH_PUBLISHERS_SCALING = true;
+    private static final int PUBLISHERS_SCALING_WORKER_COUNT = 2;
+    
+    /**
+     * Benches executeAll() with increasing batch sizes,
+     * against execute() in a loop for executors without it.
+     */
+    private static final boolean MUST_BENCH_BATCHES = true;
+    private static final int BATCHES_CALLER_COUNT = 1;
+    private static final int BATCHES_WORKER_COUNT = 2;
+    private static final int[] BATCH_SIZE_ARR = new int[]{1, 10, 100, 1000};
+    
+    /**
+     * Benches the delay between execute() call and run() call,
+     * one runnable at a time.
+     */
+    private static final boolean MUST_BENCH_LATENCY = true;
+    private static final int LATENCY_WORKER_COUNT = 2;
+    private static final int NBR_OF_LATENCY_CALLS = 10 * 1000;
+    
     private static final boolean MUST_BENCH_WITH_WORK = false;
     private static final int WORK_SQRT_COUNT = 10;
     
@@ -119,10 +146,20 @@ public class ExecutorsPerf {
     private static final boolean MUST_BENCH_HS_ADVCED_QUEUE = false;
     private static final boolean MUST_BENCH_HS_BASIC_QUEUE = false;
     private static final boolean MUST_BENCH_HS_ADAP_QUEUE = true;
+    private static final boolean MUST_BENCH_HS_LOCK_FREE_QUEUE = true;
+    private static final boolean MUST_BENCH_HS_TIMING_WHEEL = true;
     
     private static final boolean MUST_BENCH_FTE_ADVCED_QUEUE = false;
     private static final boolean MUST_BENCH_FTE_BASIC_QUEUE = false;
     private static final boolean MUST_BENCH_FTE_ADAP_QUEUE = true;
+    private static final boolean MUST_BENCH_FTE_LOCK_FREE_QUEUE = true;
+    
+    /**
+     * Only benched if virtual threads are available.
+     * Number of workers is not bounded for these.
+     */
+    private static final boolean MUST_BENCH_VTE = true;
+    private static final boolean MUST_BENCH_VTS = true;
 
     //--------------------------------------------------------------------------
     // PRIVATE CLASSES
@@ -305,6 +342,47 @@ public class ExecutorsPerf {
         }
     }
     
+    /**
+     * Triggers executor through executeAll method if any,
+     * else through execute method in a loop.
+     */
+    private static class MyBatchCallerFactory implements MyInterfaceCallerFactory {
+        private final Executor executor;
+        private final InterfaceFactory<InterfaceCancellable> cancellableFactory;
+        private final int batchSize;
+        public MyBatchCallerFactory(
+            Executor executor,
+            InterfaceFactory<InterfaceCancellable> cancellableFactory,
+            int batchSize) {
+            this.executor = executor;
+            this.cancellableFactory = cancellableFactory;
+            this.batchSize = batchSize;
+        }
+        @Override
+        public Runnable newInstance(final int nbrOfCalls) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    final Executor localExecutor = executor;
+                    final InterfaceFactory<InterfaceCancellable> localCancellableFactory =
+                        cancellableFactory;
+                    final Runnable[] batch = new Runnable[batchSize];
+                    int i = 0;
+                    while (i < nbrOfCalls) {
+                        final int n = Math.min(batchSize, nbrOfCalls - i);
+                        final Runnable[] localBatch =
+                            ((n == batch.length) ? batch : new Runnable[n]);
+                        for (int j = 0; j < n; j++) {
+                            localBatch[j] = localCancellableFactory.newInstance();
+                        }
+                        executeAll(localExecutor, localBatch);
+                        i += n;
+                    }
+                }
+            };
+        }
+    }
+    
     /**
      * Triggers scheduler through executeAt method, using current time.
      */
@@ -431,6 +509,18 @@ public class ExecutorsPerf {
         
         this.benchThroughput();
         
+        if (MUST_BENCH_PUBLISHERS_SCALING) {
+            this.benchPublishersScaling();
+        }
+        
+        if (MUST_BENCH_BATCHES) {
+            this.benchBatches();
+        }
+        
+        if (MUST_BENCH_LATENCY) {
+            this.benchLatency();
+        }
+        
         final long b = System.nanoTime();
         System.out.println("--- ..." + ExecutorsPerf.class.getSimpleName()
             + ", " + TestUtils.nsToSRounded(b-a) + " s ---");
@@ -466,6 +556,61 @@ public class ExecutorsPerf {
         }
     }
     
+    private void benchPublishersScaling() {
+        System.out.println();
+        System.out.println("publishers scaling, workers = " + PUBLISHERS_SCALING_WORKER_COUNT);
+        for (int nbrOfCallers = 1;
+            nbrOfCallers <= MAX_PARALLELISM;
+            nbrOfCallers *= 2) {
+            final ArrayList<MyExecutorData> executorDataList =
+                newExecutorDataList(
+                    nbrOfCallers,
+                    PUBLISHERS_SCALING_WORKER_COUNT);
+            
+            this.bench_execute(executorDataList, 0, null);
+            
+            for (MyExecutorData executorData : executorDataList) {
+                executorData.shutdown();
+            }
+        }
+    }
+    
+    private void benchBatches() {
+        System.out.println();
+        System.out.println("batches, publishers = " + BATCHES_CALLER_COUNT
+            + ", workers = " + BATCHES_WORKER_COUNT);
+        for (int batchSize : BATCH_SIZE_ARR) {
+            final ArrayList<MyExecutorData> executorDataList =
+                newExecutorDataList(
+                    BATCHES_CALLER_COUNT,
+                    BATCHES_WORKER_COUNT);
+            
+            this.bench_executeAll(executorDataList, batchSize);
+            
+            for (MyExecutorData executorData : executorDataList) {
+                executorData.shutdown();
+            }
+        }
+    }
+    
+    private void benchLatency() {
+        System.out.println();
+        System.out.println("latency, workers = " + LATENCY_WORKER_COUNT
+            + ", calls = " + NBR_OF_LATENCY_CALLS);
+        final ArrayList<MyExecutorData> executorDataList =
+            newExecutorDataList(
+                1,
+                LATENCY_WORKER_COUNT);
+        for (MyExecutorData executorData : executorDataList) {
+            for (int k = 0; k < NBR_OF_RUNS; k++) {
+                this.bench_latency(executorData);
+            }
+        }
+        for (MyExecutorData executorData : executorDataList) {
+            executorData.shutdown();
+        }
+    }
+    
     private void benchThroughput(
         int nbrOfCallers,
         int nbrOfWorkers) {
@@ -551,6 +696,91 @@ public class ExecutorsPerf {
         }
     }
     
+    /**
+     * Measures the time from execute() call to run() call,
+     * waiting for each runnable to be ran before executing
+     * the next one, so that workers are idle on each call.
+     */
+    private void bench_latency(MyExecutorData executorData) {
+        final Executor executor = executorData.executor;
+        final AtomicLong runTimeNs = new AtomicLong();
+        long sumNs = 0;
+        long maxNs = 0;
+        for (int i = 0; i < NBR_OF_LATENCY_CALLS; i++) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final long callTimeNs = System.nanoTime();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runTimeNs.set(System.nanoTime());
+                    latch.countDown();
+                }
+            });
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            final long dtNs = runTimeNs.get() - callTimeNs;
+            sumNs += dtNs;
+            maxNs = Math.max(maxNs, dtNs);
+        }
+        final long meanNs = sumNs / NBR_OF_LATENCY_CALLS;
+        System.out.println("latency, "
+            + executorData.getInfo()
+            + " : mean = " + meanNs / 1000 + " us"
+            + ", max = " + maxNs / 1000 + " us");
+    }
+    
+    private void bench_executeAll(
+        final List<MyExecutorData> executorDataList,
+        int batchSize) {
+        
+        for (boolean withWork : withWorkArr()) {
+            final int nbrOfSqrt = (withWork ? WORK_SQRT_COUNT : 0);
+            
+            System.out.println();
+            
+            for (MyExecutorData executorData : executorDataList) {
+                final Executor executor = executorData.executor;
+                final List<MyNShotCancellable> createdList =
+                    (MUST_LOG_WORKERS_COUNT ? new MyConcAddList<>(NBR_OF_CALLS_PER_BURST) : null);
+                final List<Thread> workerList =
+                    (MUST_LOG_WORKERS_COUNT ? new MyConcAddList<>(NBR_OF_CALLS_PER_BURST) : null);
+                final MyNShotCancellableFactory sFactory =
+                    new MyNShotCancellableFactory(
+                        executor,
+                        1,
+                        null,
+                        nbrOfSqrt,
+                        createdList,
+                        workerList);
+                final MyBatchCallerFactory cFactory =
+                    new MyBatchCallerFactory(
+                        executor,
+                        sFactory,
+                        batchSize);
+                
+                for (int k = 0; k < NBR_OF_RUNS; k++) {
+                    final String benchInfo = getBenchInfo(
+                        "executeAll[" + batchSize + "]",
+                        0,
+                        null,
+                        nbrOfSqrt,
+                        k,
+                        executorData);
+                    this.bench_executeXXX(
+                        executorData,
+                        benchInfo,
+                        cFactory,
+                        0,
+                        createdList,
+                        workerList);
+                }
+            }
+        }
+    }
+    
     private void bench_executeAfterNs(
         final List<MyExecutorData> executorDataList,
         int nbrOfReSchedules,
@@ -849,6 +1079,64 @@ public class ExecutorsPerf {
             };
             executorDataList.add(data);
         }
+        if (MUST_BENCH_HS_LOCK_FREE_QUEUE) {
+            final SystemTimeClock clock = new SystemTimeClock();
+            final int maxWorkerCountForBasicAsapQueue = 0;
+            final boolean mustUseLockFreeAsapQueue = true;
+            final HardScheduler scheduler =
+                new HardScheduler(
+                    clock,
+                    "THREAD",
+                    true,
+                    nbrOfWorkers,
+                    Integer.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    maxWorkerCountForBasicAsapQueue,
+                    mustUseLockFreeAsapQueue,
+                    null);
+            final MyExecutorData data = new MyExecutorData(
+                scheduler,
+                "HS_LFREE",
+                clock,
+                nbrOfCallers,
+                nbrOfWorkers) {
+                @Override
+                public void shutdown() {
+                    scheduler.shutdown();
+                }
+            };
+            executorDataList.add(data);
+        }
+        if (MUST_BENCH_HS_TIMING_WHEEL) {
+            final SystemTimeClock clock = new SystemTimeClock();
+            final int maxWorkerCountForBasicAsapQueue = 4;
+            final boolean mustUseLockFreeAsapQueue = false;
+            final long timingWheelTickNs = 1000L * 1000L;
+            final HardScheduler scheduler =
+                new HardScheduler(
+                    clock,
+                    "THREAD",
+                    true,
+                    nbrOfWorkers,
+                    Integer.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    maxWorkerCountForBasicAsapQueue,
+                    mustUseLockFreeAsapQueue,
+                    timingWheelTickNs,
+                    null);
+            final MyExecutorData data = new MyExecutorData(
+                scheduler,
+                "HS_TWHEEL",
+                clock,
+                nbrOfCallers,
+                nbrOfWorkers) {
+                @Override
+                public void shutdown() {
+                    scheduler.shutdown();
+                }
+            };
+            executorDataList.add(data);
+        }
         if (MUST_BENCH_FTE_ADVCED_QUEUE) {
             final ZeroHardClock clock = new ZeroHardClock();
             final int maxWorkerCountForBasicQueue = 0;
@@ -917,6 +1205,73 @@ public class ExecutorsPerf {
             };
             executorDataList.add(data);
         }
+        if (MUST_BENCH_FTE_LOCK_FREE_QUEUE) {
+            final ZeroHardClock clock = new ZeroHardClock();
+            final int maxWorkerCountForBasicQueue = 0;
+            final boolean mustUseLockFreeQueue = true;
+            final FixedThreadExecutor executor =
+                new FixedThreadExecutor(
+                    "THREAD",
+                    true,
+                    nbrOfWorkers,
+                    Integer.MAX_VALUE,
+                    maxWorkerCountForBasicQueue,
+                    mustUseLockFreeQueue,
+                    null);
+            final MyExecutorData data = new MyExecutorData(
+                executor,
+                "FTE_LFREE",
+                clock,
+                nbrOfCallers,
+                nbrOfWorkers) {
+                @Override
+                public void shutdown() {
+                    executor.shutdown();
+                }
+            };
+            executorDataList.add(data);
+        }
+        if (MUST_BENCH_VTE && VirtualThreadExecutor.isAvailable()) {
+            final ZeroHardClock clock = new ZeroHardClock();
+            final VirtualThreadExecutor executor =
+                new VirtualThreadExecutor(
+                    "VTHREAD",
+                    Integer.MAX_VALUE);
+            final MyExecutorData data = new MyExecutorData(
+                executor,
+                "VTE",
+                clock,
+                nbrOfCallers,
+                nbrOfWorkers) {
+                @Override
+                public void shutdown() {
+                    executor.shutdown();
+                }
+            };
+            executorDataList.add(data);
+        }
+        if (MUST_BENCH_VTS && VirtualThreadScheduler.isAvailable()) {
+            final SystemTimeClock clock = new SystemTimeClock();
+            final VirtualThreadScheduler scheduler =
+                new VirtualThreadScheduler(
+                    clock,
+                    "VTHREAD",
+                    Integer.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    null);
+            final MyExecutorData data = new MyExecutorData(
+                scheduler,
+                "VTS",
+                clock,
+                nbrOfCallers,
+                nbrOfWorkers) {
+                @Override
+                public void shutdown() {
+                    scheduler.shutdown();
+                }
+            };
+            executorDataList.add(data);
+        }
         
         return executorDataList;
     }
@@ -938,4 +1293,20 @@ public class ExecutorsPerf {
         }
         return ret;
     }
+    
+    /**
+     * Uses executeAll() for executors that have it,
+     * else execute() in a loop.
+     */
+    private static void executeAll(Executor executor, Runnable[] runnables) {
+        if (executor instanceof FixedThreadExecutor) {
+            ((FixedThreadExecutor) executor).executeAll(runnables);
+        } else if (executor instanceof HardScheduler) {
+            ((HardScheduler) executor).executeAll(runnables);
+        } else {
+            for (Runnable runnable : runnables) {
+                executor.execute(runnable);
+            }
+        }
+    }
 }
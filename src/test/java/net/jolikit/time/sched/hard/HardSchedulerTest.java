@@ -38,6 +38,8 @@ import net.jolikit.lang.InterfaceBooleanCondition;
 import net.jolikit.lang.ObjectWrapper;
 import net.jolikit.lang.Unchecked;
 import net.jolikit.test.utils.TestUtils;
+import net.jolikit.threading.basics.ExecutorMetrics;
+import net.jolikit.threading.basics.ExecutorMetricsSnapshot;
 import net.jolikit.threading.basics.InterfaceCancellable;
 import net.jolikit.threading.locks.MonitorCondilock;
 import net.jolikit.time.TimeUtils;
@@ -60,6 +62,11 @@ public class HardSchedulerTest extends TestCase {
     
     private static final int DEFAULT_MULTI_WORKER_COUNT = 3;
     
+    /**
+     * Small, for schedules to spread over many buckets and levels.
+     */
+    private static final long TIMING_WHEEL_TICK_NS = 1000L;
+    
     //--------------------------------------------------------------------------
     // PRIVATE CLASSES
     //--------------------------------------------------------------------------
@@ -2596,6 +2603,97 @@ public class HardSchedulerTest extends TestCase {
         shutdownNowAndWait(schedulerList);
     }
     
+    public void test_executeAll_executeAtNsAll_null() {
+        final InterfaceHardClock clock = getClockForTest();
+        final List<HardScheduler> schedulerList = newFifoSchedulers(clock);
+        
+        for (HardScheduler scheduler : schedulerList) {
+            scheduler.stopProcessing();
+            
+            try {
+                scheduler.executeAll((Runnable[]) null);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            try {
+                scheduler.executeAll(Arrays.asList(new MyRunnable(clock), null));
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            try {
+                scheduler.executeAtNsAll(new Runnable[]{new MyRunnable(clock), null}, 0L);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            // None enqueued.
+            assertEquals(0, scheduler.getNbrOfPendingSchedules());
+        }
+        
+        shutdownNowAndWait(schedulerList);
+    }
+    
+    /**
+     * Testing FIFO order of ASAP and timed batches for a same time,
+     * mixed with single schedules.
+     */
+    public void test_executeAll_executeAtNsAll_fifoOrder() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        clock.setTimeSpeed(0.0);
+        final long nowNs = 123456789L;
+        clock.setTimeNs(nowNs);
+
+        final List<HardScheduler> schedulerList = newFifoSchedulers(clock);
+
+        for (HardScheduler scheduler : schedulerList) {
+            this.nextOrderNum.set(0);
+
+            final ArrayList<MyRunnable> runnableList = new ArrayList<MyRunnable>();
+
+            int k = 0;
+            for (int batchSize : new int[]{0, 1, 2, 10, 1000, 1, 10 * 1000}) {
+                for (boolean timed : new boolean[]{false, true}) {
+                    final MyRunnable[] batch = new MyRunnable[batchSize];
+                    for (int i = 0; i < batchSize; i++) {
+                        batch[i] = new MyRunnable(clock);
+                    }
+                    runnableList.addAll(Arrays.asList(batch));
+                    final boolean useArray = ((k++ & 2) == 0);
+                    if (timed) {
+                        if (useArray) {
+                            scheduler.executeAtNsAll(batch, nowNs);
+                        } else {
+                            scheduler.executeAtNsAll(Arrays.asList(batch), nowNs);
+                        }
+                    } else {
+                        if (useArray) {
+                            scheduler.executeAll(batch);
+                        } else {
+                            scheduler.executeAll(Arrays.asList(batch));
+                        }
+                    }
+                    
+                    final MyRunnable runnable = new MyRunnable(clock);
+                    runnableList.add(runnable);
+                    if (timed) {
+                        scheduler.executeAtNs(runnable, nowNs);
+                    } else {
+                        scheduler.execute(runnable);
+                    }
+                }
+            }
+
+            for (int i = 0; i < runnableList.size(); i++) {
+                final MyRunnable runnable = runnableList.get(i);
+                assertEquals(i+1,runnable.waitAndGetReport().orderNum);
+            }
+        }
+        
+        shutdownNowAndWait(schedulerList);
+    }
+    
     /**
      * Testing that timed schedules are properly ordered,
      * i.e. according to their theoretical time when it's in the future,
@@ -3087,6 +3185,174 @@ public class HardSchedulerTest extends TestCase {
         shutdownNowAndWait(schedulerList);
     }
 
+    public void test_executeAll_executeAtNsAll_queuesCapacity() {
+        final InterfaceHardClock clock = getClockForTest();
+
+        final int nbrOfThreads = 1;
+        final int asapQueueCapacity = 2;
+        final int timedQueueCapacity = 3;
+
+        final List<HardScheduler> schedulerList = newSchedulers(
+                clock,
+                nbrOfThreads,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                null);
+
+        final Runnable nonCancellable = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        for (HardScheduler scheduler : schedulerList) {
+            scheduler.stopProcessing();
+
+            // Only the first ASAP runnables of the batch fit.
+            final MyRunnable[] asapBatch = new MyRunnable[asapQueueCapacity + 1];
+            for (int i = 0; i < asapBatch.length; i++) {
+                asapBatch[i] = new MyRunnable(clock);
+            }
+            scheduler.executeAll(asapBatch);
+            assertEquals(asapQueueCapacity, scheduler.getNbrOfPendingAsapSchedules());
+            for (int i = 0; i < asapBatch.length; i++) {
+                assertEquals(i >= asapQueueCapacity, asapBatch[i].onCancelCalled());
+            }
+
+            // Only the first timed runnables of the batch fit.
+            final long nowNs = clock.getTimeNs();
+            final MyRunnable[] timedBatch = new MyRunnable[timedQueueCapacity + 2];
+            for (int i = 0; i < timedBatch.length; i++) {
+                timedBatch[i] = new MyRunnable(clock);
+            }
+            scheduler.executeAtNsAll(timedBatch, nowNs);
+            assertEquals(timedQueueCapacity, scheduler.getNbrOfPendingTimedSchedules());
+            for (int i = 0; i < timedBatch.length; i++) {
+                assertEquals(i >= timedQueueCapacity, timedBatch[i].onCancelCalled());
+            }
+
+            // Non-cancellables rejection: throws,
+            // after cancellables have been cancelled.
+            for (boolean timed : new boolean[]{false, true}) {
+                final MyRunnable cancellable = new MyRunnable(clock);
+                final Runnable[] batch = new Runnable[]{nonCancellable, cancellable};
+                try {
+                    if (timed) {
+                        scheduler.executeAtNsAll(batch, nowNs);
+                    } else {
+                        scheduler.executeAll(batch);
+                    }
+                    fail();
+                } catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+                    // ok
+                }
+                assertTrue(cancellable.onCancelCalled());
+            }
+        }
+        
+        shutdownNowAndWait(schedulerList);
+    }
+
+    public void test_metrics() {
+        final InterfaceHardClock clock = getClockForTest();
+
+        final int nbrOfThreads = DEFAULT_MULTI_WORKER_COUNT;
+        final int asapQueueCapacity = 2;
+        final int timedQueueCapacity = 2;
+
+        final List<HardScheduler> schedulerList = newSchedulers(
+                clock,
+                nbrOfThreads,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                true, // mustEnableMetrics
+                null);
+
+        for (HardScheduler scheduler : schedulerList) {
+            final ExecutorMetrics metrics = scheduler.getMetricsElseNull();
+            assertNotNull(metrics);
+            assertEquals(nbrOfThreads, metrics.getNbrOfWorkers());
+
+            scheduler.stopProcessing();
+
+            // 2 + 2 submitted, 1 + 1 rejected.
+            final long nowNs = clock.getTimeNs();
+            scheduler.executeAll(new MyRunnable[]{
+                new MyRunnable(clock),
+                new MyRunnable(clock),
+                new MyRunnable(clock)});
+            scheduler.executeAtNsAll(new MyRunnable[]{
+                new MyRunnable(clock),
+                new MyRunnable(clock),
+                new MyRunnable(clock)},
+                nowNs);
+            // 2 cancelled, 2 drained.
+            scheduler.cancelPendingAsapSchedules();
+            scheduler.drainPendingTimedRunnablesInto(new ArrayList<Runnable>());
+
+            // 2 + 2 executed.
+            for (int i = 0; i < 2; i++) {
+                scheduler.execute(new MyRunnable(clock));
+                scheduler.executeAtNs(new MyRunnable(clock), nowNs);
+            }
+            scheduler.startProcessing();
+            scheduler.shutdown();
+            try {
+                scheduler.waitForNoMoreRunningWorkerSystemTimeNs(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            final ExecutorMetricsSnapshot snapshot = metrics.newSnapshot();
+            assertEquals(8, snapshot.getNbrOfSubmitted());
+            assertEquals(2, snapshot.getNbrOfRejected());
+            assertEquals(2, snapshot.getNbrOfCancelled());
+            assertEquals(2, snapshot.getNbrOfDrained());
+            assertEquals(4, snapshot.getNbrOfExecuted());
+            assertEquals(2, snapshot.getQueueWaitHisto().getCount());
+            assertEquals(4, snapshot.getRunHisto().getCount());
+            assertEquals(2, snapshot.getLatenessHisto().getCount());
+            // Scheduled for a past time.
+            assertTrue(snapshot.getLatenessHisto().getMaxNs() > 0);
+            assertEquals(snapshot.getRunHisto().getSumNs(), snapshot.getTotalBusyNs());
+        }
+        
+        shutdownNowAndWait(schedulerList);
+        
+        /*
+         * Disabled by default.
+         */
+        
+        final List<HardScheduler> defaultSchedulerList = newSchedulers(
+                clock,
+                nbrOfThreads);
+        defaultSchedulerList.addAll(newThreadlessSchedulers(clock));
+        
+        for (HardScheduler scheduler : defaultSchedulerList) {
+            assertNull(scheduler.getMetricsElseNull());
+        }
+        
+        shutdownNowAndWait(defaultSchedulerList);
+        
+        /*
+         * Threadless.
+         */
+        
+        final HardScheduler threadlessScheduler =
+            new HardScheduler(
+                clock,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                0, // maxWorkerCountForBasicAsapQueue
+                false, // mustUseLockFreeAsapQueue
+                0L, // timingWheelTickNs
+                true); // mustEnableMetrics
+        final ExecutorMetrics threadlessMetrics =
+            threadlessScheduler.getMetricsElseNull();
+        assertNotNull(threadlessMetrics);
+        assertEquals(1, threadlessMetrics.getNbrOfWorkers());
+    }
+
     /**
      * Testing no schedule is lost when stressing scheduling and processing start and stop.
      */
@@ -3493,11 +3759,31 @@ public class HardSchedulerTest extends TestCase {
             int asapQueueCapacity,
             int timedQueueCapacity,
             final ThreadFactory threadFactory) {
+        return newSchedulers(
+                clock,
+                nbrOfThreads,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                false, // mustEnableMetrics
+                threadFactory);
+    }
+
+    private static List<HardScheduler> newSchedulers(
+            final InterfaceHardClock clock,
+            int nbrOfThreads,
+            int asapQueueCapacity,
+            int timedQueueCapacity,
+            boolean mustEnableMetrics,
+            final ThreadFactory threadFactory) {
         
         final boolean daemon = true;
         
         @SuppressWarnings("unused")
         int maxWorkerCountForBasicAsapQueue;
+        @SuppressWarnings("unused")
+        boolean mustUseLockFreeAsapQueue;
+        @SuppressWarnings("unused")
+        long timingWheelTickNs;
         
         final List<HardScheduler> schedulerList = new ArrayList<HardScheduler>();
         
@@ -3511,6 +3797,9 @@ public class HardSchedulerTest extends TestCase {
                 asapQueueCapacity,
                 timedQueueCapacity,
                 (maxWorkerCountForBasicAsapQueue = Integer.MAX_VALUE),
+                (mustUseLockFreeAsapQueue = false),
+                (timingWheelTickNs = 0L),
+                mustEnableMetrics,
                 threadFactory));
         
         // Scheduler with advanced queue.
@@ -3523,6 +3812,39 @@ public class HardSchedulerTest extends TestCase {
                 asapQueueCapacity,
                 timedQueueCapacity,
                 (maxWorkerCountForBasicAsapQueue = 0),
+                (mustUseLockFreeAsapQueue = false),
+                (timingWheelTickNs = 0L),
+                mustEnableMetrics,
+                threadFactory));
+        
+        // Scheduler with lock-free queue.
+        schedulerList.add(
+            new HardScheduler(
+                clock,
+                "HS_LFR",
+                daemon,
+                nbrOfThreads,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                (maxWorkerCountForBasicAsapQueue = 0),
+                (mustUseLockFreeAsapQueue = true),
+                (timingWheelTickNs = 0L),
+                mustEnableMetrics,
+                threadFactory));
+        
+        // Scheduler with timing wheel.
+        schedulerList.add(
+            new HardScheduler(
+                clock,
+                "HS_TWL",
+                daemon,
+                nbrOfThreads,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                (maxWorkerCountForBasicAsapQueue = Integer.MAX_VALUE),
+                (mustUseLockFreeAsapQueue = false),
+                (timingWheelTickNs = TIMING_WHEEL_TICK_NS),
+                mustEnableMetrics,
                 threadFactory));
         
         return schedulerList;
@@ -3547,6 +3869,10 @@ public class HardSchedulerTest extends TestCase {
         
         @SuppressWarnings("unused")
         int maxWorkerCountForBasicAsapQueue;
+        @SuppressWarnings("unused")
+        boolean mustUseLockFreeAsapQueue;
+        @SuppressWarnings("unused")
+        long timingWheelTickNs;
         
         final List<HardScheduler> schedulerList = new ArrayList<HardScheduler>();
         
@@ -3566,6 +3892,25 @@ public class HardSchedulerTest extends TestCase {
                 timedQueueCapacity,
                 (maxWorkerCountForBasicAsapQueue = 0)));
         
+        // Scheduler with lock-free queue.
+        schedulerList.add(
+            new HardScheduler(
+                clock,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                (maxWorkerCountForBasicAsapQueue = 0),
+                (mustUseLockFreeAsapQueue = true)));
+        
+        // Scheduler with timing wheel.
+        schedulerList.add(
+            new HardScheduler(
+                clock,
+                asapQueueCapacity,
+                timedQueueCapacity,
+                (maxWorkerCountForBasicAsapQueue = Integer.MAX_VALUE),
+                (mustUseLockFreeAsapQueue = false),
+                (timingWheelTickNs = TIMING_WHEEL_TICK_NS)));
+        
         return schedulerList;
     }
 
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2025 Jeff Hain
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.jolikit.time.sched.hard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import net.jolikit.lang.Unchecked;
+import net.jolikit.lang.VirtualThreadFactory;
+import net.jolikit.threading.basics.InterfaceCancellable;
+import net.jolikit.time.TimeUtils;
+import net.jolikit.time.clocks.hard.EnslavedControllableHardClock;
+import net.jolikit.time.clocks.hard.NanoTimeClock;
+
+public class VirtualThreadSchedulerTest extends TestCase {
+    
+    //--------------------------------------------------------------------------
+    // CONFIGURATION
+    //--------------------------------------------------------------------------
+    
+    private static final long TIMEOUT_S = 10L;
+    
+    /**
+     * Duration during which we check that nothing happens.
+     */
+    private static final long NOTHING_HAPPENS_MS = 100L;
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE CLASSES
+    //--------------------------------------------------------------------------
+    
+    private static class MyRunnable implements InterfaceCancellable {
+        final VirtualThreadScheduler scheduler;
+        final CountDownLatch releaseLatch;
+        final CountDownLatch runLatch = new CountDownLatch(1);
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        volatile long runClockTimeNs = Long.MIN_VALUE;
+        volatile boolean wasWorkerThread = false;
+        volatile boolean onCancelCalled = false;
+        public MyRunnable(VirtualThreadScheduler scheduler) {
+            this(scheduler, null);
+        }
+        /**
+         * @param releaseLatch If not null, run() blocks until released.
+         */
+        public MyRunnable(
+            VirtualThreadScheduler scheduler,
+            CountDownLatch releaseLatch) {
+            this.scheduler = scheduler;
+            this.releaseLatch = releaseLatch;
+        }
+        @Override
+        public void run() {
+            this.runClockTimeNs = this.scheduler.getClock().getTimeNs();
+            this.wasWorkerThread = this.scheduler.isWorkerThread();
+            this.runLatch.countDown();
+            if (this.releaseLatch != null) {
+                await(this.releaseLatch);
+            }
+            this.doneLatch.countDown();
+        }
+        @Override
+        public void onCancel() {
+            this.onCancelCalled = true;
+        }
+        public boolean runCalled() {
+            return this.runLatch.getCount() == 0;
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PUBLIC METHODS
+    //--------------------------------------------------------------------------
+    
+    public void test_newInstance() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        if (VirtualThreadScheduler.isAvailable()) {
+            final VirtualThreadScheduler scheduler =
+                VirtualThreadScheduler.newInstance(clock);
+            assertSame(clock, scheduler.getClock());
+            scheduler.shutdown();
+        } else {
+            try {
+                VirtualThreadScheduler.newInstance(clock);
+                fail();
+            } catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+                // ok
+            }
+        }
+    }
+    
+    public void test_execute_executeAtNs_null() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, Integer.MAX_VALUE)) {
+            try {
+                scheduler.execute(null);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            try {
+                scheduler.executeAtNs(null, 0L);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            shutdownAndWait(scheduler);
+        }
+    }
+    
+    public void test_execute() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, Integer.MAX_VALUE)) {
+            final MyRunnable runnable = new MyRunnable(scheduler);
+            scheduler.execute(runnable);
+            await(runnable.doneLatch);
+            assertTrue(runnable.wasWorkerThread);
+            assertFalse(scheduler.isWorkerThread());
+            shutdownAndWait(scheduler);
+        }
+    }
+    
+    /**
+     * Timed schedules must follow clock time, not system time.
+     */
+    public void test_executeAtNs_clockTime() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, Integer.MAX_VALUE)) {
+            clock.setTimeSpeed(0.0);
+            final long timeNs = clock.getTimeNs() + TimeUtils.sToNs(0.001);
+            
+            final MyRunnable runnable = new MyRunnable(scheduler);
+            scheduler.executeAtNs(runnable, timeNs);
+            
+            sleepMs(NOTHING_HAPPENS_MS);
+            assertFalse(runnable.runCalled());
+            assertEquals(1, scheduler.getNbrOfPendingSchedules());
+            
+            clock.setTimeSpeed(1.0);
+            await(runnable.doneLatch);
+            assertTrue(runnable.runClockTimeNs >= timeNs);
+            assertTrue(runnable.wasWorkerThread);
+            assertEquals(0, scheduler.getNbrOfPendingSchedules());
+            
+            shutdownAndWait(scheduler);
+        }
+    }
+    
+    public void test_executeAtNs_maxNbrOfRunningWorkers() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, 1)) {
+            final CountDownLatch releaseLatch = new CountDownLatch(1);
+            final MyRunnable blocking = new MyRunnable(scheduler, releaseLatch);
+            scheduler.execute(blocking);
+            await(blocking.runLatch);
+            
+            // Rejected on hand over to the executor.
+            final MyRunnable timed = new MyRunnable(scheduler);
+            scheduler.executeAtNs(timed, clock.getTimeNs());
+            while (!timed.onCancelCalled) {
+                sleepMs(1L);
+            }
+            assertFalse(timed.runCalled());
+            
+            releaseLatch.countDown();
+            shutdownAndWait(scheduler);
+        }
+    }
+    
+    public void test_shutdown() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, Integer.MAX_VALUE)) {
+            final MyRunnable timed = new MyRunnable(scheduler);
+            scheduler.executeAfterNs(timed, TimeUtils.sToNs(0.05));
+            
+            assertFalse(scheduler.isShutdown());
+            scheduler.shutdown();
+            assertTrue(scheduler.isShutdown());
+            
+            // Rejections.
+            final MyRunnable asap = new MyRunnable(scheduler);
+            scheduler.execute(asap);
+            assertTrue(asap.onCancelCalled);
+            final MyRunnable timed2 = new MyRunnable(scheduler);
+            scheduler.executeAtNs(timed2, clock.getTimeNs());
+            assertTrue(timed2.onCancelCalled);
+            try {
+                scheduler.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                });
+                fail();
+            } catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+                // ok
+            }
+            
+            // Pending timed schedule still executed.
+            await(timed.doneLatch);
+            assertFalse(timed.onCancelCalled);
+            waitForTermination(scheduler);
+            assertTrue(scheduler.isTerminated());
+        }
+    }
+    
+    public void test_shutdownNow_boolean() {
+        final EnslavedControllableHardClock clock = getClockForTest();
+        for (VirtualThreadScheduler scheduler : newSchedulers(clock, Integer.MAX_VALUE)) {
+            final MyRunnable timed = new MyRunnable(scheduler);
+            scheduler.executeAfterNs(timed, TimeUtils.sToNs(TIMEOUT_S));
+            
+            final List<Runnable> drained = scheduler.shutdownNow(true);
+            assertEquals(1, drained.size());
+            assertSame(timed, drained.get(0));
+            
+            waitForTermination(scheduler);
+            assertFalse(timed.runCalled());
+            assertFalse(timed.onCancelCalled);
+        }
+    }
+    
+    //--------------------------------------------------------------------------
+    // PRIVATE METHODS
+    //--------------------------------------------------------------------------
+    
+    /**
+     * @return Schedulers using platform threads, and virtual threads
+     *         if available.
+     */
+    private static List<VirtualThreadScheduler> newSchedulers(
+        EnslavedControllableHardClock clock,
+        int maxNbrOfRunningWorkers) {
+        final List<VirtualThreadScheduler> list = new ArrayList<VirtualThreadScheduler>();
+        list.add(new VirtualThreadScheduler(
+            clock,
+            "VTS_PLATFORM",
+            Integer.MAX_VALUE,
+            maxNbrOfRunningWorkers,
+            Executors.defaultThreadFactory()));
+        if (VirtualThreadFactory.isAvailable()) {
+            list.add(new VirtualThreadScheduler(
+                clock,
+                "VTS",
+                Integer.MAX_VALUE,
+                maxNbrOfRunningWorkers,
+                null));
+        }
+        return list;
+    }
+    
+    /*
+     * clock based on nanoTime, not to have trouble with system time jumps
+     */
+    
+    private static EnslavedControllableHardClock getClockForTest() {
+        return new EnslavedControllableHardClock(new NanoTimeClock());
+    }
+    
+    /*
+     * 
+     */
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_S, TimeUnit.SECONDS)) {
+                throw new AssertionError("timeout");
+            }
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void sleepMs(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void waitForTermination(VirtualThreadScheduler scheduler) {
+        try {
+            assertTrue(scheduler.waitForTerminationSystemTimeNs(
+                TimeUnit.SECONDS.toNanos(TIMEOUT_S)));
+        } catch (InterruptedException e) {
+            Unchecked.throwIt(e);
+        }
+    }
+    
+    private static void shutdownAndWait(VirtualThreadScheduler scheduler) {
+        scheduler.shutdown();
+        waitForTermination(scheduler);
+    }
+}
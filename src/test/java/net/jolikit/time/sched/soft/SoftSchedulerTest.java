@@ -16,6 +16,7 @@
 package net.jolikit.time.sched.soft;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -300,6 +301,79 @@ public class SoftSchedulerTest extends TestCase {
         
         assertEquals(runnable2.runCallNum + 1, runnable1.runCallNum);
     }
+
+    public void test_executeAll_executeAtNsAll() {
+        final RootSoftClock clock = new RootSoftClock();
+        clock.setTimeNs(10L);
+
+        for (final boolean mustExecuteAsapSchedulesSynchronously : new boolean[]{false,true}) {
+            final UncaughtExceptionHandler exceptionHandler = null;
+            final SoftScheduler scheduler = new SoftScheduler(
+                    clock,
+                    mustExecuteAsapSchedulesSynchronously,
+                    exceptionHandler);
+
+            /*
+             * Scheduling.
+             */
+            
+            final MyRunnable[] timedBatch1 = newRunnables(clock, 3);
+            final MyRunnable[] timedBatch2 = newRunnables(clock, 2);
+            final MyRunnable[] asapBatch = newRunnables(clock, 2);
+            
+            scheduler.executeAtNsAll(timedBatch1, 12L);
+            scheduler.executeAtNsAll(Arrays.asList(timedBatch2), 11L);
+            
+            // Null runnable: none scheduled.
+            try {
+                scheduler.executeAtNsAll(new Runnable[]{new MyRunnable(clock), null}, 11L);
+                fail();
+            } catch (@SuppressWarnings("unused") NullPointerException e) {
+                // ok
+            }
+            
+            final Runnable asapBatchRunnable = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.executeAll(asapBatch);
+                    assertEquals(mustExecuteAsapSchedulesSynchronously, asapBatch[1].runCalled);
+                }
+            };
+            scheduler.executeAtNs(asapBatchRunnable, 11L);
+
+            /*
+             * Running.
+             */
+            
+            scheduler.start();
+            
+            /*
+             * Checking.
+             */
+            
+            // FIFO order within and across batches for a same time.
+            for (int i = 0; i < timedBatch2.length; i++) {
+                assertEquals(11L, timedBatch2[i].runCallTimeNs);
+                if (i != 0) {
+                    assertEquals(timedBatch2[i-1].runCallNum + 1, timedBatch2[i].runCallNum);
+                }
+            }
+            for (int i = 0; i < asapBatch.length; i++) {
+                assertEquals(11L, asapBatch[i].runCallTimeNs);
+                if (i != 0) {
+                    assertEquals(asapBatch[i-1].runCallNum + 1, asapBatch[i].runCallNum);
+                }
+            }
+            assertEquals(timedBatch2[timedBatch2.length-1].runCallNum + 1, asapBatch[0].runCallNum);
+            for (int i = 0; i < timedBatch1.length; i++) {
+                assertEquals(12L, timedBatch1[i].runCallTimeNs);
+                if (i != 0) {
+                    assertEquals(timedBatch1[i-1].runCallNum + 1, timedBatch1[i].runCallNum);
+                }
+            }
+            assertEquals(asapBatch[asapBatch.length-1].runCallNum + 1, timedBatch1[0].runCallNum);
+        }
+    }
     
     /*
      * 
@@ -619,6 +693,14 @@ public class SoftSchedulerTest extends TestCase {
     // PRIVATE METHODS
     //--------------------------------------------------------------------------
     
+    private MyRunnable[] newRunnables(InterfaceClock clock, int n) {
+        final MyRunnable[] arr = new MyRunnable[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = new MyRunnable(clock);
+        }
+        return arr;
+    }
+    
     private void reset() {
         this.counter = 0;
     }